@@ -0,0 +1,122 @@
+package org.chronos.chronodb.benchmark.cache;
+
+import org.chronos.chronodb.api.CacheType;
+import org.chronos.chronodb.api.ChronoDBConstants;
+import org.chronos.chronodb.api.key.QualifiedKey;
+import org.chronos.chronodb.internal.api.GetResult;
+import org.chronos.chronodb.internal.api.Period;
+import org.chronos.chronodb.internal.api.cache.CacheGetResult;
+import org.chronos.chronodb.internal.api.cache.ChronoDBCache;
+import org.chronos.chronodb.internal.impl.cache.concurrent.ConcurrentMosaicCache;
+import org.chronos.chronodb.internal.impl.cache.mosaic.MosaicCache;
+import org.chronos.common.exceptions.UnknownEnumLiteralException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput of the {@link MosaicCache} and the {@link ConcurrentMosaicCache} under a read-heavy workload
+ * with 1, 8 and 32 concurrent threads.
+ *
+ * <p>
+ * Every operation requests a random key from a skewed key distribution. The working set is larger than the cache, so
+ * a fraction of the requests miss and fill the cache, just like the regular read path of a ChronoDB transaction does.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheConcurrencyBenchmark {
+
+    private static final String BRANCH = ChronoDBConstants.MASTER_BRANCH_IDENTIFIER;
+
+    @State(Scope.Benchmark)
+    public static class CacheState {
+
+        @Param({"MOSAIC", "CONCURRENT"})
+        public CacheType cacheType;
+
+        @Param({"10000"})
+        public int cacheSize;
+
+        @Param({"50000"})
+        public int keyCount;
+
+        public ChronoDBCache cache;
+        public QualifiedKey[] keys;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            switch (this.cacheType) {
+                case MOSAIC:
+                    this.cache = new MosaicCache(this.cacheSize);
+                    break;
+                case CONCURRENT:
+                    this.cache = new ConcurrentMosaicCache(this.cacheSize);
+                    break;
+                default:
+                    throw new UnknownEnumLiteralException(this.cacheType);
+            }
+            this.keys = new QualifiedKey[this.keyCount];
+            for (int i = 0; i < this.keyCount; i++) {
+                this.keys[i] = QualifiedKey.createInDefaultKeyspace("key" + i);
+            }
+            // warm up the cache with the most popular keys
+            for (int i = 0; i < this.cacheSize; i++) {
+                this.cache.cache(BRANCH, createResult(this.keys[i]));
+            }
+        }
+
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+
+        public SplittableRandom random;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            this.random = new SplittableRandom();
+        }
+
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object read_1_thread(final CacheState cacheState, final ThreadState threadState) {
+        return readOrFill(cacheState, threadState);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object read_8_threads(final CacheState cacheState, final ThreadState threadState) {
+        return readOrFill(cacheState, threadState);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public Object read_32_threads(final CacheState cacheState, final ThreadState threadState) {
+        return readOrFill(cacheState, threadState);
+    }
+
+    private static Object readOrFill(final CacheState cacheState, final ThreadState threadState) {
+        // skewed distribution: squaring a uniform random number favors the lower indices
+        double uniform = threadState.random.nextDouble();
+        int index = (int) (uniform * uniform * cacheState.keyCount);
+        QualifiedKey key = cacheState.keys[index];
+        CacheGetResult<Object> result = cacheState.cache.get(BRANCH, 500, key);
+        if (result.isHit()) {
+            return result.getValue();
+        }
+        GetResult<?> loaded = createResult(key);
+        cacheState.cache.cache(BRANCH, loaded);
+        return loaded.getValue();
+    }
+
+    private static GetResult<?> createResult(final QualifiedKey key) {
+        return GetResult.create(key, key.getKey(), Period.createRange(0, 1000));
+    }
+
+}
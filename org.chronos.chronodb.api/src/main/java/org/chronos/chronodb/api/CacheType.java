@@ -0,0 +1,112 @@
+package org.chronos.chronodb.api;
+
+import static com.google.common.base.Preconditions.*;
+
+import java.util.Collections;
+import java.util.Set;
+
+import com.google.common.collect.Sets;
+
+/**
+ * The type of entry cache used by a {@link ChronoDB} instance.
+ *
+ * <p>
+ * This setting only has an effect if caching is enabled in the first place.
+ *
+ * @author martin.haeusler@uibk.ac.at -- Initial Contribution and API
+ *
+ */
+public enum CacheType {
+
+	/**
+	 * The default cache implementation, which is guarded by a single global lock.
+	 *
+	 * <p>
+	 * Every cache modification (including filling the cache after a cache miss) acquires an exclusive lock on the
+	 * entire cache. This cache performs well with a small number of concurrent threads, and uses an exact LRU strategy
+	 * for eviction.
+	 */
+	MOSAIC("mosaic", "default"),
+
+	/**
+	 * A cache implementation which is optimized for a large number of concurrent reader threads.
+	 *
+	 * <p>
+	 * The cache is split into stripes which are locked individually for modifications. Reading from the cache does not
+	 * acquire any locks. Eviction is performed by an approximate, frequency-aware strategy (W-TinyLFU) per stripe.
+	 *
+	 * <p>
+	 * This setting is recommended for read-heavy workloads with many concurrent transactions.
+	 */
+	CONCURRENT("concurrent", "striped");
+
+	// =====================================================================================================================
+	// FIELDS
+	// =====================================================================================================================
+
+	/** The primary name for this type. */
+	private final String primaryName;
+	/** A set of aliases (alternative names) for this type. */
+	private final Set<String> aliases;
+	/** The set of all possible names for this type. The union of {@link #primaryName} and {@link #aliases}. */
+	private final Set<String> allNames;
+
+	/**
+	 * Creates a new enum literal instance, for internal use only.
+	 *
+	 * @param primaryName
+	 *            The primary name for the type. Must not be <code>null</code>.
+	 * @param aliases
+	 *            The aliases (alternative names) to assign to this type. May be empty, must not be <code>null</code>.
+	 */
+	private CacheType(final String primaryName, final String... aliases) {
+		checkNotNull(primaryName, "Precondition violation - argument 'primaryName' must not be NULL!");
+		this.primaryName = primaryName;
+		Set<String> myAliases = Sets.newHashSet();
+		if (aliases != null && aliases.length > 0) {
+			for (String alias : aliases) {
+				myAliases.add(alias);
+			}
+		}
+		this.aliases = Collections.unmodifiableSet(myAliases);
+		Set<String> myNames = Sets.newHashSet();
+		myNames.add(primaryName);
+		myNames.addAll(this.aliases);
+		this.allNames = Collections.unmodifiableSet(myNames);
+	}
+
+	@Override
+	public String toString() {
+		return this.primaryName;
+	}
+
+	/**
+	 * This method parses a string value into a {@link CacheType}.
+	 *
+	 * <p>
+	 * This method takes all aliases into account and is therefore more fault tolerant than the default
+	 * {@link #valueOf(String)} method.
+	 *
+	 * @param stringValue
+	 *            The string value to parse. Must not be <code>null</code>.
+	 * @return The cache type described in the string. Never <code>null</code>.
+	 *
+	 * @throws IllegalArgumentException
+	 *             Thrown if the parsing process failed.
+	 */
+	public static CacheType fromString(final String stringValue) {
+		checkNotNull(stringValue, "Precondition violation - argument 'stringValue' must not be NULL!");
+		String token = stringValue.toLowerCase().trim();
+		if (token.isEmpty()) {
+			throw new IllegalArgumentException("Cannot parse CacheType from empty string!");
+		}
+		for (CacheType type : CacheType.values()) {
+			for (String name : type.allNames) {
+				if (name.equalsIgnoreCase(token)) {
+					return type;
+				}
+			}
+		}
+		throw new IllegalArgumentException("Unknown CacheType: '" + token + "'!");
+	}
+}
@@ -1,5 +1,7 @@
 package org.chronos.chronodb.api;
 
+import org.chronos.chronodb.api.changefeed.ChangeFeedManager;
+import org.chronos.chronodb.api.metrics.CommitMetrics;
 import org.chronos.chronodb.internal.api.ChronoDBConfiguration;
 import org.chronos.chronodb.internal.api.cache.ChronoDBCache;
 import org.chronos.common.version.ChronosVersion;
@@ -76,6 +78,27 @@ public interface ChronoDB extends TransactionSource, AutoCloseable {
      */
     public StatisticsManager getStatisticsManager();
 
+    /**
+     * Returns the commit metrics of this database instance.
+     *
+     * <p>
+     * The commit metrics contain latency histograms for the individual phases of the commits on each branch.
+     *
+     * @return The commit metrics. Never <code>null</code>.
+     */
+    public CommitMetrics getCommitMetrics();
+
+    /**
+     * Returns the change feed manager of this database instance.
+     *
+     * <p>
+     * The change feed allows to subscribe to the changes of every commit on a branch, including the commits which
+     * have happened before the subscription has been created.
+     *
+     * @return The change feed manager. Never <code>null</code>.
+     */
+    public ChangeFeedManager getChangeFeedManager();
+
     /**
      * Returns the dateback manager associated with this database instance.
      *
@@ -10,6 +10,7 @@ import org.chronos.chronodb.api.exceptions.ValueTypeMismatchException;
 import org.chronos.chronodb.api.key.TemporalKey;
 import org.chronos.chronodb.internal.api.TemporalKeyValueStore;
 import org.chronos.chronodb.internal.api.query.ChronoDBQuery;
+import org.chronos.chronodb.internal.api.stream.CloseableIterator;
 
 import java.util.*;
 import java.util.Map.Entry;
@@ -142,6 +143,42 @@ public interface ChronoDBTransaction {
      */
     public byte[] getBinary(String keyspaceName, String key) throws UnknownKeyspaceException;
 
+    /**
+     * Returns the values of the given keys in the given keyspace, at the timestamp of this transaction.
+     * <p>
+     * <p>
+     * This is equivalent to calling {@link #get(String, String)} for every key, but considerably faster for larger
+     * numbers of keys, because all keys are resolved in a single pass over the backing storage.
+     * <p>
+     * <p>
+     * Usage example:
+     * <p>
+     * <pre>
+     * Map&lt;String, String&gt; values = tx.getAll(&quot;MyKeyspace&quot;, Arrays.asList(&quot;Hello&quot;, &quot;Foo&quot;));
+     * </pre>
+     *
+     * @param keyspaceName The name of the keyspace to search in. Must not be <code>null</code>.
+     * @param keys         The keys to get the values for. Must not be <code>null</code>, may be empty.
+     * @return A map from key to value. Keys which have no value are not contained in the map. Never <code>null</code>.
+     * @throws ValueTypeMismatchException Thrown if a stored value cannot be cast to the expected type argument.
+     * @throws UnknownKeyspaceException   Thrown if the specified keyspace name does not refer to an existing keyspace.
+     */
+    public <T> Map<String, T> getAll(String keyspaceName, Collection<String> keys) throws ValueTypeMismatchException, UnknownKeyspaceException;
+
+    /**
+     * Returns the values of the given keys in the given keyspace in binary (serialized) format, at the timestamp of this transaction.
+     * <p>
+     * <p>
+     * This is equivalent to calling {@link #getBinary(String, String)} for every key, but considerably faster for
+     * larger numbers of keys, because all keys are resolved in a single pass over the backing storage.
+     *
+     * @param keyspaceName The name of the keyspace to search in. Must not be <code>null</code>.
+     * @param keys         The keys to get the values for. Must not be <code>null</code>, may be empty.
+     * @return A map from key to value as byte array. Keys which have no value are not contained in the map. Never <code>null</code>.
+     * @throws UnknownKeyspaceException Thrown if the specified keyspace name does not refer to an existing keyspace.
+     */
+    public Map<String, byte[]> getAllBinary(String keyspaceName, Collection<String> keys) throws UnknownKeyspaceException;
+
     /**
      * Checks if there is a value for the given key in the <i>default</i> keyspace, at the timestamp of this
      * transaction.
@@ -207,6 +244,80 @@ public interface ChronoDBTransaction {
      */
     public Set<String> keySet(String keyspaceName);
 
+    /**
+     * Streams the keys present in the <i>default</i> keyspace at the timestamp of this transaction.
+     * <p>
+     * <p>
+     * In contrast to {@link #keySet()}, the keys are produced lazily and are not collected in memory, which makes this
+     * method suitable for very large keyspaces. The returned iterator must be closed by the caller.
+     * <p>
+     * <p>
+     * Usage example:
+     * <p>
+     * <pre>
+     * try (CloseableIterator&lt;String&gt; keys = tx.keyStream()) {
+     * 	while (keys.hasNext()) {
+     * 		tx.exists(keys.next()); // is always true
+     * 	}
+     * }
+     * </pre>
+     *
+     * @return An iterator over the keys. May be empty, but never <code>null</code>.
+     */
+    public CloseableIterator<String> keyStream();
+
+    /**
+     * Streams the keys present in the given keyspace at the timestamp of this transaction.
+     * <p>
+     * <p>
+     * In contrast to {@link #keySet(String)}, the keys are produced lazily and are not collected in memory, which makes
+     * this method suitable for very large keyspaces. The returned iterator must be closed by the caller. The iterator
+     * is weakly consistent: dateback operations which are performed during the iteration may or may not be reflected
+     * by it.
+     * <p>
+     * <p>
+     * Usage example:
+     * <p>
+     * <pre>
+     * try (CloseableIterator&lt;String&gt; keys = tx.keyStream(&quot;MyKeyspace&quot;)) {
+     * 	while (keys.hasNext()) {
+     * 		tx.exists(&quot;MyKeyspace&quot;, keys.next()); // is always true
+     * 	}
+     * }
+     * </pre>
+     *
+     * @param keyspaceName The name of the keyspace to scan. Must not be <code>null</code>.
+     * @return An iterator over the keys. May be empty, but never <code>null</code>.
+     */
+    public CloseableIterator<String> keyStream(String keyspaceName);
+
+    /**
+     * Streams the keys present in the given keyspace at the timestamp of this transaction which start with the given
+     * prefix.
+     * <p>
+     * <p>
+     * Keys are stored in lexicographical order, therefore backends only need to scan the range of keys which start with
+     * the given prefix, rather than the entire keyspace. This allows to use key prefixes as a cheap secondary access
+     * path, e.g. to group keys by an owner. The returned iterator must be closed by the caller.
+     * <p>
+     * <p>
+     * Usage example:
+     * <p>
+     * <pre>
+     * try (CloseableIterator&lt;String&gt; keys = tx.keyStream(&quot;MyKeyspace&quot;, &quot;user.&quot;)) {
+     * 	while (keys.hasNext()) {
+     * 		keys.next().startsWith(&quot;user.&quot;); // is always true
+     * 	}
+     * }
+     * </pre>
+     *
+     * @param keyspaceName The name of the keyspace to scan. Must not be <code>null</code>.
+     * @param prefix       The prefix of the keys to return. Must not be <code>null</code>. The empty string matches all
+     *                     keys.
+     * @return An iterator over the keys with the given prefix. May be empty, but never <code>null</code>.
+     */
+    public CloseableIterator<String> keyStream(String keyspaceName, String prefix);
+
     /**
      * Returns the timestamps in the past at which the value for the given key has changed in the <i>default</i>
      * keyspace, up to the timestamp of this transaction.
@@ -8,11 +8,13 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.commons.lang3.tuple.Pair;
 import org.chronos.chronodb.api.exceptions.ChronoDBIndexingException;
 import org.chronos.chronodb.api.exceptions.IndexerConflictException;
 import org.chronos.chronodb.api.indexing.DoubleIndexer;
+import org.chronos.chronodb.api.indexing.IndexEncoding;
 import org.chronos.chronodb.api.indexing.Indexer;
 import org.chronos.chronodb.api.indexing.LongIndexer;
 import org.chronos.chronodb.api.indexing.StringIndexer;
@@ -20,6 +22,7 @@ import org.chronos.chronodb.api.key.ChronoIdentifier;
 import org.chronos.chronodb.api.key.QualifiedKey;
 import org.chronos.chronodb.internal.api.index.DocumentBasedIndexManagerBackend;
 import org.chronos.chronodb.internal.api.query.ChronoDBQuery;
+import org.chronos.chronodb.internal.api.query.QueryPlan;
 import org.chronos.chronodb.internal.api.query.searchspec.SearchSpecification;
 import org.chronos.chronodb.internal.impl.index.DocumentBasedIndexManager;
 
@@ -92,6 +95,32 @@ public interface IndexManager {
 	 */
 	public void clearAllIndices();
 
+	/**
+	 * Returns the {@linkplain IndexEncoding encoding} of the index with the given name.
+	 *
+	 * @param indexName
+	 *            The name of the index. Must not be <code>null</code>.
+	 *
+	 * @return The encoding of the index. Indices which have not been assigned an encoding explicitly (as well as unknown
+	 *         indices) use {@link IndexEncoding#STANDARD}. Never <code>null</code>.
+	 */
+	public IndexEncoding getIndexEncoding(String indexName);
+
+	/**
+	 * Sets the {@linkplain IndexEncoding encoding} of the index with the given name.
+	 *
+	 * <p>
+	 * Changing the encoding of an index dirties the index. Consider calling {@link #reindexAll()} when all changes to
+	 * the indices are complete.
+	 *
+	 * @param indexName
+	 *            The name of the index. Must not be <code>null</code>. The index must exist, i.e. at least one indexer
+	 *            must have been added to it.
+	 * @param encoding
+	 *            The new encoding of the index. Must not be <code>null</code>.
+	 */
+	public void setIndexEncoding(String indexName, IndexEncoding encoding);
+
 	// =================================================================================================================
 	// INDEXER MANAGEMENT
 	// =================================================================================================================
@@ -238,6 +267,29 @@ public interface IndexManager {
 	 */
 	public void addIndexer(String indexName, DoubleIndexer indexer);
 
+	/**
+	 * Adds the given indexer to the index with the given name, and sets the {@linkplain IndexEncoding encoding} of the
+	 * index.
+	 *
+	 * <p>
+	 * This is a shorthand for {@link #addIndexer(String, Indexer)} followed by
+	 * {@link #setIndexEncoding(String, IndexEncoding)}. Adding an indexer dirties the index. Consider calling
+	 * {@link #reindexAll()} when all changes to the indexers are complete.
+	 *
+	 * @param indexName
+	 *            The name of the index to which the indexer should be added. Must not be <code>null</code>. If there is
+	 *            no index with the given name yet, it is created on-the-fly.
+	 * @param indexer
+	 *            The indexer to add. Must not be <code>null</code>.
+	 * @param encoding
+	 *            The encoding of the index. Must not be <code>null</code>.
+	 */
+	public default void addIndexer(final String indexName, final Indexer<?> indexer, final IndexEncoding encoding) {
+		checkNotNull(encoding, "Precondition violation - argument 'encoding' must not be NULL!");
+		this.addIndexer(indexName, indexer);
+		this.setIndexEncoding(indexName, encoding);
+	}
+
 	/**
 	 * Removes the given indexer from all indices where it is used.
 	 *
@@ -349,6 +401,32 @@ public interface IndexManager {
 	 */
 	public void reindexAll(boolean force);
 
+	/**
+	 * Re-indexes all dirty indices in the background, without blocking concurrent reads and writes.
+	 *
+	 * <p>
+	 * The dirty indices are built from a snapshot of the data first, then they catch up with the commits which
+	 * happened in the meantime. Once they are complete, they are marked as clean (atomically with respect to
+	 * concurrent commits). Until then, they remain {@linkplain #getDirtyIndices() dirty}.
+	 *
+	 * <p>
+	 * If an online re-index is already running, this method returns the future of the running operation. Backends
+	 * which do not support online re-indexing perform a regular {@link #reindexAll()} in the calling thread.
+	 *
+	 * @return A future which completes when the indices which were dirty at the time of calling this method are clean.
+	 *         Never <code>null</code>.
+	 */
+	public default CompletableFuture<Void> reindexAllOnline() {
+		CompletableFuture<Void> future = new CompletableFuture<>();
+		try {
+			this.reindexAll();
+			future.complete(null);
+		} catch (RuntimeException e) {
+			future.completeExceptionally(e);
+		}
+		return future;
+	}
+
 	/**
 	 * Checks if any index is dirty and requires re-indexing.
 	 *
@@ -415,6 +493,73 @@ public interface IndexManager {
 	 */
 	public Iterator<QualifiedKey> evaluate(long timestamp, Branch branch, ChronoDBQuery query);
 
+	/**
+	 * Evaluates the given {@link ChronoDBQuery}, producing at most the given number of results.
+	 *
+	 * <p>
+	 * Which of the matching keys are returned is undefined. Depending on the query and the backend, the evaluation may
+	 * stop as soon as enough matches have been found, which is considerably cheaper than evaluating the full query.
+	 *
+	 * @param timestamp
+	 *            The timestamp at which the evaluation takes place. Must not be negative.
+	 * @param branch
+	 *            The branch to evaluate the query in. Must not be <code>null</code>.
+	 * @param query
+	 *            The query to run. Must not be <code>null</code>. Must have been optimized before calling this method.
+	 * @param maxResults
+	 *            The maximum number of keys to return. Must be greater than zero.
+	 *
+	 * @return An iterator on (at most <code>maxResults</code>) keys that have values assigned which match the query.
+	 *         May be empty, but never <code>null</code>.
+	 */
+	public Iterator<QualifiedKey> evaluate(long timestamp, Branch branch, ChronoDBQuery query, int maxResults);
+
+	/**
+	 * Checks if there is at least one key which matches the given {@link ChronoDBQuery}.
+	 *
+	 * <p>
+	 * Depending on the query and the backend, the evaluation stops as soon as the first match has been found.
+	 *
+	 * @param timestamp
+	 *            The timestamp at which the evaluation takes place. Must not be negative.
+	 * @param branch
+	 *            The branch to evaluate the query in. Must not be <code>null</code>.
+	 * @param query
+	 *            The query to run. Must not be <code>null</code>. Must have been optimized before calling this method.
+	 *
+	 * @return <code>true</code> if there is at least one match for the query, otherwise <code>false</code>.
+	 */
+	public boolean evaluateExists(long timestamp, Branch branch, ChronoDBQuery query);
+
+	/**
+	 * Evaluates the given {@link ChronoDBQuery}, producing the matching keys in the order of their values in the given
+	 * index.
+	 *
+	 * <p>
+	 * Keys are ordered by their smallest (ascending order) or largest (descending order) value in the given index. Keys
+	 * without a value in the given index are not part of the result. If possible, the index is scanned in order until
+	 * enough matches have been found, which avoids loading and sorting all matches of the query.
+	 *
+	 * @param timestamp
+	 *            The timestamp at which the evaluation takes place. Must not be negative.
+	 * @param branch
+	 *            The branch to evaluate the query in. Must not be <code>null</code>.
+	 * @param query
+	 *            The query to run. Must not be <code>null</code>. Must have been optimized before calling this method.
+	 * @param orderByIndex
+	 *            The name of the index which determines the order of the results. Must not be <code>null</code>.
+	 * @param order
+	 *            The order of the results. Must not be <code>null</code>.
+	 * @param maxResults
+	 *            The maximum number of keys to return. Must be greater than zero. Use {@link Integer#MAX_VALUE} to get
+	 *            all matching keys.
+	 *
+	 * @return An iterator on (at most <code>maxResults</code>) keys that have values assigned which match the query, in
+	 *         the requested order. May be empty, but never <code>null</code>.
+	 */
+	public Iterator<QualifiedKey> evaluateOrdered(long timestamp, Branch branch, ChronoDBQuery query, String orderByIndex,
+			Order order, int maxResults);
+
 	/**
 	 * Evaluates the given {@link ChronoDBQuery}.
 	 *
@@ -430,6 +575,61 @@ public interface IndexManager {
 	 */
 	public long evaluateCount(long timestamp, Branch branch, ChronoDBQuery query);
 
+	/**
+	 * Returns the distinct values of the given index over all keys in the given keyspace.
+	 *
+	 * <p>
+	 * If possible, the values are collected from the index alone, without loading any of the indexed values.
+	 *
+	 * @param timestamp
+	 *            The timestamp at which the evaluation takes place. Must not be negative.
+	 * @param branch
+	 *            The branch to evaluate the index in. Must not be <code>null</code>.
+	 * @param keyspace
+	 *            The keyspace to evaluate the index in. Must not be <code>null</code>.
+	 * @param indexName
+	 *            The name of the index to get the values for. Must not be <code>null</code>.
+	 *
+	 * @return The distinct index values, in the format in which they are stored in the index (i.e. integral numbers as
+	 *         {@link Long}s and floating point numbers as {@link Double}s). May be empty, but never <code>null</code>.
+	 */
+	public Set<Object> evaluateDistinctValues(long timestamp, Branch branch, String keyspace, String indexName);
+
+	/**
+	 * Returns the distinct values of the given index over all keys which match the given {@link ChronoDBQuery}.
+	 *
+	 * <p>
+	 * If possible, the values are collected from the index alone, without loading any of the matching values.
+	 *
+	 * @param timestamp
+	 *            The timestamp at which the evaluation takes place. Must not be negative.
+	 * @param branch
+	 *            The branch to evaluate the query in. Must not be <code>null</code>.
+	 * @param query
+	 *            The query to run. Must not be <code>null</code>. Must have been optimized before calling this method.
+	 * @param indexName
+	 *            The name of the index to get the values for. Must not be <code>null</code>.
+	 *
+	 * @return The distinct index values of the matching keys, in the format in which they are stored in the index
+	 *         (i.e. integral numbers as {@link Long}s and floating point numbers as {@link Double}s). May be empty, but
+	 *         never <code>null</code>.
+	 */
+	public Set<Object> evaluateDistinctValues(long timestamp, Branch branch, ChronoDBQuery query, String indexName);
+
+	/**
+	 * Creates the plan which is used to evaluate the given {@link ChronoDBQuery}, without evaluating it.
+	 *
+	 * @param timestamp
+	 *            The timestamp at which the evaluation would take place. Must not be negative.
+	 * @param branch
+	 *            The branch to evaluate the query in. Must not be <code>null</code>.
+	 * @param query
+	 *            The query to explain. Must not be <code>null</code>. Must have been optimized before calling this method.
+	 *
+	 * @return The query plan. Never <code>null</code>.
+	 */
+	public QueryPlan explain(long timestamp, Branch branch, ChronoDBQuery query);
+
 	// =====================================================================================================================
 	// ROLLBACK METHODS
 	// =====================================================================================================================
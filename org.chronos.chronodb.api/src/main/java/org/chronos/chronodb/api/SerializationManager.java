@@ -1,5 +1,7 @@
 package org.chronos.chronodb.api;
 
+import org.chronos.chronodb.api.serialization.ValueCodec;
+
 /**
  * The {@link SerializationManager} is responsible for conversion between {@link Object} and <code>byte[]</code>
  * representation.
@@ -8,6 +10,11 @@ package org.chronos.chronodb.api;
  * Every {@link ChronoDB} instance has its own SerializationManager, which can be retrieved via
  * {@link ChronoDB#getSerializationManager()}.
  *
+ * <p>
+ * By default, all values are serialized with Kryo. Additional {@link ValueCodec}s can be {@linkplain #registerCodec
+ * registered} and selected for individual keyspaces. Values written by a codec carry a tag which identifies the codec,
+ * therefore {@link #deserialize(byte[])} is capable of reading any value, regardless of the keyspace it belongs to.
+ *
  * @author martin.haeusler@uibk.ac.at -- Initial Contribution and API
  *
  */
@@ -33,4 +40,77 @@ public interface SerializationManager {
 	 */
 	public Object deserialize(byte[] serialForm);
 
+	/**
+	 * Serializes the given object into its <code>byte[]</code> representation, using the {@link ValueCodec} which has
+	 * been {@linkplain #setKeyspaceCodec(String, String) selected} for the given keyspace (if any).
+	 *
+	 * @param keyspace
+	 *            The keyspace in which the object will be stored. Must not be <code>null</code>.
+	 * @param object
+	 *            The object to serialize. Must not be <code>null</code>.
+	 *
+	 * @return The serial form of the passed object.
+	 */
+	public byte[] serialize(String keyspace, Object object);
+
+	/**
+	 * Converts the given serial form into the default (codec-independent) format.
+	 *
+	 * <p>
+	 * Values written by a {@link ValueCodec} may refer to database-specific information (such as string dictionaries).
+	 * This method must be used whenever a serial form leaves the database, e.g. in dumps.
+	 *
+	 * @param serialForm
+	 *            The serial form to convert. Must not be <code>null</code>.
+	 *
+	 * @return The serial form in the default format. May be the passed array if no conversion was necessary.
+	 */
+	public byte[] toDefaultFormat(byte[] serialForm);
+
+	/**
+	 * Durably stores the database-specific information (such as string dictionary entries) which has been created by
+	 * {@link #serialize(String, Object)} since the last flush.
+	 *
+	 * <p>
+	 * The database calls this method after it has serialized the values of a commit, and before it writes them.
+	 */
+	public void flush();
+
+	/**
+	 * Registers the given {@link ValueCodec}.
+	 *
+	 * <p>
+	 * Codecs need to be registered before any value written by them is read. Registering a codec does not change the
+	 * format of any keyspace; use {@link #setKeyspaceCodec(String, String)} for this purpose.
+	 *
+	 * @param codec
+	 *            The codec to register. Must not be <code>null</code>. Its name and ID must not collide with any other
+	 *            registered codec.
+	 */
+	public void registerCodec(ValueCodec codec);
+
+	/**
+	 * Selects the {@link ValueCodec} to use for new values in the given keyspace.
+	 *
+	 * <p>
+	 * Existing values are not affected, they remain readable regardless of the selected codec.
+	 *
+	 * @param keyspace
+	 *            The keyspace to select the codec for. Must not be <code>null</code>.
+	 * @param codecName
+	 *            The {@linkplain ValueCodec#getName() name} of the (registered) codec to use, or <code>null</code> to
+	 *            use the default format.
+	 */
+	public void setKeyspaceCodec(String keyspace, String codecName);
+
+	/**
+	 * Returns the {@link ValueCodec} which is used for new values in the given keyspace.
+	 *
+	 * @param keyspace
+	 *            The keyspace to get the codec for. Must not be <code>null</code>.
+	 *
+	 * @return The codec, or <code>null</code> if the keyspace uses the default format.
+	 */
+	public ValueCodec getKeyspaceCodec(String keyspace);
+
 }
@@ -1,5 +1,6 @@
 package org.chronos.chronodb.api.builder.database;
 
+import org.chronos.chronodb.api.CacheType;
 import org.chronos.chronodb.api.ChronoDB;
 import org.chronos.chronodb.api.ChronoDBTransaction;
 import org.chronos.chronodb.api.CommitMetadataFilter;
@@ -7,6 +8,8 @@ import org.chronos.chronodb.api.conflict.ConflictResolutionStrategy;
 import org.chronos.chronodb.internal.api.ChronoDBConfiguration;
 import org.chronos.common.builder.ChronoBuilder;
 
+import java.util.Map;
+
 /**
  * A builder for instances of {@link ChronoDB}.
  *
@@ -39,6 +42,81 @@ public interface ChronoDBFinalizableBuilder<SELF extends ChronoDBFinalizableBuil
 	 */
 	public SELF withLruCacheOfSize(int maxSize);
 
+	/**
+	 * Sets the type of entry cache to use on the new {@link ChronoDB} instance.
+	 *
+	 * <p>
+	 * This setting only has an effect if caching is enabled, e.g. via {@link #withLruCacheOfSize(int)}. By default,
+	 * {@link CacheType#MOSAIC} is used.
+	 *
+	 * @param cacheType
+	 *            The cache type to use. Must not be <code>null</code>.
+	 *
+	 * @return <code>this</code>, for method chaining.
+	 */
+	public SELF withCacheType(CacheType cacheType);
+
+	/**
+	 * Enables caching on the new {@link ChronoDB} instance, with a cache that is bounded by memory rather than by the
+	 * number of elements.
+	 *
+	 * <p>
+	 * Each cache entry is weighed by the estimated heap size of its value. Memory-bounded caching is only supported by
+	 * {@link CacheType#CONCURRENT}, which is therefore always used if this option is set.
+	 *
+	 * <p>
+	 * If this operation is called several times on the same builder instance, the last setting wins.
+	 *
+	 * @param maxSizeInBytes
+	 *            The maximum total size of all cache entries, in bytes. If this number is less than or equal to zero,
+	 *            the caching is disabled instead.
+	 *
+	 * @return <code>this</code>, for method chaining.
+	 */
+	public SELF withCacheMemoryBudget(long maxSizeInBytes);
+
+	/**
+	 * Enables caching on the new {@link ChronoDB} instance, with a cache that is bounded by memory rather than by the
+	 * number of elements, and reserves parts of the memory budget for individual keyspaces.
+	 *
+	 * <p>
+	 * Each listed keyspace receives its own share of the cache which cannot be used by any other keyspace. This
+	 * prevents a keyspace with large values from evicting all entries of other keyspaces. All keyspaces which are not
+	 * listed share the remaining budget.
+	 *
+	 * <p>
+	 * If this operation is called several times on the same builder instance, the last setting wins.
+	 *
+	 * @param maxSizeInBytes
+	 *            The maximum total size of all cache entries, in bytes. If this number is less than or equal to zero,
+	 *            the caching is disabled instead.
+	 * @param keyspaceBudgets
+	 *            The budgets (in bytes) to reserve for individual keyspaces. The sum of all budgets must be less than
+	 *            <code>maxSizeInBytes</code>. May be empty, must not be <code>null</code>.
+	 *
+	 * @return <code>this</code>, for method chaining.
+	 */
+	public SELF withCacheMemoryBudget(long maxSizeInBytes, Map<String, Long> keyspaceBudgets);
+
+	/**
+	 * Enables the off-heap second-level cache for serialized values on the new {@link ChronoDB} instance.
+	 *
+	 * <p>
+	 * The second-level cache holds the serialized form of the values in direct memory outside of the Java heap. It is
+	 * consulted before the storage backend is accessed, and works independently of the regular entry cache. Please make
+	 * sure that the maximum direct memory of the JVM (<code>-XX:MaxDirectMemorySize</code>) is large enough.
+	 *
+	 * <p>
+	 * If this operation is called several times on the same builder instance, the last setting wins.
+	 *
+	 * @param maxSizeInBytes
+	 *            The maximum size of the off-heap cache, in bytes. If this number is less than or equal to zero, the
+	 *            off-heap cache is disabled instead.
+	 *
+	 * @return <code>this</code>, for method chaining.
+	 */
+	public SELF withOffHeapCacheOfSize(long maxSizeInBytes);
+
 	/**
 	 * Enables or disables the assumption that values in the cache of this {@link ChronoDB} instance are immutable.
 	 *
@@ -1,7 +1,9 @@
 package org.chronos.chronodb.api.builder.query;
 
 import org.chronos.chronodb.api.ChronoDBTransaction;
+import org.chronos.chronodb.api.Order;
 import org.chronos.chronodb.internal.api.query.ChronoDBQuery;
+import org.chronos.chronodb.internal.api.query.QueryPlan;
 
 /**
  * Represents the (potentially) last step in the fluent query API.
@@ -36,6 +38,104 @@ public interface FinalizableQueryBuilder extends QueryBaseBuilder<FinalizableQue
 	 */
 	public long count();
 
+	/**
+	 * Executes the previously built query, checking if there is at least one matching element.
+	 *
+	 * <p>
+	 * This is more efficient than <code>count() > 0</code>, because the evaluation may stop at the first match.
+	 *
+	 * <p>
+	 * Usage example:
+	 *
+	 * <pre>
+	 * boolean anyMatch = tx.find().where("name").contains("hello").exists();
+	 * </pre>
+	 *
+	 * @return <code>true</code> if at least one key matches the query, otherwise <code>false</code>.
+	 */
+	public boolean exists();
+
+	/**
+	 * Executes the previously built query, returning the distinct values which the matching elements have in the given
+	 * index.
+	 *
+	 * <p>
+	 * The values are taken from the index itself, so they are returned in the format in which they are stored in the
+	 * index (i.e. integral numbers as {@link Long}s and floating point numbers as {@link Double}s).
+	 *
+	 * <p>
+	 * Usage example:
+	 *
+	 * <pre>
+	 * Set&lt;Object&gt; cities = tx.find().where("country").isEqualTo("Austria").distinctValues("city");
+	 * </pre>
+	 *
+	 * @param indexName
+	 *            The name of the index to get the values from. Must not be <code>null</code>.
+	 * @return The distinct index values of the matching keys. May be empty, but never <code>null</code>.
+	 */
+	public Set<Object> distinctValues(String indexName);
+
+	/**
+	 * Limits the number of results of the previously built query.
+	 *
+	 * <p>
+	 * Which of the matching elements are returned is undefined. The evaluation of the query may stop as soon as enough
+	 * matches have been found.
+	 *
+	 * <p>
+	 * Usage example:
+	 *
+	 * <pre>
+	 * Iterator&lt;QualifiedKey&gt; iterator = tx.find().where("name").contains("hello").limit(20).getKeys();
+	 * </pre>
+	 *
+	 * @param maxResults
+	 *            The maximum number of results. Must be greater than zero.
+	 * @return The finalizer which executes the limited query. Never <code>null</code>.
+	 */
+	public QueryBuilderFinalizer limit(int maxResults);
+
+	/**
+	 * Orders the results of the previously built query by their values in the given index.
+	 *
+	 * <p>
+	 * Keys are ordered by their smallest (ascending order) or largest (descending order) value in the given index; keys
+	 * which have no value in the given index are not part of the result. In combination with
+	 * {@link OrderedQueryBuilderFinalizer#limit(int)}, the index is scanned in order until enough matches have been
+	 * found, instead of loading and sorting all matches.
+	 *
+	 * <p>
+	 * Usage example:
+	 *
+	 * <pre>
+	 * // the 50 latest events of type "login"
+	 * Iterator&lt;QualifiedKey&gt; iterator = tx.find().where("type").isEqualTo("login").orderBy("timestamp", Order.DESCENDING).limit(50).getKeys();
+	 * </pre>
+	 *
+	 * @param indexName
+	 *            The name of the index which determines the order. Must not be <code>null</code>.
+	 * @param order
+	 *            The order of the results. Must not be <code>null</code>.
+	 * @return The finalizer which executes the ordered query. Never <code>null</code>.
+	 */
+	public OrderedQueryBuilderFinalizer orderBy(String indexName, Order order);
+
+	/**
+	 * Returns the plan which would be used to execute the previously built query, without executing it.
+	 *
+	 * <p>
+	 * Usage example:
+	 *
+	 * <pre>
+	 * QueryPlan plan = tx.find().where("name").contains("hello").and().where("age").isEqualTo(42).explain();
+	 * System.out.println(plan.getDescription());
+	 * </pre>
+	 *
+	 * @return The query plan. Never <code>null</code>.
+	 */
+	public QueryPlan explain();
+
 	/**
 	 * Extends the query by adding a logical "and" operator.
 	 *
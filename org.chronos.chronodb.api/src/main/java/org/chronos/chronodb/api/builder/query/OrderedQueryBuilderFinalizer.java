@@ -0,0 +1,31 @@
+package org.chronos.chronodb.api.builder.query;
+
+/**
+ * The last step in the fluent query API for queries whose results are ordered by the values of an index.
+ *
+ * <p>
+ * Instances of this interface are created via {@link FinalizableQueryBuilder#orderBy(String, org.chronos.chronodb.api.Order)}.
+ * The iterators returned by this finalizer produce their elements in the requested order.
+ *
+ * @author martin.haeusler@uibk.ac.at -- Initial Contribution and API
+ *
+ */
+public interface OrderedQueryBuilderFinalizer extends QueryBuilderFinalizer {
+
+	/**
+	 * Limits the number of results of the previously built query to the first elements in the requested order.
+	 *
+	 * <p>
+	 * Usage example:
+	 *
+	 * <pre>
+	 * Iterator&lt;QualifiedKey&gt; iterator = tx.find().where("type").isEqualTo("login").orderBy("timestamp", Order.DESCENDING).limit(50).getKeys();
+	 * </pre>
+	 *
+	 * @param maxResults
+	 *            The maximum number of results. Must be greater than zero.
+	 * @return The finalizer which executes the limited query. Never <code>null</code>.
+	 */
+	public QueryBuilderFinalizer limit(int maxResults);
+
+}
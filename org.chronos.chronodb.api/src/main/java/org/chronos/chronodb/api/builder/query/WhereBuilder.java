@@ -1,5 +1,7 @@
 package org.chronos.chronodb.api.builder.query;
 
+import org.chronos.chronodb.api.indexing.CompositeIndexer;
+import org.chronos.chronodb.api.query.CompositeKeyRange;
 import org.chronos.chronodb.internal.impl.query.TextMatchMode;
 
 import java.util.Set;
@@ -751,4 +753,47 @@ public interface WhereBuilder {
 	 */
 	public FinalizableQueryBuilder notInDoubles(Set<Double> values, double tolerance);
 
+	/**
+	 * Adds a constraint on a composite index.
+	 *
+	 * <p>
+	 * The index addressed by the "where" clause must have been created with a {@link CompositeIndexer}. The constraint
+	 * matches all objects which have at least one index key within the given range.
+	 *
+	 * <p>
+	 * Usage example:
+	 *
+	 * <pre>
+	 * tx.find().where("typeStatusCreatedAt").matchesComposite(CompositeKeyRange.withPrefix("Order", "open").greaterThan(1000L)).getResult();
+	 * </pre>
+	 *
+	 * @param range
+	 *            The range of composite keys to match. Must not be <code>null</code>.
+	 *
+	 * @return The next builder. Never <code>null</code>.
+	 */
+	public FinalizableQueryBuilder matchesComposite(CompositeKeyRange range);
+
+	/**
+	 * Adds a negated constraint on a composite index.
+	 *
+	 * <p>
+	 * The index addressed by the "where" clause must have been created with a {@link CompositeIndexer}. The constraint
+	 * matches all objects which have no index key within the given range. Please note that this requires a scan over the
+	 * entire index.
+	 *
+	 * <p>
+	 * Usage example:
+	 *
+	 * <pre>
+	 * tx.find().where("typeStatusCreatedAt").notMatchesComposite(CompositeKeyRange.withPrefix("Order", "open")).getResult();
+	 * </pre>
+	 *
+	 * @param range
+	 *            The range of composite keys to exclude. Must not be <code>null</code>.
+	 *
+	 * @return The next builder. Never <code>null</code>.
+	 */
+	public FinalizableQueryBuilder notMatchesComposite(CompositeKeyRange range);
+
 }
@@ -0,0 +1,36 @@
+package org.chronos.chronodb.api.changefeed;
+
+import java.util.List;
+
+/**
+ * Describes the changes which have been applied by a single commit on a branch.
+ *
+ * <p>
+ * Instances are delivered to {@link ChangeFeedListener}s, or retrieved via
+ * {@link ChangeFeedManager#getChangesBetween(String, long, long)}.
+ */
+public interface ChangeFeedEvent {
+
+    /**
+     * Returns the name of the branch on which the commit has been performed.
+     *
+     * @return The branch name. Never <code>null</code>.
+     */
+    public String getBranchName();
+
+    /**
+     * Returns the timestamp of the commit.
+     *
+     * @return The commit timestamp. Never negative.
+     */
+    public long getCommitTimestamp();
+
+    /**
+     * Returns the changes applied by the commit, in no particular order.
+     *
+     * @return An unmodifiable list of changes. May be empty (e.g. for a commit which only carried metadata), never
+     * <code>null</code>.
+     */
+    public List<KeyChange> getChanges();
+
+}
@@ -0,0 +1,21 @@
+package org.chronos.chronodb.api.changefeed;
+
+/**
+ * A listener which receives the commits of a branch from a {@link ChangeFeedSubscription}.
+ *
+ * <p>
+ * The listener is invoked on a thread which belongs to the change feed, never on the committing thread. The events of
+ * a subscription are delivered one at a time, in ascending commit timestamp order. Exceptions thrown by the listener
+ * are logged and do not stop the delivery of subsequent events.
+ */
+@FunctionalInterface
+public interface ChangeFeedListener {
+
+    /**
+     * Called for every commit on the subscribed branch.
+     *
+     * @param event The changes of the commit. Never <code>null</code>.
+     */
+    public void onCommit(ChangeFeedEvent event);
+
+}
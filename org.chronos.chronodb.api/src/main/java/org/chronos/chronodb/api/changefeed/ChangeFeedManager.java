@@ -0,0 +1,63 @@
+package org.chronos.chronodb.api.changefeed;
+
+import java.util.Iterator;
+
+import org.chronos.chronodb.api.ChronoDB;
+
+/**
+ * The change feed delivers the changes of every commit on a branch to interested parties (e.g. search indexers or
+ * caches), without burdening the commit itself.
+ *
+ * <p>
+ * For every commit, the keys which have been modified are recorded in a compact change log next to the commit
+ * metadata. Subscribers which are up to date receive the changes directly from the commit. Subscribers which start at
+ * an earlier timestamp (or fall behind) catch up from the change log; the old and new values are then resolved via
+ * point lookups, without scanning the temporal data matrices. Commits which have been written before the change log
+ * existed (or which have been loaded from a dump) are resolved by scanning the matrices instead.
+ *
+ * <p>
+ * The feed of a branch contains the commits on that branch only, not the commits of its origin branch. Dateback
+ * operations are not reflected in the feed.
+ *
+ * <p>
+ * An instance can be obtained via {@link ChronoDB#getChangeFeedManager()}.
+ */
+public interface ChangeFeedManager {
+
+    /**
+     * Subscribes to all commits on the given branch which occur after this method has been called.
+     *
+     * @param branchName The name of the branch to subscribe to. Must not be <code>null</code>, must refer to an existing branch.
+     * @param listener   The listener to deliver the commits to. Must not be <code>null</code>.
+     * @return The subscription. Never <code>null</code>. Must be closed by the caller when it is no longer needed.
+     */
+    public ChangeFeedSubscription subscribe(String branchName, ChangeFeedListener listener);
+
+    /**
+     * Subscribes to all commits on the given branch with a timestamp strictly greater than the given one.
+     *
+     * <p>
+     * Commits which have already occurred are delivered first, followed by all future commits.
+     *
+     * @param branchName     The name of the branch to subscribe to. Must not be <code>null</code>, must refer to an existing branch.
+     * @param afterTimestamp The (exclusive) timestamp to start the feed after. Typically the last commit timestamp a
+     *                       previous subscription has delivered. Must not be negative.
+     * @param listener       The listener to deliver the commits to. Must not be <code>null</code>.
+     * @return The subscription. Never <code>null</code>. Must be closed by the caller when it is no longer needed.
+     */
+    public ChangeFeedSubscription subscribe(String branchName, long afterTimestamp, ChangeFeedListener listener);
+
+    /**
+     * Returns the changes of all commits on the given branch within the given time range.
+     *
+     * <p>
+     * The events are loaded lazily while the iterator is being consumed.
+     *
+     * @param branchName     The name of the branch. Must not be <code>null</code>, must refer to an existing branch.
+     * @param afterTimestamp The lower bound of the time range (exclusive). Must not be negative.
+     * @param upToTimestamp  The upper bound of the time range (inclusive). Must not be negative.
+     * @return An iterator over the changes per commit, in ascending commit timestamp order. May be empty, never <code>null</code>.
+     */
+    public Iterator<ChangeFeedEvent> getChangesBetween(String branchName, long afterTimestamp, long upToTimestamp);
+
+}
@@ -0,0 +1,47 @@
+package org.chronos.chronodb.api.changefeed;
+
+/**
+ * A handle on a registered {@link ChangeFeedListener}.
+ *
+ * <p>
+ * A subscription stays active until it is {@linkplain #close() closed}, or until the database is closed. To resume the
+ * feed later on (e.g. after a restart of the application), remember the {@linkplain #getLastDeliveredTimestamp() last
+ * delivered timestamp} and pass it to {@link ChangeFeedManager#subscribe(String, long, ChangeFeedListener)}.
+ */
+public interface ChangeFeedSubscription extends AutoCloseable {
+
+    /**
+     * Returns the name of the branch whose commits are delivered by this subscription.
+     *
+     * @return The branch name. Never <code>null</code>.
+     */
+    public String getBranchName();
+
+    /**
+     * Returns the timestamp of the last commit which has been delivered to the listener.
+     *
+     * <p>
+     * Before the first delivery, this is the timestamp the subscription has been started after.
+     *
+     * @return The timestamp of the last delivered commit. Never negative.
+     */
+    public long getLastDeliveredTimestamp();
+
+    /**
+     * Checks if this subscription has been closed.
+     *
+     * @return <code>true</code> if the subscription is closed, otherwise <code>false</code>.
+     */
+    public boolean isClosed();
+
+    /**
+     * Closes this subscription.
+     *
+     * <p>
+     * No further events are delivered after this method returns, except for an event which is being delivered at the
+     * moment. Closing an already closed subscription has no effect.
+     */
+    @Override
+    public void close();
+
+}
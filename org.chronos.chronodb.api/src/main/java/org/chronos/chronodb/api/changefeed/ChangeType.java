@@ -0,0 +1,31 @@
+package org.chronos.chronodb.api.changefeed;
+
+/**
+ * The kind of change which a commit has applied to a single key, as reported by a {@link KeyChange}.
+ */
+public enum ChangeType {
+
+    /** The key had no value before the commit, and has a value after the commit. */
+    CREATED,
+
+    /** The key had a value before the commit, and has a different value after the commit. */
+    UPDATED,
+
+    /** The key had a value before the commit, and has been removed by the commit. */
+    DELETED;
+
+    /**
+     * Determines the change type from the values of a key before and after a commit.
+     *
+     * @param oldValue The value before the commit. May be <code>null</code> if the key did not exist.
+     * @param newValue The value after the commit. May be <code>null</code> if the key has been removed.
+     * @return The change type, or <code>null</code> if both values are <code>null</code>.
+     */
+    public static ChangeType fromValues(final Object oldValue, final Object newValue) {
+        if (oldValue == null) {
+            return newValue == null ? null : CREATED;
+        }
+        return newValue == null ? DELETED : UPDATED;
+    }
+
+}
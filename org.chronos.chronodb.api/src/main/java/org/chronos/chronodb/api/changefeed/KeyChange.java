@@ -0,0 +1,46 @@
+package org.chronos.chronodb.api.changefeed;
+
+/**
+ * A single key which has been modified by a commit, together with its value before and after the commit.
+ *
+ * <p>
+ * The values are shared between all subscribers of the change feed and must be treated as read-only.
+ */
+public interface KeyChange {
+
+    /**
+     * Returns the name of the keyspace which contains the modified key.
+     *
+     * @return The keyspace name. Never <code>null</code>.
+     */
+    public String getKeyspace();
+
+    /**
+     * Returns the modified key.
+     *
+     * @return The key. Never <code>null</code>.
+     */
+    public String getKey();
+
+    /**
+     * Returns the kind of modification.
+     *
+     * @return The change type. Never <code>null</code>.
+     */
+    public ChangeType getChangeType();
+
+    /**
+     * Returns the value of the key before the commit.
+     *
+     * @return The old value. <code>null</code> if the change type is {@link ChangeType#CREATED}.
+     */
+    public Object getOldValue();
+
+    /**
+     * Returns the value of the key after the commit.
+     *
+     * @return The new value. <code>null</code> if the change type is {@link ChangeType#DELETED}.
+     */
+    public Object getNewValue();
+
+}
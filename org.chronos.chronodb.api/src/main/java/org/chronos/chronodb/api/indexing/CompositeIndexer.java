@@ -0,0 +1,53 @@
+package org.chronos.chronodb.api.indexing;
+
+import java.util.List;
+import java.util.Set;
+
+import org.chronos.chronodb.api.ChronoDB;
+import org.chronos.chronodb.api.builder.query.WhereBuilder;
+import org.chronos.chronodb.api.query.CompositeKeyRange;
+import org.chronos.chronodb.internal.impl.index.CompositeKeys;
+
+/**
+ * A {@link CompositeIndexer} is an {@link Indexer} which indexes an ordered list of values (components) per object, for
+ * example <code>(type, status, createdAt)</code>.
+ *
+ * <p>
+ * The components are concatenated into a single, order-preserving key per combination of component values, which is
+ * stored in a regular {@link String} index. Such an index is queried via
+ * {@link WhereBuilder#matchesComposite(CompositeKeyRange)}, which matches all objects whose leading components are equal
+ * to a given prefix, optionally restricted to a range of values of the next component. A query with a prefix of
+ * <i>n</i> components is answered by scanning only the matching section of the index.
+ *
+ * <p>
+ * If an object has no value for a component, its keys are truncated before that component. Such objects are still found
+ * by queries on the preceding components. Objects without a value for the first component are not indexed at all.
+ *
+ * <p>
+ * Please refer to the documentation in {@link Indexer} for more details.
+ *
+ * @author martin.haeusler@uibk.ac.at -- Initial Contribution and API
+ */
+public interface CompositeIndexer extends StringIndexer {
+
+	/**
+	 * Produces the values of the individual components of the given object.
+	 *
+	 * <p>
+	 * This method is only called by {@link ChronoDB} if a previous call to {@link #canIndex(Object)} with the same
+	 * parameter returned <code>true</code>.
+	 *
+	 * @param object
+	 *            The object to index. Must not be <code>null</code>.
+	 * @return A list which contains one set of values per component, in the order of the components. Values must be
+	 *         {@link String}s, {@link Long}s or {@link Double}s (other integral and floating point numbers are converted
+	 *         automatically). An empty set indicates that the object has no value for the respective component.
+	 */
+	public List<Set<?>> getComponentValues(Object object);
+
+	@Override
+	public default Set<String> getIndexValues(final Object object) {
+		return CompositeKeys.encodeAll(this.getComponentValues(object));
+	}
+
+}
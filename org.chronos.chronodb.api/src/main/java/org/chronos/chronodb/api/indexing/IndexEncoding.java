@@ -0,0 +1,38 @@
+package org.chronos.chronodb.api.indexing;
+
+import org.chronos.chronodb.api.IndexManager;
+
+/**
+ * Specifies how the entries of a secondary index are stored.
+ *
+ * <p>
+ * The encoding of an index can be chosen when the index is created (see
+ * {@link IndexManager#addIndexer(String, Indexer, IndexEncoding)}) and changed later on via
+ * {@link IndexManager#setIndexEncoding(String, IndexEncoding)}. Changing the encoding dirties the index.
+ *
+ * @author martin.haeusler@uibk.ac.at -- Initial Contribution and API
+ */
+public enum IndexEncoding {
+
+	/**
+	 * Every (index value, key) pair is stored as an individual index entry.
+	 *
+	 * <p>
+	 * This is the default encoding. It is well suited for indices with many distinct values (e.g. names or
+	 * identifiers).
+	 */
+	STANDARD,
+
+	/**
+	 * In addition to the standard index entries, the keys of each distinct index value are stored as a compressed
+	 * bitmap.
+	 *
+	 * <p>
+	 * This encoding is intended for indices with few distinct values, each of which is shared by many keys (e.g. types,
+	 * states or flags). Equality and <code>within</code> conditions on such indices, as well as <code>and</code> /
+	 * <code>or</code> combinations of them, are evaluated by combining the bitmaps instead of scanning the index. Storage
+	 * backends which do not support bitmaps treat this encoding like {@link #STANDARD}.
+	 */
+	BITMAP
+
+}
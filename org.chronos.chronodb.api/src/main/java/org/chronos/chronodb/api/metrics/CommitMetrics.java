@@ -0,0 +1,87 @@
+package org.chronos.chronodb.api.metrics;
+
+import java.util.Set;
+
+import org.chronos.chronodb.api.ChronoDB;
+
+/**
+ * Provides timing information about the commits performed on a {@link ChronoDB} instance.
+ *
+ * <p>
+ * For every branch, the duration of each {@linkplain CommitPhase commit phase} is recorded in a histogram. Recording
+ * is always active and cheap enough to be used in production. All values are kept in memory only, i.e. they start
+ * from zero whenever the database is opened.
+ *
+ * <p>
+ * An instance can be obtained via {@link ChronoDB#getCommitMetrics()}.
+ */
+public interface CommitMetrics {
+
+    /**
+     * Returns the names of the branches for which commit metrics have been recorded.
+     *
+     * @return The set of branch names. Never <code>null</code>, may be empty.
+     */
+    public Set<String> getBranchNames();
+
+    /**
+     * Returns the number of successful commits on the given branch.
+     *
+     * @param branchName The name of the branch. Must not be <code>null</code>.
+     * @return The number of successful commits on the branch. Zero for unknown branches.
+     */
+    public long getCommitCount(String branchName);
+
+    /**
+     * Returns the number of failed commits on the given branch.
+     *
+     * @param branchName The name of the branch. Must not be <code>null</code>.
+     * @return The number of failed commits on the branch. Zero for unknown branches.
+     */
+    public long getFailedCommitCount(String branchName);
+
+    /**
+     * Returns the latency distribution of the given commit phase on the given branch.
+     *
+     * @param branchName The name of the branch. Must not be <code>null</code>.
+     * @param phase      The commit phase. Must not be <code>null</code>.
+     * @return An immutable snapshot of the latency distribution. Never <code>null</code>. Empty for unknown branches.
+     */
+    public LatencySnapshot getPhaseLatency(String branchName, CommitPhase phase);
+
+    /**
+     * Returns the total time spent by all commits on the given branch waiting for the commit lock, in nanoseconds.
+     *
+     * @param branchName The name of the branch. Must not be <code>null</code>.
+     * @return The total lock wait time in nanoseconds. Zero for unknown branches.
+     */
+    public long getCommitLockWaitTime(String branchName);
+
+    /**
+     * Returns the number of commits on the given branch which are currently waiting to be written.
+     *
+     * <p>
+     * This includes commits waiting for the commit lock as well as commits waiting in the group commit queue.
+     *
+     * @param branchName The name of the branch. Must not be <code>null</code>.
+     * @return The current queue depth. Zero for unknown branches.
+     */
+    public int getCommitQueueDepth(String branchName);
+
+    /**
+     * Returns the largest number of commits which were waiting on the given branch at the same time.
+     *
+     * @param branchName The name of the branch. Must not be <code>null</code>.
+     * @return The maximum queue depth since the last reset. Zero for unknown branches.
+     */
+    public int getMaxCommitQueueDepth(String branchName);
+
+    /**
+     * Resets all recorded values of all branches.
+     *
+     * <p>
+     * The current queue depth is not affected by this operation.
+     */
+    public void reset();
+
+}
@@ -0,0 +1,48 @@
+package org.chronos.chronodb.api.metrics;
+
+/**
+ * The phases of a commit, as recorded by {@link CommitMetrics}.
+ *
+ * <p>
+ * The phases are listed in the order in which they occur during a commit. Not every commit passes through every phase;
+ * for example, incremental commits do not write a write-ahead log token for every increment.
+ */
+public enum CommitPhase {
+
+    /** Waiting for the commit lock of the branch. */
+    LOCK_ACQUISITION,
+
+    /** Checking the commit metadata with the configured commit metadata filter. */
+    COMMIT_METADATA_FILTER,
+
+    /** Analyzing the change set of the transaction, including conflict detection and resolution. */
+    CHANGE_SET_ANALYSIS,
+
+    /** Writing the write-ahead log token (including the recovery of a previously failed commit, if necessary). */
+    WAL_TOKEN,
+
+    /** Serializing the changes and writing them to the temporal data matrices. */
+    PRIMARY_INDEX_UPDATE,
+
+    /** Updating the secondary indices. */
+    SECONDARY_INDEX_UPDATE,
+
+    /** Writing the commit metadata. */
+    COMMIT_METADATA_STORE,
+
+    /** Writing the change log entry of the commit, i.e. the keys it has modified. */
+    CHANGE_LOG_STORE,
+
+    /** Writing the changes through to the caches. */
+    CACHE_UPDATE,
+
+    /** Updating the "now" timestamp of the branch. */
+    SET_NOW,
+
+    /** Clearing the write-ahead log token. */
+    CLEAR_WAL_TOKEN,
+
+    /** The entire commit, from the commit request until the commit is visible. */
+    TOTAL
+
+}
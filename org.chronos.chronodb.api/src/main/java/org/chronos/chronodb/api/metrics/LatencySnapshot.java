@@ -0,0 +1,68 @@
+package org.chronos.chronodb.api.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An immutable snapshot of a latency distribution.
+ *
+ * <p>
+ * Latencies are recorded in nanoseconds, in buckets with a relative width of at most 1/16 (i.e. reported percentiles
+ * are accurate to roughly two significant digits). The minimum, maximum and mean values are exact.
+ */
+public interface LatencySnapshot {
+
+    /**
+     * Returns the number of recorded values.
+     *
+     * @return The number of recorded values. Never negative.
+     */
+    public long getCount();
+
+    /**
+     * Returns the smallest recorded value, in nanoseconds.
+     *
+     * @return The smallest recorded value, or zero if no values have been recorded.
+     */
+    public long getMin();
+
+    /**
+     * Returns the largest recorded value, in nanoseconds.
+     *
+     * @return The largest recorded value, or zero if no values have been recorded.
+     */
+    public long getMax();
+
+    /**
+     * Returns the arithmetic mean of the recorded values, in nanoseconds.
+     *
+     * @return The mean, or zero if no values have been recorded.
+     */
+    public double getMean();
+
+    /**
+     * Returns the sum of all recorded values, in nanoseconds.
+     *
+     * @return The sum of all recorded values. Never negative.
+     */
+    public long getTotal();
+
+    /**
+     * Returns the value below which the given percentage of the recorded values fall, in nanoseconds.
+     *
+     * @param percentile The percentile to compute, between 0 and 100 (inclusive).
+     * @return The value at the given percentile, or zero if no values have been recorded.
+     */
+    public long getValueAtPercentile(double percentile);
+
+    /**
+     * Returns the value at the given percentile in the given time unit.
+     *
+     * @param percentile The percentile to compute, between 0 and 100 (inclusive).
+     * @param unit       The time unit to convert the result to. Must not be <code>null</code>.
+     * @return The value at the given percentile, in the given time unit.
+     */
+    public default double getValueAtPercentile(final double percentile, final TimeUnit unit) {
+        return (double) this.getValueAtPercentile(percentile) / unit.toNanos(1);
+    }
+
+}
@@ -0,0 +1,44 @@
+package org.chronos.chronodb.api.query;
+
+import org.chronos.chronodb.api.indexing.CompositeIndexer;
+import org.chronos.chronodb.internal.impl.query.condition.composite.MatchesCompositeCondition;
+import org.chronos.chronodb.internal.impl.query.condition.composite.NotMatchesCompositeCondition;
+
+/**
+ * A {@link CompositeCondition} is a {@link Condition} on the keys of a composite index (see {@link CompositeIndexer}),
+ * checking if they are contained in a {@link CompositeKeyRange}.
+ *
+ * @author martin.haeusler@uibk.ac.at -- Initial Contribution and API
+ *
+ */
+public interface CompositeCondition extends Condition {
+
+	// =================================================================================================================
+	// CONSTANTS
+	// =================================================================================================================
+
+	/** Matches all keys which are contained in the given range. */
+	public static final CompositeCondition MATCHES = MatchesCompositeCondition.INSTANCE;
+
+	/** Matches all keys which are not contained in the given range. */
+	public static final CompositeCondition NOT_MATCHES = NotMatchesCompositeCondition.INSTANCE;
+
+	// =================================================================================================================
+	// PUBLIC API
+	// =================================================================================================================
+
+	@Override
+	public CompositeCondition negate();
+
+	/**
+	 * Applies <code>this</code> condition to the given index value and range.
+	 *
+	 * @param value
+	 *            The (encoded) value from the composite index. Must not be <code>null</code>.
+	 * @param range
+	 *            The range to check against. Must not be <code>null</code>.
+	 * @return <code>true</code> if this condition applies (matches) given the parameters, otherwise <code>false</code>.
+	 */
+	public boolean applies(String value, CompositeKeyRange range);
+
+}
@@ -0,0 +1,340 @@
+package org.chronos.chronodb.api.query;
+
+import static com.google.common.base.Preconditions.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import org.chronos.chronodb.api.builder.query.WhereBuilder;
+import org.chronos.chronodb.api.indexing.CompositeIndexer;
+import org.chronos.chronodb.internal.impl.index.CompositeKeys;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Specifies a section of a composite index (see {@link CompositeIndexer}) to search in.
+ *
+ * <p>
+ * A range consists of a <i>prefix</i>, i.e. the values of the leading components of the index, and an optional range of
+ * values for the component which follows the prefix. For example, on a composite index over
+ * <code>(type, status, createdAt)</code>:
+ *
+ * <pre>
+ * // all objects with type "Order" and status "open"
+ * CompositeKeyRange.withPrefix("Order", "open");
+ * // all objects with type "Order", status "open" and createdAt &gt;= 1000
+ * CompositeKeyRange.withPrefix("Order", "open").greaterThanOrEqualTo(1000L);
+ * </pre>
+ *
+ * Range bounds must be numbers; both bounds of a range must be of the same type (integral or floating point), which
+ * must match the type of the indexed values. Instances of this class are immutable.
+ *
+ * @author martin.haeusler@uibk.ac.at -- Initial Contribution and API
+ *
+ * @see WhereBuilder#matchesComposite(CompositeKeyRange)
+ */
+public final class CompositeKeyRange {
+
+	// =================================================================================================================
+	// FACTORY METHODS
+	// =================================================================================================================
+
+	/**
+	 * Creates a new range which matches all keys that start with the given components.
+	 *
+	 * @param components
+	 *            The values of the leading components. Must not be <code>null</code>. Values must be {@link String}s or
+	 *            numbers.
+	 * @return The new range. Never <code>null</code>.
+	 */
+	public static CompositeKeyRange withPrefix(final Object... components) {
+		checkNotNull(components, "Precondition violation - argument 'components' must not be NULL!");
+		return withPrefix(Arrays.asList(components));
+	}
+
+	/**
+	 * Creates a new range which matches all keys that start with the given components.
+	 *
+	 * @param components
+	 *            The values of the leading components. Must not be <code>null</code>. Values must be {@link String}s or
+	 *            numbers.
+	 * @return The new range. Never <code>null</code>.
+	 */
+	public static CompositeKeyRange withPrefix(final List<?> components) {
+		checkNotNull(components, "Precondition violation - argument 'components' must not be NULL!");
+		List<Object> prefix = components.stream().map(CompositeKeys::normalize).collect(Collectors.toList());
+		return new CompositeKeyRange(prefix, null, false, null, false);
+	}
+
+	// =================================================================================================================
+	// FIELDS
+	// =================================================================================================================
+
+	private final List<Object> prefix;
+	private final Object lowerBound;
+	private final boolean lowerBoundInclusive;
+	private final Object upperBound;
+	private final boolean upperBoundInclusive;
+
+	private final String encodedPrefix;
+	/** The smallest (encoded) key which may be contained in this range. */
+	private final String scanStart;
+
+	// =================================================================================================================
+	// CONSTRUCTOR
+	// =================================================================================================================
+
+	private CompositeKeyRange(final List<Object> prefix, final Object lowerBound, final boolean lowerBoundInclusive,
+			final Object upperBound, final boolean upperBoundInclusive) {
+		checkArgument(lowerBound == null || lowerBound instanceof Long || lowerBound instanceof Double,
+				"Precondition violation - argument 'lowerBound' must be a number!");
+		checkArgument(upperBound == null || upperBound instanceof Long || upperBound instanceof Double,
+				"Precondition violation - argument 'upperBound' must be a number!");
+		checkArgument(lowerBound == null || upperBound == null || lowerBound.getClass() == upperBound.getClass(),
+				"Precondition violation - the lower bound and the upper bound must be of the same type!");
+		this.prefix = ImmutableList.copyOf(prefix);
+		this.lowerBound = lowerBound;
+		this.lowerBoundInclusive = lowerBoundInclusive;
+		this.upperBound = upperBound;
+		this.upperBoundInclusive = upperBoundInclusive;
+		this.encodedPrefix = CompositeKeys.encode(this.prefix);
+		StringBuilder builder = new StringBuilder(this.encodedPrefix);
+		if (lowerBound != null) {
+			CompositeKeys.appendComponent(builder, lowerBound);
+		} else if (upperBound != null) {
+			builder.append(CompositeKeys.getTypeTag(upperBound));
+		}
+		this.scanStart = builder.toString();
+	}
+
+	// =================================================================================================================
+	// PUBLIC API
+	// =================================================================================================================
+
+	/**
+	 * Restricts the component after the prefix to values strictly greater than the given one.
+	 *
+	 * @param value
+	 *            The (exclusive) lower bound. Must not be <code>null</code>.
+	 * @return The new range. Never <code>null</code>.
+	 */
+	public CompositeKeyRange greaterThan(final Number value) {
+		return this.withLowerBound(value, false);
+	}
+
+	/**
+	 * Restricts the component after the prefix to values greater than or equal to the given one.
+	 *
+	 * @param value
+	 *            The (inclusive) lower bound. Must not be <code>null</code>.
+	 * @return The new range. Never <code>null</code>.
+	 */
+	public CompositeKeyRange greaterThanOrEqualTo(final Number value) {
+		return this.withLowerBound(value, true);
+	}
+
+	/**
+	 * Restricts the component after the prefix to values strictly less than the given one.
+	 *
+	 * @param value
+	 *            The (exclusive) upper bound. Must not be <code>null</code>.
+	 * @return The new range. Never <code>null</code>.
+	 */
+	public CompositeKeyRange lessThan(final Number value) {
+		return this.withUpperBound(value, false);
+	}
+
+	/**
+	 * Restricts the component after the prefix to values less than or equal to the given one.
+	 *
+	 * @param value
+	 *            The (inclusive) upper bound. Must not be <code>null</code>.
+	 * @return The new range. Never <code>null</code>.
+	 */
+	public CompositeKeyRange lessThanOrEqualTo(final Number value) {
+		return this.withUpperBound(value, true);
+	}
+
+	public List<Object> getPrefix() {
+		return this.prefix;
+	}
+
+	public Object getLowerBound() {
+		return this.lowerBound;
+	}
+
+	public boolean isLowerBoundInclusive() {
+		return this.lowerBoundInclusive;
+	}
+
+	public Object getUpperBound() {
+		return this.upperBound;
+	}
+
+	public boolean isUpperBoundInclusive() {
+		return this.upperBoundInclusive;
+	}
+
+	/**
+	 * Checks if this range restricts the values of the component after the prefix.
+	 *
+	 * @return <code>true</code> if there is a lower and/or an upper bound, otherwise <code>false</code>.
+	 */
+	public boolean hasBounds() {
+		return this.lowerBound != null || this.upperBound != null;
+	}
+
+	/**
+	 * Returns the encoded form of the {@linkplain #getPrefix() prefix}.
+	 *
+	 * @return The encoded prefix. Never <code>null</code>. Empty if the prefix is empty.
+	 */
+	public String getEncodedPrefix() {
+		return this.encodedPrefix;
+	}
+
+	/**
+	 * Returns the smallest encoded key which may be contained in this range.
+	 *
+	 * <p>
+	 * All keys contained in this range are greater than or equal to the scan start, and all keys between the scan start
+	 * and the last key in this range are either contained in it or {@linkplain #isBelow(String) below} it.
+	 *
+	 * @return The scan start. Never <code>null</code>.
+	 */
+	public String getScanStart() {
+		return this.scanStart;
+	}
+
+	/**
+	 * Checks if the given encoded key is contained in this range.
+	 *
+	 * @param key
+	 *            The encoded key to check. Must not be <code>null</code>.
+	 * @return <code>true</code> if the key is contained in this range, otherwise <code>false</code>.
+	 */
+	public boolean contains(final String key) {
+		checkNotNull(key, "Precondition violation - argument 'key' must not be NULL!");
+		if (key.startsWith(this.encodedPrefix) == false) {
+			return false;
+		}
+		if (this.hasBounds() == false) {
+			return true;
+		}
+		List<Object> remainder = CompositeKeys.decode(key.substring(this.encodedPrefix.length()));
+		if (remainder.isEmpty()) {
+			// the key ends with the prefix, it has no value for the bounded component
+			return false;
+		}
+		Object value = remainder.get(0);
+		Object boundType = this.lowerBound != null ? this.lowerBound : this.upperBound;
+		if (value.getClass() != boundType.getClass()) {
+			return false;
+		}
+		if (this.lowerBound != null) {
+			int cmp = compare(value, this.lowerBound);
+			if (cmp < 0 || cmp == 0 && this.lowerBoundInclusive == false) {
+				return false;
+			}
+		}
+		if (this.upperBound != null) {
+			int cmp = compare(value, this.upperBound);
+			if (cmp > 0 || cmp == 0 && this.upperBoundInclusive == false) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Checks if the given encoded key is below this range, i.e. if it is smaller than all keys contained in this range.
+	 *
+	 * <p>
+	 * When scanning the keys of a composite index in ascending order, starting at the {@linkplain #getScanStart() scan
+	 * start}, all keys which are neither contained in this range nor below it indicate the end of the range.
+	 *
+	 * @param key
+	 *            The encoded key to check. Must not be <code>null</code>.
+	 * @return <code>true</code> if the key is below this range, otherwise <code>false</code>.
+	 */
+	public boolean isBelow(final String key) {
+		checkNotNull(key, "Precondition violation - argument 'key' must not be NULL!");
+		if (key.compareTo(this.scanStart) < 0) {
+			return true;
+		}
+		// keys which are equal to an exclusive lower bound are greater than or equal to the scan start
+		return this.lowerBound != null && this.lowerBoundInclusive == false && key.startsWith(this.scanStart);
+	}
+
+	// =================================================================================================================
+	// HASH CODE, EQUALS, TO STRING
+	// =================================================================================================================
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(this.prefix, this.lowerBound, this.lowerBoundInclusive, this.upperBound,
+				this.upperBoundInclusive);
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null) {
+			return false;
+		}
+		if (this.getClass() != obj.getClass()) {
+			return false;
+		}
+		CompositeKeyRange other = (CompositeKeyRange) obj;
+		return this.prefix.equals(other.prefix)
+				&& Objects.equals(this.lowerBound, other.lowerBound)
+				&& this.lowerBoundInclusive == other.lowerBoundInclusive
+				&& Objects.equals(this.upperBound, other.upperBound)
+				&& this.upperBoundInclusive == other.upperBoundInclusive;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append(this.prefix.stream().map(String::valueOf).collect(Collectors.joining(", ", "(", "")));
+		if (this.hasBounds()) {
+			if (this.prefix.isEmpty() == false) {
+				builder.append(", ");
+			}
+			builder.append(this.lowerBound == null ? "(-inf" : (this.lowerBoundInclusive ? "[" : "(") + this.lowerBound);
+			builder.append("..");
+			builder.append(this.upperBound == null ? "+inf)" : this.upperBound + (this.upperBoundInclusive ? "]" : ")"));
+		}
+		builder.append(", ...)");
+		return builder.toString();
+	}
+
+	// =================================================================================================================
+	// HELPER METHODS
+	// =================================================================================================================
+
+	private CompositeKeyRange withLowerBound(final Number value, final boolean inclusive) {
+		checkNotNull(value, "Precondition violation - argument 'value' must not be NULL!");
+		return new CompositeKeyRange(this.prefix, CompositeKeys.normalize(value), inclusive, this.upperBound,
+				this.upperBoundInclusive);
+	}
+
+	private CompositeKeyRange withUpperBound(final Number value, final boolean inclusive) {
+		checkNotNull(value, "Precondition violation - argument 'value' must not be NULL!");
+		return new CompositeKeyRange(this.prefix, this.lowerBound, this.lowerBoundInclusive,
+				CompositeKeys.normalize(value), inclusive);
+	}
+
+	private static int compare(final Object value, final Object bound) {
+		if (value instanceof Long) {
+			return Long.compare((Long) value, (Long) bound);
+		} else {
+			return Double.compare((Double) value, (Double) bound);
+		}
+	}
+
+}
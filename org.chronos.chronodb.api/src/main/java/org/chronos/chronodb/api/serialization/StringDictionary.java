@@ -0,0 +1,63 @@
+package org.chronos.chronodb.api.serialization;
+
+/**
+ * A {@link StringDictionary} assigns compact integer IDs to frequently recurring strings, such as labels and property
+ * keys, for use by {@link ValueCodec}s.
+ *
+ * <p>
+ * A dictionary is append-only: once a string has been assigned an ID, the assignment never changes and is never
+ * removed, regardless of branches, rollbacks or dateback operations. This allows values written at any point in time
+ * to be decoded with the current dictionary. The dictionary is persisted by the database, in the same way as the data
+ * itself.
+ *
+ * <p>
+ * Implementations must be thread-safe.
+ *
+ * @author martin.haeusler@uibk.ac.at -- Initial Contribution and API
+ */
+public interface StringDictionary {
+
+	/**
+	 * Returns the ID of the given string, assigning a new ID if necessary.
+	 *
+	 * <p>
+	 * If a new ID is assigned, it is available immediately, but it only becomes durable on the next {@link #flush()}.
+	 * The database flushes the dictionary before it writes any data which has been encoded with it.
+	 *
+	 * @param string
+	 *            The string to get the ID for. Must not be <code>null</code>.
+	 *
+	 * @return The ID of the string. Never negative.
+	 */
+	public int getOrCreateId(String string);
+
+	/**
+	 * Returns the string with the given ID.
+	 *
+	 * @param id
+	 *            The ID of the string to retrieve. Must not be negative.
+	 *
+	 * @return The string with the given ID. Never <code>null</code>.
+	 *
+	 * @throws IllegalArgumentException
+	 *             Thrown if there is no string with the given ID.
+	 */
+	public String getString(int id);
+
+	/**
+	 * Returns the number of strings in this dictionary.
+	 *
+	 * @return The size of the dictionary. Never negative.
+	 */
+	public int size();
+
+	/**
+	 * Durably stores all IDs which have been assigned since the last flush.
+	 *
+	 * <p>
+	 * The IDs are stored in the order in which they have been assigned. If nothing has been assigned since the last
+	 * flush, this method does nothing.
+	 */
+	public void flush();
+
+}
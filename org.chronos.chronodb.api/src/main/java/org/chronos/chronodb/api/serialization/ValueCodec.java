@@ -0,0 +1,94 @@
+package org.chronos.chronodb.api.serialization;
+
+import org.chronos.chronodb.api.SerializationManager;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+/**
+ * A {@link ValueCodec} is a hand-written binary format for a specific group of value classes.
+ *
+ * <p>
+ * By default, all values are serialized with Kryo, which is generic but comparably verbose. A {@link ValueCodec} can be
+ * registered at the {@link SerializationManager} and selected for individual keyspaces (see
+ * {@link SerializationManager#setKeyspaceCodec(String, String)}). Values in those keyspaces are then written with the
+ * codec, provided that the codec {@linkplain #canEncode(Object) accepts} them; all other values are still written with
+ * Kryo.
+ *
+ * <p>
+ * Values written by a codec are tagged with the {@linkplain #getId() ID} of the codec. Therefore, a codec must remain
+ * registered (with the same ID) as long as the database contains values written by it, and its format must remain
+ * readable across versions. Codecs are encouraged to write a format version into their output for this purpose.
+ *
+ * <p>
+ * Implementations must be thread-safe.
+ *
+ * @author martin.haeusler@uibk.ac.at -- Initial Contribution and API
+ */
+public interface ValueCodec {
+
+	/**
+	 * The smallest permitted {@linkplain #getId() codec ID}.
+	 */
+	public static final int MIN_ID = 1;
+
+	/**
+	 * The largest permitted {@linkplain #getId() codec ID}.
+	 */
+	public static final int MAX_ID = 255;
+
+	/**
+	 * Returns the unique name of this codec.
+	 *
+	 * @return The name of this codec. Never <code>null</code>.
+	 */
+	public String getName();
+
+	/**
+	 * Returns the unique ID of this codec.
+	 *
+	 * <p>
+	 * The ID is part of the persistent format of every value written by this codec and must never change. It must be
+	 * in the range {@link #MIN_ID} to {@link #MAX_ID} (inclusive).
+	 *
+	 * @return The ID of this codec.
+	 */
+	public int getId();
+
+	/**
+	 * Checks if this codec is capable of encoding the given value.
+	 *
+	 * @param value
+	 *            The value to check. Never <code>null</code>.
+	 *
+	 * @return <code>true</code> if this codec can encode the value, or <code>false</code> if the value should be
+	 *         serialized with the default format instead.
+	 */
+	public boolean canEncode(Object value);
+
+	/**
+	 * Writes the given value to the given output.
+	 *
+	 * @param value
+	 *            The value to encode. Never <code>null</code>. Has been accepted by {@link #canEncode(Object)}.
+	 * @param output
+	 *            The output to write to. Never <code>null</code>.
+	 * @param dictionary
+	 *            The dictionary to use for frequently recurring strings. Never <code>null</code>.
+	 */
+	public void encode(Object value, Output output, StringDictionary dictionary);
+
+	/**
+	 * Reads a value from the given input.
+	 *
+	 * @param input
+	 *            The input to read from, positioned at the first byte written by {@link #encode}. Never
+	 *            <code>null</code>.
+	 * @param dictionary
+	 *            The dictionary to resolve recurring strings with. Never <code>null</code>.
+	 *
+	 * @return The decoded value. Never <code>null</code>.
+	 */
+	public Object decode(Input input, StringDictionary dictionary);
+
+}
@@ -0,0 +1,40 @@
+package org.chronos.chronodb.inmemory;
+
+import org.chronos.chronodb.api.Branch;
+import org.chronos.chronodb.api.ChronoDB;
+import org.chronos.chronodb.internal.impl.engines.base.AbstractChangeLogStore;
+
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static com.google.common.base.Preconditions.*;
+
+public class InMemoryChangeLogStore extends AbstractChangeLogStore {
+
+    private final NavigableMap<Long, byte[]> changeLogMap;
+
+    public InMemoryChangeLogStore(final ChronoDB owningDB, final Branch owningBranch) {
+        super(owningDB, owningBranch);
+        this.changeLogMap = new ConcurrentSkipListMap<>();
+    }
+
+    @Override
+    protected byte[] getInternal(final long commitTimestamp) {
+        checkArgument(commitTimestamp >= 0, "Precondition violation - argument 'commitTimestamp' must not be negative!");
+        return this.changeLogMap.get(commitTimestamp);
+    }
+
+    @Override
+    protected void putInternal(final long commitTimestamp, final byte[] serializedKeys) {
+        checkArgument(commitTimestamp >= 0, "Precondition violation - argument 'commitTimestamp' must not be negative!");
+        checkNotNull(serializedKeys, "Precondition violation - argument 'serializedKeys' must not be NULL!");
+        this.changeLogMap.put(commitTimestamp, serializedKeys);
+    }
+
+    @Override
+    protected void rollbackToTimestampInternal(final long timestamp) {
+        checkArgument(timestamp >= 0, "Precondition violation - argument 'timestamp' must not be negative!");
+        this.changeLogMap.subMap(timestamp, false, Long.MAX_VALUE, true).clear();
+    }
+
+}
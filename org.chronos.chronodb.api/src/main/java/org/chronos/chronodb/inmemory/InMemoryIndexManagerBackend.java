@@ -6,6 +6,7 @@ import com.google.common.collect.SetMultimap;
 import com.google.common.collect.Sets;
 import org.chronos.chronodb.api.ChronoDB;
 import org.chronos.chronodb.api.exceptions.UnknownIndexException;
+import org.chronos.chronodb.api.indexing.IndexEncoding;
 import org.chronos.chronodb.api.indexing.Indexer;
 import org.chronos.chronodb.api.key.ChronoIdentifier;
 import org.chronos.chronodb.internal.api.index.*;
@@ -43,6 +44,11 @@ public class InMemoryIndexManagerBackend extends AbstractDocumentBasedIndexManag
 
     protected final Map<String, Boolean> indexNameToDirtyFlag;
 
+    /**
+     * Index name -> encoding. Bitmaps are not supported by this backend, the encoding is only stored.
+     */
+    protected final Map<String, IndexEncoding> indexNameToEncoding;
+
     // =================================================================================================================
     // CONSTRUCTOR
     // =================================================================================================================
@@ -53,6 +59,7 @@ public class InMemoryIndexManagerBackend extends AbstractDocumentBasedIndexManag
         this.documents = Maps.newHashMap();
         this.indexNameToIndexers = HashMultimap.create();
         this.indexNameToDirtyFlag = Maps.newHashMap();
+        this.indexNameToEncoding = Maps.newHashMap();
     }
 
     // =================================================================================================================
@@ -116,6 +123,21 @@ public class InMemoryIndexManagerBackend extends AbstractDocumentBasedIndexManag
         this.indexNameToDirtyFlag.putAll(indexStates);
     }
 
+    // =================================================================================================================
+    // INDEX ENCODING MANAGEMENT
+    // =================================================================================================================
+
+    @Override
+    public Map<String, IndexEncoding> loadIndexEncodings() {
+        return Collections.unmodifiableMap(this.indexNameToEncoding);
+    }
+
+    @Override
+    public void persistIndexEncodings(final Map<String, IndexEncoding> indexNameToEncoding) {
+        this.indexNameToEncoding.clear();
+        this.indexNameToEncoding.putAll(indexNameToEncoding);
+    }
+
     // =================================================================================================================
     // INDEX DOCUMENT MANAGEMENT
     // =================================================================================================================
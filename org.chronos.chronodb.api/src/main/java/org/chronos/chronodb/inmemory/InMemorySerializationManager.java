@@ -1,13 +1,64 @@
 package org.chronos.chronodb.inmemory;
 
+import static com.google.common.base.Preconditions.*;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.chronos.chronodb.api.SerializationManager;
+import org.chronos.chronodb.api.exceptions.ChronoDBSerializationException;
+import org.chronos.chronodb.api.serialization.StringDictionary;
+import org.chronos.chronodb.api.serialization.ValueCodec;
 import org.chronos.common.serialization.KryoManager;
 
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
 public class InMemorySerializationManager implements SerializationManager {
 
+    // =================================================================================================================
+    // CONSTANTS
+    // =================================================================================================================
+
+    /**
+     * The first byte of every value written by a {@link ValueCodec}; the second byte is the ID of the codec.
+     *
+     * <p>
+     * Kryo starts every serial form with the (varint-encoded) class registration ID plus two. The registration IDs
+     * between 10 and 99 are never used (see <code>KryoClassRegistry</code>), so Kryo never produces this byte at the
+     * start of a serial form.
+     */
+    public static final byte CODEC_MARKER = 0x40;
+
+    private static final int INITIAL_CODEC_BUFFER_SIZE = 256;
+
+    // =================================================================================================================
+    // FIELDS
+    // =================================================================================================================
+
+    private final StringDictionary dictionary;
+
+    private final Map<Integer, ValueCodec> idToCodec = new ConcurrentHashMap<>();
+    private final Map<String, ValueCodec> nameToCodec = new ConcurrentHashMap<>();
+    private final Map<String, ValueCodec> keyspaceToCodec = new ConcurrentHashMap<>();
+
+    // =================================================================================================================
+    // CONSTRUCTOR
+    // =================================================================================================================
+
     public InMemorySerializationManager() {
+        this(new InMemoryStringDictionary());
+    }
+
+    public InMemorySerializationManager(final StringDictionary dictionary) {
+        checkNotNull(dictionary, "Precondition violation - argument 'dictionary' must not be NULL!");
+        this.dictionary = dictionary;
     }
 
+    // =================================================================================================================
+    // PUBLIC API
+    // =================================================================================================================
+
     @Override
     public byte[] serialize(final Object object) {
         return KryoManager.serialize(object);
@@ -15,7 +66,97 @@ public class InMemorySerializationManager implements SerializationManager {
 
     @Override
     public Object deserialize(final byte[] serialForm) {
+        if (isCodecEncoded(serialForm)) {
+            int codecId = serialForm[1] & 0xFF;
+            ValueCodec codec = this.idToCodec.get(codecId);
+            if (codec == null) {
+                throw new ChronoDBSerializationException("Cannot deserialize value: it has been written by the value codec with ID "
+                    + codecId + ", but there is no such codec registered!");
+            }
+            Input input = new Input(serialForm, 2, serialForm.length - 2);
+            return codec.decode(input, this.dictionary);
+        }
         return KryoManager.deserialize(serialForm);
     }
 
+    @Override
+    public byte[] serialize(final String keyspace, final Object object) {
+        checkNotNull(keyspace, "Precondition violation - argument 'keyspace' must not be NULL!");
+        ValueCodec codec = this.keyspaceToCodec.get(keyspace);
+        if (codec == null || object == null || codec.canEncode(object) == false) {
+            return this.serialize(object);
+        }
+        Output output = new Output(INITIAL_CODEC_BUFFER_SIZE, -1);
+        output.writeByte(CODEC_MARKER);
+        output.writeByte(codec.getId());
+        codec.encode(object, output, this.dictionary);
+        return output.toBytes();
+    }
+
+    @Override
+    public byte[] toDefaultFormat(final byte[] serialForm) {
+        checkNotNull(serialForm, "Precondition violation - argument 'serialForm' must not be NULL!");
+        if (isCodecEncoded(serialForm) == false) {
+            return serialForm;
+        }
+        return this.serialize(this.deserialize(serialForm));
+    }
+
+    @Override
+    public void flush() {
+        this.dictionary.flush();
+    }
+
+    @Override
+    public synchronized void registerCodec(final ValueCodec codec) {
+        checkNotNull(codec, "Precondition violation - argument 'codec' must not be NULL!");
+        checkNotNull(codec.getName(), "Precondition violation - argument 'codec' must have a name!");
+        checkArgument(codec.getId() >= ValueCodec.MIN_ID && codec.getId() <= ValueCodec.MAX_ID,
+            "Precondition violation - argument 'codec' has an ID outside of the permitted range [" + ValueCodec.MIN_ID + ", " + ValueCodec.MAX_ID + "]!");
+        ValueCodec existingCodec = this.idToCodec.get(codec.getId());
+        if (existingCodec != null) {
+            if (existingCodec.getClass().equals(codec.getClass()) && existingCodec.getName().equals(codec.getName())) {
+                // the same codec has been registered before; nothing to do
+                return;
+            }
+            throw new IllegalArgumentException("Cannot register value codec '" + codec.getName() + "': its ID (" + codec.getId()
+                + ") is already in use by codec '" + existingCodec.getName() + "'!");
+        }
+        if (this.nameToCodec.containsKey(codec.getName())) {
+            throw new IllegalArgumentException("Cannot register value codec '" + codec.getName() + "': the name is already in use!");
+        }
+        this.idToCodec.put(codec.getId(), codec);
+        this.nameToCodec.put(codec.getName(), codec);
+    }
+
+    @Override
+    public void setKeyspaceCodec(final String keyspace, final String codecName) {
+        checkNotNull(keyspace, "Precondition violation - argument 'keyspace' must not be NULL!");
+        if (codecName == null) {
+            this.keyspaceToCodec.remove(keyspace);
+            return;
+        }
+        ValueCodec codec = this.nameToCodec.get(codecName);
+        checkArgument(codec != null, "Precondition violation - there is no registered value codec named '" + codecName + "'!");
+        this.keyspaceToCodec.put(keyspace, codec);
+    }
+
+    @Override
+    public ValueCodec getKeyspaceCodec(final String keyspace) {
+        checkNotNull(keyspace, "Precondition violation - argument 'keyspace' must not be NULL!");
+        return this.keyspaceToCodec.get(keyspace);
+    }
+
+    public StringDictionary getDictionary() {
+        return this.dictionary;
+    }
+
+    // =================================================================================================================
+    // INTERNAL HELPER METHODS
+    // =================================================================================================================
+
+    private static boolean isCodecEncoded(final byte[] serialForm) {
+        return serialForm != null && serialForm.length >= 2 && serialForm[0] == CODEC_MARKER;
+    }
+
 }
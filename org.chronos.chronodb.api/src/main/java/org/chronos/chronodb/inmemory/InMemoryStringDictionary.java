@@ -0,0 +1,21 @@
+package org.chronos.chronodb.inmemory;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.chronos.chronodb.internal.impl.serialization.AbstractStringDictionary;
+
+public class InMemoryStringDictionary extends AbstractStringDictionary {
+
+    @Override
+    protected Map<String, Integer> loadEntries() {
+        // there are no persistent entries
+        return Collections.emptyMap();
+    }
+
+    @Override
+    protected void persistEntries(final Map<String, Integer> entries) {
+        // nothing to do, the dictionary lives in memory only
+    }
+
+}
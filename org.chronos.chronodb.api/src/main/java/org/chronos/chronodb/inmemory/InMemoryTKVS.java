@@ -2,6 +2,7 @@ package org.chronos.chronodb.inmemory;
 
 import org.chronos.chronodb.api.ChronoDBConstants;
 import org.chronos.chronodb.internal.api.BranchInternal;
+import org.chronos.chronodb.internal.api.ChangeLogStore;
 import org.chronos.chronodb.internal.api.ChronoDBInternal;
 import org.chronos.chronodb.internal.api.CommitMetadataStore;
 import org.chronos.chronodb.internal.api.TemporalDataMatrix;
@@ -23,6 +24,7 @@ public class InMemoryTKVS extends AbstractTemporalKeyValueStore implements Tempo
 
     private final AtomicLong now = new AtomicLong(0);
     private final CommitMetadataStore commitMetadataStore;
+    private final ChangeLogStore changeLogStore;
 
     private WriteAheadLogToken walToken = null;
     private final Lock walLock = new ReentrantLock();
@@ -34,6 +36,7 @@ public class InMemoryTKVS extends AbstractTemporalKeyValueStore implements Tempo
     public InMemoryTKVS(final ChronoDBInternal db, final BranchInternal branch) {
         super(db, branch);
         this.commitMetadataStore = new InMemoryCommitMetadataStore(db, branch);
+        this.changeLogStore = new InMemoryChangeLogStore(db, branch);
         TemporalDataMatrix matrix = this.createMatrix(ChronoDBConstants.DEFAULT_KEYSPACE_NAME, 0L);
         this.keyspaceToMatrix.put(ChronoDBConstants.DEFAULT_KEYSPACE_NAME, matrix);
     }
@@ -100,4 +103,9 @@ public class InMemoryTKVS extends AbstractTemporalKeyValueStore implements Tempo
         return this.commitMetadataStore;
     }
 
+    @Override
+    public ChangeLogStore getChangeLogStore() {
+        return this.changeLogStore;
+    }
+
 }
@@ -124,16 +124,32 @@ public class TemporalInMemoryMatrix extends AbstractTemporalDataMatrix {
 
     @Override
     public KeySetModifications keySetModifications(final long timestamp) {
+        return this.keySetModifications(timestamp, "");
+    }
+
+    @Override
+    public KeySetModifications keySetModifications(final long timestamp, final String prefix) {
         checkArgument(timestamp >= 0, "Precondition violation - argument 'timestamp' must not be negative!");
+        checkNotNull(prefix, "Precondition violation - argument 'prefix' must not be NULL!");
         // entry set is sorted in ascending order!
-        Set<Entry<UnqualifiedTemporalKey, byte[]>> entrySet = this.contents.entrySet();
+        Set<Entry<UnqualifiedTemporalKey, byte[]>> entrySet;
+        if (prefix.isEmpty()) {
+            entrySet = this.contents.entrySet();
+        } else {
+            // all keys with the given prefix are located in a contiguous range, starting at the prefix itself
+            entrySet = this.contents.tailMap(UnqualifiedTemporalKey.createMin(prefix), true).entrySet();
+        }
         Set<String> additions = Sets.newHashSet();
         Set<String> removals = Sets.newHashSet();
-        // iterate over the full B-Tree key set (ascending order)
+        // iterate over the B-Tree key set (ascending order)
         Iterator<Entry<UnqualifiedTemporalKey, byte[]>> allEntriesIterator = entrySet.iterator();
         while (allEntriesIterator.hasNext()) {
             Entry<UnqualifiedTemporalKey, byte[]> currentEntry = allEntriesIterator.next();
             UnqualifiedTemporalKey currentKey = currentEntry.getKey();
+            if (!currentKey.getKey().startsWith(prefix)) {
+                // we left the range of keys with the given prefix
+                break;
+            }
             if (currentKey.getTimestamp() > timestamp) {
                 continue;
             }
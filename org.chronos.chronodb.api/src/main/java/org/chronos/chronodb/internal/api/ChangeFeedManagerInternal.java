@@ -0,0 +1,35 @@
+package org.chronos.chronodb.internal.api;
+
+import org.chronos.chronodb.api.changefeed.ChangeFeedManager;
+import org.chronos.chronodb.internal.impl.engines.base.ChangeSet;
+
+public interface ChangeFeedManagerInternal extends ChangeFeedManager {
+
+    /**
+     * Notifies the subscribers of the given branch about a successful commit.
+     *
+     * <p>
+     * Must be called while the commit lock of the branch is held, such that the notifications arrive in commit order.
+     *
+     * @param branchName      The name of the branch. Must not be <code>null</code>.
+     * @param commitTimestamp The timestamp of the commit.
+     * @param changeSet       The changes of the commit. May be <code>null</code> if the changes are not available in
+     *                        memory. If it is <code>null</code> or does not {@linkplain ChangeSet#isTrackingPreviousValues()
+     *                        track the previous values}, the subscribers load the changes from the change log.
+     */
+    public void notifyCommit(String branchName, long commitTimestamp, ChangeSet changeSet);
+
+    /**
+     * Checks if the given branch has at least one open subscription.
+     *
+     * @param branchName The name of the branch. Must not be <code>null</code>.
+     * @return <code>true</code> if there is at least one subscriber for the branch, otherwise <code>false</code>.
+     */
+    public boolean hasSubscribers(String branchName);
+
+    /**
+     * Closes all subscriptions and stops the delivery threads.
+     */
+    public void shutdown();
+
+}
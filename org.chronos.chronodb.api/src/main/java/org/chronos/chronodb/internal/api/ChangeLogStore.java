@@ -0,0 +1,79 @@
+package org.chronos.chronodb.internal.api;
+
+import org.chronos.chronodb.api.Branch;
+import org.chronos.chronodb.api.changefeed.ChangeFeedManager;
+import org.chronos.chronodb.api.key.QualifiedKey;
+
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.SortedMap;
+
+import static com.google.common.base.Preconditions.*;
+
+/**
+ * A {@link ChangeLogStore} records which keys have been modified by each commit on a branch.
+ *
+ * <p>
+ * The change log only contains the keys, not the values. It allows the {@link ChangeFeedManager} to find the changes
+ * of a past commit via point lookups, instead of scanning the temporal data matrices of all keyspaces.
+ *
+ * <p>
+ * There is one change log store per branch. It is written in the same commit phase as the {@link CommitMetadataStore}.
+ */
+public interface ChangeLogStore {
+
+    /**
+     * Records the keys which have been modified by the commit at the given timestamp.
+     *
+     * <p>
+     * Any keys which have previously been recorded for the same timestamp are replaced.
+     *
+     * @param commitTimestamp The commit timestamp. Must not be negative.
+     * @param modifiedKeys    The keys modified by the commit. Must not be <code>null</code>, may be empty.
+     */
+    public void put(long commitTimestamp, Set<QualifiedKey> modifiedKeys);
+
+    /**
+     * Records the modified keys of several commits.
+     *
+     * <p>
+     * This is semantically equivalent to calling {@link #put(long, Set)} for each entry in ascending timestamp order.
+     * Implementations may override this method to write all entries in a single store transaction.
+     *
+     * @param commitTimestampToModifiedKeys The modified keys (values) per commit timestamp (keys, must not be negative).
+     *                                      Must not be <code>null</code>.
+     */
+    public default void putAll(final SortedMap<Long, Set<QualifiedKey>> commitTimestampToModifiedKeys) {
+        checkNotNull(commitTimestampToModifiedKeys, "Precondition violation - argument 'commitTimestampToModifiedKeys' must not be NULL!");
+        for (Entry<Long, Set<QualifiedKey>> entry : commitTimestampToModifiedKeys.entrySet()) {
+            this.put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Returns the keys which have been modified by the commit at the given timestamp.
+     *
+     * @param commitTimestamp The commit timestamp. Must not be negative.
+     * @return The modified keys, or <code>null</code> if the change log contains no entry for the given timestamp (i.e.
+     * there was no commit, or the commit has been written before the change log existed).
+     */
+    public Set<QualifiedKey> get(long commitTimestamp);
+
+    /**
+     * Rolls back the contents of the store to the given timestamp.
+     *
+     * <p>
+     * Any data associated with timestamps strictly larger than the given one will be removed from the store.
+     *
+     * @param timestamp The timestamp to roll back to. Must not be negative.
+     */
+    public void rollbackToTimestamp(long timestamp);
+
+    /**
+     * Returns the branch to which this change log store belongs.
+     *
+     * @return The owning branch. Never <code>null</code>.
+     */
+    public Branch getOwningBranch();
+
+}
@@ -1,6 +1,7 @@
 package org.chronos.chronodb.internal.api;
 
 import com.google.common.collect.Maps;
+import org.chronos.chronodb.api.CacheType;
 import org.chronos.chronodb.api.ChronoDB;
 import org.chronos.chronodb.api.ChronoDBTransaction;
 import org.chronos.chronodb.api.CommitMetadataFilter;
@@ -10,6 +11,7 @@ import org.chronos.chronodb.api.exceptions.ChronoDBCommitConflictException;
 import org.chronos.common.configuration.ChronosConfiguration;
 
 import java.io.File;
+import java.util.Map;
 
 /**
  * This class represents the configuration of a single {@link ChronoDB} instance.
@@ -95,12 +97,85 @@ public interface ChronoDBConfiguration extends ChronosConfiguration {
      * The maximum number of elements in the entry cache.
      *
      * <p>
+     * This setting is ignored if {@link #CACHE_MAX_SIZE_IN_BYTES} is set.
+     *
+     * <p>
      * Type: int<br>
-     * Default: none; needs to be assiged if {@link #CACHING_ENABLED} is set to <code>true</code>.<br>
+     * Default: none; needs to be assiged if {@link #CACHING_ENABLED} is set to <code>true</code> and
+     * {@link #CACHE_MAX_SIZE_IN_BYTES} is not set.<br>
      * Maps to: {@link #getCacheMaxSize()}
      */
     public static final String CACHE_MAX_SIZE = NS_DOT + "cache.maxSize";
 
+    /**
+     * The maximum size of the entry cache, in bytes.
+     *
+     * <p>
+     * If this setting is present, the entry cache is bounded by the estimated heap size of the cached values rather than
+     * by the number of entries, and {@link #CACHE_MAX_SIZE} is ignored. Memory-bounded caches are only supported by the
+     * {@link CacheType#CONCURRENT} cache, which is therefore always used in this case, regardless of
+     * {@link #CACHE_TYPE}.
+     *
+     * <p>
+     * Type: long<br>
+     * Default: none<br>
+     * Maps to: {@link #getCacheMaxSizeInBytes()}
+     */
+    public static final String CACHE_MAX_SIZE_IN_BYTES = NS_DOT + "cache.maxSizeInBytes";
+
+    /**
+     * The share of the {@linkplain #CACHE_MAX_SIZE_IN_BYTES entry cache memory budget} which is reserved for individual
+     * keyspaces.
+     *
+     * <p>
+     * The value is a comma-separated list of <code>keyspace:bytes</code> pairs, e.g.
+     * <code>vertex:268435456, edge:134217728</code>. Each listed keyspace receives its own share of the cache, which
+     * cannot be used by any other keyspace. All other keyspaces share the remainder of
+     * {@link #CACHE_MAX_SIZE_IN_BYTES}, so the sum of all reserved budgets must be less than the total.
+     *
+     * <p>
+     * This setting is ignored if {@link #CACHE_MAX_SIZE_IN_BYTES} is not set.
+     *
+     * <p>
+     * Type: string<br>
+     * Default: none<br>
+     * Maps to: {@link #getCacheKeyspaceBudgets()}
+     */
+    public static final String CACHE_KEYSPACE_BUDGETS = NS_DOT + "cache.keyspaceBudgets";
+
+    /**
+     * The type of entry cache to use.
+     *
+     * <p>
+     * This setting only has an effect if {@link #CACHING_ENABLED} is set to <code>true</code>.
+     *
+     * <p>
+     * Type: string<br>
+     * Values: all literals in {@link CacheType} (in their string representation)<br>
+     * Default: "mosaic"<br>
+     * Maps to: {@link #getCacheType()}
+     */
+    public static final String CACHE_TYPE = NS_DOT + "cache.type";
+
+    /**
+     * The maximum size of the off-heap second-level cache for serialized values, in bytes.
+     *
+     * <p>
+     * The second-level cache is consulted whenever the entry cache (see {@link #CACHING_ENABLED}) cannot answer a
+     * request, before the request is forwarded to the storage backend. It stores the serialized values in direct memory
+     * outside of the Java heap, and is therefore not affected by garbage collection. Please make sure that the maximum
+     * direct memory of the JVM (<code>-XX:MaxDirectMemorySize</code>) is large enough.
+     *
+     * <p>
+     * The second-level cache is independent of the entry cache and is disabled if this setting is absent.
+     *
+     * <p>
+     * Type: long<br>
+     * Default: none (disabled)<br>
+     * Maps to: {@link #getOffHeapCacheMaxSizeInBytes()}
+     */
+    public static final String OFFHEAP_CACHE_MAX_SIZE_IN_BYTES = NS_DOT + "cache.offheap.maxSizeInBytes";
+
     /**
      * Determines if the query cache is enabled or not.
      *
@@ -218,6 +293,45 @@ public interface ChronoDBConfiguration extends ChronosConfiguration {
      */
     public static final String DUPLICATE_VERSION_ELIMINATION_MODE = NS_DOT + "temporal.duplicateVersionEliminationMode";
 
+    /**
+     * Enables or disables group commits.
+     *
+     * <p>
+     * By default, commits on the same branch are executed one after the other, and each commit writes its own
+     * write-ahead log token and performs its own store transactions. With group commits enabled, commits which arrive
+     * while another commit on the same branch is being written are queued up and written together in one batch: every
+     * transaction still receives its own commit timestamp and commit metadata, and every transaction is still checked
+     * for conflicts individually, but the whole batch shares a single write-ahead log token and a single store write per
+     * keyspace.
+     *
+     * <p>
+     * Transactions which modify a key that is also modified by an earlier transaction in the same batch are deferred to
+     * the next batch, such that conflict detection and resolution behave exactly as in the non-grouped case.
+     *
+     * <p>
+     * Group commits only pay off for workloads with many small concurrent commits on the same branch. Incremental
+     * commits are never grouped.
+     *
+     * <p>
+     * Type: boolean<br>
+     * Default value: <code>false</code><br>
+     * Maps to: {@link #isGroupCommitEnabled()}
+     */
+    public static final String COMMIT_GROUP_ENABLED = NS_DOT + "commit.group.enabled";
+
+    /**
+     * The maximum number of transactions to write in a single group commit.
+     *
+     * <p>
+     * This setting only has an effect if {@link #COMMIT_GROUP_ENABLED} is set to <code>true</code>.
+     *
+     * <p>
+     * Type: integer<br>
+     * Default value: 64<br>
+     * Maps to: {@link #getGroupCommitMaxSize()}
+     */
+    public static final String COMMIT_GROUP_MAX_SIZE = NS_DOT + "commit.group.maxSize";
+
     /**
      * Enables or disables performance logging for commits.
      *
@@ -309,6 +423,49 @@ public interface ChronoDBConfiguration extends ChronosConfiguration {
      */
     public Integer getCacheMaxSize();
 
+    /**
+     * Returns the maximum size of the entry cache in bytes, if the cache is bounded by memory.
+     *
+     * <p>
+     * Mapped by setting: {@value #CACHE_MAX_SIZE_IN_BYTES}
+     *
+     * @return The maximum size of the cache in bytes (a number greater than zero), or <code>null</code> if the cache is
+     * bounded by its number of elements instead (see {@link #getCacheMaxSize()}).
+     */
+    public Long getCacheMaxSizeInBytes();
+
+    /**
+     * Returns the budgets (in bytes) which are reserved for individual keyspaces in the entry cache.
+     *
+     * <p>
+     * Mapped by setting: {@value #CACHE_KEYSPACE_BUDGETS}
+     *
+     * @return An immutable map from keyspace name to reserved budget in bytes. May be empty, never <code>null</code>.
+     * Only relevant if {@link #getCacheMaxSizeInBytes()} is not <code>null</code>.
+     */
+    public Map<String, Long> getCacheKeyspaceBudgets();
+
+    /**
+     * Returns the type of entry cache to use.
+     *
+     * <p>
+     * Mapped by setting: {@value #CACHE_TYPE}
+     *
+     * @return The cache type. Never <code>null</code>. Only relevant if {@link #isCachingEnabled()} is
+     * <code>true</code>.
+     */
+    public CacheType getCacheType();
+
+    /**
+     * Returns the maximum size of the off-heap second-level cache, in bytes.
+     *
+     * <p>
+     * Mapped by setting: {@value #OFFHEAP_CACHE_MAX_SIZE_IN_BYTES}
+     *
+     * @return The maximum size of the off-heap cache in bytes, or <code>null</code> if the off-heap cache is disabled.
+     */
+    public Long getOffHeapCacheMaxSizeInBytes();
+
     /**
      * Returns <code>true</code> when cached values may be assumed to be immutable, otherwise <code>false</code>.
      *
@@ -364,6 +521,26 @@ public interface ChronoDBConfiguration extends ChronosConfiguration {
      */
     public DuplicateVersionEliminationMode getDuplicateVersionEliminationMode();
 
+    /**
+     * Checks if concurrent commits on the same branch are written together in groups.
+     *
+     * <p>
+     * Mapped by setting: {@value #COMMIT_GROUP_ENABLED}
+     *
+     * @return <code>true</code> if group commits are enabled, otherwise <code>false</code>.
+     */
+    public boolean isGroupCommitEnabled();
+
+    /**
+     * Returns the maximum number of transactions to write in a single group commit.
+     *
+     * <p>
+     * Mapped by setting: {@value #COMMIT_GROUP_MAX_SIZE}
+     *
+     * @return The maximum group size. Always greater than zero.
+     */
+    public int getGroupCommitMaxSize();
+
     /**
      * Returns the {@link CommitMetadataFilter} class assigned to this database instance.
      *
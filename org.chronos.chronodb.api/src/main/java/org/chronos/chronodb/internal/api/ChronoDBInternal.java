@@ -3,6 +3,7 @@ package org.chronos.chronodb.internal.api;
 import java.util.List;
 
 import org.chronos.chronodb.api.*;
+import org.chronos.chronodb.internal.api.cache.ChronoDBBinaryCache;
 import org.chronos.chronodb.internal.api.query.QueryManager;
 import org.chronos.chronodb.internal.api.stream.ChronoDBEntry;
 import org.chronos.chronodb.internal.api.stream.CloseableIterator;
@@ -59,6 +60,33 @@ public interface ChronoDBInternal extends ChronoDB, ReadWriteAutoLockable {
 	 */
 	public StatisticsManagerInternal getStatisticsManager();
 
+	/**
+	 * Returns the internal representation of the commit metrics associated with this database instance.
+	 *
+	 * @return The internal representation of the commit metrics. Never <code>null</code>.
+	 */
+	@Override
+	public CommitMetricsInternal getCommitMetrics();
+
+	/**
+	 * Returns the internal representation of the change feed manager associated with this database instance.
+	 *
+	 * @return The internal representation of the change feed manager. Never <code>null</code>.
+	 */
+	@Override
+	public ChangeFeedManagerInternal getChangeFeedManager();
+
+	/**
+	 * Returns the second-level cache for serialized values associated with this database instance.
+	 *
+	 * <p>
+	 * If the second-level cache is disabled in the configuration, a cache which never contains any entries is
+	 * returned.
+	 *
+	 * @return The binary cache. Never <code>null</code>.
+	 */
+	public ChronoDBBinaryCache getBinaryCache();
+
 	/**
 	 * Creates a transaction on this {@link ChronoDB} based on the given configuration.
 	 *
@@ -9,6 +9,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.SortedMap;
 
 import static com.google.common.base.Preconditions.*;
 
@@ -230,6 +231,23 @@ public interface CommitMetadataStore {
      */
     public void put(long commitTimestamp, Object commitMetadata);
 
+    /**
+     * Puts the given commit metadata objects into the store, each associated with its commit timestamp.
+     *
+     * <p>
+     * This is semantically equivalent to calling {@link #put(long, Object)} for each entry in ascending timestamp order.
+     * Implementations may override this method to write all entries in a single store transaction.
+     *
+     * @param commitTimestampToMetadata The commit metadata objects (values, may be <code>null</code>) to store per
+     *                                  commit timestamp (keys, must not be negative). Must not be <code>null</code>.
+     */
+    public default void putAll(SortedMap<Long, Object> commitTimestampToMetadata) {
+        checkNotNull(commitTimestampToMetadata, "Precondition violation - argument 'commitTimestampToMetadata' must not be NULL!");
+        for (Entry<Long, Object> entry : commitTimestampToMetadata.entrySet()) {
+            this.put(entry.getKey(), entry.getValue());
+        }
+    }
+
     /**
      * Returns the commit metadata for the commit that occurred at the given timestamp.
      *
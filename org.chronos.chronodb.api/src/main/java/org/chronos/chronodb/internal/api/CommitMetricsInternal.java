@@ -0,0 +1,16 @@
+package org.chronos.chronodb.internal.api;
+
+import org.chronos.chronodb.api.metrics.CommitMetrics;
+import org.chronos.chronodb.api.metrics.CommitPhase;
+
+public interface CommitMetricsInternal extends CommitMetrics {
+
+    public void recordPhase(String branchName, CommitPhase phase, long durationNanos);
+
+    public void recordCommit(String branchName, boolean successful);
+
+    public void commitEnqueued(String branchName);
+
+    public void commitDequeued(String branchName);
+
+}
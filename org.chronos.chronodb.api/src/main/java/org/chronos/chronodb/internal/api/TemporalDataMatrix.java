@@ -9,6 +9,8 @@ import org.chronos.chronodb.internal.util.KeySetModifications;
 
 import java.util.*;
 
+import static com.google.common.base.Preconditions.*;
+
 /**
  * A {@link TemporalDataMatrix} is a structured container for temporal key-value pairs.
  *
@@ -83,6 +85,26 @@ public interface TemporalDataMatrix {
      */
     public GetResult<byte[]> get(final long timestamp, final String key);
 
+    /**
+     * Returns the values for the given keys at the given timestamp together with the time ranges in which they are valid.
+     *
+     * <p>
+     * This is the bulk version of {@link #get(long, String)}. Implementations may resolve all keys in a single pass over
+     * the underlying storage, which is considerably faster than resolving them one by one.
+     *
+     * @param timestamp The timestamp at which to get the values for the given keys. Must not be negative.
+     * @param keys      The keys to get the values for. Must not be <code>null</code>, may be empty.
+     * @return A map from requested key to ranged result. Contains one entry for each distinct requested key, in the same
+     * format as returned by {@link #get(long, String)}. Never <code>null</code>.
+     */
+    public default Map<String, GetResult<byte[]>> getAll(final long timestamp, final Collection<String> keys) {
+        Map<String, GetResult<byte[]>> resultMap = new HashMap<>(keys.size() * 4 / 3 + 1);
+        for (String key : keys) {
+            resultMap.put(key, this.get(timestamp, key));
+        }
+        return resultMap;
+    }
+
     /**
      * Returns the history of the given key, i.e. all timestamps at which the given key changed its value due to a
      * commit.
@@ -176,6 +198,74 @@ public interface TemporalDataMatrix {
      */
     public KeySetModifications keySetModifications(long timestamp);
 
+    /**
+     * Returns an iterator over the keys which exist in this matrix at the given timestamp.
+     *
+     * <p>
+     * This is equivalent to iterating over the {@linkplain KeySetModifications#getAdditions() additions} of
+     * {@link #keySetModifications(long)}, but allows implementations to produce the keys lazily (e.g. page by page)
+     * instead of materializing the entire key set in memory.
+     *
+     * @param timestamp The timestamp for which to retrieve the keys. Must not be negative.
+     * @return An iterator over the keys present at the given timestamp. May be empty, but never <code>null</code>. Needs
+     * to be {@linkplain CloseableIterator#close() closed} by the caller.
+     */
+    public default CloseableIterator<String> keyStream(long timestamp) {
+        return CloseableIterator.wrap(this.keySetModifications(timestamp).getAdditions().iterator());
+    }
+
+    /**
+     * Returns the modifications to the keyset performed in this matrix, up to the given timestamp, restricted to the
+     * keys which start with the given prefix.
+     *
+     * <p>
+     * The default implementation filters the result of {@link #keySetModifications(long)}. Implementations which store
+     * their keys in sorted order should override this method and only scan the range of keys with the given prefix.
+     *
+     * @param timestamp The timestamp for which to retrieve the modifications. Must not be negative.
+     * @param prefix    The prefix of the keys to consider. Must not be <code>null</code>. The empty string matches all
+     *                  keys.
+     * @return the keyset modifications. May be empty, but never <code>null</code>.
+     */
+    public default KeySetModifications keySetModifications(long timestamp, String prefix) {
+        checkNotNull(prefix, "Precondition violation - argument 'prefix' must not be NULL!");
+        KeySetModifications modifications = this.keySetModifications(timestamp);
+        if (prefix.isEmpty()) {
+            return modifications;
+        }
+        Set<String> additions = new HashSet<>();
+        for (String key : modifications.getAdditions()) {
+            if (key.startsWith(prefix)) {
+                additions.add(key);
+            }
+        }
+        Set<String> removals = new HashSet<>();
+        for (String key : modifications.getRemovals()) {
+            if (key.startsWith(prefix)) {
+                removals.add(key);
+            }
+        }
+        return new KeySetModifications(additions, removals);
+    }
+
+    /**
+     * Returns an iterator over the keys which exist in this matrix at the given timestamp and start with the given
+     * prefix.
+     *
+     * @param timestamp The timestamp for which to retrieve the keys. Must not be negative.
+     * @param prefix    The prefix of the keys to return. Must not be <code>null</code>. The empty string matches all
+     *                  keys.
+     * @return An iterator over the keys with the given prefix present at the given timestamp. May be empty, but never
+     * <code>null</code>. Needs to be {@linkplain CloseableIterator#close() closed} by the caller.
+     */
+    public default CloseableIterator<String> keyStream(long timestamp, String prefix) {
+        checkNotNull(prefix, "Precondition violation - argument 'prefix' must not be NULL!");
+        if (prefix.isEmpty()) {
+            return this.keyStream(timestamp);
+        }
+        return CloseableIterator.wrap(this.keySetModifications(timestamp, prefix).getAdditions().iterator());
+    }
+
     /**
      * Returns the total number of entries in this matrix.
      *
@@ -200,6 +290,22 @@ public interface TemporalDataMatrix {
      */
     public void put(final long timestamp, final Map<String, byte[]> contents);
 
+    /**
+     * Adds the given contents to this matrix, at several timestamps.
+     *
+     * <p>
+     * This is semantically equivalent to calling {@link #put(long, Map)} for each timestamp in ascending order. Backends
+     * may override this method to write all contents in a single store transaction.
+     *
+     * @param timestampToContents The key-value pairs to add, grouped by the timestamp at which to add them. Must not be
+     *                            <code>null</code>. If the map is empty, this method is a no-op and returns immediately.
+     */
+    public default void putAll(final SortedMap<Long, Map<String, byte[]>> timestampToContents) {
+        for (Map.Entry<Long, Map<String, byte[]>> entry : timestampToContents.entrySet()) {
+            this.put(entry.getKey(), entry.getValue());
+        }
+    }
+
     /**
      * Inserts the given set of entries into this matrix.
      *
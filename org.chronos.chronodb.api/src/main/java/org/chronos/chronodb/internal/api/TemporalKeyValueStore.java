@@ -121,6 +121,13 @@ public interface TemporalKeyValueStore extends TransactionSource, ReadWriteAutoL
      */
     public CommitMetadataStore getCommitMetadataStore();
 
+    /**
+     * Returns the {@link ChangeLogStore} which records the keys modified by each commit in this store.
+     *
+     * @return The change log store associated with this store. Never <code>null</code>.
+     */
+    public ChangeLogStore getChangeLogStore();
+
     // =====================================================================================================================
     // TRANSACTION BUILDING
     // =====================================================================================================================
@@ -221,6 +228,37 @@ public interface TemporalKeyValueStore extends TransactionSource, ReadWriteAutoL
      */
     public byte[] performGetBinary(ChronoDBTransaction tx, QualifiedKey key);
 
+    /**
+     * Performs a bulk <code>get</code> operation on this key-value store, in the given transaction.
+     *
+     * <p>
+     * The result is equivalent to calling {@link #performGet(ChronoDBTransaction, QualifiedKey)} for each of the given
+     * keys, but the keys which are not in the cache are resolved in a single pass over the backing storage, and the
+     * values are deserialized in parallel (if there are enough of them).
+     *
+     * @param tx           The transaction in which this operation takes place. Must not be <code>null</code>.
+     * @param keyspaceName The keyspace to look up the keys in. Must not be <code>null</code>.
+     * @param keys         The keys to look up in the store. Must not be <code>null</code>, may be empty.
+     * @return A map from key to value, at the timestamp specified by the transaction. Keys which have no value at this
+     * timestamp are not contained in the map. Never <code>null</code>.
+     */
+    public Map<String, Object> performGetAll(ChronoDBTransaction tx, String keyspaceName, Collection<String> keys);
+
+    /**
+     * Performs a bulk <code>get</code> operation on this key-value store, in the given transaction.
+     *
+     * <p>
+     * This method is identical to {@link #performGetAll(ChronoDBTransaction, String, Collection)}, except that the
+     * binary (non-deserialized) representation of the values is returned.
+     *
+     * @param tx           The transaction in which this operation takes place. Must not be <code>null</code>.
+     * @param keyspaceName The keyspace to look up the keys in. Must not be <code>null</code>.
+     * @param keys         The keys to look up in the store. Must not be <code>null</code>, may be empty.
+     * @return A map from key to value in binary format, at the timestamp specified by the transaction. Keys which have
+     * no value at this timestamp are not contained in the map. Never <code>null</code>.
+     */
+    public Map<String, byte[]> performGetAllBinary(ChronoDBTransaction tx, String keyspaceName, Collection<String> keys);
+
     /**
      * This operation is equivalent to {@link #performGet(ChronoDBTransaction, QualifiedKey)}, but produces additional
      * result data.
@@ -311,6 +349,46 @@ public interface TemporalKeyValueStore extends TransactionSource, ReadWriteAutoL
      */
     public Set<String> performKeySet(ChronoDBTransaction tx, String keyspaceName);
 
+    /**
+     * Produces the keys contained in this store in the given keyspace at the given point in time in a lazy fashion.
+     *
+     * <p>
+     * The resulting iterator contains the same elements as {@link #performKeySet(ChronoDBTransaction, String)}, but
+     * does not need to hold the entire key set in memory. In particular, the keys inherited from the origin branch are
+     * streamed rather than collected; only the branch-local modifications are held in memory.
+     *
+     * <p>
+     * The returned iterator is only <i>weakly consistent</i>: the read lock of this store is released when this method
+     * returns, and implementations may read the keys in several steps (e.g. page by page). Operations which alter the
+     * past, such as {@linkplain #performIncrementalRollback(ChronoDBTransaction) incremental commit rollbacks} or
+     * dateback operations, may therefore take effect in the middle of the iteration. Regular commits do not affect the
+     * keys which are visible at the requested timestamp.
+     *
+     * @param tx           The transaction on which this operation occurs. Must not be <code>null</code>.
+     * @param keyspaceName The name of the keyspace to retrieve the keys for. Must not be <code>null</code>.
+     * @return An iterator over the keys of the given keyspace, at the point in time determined by the given transaction.
+     * May be empty, but never <code>null</code>. If the given keyspace is unknown (i.e. does not exist yet), the
+     * iterator will be empty. Needs to be {@linkplain CloseableIterator#close() closed} by the caller.
+     */
+    public CloseableIterator<String> performKeyStream(ChronoDBTransaction tx, String keyspaceName);
+
+    /**
+     * Produces the keys contained in this store in the given keyspace at the given point in time which start with the
+     * given prefix, in a lazy fashion.
+     *
+     * <p>
+     * The resulting iterator contains the same elements as {@link #performKeyStream(ChronoDBTransaction, String)},
+     * restricted to the keys with the given prefix. Implementations only scan the range of keys with the prefix.
+     *
+     * @param tx           The transaction on which this operation occurs. Must not be <code>null</code>.
+     * @param keyspaceName The name of the keyspace to retrieve the keys for. Must not be <code>null</code>.
+     * @param prefix       The prefix of the keys to retrieve. Must not be <code>null</code>. The empty string matches
+     *                     all keys.
+     * @return An iterator over the keys with the given prefix. May be empty, but never <code>null</code>. Needs to be
+     * {@linkplain CloseableIterator#close() closed} by the caller.
+     */
+    public CloseableIterator<String> performKeyStream(ChronoDBTransaction tx, String keyspaceName, String prefix);
+
     /**
      * Returns the history of the given key in this store, within the given timestamp bounds.
      *
@@ -0,0 +1,129 @@
+package org.chronos.chronodb.internal.api.cache;
+
+import org.chronos.chronodb.api.key.QualifiedKey;
+import org.chronos.chronodb.internal.api.ChronoDBConfiguration;
+import org.chronos.chronodb.internal.api.GetResult;
+import org.chronos.chronodb.internal.api.TemporalDataMatrix;
+import org.chronos.chronodb.internal.api.cache.ChronoDBCache.CacheStatistics;
+import org.chronos.chronodb.internal.impl.cache.bogus.ChronoDBBogusBinaryCache;
+import org.chronos.chronodb.internal.impl.cache.offheap.OffHeapBinaryCache;
+
+import java.util.Collection;
+
+import static com.google.common.base.Preconditions.*;
+
+/**
+ * The {@link ChronoDBBinaryCache} is a second-level cache for the <b>serialized</b> form of {@link GetResult}s.
+ *
+ * <p>
+ * It is located between the {@link ChronoDBCache} (which holds deserialized objects) and the {@link TemporalDataMatrix}.
+ * A miss in the {@link ChronoDBCache} is first answered by this cache, which saves the access to the underlying store,
+ * but still requires the deserialization of the value.
+ *
+ * <p>
+ * In contrast to the {@link ChronoDBCache}, this cache does not receive the new values of a commit. Instead, the commit
+ * merely {@linkplain #writeThrough(String, long, Collection) terminates} the validity periods of the cached entries
+ * which have been modified; the new values will be loaded on demand.
+ *
+ * @author martin.haeusler@uibk.ac.at -- Initial Contribution and API
+ */
+public interface ChronoDBBinaryCache {
+
+    // =====================================================================================================================
+    // FACTORY METHODS
+    // =====================================================================================================================
+
+    /**
+     * Creates a new binary cache according to the settings in the given configuration.
+     *
+     * @param config The configuration to read the cache settings from. Must not be <code>null</code>.
+     * @return A binary cache instance matching the given configuration. Never <code>null</code>.
+     */
+    public static ChronoDBBinaryCache createBinaryCacheForConfiguration(final ChronoDBConfiguration config) {
+        checkNotNull(config, "Precondition violation - argument 'config' must not be NULL!");
+        Long maxSizeInBytes = config.getOffHeapCacheMaxSizeInBytes();
+        if (maxSizeInBytes == null || maxSizeInBytes <= 0) {
+            return new ChronoDBBogusBinaryCache();
+        }
+        return new OffHeapBinaryCache(maxSizeInBytes);
+    }
+
+    // =====================================================================================================================
+    // PUBLIC API
+    // =====================================================================================================================
+
+    /**
+     * Queries the cache for the entry with the given key at the given branch and timestamp.
+     *
+     * @param branch       The branch to search in. Must not be <code>null</code>.
+     * @param timestamp    The timestamp to search at. Must not be negative.
+     * @param qualifiedKey The qualified key to search for. Must not be <code>null</code>.
+     * @return The cached result (which may represent a deletion, or the absence of any value), or <code>null</code> in
+     * case of a cache miss. The returned byte array is a private copy and may be modified by the caller.
+     */
+    public GetResult<byte[]> get(String branch, long timestamp, QualifiedKey qualifiedKey);
+
+    /**
+     * Adds the given binary {@link GetResult} to this cache.
+     *
+     * @param branch      The branch that was requested. Must not be <code>null</code>.
+     * @param queryResult The result of the query that should be cached. Must not be <code>null</code>.
+     */
+    public void cache(String branch, GetResult<byte[]> queryResult);
+
+    /**
+     * Notifies this cache that the given keys have been modified by a commit on the given branch.
+     *
+     * <p>
+     * The validity period of every cached entry of the given keys which extends beyond the given timestamp is
+     * terminated at the timestamp.
+     *
+     * @param branch       The branch on which the commit occurred. Must not be <code>null</code>.
+     * @param timestamp    The timestamp of the commit. Must not be negative.
+     * @param modifiedKeys The keys which have been modified by the commit. May be empty, must not be <code>null</code>.
+     */
+    public void writeThrough(String branch, long timestamp, Collection<QualifiedKey> modifiedKeys);
+
+    /**
+     * Retrieves the current number of entries in the cache.
+     *
+     * @return The current size of the cache. Never negative, may be zero.
+     */
+    public int size();
+
+    /**
+     * Returns the statistics of this cache.
+     *
+     * <p>
+     * This method will return a <b>copy</b> of the statistics. Any modifications on the cache (including {@link #resetStatistics()}) will have <b>no influence</b> on the returned statistics object.
+     *
+     * @return A copy of the statistics. Never <code>null</code>.
+     */
+    public CacheStatistics getStatistics();
+
+    /**
+     * Resets the statistics of this cache.
+     */
+    public void resetStatistics();
+
+    /**
+     * Completely clears the contents of this cache, eliminating all entries from it.
+     */
+    public void clear();
+
+    /**
+     * Rolls the cache back to the specified timestamp, i.e. removes all entries that are newer than the specified timestamp.
+     *
+     * @param timestamp The timestamp to roll back to. Must not be negative.
+     */
+    public void rollbackToTimestamp(long timestamp);
+
+    /**
+     * Clears this cache and releases all resources held by it.
+     *
+     * <p>
+     * The cache remains usable after calling this method, but will need to re-allocate its resources.
+     */
+    public void close();
+
+}
@@ -1,10 +1,13 @@
 package org.chronos.chronodb.internal.api.cache;
 
+import org.chronos.chronodb.api.CacheType;
 import org.chronos.chronodb.api.key.QualifiedKey;
 import org.chronos.chronodb.internal.api.ChronoDBConfiguration;
 import org.chronos.chronodb.internal.api.GetResult;
 import org.chronos.chronodb.internal.impl.cache.bogus.ChronoDBBogusCache;
+import org.chronos.chronodb.internal.impl.cache.concurrent.ConcurrentMosaicCache;
 import org.chronos.chronodb.internal.impl.cache.mosaic.MosaicCache;
+import org.chronos.common.exceptions.UnknownEnumLiteralException;
 
 import java.util.Map;
 import java.util.Map.Entry;
@@ -33,11 +36,23 @@ public interface ChronoDBCache {
      */
     public static ChronoDBCache createCacheForConfiguration(final ChronoDBConfiguration config) {
         checkNotNull(config, "Precondition violation - argument 'config' must not be NULL!");
-        if (config.isCachingEnabled()) {
-            return new MosaicCache(config.getCacheMaxSize());
-        } else {
+        if (config.isCachingEnabled() == false) {
             return new ChronoDBBogusCache();
         }
+        Long maxSizeInBytes = config.getCacheMaxSizeInBytes();
+        if (maxSizeInBytes != null) {
+            // memory-bounded caching is only supported by the concurrent cache
+            return ConcurrentMosaicCache.createWithMemoryBudget(maxSizeInBytes, config.getCacheKeyspaceBudgets());
+        }
+        CacheType cacheType = config.getCacheType();
+        switch (cacheType) {
+            case MOSAIC:
+                return new MosaicCache(config.getCacheMaxSize());
+            case CONCURRENT:
+                return new ConcurrentMosaicCache(config.getCacheMaxSize());
+            default:
+                throw new UnknownEnumLiteralException(cacheType);
+        }
     }
 
     // =====================================================================================================================
@@ -4,6 +4,7 @@ import java.util.Map;
 import java.util.Set;
 
 import org.chronos.chronodb.api.IndexManager;
+import org.chronos.chronodb.api.indexing.IndexEncoding;
 import org.chronos.chronodb.api.indexing.Indexer;
 import org.chronos.chronodb.api.key.QualifiedKey;
 import org.chronos.chronodb.internal.impl.index.AbstractBackendDelegatingIndexManager;
@@ -81,6 +82,26 @@ public interface IndexManagerBackend {
 	 */
 	public void persistIndexDirtyStates(Map<String, Boolean> indexNameToDirtyFlag);
 
+	// =================================================================================================================
+	// INDEX ENCODING MANAGEMENT
+	// =================================================================================================================
+
+	/**
+	 * Loads the mapping of "index name to encoding" from the storage backend.
+	 *
+	 * @return The "index name to encoding" mapping. Indices which are not contained in the map use
+	 *         {@link IndexEncoding#STANDARD}. May be empty, but never <code>null</code>.
+	 */
+	public Map<String, IndexEncoding> loadIndexEncodings();
+
+	/**
+	 * Persists the given "index name to encoding" mapping in the storage backend.
+	 *
+	 * @param indexNameToEncoding
+	 *            The map to store in the storage backend. Must not be <code>null</code>.
+	 */
+	public void persistIndexEncodings(Map<String, IndexEncoding> indexNameToEncoding);
+
 	// =================================================================================================================
 	// INDEX DOCUMENT MANAGEMENT
 	// =================================================================================================================
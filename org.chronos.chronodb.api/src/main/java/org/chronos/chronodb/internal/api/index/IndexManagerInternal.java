@@ -1,5 +1,6 @@
 package org.chronos.chronodb.internal.api.index;
 
+import org.chronos.chronodb.api.Branch;
 import org.chronos.chronodb.api.IndexManager;
 import org.chronos.chronodb.internal.impl.index.querycache.ChronoIndexQueryCache;
 
@@ -9,4 +10,15 @@ public interface IndexManagerInternal extends IndexManager {
 
     public void markAllIndicesAsDirty();
 
+    /**
+     * Returns the statistics of the given index, as seen from the given branch and timestamp.
+     *
+     * @param timestamp The timestamp at which the statistics are requested. Must not be negative.
+     * @param branch The branch in which the statistics are requested. Must not be <code>null</code>.
+     * @param keyspace The keyspace of the index. Must not be <code>null</code>.
+     * @param indexName The name of the index. Must not be <code>null</code>.
+     * @return The statistics of the index, or <code>null</code> if the backend does not provide any statistics for it.
+     */
+    public IndexStatistics getIndexStatistics(long timestamp, Branch branch, String keyspace, String indexName);
+
 }
@@ -0,0 +1,95 @@
+package org.chronos.chronodb.internal.api.index;
+
+import static com.google.common.base.Preconditions.*;
+
+/**
+ * Summarizes the contents of a single secondary index (in a single keyspace).
+ *
+ * <p>
+ * Index statistics are maintained by the index backends at commit time and serve as input for the cost-based query
+ * planner. They are <b>estimates</b>: depending on the backend, they may refer to the latest state of the index rather
+ * than to the requested timestamp, and they may include entries of parent branches.
+ *
+ * <p>
+ * Instances of this class are immutable.
+ */
+public final class IndexStatistics {
+
+    // =================================================================================================================
+    // FIELDS
+    // =================================================================================================================
+
+    private final long entryCount;
+    private final long distinctValueCount;
+
+    // =================================================================================================================
+    // CONSTRUCTOR
+    // =================================================================================================================
+
+    public IndexStatistics(final long entryCount, final long distinctValueCount) {
+        checkArgument(entryCount >= 0, "Precondition violation - argument 'entryCount' must not be negative!");
+        checkArgument(distinctValueCount >= 0, "Precondition violation - argument 'distinctValueCount' must not be negative!");
+        this.entryCount = entryCount;
+        this.distinctValueCount = distinctValueCount;
+    }
+
+    // =================================================================================================================
+    // PUBLIC API
+    // =================================================================================================================
+
+    /**
+     * Returns the number of index entries (i.e. pairs of key and indexed value) which are currently valid.
+     *
+     * @return The number of valid index entries. Never negative.
+     */
+    public long getEntryCount() {
+        return this.entryCount;
+    }
+
+    /**
+     * Returns the number of distinct values which have been stored in the index.
+     *
+     * @return The number of distinct index values. Never negative.
+     */
+    public long getDistinctValueCount() {
+        return this.distinctValueCount;
+    }
+
+    /**
+     * Combines these statistics with the given ones, e.g. to account for the index entries of a parent branch.
+     *
+     * @param other The statistics to combine with. Must not be <code>null</code>.
+     * @return The combined statistics. Never <code>null</code>.
+     */
+    public IndexStatistics plus(final IndexStatistics other) {
+        checkNotNull(other, "Precondition violation - argument 'other' must not be NULL!");
+        return new IndexStatistics(this.entryCount + other.entryCount, Math.max(this.distinctValueCount, other.distinctValueCount));
+    }
+
+    // =================================================================================================================
+    // HASH CODE, EQUALS, TOSTRING
+    // =================================================================================================================
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(this.entryCount) + Long.hashCode(this.distinctValueCount);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || this.getClass() != obj.getClass()) {
+            return false;
+        }
+        IndexStatistics other = (IndexStatistics) obj;
+        return this.entryCount == other.entryCount && this.distinctValueCount == other.distinctValueCount;
+    }
+
+    @Override
+    public String toString() {
+        return "IndexStatistics[entries=" + this.entryCount + ", distinctValues=" + this.distinctValueCount + "]";
+    }
+
+}
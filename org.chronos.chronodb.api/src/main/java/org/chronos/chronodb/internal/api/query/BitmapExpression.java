@@ -0,0 +1,249 @@
+package org.chronos.chronodb.internal.api.query;
+
+import static com.google.common.base.Preconditions.*;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.chronos.chronodb.api.indexing.IndexEncoding;
+import org.chronos.chronodb.api.query.Condition;
+import org.chronos.chronodb.api.query.ContainmentCondition;
+import org.chronos.chronodb.internal.api.query.searchspec.ContainmentDoubleSearchSpecification;
+import org.chronos.chronodb.internal.api.query.searchspec.ContainmentStringSearchSpecification;
+import org.chronos.chronodb.internal.api.query.searchspec.DoubleSearchSpecification;
+import org.chronos.chronodb.internal.api.query.searchspec.SearchSpecification;
+import org.chronos.chronodb.internal.api.query.searchspec.StringSearchSpecification;
+import org.chronos.chronodb.internal.impl.query.TextMatchMode;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * A boolean combination of index lookups which can be evaluated on {@linkplain IndexEncoding#BITMAP bitmap-encoded}
+ * indices.
+ *
+ * <p>
+ * Every {@linkplain Lookup lookup} matches the keys whose index value is equal to one of a set of values. Lookups are
+ * combined via {@linkplain Intersection intersections} and {@linkplain Union unions}, which translate directly into
+ * bitwise operations on the bitmaps of the involved values.
+ *
+ * <p>
+ * Use {@link #isBitmapLookup(SearchSpecification)} to check if a search specification can be expressed as a lookup.
+ *
+ * @author martin.haeusler@uibk.ac.at -- Initial Contribution and API
+ */
+public abstract class BitmapExpression {
+
+	// =================================================================================================================
+	// FACTORY METHODS
+	// =================================================================================================================
+
+	/**
+	 * Creates a new lookup for the given search specification.
+	 *
+	 * @param searchSpec
+	 *            The search specification to express as a lookup. Must not be <code>null</code>. Must be
+	 *            {@linkplain #isBitmapLookup(SearchSpecification) a bitmap lookup}.
+	 * @return The new lookup. Never <code>null</code>.
+	 */
+	public static Lookup lookup(final SearchSpecification<?, ?> searchSpec) {
+		checkNotNull(searchSpec, "Precondition violation - argument 'searchSpec' must not be NULL!");
+		checkArgument(isBitmapLookup(searchSpec),
+				"Precondition violation - argument 'searchSpec' can not be evaluated on a bitmap: " + searchSpec);
+		return new Lookup(searchSpec);
+	}
+
+	/**
+	 * Creates the intersection of the given expressions.
+	 *
+	 * @param operands
+	 *            The expressions to intersect. Must not be <code>null</code> or empty.
+	 * @return The intersection. Never <code>null</code>.
+	 */
+	public static Intersection and(final List<? extends BitmapExpression> operands) {
+		return new Intersection(operands);
+	}
+
+	/**
+	 * Creates the union of the given expressions.
+	 *
+	 * @param operands
+	 *            The expressions to unite. Must not be <code>null</code> or empty.
+	 * @return The union. Never <code>null</code>.
+	 */
+	public static Union or(final List<? extends BitmapExpression> operands) {
+		return new Union(operands);
+	}
+
+	/**
+	 * Checks if the given search specification matches exactly the keys whose index value is equal to one of a finite
+	 * set of values.
+	 *
+	 * <p>
+	 * This is the case for (case-sensitive) equality checks and non-negated containment checks. Double values are only
+	 * supported if the equality tolerance is zero.
+	 *
+	 * @param searchSpec
+	 *            The search specification to check. Must not be <code>null</code>.
+	 * @return <code>true</code> if the search specification can be evaluated on a bitmap, otherwise <code>false</code>.
+	 */
+	public static boolean isBitmapLookup(final SearchSpecification<?, ?> searchSpec) {
+		checkNotNull(searchSpec, "Precondition violation - argument 'searchSpec' must not be NULL!");
+		Condition condition = searchSpec.getCondition();
+		boolean isEquality = condition == Condition.EQUALS;
+		boolean isContainment = condition instanceof ContainmentCondition && condition.isNegated() == false;
+		if (isEquality == false && isContainment == false) {
+			return false;
+		}
+		if (searchSpec instanceof StringSearchSpecification) {
+			return ((StringSearchSpecification) searchSpec).getMatchMode() == TextMatchMode.STRICT;
+		}
+		if (searchSpec instanceof ContainmentStringSearchSpecification) {
+			return ((ContainmentStringSearchSpecification) searchSpec).getMatchMode() == TextMatchMode.STRICT;
+		}
+		if (searchSpec instanceof DoubleSearchSpecification) {
+			return ((DoubleSearchSpecification) searchSpec).getEqualityTolerance() == 0;
+		}
+		if (searchSpec instanceof ContainmentDoubleSearchSpecification) {
+			return ((ContainmentDoubleSearchSpecification) searchSpec).getEqualityTolerance() == 0;
+		}
+		return true;
+	}
+
+	// =================================================================================================================
+	// CONSTRUCTOR
+	// =================================================================================================================
+
+	private BitmapExpression() {
+		// only the nested classes may extend this class
+	}
+
+	// =================================================================================================================
+	// PUBLIC API
+	// =================================================================================================================
+
+	/**
+	 * Returns the lookups contained in this expression, in depth-first order.
+	 *
+	 * @return The list of lookups. Never <code>null</code> or empty.
+	 */
+	public abstract List<Lookup> getLookups();
+
+	// =================================================================================================================
+	// INNER CLASSES
+	// =================================================================================================================
+
+	/**
+	 * A leaf of a {@link BitmapExpression}, which matches the keys whose value in the given index is equal to one of the
+	 * given values.
+	 */
+	public static final class Lookup extends BitmapExpression {
+
+		private final SearchSpecification<?, ?> searchSpec;
+
+		private Lookup(final SearchSpecification<?, ?> searchSpec) {
+			this.searchSpec = searchSpec;
+		}
+
+		public SearchSpecification<?, ?> getSearchSpecification() {
+			return this.searchSpec;
+		}
+
+		public String getIndexName() {
+			return this.searchSpec.getProperty();
+		}
+
+		/**
+		 * Returns the index values to look up.
+		 *
+		 * @return The set of values. Never <code>null</code>. Each entry is a {@link String}, {@link Long} or
+		 *         {@link Double}, depending on the type of the index.
+		 */
+		public Set<Object> getValues() {
+			Object searchValue = this.searchSpec.getSearchValue();
+			if (searchValue instanceof Collection) {
+				return Collections.unmodifiableSet(((Collection<?>) searchValue).stream().collect(Collectors.toSet()));
+			}
+			return Collections.singleton(searchValue);
+		}
+
+		@Override
+		public List<Lookup> getLookups() {
+			return Collections.singletonList(this);
+		}
+
+		@Override
+		public String toString() {
+			return this.searchSpec.toString();
+		}
+
+	}
+
+	/**
+	 * Common base class for {@link Intersection} and {@link Union}.
+	 */
+	public static abstract class Composite extends BitmapExpression {
+
+		private final List<BitmapExpression> operands;
+
+		private Composite(final List<? extends BitmapExpression> operands) {
+			checkNotNull(operands, "Precondition violation - argument 'operands' must not be NULL!");
+			checkArgument(operands.isEmpty() == false,
+					"Precondition violation - argument 'operands' must not be empty!");
+			this.operands = ImmutableList.copyOf(operands);
+		}
+
+		public List<BitmapExpression> getOperands() {
+			return this.operands;
+		}
+
+		@Override
+		public List<Lookup> getLookups() {
+			return this.operands.stream()
+					.flatMap(operand -> operand.getLookups().stream())
+					.collect(Collectors.toList());
+		}
+
+		protected String toString(final String operator) {
+			return this.operands.stream()
+					.map(BitmapExpression::toString)
+					.collect(Collectors.joining(" " + operator + " ", "(", ")"));
+		}
+
+	}
+
+	/**
+	 * Matches the keys which are matched by all of its operands.
+	 */
+	public static final class Intersection extends Composite {
+
+		private Intersection(final List<? extends BitmapExpression> operands) {
+			super(operands);
+		}
+
+		@Override
+		public String toString() {
+			return this.toString("AND");
+		}
+
+	}
+
+	/**
+	 * Matches the keys which are matched by at least one of its operands.
+	 */
+	public static final class Union extends Composite {
+
+		private Union(final List<? extends BitmapExpression> operands) {
+			super(operands);
+		}
+
+		@Override
+		public String toString() {
+			return this.toString("OR");
+		}
+
+	}
+
+}
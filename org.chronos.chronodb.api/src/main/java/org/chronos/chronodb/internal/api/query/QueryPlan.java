@@ -0,0 +1,45 @@
+package org.chronos.chronodb.internal.api.query;
+
+import org.chronos.chronodb.api.IndexManager;
+import org.chronos.chronodb.api.builder.query.FinalizableQueryBuilder;
+
+/**
+ * A {@link QueryPlan} describes how a {@link ChronoDBQuery} is evaluated against the secondary indices.
+ *
+ * <p>
+ * Query plans are produced by a cost-based planner, which uses the statistics of the involved indices to decide in
+ * which order the conditions of a query are evaluated, and which conditions are checked directly on the candidate
+ * values instead of scanning their index. All estimates are approximations and serve informational purposes only.
+ *
+ * <p>
+ * Query plans can be obtained via {@link FinalizableQueryBuilder#explain()} or
+ * {@link IndexManager#explain(long, org.chronos.chronodb.api.Branch, ChronoDBQuery)}.
+ */
+public interface QueryPlan {
+
+	/**
+	 * Returns the estimated number of keys produced by this plan.
+	 *
+	 * @return The estimated result size. Never negative.
+	 */
+	public long getEstimatedResultSize();
+
+	/**
+	 * Returns the estimated cost of this plan.
+	 *
+	 * <p>
+	 * The cost is measured in "index entries visited"; loading a value in order to check a condition directly is
+	 * accounted for with a constant factor.
+	 *
+	 * @return The estimated cost. Never negative.
+	 */
+	public double getEstimatedCost();
+
+	/**
+	 * Returns a human-readable, multi-line description of the steps of this plan.
+	 *
+	 * @return The description of the plan. Never <code>null</code>.
+	 */
+	public String getDescription();
+
+}
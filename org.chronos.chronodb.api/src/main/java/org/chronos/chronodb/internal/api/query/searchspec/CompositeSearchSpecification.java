@@ -0,0 +1,34 @@
+package org.chronos.chronodb.internal.api.query.searchspec;
+
+import org.chronos.chronodb.api.query.CompositeCondition;
+import org.chronos.chronodb.api.query.CompositeKeyRange;
+import org.chronos.chronodb.internal.impl.query.CompositeSearchSpecificationImpl;
+
+public interface CompositeSearchSpecification extends SearchSpecification<String, CompositeKeyRange> {
+
+	// =================================================================================================================
+	// FACTORY METHODS
+	// =================================================================================================================
+
+	public static CompositeSearchSpecification create(final String property, final CompositeCondition condition, final CompositeKeyRange range) {
+		return new CompositeSearchSpecificationImpl(property, condition, range);
+	}
+
+	// =================================================================================================================
+	// PUBLIC API
+	// =================================================================================================================
+
+	@Override
+	public CompositeCondition getCondition();
+
+	@Override
+	public default boolean matches(final String value) {
+		return this.getCondition().applies(value, this.getSearchValue());
+	}
+
+	@Override
+	public default String getDescriptiveSearchType() {
+		return "Composite";
+	}
+
+}
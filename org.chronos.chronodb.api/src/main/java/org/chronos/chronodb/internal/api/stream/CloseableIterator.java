@@ -1,12 +1,15 @@
 package org.chronos.chronodb.internal.api.stream;
 
 import org.chronos.chronodb.internal.impl.stream.ConcatenatedCloseableIterator;
+import org.chronos.chronodb.internal.impl.stream.FilteringCloseableIterator;
+import org.chronos.chronodb.internal.impl.stream.IteratorWrappingCloseableIterator;
 import org.chronos.chronodb.internal.impl.stream.TransformingCloseableIterator;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 import static com.google.common.base.Preconditions.*;
 
@@ -65,6 +68,41 @@ public interface CloseableIterator<T> extends AutoCloseable {
         return new TransformingCloseableIterator<>(iterator, function);
     }
 
+    /**
+     * Filters the given iterator, keeping only the elements which match the given predicate.
+     *
+     * <p>
+     * The given predicate will be applied in a lazy way, i.e. elements will be tested on the fly while the resulting
+     * iterator is being advanced.
+     *
+     * <p>
+     * Closing the resulting iterator will also close the wrapped iterator.
+     *
+     * @param iterator  The iterator to filter. Must not be <code>null</code>.
+     * @param predicate The predicate to test each element with. Must not be <code>null</code>.
+     * @return The filtered iterator. Never <code>null</code>.
+     */
+    public static <E> CloseableIterator<E> filter(final CloseableIterator<E> iterator,
+                                                  final Predicate<? super E> predicate) {
+        checkNotNull(iterator, "Precondition violation - argument 'iterator' must not be NULL!");
+        checkNotNull(predicate, "Precondition violation - argument 'predicate' must not be NULL!");
+        return new FilteringCloseableIterator<>(iterator, predicate);
+    }
+
+    /**
+     * Wraps the given (regular) iterator into a closeable iterator.
+     *
+     * <p>
+     * Closing the resulting iterator has no effect other than stopping the iteration.
+     *
+     * @param iterator The iterator to wrap. Must not be <code>null</code>.
+     * @return The closeable iterator. Never <code>null</code>.
+     */
+    public static <E> CloseableIterator<E> wrap(final Iterator<? extends E> iterator) {
+        checkNotNull(iterator, "Precondition violation - argument 'iterator' must not be NULL!");
+        return new IteratorWrappingCloseableIterator<>(iterator);
+    }
+
     // =====================================================================================================================
     // PUBLIC API
     // =====================================================================================================================
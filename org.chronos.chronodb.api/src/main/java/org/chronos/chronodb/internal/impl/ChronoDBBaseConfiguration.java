@@ -1,5 +1,6 @@
 package org.chronos.chronodb.internal.impl;
 
+import org.chronos.chronodb.api.CacheType;
 import org.chronos.chronodb.api.CommitMetadataFilter;
 import org.chronos.chronodb.api.DuplicateVersionEliminationMode;
 import org.chronos.chronodb.api.conflict.ConflictResolutionStrategy;
@@ -8,9 +9,15 @@ import org.chronos.common.configuration.AbstractConfiguration;
 import org.chronos.common.configuration.Comparison;
 import org.chronos.common.configuration.ParameterValueConverters;
 import org.chronos.common.configuration.annotation.*;
+import org.chronos.common.exceptions.ChronosConfigurationException;
 import org.chronos.common.logging.ChronoLogger;
 
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+
 import java.io.File;
+import java.util.Collections;
+import java.util.Map;
 
 @Namespace(ChronoDBConfiguration.NAMESPACE)
 public abstract class ChronoDBBaseConfiguration extends AbstractConfiguration implements ChronoDBConfiguration {
@@ -48,8 +55,23 @@ public abstract class ChronoDBBaseConfiguration extends AbstractConfiguration im
 
     @Parameter(key = CACHE_MAX_SIZE)
     @RequiredIf(field = "cachingEnabled", comparison = Comparison.IS_SET_TO, compareValue = "true")
+    @IgnoredIf(field = "cacheMaxSizeInBytes", comparison = Comparison.IS_SET)
     private Integer cacheMaxSize;
 
+    @Parameter(key = CACHE_MAX_SIZE_IN_BYTES, optional = true)
+    private Long cacheMaxSizeInBytes;
+
+    @Parameter(key = CACHE_KEYSPACE_BUDGETS, optional = true)
+    @IgnoredIf(field = "cacheMaxSizeInBytes", comparison = Comparison.IS_NOT_SET)
+    private String cacheKeyspaceBudgetsString;
+
+    @EnumFactoryMethod("fromString")
+    @Parameter(key = CACHE_TYPE, optional = true)
+    private CacheType cacheType = CacheType.MOSAIC;
+
+    @Parameter(key = OFFHEAP_CACHE_MAX_SIZE_IN_BYTES, optional = true)
+    private Long offHeapCacheMaxSizeInBytes;
+
     @Parameter(key = QUERY_CACHE_ENABLED)
     private boolean indexQueryCachingEnabled = false;
 
@@ -68,6 +90,12 @@ public abstract class ChronoDBBaseConfiguration extends AbstractConfiguration im
     @Parameter(key = DUPLICATE_VERSION_ELIMINATION_MODE, optional = true)
     private DuplicateVersionEliminationMode duplicateVersionEliminationMode = DuplicateVersionEliminationMode.ON_COMMIT;
 
+    @Parameter(key = COMMIT_GROUP_ENABLED, optional = true)
+    private boolean groupCommitEnabled = false;
+
+    @Parameter(key = COMMIT_GROUP_MAX_SIZE, optional = true)
+    private int groupCommitMaxSize = 64;
+
     @Parameter(key = COMMIT_METADATA_FILTER_CLASS, optional = true)
     private String commitMetadataFilterClassName = null;
 
@@ -83,6 +111,7 @@ public abstract class ChronoDBBaseConfiguration extends AbstractConfiguration im
     // =================================================================================================================
 
     private transient ConflictResolutionStrategy conflictResolutionStrategy;
+    private transient Map<String, Long> cacheKeyspaceBudgets;
 
     // =================================================================================================================
     // GENERAL SETTINGS
@@ -118,6 +147,30 @@ public abstract class ChronoDBBaseConfiguration extends AbstractConfiguration im
         return this.cacheMaxSize;
     }
 
+    @Override
+    public Long getCacheMaxSizeInBytes() {
+        return this.cacheMaxSizeInBytes;
+    }
+
+    @Override
+    public Map<String, Long> getCacheKeyspaceBudgets() {
+        if (this.cacheKeyspaceBudgets == null) {
+            // setting was not yet resolved, do it now
+            this.cacheKeyspaceBudgets = parseKeyspaceBudgets(this.cacheKeyspaceBudgetsString);
+        }
+        return this.cacheKeyspaceBudgets;
+    }
+
+    @Override
+    public CacheType getCacheType() {
+        return this.cacheType;
+    }
+
+    @Override
+    public Long getOffHeapCacheMaxSizeInBytes() {
+        return this.offHeapCacheMaxSizeInBytes;
+    }
+
     @Override
     public boolean isIndexQueryCachingEnabled() {
         return this.indexQueryCachingEnabled;
@@ -149,6 +202,20 @@ public abstract class ChronoDBBaseConfiguration extends AbstractConfiguration im
         return this.duplicateVersionEliminationMode;
     }
 
+    @Override
+    public boolean isGroupCommitEnabled() {
+        return this.groupCommitEnabled;
+    }
+
+    @Override
+    public int getGroupCommitMaxSize() {
+        if (this.groupCommitMaxSize <= 0) {
+            throw new ChronosConfigurationException("Invalid value for setting '" + COMMIT_GROUP_MAX_SIZE
+                + "': the group size must be greater than zero!");
+        }
+        return this.groupCommitMaxSize;
+    }
+
     @Override
     public Class<? extends CommitMetadataFilter> getCommitMetadataFilterClass() {
         if (this.commitMetadataFilterClassName == null || this.commitMetadataFilterClassName.trim().isEmpty()) {
@@ -172,4 +239,42 @@ public abstract class ChronoDBBaseConfiguration extends AbstractConfiguration im
         return this.readOnly;
     }
 
+    // =================================================================================================================
+    // HELPER METHODS
+    // =================================================================================================================
+
+    private static Map<String, Long> parseKeyspaceBudgets(final String budgets) {
+        if (budgets == null || budgets.trim().isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, Long> resultMap = Maps.newHashMap();
+        for (String budget : budgets.split(",")) {
+            if (budget.trim().isEmpty()) {
+                continue;
+            }
+            String[] parts = budget.split(":");
+            if (parts.length != 2 || parts[0].trim().isEmpty()) {
+                throw new ChronosConfigurationException("Invalid entry '" + budget.trim() + "' in setting '"
+                    + CACHE_KEYSPACE_BUDGETS + "'! Expected format: 'keyspace:bytes'.");
+            }
+            String keyspace = parts[0].trim();
+            long bytes;
+            try {
+                bytes = Long.parseLong(parts[1].trim());
+            } catch (NumberFormatException e) {
+                throw new ChronosConfigurationException("Invalid budget for keyspace '" + keyspace + "' in setting '"
+                    + CACHE_KEYSPACE_BUDGETS + "': '" + parts[1].trim() + "' is not a number of bytes!", e);
+            }
+            if (bytes <= 0) {
+                throw new ChronosConfigurationException("Invalid budget for keyspace '" + keyspace + "' in setting '"
+                    + CACHE_KEYSPACE_BUDGETS + "': the budget must be greater than zero!");
+            }
+            if (resultMap.put(keyspace, bytes) != null) {
+                throw new ChronosConfigurationException("Keyspace '" + keyspace + "' occurs more than once in setting '"
+                    + CACHE_KEYSPACE_BUDGETS + "'!");
+            }
+        }
+        return ImmutableMap.copyOf(resultMap);
+    }
+
 }
@@ -2,6 +2,7 @@ package org.chronos.chronodb.internal.impl.builder.database;
 
 import static com.google.common.base.Preconditions.*;
 
+import org.chronos.chronodb.api.CacheType;
 import org.chronos.chronodb.api.ChronoDB;
 import org.chronos.chronodb.api.CommitMetadataFilter;
 import org.chronos.chronodb.api.DuplicateVersionEliminationMode;
@@ -10,6 +11,10 @@ import org.chronos.chronodb.api.conflict.ConflictResolutionStrategy;
 import org.chronos.chronodb.internal.api.ChronoDBConfiguration;
 import org.chronos.chronodb.internal.api.ChronoDBFactoryInternal;
 
+import java.util.Collections;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 public abstract class AbstractChronoDBFinalizableBuilder<SELF extends ChronoDBFinalizableBuilder<?>>
 		extends AbstractChronoDBBuilder<SELF> implements ChronoDBFinalizableBuilder<SELF> {
 
@@ -25,6 +30,40 @@ public abstract class AbstractChronoDBFinalizableBuilder<SELF extends ChronoDBFi
 		return (SELF) this;
 	}
 
+	@Override
+	public SELF withCacheType(final CacheType cacheType) {
+		checkNotNull(cacheType, "Precondition violation - argument 'cacheType' must not be NULL!");
+		return this.withProperty(ChronoDBConfiguration.CACHE_TYPE, cacheType.toString());
+	}
+
+	@Override
+	public SELF withCacheMemoryBudget(final long maxSizeInBytes) {
+		return this.withCacheMemoryBudget(maxSizeInBytes, Collections.emptyMap());
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public SELF withCacheMemoryBudget(final long maxSizeInBytes, final Map<String, Long> keyspaceBudgets) {
+		checkNotNull(keyspaceBudgets, "Precondition violation - argument 'keyspaceBudgets' must not be NULL!");
+		if (maxSizeInBytes > 0) {
+			this.withProperty(ChronoDBConfiguration.CACHING_ENABLED, "true");
+			this.withProperty(ChronoDBConfiguration.CACHE_MAX_SIZE_IN_BYTES, String.valueOf(maxSizeInBytes));
+			String budgets = keyspaceBudgets.entrySet().stream()
+					.map(entry -> entry.getKey() + ":" + entry.getValue())
+					.collect(Collectors.joining(","));
+			this.withProperty(ChronoDBConfiguration.CACHE_KEYSPACE_BUDGETS, budgets);
+		} else {
+			this.withProperty(ChronoDBConfiguration.CACHING_ENABLED, "false");
+		}
+		return (SELF) this;
+	}
+
+	@Override
+	public SELF withOffHeapCacheOfSize(final long maxSizeInBytes) {
+		return this.withProperty(ChronoDBConfiguration.OFFHEAP_CACHE_MAX_SIZE_IN_BYTES,
+				String.valueOf(Math.max(maxSizeInBytes, 0)));
+	}
+
 	@Override
 	public SELF assumeCachedValuesAreImmutable(final boolean value) {
 		return this.withProperty(ChronoDBConfiguration.ASSUME_CACHE_VALUES_ARE_IMMUTABLE, String.valueOf(value));
@@ -15,40 +15,24 @@ public abstract class AbstractFinalizableQueryBuilder implements QueryBuilderFin
 
 	@Override
 	public Iterator<QualifiedKey> getKeys() {
-		ChronoDBQuery query = this.getQuery();
-		// evaluate the query
-		Branch branch = this.getBranch();
-		long timestamp = this.getTx().getTimestamp();
-		return this.getOwningDB().getIndexManager().evaluate(timestamp, branch, query);
+		return this.evaluateQuery();
 	}
 
 	@Override
 	public Iterator<Entry<QualifiedKey, Object>> getQualifiedResult() {
-		ChronoDBQuery query = this.getQuery();
-		// evaluate the query
-		Branch branch = this.getBranch();
-		long timestamp = this.getTx().getTimestamp();
-		Iterator<QualifiedKey> keyIterator = this.getOwningDB().getIndexManager().evaluate(timestamp, branch, query);
+		Iterator<QualifiedKey> keyIterator = this.evaluateQuery();
 		return new QualifiedResultIterator(keyIterator);
 	}
 
 	@Override
 	public Iterator<Entry<String, Object>> getResult() {
-		ChronoDBQuery query = this.getQuery();
-		// evaluate the query
-		Branch branch = this.getBranch();
-		long timestamp = this.getTx().getTimestamp();
-		Iterator<QualifiedKey> keyIterator = this.getOwningDB().getIndexManager().evaluate(timestamp, branch, query);
+		Iterator<QualifiedKey> keyIterator = this.evaluateQuery();
 		return new UnqualifiedResultIterator(keyIterator);
 	}
 
 	@Override
 	public Iterator<Object> getValues() {
-		ChronoDBQuery query = this.getQuery();
-		// evaluate the query
-		Branch branch = this.getBranch();
-		long timestamp = this.getTx().getTimestamp();
-		Iterator<QualifiedKey> keyIterator = this.getOwningDB().getIndexManager().evaluate(timestamp, branch, query);
+		Iterator<QualifiedKey> keyIterator = this.evaluateQuery();
 		return new ValuesResultIterator(keyIterator);
 	}
 
@@ -58,6 +42,28 @@ public abstract class AbstractFinalizableQueryBuilder implements QueryBuilderFin
 		return branch;
 	}
 
+	/**
+	 * Evaluates the query of this finalizer.
+	 *
+	 * @return An iterator on the keys which match the query. Never <code>null</code>.
+	 */
+	protected Iterator<QualifiedKey> evaluateQuery() {
+		ChronoDBQuery query = this.getQuery();
+		// evaluate the query
+		Branch branch = this.getBranch();
+		long timestamp = this.getTx().getTimestamp();
+		return this.getOwningDB().getIndexManager().evaluate(timestamp, branch, query, this.getMaxResults());
+	}
+
+	/**
+	 * Returns the maximum number of results to produce.
+	 *
+	 * @return The maximum number of results. {@link Integer#MAX_VALUE} if the result is not limited.
+	 */
+	protected int getMaxResults() {
+		return Integer.MAX_VALUE;
+	}
+
 	protected abstract ChronoDBQuery getQuery();
 
 	protected abstract ChronoDBInternal getOwningDB();
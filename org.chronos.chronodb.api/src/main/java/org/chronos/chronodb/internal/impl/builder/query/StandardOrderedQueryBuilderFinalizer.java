@@ -0,0 +1,47 @@
+package org.chronos.chronodb.internal.impl.builder.query;
+
+import static com.google.common.base.Preconditions.*;
+
+import java.util.Iterator;
+
+import org.chronos.chronodb.api.Branch;
+import org.chronos.chronodb.api.ChronoDBTransaction;
+import org.chronos.chronodb.api.Order;
+import org.chronos.chronodb.api.builder.query.OrderedQueryBuilderFinalizer;
+import org.chronos.chronodb.api.builder.query.QueryBuilderFinalizer;
+import org.chronos.chronodb.api.key.QualifiedKey;
+import org.chronos.chronodb.internal.api.ChronoDBInternal;
+import org.chronos.chronodb.internal.api.query.ChronoDBQuery;
+
+public class StandardOrderedQueryBuilderFinalizer extends StandardQueryBuilderFinalizer implements OrderedQueryBuilderFinalizer {
+
+	private final String orderByIndex;
+	private final Order order;
+
+	public StandardOrderedQueryBuilderFinalizer(final ChronoDBInternal owningDB, final ChronoDBTransaction tx,
+			final ChronoDBQuery query, final String orderByIndex, final Order order, final int maxResults) {
+		super(owningDB, tx, query, maxResults);
+		checkNotNull(orderByIndex, "Precondition violation - argument 'orderByIndex' must not be NULL!");
+		checkNotNull(order, "Precondition violation - argument 'order' must not be NULL!");
+		this.orderByIndex = orderByIndex;
+		this.order = order;
+	}
+
+	@Override
+	public QueryBuilderFinalizer limit(final int maxResults) {
+		checkArgument(maxResults > 0, "Precondition violation - argument 'maxResults' must be greater than zero!");
+		return new StandardOrderedQueryBuilderFinalizer(this.getOwningDB(), this.getTx(), this.getQuery(),
+				this.orderByIndex, this.order, maxResults);
+	}
+
+	@Override
+	protected Iterator<QualifiedKey> evaluateQuery() {
+		ChronoDBQuery query = this.getQuery();
+		// evaluate the query
+		Branch branch = this.getBranch();
+		long timestamp = this.getTx().getTimestamp();
+		return this.getOwningDB().getIndexManager().evaluateOrdered(timestamp, branch, query, this.orderByIndex,
+				this.order, this.getMaxResults());
+	}
+
+}
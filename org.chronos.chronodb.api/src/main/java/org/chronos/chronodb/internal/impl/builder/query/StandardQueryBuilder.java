@@ -8,8 +8,11 @@ import java.util.Set;
 import org.chronos.chronodb.api.Branch;
 import org.chronos.chronodb.api.ChronoDBConstants;
 import org.chronos.chronodb.api.ChronoDBTransaction;
+import org.chronos.chronodb.api.Order;
 import org.chronos.chronodb.api.builder.query.FinalizableQueryBuilder;
+import org.chronos.chronodb.api.builder.query.OrderedQueryBuilderFinalizer;
 import org.chronos.chronodb.api.builder.query.QueryBuilder;
+import org.chronos.chronodb.api.builder.query.QueryBuilderFinalizer;
 import org.chronos.chronodb.api.builder.query.QueryBuilderStarter;
 import org.chronos.chronodb.api.builder.query.WhereBuilder;
 import org.chronos.chronodb.api.exceptions.ChronoDBQuerySyntaxException;
@@ -19,6 +22,7 @@ import org.chronos.chronodb.internal.api.query.ChronoDBQuery;
 import org.chronos.chronodb.internal.api.query.QueryManager;
 import org.chronos.chronodb.internal.api.query.QueryOptimizer;
 import org.chronos.chronodb.internal.api.query.QueryParser;
+import org.chronos.chronodb.internal.api.query.QueryPlan;
 import org.chronos.chronodb.internal.api.query.QueryTokenStream;
 import org.chronos.chronodb.internal.impl.query.TextMatchMode;
 import org.chronos.chronodb.internal.impl.query.parser.token.AndToken;
@@ -347,6 +351,18 @@ public class StandardQueryBuilder implements QueryBuilderStarter {
 			return this.addSetDoubleWhereDetails(DoubleContainmentCondition.WITHOUT, values, tolerance);
 		}
 
+		@Override
+		public FinalizableQueryBuilder matchesComposite(final CompositeKeyRange range) {
+			checkNotNull(range, "Precondition violation - argument 'range' must not be NULL!");
+			return this.addCompositeWhereDetails(CompositeCondition.MATCHES, range);
+		}
+
+		@Override
+		public FinalizableQueryBuilder notMatchesComposite(final CompositeKeyRange range) {
+			checkNotNull(range, "Precondition violation - argument 'range' must not be NULL!");
+			return this.addCompositeWhereDetails(CompositeCondition.NOT_MATCHES, range);
+		}
+
 
 		// =================================================================================================================
 		// HELPER METHODS
@@ -420,6 +436,17 @@ public class StandardQueryBuilder implements QueryBuilderStarter {
 			StandardQueryBuilder.this.currentWhereToken = null;
 			return StandardQueryBuilder.this.finalizableBuilder;
 		}
+
+		private FinalizableQueryBuilder addCompositeWhereDetails(final CompositeCondition condition, final CompositeKeyRange range) {
+			if (StandardQueryBuilder.this.currentWhereToken == null) {
+				// this should never happen as such a query won't even compile in Java
+				throw new ChronoDBQuerySyntaxException("Received '" + condition.getInfix() + "', but no WHERE clause is open!");
+			}
+			StandardQueryBuilder.this.currentWhereToken.setCompositeWhereDetails(condition, range);
+			// we are done with that WHERE clause
+			StandardQueryBuilder.this.currentWhereToken = null;
+			return StandardQueryBuilder.this.finalizableBuilder;
+		}
 	}
 
 
@@ -465,6 +492,64 @@ public class StandardQueryBuilder implements QueryBuilderStarter {
 			return StandardQueryBuilder.this.owningDB.getIndexManager().evaluateCount(timestamp, branch, query);
 		}
 
+		@Override
+		public boolean exists() {
+			// add the End-Of-Input token to the stream
+			QueryToken endOfInputToken = new EndOfInputToken();
+			StandardQueryBuilder.this.tokenList.add(endOfInputToken);
+			// parse the query
+			ChronoDBQuery query = this.createOptimizedQuery();
+			// evaluate the query
+			String branchName = StandardQueryBuilder.this.tx.getBranchName();
+			Branch branch = StandardQueryBuilder.this.owningDB.getBranchManager().getBranch(branchName);
+			long timestamp = StandardQueryBuilder.this.tx.getTimestamp();
+			return StandardQueryBuilder.this.owningDB.getIndexManager().evaluateExists(timestamp, branch, query);
+		}
+
+		@Override
+		public Set<Object> distinctValues(final String indexName) {
+			checkNotNull(indexName, "Precondition violation - argument 'indexName' must not be NULL!");
+			// add the End-Of-Input token to the stream
+			QueryToken endOfInputToken = new EndOfInputToken();
+			StandardQueryBuilder.this.tokenList.add(endOfInputToken);
+			// parse the query
+			ChronoDBQuery query = this.createOptimizedQuery();
+			// evaluate the query
+			String branchName = StandardQueryBuilder.this.tx.getBranchName();
+			Branch branch = StandardQueryBuilder.this.owningDB.getBranchManager().getBranch(branchName);
+			long timestamp = StandardQueryBuilder.this.tx.getTimestamp();
+			return StandardQueryBuilder.this.owningDB.getIndexManager().evaluateDistinctValues(timestamp, branch, query, indexName);
+		}
+
+		@Override
+		public QueryBuilderFinalizer limit(final int maxResults) {
+			checkArgument(maxResults > 0, "Precondition violation - argument 'maxResults' must be greater than zero!");
+			return new StandardQueryBuilderFinalizer(StandardQueryBuilder.this.owningDB, StandardQueryBuilder.this.tx,
+					this.toQuery(), maxResults);
+		}
+
+		@Override
+		public OrderedQueryBuilderFinalizer orderBy(final String indexName, final Order order) {
+			checkNotNull(indexName, "Precondition violation - argument 'indexName' must not be NULL!");
+			checkNotNull(order, "Precondition violation - argument 'order' must not be NULL!");
+			return new StandardOrderedQueryBuilderFinalizer(StandardQueryBuilder.this.owningDB,
+					StandardQueryBuilder.this.tx, this.toQuery(), indexName, order, Integer.MAX_VALUE);
+		}
+
+		@Override
+		public QueryPlan explain() {
+			// add the End-Of-Input token to the stream
+			QueryToken endOfInputToken = new EndOfInputToken();
+			StandardQueryBuilder.this.tokenList.add(endOfInputToken);
+			// parse the query
+			ChronoDBQuery query = this.createOptimizedQuery();
+			// create the plan
+			String branchName = StandardQueryBuilder.this.tx.getBranchName();
+			Branch branch = StandardQueryBuilder.this.owningDB.getBranchManager().getBranch(branchName);
+			long timestamp = StandardQueryBuilder.this.tx.getTimestamp();
+			return StandardQueryBuilder.this.owningDB.getIndexManager().explain(timestamp, branch, query);
+		}
+
 		@Override
 		public QueryBuilder and() {
 			QueryToken andToken = new AndToken();
@@ -12,15 +12,23 @@ public class StandardQueryBuilderFinalizer extends AbstractFinalizableQueryBuild
 	private final ChronoDBTransaction tx;
 
 	private final ChronoDBQuery query;
+	private final int maxResults;
 
 	public StandardQueryBuilderFinalizer(final ChronoDBInternal owningDB, final ChronoDBTransaction tx,
 			final ChronoDBQuery query) {
+		this(owningDB, tx, query, Integer.MAX_VALUE);
+	}
+
+	public StandardQueryBuilderFinalizer(final ChronoDBInternal owningDB, final ChronoDBTransaction tx,
+			final ChronoDBQuery query, final int maxResults) {
 		checkNotNull(owningDB, "Precondition violation - argument 'owningDB' must not be NULL!");
 		checkNotNull(tx, "Precondition violation - argument 'tx' must not be NULL!");
 		checkNotNull(query, "Precondition violation - argument 'query' must not be NULL!");
+		checkArgument(maxResults > 0, "Precondition violation - argument 'maxResults' must be greater than zero!");
 		this.owningDB = owningDB;
 		this.tx = tx;
 		this.query = query;
+		this.maxResults = maxResults;
 	}
 
 	@Override
@@ -38,4 +46,9 @@ public class StandardQueryBuilderFinalizer extends AbstractFinalizableQueryBuild
 		return this.query;
 	}
 
+	@Override
+	protected int getMaxResults() {
+		return this.maxResults;
+	}
+
 }
@@ -1,6 +1,6 @@
 package org.chronos.chronodb.internal.impl.cache;
 
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.chronos.chronodb.internal.api.cache.ChronoDBCache.CacheStatistics;
 
@@ -10,16 +10,18 @@ public class CacheStatisticsImpl implements CacheStatistics {
 	// FIELDS
 	// =====================================================================================================================
 
-	private AtomicLong hitCount;
-	private AtomicLong missCount;
+	// note: we use LongAdders instead of AtomicLongs because these counters are
+	// incremented by every cache access, potentially from many threads at once.
+	private final LongAdder hitCount;
+	private final LongAdder missCount;
 
 	// =====================================================================================================================
 	// CONSTRUCTOR
 	// =====================================================================================================================
 
 	public CacheStatisticsImpl() {
-		this.hitCount = new AtomicLong(0L);
-		this.missCount = new AtomicLong(0L);
+		this.hitCount = new LongAdder();
+		this.missCount = new LongAdder();
 	}
 
 	// =====================================================================================================================
@@ -28,18 +30,18 @@ public class CacheStatisticsImpl implements CacheStatistics {
 
 	@Override
 	public long getCacheHitCount() {
-		return this.hitCount.get();
+		return this.hitCount.sum();
 	}
 
 	@Override
 	public long getCacheMissCount() {
-		return this.missCount.get();
+		return this.missCount.sum();
 	}
 
 	public CacheStatisticsImpl duplicate() {
 		CacheStatisticsImpl clone = new CacheStatisticsImpl();
-		clone.hitCount.set(this.getCacheHitCount());
-		clone.missCount.set(this.getCacheMissCount());
+		clone.hitCount.add(this.getCacheHitCount());
+		clone.missCount.add(this.getCacheMissCount());
 		return clone;
 	}
 
@@ -48,16 +50,16 @@ public class CacheStatisticsImpl implements CacheStatistics {
 	// =====================================================================================================================
 
 	public void registerHit() {
-		this.hitCount.incrementAndGet();
+		this.hitCount.increment();
 	}
 
 	public void registerMiss() {
-		this.missCount.incrementAndGet();
+		this.missCount.increment();
 	}
 
 	public void reset() {
-		this.hitCount.set(0);
-		this.missCount.set(0);
+		this.hitCount.reset();
+		this.missCount.reset();
 	}
 
 	// =====================================================================================================================
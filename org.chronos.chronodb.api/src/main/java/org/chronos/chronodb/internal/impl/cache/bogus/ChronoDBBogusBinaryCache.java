@@ -0,0 +1,58 @@
+package org.chronos.chronodb.internal.impl.cache.bogus;
+
+import java.util.Collection;
+
+import org.chronos.chronodb.api.key.QualifiedKey;
+import org.chronos.chronodb.internal.api.GetResult;
+import org.chronos.chronodb.internal.api.cache.ChronoDBBinaryCache;
+import org.chronos.chronodb.internal.api.cache.ChronoDBCache.CacheStatistics;
+import org.chronos.chronodb.internal.impl.cache.CacheStatisticsImpl;
+
+public class ChronoDBBogusBinaryCache implements ChronoDBBinaryCache {
+
+	@Override
+	public GetResult<byte[]> get(final String branch, final long timestamp, final QualifiedKey qualifiedKey) {
+		return null;
+	}
+
+	@Override
+	public void cache(final String branch, final GetResult<byte[]> queryResult) {
+		// ignore
+	}
+
+	@Override
+	public void writeThrough(final String branch, final long timestamp, final Collection<QualifiedKey> modifiedKeys) {
+		// ignore
+	}
+
+	@Override
+	public int size() {
+		return 0;
+	}
+
+	@Override
+	public CacheStatistics getStatistics() {
+		return new CacheStatisticsImpl();
+	}
+
+	@Override
+	public void resetStatistics() {
+		// ignore
+	}
+
+	@Override
+	public void clear() {
+		// ignore
+	}
+
+	@Override
+	public void rollbackToTimestamp(final long timestamp) {
+		// ignore
+	}
+
+	@Override
+	public void close() {
+		// ignore
+	}
+
+}
@@ -0,0 +1,91 @@
+package org.chronos.chronodb.internal.impl.cache.concurrent;
+
+import static com.google.common.base.Preconditions.*;
+
+/**
+ * An intrusive, doubly linked list of {@link CacheCell}s in access order (least recently used cell first).
+ *
+ * <p>
+ * This class is <b>not</b> thread-safe. It is only accessed while holding the lock of the owning {@link CacheStripe}.
+ *
+ * @author martin.haeusler@uibk.ac.at -- Initial Contribution and API
+ */
+class AccessQueue {
+
+	private CacheCell first;
+	private CacheCell last;
+	private int size;
+	private long weight;
+
+	public void addLast(final CacheCell cell) {
+		checkNotNull(cell, "Precondition violation - argument 'cell' must not be NULL!");
+		checkArgument(cell.queue == null, "Precondition violation - argument 'cell' is already contained in a queue!");
+		cell.queue = this;
+		cell.previous = this.last;
+		cell.next = null;
+		if (this.last == null) {
+			this.first = cell;
+		} else {
+			this.last.next = cell;
+		}
+		this.last = cell;
+		this.size++;
+		this.weight += cell.getWeight();
+	}
+
+	public void remove(final CacheCell cell) {
+		checkNotNull(cell, "Precondition violation - argument 'cell' must not be NULL!");
+		checkArgument(cell.queue == this, "Precondition violation - argument 'cell' is not contained in this queue!");
+		if (cell.previous == null) {
+			this.first = cell.next;
+		} else {
+			cell.previous.next = cell.next;
+		}
+		if (cell.next == null) {
+			this.last = cell.previous;
+		} else {
+			cell.next.previous = cell.previous;
+		}
+		cell.previous = null;
+		cell.next = null;
+		cell.queue = null;
+		this.size--;
+		this.weight -= cell.getWeight();
+	}
+
+	public void moveToBack(final CacheCell cell) {
+		if (cell == this.last) {
+			// already at the back
+			return;
+		}
+		this.remove(cell);
+		this.addLast(cell);
+	}
+
+	public CacheCell peekFirst() {
+		return this.first;
+	}
+
+	public CacheCell pollFirst() {
+		CacheCell cell = this.first;
+		if (cell != null) {
+			this.remove(cell);
+		}
+		return cell;
+	}
+
+	public int size() {
+		return this.size;
+	}
+
+	public long weight() {
+		return this.weight;
+	}
+
+	public void clear() {
+		while (this.first != null) {
+			this.pollFirst();
+		}
+	}
+
+}
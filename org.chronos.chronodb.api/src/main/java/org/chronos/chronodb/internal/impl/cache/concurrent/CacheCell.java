@@ -0,0 +1,78 @@
+package org.chronos.chronodb.internal.impl.cache.concurrent;
+
+import static com.google.common.base.Preconditions.*;
+
+import org.chronos.chronodb.internal.api.GetResult;
+
+/**
+ * A single cached {@link GetResult} in a {@link ConcurrentMosaicRow}.
+ *
+ * <p>
+ * Besides the cached result, a cell carries the bookkeeping information of the eviction policy (queue membership and
+ * the links of the intrusive access-order list). These fields are only ever accessed while holding the lock of the
+ * {@link CacheStripe} which owns the cell.
+ *
+ * @author martin.haeusler@uibk.ac.at -- Initial Contribution and API
+ */
+class CacheCell {
+
+	// =====================================================================================================================
+	// FIELDS
+	// =====================================================================================================================
+
+	private final ConcurrentMosaicRow row;
+	private final GetResult<?> result;
+	private final int hash;
+	private final long weight;
+
+	// policy data (guarded by the stripe lock)
+	CacheCell previous;
+	CacheCell next;
+	AccessQueue queue;
+	boolean alive;
+
+	// =====================================================================================================================
+	// CONSTRUCTOR
+	// =====================================================================================================================
+
+	CacheCell(final ConcurrentMosaicRow row, final GetResult<?> result, final long weight) {
+		checkNotNull(row, "Precondition violation - argument 'row' must not be NULL!");
+		checkNotNull(result, "Precondition violation - argument 'result' must not be NULL!");
+		checkArgument(weight > 0, "Precondition violation - argument 'weight' must be greater than zero!");
+		this.row = row;
+		this.result = result;
+		this.weight = weight;
+		this.hash = 31 * row.getKeyHash() + Long.hashCode(result.getPeriod().getLowerBound());
+		this.alive = true;
+	}
+
+	// =====================================================================================================================
+	// PUBLIC API
+	// =====================================================================================================================
+
+	public ConcurrentMosaicRow getRow() {
+		return this.row;
+	}
+
+	public GetResult<?> getResult() {
+		return this.result;
+	}
+
+	/**
+	 * Returns the hash of this cell, which is used to estimate the access frequency of the cell.
+	 *
+	 * <p>
+	 * The hash only depends on the row and the lower bound of the validity period. Therefore, a cell which is evicted
+	 * and later re-inserted into the cache retains its access history.
+	 *
+	 * @return The hash value.
+	 */
+	public int getHash() {
+		return this.hash;
+	}
+
+	public long getWeight() {
+		return this.weight;
+	}
+
+}
@@ -0,0 +1,106 @@
+package org.chronos.chronodb.internal.impl.cache.concurrent;
+
+import static com.google.common.base.Preconditions.*;
+
+import java.util.Arrays;
+
+import org.chronos.chronodb.api.key.QualifiedKey;
+
+/**
+ * A partition of a {@link ConcurrentMosaicCache}, consisting of a fixed number of {@linkplain CacheStripe stripes}.
+ *
+ * <p>
+ * Each partition has its own (optional) weight bound, which is distributed evenly across its stripes. Partitions allow
+ * to reserve a share of the cache for a specific keyspace, such that the entries of one keyspace can never evict the
+ * entries of another keyspace.
+ *
+ * @author martin.haeusler@uibk.ac.at -- Initial Contribution and API
+ */
+class CachePartition {
+
+	// =====================================================================================================================
+	// FIELDS
+	// =====================================================================================================================
+
+	private final CacheStripe[] stripes;
+	private final int stripeMask;
+
+	// =====================================================================================================================
+	// CONSTRUCTOR
+	// =====================================================================================================================
+
+	/**
+	 * Creates a new cache partition.
+	 *
+	 * @param maxWeight
+	 *            The maximum total weight of the cells in this partition. Use zero or a negative value for an unbounded
+	 *            partition.
+	 * @param expectedSize
+	 *            The expected maximum number of cells in this partition. Ignored for unbounded partitions.
+	 * @param stripeCount
+	 *            The number of stripes to create. Must be a power of two.
+	 * @param weigher
+	 *            The weigher which determines the weight of each cell. Must not be <code>null</code>.
+	 */
+	CachePartition(final long maxWeight, final int expectedSize, final int stripeCount, final CacheWeigher weigher) {
+		checkArgument(stripeCount > 0, "Precondition violation - argument 'stripeCount' must be greater than zero!");
+		checkArgument(Integer.bitCount(stripeCount) == 1,
+				"Precondition violation - argument 'stripeCount' must be a power of two!");
+		checkNotNull(weigher, "Precondition violation - argument 'weigher' must not be NULL!");
+		long maxWeightPerStripe = -1;
+		if (maxWeight > 0) {
+			// round up, such that every stripe can hold at least one element
+			maxWeightPerStripe = (maxWeight + stripeCount - 1) / stripeCount;
+		}
+		int expectedSizePerStripe = (expectedSize + stripeCount - 1) / stripeCount;
+		this.stripes = new CacheStripe[stripeCount];
+		for (int i = 0; i < stripeCount; i++) {
+			this.stripes[i] = new CacheStripe(maxWeightPerStripe, expectedSizePerStripe, weigher);
+		}
+		this.stripeMask = stripeCount - 1;
+	}
+
+	// =====================================================================================================================
+	// PUBLIC API
+	// =====================================================================================================================
+
+	public CacheStripe getStripe(final String branch, final QualifiedKey key) {
+		int hash = 31 * branch.hashCode() + key.hashCode();
+		// spread the higher bits, as the stripe mask only considers the lower bits
+		hash ^= (hash >>> 16);
+		return this.stripes[hash & this.stripeMask];
+	}
+
+	public void rollbackToTimestamp(final long timestamp) {
+		for (CacheStripe stripe : this.stripes) {
+			stripe.rollbackToTimestamp(timestamp);
+		}
+	}
+
+	public void clear() {
+		for (CacheStripe stripe : this.stripes) {
+			stripe.clear();
+		}
+	}
+
+	public int size() {
+		return Arrays.stream(this.stripes).mapToInt(CacheStripe::size).sum();
+	}
+
+	public long weightedSize() {
+		return Arrays.stream(this.stripes).mapToLong(CacheStripe::weightedSize).sum();
+	}
+
+	public int computedSize() {
+		return Arrays.stream(this.stripes).mapToInt(CacheStripe::computedSize).sum();
+	}
+
+	public int rowCount() {
+		return Arrays.stream(this.stripes).mapToInt(CacheStripe::rowCount).sum();
+	}
+
+	public int stripeCount() {
+		return this.stripes.length;
+	}
+
+}
@@ -0,0 +1,305 @@
+package org.chronos.chronodb.internal.impl.cache.concurrent;
+
+import static com.google.common.base.Preconditions.*;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.chronos.chronodb.api.key.QualifiedKey;
+import org.chronos.chronodb.internal.api.GetResult;
+import org.chronos.chronodb.internal.api.Period;
+
+/**
+ * A single stripe of a {@link ConcurrentMosaicCache}.
+ *
+ * <p>
+ * Each stripe manages a disjoint subset of the cache rows. Modifications of a stripe are serialized by the stripe
+ * lock, whereas reads do not acquire any lock at all. Cache hits are recorded in a lossy ring buffer which is drained
+ * into the eviction policy whenever the stripe lock is held (or can be acquired without blocking). Under heavy load,
+ * some hits may be dropped from the buffer; this only affects the accuracy of the eviction policy, never the
+ * correctness of the cache contents.
+ *
+ * <p>
+ * Every cell is {@linkplain CacheWeigher weighed} when it is added to the stripe. The weight is computed before the
+ * stripe lock is acquired, because weighing a large value (e.g. by estimating its heap size) may be expensive.
+ *
+ * @author martin.haeusler@uibk.ac.at -- Initial Contribution and API
+ */
+class CacheStripe {
+
+	// =====================================================================================================================
+	// CONSTANTS
+	// =====================================================================================================================
+
+	private static final int READ_BUFFER_SIZE = 64;
+	private static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+	private static final int READ_BUFFER_DRAIN_THRESHOLD = READ_BUFFER_SIZE / 2;
+
+	// =====================================================================================================================
+	// FIELDS
+	// =====================================================================================================================
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private final Map<String, Map<QualifiedKey, ConcurrentMosaicRow>> contents;
+	private final WindowTinyLfuPolicy policy;
+	private final CacheWeigher weigher;
+
+	private final AtomicReferenceArray<CacheCell> readBuffer;
+	private final AtomicInteger readBufferWriteCount;
+
+	private volatile int size;
+	private volatile long weightedSize;
+
+	// =====================================================================================================================
+	// CONSTRUCTOR
+	// =====================================================================================================================
+
+	/**
+	 * Creates a new cache stripe.
+	 *
+	 * @param maxWeight
+	 *            The maximum total weight of the cells in this stripe. Use zero or a negative value for an unbounded
+	 *            stripe.
+	 * @param expectedSize
+	 *            The expected maximum number of cells in this stripe. Ignored for unbounded stripes.
+	 * @param weigher
+	 *            The weigher which determines the weight of each cell. Must not be <code>null</code>.
+	 */
+	CacheStripe(final long maxWeight, final int expectedSize, final CacheWeigher weigher) {
+		checkNotNull(weigher, "Precondition violation - argument 'weigher' must not be NULL!");
+		this.contents = new ConcurrentHashMap<>();
+		this.weigher = weigher;
+		if (maxWeight > 0) {
+			this.policy = new WindowTinyLfuPolicy(maxWeight, Math.max(1, expectedSize), this::onEvicted);
+			this.readBuffer = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+			this.readBufferWriteCount = new AtomicInteger(0);
+		} else {
+			// unbounded stripes don't need to track usages
+			this.policy = null;
+			this.readBuffer = null;
+			this.readBufferWriteCount = null;
+		}
+		this.size = 0;
+		this.weightedSize = 0;
+	}
+
+	// =====================================================================================================================
+	// PUBLIC API
+	// =====================================================================================================================
+
+	public CacheCell get(final String branch, final long timestamp, final QualifiedKey qualifiedKey) {
+		Map<QualifiedKey, ConcurrentMosaicRow> qKeyToRow = this.contents.get(branch);
+		if (qKeyToRow == null) {
+			return null;
+		}
+		ConcurrentMosaicRow row = qKeyToRow.get(qualifiedKey);
+		if (row == null) {
+			return null;
+		}
+		CacheCell cell = row.find(timestamp);
+		if (cell != null && this.policy != null) {
+			this.recordRead(cell);
+		}
+		return cell;
+	}
+
+	public void cache(final String branch, final GetResult<?> queryResult) {
+		long weight = this.weigher.weigh(queryResult);
+		this.lock.lock();
+		try {
+			this.drainReadBuffer();
+			ConcurrentMosaicRow row = this.getOrCreateRow(branch, queryResult.getRequestedKey());
+			CacheCell existingCell = row.get(queryResult);
+			if (existingCell != null) {
+				// we already know this result; treat it like an access
+				if (this.policy != null) {
+					this.policy.onAccess(existingCell);
+				}
+				return;
+			}
+			this.addCell(row, queryResult, weight);
+			this.evictIfRequired();
+		} finally {
+			this.lock.unlock();
+		}
+	}
+
+	public void writeThrough(final String branch, final long timestamp, final QualifiedKey key, final Object value) {
+		GetResult<?> newEntry = GetResult.create(key, value, Period.createOpenEndedRange(timestamp));
+		long weight = this.weigher.weigh(newEntry);
+		this.lock.lock();
+		try {
+			this.drainReadBuffer();
+			ConcurrentMosaicRow row = this.getOrCreateRow(branch, key);
+			// shorten the "valid to" period of the open-ended entry (if present) to the given timestamp
+			CacheCell firstCell = row.first();
+			if (firstCell != null && firstCell.getResult().getPeriod().getUpperBound() > timestamp) {
+				GetResult<?> firstEntry = firstCell.getResult();
+				Period newRange = firstEntry.getPeriod().setUpperBound(timestamp);
+				// note: we must not use the eviction path here, as it would detach the row if it becomes empty
+				row.remove(firstCell);
+				this.discardCell(firstCell);
+				// the value didn't change, so we can keep its weight
+				this.addCell(row, GetResult.create(key, firstEntry.getValue(), newRange), firstCell.getWeight());
+			}
+			// create the new entry
+			this.addCell(row, newEntry, weight);
+			this.evictIfRequired();
+		} finally {
+			this.lock.unlock();
+		}
+	}
+
+	public void rollbackToTimestamp(final long timestamp) {
+		this.lock.lock();
+		try {
+			this.drainReadBuffer();
+			for (Map<QualifiedKey, ConcurrentMosaicRow> qKeyToRow : this.contents.values()) {
+				Iterator<ConcurrentMosaicRow> rowIterator = qKeyToRow.values().iterator();
+				while (rowIterator.hasNext()) {
+					ConcurrentMosaicRow row = rowIterator.next();
+					List<CacheCell> removedCells = row.removeIf(result -> {
+						Period range = result.getPeriod();
+						return range.isAfter(timestamp) || range.contains(timestamp);
+					});
+					for (CacheCell cell : removedCells) {
+						this.discardCell(cell);
+					}
+					if (row.isEmpty()) {
+						rowIterator.remove();
+					}
+				}
+			}
+			// purge empty entries in the outer map
+			this.contents.values().removeIf(Map::isEmpty);
+		} finally {
+			this.lock.unlock();
+		}
+	}
+
+	public void clear() {
+		this.lock.lock();
+		try {
+			this.contents.values().stream().flatMap(qKeyToRow -> qKeyToRow.values().stream())
+					.flatMap(row -> row.getCells().stream()).forEach(cell -> cell.alive = false);
+			this.contents.clear();
+			if (this.policy != null) {
+				this.policy.clear();
+				for (int i = 0; i < READ_BUFFER_SIZE; i++) {
+					this.readBuffer.set(i, null);
+				}
+			}
+			this.size = 0;
+			this.weightedSize = 0;
+		} finally {
+			this.lock.unlock();
+		}
+	}
+
+	public int size() {
+		return this.size;
+	}
+
+	public long weightedSize() {
+		return this.weightedSize;
+	}
+
+	public int rowCount() {
+		return this.contents.values().stream().mapToInt(Map::size).sum();
+	}
+
+	public int computedSize() {
+		return this.contents.values().stream().flatMap(qKeyToRow -> qKeyToRow.values().stream())
+				.mapToInt(ConcurrentMosaicRow::size).sum();
+	}
+
+	// =====================================================================================================================
+	// INTERNAL HELPER METHODS
+	// =====================================================================================================================
+
+	private void recordRead(final CacheCell cell) {
+		int index = this.readBufferWriteCount.getAndIncrement();
+		this.readBuffer.lazySet(index & READ_BUFFER_MASK, cell);
+		if ((index & (READ_BUFFER_DRAIN_THRESHOLD - 1)) == 0 && this.lock.tryLock()) {
+			// we never block readers; if somebody else holds the lock, the buffer
+			// will be drained by the next modification anyways.
+			try {
+				this.drainReadBuffer();
+			} finally {
+				this.lock.unlock();
+			}
+		}
+	}
+
+	private void drainReadBuffer() {
+		checkState(this.lock.isHeldByCurrentThread(), "Stripe lock must be held to drain the read buffer!");
+		if (this.policy == null) {
+			return;
+		}
+		for (int i = 0; i < READ_BUFFER_SIZE; i++) {
+			CacheCell cell = this.readBuffer.getAndSet(i, null);
+			if (cell != null && cell.alive) {
+				this.policy.onAccess(cell);
+			}
+		}
+	}
+
+	private ConcurrentMosaicRow getOrCreateRow(final String branch, final QualifiedKey key) {
+		Map<QualifiedKey, ConcurrentMosaicRow> qKeyToRow = this.contents.computeIfAbsent(branch,
+				b -> new ConcurrentHashMap<>());
+		return qKeyToRow.computeIfAbsent(key, k -> new ConcurrentMosaicRow(branch, k));
+	}
+
+	private void addCell(final ConcurrentMosaicRow row, final GetResult<?> result, final long weight) {
+		CacheCell cell = row.add(result, weight);
+		if (cell == null) {
+			// already contained
+			return;
+		}
+		this.size++;
+		this.weightedSize += weight;
+		if (this.policy != null) {
+			this.policy.onAdd(cell);
+		}
+	}
+
+	private void evictIfRequired() {
+		if (this.policy != null) {
+			this.policy.evictIfRequired();
+		}
+	}
+
+	private void onEvicted(final CacheCell cell) {
+		ConcurrentMosaicRow row = cell.getRow();
+		if (row.remove(cell)) {
+			this.discardCell(cell);
+		}
+		if (row.isEmpty()) {
+			Map<QualifiedKey, ConcurrentMosaicRow> qKeyToRow = this.contents.get(row.getBranch());
+			if (qKeyToRow != null) {
+				// remove the cache row
+				qKeyToRow.remove(row.getRowKey(), row);
+				// it might be that the entire branch now has no more rows...
+				if (qKeyToRow.isEmpty()) {
+					this.contents.remove(row.getBranch(), qKeyToRow);
+				}
+			}
+		}
+	}
+
+	private void discardCell(final CacheCell cell) {
+		cell.alive = false;
+		if (this.policy != null) {
+			this.policy.onRemove(cell);
+		}
+		this.size--;
+		this.weightedSize -= cell.getWeight();
+	}
+
+}
@@ -0,0 +1,29 @@
+package org.chronos.chronodb.internal.impl.cache.concurrent;
+
+import org.chronos.chronodb.internal.api.GetResult;
+
+/**
+ * Determines the weight of a {@link GetResult} in a {@link ConcurrentMosaicCache}.
+ *
+ * <p>
+ * The weight of a result is computed exactly once, when the result is added to the cache. Implementations must
+ * therefore only consider immutable properties of the result, and must always return a value greater than zero.
+ *
+ * @author martin.haeusler@uibk.ac.at -- Initial Contribution and API
+ */
+@FunctionalInterface
+interface CacheWeigher {
+
+	/** A weigher which assigns a weight of 1 to every result, i.e. the cache is bounded by its number of entries. */
+	public static final CacheWeigher UNIT = result -> 1;
+
+	/**
+	 * Computes the weight of the given result.
+	 *
+	 * @param result
+	 *            The result to weigh. Must not be <code>null</code>.
+	 * @return The weight of the result. Always greater than zero.
+	 */
+	public long weigh(GetResult<?> result);
+
+}
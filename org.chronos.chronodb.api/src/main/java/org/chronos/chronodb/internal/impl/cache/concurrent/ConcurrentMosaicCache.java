@@ -0,0 +1,338 @@
+package org.chronos.chronodb.internal.impl.cache.concurrent;
+
+import static com.google.common.base.Preconditions.*;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.chronos.chronodb.api.key.QualifiedKey;
+import org.chronos.chronodb.internal.api.GetResult;
+import org.chronos.chronodb.internal.api.cache.CacheGetResult;
+import org.chronos.chronodb.internal.api.cache.ChronoDBCache;
+import org.chronos.chronodb.internal.impl.cache.CacheStatisticsImpl;
+import org.chronos.chronodb.internal.impl.cache.mosaic.MosaicCache;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * A {@link ChronoDBCache} which is optimized for highly concurrent, read-heavy workloads.
+ *
+ * <p>
+ * This cache uses the same data model as the {@link MosaicCache} (one row of validity periods per qualified key), but
+ * does not rely on a single global lock. Instead, the rows are distributed across a fixed number of
+ * {@linkplain CacheStripe stripes} based on the hash of their branch and key. Modifications only lock the affected
+ * stripe, and reads (i.e. {@link #get(String, long, QualifiedKey)}) do not acquire any lock at all.
+ *
+ * <p>
+ * If a maximum size is given, each stripe enforces its share of the maximum size individually with a
+ * {@linkplain WindowTinyLfuPolicy W-TinyLFU} eviction policy. The overall maximum size is therefore approximate: the
+ * cache will never contain more than {@link #maxSize()} elements (rounded up to a multiple of the stripe count), but
+ * may start evicting before it is entirely full if the keys are not evenly distributed across the stripes.
+ *
+ * <p>
+ * Alternatively, the cache can be bounded by a <b>memory budget</b> (see {@link #createWithMemoryBudget(long, Map)}).
+ * In this mode, every entry is weighed by the estimated number of bytes its value occupies on the heap, and the
+ * eviction policy keeps the total weight within the budget. Parts of the budget may be reserved for individual
+ * keyspaces: each of these keyspaces is managed in a separate partition with its own stripes and eviction policy, such
+ * that large values in one keyspace can never evict the entries of another keyspace. All keyspaces without a reserved
+ * budget share the remainder. Note that an entry which is larger than the budget of its stripe will never be cached.
+ *
+ * @author martin.haeusler@uibk.ac.at -- Initial Contribution and API
+ */
+public class ConcurrentMosaicCache implements ChronoDBCache {
+
+	// =====================================================================================================================
+	// CONSTANTS
+	// =====================================================================================================================
+
+	/** The maximum number of stripes to create by default. */
+	private static final int MAX_STRIPE_COUNT = 64;
+
+	/** The minimum number of elements per stripe when the stripe count is determined automatically. */
+	private static final int MIN_ELEMENTS_PER_STRIPE = 64;
+
+	/** The minimum number of bytes per stripe when the stripe count is determined automatically. */
+	private static final long MIN_BYTES_PER_STRIPE = 4 * 1024 * 1024;
+
+	/** The assumed average weight of an entry, used to estimate the number of entries in a memory budget. */
+	private static final long ESTIMATED_AVERAGE_ENTRY_BYTES = 1024;
+
+	// =====================================================================================================================
+	// FIELDS
+	// =====================================================================================================================
+
+	private final CachePartition defaultPartition;
+	private final Map<String, CachePartition> keyspacePartitions;
+	private final CacheStatisticsImpl statistics;
+
+	private final int maxSize;
+	private final long maxSizeInBytes;
+
+	// =====================================================================================================================
+	// CONSTRUCTOR
+	// =====================================================================================================================
+
+	public ConcurrentMosaicCache() {
+		this(-1);
+	}
+
+	public ConcurrentMosaicCache(final int maxSize) {
+		this(maxSize, getDefaultStripeCount(maxSize));
+	}
+
+	public ConcurrentMosaicCache(final int maxSize, final int stripeCount) {
+		this(new CachePartition(maxSize, maxSize, stripeCount, CacheWeigher.UNIT), Collections.emptyMap(), maxSize, -1);
+	}
+
+	private ConcurrentMosaicCache(final CachePartition defaultPartition,
+			final Map<String, CachePartition> keyspacePartitions, final int maxSize, final long maxSizeInBytes) {
+		checkNotNull(defaultPartition, "Precondition violation - argument 'defaultPartition' must not be NULL!");
+		checkNotNull(keyspacePartitions, "Precondition violation - argument 'keyspacePartitions' must not be NULL!");
+		this.defaultPartition = defaultPartition;
+		this.keyspacePartitions = keyspacePartitions;
+		this.maxSize = maxSize;
+		this.maxSizeInBytes = maxSizeInBytes;
+		this.statistics = new CacheStatisticsImpl();
+	}
+
+	/**
+	 * Creates a new cache which is bounded by the estimated heap size of its entries.
+	 *
+	 * @param maxSizeInBytes
+	 *            The maximum total size of all cache entries, in bytes. Must be greater than zero.
+	 * @return The new cache. Never <code>null</code>.
+	 */
+	public static ConcurrentMosaicCache createWithMemoryBudget(final long maxSizeInBytes) {
+		return createWithMemoryBudget(maxSizeInBytes, Collections.emptyMap());
+	}
+
+	/**
+	 * Creates a new cache which is bounded by the estimated heap size of its entries.
+	 *
+	 * @param maxSizeInBytes
+	 *            The maximum total size of all cache entries, in bytes. Must be greater than zero.
+	 * @param keyspaceBudgets
+	 *            The budgets (in bytes) to reserve for individual keyspaces. The budgets are taken from the total
+	 *            <code>maxSizeInBytes</code>, and their sum must be strictly smaller than <code>maxSizeInBytes</code>.
+	 *            Keyspaces which do not occur in this map share the remaining budget. May be empty, must not be
+	 *            <code>null</code>.
+	 * @return The new cache. Never <code>null</code>.
+	 */
+	public static ConcurrentMosaicCache createWithMemoryBudget(final long maxSizeInBytes,
+			final Map<String, Long> keyspaceBudgets) {
+		return createWithMemoryBudget(maxSizeInBytes, keyspaceBudgets, -1);
+	}
+
+	/**
+	 * Creates a new cache which is bounded by the estimated heap size of its entries.
+	 *
+	 * @param maxSizeInBytes
+	 *            The maximum total size of all cache entries, in bytes. Must be greater than zero.
+	 * @param keyspaceBudgets
+	 *            The budgets (in bytes) to reserve for individual keyspaces. The budgets are taken from the total
+	 *            <code>maxSizeInBytes</code>, and their sum must be strictly smaller than <code>maxSizeInBytes</code>.
+	 *            Keyspaces which do not occur in this map share the remaining budget. May be empty, must not be
+	 *            <code>null</code>.
+	 * @param stripeCount
+	 *            The number of stripes per partition. Must be a power of two. Use a negative value to determine the
+	 *            stripe count of each partition automatically.
+	 * @return The new cache. Never <code>null</code>.
+	 */
+	public static ConcurrentMosaicCache createWithMemoryBudget(final long maxSizeInBytes,
+			final Map<String, Long> keyspaceBudgets, final int stripeCount) {
+		checkArgument(maxSizeInBytes > 0,
+				"Precondition violation - argument 'maxSizeInBytes' must be greater than zero!");
+		checkNotNull(keyspaceBudgets, "Precondition violation - argument 'keyspaceBudgets' must not be NULL!");
+		CacheWeigher weigher = new ObjectSizeWeigher();
+		long remainingBytes = maxSizeInBytes;
+		ImmutableMap.Builder<String, CachePartition> keyspacePartitions = ImmutableMap.builder();
+		for (Entry<String, Long> entry : keyspaceBudgets.entrySet()) {
+			String keyspace = entry.getKey();
+			long budget = entry.getValue();
+			checkArgument(budget > 0, "Precondition violation - the budget for keyspace '" + keyspace
+					+ "' must be greater than zero (is: " + budget + ")!");
+			keyspacePartitions.put(keyspace, createMemoryBoundedPartition(budget, stripeCount, weigher));
+			remainingBytes -= budget;
+		}
+		checkArgument(remainingBytes > 0, "Precondition violation - the sum of all keyspace budgets must be less than "
+				+ "'maxSizeInBytes' (" + maxSizeInBytes + "), otherwise there is no budget left for other keyspaces!");
+		CachePartition defaultPartition = createMemoryBoundedPartition(remainingBytes, stripeCount, weigher);
+		return new ConcurrentMosaicCache(defaultPartition, keyspacePartitions.build(), -1, maxSizeInBytes);
+	}
+
+	// =====================================================================================================================
+	// PUBLIC API
+	// =====================================================================================================================
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> CacheGetResult<T> get(final String branch, final long timestamp, final QualifiedKey qualifiedKey) {
+		checkNotNull(branch, "Precondition violation - argument 'branch' must not be NULL!");
+		checkArgument(timestamp >= 0, "Precondition violation - argument 'timestamp' must not be negative!");
+		checkNotNull(qualifiedKey, "Precondition violation - argument 'qualifiedKey' must not be NULL!");
+		CacheCell cell = this.getPartition(qualifiedKey).getStripe(branch, qualifiedKey).get(branch, timestamp, qualifiedKey);
+		if (cell == null) {
+			this.statistics.registerMiss();
+			return CacheGetResult.miss();
+		}
+		GetResult<?> result = cell.getResult();
+		this.statistics.registerHit();
+		return CacheGetResult.hit((T) result.getValue(), result.getPeriod().getLowerBound());
+	}
+
+	@Override
+	public void cache(final String branch, final GetResult<?> queryResult) {
+		checkNotNull(branch, "Precondition violation - argument 'branch' must not be NULL!");
+		checkNotNull(queryResult, "Precondition violation - argument 'queryResult' must not be NULL!");
+		if (queryResult.getPeriod().isEmpty()) {
+			// can't cache empty validity ranges
+			return;
+		}
+		QualifiedKey qualifiedKey = queryResult.getRequestedKey();
+		this.getPartition(qualifiedKey).getStripe(branch, qualifiedKey).cache(branch, queryResult);
+	}
+
+	@Override
+	public void writeThrough(final String branch, final long timestamp, final QualifiedKey key, final Object value) {
+		checkNotNull(branch, "Precondition violation - argument 'branch' must not be NULL!");
+		checkArgument(timestamp >= 0, "Precondition violation - argument 'timestamp' must not be negative!");
+		checkNotNull(key, "Precondition violation - argument 'key' must not be NULL!");
+		this.getPartition(key).getStripe(branch, key).writeThrough(branch, timestamp, key, value);
+	}
+
+	@Override
+	public void rollbackToTimestamp(final long timestamp) {
+		checkArgument(timestamp >= 0, "Precondition violation - argument 'timestamp' must not be negative!");
+		this.defaultPartition.rollbackToTimestamp(timestamp);
+		for (CachePartition partition : this.keyspacePartitions.values()) {
+			partition.rollbackToTimestamp(timestamp);
+		}
+	}
+
+	@Override
+	public void clear() {
+		this.defaultPartition.clear();
+		for (CachePartition partition : this.keyspacePartitions.values()) {
+			partition.clear();
+		}
+	}
+
+	@Override
+	public CacheStatistics getStatistics() {
+		return this.statistics.duplicate();
+	}
+
+	@Override
+	public void resetStatistics() {
+		this.statistics.reset();
+	}
+
+	@Override
+	public int size() {
+		return this.defaultPartition.size()
+				+ this.keyspacePartitions.values().stream().mapToInt(CachePartition::size).sum();
+	}
+
+	/**
+	 * Returns the total weight of all entries in this cache.
+	 *
+	 * <p>
+	 * If this cache is bounded by a {@linkplain #createWithMemoryBudget(long, Map) memory budget}, this is the
+	 * estimated heap size of all cached entries, in bytes. Otherwise, every entry has a weight of 1, and this method
+	 * returns the same value as {@link #size()}.
+	 *
+	 * @return The total weight of all entries.
+	 */
+	public long weightedSize() {
+		return this.defaultPartition.weightedSize()
+				+ this.keyspacePartitions.values().stream().mapToLong(CachePartition::weightedSize).sum();
+	}
+
+	/**
+	 * Returns the total weight of all entries in the given keyspace.
+	 *
+	 * <p>
+	 * This method is only supported for keyspaces which have their own budget.
+	 *
+	 * @param keyspace
+	 *            The keyspace to get the weight for. Must not be <code>null</code>.
+	 * @return The total weight of all entries in the given keyspace.
+	 */
+	public long weightedSize(final String keyspace) {
+		checkNotNull(keyspace, "Precondition violation - argument 'keyspace' must not be NULL!");
+		CachePartition partition = this.keyspacePartitions.get(keyspace);
+		checkArgument(partition != null, "Precondition violation - there is no budget for keyspace '" + keyspace + "'!");
+		return partition.weightedSize();
+	}
+
+	@VisibleForTesting
+	public int computedSize() {
+		return this.defaultPartition.computedSize()
+				+ this.keyspacePartitions.values().stream().mapToInt(CachePartition::computedSize).sum();
+	}
+
+	@VisibleForTesting
+	public int maxSize() {
+		return this.maxSize;
+	}
+
+	@VisibleForTesting
+	public long maxSizeInBytes() {
+		return this.maxSizeInBytes;
+	}
+
+	@VisibleForTesting
+	public int rowCount() {
+		return this.defaultPartition.rowCount()
+				+ this.keyspacePartitions.values().stream().mapToInt(CachePartition::rowCount).sum();
+	}
+
+	@VisibleForTesting
+	public int stripeCount() {
+		return this.defaultPartition.stripeCount();
+	}
+
+	// =====================================================================================================================
+	// INTERNAL HELPER METHODS
+	// =====================================================================================================================
+
+	private CachePartition getPartition(final QualifiedKey key) {
+		if (this.keyspacePartitions.isEmpty()) {
+			return this.defaultPartition;
+		}
+		CachePartition partition = this.keyspacePartitions.get(key.getKeyspace());
+		if (partition == null) {
+			return this.defaultPartition;
+		}
+		return partition;
+	}
+
+	private static CachePartition createMemoryBoundedPartition(final long maxSizeInBytes, final int stripeCount,
+			final CacheWeigher weigher) {
+		int stripes = stripeCount;
+		if (stripes <= 0) {
+			stripes = getDefaultStripeCount(maxSizeInBytes, MIN_BYTES_PER_STRIPE);
+		}
+		long expectedSize = Math.max(1, maxSizeInBytes / ESTIMATED_AVERAGE_ENTRY_BYTES);
+		return new CachePartition(maxSizeInBytes, (int) Math.min(expectedSize, Integer.MAX_VALUE), stripes, weigher);
+	}
+
+	private static int getDefaultStripeCount(final int maxSize) {
+		return getDefaultStripeCount(maxSize, MIN_ELEMENTS_PER_STRIPE);
+	}
+
+	private static int getDefaultStripeCount(final long maxWeight, final long minWeightPerStripe) {
+		int stripeCount = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4);
+		stripeCount = Math.min(stripeCount, MAX_STRIPE_COUNT);
+		if (maxWeight > 0) {
+			// don't create tiny stripes for small caches, the eviction policy would become too inaccurate
+			while (stripeCount > 1 && maxWeight / stripeCount < minWeightPerStripe) {
+				stripeCount = stripeCount >> 1;
+			}
+		}
+		return stripeCount;
+	}
+
+}
@@ -0,0 +1,234 @@
+package org.chronos.chronodb.internal.impl.cache.concurrent;
+
+import static com.google.common.base.Preconditions.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.chronos.chronodb.api.key.QualifiedKey;
+import org.chronos.chronodb.internal.api.GetResult;
+import org.chronos.chronodb.internal.impl.cache.mosaic.GetResultComparator;
+
+import com.google.common.collect.Lists;
+
+/**
+ * The concurrent counterpart of the {@link org.chronos.chronodb.internal.impl.cache.mosaic.MosaicRow MosaicRow}.
+ *
+ * <p>
+ * The cells of a row are stored in an immutable array (ordered by {@link GetResultComparator}, i.e. latest period
+ * first) which is replaced on every modification (copy-on-write). This allows {@link #find(long)} to be executed
+ * without any locking. All modifying methods must only be called while holding the lock of the owning
+ * {@link CacheStripe}.
+ *
+ * @author martin.haeusler@uibk.ac.at -- Initial Contribution and API
+ */
+class ConcurrentMosaicRow {
+
+	private static final CacheCell[] NO_CELLS = new CacheCell[0];
+
+	// =====================================================================================================================
+	// FIELDS
+	// =====================================================================================================================
+
+	private final String branch;
+	private final QualifiedKey rowKey;
+	private final int keyHash;
+
+	private volatile CacheCell[] cells;
+
+	// =====================================================================================================================
+	// CONSTRUCTOR
+	// =====================================================================================================================
+
+	ConcurrentMosaicRow(final String branch, final QualifiedKey rowKey) {
+		checkNotNull(branch, "Precondition violation - argument 'branch' must not be NULL!");
+		checkNotNull(rowKey, "Precondition violation - argument 'rowKey' must not be NULL!");
+		this.branch = branch;
+		this.rowKey = rowKey;
+		this.keyHash = 31 * branch.hashCode() + rowKey.hashCode();
+		this.cells = NO_CELLS;
+	}
+
+	// =====================================================================================================================
+	// READ ACCESS (LOCK-FREE)
+	// =====================================================================================================================
+
+	public String getBranch() {
+		return this.branch;
+	}
+
+	public QualifiedKey getRowKey() {
+		return this.rowKey;
+	}
+
+	public int getKeyHash() {
+		return this.keyHash;
+	}
+
+	/**
+	 * Returns the cell which is valid at the given timestamp.
+	 *
+	 * @param timestamp
+	 *            The timestamp to search for. Must not be negative.
+	 * @return The cell with a validity period containing the given timestamp, or <code>null</code> if there is none.
+	 */
+	public CacheCell find(final long timestamp) {
+		for (CacheCell cell : this.cells) {
+			if (cell.getResult().getPeriod().contains(timestamp)) {
+				return cell;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the cell with the latest validity period in this row.
+	 *
+	 * @return The first cell, or <code>null</code> if this row is empty.
+	 */
+	public CacheCell first() {
+		CacheCell[] currentCells = this.cells;
+		if (currentCells.length <= 0) {
+			return null;
+		}
+		return currentCells[0];
+	}
+
+	public boolean isEmpty() {
+		return this.cells.length <= 0;
+	}
+
+	public int size() {
+		return this.cells.length;
+	}
+
+	/**
+	 * Returns the current contents of this row.
+	 *
+	 * <p>
+	 * This method is intended for testing purposes only.
+	 *
+	 * @return The cells of this row. Never <code>null</code>.
+	 */
+	public List<CacheCell> getCells() {
+		return Collections.unmodifiableList(Lists.newArrayList(this.cells));
+	}
+
+	// =====================================================================================================================
+	// WRITE ACCESS (REQUIRES STRIPE LOCK)
+	// =====================================================================================================================
+
+	/**
+	 * Returns the cell which holds a result equal to the given one (according to {@link GetResultComparator}).
+	 *
+	 * @param result
+	 *            The result to search for. Must not be <code>null</code>.
+	 * @return The cell, or <code>null</code> if there is none.
+	 */
+	public CacheCell get(final GetResult<?> result) {
+		CacheCell[] currentCells = this.cells;
+		int index = indexOf(currentCells, result);
+		if (index < 0) {
+			return null;
+		}
+		return currentCells[index];
+	}
+
+	/**
+	 * Adds the given result to this row.
+	 *
+	 * @param result
+	 *            The result to add. Must not be <code>null</code>.
+	 * @param weight
+	 *            The weight of the result, as determined by the weigher of the owning stripe. Must be greater than zero.
+	 * @return The newly created cell, or <code>null</code> if an equal result was already present.
+	 */
+	public CacheCell add(final GetResult<?> result, final long weight) {
+		checkNotNull(result, "Precondition violation - argument 'result' must not be NULL!");
+		CacheCell[] currentCells = this.cells;
+		int index = indexOf(currentCells, result);
+		if (index >= 0) {
+			// already contained
+			return null;
+		}
+		int insertionPoint = -(index + 1);
+		CacheCell cell = new CacheCell(this, result, weight);
+		CacheCell[] newCells = new CacheCell[currentCells.length + 1];
+		System.arraycopy(currentCells, 0, newCells, 0, insertionPoint);
+		newCells[insertionPoint] = cell;
+		System.arraycopy(currentCells, insertionPoint, newCells, insertionPoint + 1,
+				currentCells.length - insertionPoint);
+		this.cells = newCells;
+		return cell;
+	}
+
+	/**
+	 * Removes the given cell from this row.
+	 *
+	 * @param cell
+	 *            The cell to remove. Must not be <code>null</code>.
+	 * @return <code>true</code> if the cell was removed, <code>false</code> if it was not contained in this row.
+	 */
+	public boolean remove(final CacheCell cell) {
+		checkNotNull(cell, "Precondition violation - argument 'cell' must not be NULL!");
+		CacheCell[] currentCells = this.cells;
+		for (int i = 0; i < currentCells.length; i++) {
+			if (currentCells[i] == cell) {
+				CacheCell[] newCells = new CacheCell[currentCells.length - 1];
+				System.arraycopy(currentCells, 0, newCells, 0, i);
+				System.arraycopy(currentCells, i + 1, newCells, i, currentCells.length - i - 1);
+				this.cells = newCells;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Removes all cells with a result that matches the given predicate.
+	 *
+	 * @param predicate
+	 *            The predicate to test the results with. Must not be <code>null</code>.
+	 * @return The list of removed cells. May be empty, but never <code>null</code>.
+	 */
+	public List<CacheCell> removeIf(final Predicate<GetResult<?>> predicate) {
+		checkNotNull(predicate, "Precondition violation - argument 'predicate' must not be NULL!");
+		List<CacheCell> retained = Lists.newArrayList();
+		List<CacheCell> removed = Lists.newArrayList();
+		for (CacheCell cell : this.cells) {
+			if (predicate.test(cell.getResult())) {
+				removed.add(cell);
+			} else {
+				retained.add(cell);
+			}
+		}
+		if (removed.isEmpty() == false) {
+			this.cells = retained.toArray(NO_CELLS);
+		}
+		return removed;
+	}
+
+	// =====================================================================================================================
+	// INTERNAL HELPER METHODS
+	// =====================================================================================================================
+
+	private static int indexOf(final CacheCell[] cells, final GetResult<?> result) {
+		GetResultComparator comparator = GetResultComparator.getInstance();
+		int low = 0;
+		int high = cells.length - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int compare = comparator.compare(cells[mid].getResult(), result);
+			if (compare < 0) {
+				low = mid + 1;
+			} else if (compare > 0) {
+				high = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -(low + 1);
+	}
+
+}
@@ -0,0 +1,128 @@
+package org.chronos.chronodb.internal.impl.cache.concurrent;
+
+/**
+ * A probabilistic estimator for the access frequency of cache cells, based on a Count-Min Sketch with 4-bit counters.
+ *
+ * <p>
+ * Every long in the table holds sixteen 4-bit counters. Each hash is mapped to four counters (one per hash function),
+ * and its frequency estimate is the minimum of these counters. Once the number of recorded accesses reaches the sample
+ * size, all counters are halved, such that the sketch "forgets" old accesses over time (aging).
+ *
+ * <p>
+ * This class is <b>not</b> thread-safe. It is only accessed while holding the lock of the owning {@link CacheStripe}.
+ *
+ * @author martin.haeusler@uibk.ac.at -- Initial Contribution and API
+ */
+class FrequencySketch {
+
+	// =====================================================================================================================
+	// CONSTANTS
+	// =====================================================================================================================
+
+	private static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL,
+			0xcbf29ce484222325L };
+
+	private static final long RESET_MASK = 0x7777777777777777L;
+	private static final long ONE_MASK = 0x1111111111111111L;
+
+	private static final int MAX_COUNT = 15;
+
+	// =====================================================================================================================
+	// FIELDS
+	// =====================================================================================================================
+
+	private final long[] table;
+	private final int tableMask;
+	private final int sampleSize;
+	private int additions;
+
+	// =====================================================================================================================
+	// CONSTRUCTOR
+	// =====================================================================================================================
+
+	public FrequencySketch(final int maximumSize) {
+		int size = Math.max(maximumSize, 1);
+		int tableSize = Integer.highestOneBit(size);
+		if (tableSize < size) {
+			tableSize = tableSize << 1;
+		}
+		this.table = new long[tableSize];
+		this.tableMask = tableSize - 1;
+		this.sampleSize = 10 * size;
+		this.additions = 0;
+	}
+
+	// =====================================================================================================================
+	// PUBLIC API
+	// =====================================================================================================================
+
+	public int frequency(final int hash) {
+		int spreadHash = spread(hash);
+		int start = (spreadHash & 3) << 2;
+		int frequency = MAX_COUNT;
+		for (int i = 0; i < 4; i++) {
+			int index = this.indexOf(spreadHash, i);
+			int count = (int) ((this.table[index] >>> ((start + i) << 2)) & 0xfL);
+			frequency = Math.min(frequency, count);
+		}
+		return frequency;
+	}
+
+	public void increment(final int hash) {
+		int spreadHash = spread(hash);
+		int start = (spreadHash & 3) << 2;
+		boolean added = false;
+		for (int i = 0; i < 4; i++) {
+			int index = this.indexOf(spreadHash, i);
+			added |= this.incrementAt(index, start + i);
+		}
+		if (added && ++this.additions >= this.sampleSize) {
+			this.reset();
+		}
+	}
+
+	public void clear() {
+		for (int i = 0; i < this.table.length; i++) {
+			this.table[i] = 0L;
+		}
+		this.additions = 0;
+	}
+
+	// =====================================================================================================================
+	// INTERNAL HELPER METHODS
+	// =====================================================================================================================
+
+	private boolean incrementAt(final int index, final int counter) {
+		int offset = counter << 2;
+		long mask = 0xfL << offset;
+		if ((this.table[index] & mask) != mask) {
+			this.table[index] += 1L << offset;
+			return true;
+		}
+		// counter is saturated
+		return false;
+	}
+
+	private void reset() {
+		int oddCounters = 0;
+		for (int i = 0; i < this.table.length; i++) {
+			oddCounters += Long.bitCount(this.table[i] & ONE_MASK);
+			this.table[i] = (this.table[i] >>> 1) & RESET_MASK;
+		}
+		// halving truncates odd counters; compensate for that in the number of additions
+		this.additions = (this.additions >>> 1) - (oddCounters >>> 2);
+	}
+
+	private int indexOf(final int hash, final int depth) {
+		long value = (hash + SEEDS[depth]) * SEEDS[depth];
+		value += value >>> 32;
+		return ((int) value) & this.tableMask;
+	}
+
+	private static int spread(final int hash) {
+		int value = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+		value = ((value >>> 16) ^ value) * 0x45d9f3b;
+		return (value >>> 16) ^ value;
+	}
+
+}
@@ -0,0 +1,59 @@
+package org.chronos.chronodb.internal.impl.cache.concurrent;
+
+import static com.google.common.base.Preconditions.*;
+
+import org.chronos.chronodb.internal.api.GetResult;
+import org.chronos.common.logging.ChronoLogger;
+import org.chronos.common.util.ObjectSizeCalculator;
+
+/**
+ * A {@link CacheWeigher} which weighs each result by the estimated number of bytes it occupies on the heap.
+ *
+ * <p>
+ * The size of the cached value (including all objects reachable from it) is estimated by the
+ * {@link ObjectSizeCalculator}. A constant overhead is added to account for the cache cell, the result and its period.
+ * If the memory layout of the current JVM cannot be determined, every result is weighed with a fixed fallback weight
+ * instead.
+ *
+ * @author martin.haeusler@uibk.ac.at -- Initial Contribution and API
+ */
+class ObjectSizeWeigher implements CacheWeigher {
+
+	// =====================================================================================================================
+	// CONSTANTS
+	// =====================================================================================================================
+
+	/** The estimated heap size (in bytes) of a cache cell, its get result and its period, excluding the value. */
+	static final long ENTRY_OVERHEAD_BYTES = 128;
+
+	/** The weight (in bytes) to assume for every result if the size of values cannot be estimated. */
+	static final long FALLBACK_WEIGHT_BYTES = 1024;
+
+	// =====================================================================================================================
+	// FIELDS
+	// =====================================================================================================================
+
+	private volatile boolean sizeCalculationSupported = true;
+
+	// =====================================================================================================================
+	// PUBLIC API
+	// =====================================================================================================================
+
+	@Override
+	public long weigh(final GetResult<?> result) {
+		checkNotNull(result, "Precondition violation - argument 'result' must not be NULL!");
+		if (this.sizeCalculationSupported == false) {
+			return FALLBACK_WEIGHT_BYTES;
+		}
+		try {
+			return ENTRY_OVERHEAD_BYTES + ObjectSizeCalculator.getObjectSize(result.getValue());
+		} catch (UnsupportedOperationException e) {
+			this.sizeCalculationSupported = false;
+			ChronoLogger.logWarning("Unable to estimate the heap size of cached values on this JVM ("
+					+ e.getMessage() + "). The cache will assume a size of " + FALLBACK_WEIGHT_BYTES
+					+ " bytes per entry.");
+			return FALLBACK_WEIGHT_BYTES;
+		}
+	}
+
+}
@@ -0,0 +1,208 @@
+package org.chronos.chronodb.internal.impl.cache.concurrent;
+
+import static com.google.common.base.Preconditions.*;
+
+import java.util.function.Consumer;
+
+/**
+ * A weight-bounded eviction policy in the style of W-TinyLFU.
+ *
+ * <p>
+ * Every cell carries a {@linkplain CacheCell#getWeight() weight}. If all cells have a weight of 1, the maximum weight
+ * is simply the maximum number of cells. The policy divides the available weight into three segments:
+ * <ul>
+ * <li>The <b>window</b> (1% of the weight) receives all newly added cells. It is managed in LRU order and allows
+ * bursts of new entries to be cached, even if they have not been accessed before.
+ * <li>The <b>probation</b> segment receives the cells which leave the window. A cell which leaves the window is only
+ * admitted into the probation segment if its estimated access frequency is higher than the one of the least recently
+ * used probation cells which have to make room for it. Otherwise, the cell leaving the window is evicted.
+ * <li>The <b>protected</b> segment (80% of the weight outside of the window) contains the cells which have been
+ * accessed while being in the probation segment. If the protected segment overflows, its least recently used cells
+ * are demoted back into the probation segment.
+ * </ul>
+ *
+ * <p>
+ * Cells which are heavier than the entire main space (probation and protected) are never admitted.
+ *
+ * <p>
+ * The access frequencies are estimated by a {@link FrequencySketch}.
+ *
+ * <p>
+ * This class is <b>not</b> thread-safe. It is only accessed while holding the lock of the owning {@link CacheStripe}.
+ *
+ * @author martin.haeusler@uibk.ac.at -- Initial Contribution and API
+ */
+class WindowTinyLfuPolicy {
+
+	// =====================================================================================================================
+	// FIELDS
+	// =====================================================================================================================
+
+	private final long maxWeight;
+	private final long maxWindowWeight;
+	private final long maxMainWeight;
+	private final long maxProtectedWeight;
+
+	private final AccessQueue window;
+	private final AccessQueue probation;
+	private final AccessQueue protectedQueue;
+
+	private final FrequencySketch sketch;
+
+	private final Consumer<CacheCell> evictionListener;
+
+	// =====================================================================================================================
+	// CONSTRUCTOR
+	// =====================================================================================================================
+
+	/**
+	 * Creates a new policy.
+	 *
+	 * @param maxWeight
+	 *            The maximum total weight of all cells. Must be greater than zero.
+	 * @param expectedSize
+	 *            The expected maximum number of cells, used to dimension the frequency sketch. Must be greater than
+	 *            zero.
+	 * @param evictionListener
+	 *            The listener which is notified about every evicted cell. Must not be <code>null</code>.
+	 */
+	public WindowTinyLfuPolicy(final long maxWeight, final int expectedSize,
+			final Consumer<CacheCell> evictionListener) {
+		checkArgument(maxWeight > 0, "Precondition violation - argument 'maxWeight' must be greater than zero!");
+		checkArgument(expectedSize > 0, "Precondition violation - argument 'expectedSize' must be greater than zero!");
+		checkNotNull(evictionListener, "Precondition violation - argument 'evictionListener' must not be NULL!");
+		this.maxWeight = maxWeight;
+		this.maxWindowWeight = Math.max(1, maxWeight / 100);
+		this.maxMainWeight = maxWeight - this.maxWindowWeight;
+		this.maxProtectedWeight = this.maxMainWeight * 80 / 100;
+		this.window = new AccessQueue();
+		this.probation = new AccessQueue();
+		this.protectedQueue = new AccessQueue();
+		this.sketch = new FrequencySketch(expectedSize);
+		this.evictionListener = evictionListener;
+	}
+
+	// =====================================================================================================================
+	// PUBLIC API
+	// =====================================================================================================================
+
+	/**
+	 * Registers a newly added cell with this policy.
+	 *
+	 * <p>
+	 * This method does not evict anything; call {@link #evictIfRequired()} once all modifications are complete.
+	 *
+	 * @param cell
+	 *            The new cell. Must not be <code>null</code>.
+	 */
+	public void onAdd(final CacheCell cell) {
+		this.sketch.increment(cell.getHash());
+		this.window.addLast(cell);
+	}
+
+	/**
+	 * Registers an access (i.e. a cache hit) on the given cell.
+	 *
+	 * @param cell
+	 *            The accessed cell. Must not be <code>null</code>.
+	 */
+	public void onAccess(final CacheCell cell) {
+		this.sketch.increment(cell.getHash());
+		if (cell.queue == this.window) {
+			this.window.moveToBack(cell);
+		} else if (cell.queue == this.probation) {
+			// the cell has proven its worth, promote it
+			this.probation.remove(cell);
+			this.protectedQueue.addLast(cell);
+			while (this.protectedQueue.weight() > this.maxProtectedWeight) {
+				this.probation.addLast(this.protectedQueue.pollFirst());
+			}
+		} else if (cell.queue == this.protectedQueue) {
+			this.protectedQueue.moveToBack(cell);
+		}
+	}
+
+	/**
+	 * Removes the given cell from this policy, without notifying the eviction listener.
+	 *
+	 * @param cell
+	 *            The cell which has been removed from the cache. Must not be <code>null</code>.
+	 */
+	public void onRemove(final CacheCell cell) {
+		if (cell.queue != null) {
+			cell.queue.remove(cell);
+		}
+	}
+
+	/**
+	 * Evicts cells until this policy is within its weight bounds.
+	 *
+	 * <p>
+	 * Every evicted cell is passed to the eviction listener.
+	 */
+	public void evictIfRequired() {
+		while (this.window.weight() > this.maxWindowWeight) {
+			this.admit(this.window.pollFirst());
+		}
+		while (this.weightedSize() > this.maxWeight) {
+			// safety net; usually, the admission process already keeps us within bounds
+			CacheCell victim = this.probation.peekFirst();
+			if (victim == null) {
+				victim = this.protectedQueue.peekFirst();
+			}
+			if (victim == null) {
+				victim = this.window.peekFirst();
+			}
+			victim.queue.remove(victim);
+			this.evictionListener.accept(victim);
+		}
+	}
+
+	public int size() {
+		return this.window.size() + this.probation.size() + this.protectedQueue.size();
+	}
+
+	public long weightedSize() {
+		return this.window.weight() + this.probation.weight() + this.protectedQueue.weight();
+	}
+
+	public void clear() {
+		this.window.clear();
+		this.probation.clear();
+		this.protectedQueue.clear();
+		this.sketch.clear();
+	}
+
+	// =====================================================================================================================
+	// INTERNAL HELPER METHODS
+	// =====================================================================================================================
+
+	private void admit(final CacheCell candidate) {
+		if (candidate.getWeight() > this.maxMainWeight) {
+			// the candidate would not even fit into an empty main space
+			this.evictionListener.accept(candidate);
+			return;
+		}
+		int candidateFrequency = this.sketch.frequency(candidate.getHash());
+		while (this.mainWeight() + candidate.getWeight() > this.maxMainWeight) {
+			CacheCell victim = this.probation.peekFirst();
+			if (victim == null) {
+				victim = this.protectedQueue.peekFirst();
+			}
+			if (candidateFrequency > this.sketch.frequency(victim.getHash())) {
+				// the candidate is more popular than the victim, replace it
+				victim.queue.remove(victim);
+				this.evictionListener.accept(victim);
+			} else {
+				this.evictionListener.accept(candidate);
+				return;
+			}
+		}
+		this.probation.addLast(candidate);
+	}
+
+	private long mainWeight() {
+		return this.probation.weight() + this.protectedQueue.weight();
+	}
+
+}
@@ -0,0 +1,377 @@
+package org.chronos.chronodb.internal.impl.cache.offheap;
+
+import static com.google.common.base.Preconditions.*;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.chronos.chronodb.api.key.QualifiedKey;
+import org.chronos.chronodb.internal.api.GetResult;
+import org.chronos.chronodb.internal.api.Period;
+import org.chronos.chronodb.internal.api.cache.ChronoDBBinaryCache;
+import org.chronos.chronodb.internal.api.cache.ChronoDBCache.CacheStatistics;
+import org.chronos.chronodb.internal.impl.cache.CacheStatisticsImpl;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+/**
+ * A {@link ChronoDBBinaryCache} which stores the serialized values in direct (off-heap) memory.
+ *
+ * <p>
+ * The available memory is divided into a fixed number of {@linkplain OffHeapSegment segments}, which are used as a
+ * ring buffer: new values are appended to the current segment, and once it is full, the next segment is reset (evicting
+ * all of its entries) and becomes the current segment. Eviction is therefore performed in FIFO order, one segment at a
+ * time. This keeps the bookkeeping overhead minimal and never fragments the off-heap memory.
+ *
+ * <p>
+ * Only the serialized values reside off-heap. The index which maps branches, keys and validity periods to the location
+ * of the values remains on the heap. Every entry consumes at least {@value #MIN_ENTRY_CHARGE} bytes of the segment
+ * capacity, which bounds the size of the index even if mostly tiny values are cached.
+ *
+ * <p>
+ * The direct memory of each segment is allocated on first use. Please note that the JVM limits the total amount of
+ * direct memory (see <code>-XX:MaxDirectMemorySize</code>), which needs to be large enough to hold the entire cache.
+ *
+ * @author martin.haeusler@uibk.ac.at -- Initial Contribution and API
+ */
+public class OffHeapBinaryCache implements ChronoDBBinaryCache {
+
+	// =====================================================================================================================
+	// CONSTANTS
+	// =====================================================================================================================
+
+	/** The maximum size of a single segment, in bytes. */
+	private static final int MAX_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+	/** The minimum number of segments to use, if the segment size is determined automatically. */
+	private static final int MIN_SEGMENT_COUNT = 8;
+
+	/** The minimum number of bytes of segment capacity consumed by each entry. */
+	static final int MIN_ENTRY_CHARGE = 64;
+
+	private static final byte[] NO_BYTES = new byte[0];
+
+	// =====================================================================================================================
+	// FIELDS
+	// =====================================================================================================================
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private final Map<String, Map<QualifiedKey, NavigableMap<Long, OffHeapEntry>>> contents;
+	private final OffHeapSegment[] segments;
+	private final CacheStatisticsImpl statistics;
+	private final long maxSizeInBytes;
+
+	private int activeSegmentIndex;
+	private volatile int size;
+
+	// =====================================================================================================================
+	// CONSTRUCTOR
+	// =====================================================================================================================
+
+	public OffHeapBinaryCache(final long maxSizeInBytes) {
+		this(maxSizeInBytes, getDefaultSegmentSize(maxSizeInBytes));
+	}
+
+	public OffHeapBinaryCache(final long maxSizeInBytes, final int segmentSize) {
+		checkArgument(maxSizeInBytes > 0,
+				"Precondition violation - argument 'maxSizeInBytes' must be greater than zero!");
+		checkArgument(segmentSize >= MIN_ENTRY_CHARGE,
+				"Precondition violation - argument 'segmentSize' must be at least " + MIN_ENTRY_CHARGE + "!");
+		long segmentCount = Math.max(1, (maxSizeInBytes + segmentSize - 1) / segmentSize);
+		checkArgument(segmentCount <= Integer.MAX_VALUE,
+				"Precondition violation - argument 'segmentSize' is too small for the given maximum size!");
+		this.maxSizeInBytes = maxSizeInBytes;
+		this.segments = new OffHeapSegment[(int) segmentCount];
+		for (int i = 0; i < this.segments.length; i++) {
+			this.segments[i] = new OffHeapSegment(segmentSize);
+		}
+		this.contents = Maps.newHashMap();
+		this.statistics = new CacheStatisticsImpl();
+		this.activeSegmentIndex = 0;
+		this.size = 0;
+	}
+
+	// =====================================================================================================================
+	// PUBLIC API
+	// =====================================================================================================================
+
+	@Override
+	public GetResult<byte[]> get(final String branch, final long timestamp, final QualifiedKey qualifiedKey) {
+		checkNotNull(branch, "Precondition violation - argument 'branch' must not be NULL!");
+		checkArgument(timestamp >= 0, "Precondition violation - argument 'timestamp' must not be negative!");
+		checkNotNull(qualifiedKey, "Precondition violation - argument 'qualifiedKey' must not be NULL!");
+		this.lock.readLock().lock();
+		try {
+			NavigableMap<Long, OffHeapEntry> row = this.getRow(branch, qualifiedKey);
+			if (row == null) {
+				this.statistics.registerMiss();
+				return null;
+			}
+			Entry<Long, OffHeapEntry> floorEntry = row.floorEntry(timestamp);
+			if (floorEntry == null || floorEntry.getValue().getUpperBound() <= timestamp) {
+				this.statistics.registerMiss();
+				return null;
+			}
+			OffHeapEntry entry = floorEntry.getValue();
+			Period period = createPeriod(entry.getLowerBound(), entry.getUpperBound());
+			this.statistics.registerHit();
+			switch (entry.getLength()) {
+			case OffHeapEntry.LENGTH_NO_VALUE:
+				return GetResult.createNoValueResult(qualifiedKey, period);
+			case OffHeapEntry.LENGTH_NULL_VALUE:
+				return GetResult.create(qualifiedKey, null, period);
+			default:
+				byte[] value = entry.getSegment().read(entry.getOffset(), entry.getLength());
+				return GetResult.create(qualifiedKey, value, period);
+			}
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public void cache(final String branch, final GetResult<byte[]> queryResult) {
+		checkNotNull(branch, "Precondition violation - argument 'branch' must not be NULL!");
+		checkNotNull(queryResult, "Precondition violation - argument 'queryResult' must not be NULL!");
+		Period period = queryResult.getPeriod();
+		if (period.isEmpty()) {
+			// can't cache empty validity ranges
+			return;
+		}
+		byte[] value = queryResult.getValue();
+		byte[] bytes = NO_BYTES;
+		int length;
+		if (queryResult.isHit() == false) {
+			length = OffHeapEntry.LENGTH_NO_VALUE;
+		} else if (value == null) {
+			length = OffHeapEntry.LENGTH_NULL_VALUE;
+		} else {
+			bytes = value;
+			length = value.length;
+		}
+		int charge = Math.max(bytes.length, MIN_ENTRY_CHARGE);
+		if (charge > this.segments[0].getCapacity()) {
+			// this value is too large to be cached
+			return;
+		}
+		QualifiedKey qualifiedKey = queryResult.getRequestedKey();
+		this.lock.writeLock().lock();
+		try {
+			NavigableMap<Long, OffHeapEntry> existingRow = this.getRow(branch, qualifiedKey);
+			if (existingRow != null && existingRow.containsKey(period.getLowerBound())) {
+				// we already know this result
+				return;
+			}
+			// note: acquiring the segment may evict entries (and rows), so we have to do it before fetching the row
+			OffHeapSegment segment = this.getSegmentWithRemainingCapacity(charge);
+			NavigableMap<Long, OffHeapEntry> row = this.getOrCreateRow(branch, qualifiedKey);
+			int offset = segment.append(bytes, charge);
+			OffHeapEntry entry = new OffHeapEntry(branch, qualifiedKey, period.getLowerBound(),
+					period.getUpperBound(), segment, offset, length);
+			segment.registerEntry(entry);
+			row.put(entry.getLowerBound(), entry);
+			this.size++;
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public void writeThrough(final String branch, final long timestamp, final Collection<QualifiedKey> modifiedKeys) {
+		checkNotNull(branch, "Precondition violation - argument 'branch' must not be NULL!");
+		checkArgument(timestamp >= 0, "Precondition violation - argument 'timestamp' must not be negative!");
+		checkNotNull(modifiedKeys, "Precondition violation - argument 'modifiedKeys' must not be NULL!");
+		this.lock.writeLock().lock();
+		try {
+			for (QualifiedKey qualifiedKey : modifiedKeys) {
+				NavigableMap<Long, OffHeapEntry> row = this.getRow(branch, qualifiedKey);
+				if (row == null) {
+					continue;
+				}
+				// entries which start at or after the commit timestamp are no longer valid
+				List<OffHeapEntry> invalidEntries = Lists.newArrayList(row.tailMap(timestamp, true).values());
+				for (OffHeapEntry entry : invalidEntries) {
+					this.removeEntry(entry);
+				}
+				// the entry which was valid at the commit timestamp ends there
+				Entry<Long, OffHeapEntry> lowerEntry = row.lowerEntry(timestamp);
+				if (lowerEntry != null && lowerEntry.getValue().getUpperBound() > timestamp) {
+					lowerEntry.getValue().upperBound = timestamp;
+				}
+			}
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public void rollbackToTimestamp(final long timestamp) {
+		checkArgument(timestamp >= 0, "Precondition violation - argument 'timestamp' must not be negative!");
+		this.lock.writeLock().lock();
+		try {
+			List<OffHeapEntry> entriesToRemove = Lists.newArrayList();
+			for (Map<QualifiedKey, NavigableMap<Long, OffHeapEntry>> qKeyToRow : this.contents.values()) {
+				for (NavigableMap<Long, OffHeapEntry> row : qKeyToRow.values()) {
+					for (OffHeapEntry entry : row.values()) {
+						// the entry is either entirely after the timestamp, or contains it
+						if (entry.getUpperBound() > timestamp) {
+							entriesToRemove.add(entry);
+						}
+					}
+				}
+			}
+			for (OffHeapEntry entry : entriesToRemove) {
+				this.removeEntry(entry);
+			}
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public void clear() {
+		this.lock.writeLock().lock();
+		try {
+			this.clearInternal();
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public void close() {
+		this.lock.writeLock().lock();
+		try {
+			this.clearInternal();
+			for (OffHeapSegment segment : this.segments) {
+				segment.release();
+			}
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	@Override
+	public CacheStatistics getStatistics() {
+		return this.statistics.duplicate();
+	}
+
+	@Override
+	public void resetStatistics() {
+		this.statistics.reset();
+	}
+
+	public long getMaxSizeInBytes() {
+		return this.maxSizeInBytes;
+	}
+
+	@VisibleForTesting
+	public int getSegmentCount() {
+		return this.segments.length;
+	}
+
+	@VisibleForTesting
+	public int computedSize() {
+		this.lock.readLock().lock();
+		try {
+			return this.contents.values().stream().flatMap(qKeyToRow -> qKeyToRow.values().stream())
+					.mapToInt(NavigableMap::size).sum();
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	// =====================================================================================================================
+	// INTERNAL HELPER METHODS
+	// =====================================================================================================================
+
+	private NavigableMap<Long, OffHeapEntry> getRow(final String branch, final QualifiedKey qualifiedKey) {
+		Map<QualifiedKey, NavigableMap<Long, OffHeapEntry>> qKeyToRow = this.contents.get(branch);
+		if (qKeyToRow == null) {
+			return null;
+		}
+		return qKeyToRow.get(qualifiedKey);
+	}
+
+	private NavigableMap<Long, OffHeapEntry> getOrCreateRow(final String branch, final QualifiedKey qualifiedKey) {
+		Map<QualifiedKey, NavigableMap<Long, OffHeapEntry>> qKeyToRow = this.contents.computeIfAbsent(branch,
+				b -> Maps.newHashMap());
+		return qKeyToRow.computeIfAbsent(qualifiedKey, k -> Maps.newTreeMap());
+	}
+
+	private OffHeapSegment getSegmentWithRemainingCapacity(final int charge) {
+		OffHeapSegment activeSegment = this.segments[this.activeSegmentIndex];
+		if (activeSegment.getRemainingCapacity() >= charge) {
+			return activeSegment;
+		}
+		// the active segment is full; recycle the oldest segment
+		this.activeSegmentIndex = (this.activeSegmentIndex + 1) % this.segments.length;
+		OffHeapSegment nextSegment = this.segments[this.activeSegmentIndex];
+		for (OffHeapEntry entry : nextSegment.getEntries()) {
+			if (entry.alive) {
+				this.removeEntry(entry);
+			}
+		}
+		nextSegment.reset();
+		return nextSegment;
+	}
+
+	private void removeEntry(final OffHeapEntry entry) {
+		entry.alive = false;
+		Map<QualifiedKey, NavigableMap<Long, OffHeapEntry>> qKeyToRow = this.contents.get(entry.getBranch());
+		if (qKeyToRow == null) {
+			return;
+		}
+		NavigableMap<Long, OffHeapEntry> row = qKeyToRow.get(entry.getKey());
+		if (row == null || row.remove(entry.getLowerBound(), entry) == false) {
+			return;
+		}
+		this.size--;
+		if (row.isEmpty()) {
+			qKeyToRow.remove(entry.getKey());
+			if (qKeyToRow.isEmpty()) {
+				this.contents.remove(entry.getBranch());
+			}
+		}
+	}
+
+	private void clearInternal() {
+		for (OffHeapSegment segment : this.segments) {
+			for (OffHeapEntry entry : segment.getEntries()) {
+				entry.alive = false;
+			}
+			segment.reset();
+		}
+		this.contents.clear();
+		this.activeSegmentIndex = 0;
+		this.size = 0;
+	}
+
+	private static Period createPeriod(final long lowerBound, final long upperBound) {
+		if (upperBound == Long.MAX_VALUE) {
+			return Period.createOpenEndedRange(lowerBound);
+		} else {
+			return Period.createRange(lowerBound, upperBound);
+		}
+	}
+
+	private static int getDefaultSegmentSize(final long maxSizeInBytes) {
+		long segmentSize = maxSizeInBytes / MIN_SEGMENT_COUNT;
+		segmentSize = Math.min(segmentSize, MAX_SEGMENT_SIZE);
+		return (int) Math.max(segmentSize, MIN_ENTRY_CHARGE);
+	}
+
+}
@@ -0,0 +1,102 @@
+package org.chronos.chronodb.internal.impl.cache.offheap;
+
+import static com.google.common.base.Preconditions.*;
+
+import org.chronos.chronodb.api.key.QualifiedKey;
+
+/**
+ * The on-heap index entry of a single cached result in an {@link OffHeapBinaryCache}.
+ *
+ * <p>
+ * The entry stores the validity period of the result, as well as the location of its serialized value in an
+ * {@link OffHeapSegment}. The value itself never resides on the heap.
+ *
+ * <p>
+ * This class is <b>not</b> thread-safe. Its mutable fields are only modified while holding the write lock of the
+ * owning {@link OffHeapBinaryCache}.
+ *
+ * @author martin.haeusler@uibk.ac.at -- Initial Contribution and API
+ */
+class OffHeapEntry {
+
+	// =====================================================================================================================
+	// CONSTANTS
+	// =====================================================================================================================
+
+	/** The length which indicates that the cached result had no value at all (i.e. it was no hit). */
+	static final int LENGTH_NO_VALUE = -2;
+
+	/** The length which indicates that the cached result was a hit with a <code>null</code> value (a deletion). */
+	static final int LENGTH_NULL_VALUE = -1;
+
+	// =====================================================================================================================
+	// FIELDS
+	// =====================================================================================================================
+
+	private final String branch;
+	private final QualifiedKey key;
+	private final OffHeapSegment segment;
+	private final int offset;
+	private final int length;
+
+	private final long lowerBound;
+	long upperBound;
+	boolean alive;
+
+	// =====================================================================================================================
+	// CONSTRUCTOR
+	// =====================================================================================================================
+
+	OffHeapEntry(final String branch, final QualifiedKey key, final long lowerBound, final long upperBound,
+			final OffHeapSegment segment, final int offset, final int length) {
+		checkNotNull(branch, "Precondition violation - argument 'branch' must not be NULL!");
+		checkNotNull(key, "Precondition violation - argument 'key' must not be NULL!");
+		checkArgument(lowerBound < upperBound,
+				"Precondition violation - argument 'lowerBound' must be less than 'upperBound'!");
+		this.branch = branch;
+		this.key = key;
+		this.lowerBound = lowerBound;
+		this.upperBound = upperBound;
+		this.segment = segment;
+		this.offset = offset;
+		this.length = length;
+		this.alive = true;
+	}
+
+	// =====================================================================================================================
+	// PUBLIC API
+	// =====================================================================================================================
+
+	public String getBranch() {
+		return this.branch;
+	}
+
+	public QualifiedKey getKey() {
+		return this.key;
+	}
+
+	public long getLowerBound() {
+		return this.lowerBound;
+	}
+
+	public long getUpperBound() {
+		return this.upperBound;
+	}
+
+	public OffHeapSegment getSegment() {
+		return this.segment;
+	}
+
+	public int getOffset() {
+		return this.offset;
+	}
+
+	public int getLength() {
+		return this.length;
+	}
+
+	public boolean hasStoredBytes() {
+		return this.length >= 0;
+	}
+
+}
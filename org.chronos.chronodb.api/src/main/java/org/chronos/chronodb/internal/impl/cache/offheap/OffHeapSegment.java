@@ -0,0 +1,151 @@
+package org.chronos.chronodb.internal.impl.cache.offheap;
+
+import static com.google.common.base.Preconditions.*;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import com.google.common.collect.Lists;
+
+/**
+ * A fixed-size region of direct (off-heap) memory in an {@link OffHeapBinaryCache}.
+ *
+ * <p>
+ * Values are appended to a segment until it is full. Individual values are never removed from a segment; instead, the
+ * entire segment is {@linkplain #reset() reset} when the cache needs to reclaim its space. Each segment therefore keeps
+ * track of the {@link OffHeapEntry entries} which point into it, such that they can be removed from the cache index
+ * when the segment is reset.
+ *
+ * <p>
+ * The direct memory of a segment is allocated lazily, on the first write. It is released by the garbage collector
+ * once the segment has been {@linkplain #release() released}.
+ *
+ * <p>
+ * This class is <b>not</b> thread-safe. Writes are only performed while holding the write lock of the owning
+ * {@link OffHeapBinaryCache}; reads require at least the read lock.
+ *
+ * @author martin.haeusler@uibk.ac.at -- Initial Contribution and API
+ */
+class OffHeapSegment {
+
+	// =====================================================================================================================
+	// FIELDS
+	// =====================================================================================================================
+
+	private final int capacity;
+	private final List<OffHeapEntry> entries;
+
+	private ByteBuffer buffer;
+	private int writePosition;
+
+	// =====================================================================================================================
+	// CONSTRUCTOR
+	// =====================================================================================================================
+
+	OffHeapSegment(final int capacity) {
+		checkArgument(capacity > 0, "Precondition violation - argument 'capacity' must be greater than zero!");
+		this.capacity = capacity;
+		this.entries = Lists.newArrayList();
+		this.buffer = null;
+		this.writePosition = 0;
+	}
+
+	// =====================================================================================================================
+	// PUBLIC API
+	// =====================================================================================================================
+
+	public int getCapacity() {
+		return this.capacity;
+	}
+
+	public int getRemainingCapacity() {
+		return this.capacity - this.writePosition;
+	}
+
+	public boolean isEmpty() {
+		return this.entries.isEmpty();
+	}
+
+	/**
+	 * Appends the given bytes to this segment.
+	 *
+	 * @param bytes
+	 *            The bytes to append. May be empty, must not be <code>null</code>.
+	 * @param charge
+	 *            The number of bytes of capacity to consume. Must be at least the length of the given bytes, and must
+	 *            not exceed the {@linkplain #getRemainingCapacity() remaining capacity} of this segment.
+	 * @return The offset at which the bytes have been stored.
+	 */
+	public int append(final byte[] bytes, final int charge) {
+		checkNotNull(bytes, "Precondition violation - argument 'bytes' must not be NULL!");
+		checkArgument(charge >= bytes.length,
+				"Precondition violation - argument 'charge' must not be less than the number of bytes!");
+		checkArgument(charge <= this.getRemainingCapacity(),
+				"Precondition violation - argument 'charge' exceeds the remaining capacity of this segment!");
+		int offset = this.writePosition;
+		if (bytes.length > 0) {
+			if (this.buffer == null) {
+				this.buffer = ByteBuffer.allocateDirect(this.capacity);
+			}
+			ByteBuffer target = this.buffer.duplicate();
+			target.position(offset);
+			target.put(bytes);
+		}
+		this.writePosition += charge;
+		return offset;
+	}
+
+	/**
+	 * Reads the given range of bytes from this segment.
+	 *
+	 * <p>
+	 * This method may be called concurrently by several readers.
+	 *
+	 * @param offset
+	 *            The offset to start reading at.
+	 * @param length
+	 *            The number of bytes to read.
+	 * @return A new byte array containing the requested bytes. Never <code>null</code>.
+	 */
+	public byte[] read(final int offset, final int length) {
+		checkArgument(offset >= 0 && offset + length <= this.writePosition,
+				"Precondition violation - the requested range is outside of the written area of this segment!");
+		byte[] bytes = new byte[length];
+		if (length > 0) {
+			// duplicate the buffer, such that concurrent readers don't interfere with each other's position
+			ByteBuffer source = this.buffer.duplicate();
+			source.position(offset);
+			source.get(bytes);
+		}
+		return bytes;
+	}
+
+	public void registerEntry(final OffHeapEntry entry) {
+		checkNotNull(entry, "Precondition violation - argument 'entry' must not be NULL!");
+		this.entries.add(entry);
+	}
+
+	public List<OffHeapEntry> getEntries() {
+		return this.entries;
+	}
+
+	/**
+	 * Resets this segment, making its entire capacity available again.
+	 *
+	 * <p>
+	 * The allocated direct memory is kept for reuse.
+	 */
+	public void reset() {
+		this.entries.clear();
+		this.writePosition = 0;
+	}
+
+	/**
+	 * Resets this segment and drops its direct memory.
+	 */
+	public void release() {
+		this.reset();
+		this.buffer = null;
+	}
+
+}
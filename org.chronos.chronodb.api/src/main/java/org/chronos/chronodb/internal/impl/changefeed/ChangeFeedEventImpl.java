@@ -0,0 +1,46 @@
+package org.chronos.chronodb.internal.impl.changefeed;
+
+import org.chronos.chronodb.api.changefeed.ChangeFeedEvent;
+import org.chronos.chronodb.api.changefeed.KeyChange;
+
+import java.util.Collections;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.*;
+
+public class ChangeFeedEventImpl implements ChangeFeedEvent {
+
+    private final String branchName;
+    private final long commitTimestamp;
+    private final List<KeyChange> changes;
+
+    public ChangeFeedEventImpl(final String branchName, final long commitTimestamp, final List<KeyChange> changes) {
+        checkNotNull(branchName, "Precondition violation - argument 'branchName' must not be NULL!");
+        checkArgument(commitTimestamp >= 0, "Precondition violation - argument 'commitTimestamp' must not be negative!");
+        checkNotNull(changes, "Precondition violation - argument 'changes' must not be NULL!");
+        this.branchName = branchName;
+        this.commitTimestamp = commitTimestamp;
+        this.changes = Collections.unmodifiableList(changes);
+    }
+
+    @Override
+    public String getBranchName() {
+        return this.branchName;
+    }
+
+    @Override
+    public long getCommitTimestamp() {
+        return this.commitTimestamp;
+    }
+
+    @Override
+    public List<KeyChange> getChanges() {
+        return this.changes;
+    }
+
+    @Override
+    public String toString() {
+        return "ChangeFeedEvent[branch=" + this.branchName + ", timestamp=" + this.commitTimestamp + ", changes=" + this.changes.size() + "]";
+    }
+
+}
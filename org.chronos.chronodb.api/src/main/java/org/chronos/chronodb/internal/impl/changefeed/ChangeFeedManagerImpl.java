@@ -0,0 +1,223 @@
+package org.chronos.chronodb.internal.impl.changefeed;
+
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.chronos.chronodb.api.Branch;
+import org.chronos.chronodb.api.ChronoDBTransaction;
+import org.chronos.chronodb.api.Order;
+import org.chronos.chronodb.api.changefeed.ChangeFeedEvent;
+import org.chronos.chronodb.api.changefeed.ChangeFeedListener;
+import org.chronos.chronodb.api.changefeed.ChangeFeedSubscription;
+import org.chronos.chronodb.api.changefeed.ChangeType;
+import org.chronos.chronodb.api.changefeed.KeyChange;
+import org.chronos.chronodb.api.key.QualifiedKey;
+import org.chronos.chronodb.internal.api.BranchInternal;
+import org.chronos.chronodb.internal.api.ChangeFeedManagerInternal;
+import org.chronos.chronodb.internal.api.ChronoDBInternal;
+import org.chronos.chronodb.internal.impl.engines.base.ChangeSet;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.google.common.base.Preconditions.*;
+
+public class ChangeFeedManagerImpl implements ChangeFeedManagerInternal {
+
+    // =================================================================================================================
+    // FIELDS
+    // =================================================================================================================
+
+    private final ChronoDBInternal owningDB;
+    private final ConcurrentMap<String, List<ChangeFeedSubscriptionImpl>> branchToSubscriptions;
+    private final ExecutorService executor;
+
+    // =================================================================================================================
+    // CONSTRUCTOR
+    // =================================================================================================================
+
+    public ChangeFeedManagerImpl(final ChronoDBInternal owningDB) {
+        checkNotNull(owningDB, "Precondition violation - argument 'owningDB' must not be NULL!");
+        this.owningDB = owningDB;
+        this.branchToSubscriptions = Maps.newConcurrentMap();
+        // threads are only created while there are subscriptions with pending events
+        this.executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+            .setNameFormat("ChronoDB-ChangeFeed-%d")
+            .setDaemon(true)
+            .build()
+        );
+    }
+
+    // =================================================================================================================
+    // PUBLIC API
+    // =================================================================================================================
+
+    @Override
+    public ChangeFeedSubscription subscribe(final String branchName, final ChangeFeedListener listener) {
+        checkNotNull(branchName, "Precondition violation - argument 'branchName' must not be NULL!");
+        checkNotNull(listener, "Precondition violation - argument 'listener' must not be NULL!");
+        Branch branch = this.getExistingBranch(branchName);
+        return this.subscribe(branchName, branch.getNow(), listener);
+    }
+
+    @Override
+    public ChangeFeedSubscription subscribe(final String branchName, final long afterTimestamp, final ChangeFeedListener listener) {
+        checkNotNull(branchName, "Precondition violation - argument 'branchName' must not be NULL!");
+        checkArgument(afterTimestamp >= 0, "Precondition violation - argument 'afterTimestamp' must not be negative!");
+        checkNotNull(listener, "Precondition violation - argument 'listener' must not be NULL!");
+        this.getExistingBranch(branchName);
+        if (this.owningDB.isClosed()) {
+            throw new IllegalStateException("Cannot subscribe to the change feed - the database has been closed!");
+        }
+        ChangeFeedSubscriptionImpl subscription = new ChangeFeedSubscriptionImpl(this, branchName, afterTimestamp, listener, this.executor);
+        this.branchToSubscriptions.computeIfAbsent(branchName, b -> new CopyOnWriteArrayList<>()).add(subscription);
+        // start catching up; commits which occur in the meantime are detected by the subscription
+        subscription.schedule();
+        return subscription;
+    }
+
+    @Override
+    public Iterator<ChangeFeedEvent> getChangesBetween(final String branchName, final long afterTimestamp, final long upToTimestamp) {
+        checkNotNull(branchName, "Precondition violation - argument 'branchName' must not be NULL!");
+        checkArgument(afterTimestamp >= 0, "Precondition violation - argument 'afterTimestamp' must not be negative!");
+        checkArgument(upToTimestamp >= 0, "Precondition violation - argument 'upToTimestamp' must not be negative!");
+        BranchInternal branch = this.getExistingBranch(branchName);
+        long upperBound = Math.min(upToTimestamp, branch.getNow());
+        if (afterTimestamp >= upperBound) {
+            return Collections.emptyIterator();
+        }
+        // note: commits of the origin branch are not part of the feed of this branch, but we include the
+        // system-internal commits of this branch (e.g. the ones which have been created by migrations).
+        ChronoDBTransaction tx = this.owningDB.tx(branchName, upperBound);
+        Iterator<Long> commitTimestamps = tx.getCommitTimestampsBetween(afterTimestamp + 1, upperBound, Order.ASCENDING, true);
+        return Iterators.transform(commitTimestamps, timestamp -> this.loadEvent(branch, timestamp));
+    }
+
+    // =================================================================================================================
+    // INTERNAL API
+    // =================================================================================================================
+
+    @Override
+    public void notifyCommit(final String branchName, final long commitTimestamp, final ChangeSet changeSet) {
+        checkNotNull(branchName, "Precondition violation - argument 'branchName' must not be NULL!");
+        List<ChangeFeedSubscriptionImpl> subscriptions = this.branchToSubscriptions.get(branchName);
+        if (subscriptions == null || subscriptions.isEmpty()) {
+            // nobody is listening; don't waste any time on the commit path
+            return;
+        }
+        ChangeFeedEvent event = null;
+        if (changeSet != null && changeSet.isTrackingPreviousValues()) {
+            event = this.createEvent(branchName, commitTimestamp, changeSet);
+        }
+        // otherwise, the subscription started after the change set has been analyzed; the event is loaded lazily
+        for (ChangeFeedSubscriptionImpl subscription : subscriptions) {
+            subscription.enqueue(event);
+        }
+    }
+
+    @Override
+    public boolean hasSubscribers(final String branchName) {
+        checkNotNull(branchName, "Precondition violation - argument 'branchName' must not be NULL!");
+        List<ChangeFeedSubscriptionImpl> subscriptions = this.branchToSubscriptions.get(branchName);
+        return subscriptions != null && subscriptions.isEmpty() == false;
+    }
+
+    @Override
+    public void shutdown() {
+        for (List<ChangeFeedSubscriptionImpl> subscriptions : this.branchToSubscriptions.values()) {
+            for (ChangeFeedSubscriptionImpl subscription : subscriptions) {
+                subscription.close();
+            }
+        }
+        this.branchToSubscriptions.clear();
+        // note: we do not wait for the termination of running deliveries. They may need a lock on the database,
+        // which is held exclusively by the thread which closes the database.
+        this.executor.shutdownNow();
+    }
+
+    public void unregister(final ChangeFeedSubscriptionImpl subscription) {
+        checkNotNull(subscription, "Precondition violation - argument 'subscription' must not be NULL!");
+        List<ChangeFeedSubscriptionImpl> subscriptions = this.branchToSubscriptions.get(subscription.getBranchName());
+        if (subscriptions != null) {
+            subscriptions.remove(subscription);
+        }
+    }
+
+    public Iterator<ChangeFeedEvent> loadEvents(final String branchName, final long afterTimestamp, final int maxCount) {
+        checkNotNull(branchName, "Precondition violation - argument 'branchName' must not be NULL!");
+        checkArgument(maxCount > 0, "Precondition violation - argument 'maxCount' must be greater than zero!");
+        if (this.owningDB.getBranchManager().existsBranch(branchName) == false) {
+            // the branch has been deleted
+            return Collections.emptyIterator();
+        }
+        return Iterators.limit(this.getChangesBetween(branchName, afterTimestamp, Long.MAX_VALUE), maxCount);
+    }
+
+    // =================================================================================================================
+    // HELPER METHODS
+    // =================================================================================================================
+
+    private BranchInternal getExistingBranch(final String branchName) {
+        BranchInternal branch = this.owningDB.getBranchManager().getBranch(branchName);
+        checkArgument(branch != null, "Precondition violation - argument 'branchName' refers to a non-existing branch: '" + branchName + "'!");
+        return branch;
+    }
+
+    private ChangeFeedEvent createEvent(final String branchName, final long commitTimestamp, final ChangeSet changeSet) {
+        List<KeyChange> changes = Lists.newArrayListWithExpectedSize(changeSet.size());
+        for (Entry<String, Map<String, Object>> keyspaceEntry : changeSet.getEntriesByKeyspace().entrySet()) {
+            String keyspace = keyspaceEntry.getKey();
+            for (Entry<String, Object> entry : keyspaceEntry.getValue().entrySet()) {
+                Object oldValue = changeSet.getPreviousValue(keyspace, entry.getKey());
+                this.addChange(changes, keyspace, entry.getKey(), oldValue, entry.getValue());
+            }
+        }
+        return new ChangeFeedEventImpl(branchName, commitTimestamp, changes);
+    }
+
+    private ChangeFeedEvent loadEvent(final BranchInternal branch, final long commitTimestamp) {
+        String branchName = branch.getName();
+        ChronoDBTransaction newValueTx = this.owningDB.tx(branchName, commitTimestamp);
+        Set<QualifiedKey> modifiedKeys = branch.getTemporalKeyValueStore().getChangeLogStore().get(commitTimestamp);
+        if (modifiedKeys == null) {
+            // the commit is older than the change log (or has been loaded from a dump); scan the matrices instead
+            modifiedKeys = Sets.newHashSet();
+            for (String keyspace : newValueTx.keyspaces()) {
+                Iterator<String> changedKeys = newValueTx.getChangedKeysAtCommit(commitTimestamp, keyspace);
+                while (changedKeys.hasNext()) {
+                    modifiedKeys.add(QualifiedKey.create(keyspace, changedKeys.next()));
+                }
+            }
+        }
+        // the old values are the ones which were valid immediately before the commit (on the origin branch, if
+        // this is the first commit on the branch)
+        ChronoDBTransaction oldValueTx = this.owningDB.tx(branchName, Math.max(commitTimestamp - 1, 0));
+        List<KeyChange> changes = Lists.newArrayListWithExpectedSize(modifiedKeys.size());
+        for (QualifiedKey qKey : modifiedKeys) {
+            Object oldValue = oldValueTx.get(qKey.getKeyspace(), qKey.getKey());
+            Object newValue = newValueTx.get(qKey.getKeyspace(), qKey.getKey());
+            this.addChange(changes, qKey.getKeyspace(), qKey.getKey(), oldValue, newValue);
+        }
+        return new ChangeFeedEventImpl(branchName, commitTimestamp, changes);
+    }
+
+    private void addChange(final List<KeyChange> changes, final String keyspace, final String key, final Object oldValue, final Object newValue) {
+        ChangeType changeType = ChangeType.fromValues(oldValue, newValue);
+        if (changeType == null) {
+            // a key which did not exist has been removed; this is not a change
+            return;
+        }
+        changes.add(new KeyChangeImpl(keyspace, key, changeType, oldValue, newValue));
+    }
+
+}
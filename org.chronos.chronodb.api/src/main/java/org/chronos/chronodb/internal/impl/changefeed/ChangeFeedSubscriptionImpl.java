@@ -0,0 +1,218 @@
+package org.chronos.chronodb.internal.impl.changefeed;
+
+import com.google.common.collect.Lists;
+import org.chronos.chronodb.api.changefeed.ChangeFeedEvent;
+import org.chronos.chronodb.api.changefeed.ChangeFeedListener;
+import org.chronos.chronodb.api.changefeed.ChangeFeedSubscription;
+import org.chronos.common.logging.ChronoLogger;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.google.common.base.Preconditions.*;
+
+/**
+ * A subscription on the change feed of a single branch.
+ *
+ * <p>
+ * The subscription is in one of two modes:
+ * <ul>
+ * <li><b>Catching up:</b> the subscription loads the commits after the last delivered timestamp from the change log,
+ * until it reaches the current "now" timestamp of the branch. Every subscription starts in this mode.
+ * <li><b>Live:</b> the subscription delivers the events which are handed to it by the committing threads. If too many
+ * events pile up (i.e. the listener is slower than the commits), the pending events are dropped and the subscription
+ * falls back to catching up.
+ * </ul>
+ *
+ * <p>
+ * All events are delivered by a single task at a time on the executor of the {@link ChangeFeedManagerImpl}.
+ */
+public class ChangeFeedSubscriptionImpl implements ChangeFeedSubscription {
+
+    // =================================================================================================================
+    // CONSTANTS
+    // =================================================================================================================
+
+    /** The maximum number of live events which may wait for delivery before the subscription falls back to catching up. */
+    private static final int MAX_PENDING_LIVE_EVENTS = 1000;
+
+    /** The number of commits which are loaded from the change log at once while catching up. */
+    private static final int CATCH_UP_BATCH_SIZE = 100;
+
+    // =================================================================================================================
+    // FIELDS
+    // =================================================================================================================
+
+    private final ChangeFeedManagerImpl manager;
+    private final String branchName;
+    private final ChangeFeedListener listener;
+    private final Executor executor;
+
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    private volatile boolean closed = false;
+    private volatile long lastDeliveredTimestamp;
+
+    // guarded by 'this'
+    private final Deque<ChangeFeedEvent> pendingLiveEvents = new ArrayDeque<>();
+    private boolean catchingUp = true;
+    private boolean commitsMissedWhileCatchingUp = false;
+
+    // =================================================================================================================
+    // CONSTRUCTOR
+    // =================================================================================================================
+
+    public ChangeFeedSubscriptionImpl(final ChangeFeedManagerImpl manager, final String branchName, final long afterTimestamp, final ChangeFeedListener listener, final Executor executor) {
+        checkNotNull(manager, "Precondition violation - argument 'manager' must not be NULL!");
+        checkNotNull(branchName, "Precondition violation - argument 'branchName' must not be NULL!");
+        checkArgument(afterTimestamp >= 0, "Precondition violation - argument 'afterTimestamp' must not be negative!");
+        checkNotNull(listener, "Precondition violation - argument 'listener' must not be NULL!");
+        checkNotNull(executor, "Precondition violation - argument 'executor' must not be NULL!");
+        this.manager = manager;
+        this.branchName = branchName;
+        this.lastDeliveredTimestamp = afterTimestamp;
+        this.listener = listener;
+        this.executor = executor;
+    }
+
+    // =================================================================================================================
+    // PUBLIC API
+    // =================================================================================================================
+
+    @Override
+    public String getBranchName() {
+        return this.branchName;
+    }
+
+    @Override
+    public long getLastDeliveredTimestamp() {
+        return this.lastDeliveredTimestamp;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return this.closed;
+    }
+
+    @Override
+    public void close() {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        synchronized (this) {
+            this.pendingLiveEvents.clear();
+        }
+        this.manager.unregister(this);
+    }
+
+    @Override
+    public String toString() {
+        return "ChangeFeedSubscription[branch=" + this.branchName + ", lastDelivered=" + this.lastDeliveredTimestamp + "]";
+    }
+
+    // =================================================================================================================
+    // INTERNAL API
+    // =================================================================================================================
+
+    /**
+     * Hands a new commit to this subscription.
+     *
+     * @param event The event of the commit. May be <code>null</code> if the changes have to be loaded from the change log.
+     */
+    public synchronized void enqueue(final ChangeFeedEvent event) {
+        if (this.closed) {
+            return;
+        }
+        if (this.catchingUp) {
+            // the commit will be loaded from the change log, but we have to check again before we switch to live mode
+            this.commitsMissedWhileCatchingUp = true;
+        } else if (event == null || this.pendingLiveEvents.size() >= MAX_PENDING_LIVE_EVENTS) {
+            // fall back to the change log
+            this.pendingLiveEvents.clear();
+            this.catchingUp = true;
+        } else {
+            this.pendingLiveEvents.addLast(event);
+        }
+        this.schedule();
+    }
+
+    /**
+     * Schedules the delivery of the pending events, unless a delivery task is already running.
+     */
+    public void schedule() {
+        if (this.closed) {
+            return;
+        }
+        if (this.scheduled.compareAndSet(false, true)) {
+            try {
+                this.executor.execute(this::deliverPendingEvents);
+            } catch (RejectedExecutionException e) {
+                // the change feed has been shut down
+                this.scheduled.set(false);
+            }
+        }
+    }
+
+    // =================================================================================================================
+    // HELPER METHODS
+    // =================================================================================================================
+
+    private void deliverPendingEvents() {
+        try {
+            while (!this.closed) {
+                ChangeFeedEvent liveEvent;
+                synchronized (this) {
+                    if (this.catchingUp) {
+                        this.commitsMissedWhileCatchingUp = false;
+                        liveEvent = null;
+                    } else {
+                        liveEvent = this.pendingLiveEvents.pollFirst();
+                        if (liveEvent == null) {
+                            // nothing left to do; the next call to enqueue(...) schedules a new task
+                            this.scheduled.set(false);
+                            return;
+                        }
+                    }
+                }
+                if (liveEvent != null) {
+                    this.deliver(liveEvent);
+                    continue;
+                }
+                List<ChangeFeedEvent> batch = Lists.newArrayList(this.manager.loadEvents(this.branchName, this.lastDeliveredTimestamp, CATCH_UP_BATCH_SIZE));
+                if (batch.isEmpty()) {
+                    synchronized (this) {
+                        if (!this.commitsMissedWhileCatchingUp) {
+                            // we have reached the head of the branch; from now on, the commits deliver their events directly
+                            this.catchingUp = false;
+                        }
+                    }
+                    continue;
+                }
+                batch.forEach(this::deliver);
+            }
+            this.scheduled.set(false);
+        } catch (Throwable t) {
+            ChronoLogger.logError("Failed to load the changes for " + this + ". The subscription will be closed.", t);
+            this.scheduled.set(false);
+            this.close();
+        }
+    }
+
+    private void deliver(final ChangeFeedEvent event) {
+        if (this.closed || event.getCommitTimestamp() <= this.lastDeliveredTimestamp) {
+            // closed, or already delivered while catching up
+            return;
+        }
+        try {
+            this.listener.onCommit(event);
+        } catch (Exception e) {
+            ChronoLogger.logError("Change feed listener of " + this + " failed on commit " + event.getCommitTimestamp() + ".", e);
+        }
+        this.lastDeliveredTimestamp = event.getCommitTimestamp();
+    }
+
+}
@@ -0,0 +1,57 @@
+package org.chronos.chronodb.internal.impl.changefeed;
+
+import org.chronos.chronodb.api.changefeed.ChangeType;
+import org.chronos.chronodb.api.changefeed.KeyChange;
+
+import static com.google.common.base.Preconditions.*;
+
+public class KeyChangeImpl implements KeyChange {
+
+    private final String keyspace;
+    private final String key;
+    private final ChangeType changeType;
+    private final Object oldValue;
+    private final Object newValue;
+
+    public KeyChangeImpl(final String keyspace, final String key, final ChangeType changeType, final Object oldValue, final Object newValue) {
+        checkNotNull(keyspace, "Precondition violation - argument 'keyspace' must not be NULL!");
+        checkNotNull(key, "Precondition violation - argument 'key' must not be NULL!");
+        checkNotNull(changeType, "Precondition violation - argument 'changeType' must not be NULL!");
+        this.keyspace = keyspace;
+        this.key = key;
+        this.changeType = changeType;
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+    }
+
+    @Override
+    public String getKeyspace() {
+        return this.keyspace;
+    }
+
+    @Override
+    public String getKey() {
+        return this.key;
+    }
+
+    @Override
+    public ChangeType getChangeType() {
+        return this.changeType;
+    }
+
+    @Override
+    public Object getOldValue() {
+        return this.oldValue;
+    }
+
+    @Override
+    public Object getNewValue() {
+        return this.newValue;
+    }
+
+    @Override
+    public String toString() {
+        return "KeyChange[" + this.changeType + " " + this.keyspace + "->" + this.key + "]";
+    }
+
+}
@@ -54,6 +54,7 @@ public abstract class AbstractDatebackManager implements DatebackManagerInternal
             this.compactStorage(branch);
             // clear all caches
             this.db.getCache().clear();
+            this.db.getBinaryCache().clear();
             this.db.getIndexManager().clearQueryCache();
             // mark all indices as dirty
             IndexManagerInternal indexManager = (IndexManagerInternal)this.db.getIndexManager();
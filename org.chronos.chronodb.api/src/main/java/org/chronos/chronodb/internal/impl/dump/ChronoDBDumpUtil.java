@@ -87,7 +87,7 @@ public class ChronoDBDumpUtil {
             // convert the entry to the dump entry, depending on the settings
             ChronoDBDumpEntry<?> dumpEntry = null;
             if (forceBinary) {
-                dumpEntry = convertToBinaryEntry(entry);
+                dumpEntry = convertToBinaryEntry(entry, sm);
             } else {
                 dumpEntry = convertToDumpEntry(entry, sm, converters);
             }
@@ -265,8 +265,14 @@ public class ChronoDBDumpUtil {
         return dbDumpMetadata;
     }
 
-    private static ChronoDBDumpBinaryEntry convertToBinaryEntry(final ChronoDBEntry entry) {
-        return new ChronoDBDumpBinaryEntry(entry.getIdentifier(), entry.getValue());
+    private static ChronoDBDumpBinaryEntry convertToBinaryEntry(final ChronoDBEntry entry, final SerializationManager serializationManager) {
+        byte[] value = entry.getValue();
+        if (value != null && value.length > 0) {
+            // values written by a codec may depend on database-specific data (e.g. dictionaries),
+            // so we always export the default format
+            value = serializationManager.toDefaultFormat(value);
+        }
+        return new ChronoDBDumpBinaryEntry(entry.getIdentifier(), value);
     }
 
     @SuppressWarnings({"unchecked", "rawtypes"})
@@ -277,7 +283,7 @@ public class ChronoDBDumpUtil {
         if (serializedValue == null || serializedValue.length < 1) {
             // this entry is a deletion and has no value; it makes no difference if we
             // write it out as a serialized entry or a plain-text entry.
-            dumpEntry = convertToBinaryEntry(entry);
+            dumpEntry = convertToBinaryEntry(entry, serializationManager);
         } else {
             // deserialize the value and check if it is plain-text enabled
             Object deserializedValue = serializationManager.deserialize(serializedValue);
@@ -320,7 +326,7 @@ public class ChronoDBDumpUtil {
                 dumpEntry = new ChronoDBDumpPlainEntry(entry.getIdentifier(), externalRepresentation, converter);
             } else {
                 // plain text conversion failed, fall back to binary
-                dumpEntry = convertToBinaryEntry(entry);
+                dumpEntry = convertToBinaryEntry(entry, serializationManager);
             }
         }
         return dumpEntry;
@@ -610,7 +616,7 @@ public class ChronoDBDumpUtil {
             // well-known objects don't have/need a converter.
             deserializedValue = plainEntry.getValue();
         }
-        byte[] serializedValue = serializationManager.serialize(deserializedValue);
+        byte[] serializedValue = serializationManager.serialize(plainEntry.getChronoIdentifier().getKeyspace(), deserializedValue);
         return ChronoDBEntry.create(plainEntry.getChronoIdentifier(), serializedValue);
     }
 
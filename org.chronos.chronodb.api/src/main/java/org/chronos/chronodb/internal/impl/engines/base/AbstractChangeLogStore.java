@@ -0,0 +1,126 @@
+package org.chronos.chronodb.internal.impl.engines.base;
+
+import static com.google.common.base.Preconditions.*;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.chronos.chronodb.api.Branch;
+import org.chronos.chronodb.api.ChronoDB;
+import org.chronos.chronodb.api.SerializationManager;
+import org.chronos.chronodb.api.key.QualifiedKey;
+import org.chronos.chronodb.internal.api.ChangeLogStore;
+
+import com.google.common.collect.Sets;
+
+public abstract class AbstractChangeLogStore implements ChangeLogStore {
+
+	private final ChronoDB owningDB;
+	private final Branch owningBranch;
+	private final ReadWriteLock lock;
+
+	protected AbstractChangeLogStore(final ChronoDB owningDB, final Branch owningBranch) {
+		checkNotNull(owningDB, "Precondition violation - argument 'owningDB' must not be NULL!");
+		checkNotNull(owningBranch, "Precondition violation - argument 'owningBranch' must not be NULL!");
+		this.owningDB = owningDB;
+		this.owningBranch = owningBranch;
+		this.lock = new ReentrantReadWriteLock(true);
+	}
+
+	@Override
+	public void put(final long commitTimestamp, final Set<QualifiedKey> modifiedKeys) {
+		checkArgument(commitTimestamp >= 0,
+				"Precondition violation - argument 'commitTimestamp' must not be negative!");
+		checkNotNull(modifiedKeys, "Precondition violation - argument 'modifiedKeys' must not be NULL!");
+		byte[] serializedKeys = this.serialize(modifiedKeys);
+		this.lock.writeLock().lock();
+		try {
+			this.putInternal(commitTimestamp, serializedKeys);
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public Set<QualifiedKey> get(final long commitTimestamp) {
+		checkArgument(commitTimestamp >= 0,
+				"Precondition violation - argument 'commitTimestamp' must not be negative!");
+		byte[] serializedKeys = null;
+		this.lock.readLock().lock();
+		try {
+			serializedKeys = this.getInternal(commitTimestamp);
+		} finally {
+			this.lock.readLock().unlock();
+		}
+		if (serializedKeys == null) {
+			return null;
+		}
+		return this.deserialize(serializedKeys);
+	}
+
+	@Override
+	public void rollbackToTimestamp(final long timestamp) {
+		checkArgument(timestamp >= 0, "Precondition violation - argument 'timestamp' must not be negative!");
+		this.lock.writeLock().lock();
+		try {
+			this.rollbackToTimestampInternal(timestamp);
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public Branch getOwningBranch() {
+		return this.owningBranch;
+	}
+
+	// =====================================================================================================================
+	// UTILITY METHODS
+	// =====================================================================================================================
+
+	protected SerializationManager getSerializationManager() {
+		return this.owningDB.getSerializationManager();
+	}
+
+	protected String getBranchName() {
+		return this.getOwningBranch().getName();
+	}
+
+	protected byte[] serialize(final Set<QualifiedKey> modifiedKeys) {
+		// group the keys by keyspace, such that every keyspace name is stored only once per commit
+		HashMap<String, HashSet<String>> keyspaceToKeys = new HashMap<>();
+		for (QualifiedKey qKey : modifiedKeys) {
+			keyspaceToKeys.computeIfAbsent(qKey.getKeyspace(), k -> new HashSet<>()).add(qKey.getKey());
+		}
+		return this.getSerializationManager().serialize(keyspaceToKeys);
+	}
+
+	@SuppressWarnings("unchecked")
+	protected Set<QualifiedKey> deserialize(final byte[] serialForm) {
+		Map<String, Set<String>> keyspaceToKeys = (Map<String, Set<String>>) this.getSerializationManager()
+				.deserialize(serialForm);
+		Set<QualifiedKey> resultSet = Sets.newHashSet();
+		for (Entry<String, Set<String>> entry : keyspaceToKeys.entrySet()) {
+			for (String key : entry.getValue()) {
+				resultSet.add(QualifiedKey.create(entry.getKey(), key));
+			}
+		}
+		return resultSet;
+	}
+
+	// =====================================================================================================================
+	// ABSTRACT METHODS
+	// =====================================================================================================================
+
+	protected abstract byte[] getInternal(long commitTimestamp);
+
+	protected abstract void putInternal(long commitTimestamp, byte[] serializedKeys);
+
+	protected abstract void rollbackToTimestampInternal(long timestamp);
+
+}
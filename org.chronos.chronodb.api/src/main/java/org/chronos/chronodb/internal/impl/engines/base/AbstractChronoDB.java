@@ -10,11 +10,14 @@ import org.chronos.chronodb.api.exceptions.ChronosBuildVersionConflictException;
 import org.chronos.chronodb.api.exceptions.InvalidTransactionBranchException;
 import org.chronos.chronodb.api.exceptions.InvalidTransactionTimestampException;
 import org.chronos.chronodb.internal.api.*;
+import org.chronos.chronodb.internal.api.cache.ChronoDBBinaryCache;
 import org.chronos.chronodb.internal.api.stream.ChronoDBEntry;
 import org.chronos.chronodb.internal.api.stream.CloseableIterator;
 import org.chronos.chronodb.internal.impl.DefaultTransactionConfiguration;
 import org.chronos.chronodb.internal.impl.builder.transaction.DefaultTransactionBuilder;
+import org.chronos.chronodb.internal.impl.changefeed.ChangeFeedManagerImpl;
 import org.chronos.chronodb.internal.impl.dump.CommitMetadataMap;
+import org.chronos.chronodb.internal.impl.metrics.CommitMetricsImpl;
 import org.chronos.chronodb.internal.util.ThreadBound;
 import org.chronos.common.autolock.AutoLock;
 import org.chronos.common.logging.ChronoLogger;
@@ -36,6 +39,9 @@ public abstract class AbstractChronoDB implements ChronoDB, ChronoDBInternal {
     private final ChronoDBConfiguration configuration;
     private final Set<ChronoDBShutdownHook> shutdownHooks;
     private final CommitMetadataFilter commitMetadataFilter;
+    private final ChronoDBBinaryCache binaryCache;
+    private final CommitMetricsImpl commitMetrics;
+    private final ChangeFeedManagerImpl changeFeedManager;
 
     private final ThreadBound<AutoLock> exclusiveLockHolder;
     private final ThreadBound<AutoLock> nonExclusiveLockHolder;
@@ -50,6 +56,13 @@ public abstract class AbstractChronoDB implements ChronoDB, ChronoDBInternal {
         this.nonExclusiveLockHolder = ThreadBound.createWeakReference();
         this.shutdownHooks = Collections.synchronizedSet(Sets.newHashSet());
         this.commitMetadataFilter = this.createMetadataFilterFromConfiguration(configuration);
+        this.binaryCache = ChronoDBBinaryCache.createBinaryCacheForConfiguration(configuration);
+        this.commitMetrics = new CommitMetricsImpl();
+        this.changeFeedManager = new ChangeFeedManagerImpl(this);
+        // release the (off-heap) memory of the binary cache when the database is closed
+        this.shutdownHooks.add(this.binaryCache::close);
+        // stop delivering change feed events when the database is closed
+        this.shutdownHooks.add(this.changeFeedManager::shutdown);
     }
 
 
@@ -259,6 +272,21 @@ public abstract class AbstractChronoDB implements ChronoDB, ChronoDBInternal {
         return this.commitMetadataFilter;
     }
 
+    @Override
+    public ChronoDBBinaryCache getBinaryCache() {
+        return this.binaryCache;
+    }
+
+    @Override
+    public CommitMetricsInternal getCommitMetrics() {
+        return this.commitMetrics;
+    }
+
+    @Override
+    public ChangeFeedManagerInternal getChangeFeedManager() {
+        return this.changeFeedManager;
+    }
+
     protected CommitMetadataFilter createMetadataFilterFromConfiguration(final ChronoDBConfiguration configuration) {
         Class<? extends CommitMetadataFilter> filterClass = configuration.getCommitMetadataFilterClass();
         if (filterClass == null) {
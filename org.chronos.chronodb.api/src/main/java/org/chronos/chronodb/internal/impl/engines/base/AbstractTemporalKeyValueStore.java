@@ -3,6 +3,7 @@ package org.chronos.chronodb.internal.impl.engines.base;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Objects;
 import com.google.common.collect.*;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.commons.lang3.tuple.Pair;
 import org.chronos.chronodb.api.*;
 import org.chronos.chronodb.api.Dateback.KeyspaceValueTransformation;
@@ -12,14 +13,17 @@ import org.chronos.chronodb.api.exceptions.*;
 import org.chronos.chronodb.api.key.ChronoIdentifier;
 import org.chronos.chronodb.api.key.QualifiedKey;
 import org.chronos.chronodb.api.key.TemporalKey;
+import org.chronos.chronodb.api.metrics.CommitPhase;
 import org.chronos.chronodb.internal.api.*;
 import org.chronos.chronodb.internal.api.cache.CacheGetResult;
+import org.chronos.chronodb.internal.api.cache.ChronoDBBinaryCache;
 import org.chronos.chronodb.internal.api.cache.ChronoDBCache;
 import org.chronos.chronodb.internal.api.stream.ChronoDBEntry;
 import org.chronos.chronodb.internal.api.stream.CloseableIterator;
 import org.chronos.chronodb.internal.impl.BranchHeadStatisticsImpl;
 import org.chronos.chronodb.internal.impl.DefaultTransactionConfiguration;
 import org.chronos.chronodb.internal.impl.conflict.AtomicConflictImpl;
+import org.chronos.chronodb.internal.impl.metrics.CommitTimer;
 import org.chronos.chronodb.internal.impl.stream.AbstractCloseableIterator;
 import org.chronos.chronodb.internal.impl.temporal.UnqualifiedTemporalEntry;
 import org.chronos.chronodb.internal.impl.temporal.UnqualifiedTemporalKey;
@@ -31,6 +35,13 @@ import org.chronos.common.serialization.KryoManager;
 
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BiFunction;
@@ -43,6 +54,27 @@ import static com.google.common.base.Preconditions.*;
 
 public abstract class AbstractTemporalKeyValueStore extends TemporalKeyValueStoreBase implements TemporalKeyValueStore {
 
+    // =================================================================================================================
+    // CONSTANTS
+    // =================================================================================================================
+
+    /**
+     * The minimum number of values in a bulk get operation for which the values are deserialized in parallel.
+     *
+     * <p>
+     * For smaller numbers of values, the overhead of forking the work outweighs the gain.
+     */
+    private static final int PARALLEL_DESERIALIZATION_THRESHOLD = 64;
+
+    /**
+     * The executor which deserializes the values of large bulk get operations in parallel.
+     *
+     * <p>
+     * The pool is bounded by the number of processors and shared by all stores. Its tasks never acquire any lock of a
+     * store, therefore the callers may wait for them while holding the read lock.
+     */
+    private static final ExecutorService DESERIALIZATION_EXECUTOR = createDeserializationExecutor();
+
     // =================================================================================================================
     // FIELDS
     // =================================================================================================================
@@ -80,6 +112,15 @@ public abstract class AbstractTemporalKeyValueStore extends TemporalKeyValueStor
      */
     protected long incrementalCommitTimestamp = -1L;
 
+    /**
+     * Commits which wait to be written as part of a group commit. Only used if group commits are enabled.
+     *
+     * <p>
+     * Commits are added to this queue before the branch lock is requested. Whichever thread holds the commit lock
+     * drains the queue and writes the commits in groups, including the ones whose threads still wait for the lock.
+     */
+    private final Queue<PendingCommit> groupCommitQueue = new ConcurrentLinkedQueue<>();
+
     protected Consumer<ChronoDBTransaction> debugCallbackBeforePrimaryIndexUpdate;
     protected Consumer<ChronoDBTransaction> debugCallbackBeforeSecondaryIndexUpdate;
     protected Consumer<ChronoDBTransaction> debugCallbackBeforeMetadataUpdate;
@@ -198,7 +239,10 @@ public abstract class AbstractTemporalKeyValueStore extends TemporalKeyValueStor
     public long performCommit(final ChronoDBTransaction tx, final Object commitMetadata) {
         checkNotNull(tx, "Precondition violation - argument 'tx' must not be NULL!");
         this.assertThatTransactionMayPerformCommit(tx);
-        boolean performanceLoggingActive = this.owningDB.getConfiguration().isCommitPerformanceLoggingActive();
+        if (this.owningDB.getConfiguration().isGroupCommitEnabled() && this.isIncrementalCommitProcessOngoing() == false) {
+            // incremental commits are never grouped, they take the regular path below
+            return this.performGroupCommit(tx, commitMetadata);
+        }
         // Note: the locking process here is special. We acquire the following locks (in this order):
         //
         // 1) DB Read Lock
@@ -214,14 +258,18 @@ public abstract class AbstractTemporalKeyValueStore extends TemporalKeyValueStor
         // 3) Commit Lock
         // Reason: This is not a read-write lock, this is a plain old lock. It prevents concurrent writes on the
         // same branch. Read operations never acquire this lock.
-        String perfLogPrefix = "[PERF ChronoDB] Commit (" + tx.getBranchName() + "@" + tx.getTimestamp() + ")";
-        long timeBeforeLockAcquisition = System.currentTimeMillis();
-        try (AutoLock lock = this.lockBranchExclusive()) {
-            this.commitLock.lock();
+        CommitMetricsInternal metrics = this.owningDB.getCommitMetrics();
+        CommitTimer timer = new CommitTimer(metrics, tx.getBranchName());
+        boolean commitAttempted = false;
+        boolean commitSuccessful = false;
+        boolean terminatesIncrementalCommit = false;
+        try (AutoLock lock = this.lockForCommit(metrics, tx.getBranchName())) {
             try {
-                if (performanceLoggingActive) {
-                    ChronoLogger.logInfo(perfLogPrefix + " -> Lock Acquisition: " + (System.currentTimeMillis() - timeBeforeLockAcquisition) + "ms.");
-                }
+                timer.endPhase(CommitPhase.LOCK_ACQUISITION);
+                // check again while holding the lock: another transaction may have started an incremental commit
+                // process since the check above. If this check passes, any ongoing process belongs to this transaction.
+                this.assertThatTransactionMayPerformCommit(tx);
+                terminatesIncrementalCommit = this.isIncrementalCommitProcessOngoing();
                 if (this.isIncrementalCommitProcessOngoing() && tx.getChangeSet().isEmpty() == false) {
                     // "terminate" the incremental commit process with a FINAL incremental commit,
                     // then continue with a true commit that has an EMPTY change set
@@ -233,6 +281,7 @@ public abstract class AbstractTemporalKeyValueStore extends TemporalKeyValueStor
                         return -1;
                     }
                 }
+                commitAttempted = true;
                 long time = 0;
                 if (this.isIncrementalCommitProcessOngoing()) {
                     // use the incremental commit timestamp
@@ -241,8 +290,8 @@ public abstract class AbstractTemporalKeyValueStore extends TemporalKeyValueStor
                     // use the current transaction time
                     time = this.waitForNextValidCommitTimestamp();
                 }
+                timer.skip();
 
-                long beforeCommitMetadataFilter = System.currentTimeMillis();
                 CommitMetadataFilter filter = this.getOwningDB().getCommitMetadataFilter();
                 if (filter != null) {
                     if (filter.doesAccept(tx.getBranchName(), time, commitMetadata) == false) {
@@ -250,18 +299,12 @@ public abstract class AbstractTemporalKeyValueStore extends TemporalKeyValueStor
                         throw new ChronoDBCommitMetadataRejectedException("The given Commit Metadata object (class: " + className + ") was rejected by the commit metadata filter! Cancelling commit.");
                     }
                 }
-                if (performanceLoggingActive) {
-                    ChronoLogger.logInfo(perfLogPrefix + " -> Commit Metadata Filter: " + (System.currentTimeMillis() - beforeCommitMetadataFilter) + "ms.");
-                }
+                timer.endPhase(CommitPhase.COMMIT_METADATA_FILTER);
 
-                long beforeChangeSetAnalysis = System.currentTimeMillis();
                 ChangeSet changeSet = this.analyzeChangeSet(tx, tx, time);
-                if (performanceLoggingActive) {
-                    ChronoLogger.logInfo(perfLogPrefix + " -> Change Set Analysis: " + (System.currentTimeMillis() - beforeChangeSetAnalysis) + "ms.");
-                }
+                timer.endPhase(CommitPhase.CHANGE_SET_ANALYSIS);
 
                 if (this.isIncrementalCommitProcessOngoing() == false) {
-                    long beforeWalTokenHandling = System.currentTimeMillis();
                     // check that no WAL token exists on disk
                     this.performRollbackToWALTokenIfExists();
                     // before we begin the writing to disk, we store a token as a file. This token
@@ -269,9 +312,7 @@ public abstract class AbstractTemporalKeyValueStore extends TemporalKeyValueStor
                     // is being shut down during the commit process.
                     WriteAheadLogToken token = new WriteAheadLogToken(this.getNow(), time);
                     this.performWriteAheadLog(token);
-                    if (performanceLoggingActive) {
-                        ChronoLogger.logInfo(perfLogPrefix + " -> WAL Token Handling: " + (System.currentTimeMillis() - beforeWalTokenHandling) + "ms.");
-                    }
+                    timer.endPhase(CommitPhase.WAL_TOKEN);
                 }
                 // remember if we started to work with the index
                 boolean touchedIndex = false;
@@ -283,41 +324,34 @@ public abstract class AbstractTemporalKeyValueStore extends TemporalKeyValueStor
                 try {
                     // here, we perform the actual *write* work.
                     this.debugCallbackBeforePrimaryIndexUpdate(tx);
-                    long beforePrimaryIndexUpdate = System.currentTimeMillis();
-                    this.updatePrimaryIndex(perfLogPrefix + " -> Primary Index Update", time, changeSet);
-                    if (performanceLoggingActive) {
-                        ChronoLogger.logInfo(perfLogPrefix + " -> Primary Index Update: " + (System.currentTimeMillis() - beforePrimaryIndexUpdate) + "ms.");
-                    }
+                    timer.skip();
+                    this.updatePrimaryIndex(time, changeSet);
+                    timer.endPhase(CommitPhase.PRIMARY_INDEX_UPDATE);
                     this.debugCallbackBeforeSecondaryIndexUpdate(tx);
-                    long beforeSecondaryIndexupdate = System.currentTimeMillis();
+                    timer.skip();
                     touchedIndex = this.updateSecondaryIndices(changeSet) || touchedIndex;
-                    if (performanceLoggingActive) {
-                        ChronoLogger.logInfo(perfLogPrefix + " -> Secondary Index Update: " + (System.currentTimeMillis() - beforeSecondaryIndexupdate) + "ms.");
-                    }
+                    timer.endPhase(CommitPhase.SECONDARY_INDEX_UPDATE);
                     this.debugCallbackBeforeMetadataUpdate(tx);
                     // write the commit metadata object (this will also register the commit, even if no metadata is
                     // given)
-                    long beforeCommitMetadataStoring = System.currentTimeMillis();
+                    timer.skip();
                     this.getCommitMetadataStore().put(time, commitMetadata);
-                    if (performanceLoggingActive) {
-                        ChronoLogger.logInfo(perfLogPrefix + " -> Commit Metadata Store: " + (System.currentTimeMillis() - beforeCommitMetadataStoring) + "ms.");
-                    }
+                    timer.endPhase(CommitPhase.COMMIT_METADATA_STORE);
+                    this.writeChangeLog(time, changeSet);
+                    timer.endPhase(CommitPhase.CHANGE_LOG_STORE);
                     this.debugCallbackBeforeCacheUpdate(tx);
                     // update the cache (if any)
-                    long beforeCacheUpdate = System.currentTimeMillis();
+                    timer.skip();
                     if (this.getCache() != null && this.isIncrementalCommitProcessOngoing()) {
                         this.getCache().rollbackToTimestamp(this.getNow());
+                        this.getBinaryCache().rollbackToTimestamp(this.getNow());
                     }
                     this.writeCommitThroughCache(tx.getBranchName(), time, changeSet.getEntriesByKeyspace());
-                    if (performanceLoggingActive) {
-                        ChronoLogger.logInfo(perfLogPrefix + " -> Cache Update: " + (System.currentTimeMillis() - beforeCacheUpdate) + "ms.");
-                    }
+                    timer.endPhase(CommitPhase.CACHE_UPDATE);
                     this.debugCallbackBeforeNowTimestampUpdate(tx);
-                    long beforeSetNow = System.currentTimeMillis();
+                    timer.skip();
                     this.setNow(time);
-                    if (performanceLoggingActive) {
-                        ChronoLogger.logInfo(perfLogPrefix + " -> Set Now: " + (System.currentTimeMillis() - beforeSetNow) + "ms.");
-                    }
+                    timer.endPhase(CommitPhase.SET_NOW);
                     this.debugCallbackBeforeTransactionCommitted(tx);
                 } catch (Throwable t) {
                     // an error occurred, we need to perform the rollback
@@ -326,37 +360,112 @@ public abstract class AbstractTemporalKeyValueStore extends TemporalKeyValueStor
                     throw new ChronoDBCommitException(
                         "An error occurred during the commit. Please see root cause for details.", t);
                 }
-                long beforeClearWalToken = System.currentTimeMillis();
+                timer.skip();
                 // everything ok in this commit, we can clear the write ahead log
                 this.clearWriteAheadLogToken();
-                if (performanceLoggingActive) {
-                    ChronoLogger.logInfo(perfLogPrefix + " -> Clear WAL token: " + (System.currentTimeMillis() - beforeClearWalToken) + "ms.");
-                }
+                timer.endPhase(CommitPhase.CLEAR_WAL_TOKEN);
                 // clear the branch head statistics cache, forcing a recalculation on the next access
                 this.owningDB.getStatisticsManager().clearBranchHeadStatistics(tx.getBranchName());
+                // notify the change feed while we still hold the commit lock, such that the subscribers receive the
+                // commits in order. The change set of an incremental commit only contains the final increment, so the
+                // subscribers have to load the changes from the change log in this case.
+                ChangeSet feedChangeSet = this.isIncrementalCommitProcessOngoing() ? null : changeSet;
+                this.owningDB.getChangeFeedManager().notifyCommit(tx.getBranchName(), time, feedChangeSet);
+                commitSuccessful = true;
                 return time;
             } finally {
                 try {
-                    if (this.isIncrementalCommitProcessOngoing()) {
+                    if (terminatesIncrementalCommit) {
                         this.terminateIncrementalCommitProcess();
                     }
                 } finally {
                     this.commitLock.unlock();
+                    if (commitAttempted) {
+                        this.finishCommitTimer(timer, tx, commitSuccessful);
+                    }
                 }
-                long beforeDestroyKryo = System.currentTimeMillis();
-                // drop the kryo instance we have been using, as it has some internal caches that just consume memory
-                KryoManager.destroyKryo();
-                if (performanceLoggingActive) {
-                    ChronoLogger.logInfo(perfLogPrefix + " -> Destroy Kryo: " + (System.currentTimeMillis() - beforeDestroyKryo) + "ms.");
+            }
+        }
+    }
+
+    /**
+     * Acquires the branch lock and the {@link #commitLock} for a commit on this branch.
+     *
+     * <p>
+     * The commit counts towards the commit queue of the branch from before the branch lock is requested until the
+     * commit lock has been obtained, i.e. for as long as it waits for other commits.
+     *
+     * @param metrics    The metrics to record the queue depth in. Must not be <code>null</code>.
+     * @param branchName The name of the branch to commit on. Must not be <code>null</code>.
+     * @return The branch lock. The caller has to release the commit lock before closing it.
+     */
+    private AutoLock lockForCommit(final CommitMetricsInternal metrics, final String branchName) {
+        metrics.commitEnqueued(branchName);
+        try {
+            AutoLock lock = this.lockBranchExclusive();
+            this.commitLock.lock();
+            return lock;
+        } finally {
+            metrics.commitDequeued(branchName);
+        }
+    }
+
+    private void finishCommitTimer(final CommitTimer timer, final ChronoDBTransaction tx, final boolean successful) {
+        boolean performanceLoggingActive = this.owningDB.getConfiguration().isCommitPerformanceLoggingActive();
+        String perfLogPrefix = "[PERF ChronoDB] Commit (" + tx.getBranchName() + "@" + tx.getTimestamp() + ")";
+        timer.finish(successful, performanceLoggingActive, perfLogPrefix);
+    }
+
+    private long performGroupCommit(final ChronoDBTransaction tx, final Object commitMetadata) {
+        if (tx.getChangeSet().isEmpty()) {
+            // change set is empty -> there is nothing to commit
+            return -1;
+        }
+        // Note: we acquire the same locks as performCommit(...), in the same order. The exclusive branch lock also
+        // locks the entire database, so only one committer at a time can get past it. The commit therefore has to be
+        // enqueued BEFORE we request the lock, otherwise the queue would never contain more than our own commit. The
+        // commits are written while holding the lock, so no drastic operation can interleave with the writing itself.
+        CommitMetricsInternal metrics = this.owningDB.getCommitMetrics();
+        CommitTimer timer = new CommitTimer(metrics, tx.getBranchName());
+        boolean commitSuccessful = false;
+        PendingCommit pendingCommit = new PendingCommit(tx, commitMetadata);
+        this.groupCommitQueue.add(pendingCommit);
+        try (AutoLock lock = this.lockForCommit(metrics, tx.getBranchName())) {
+            timer.endPhase(CommitPhase.LOCK_ACQUISITION);
+            try {
+                // the holder of the commit lock writes all commits which have been queued up in the meantime. If
+                // another thread has already written our commit while we were waiting for the lock, we are done.
+                while (pendingCommit.isDone() == false) {
+                    List<PendingCommit> group = this.pollCommitGroup();
+                    while (group.isEmpty() == false) {
+                        try {
+                            group = this.writeCommitGroup(group);
+                        } catch (Throwable t) {
+                            // the group could not be written at all; make sure that nobody waits for it forever
+                            RuntimeException failure = toCommitFailure(t);
+                            for (PendingCommit commit : group) {
+                                if (commit.isDone() == false) {
+                                    commit.fail(failure);
+                                }
+                            }
+                            group = Collections.emptyList();
+                        }
+                    }
                 }
+            } finally {
+                this.commitLock.unlock();
             }
+            long commitTimestamp = pendingCommit.getResult();
+            commitSuccessful = true;
+            return commitTimestamp;
+        } finally {
+            this.finishCommitTimer(timer, tx, commitSuccessful);
         }
     }
 
     @Override
     public long performCommitIncremental(final ChronoDBTransaction tx) throws ChronoDBCommitException {
         checkNotNull(tx, "Precondition violation - argument 'tx' must not be NULL!");
-        String perfLogPrefix = "[PERF ChronoDB] Commit (" + tx.getBranchName() + "@" + tx.getTimestamp() + ")";
         try (AutoLock lock = this.lockBranchExclusive()) {
             // make sure that this transaction may start (or continue with) an incremental commit process
             this.assertThatTransactionMayPerformIncrementalCommit(tx);
@@ -383,12 +492,14 @@ public abstract class AbstractTemporalKeyValueStore extends TemporalKeyValueStor
                 try {
                     // here, we perform the actual *write* work.
                     this.debugCallbackBeforePrimaryIndexUpdate(tx);
-                    this.updatePrimaryIndex(perfLogPrefix + " -> Primary Index Update", time, changeSet);
+                    this.updatePrimaryIndex(time, changeSet);
                     this.debugCallbackBeforeSecondaryIndexUpdate(tx);
                     this.updateSecondaryIndices(changeSet);
+                    this.writeChangeLog(time, changeSet);
                     this.debugCallbackBeforeCacheUpdate(tx);
                     // update the cache (if any)
                     this.getCache().rollbackToTimestamp(this.getNow());
+                    this.getBinaryCache().rollbackToTimestamp(this.getNow());
                     this.writeCommitThroughCache(tx.getBranchName(), time, changeSet.getEntriesByKeyspace());
                     this.debugCallbackBeforeTransactionCommitted(tx);
                 } catch (Throwable t) {
@@ -396,6 +507,7 @@ public abstract class AbstractTemporalKeyValueStore extends TemporalKeyValueStor
                     this.performRollbackToTimestamp(this.getNow(), changeSet.getEntriesByKeyspace().keySet(), true);
                     // as a safety measure, we also have to clear the cache
                     this.getCache().clear();
+                    this.getBinaryCache().clear();
                     // terminate the incremental commit process
                     this.terminateIncrementalCommitProcess();
                     // after rolling back, we can clear the write ahead log
@@ -408,8 +520,6 @@ public abstract class AbstractTemporalKeyValueStore extends TemporalKeyValueStor
                 // full commit.
             } finally {
                 this.commitLock.unlock();
-                // drop the kryo instance we have been using, as it has some internal caches that just consume memory
-                KryoManager.destroyKryo();
             }
             return this.incrementalCommitTimestamp;
         }
@@ -442,6 +552,7 @@ public abstract class AbstractTemporalKeyValueStore extends TemporalKeyValueStor
         this.performRollbackToTimestamp(this.getNow(), this.getAllKeyspaces(), true);
         // as a safety measure, we also have to clear the cache
         this.getCache().clear();
+        this.getBinaryCache().clear();
         this.terminateIncrementalCommitProcess();
         // after rolling back, we can clear the write ahead log
         this.clearWriteAheadLogToken();
@@ -523,8 +634,15 @@ public abstract class AbstractTemporalKeyValueStore extends TemporalKeyValueStor
                     }
                 }
             }
-            // execute the query on the backend
-            GetResult<byte[]> rangedResult = matrix.get(timestamp, qKey.getKey());
+            // consult the binary cache first, then execute the query on the backend
+            GetResult<byte[]> rangedResult = this.getBinaryCache().get(branchName, timestamp, qKey);
+            if (rangedResult == null) {
+                rangedResult = matrix.get(timestamp, qKey.getKey());
+                if (rangedResult.isHit() || this.isMasterBranchTKVS()) {
+                    // note: in child branches, only hits are final; misses are forwarded to the origin branch
+                    this.getBinaryCache().cache(branchName, rangedResult);
+                }
+            }
             if (rangedResult.isHit() == false && this.isMasterBranchTKVS() == false) {
                 // we did not find anything in our branch; re-route the request and try to find it in the origin branch
                 ChronoDBTransaction tempTx = this.createOriginBranchTx(timestamp);
@@ -564,6 +682,194 @@ public abstract class AbstractTemporalKeyValueStore extends TemporalKeyValueStor
         }
     }
 
+    @Override
+    public Map<String, Object> performGetAll(final ChronoDBTransaction tx, final String keyspaceName,
+                                             final Collection<String> keys) {
+        checkNotNull(tx, "Precondition violation - argument 'tx' must not be NULL!");
+        checkNotNull(keyspaceName, "Precondition violation - argument 'keyspaceName' must not be NULL!");
+        checkNotNull(keys, "Precondition violation - argument 'keys' must not be NULL!");
+        return this.performGetAll(tx.getBranchName(), keyspaceName, keys, tx.getTimestamp(), false);
+    }
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Map<String, byte[]> performGetAllBinary(final ChronoDBTransaction tx, final String keyspaceName,
+                                                   final Collection<String> keys) {
+        checkNotNull(tx, "Precondition violation - argument 'tx' must not be NULL!");
+        checkNotNull(keyspaceName, "Precondition violation - argument 'keyspaceName' must not be NULL!");
+        checkNotNull(keys, "Precondition violation - argument 'keys' must not be NULL!");
+        return (Map) this.performGetAll(tx.getBranchName(), keyspaceName, keys, tx.getTimestamp(), true);
+    }
+
+    private Map<String, Object> performGetAll(final String branchName, final String keyspaceName,
+                                              final Collection<String> keys, final long timestamp, final boolean binary) {
+        try (AutoLock lock = this.lockNonExclusive()) {
+            boolean assumeImmutableValues = this.getOwningDB().getConfiguration().isAssumeCachedValuesAreImmutable();
+            Map<String, Object> resultMap = Maps.newHashMapWithExpectedSize(keys.size());
+            // sorting the keys allows the backend to resolve them in a single ordered pass
+            SortedSet<String> keysToLoad = Sets.newTreeSet();
+            for (String key : keys) {
+                // binary gets are excluded from caching
+                if (binary) {
+                    keysToLoad.add(key);
+                    continue;
+                }
+                CacheGetResult<Object> cacheGetResult = this.getCache().get(branchName, timestamp, QualifiedKey.create(keyspaceName, key));
+                if (cacheGetResult.isMiss()) {
+                    keysToLoad.add(key);
+                    continue;
+                }
+                Object value = cacheGetResult.getValue();
+                if (value != null) {
+                    resultMap.put(key, assumeImmutableValues ? value : KryoManager.deepCopy(value));
+                }
+            }
+            if (keysToLoad.isEmpty()) {
+                return resultMap;
+            }
+            TemporalDataMatrix matrix = this.getMatrix(keyspaceName);
+            Map<String, GetResult<byte[]>> rangedResults;
+            if (matrix == null) {
+                // the keyspace doesn't exist (in this branch), so none of the keys has a value
+                rangedResults = Collections.emptyMap();
+            } else {
+                rangedResults = this.performRangedGetAllBinaryInternal(branchName, matrix, keysToLoad, timestamp);
+            }
+            if (this.isMasterBranchTKVS() == false) {
+                // re-route the keys we did not find in our branch to the origin branch
+                Set<String> keysToForward = keysToLoad.stream()
+                    .filter(key -> rangedResults.containsKey(key) == false || rangedResults.get(key).isHit() == false)
+                    .collect(Collectors.toSet());
+                if (keysToForward.isEmpty() == false) {
+                    ChronoDBTransaction tempTx = this.createOriginBranchTx(timestamp);
+                    if (binary) {
+                        resultMap.putAll(this.getOriginBranchTKVS().performGetAllBinary(tempTx, keyspaceName, keysToForward));
+                    } else {
+                        resultMap.putAll(this.getOriginBranchTKVS().performGetAll(tempTx, keyspaceName, keysToForward));
+                    }
+                }
+            }
+            // process the results which have been resolved in our branch. In the master branch, this includes
+            // the results without a value, because they are worth caching as well.
+            List<GetResult<byte[]>> localResults = rangedResults.values().stream()
+                .filter(result -> result.isHit() || this.isMasterBranchTKVS())
+                .collect(Collectors.toList());
+            if (binary) {
+                for (GetResult<byte[]> result : localResults) {
+                    if (result.getValue() != null) {
+                        resultMap.put(result.getRequestedKey().getKey(), result.getValue());
+                    }
+                }
+                return resultMap;
+            }
+            List<GetResult<Object>> deserializedResults = this.deserializeResults(localResults);
+            for (GetResult<Object> result : deserializedResults) {
+                this.getCache().cache(branchName, result);
+                Object value = result.getValue();
+                if (value != null) {
+                    resultMap.put(result.getRequestedKey().getKey(), assumeImmutableValues ? value : KryoManager.deepCopy(value));
+                }
+            }
+            return resultMap;
+        }
+    }
+
+    private Map<String, GetResult<byte[]>> performRangedGetAllBinaryInternal(final String branchName,
+                                                                            final TemporalDataMatrix matrix,
+                                                                            final SortedSet<String> keys,
+                                                                            final long timestamp) {
+        Map<String, GetResult<byte[]>> resultMap = Maps.newHashMapWithExpectedSize(keys.size());
+        List<String> keysToLoad = Lists.newArrayListWithCapacity(keys.size());
+        // consult the binary cache first
+        for (String key : keys) {
+            GetResult<byte[]> cachedResult = this.getBinaryCache().get(branchName, timestamp, QualifiedKey.create(matrix.getKeyspace(), key));
+            if (cachedResult != null) {
+                resultMap.put(key, cachedResult);
+            } else {
+                keysToLoad.add(key);
+            }
+        }
+        if (keysToLoad.isEmpty()) {
+            return resultMap;
+        }
+        // resolve the remaining keys on the backend in one go
+        Map<String, GetResult<byte[]>> loadedResults = matrix.getAll(timestamp, keysToLoad);
+        for (Entry<String, GetResult<byte[]>> entry : loadedResults.entrySet()) {
+            GetResult<byte[]> rangedResult = entry.getValue();
+            if (rangedResult.isHit() || this.isMasterBranchTKVS()) {
+                // note: in child branches, only hits are final; misses are forwarded to the origin branch
+                this.getBinaryCache().cache(branchName, rangedResult);
+            }
+            resultMap.put(entry.getKey(), rangedResult);
+        }
+        return resultMap;
+    }
+
+    private List<GetResult<Object>> deserializeResults(final List<GetResult<byte[]>> binaryResults) {
+        SerializationManager serializationManager = this.getOwningDB().getSerializationManager();
+        if (binaryResults.size() < PARALLEL_DESERIALIZATION_THRESHOLD) {
+            return binaryResults.stream()
+                .map(result -> this.deserializeResult(serializationManager, result))
+                .collect(Collectors.toList());
+        }
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        int batchSize = Math.max(PARALLEL_DESERIALIZATION_THRESHOLD / 2, (binaryResults.size() + parallelism - 1) / parallelism);
+        List<List<GetResult<byte[]>>> batches = Lists.partition(binaryResults, batchSize);
+        // the calling thread deserializes the first batch itself, such that it makes progress even if the pool is busy
+        List<Future<List<GetResult<Object>>>> futures = Lists.newArrayListWithCapacity(batches.size() - 1);
+        for (List<GetResult<byte[]>> batch : batches.subList(1, batches.size())) {
+            futures.add(DESERIALIZATION_EXECUTOR.submit(() -> batch.stream()
+                .map(result -> this.deserializeResult(serializationManager, result))
+                .collect(Collectors.toList())
+            ));
+        }
+        List<GetResult<Object>> deserializedResults = Lists.newArrayListWithCapacity(binaryResults.size());
+        try {
+            for (GetResult<byte[]> result : batches.get(0)) {
+                deserializedResults.add(this.deserializeResult(serializationManager, result));
+            }
+            for (Future<List<GetResult<Object>>> future : futures) {
+                deserializedResults.addAll(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ChronoDBSerializationException("Interrupted while deserializing values!", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new ChronoDBSerializationException("Failed to deserialize values!", e.getCause());
+        } finally {
+            // don't leave work behind if we fail
+            futures.forEach(future -> future.cancel(true));
+        }
+        return deserializedResults;
+    }
+
+    private static ExecutorService createDeserializationExecutor() {
+        int threads = Runtime.getRuntime().availableProcessors();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder()
+                .setNameFormat("ChronoDB-Deserialization-%d")
+                .setDaemon(true)
+                .build()
+        );
+        // idle threads are released, such that the pool costs nothing while there are no bulk gets
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private GetResult<Object> deserializeResult(final SerializationManager serializationManager,
+                                                final GetResult<byte[]> binaryResult) {
+        byte[] serialForm = binaryResult.getValue();
+        Object deserializedValue = null;
+        if (serialForm != null && serialForm.length > 0) {
+            deserializedValue = serializationManager.deserialize(serialForm);
+        }
+        return GetResult.create(binaryResult.getRequestedKey(), deserializedValue, binaryResult.getPeriod());
+    }
+
     @Override
     public Set<String> performKeySet(final ChronoDBTransaction tx, final String keyspaceName) {
         checkNotNull(tx, "Precondition violation - argument 'tx' must not be NULL!");
@@ -605,6 +911,66 @@ public abstract class AbstractTemporalKeyValueStore extends TemporalKeyValueStor
         }
     }
 
+    @Override
+    public CloseableIterator<String> performKeyStream(final ChronoDBTransaction tx, final String keyspaceName) {
+        checkNotNull(tx, "Precondition violation - argument 'tx' must not be NULL!");
+        checkNotNull(keyspaceName, "Precondition violation - argument 'keyspaceName' must not be NULL!");
+        return this.performKeyStream(tx.getBranchName(), tx.getTimestamp(), keyspaceName);
+    }
+
+    @Override
+    public CloseableIterator<String> performKeyStream(final ChronoDBTransaction tx, final String keyspaceName, final String prefix) {
+        checkNotNull(tx, "Precondition violation - argument 'tx' must not be NULL!");
+        checkNotNull(keyspaceName, "Precondition violation - argument 'keyspaceName' must not be NULL!");
+        checkNotNull(prefix, "Precondition violation - argument 'prefix' must not be NULL!");
+        return this.performKeyStream(tx.getBranchName(), tx.getTimestamp(), keyspaceName, prefix);
+    }
+
+    public CloseableIterator<String> performKeyStream(final String branch, final long timestamp, final String keyspaceName) {
+        return this.performKeyStream(branch, timestamp, keyspaceName, "");
+    }
+
+    public CloseableIterator<String> performKeyStream(final String branch, final long timestamp, final String keyspaceName, final String prefix) {
+        checkNotNull(branch, "Precondition violation - argument 'branch' must not be NULL!");
+        checkArgument(timestamp >= 0, "Precondition violation - argument 'timestamp' must not be negative!");
+        checkNotNull(keyspaceName, "Precondition violation - argument 'keyspaceName' must not be NULL!");
+        checkNotNull(prefix, "Precondition violation - argument 'prefix' must not be NULL!");
+        // note: the lock only covers the creation of the stream, not the iteration. The stream is therefore
+        // weakly consistent with respect to dateback operations and rollbacks (see TemporalKeyValueStore#performKeyStream).
+        try (AutoLock lock = this.lockNonExclusive()) {
+            TemporalDataMatrix matrix = this.getMatrix(keyspaceName);
+            if (this.getOwningBranch().getOrigin() == null) {
+                // we are master, stream the keys directly from the matrix
+                if (matrix == null) {
+                    // keyspace is not present, return the empty iterator
+                    return CloseableIterator.wrap(Collections.<String>emptyIterator());
+                }
+                return matrix.keyStream(timestamp, prefix);
+            } else {
+                // we are a sub-branch, stream the keys of our origin
+                Branch origin = this.getOwningBranch().getOrigin();
+                long branchingTS = this.getOwningBranch().getBranchingTimestamp();
+                ChronoDBTransaction tmpTX = this.getOwningDB().tx(origin.getName(), branchingTS);
+                CloseableIterator<String> originKeys = tmpTX.keyStream(keyspaceName, prefix);
+                if (matrix == null) {
+                    // the matrix does not exist in this branch, i.e. nothing was added to it yet,
+                    // therefore the keys of our origins are complete
+                    return originKeys;
+                }
+                // the branch-local modifications are (usually) small compared to the
+                // key set of the origin, so we hold them in memory and apply them on the fly
+                KeySetModifications modifications = matrix.keySetModifications(timestamp, prefix);
+                Set<String> additions = modifications.getAdditions();
+                Set<String> removals = modifications.getRemovals();
+                CloseableIterator<String> inheritedKeys = CloseableIterator.filter(originKeys,
+                    key -> !additions.contains(key) && !removals.contains(key)
+                );
+                CloseableIterator<String> localKeys = CloseableIterator.wrap(additions.iterator());
+                return CloseableIterator.concat(Iterators.forArray(localKeys, inheritedKeys));
+            }
+        }
+    }
+
     @Override
     public Iterator<Long> performHistory(final ChronoDBTransaction tx, final QualifiedKey key, final long lowerBound, final long upperBound, final Order order) {
         checkNotNull(tx, "Precondition violation - argument 'tx' must not be NULL!");
@@ -1132,7 +1498,7 @@ public abstract class AbstractTemporalKeyValueStore extends TemporalKeyValueStor
         for (Entry<QualifiedKey, Object> entry : entries.entrySet()) {
             QualifiedKey qualifiedKey = entry.getKey();
             Object value = entry.getValue();
-            byte[] serialized = this.serialize(value);
+            byte[] serialized = this.serialize(qualifiedKey.getKeyspace(), value);
             ChronoIdentifier chronoIdentifier = ChronoIdentifier.create(branch, timestamp, qualifiedKey);
             ChronoDBEntry dbEntry = ChronoDBEntry.create(chronoIdentifier, serialized);
             dbEntries.add(dbEntry);
@@ -1167,6 +1533,7 @@ public abstract class AbstractTemporalKeyValueStore extends TemporalKeyValueStor
             // transformation function stated that the entry is unchanged
             return Collections.emptySet();
         }
+        this.getOwningDB().getSerializationManager().flush();
         matrix.insertEntries(Collections.singleton(entry), true);
         return Collections.singleton(TemporalKey.create(timestamp, keyspace, key));
     }
@@ -1195,6 +1562,7 @@ public abstract class AbstractTemporalKeyValueStore extends TemporalKeyValueStor
                     (oldValue) -> valueTransformation.apply(localKey, oldValue)
                 )
             ).filter(java.util.Objects::nonNull).collect(Collectors.toSet());
+            this.getOwningDB().getSerializationManager().flush();
             matrix.insertEntries(transformedEntries, true);
             resultSet.addAll(transformedEntries.stream().map(UnqualifiedTemporalEntry::getKey).map(utk -> utk.toTemporalKey(keyspace)).collect(Collectors.toSet()));
         }
@@ -1227,6 +1595,7 @@ public abstract class AbstractTemporalKeyValueStore extends TemporalKeyValueStor
             newEntries.add(entry);
             if (newEntries.size() >= maxBatchSize) {
                 // flush this batch of entries back into the matrix
+                this.getOwningDB().getSerializationManager().flush();
                 matrix.insertEntries(newEntries, true);
                 modifiedKeys.addAll(
                     newEntries.stream().map(e -> TemporalKey.create(e.getKey().getTimestamp(), keyspace, key))
@@ -1236,6 +1605,7 @@ public abstract class AbstractTemporalKeyValueStore extends TemporalKeyValueStor
         }
         // flush the entries which remain in our batch
         if (newEntries.isEmpty() == false) {
+            this.getOwningDB().getSerializationManager().flush();
             matrix.insertEntries(newEntries, true);
             modifiedKeys
                 .addAll(newEntries.stream().map(e -> TemporalKey.create(e.getKey().getTimestamp(), keyspace, key))
@@ -1337,12 +1707,13 @@ public abstract class AbstractTemporalKeyValueStore extends TemporalKeyValueStor
                     // do not change this entry
                     continue;
                 }
-                UnqualifiedTemporalEntry newEntry = new UnqualifiedTemporalEntry(temporalKey, this.serialize(newValue));
+                UnqualifiedTemporalEntry newEntry = new UnqualifiedTemporalEntry(temporalKey, this.serialize(keyspace, newValue));
                 newEntries.add(newEntry);
             }
         }finally{
             iterator.close();
         }
+        this.getOwningDB().getSerializationManager().flush();
         matrix.insertEntries(newEntries, true);
         return newEntries.stream().map(UnqualifiedTemporalEntry::getKey).map(k -> k.toTemporalKey(keyspace)).collect(Collectors.toSet());
     }
@@ -1384,6 +1755,7 @@ public abstract class AbstractTemporalKeyValueStore extends TemporalKeyValueStor
             // insertion of entries can (potentially) completely wreck the consistency of our cache.
             // in order to be safe, we clear it completely.
             this.getCache().clear();
+            this.getBinaryCache().clear();
             long now = 0L;
             try {
                 now = this.getNow();
@@ -1412,6 +1784,8 @@ public abstract class AbstractTemporalKeyValueStore extends TemporalKeyValueStor
                 keyspaceToEntries.put(keyspace, unqualifiedEntry);
                 maxTimestamp = Math.max(timestamp, maxTimestamp);
             }
+            // the entries may have been serialized with new dictionary entries (e.g. during a dump import)
+            this.getOwningDB().getSerializationManager().flush();
             for (String keyspace : keyspaceToEntries.keySet()) {
                 Set<UnqualifiedTemporalEntry> entriesToInsert = keyspaceToEntries.get(keyspace);
                 if (entriesToInsert == null || entriesToInsert.isEmpty()) {
@@ -1480,6 +1854,10 @@ public abstract class AbstractTemporalKeyValueStore extends TemporalKeyValueStor
         return this.owningDB.getCache();
     }
 
+    private ChronoDBBinaryCache getBinaryCache() {
+        return this.owningDB.getBinaryCache();
+    }
+
     @Override
     protected void verifyTransaction(final ChronoDBTransaction tx) {
         if (tx.getTimestamp() > this.getNow()) {
@@ -1593,6 +1971,8 @@ public abstract class AbstractTemporalKeyValueStore extends TemporalKeyValueStor
             }
         }
         this.getCache().writeThrough(branchName, timestamp, keyValues);
+        // the binary cache doesn't receive the new values, we only terminate the validity of the old ones
+        this.getBinaryCache().writeThrough(branchName, timestamp, keyValues.keySet());
     }
 
     @VisibleForTesting
@@ -1606,10 +1986,12 @@ public abstract class AbstractTemporalKeyValueStore extends TemporalKeyValueStor
                 matrix.rollback(timestamp);
             }
         }
-        // roll back the commit metadata store
+        // roll back the commit metadata store and the change log
         this.getCommitMetadataStore().rollbackToTimestamp(timestamp);
-        // roll back the cache
+        this.getChangeLogStore().rollbackToTimestamp(timestamp);
+        // roll back the caches
         this.getCache().rollbackToTimestamp(timestamp);
+        this.getBinaryCache().rollbackToTimestamp(timestamp);
         // only rollback the index manager if we touched it during the commit
         if (touchedIndex) {
             this.getOwningDB().getIndexManager().rollback(this.getOwningBranch(), timestamp);
@@ -1822,10 +2204,23 @@ public abstract class AbstractTemporalKeyValueStore extends TemporalKeyValueStor
     // =================================================================================================================
 
     private long waitForNextValidCommitTimestamp() {
-        long time;
-        time = System.currentTimeMillis();
         // make sure we do not write to the same timestamp twice
-        while (time <= this.getNow()) {
+        return this.waitForCommitTimestampAfter(this.getNow());
+    }
+
+    /**
+     * Waits until the wall clock has passed the given timestamp, and returns the current time.
+     *
+     * <p>
+     * Commit timestamps are never taken from the future, otherwise the "now" timestamp of the branch would lie ahead
+     * of the wall clock, and transactions opened on the head revision would not see the commit.
+     *
+     * @param timestamp The timestamp which the commit timestamp has to be greater than.
+     * @return The commit timestamp. Always greater than the given timestamp.
+     */
+    private long waitForCommitTimestampAfter(final long timestamp) {
+        long time = System.currentTimeMillis();
+        while (time <= timestamp) {
             try {
                 Thread.sleep(1);
             } catch (InterruptedException ignored) {
@@ -1837,12 +2232,176 @@ public abstract class AbstractTemporalKeyValueStore extends TemporalKeyValueStor
         return time;
     }
 
+    private static RuntimeException toCommitFailure(final Throwable t) {
+        if (t instanceof RuntimeException) {
+            return (RuntimeException) t;
+        }
+        return new ChronoDBCommitException("An error occurred during the commit. Please see root cause for details.", t);
+    }
+
+    private List<PendingCommit> pollCommitGroup() {
+        int maxGroupSize = this.owningDB.getConfiguration().getGroupCommitMaxSize();
+        List<PendingCommit> group = Lists.newArrayList();
+        PendingCommit pendingCommit = this.groupCommitQueue.poll();
+        while (pendingCommit != null) {
+            group.add(pendingCommit);
+            if (group.size() >= maxGroupSize) {
+                break;
+            }
+            pendingCommit = this.groupCommitQueue.poll();
+        }
+        return group;
+    }
+
+    /**
+     * Writes the given group of commits, assigning an individual commit timestamp to each of them.
+     *
+     * <p>
+     * Like any other commit timestamp, the timestamps of the group are taken from the wall clock. If the commits of the
+     * group are analyzed within the same millisecond, the next commit waits for the clock to advance.
+     *
+     * <p>
+     * Conflicts are detected and resolved for each commit individually, against the state of the branch before the
+     * group. For this to be correct, no two commits in a group may modify the same key. Commits which overlap with an
+     * earlier commit of the group are therefore not written, but returned to the caller, who has to write them in a
+     * subsequent group.
+     *
+     * <p>
+     * Commits which fail individually (e.g. due to an unresolvable conflict or rejected commit metadata) do not affect
+     * the other commits in the group. If writing the group fails, all commits of the group are rolled back.
+     *
+     * <p>
+     * The durations of the individual write phases are recorded once per group, not once per commit.
+     *
+     * @param group The commits to write, in order of arrival. Must not be <code>null</code>.
+     * @return The commits which have been deferred to the next group. May be empty, never <code>null</code>.
+     */
+    private List<PendingCommit> writeCommitGroup(final List<PendingCommit> group) {
+        String branchName = this.getOwningBranch().getName();
+        List<PendingCommit> deferredCommits = Lists.newArrayList();
+        Set<QualifiedKey> keysInGroup = Sets.newHashSet();
+        SortedMap<Long, PendingCommit> timestampToCommit = Maps.newTreeMap();
+        SortedMap<Long, ChangeSet> timestampToChangeSet = Maps.newTreeMap();
+        CommitMetadataFilter filter = this.getOwningDB().getCommitMetadataFilter();
+        CommitTimer timer = new CommitTimer(this.owningDB.getCommitMetrics(), branchName);
+        long previousTimestamp = this.getNow();
+        timer.skip();
+        for (PendingCommit pendingCommit : group) {
+            ChronoDBTransaction tx = pendingCommit.getTransaction();
+            // the failure of a single commit is reported to its own committer, it doesn't affect the rest of the group
+            try {
+                Set<QualifiedKey> modifiedKeys = pendingCommit.getModifiedKeys();
+                boolean overlapsWithGroup = Collections.disjoint(keysInGroup, modifiedKeys) == false;
+                // also reserve the keys of deferred commits, such that commits on the same keys keep their order
+                keysInGroup.addAll(modifiedKeys);
+                if (overlapsWithGroup) {
+                    deferredCommits.add(pendingCommit);
+                    continue;
+                }
+                // the commit was enqueued without holding the lock; an incremental commit process may have started
+                // in the meantime, which rejects commits of all other transactions
+                this.assertThatTransactionMayPerformCommit(tx);
+                // each commit of the group gets its own timestamp, none of which may lie in the future
+                long time = this.waitForCommitTimestampAfter(previousTimestamp);
+                if (filter != null && filter.doesAccept(branchName, time, pendingCommit.getCommitMetadata()) == false) {
+                    Object commitMetadata = pendingCommit.getCommitMetadata();
+                    String className = (commitMetadata == null ? "NULL" : commitMetadata.getClass().getName());
+                    throw new ChronoDBCommitMetadataRejectedException("The given Commit Metadata object (class: " + className + ") was rejected by the commit metadata filter! Cancelling commit.");
+                }
+                ChangeSet changeSet = this.analyzeChangeSet(tx, tx, time);
+                timestampToCommit.put(time, pendingCommit);
+                timestampToChangeSet.put(time, changeSet);
+                previousTimestamp = time;
+            } catch (Throwable t) {
+                pendingCommit.fail(toCommitFailure(t));
+            }
+        }
+        timer.endPhase(CommitPhase.CHANGE_SET_ANALYSIS);
+        if (timestampToCommit.isEmpty()) {
+            return deferredCommits;
+        }
+        // the keys of the commits in the group are disjoint, so we can merge their changes for the bulk operations
+        ChangeSet groupChangeSet = new ChangeSet();
+        timestampToChangeSet.values().forEach(groupChangeSet::addAll);
+        // check that no WAL token exists on disk, then write a single token for the entire group
+        this.performRollbackToWALTokenIfExists();
+        WriteAheadLogToken token = new WriteAheadLogToken(this.getNow(), timestampToCommit.lastKey());
+        this.performWriteAheadLog(token);
+        timer.endPhase(CommitPhase.WAL_TOKEN);
+        boolean touchedIndex = false;
+        try {
+            timestampToCommit.values().forEach(commit -> this.debugCallbackBeforePrimaryIndexUpdate(commit.getTransaction()));
+            timer.skip();
+            this.updatePrimaryIndex(timestampToChangeSet);
+            timer.endPhase(CommitPhase.PRIMARY_INDEX_UPDATE);
+            timestampToCommit.values().forEach(commit -> this.debugCallbackBeforeSecondaryIndexUpdate(commit.getTransaction()));
+            timer.skip();
+            touchedIndex = this.updateSecondaryIndices(groupChangeSet);
+            timer.endPhase(CommitPhase.SECONDARY_INDEX_UPDATE);
+            timestampToCommit.values().forEach(commit -> this.debugCallbackBeforeMetadataUpdate(commit.getTransaction()));
+            timer.skip();
+            SortedMap<Long, Object> timestampToMetadata = Maps.newTreeMap();
+            timestampToCommit.forEach((timestamp, commit) -> timestampToMetadata.put(timestamp, commit.getCommitMetadata()));
+            this.getCommitMetadataStore().putAll(timestampToMetadata);
+            timer.endPhase(CommitPhase.COMMIT_METADATA_STORE);
+            SortedMap<Long, Set<QualifiedKey>> timestampToModifiedKeys = Maps.newTreeMap();
+            timestampToChangeSet.forEach((timestamp, changeSet) -> timestampToModifiedKeys.put(timestamp, changeSet.getAllModifiedKeys()));
+            this.getChangeLogStore().putAll(timestampToModifiedKeys);
+            timer.endPhase(CommitPhase.CHANGE_LOG_STORE);
+            timestampToCommit.values().forEach(commit -> this.debugCallbackBeforeCacheUpdate(commit.getTransaction()));
+            timer.skip();
+            timestampToChangeSet.forEach((timestamp, changeSet) -> this.writeCommitThroughCache(branchName, timestamp, changeSet.getEntriesByKeyspace()));
+            timer.endPhase(CommitPhase.CACHE_UPDATE);
+            timestampToCommit.values().forEach(commit -> this.debugCallbackBeforeNowTimestampUpdate(commit.getTransaction()));
+            timer.skip();
+            this.setNow(timestampToCommit.lastKey());
+            timer.endPhase(CommitPhase.SET_NOW);
+            timestampToCommit.values().forEach(commit -> this.debugCallbackBeforeTransactionCommitted(commit.getTransaction()));
+        } catch (Throwable t) {
+            // an error occurred, we need to roll back the entire group
+            this.rollbackCurrentCommit(groupChangeSet, touchedIndex);
+            for (PendingCommit commit : timestampToCommit.values()) {
+                commit.fail(new ChronoDBCommitException(
+                    "An error occurred during the commit. Please see root cause for details.", t));
+            }
+            return deferredCommits;
+        }
+        // everything ok in this group, we can clear the write ahead log
+        timer.skip();
+        this.clearWriteAheadLogToken();
+        timer.endPhase(CommitPhase.CLEAR_WAL_TOKEN);
+        // clear the branch head statistics cache, forcing a recalculation on the next access
+        this.owningDB.getStatisticsManager().clearBranchHeadStatistics(branchName);
+        // notify the change feed in commit order (we still hold the commit lock)
+        timestampToChangeSet.forEach((timestamp, changeSet) -> this.owningDB.getChangeFeedManager().notifyCommit(branchName, timestamp, changeSet));
+        timestampToCommit.forEach((timestamp, commit) -> commit.complete(timestamp));
+        return deferredCommits;
+    }
+
+    private void writeChangeLog(final long time, final ChangeSet changeSet) {
+        Set<QualifiedKey> modifiedKeys = changeSet.getAllModifiedKeys();
+        if (this.isIncrementalCommitProcessOngoing()) {
+            // all increments are written to the same timestamp; keep the keys of the previous increments
+            Set<QualifiedKey> previouslyModifiedKeys = this.getChangeLogStore().get(time);
+            if (previouslyModifiedKeys != null) {
+                modifiedKeys.addAll(previouslyModifiedKeys);
+            }
+        }
+        this.getChangeLogStore().put(time, modifiedKeys);
+    }
+
     private ChangeSet analyzeChangeSet(final ChronoDBTransaction tx, final ChronoDBTransaction oldValueTx,
                                        final long time) {
         ChangeSet changeSet = new ChangeSet();
         boolean duplicateVersionEliminationEnabled = tx.getConfiguration().getDuplicateVersionEliminationMode()
             .equals(DuplicateVersionEliminationMode.ON_COMMIT);
         ConflictResolutionStrategy conflictResolutionStrategy = tx.getConfiguration().getConflictResolutionStrategy();
+        // the previous values are only needed for the events of the change feed. Values of large entries would
+        // otherwise double the heap usage of the commit, so we only keep them while somebody is listening.
+        boolean trackPreviousValues = this.owningDB.getChangeFeedManager().hasSubscribers(this.getOwningBranch().getName());
+        if (trackPreviousValues) {
+            changeSet.trackPreviousValues();
+        }
         for (ChangeSetEntry entry : tx.getChangeSet()) {
             String keyspace = entry.getKeyspace();
             String key = entry.getKey();
@@ -1878,6 +2437,9 @@ public abstract class AbstractTemporalKeyValueStore extends TemporalKeyValueStor
             } else {
                 changeSet.addEntry(keyspace, key, newValue);
             }
+            if (trackPreviousValues) {
+                changeSet.addPreviousValue(keyspace, key, oldValue);
+            }
 
             ChronoIdentifier identifier = ChronoIdentifier.create(this.getOwningBranch(), time, keyspace, key);
             if (options.contains(PutOption.NO_INDEX) == false) {
@@ -1887,29 +2449,38 @@ public abstract class AbstractTemporalKeyValueStore extends TemporalKeyValueStor
         return changeSet;
     }
 
-    private void updatePrimaryIndex(String perfLogPrefix, final long time, final ChangeSet changeSet) {
-        boolean performanceLoggingActive = this.owningDB.getConfiguration().isCommitPerformanceLoggingActive();
+    private void updatePrimaryIndex(final long time, final ChangeSet changeSet) {
         SerializationManager serializer = this.getOwningDB().getSerializationManager();
-        long beforeSerialization = System.currentTimeMillis();
-        Iterable<Entry<String, Map<String, byte[]>>> serializedChangeSet = changeSet
-            .getSerializedEntriesByKeyspace(serializer::serialize);
-        if (performanceLoggingActive) {
-            ChronoLogger.logInfo(perfLogPrefix + " -> Serialize ChangeSet (" + changeSet.size() + "): " + (System.currentTimeMillis() - beforeSerialization) + "ms.");
+        // serialize everything up front, such that the serialization manager can be flushed before the first write
+        Map<String, Map<String, byte[]>> keyspaceToContents = Maps.newHashMap();
+        for (Entry<String, Map<String, byte[]>> entry : changeSet.getSerializedEntriesByKeyspace(serializer::serialize)) {
+            keyspaceToContents.put(entry.getKey(), Maps.newHashMap(entry.getValue()));
         }
-        for (Entry<String, Map<String, byte[]>> entry : serializedChangeSet) {
+        serializer.flush();
+        for (Entry<String, Map<String, byte[]>> entry : keyspaceToContents.entrySet()) {
             String keyspace = entry.getKey();
             Map<String, byte[]> contents = entry.getValue();
-            long beforeGetMatrix = System.currentTimeMillis();
             TemporalDataMatrix matrix = this.getOrCreateMatrix(keyspace, time);
-            if (performanceLoggingActive) {
-                ChronoLogger.logInfo(perfLogPrefix + " -> Get Matrix for keyspace [" + keyspace + "]: " + (System.currentTimeMillis() - beforeGetMatrix) + "ms.");
-            }
-            long beforePut = System.currentTimeMillis();
             matrix.put(time, contents);
-            if (performanceLoggingActive) {
-                ChronoLogger.logInfo(perfLogPrefix + " -> Put ChangeSet (" + changeSet.size() + ") into keyspace [" + keyspace + "]: " + (System.currentTimeMillis() - beforePut) + "ms.");
+        }
+    }
+
+    private void updatePrimaryIndex(final SortedMap<Long, ChangeSet> timestampToChangeSet) {
+        SerializationManager serializer = this.getOwningDB().getSerializationManager();
+        // regroup the changes by keyspace, such that each matrix receives all of its changes at once
+        Map<String, SortedMap<Long, Map<String, byte[]>>> keyspaceToContents = Maps.newHashMap();
+        for (Entry<Long, ChangeSet> changeSetEntry : timestampToChangeSet.entrySet()) {
+            long time = changeSetEntry.getKey();
+            for (Entry<String, Map<String, byte[]>> entry : changeSetEntry.getValue().getSerializedEntriesByKeyspace(serializer::serialize)) {
+                keyspaceToContents.computeIfAbsent(entry.getKey(), k -> Maps.newTreeMap()).put(time, Maps.newHashMap(entry.getValue()));
             }
         }
+        serializer.flush();
+        for (Entry<String, SortedMap<Long, Map<String, byte[]>>> entry : keyspaceToContents.entrySet()) {
+            SortedMap<Long, Map<String, byte[]>> contents = entry.getValue();
+            TemporalDataMatrix matrix = this.getOrCreateMatrix(entry.getKey(), contents.firstKey());
+            matrix.putAll(contents);
+        }
     }
 
     private boolean updateSecondaryIndices(final ChangeSet changeSet) {
@@ -1947,6 +2518,7 @@ public abstract class AbstractTemporalKeyValueStore extends TemporalKeyValueStor
         if (this.isIncrementalCommitProcessOngoing()) {
             // as a safety measure, we also have to clear the cache
             this.getCache().clear();
+            this.getBinaryCache().clear();
             // terminate the incremental commit process
             this.terminateIncrementalCommitProcess();
         }
@@ -2022,11 +2594,11 @@ public abstract class AbstractTemporalKeyValueStore extends TemporalKeyValueStor
         return deserializedValue;
     }
 
-    protected byte[] serialize(final Object object) {
+    protected byte[] serialize(final String keyspace, final Object object) {
         if (object == null) {
             return new byte[0];
         }
-        return this.getOwningDB().getSerializationManager().serialize(object);
+        return this.getOwningDB().getSerializationManager().serialize(keyspace, object);
     }
 
     /**
@@ -2084,7 +2656,7 @@ public abstract class AbstractTemporalKeyValueStore extends TemporalKeyValueStor
         if (newValue == Dateback.UNCHANGED) {
             return null;
         }
-        byte[] serializedNewValue = this.serialize(newValue);
+        byte[] serializedNewValue = this.serialize(keyspace, newValue);
         UnqualifiedTemporalEntry entry = new UnqualifiedTemporalEntry(UnqualifiedTemporalKey.create(key, timestamp),
             serializedNewValue);
         return entry;
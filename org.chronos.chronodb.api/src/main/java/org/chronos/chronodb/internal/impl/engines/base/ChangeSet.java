@@ -6,7 +6,7 @@ import java.util.Collections;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.function.Function;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.tuple.Pair;
@@ -15,11 +15,22 @@ import org.chronos.chronodb.api.key.QualifiedKey;
 
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 
 public class ChangeSet {
 
 	private final Map<String, Map<String, Object>> keyspaceToKeyToValue = Maps.newHashMap();
 	private final Map<ChronoIdentifier, Pair<Object, Object>> entriesToIndex = Maps.newHashMap();
+	private final Map<String, Map<String, Object>> keyspaceToKeyToPreviousValue = Maps.newHashMap();
+	private boolean previousValuesTracked = false;
+
+	public void trackPreviousValues() {
+		this.previousValuesTracked = true;
+	}
+
+	public boolean isTrackingPreviousValues() {
+		return this.previousValuesTracked;
+	}
 
 	public void addEntry(final String keyspace, final String key, final Object value) {
 		checkNotNull(keyspace, "Precondition violation - argument 'keyspace' must not be NULL!");
@@ -32,13 +43,40 @@ public class ChangeSet {
 		keyspaceMap.put(key, value);
 	}
 
+	public void addPreviousValue(final String keyspace, final String key, final Object previousValue) {
+		checkNotNull(keyspace, "Precondition violation - argument 'keyspace' must not be NULL!");
+		checkNotNull(key, "Precondition violation - argument 'key' must not be NULL!");
+		if (this.previousValuesTracked == false) {
+			throw new IllegalStateException("This change set does not track previous values!");
+		}
+		this.keyspaceToKeyToPreviousValue.computeIfAbsent(keyspace, k -> Maps.newHashMap()).put(key, previousValue);
+	}
+
 	public void addEntryToIndex(final ChronoIdentifier identifier, final Object oldValue, final Object newValue) {
 		checkNotNull(identifier, "Precondition violation - argument 'identifier' must not be NULL!");
 		this.entriesToIndex.put(identifier, Pair.of(oldValue, newValue));
 	}
 
+	public void addAll(final ChangeSet other) {
+		checkNotNull(other, "Precondition violation - argument 'other' must not be NULL!");
+		for (Entry<String, Map<String, Object>> keyspaceEntry : other.keyspaceToKeyToValue.entrySet()) {
+			for (Entry<String, Object> entry : keyspaceEntry.getValue().entrySet()) {
+				this.addEntry(keyspaceEntry.getKey(), entry.getKey(), entry.getValue());
+			}
+		}
+		this.entriesToIndex.putAll(other.entriesToIndex);
+		if (this.previousValuesTracked == false) {
+			return;
+		}
+		for (Entry<String, Map<String, Object>> keyspaceEntry : other.keyspaceToKeyToPreviousValue.entrySet()) {
+			for (Entry<String, Object> entry : keyspaceEntry.getValue().entrySet()) {
+				this.addPreviousValue(keyspaceEntry.getKey(), entry.getKey(), entry.getValue());
+			}
+		}
+	}
+
 	public Iterable<Entry<String, Map<String, byte[]>>> getSerializedEntriesByKeyspace(
-			final Function<Object, byte[]> serializer) {
+			final BiFunction<String, Object, byte[]> serializer) {
 		Set<Entry<String, Map<String, Object>>> set = this.keyspaceToKeyToValue.entrySet();
 		return Iterables.transform(set, entry -> {
 			String keyspace = entry.getKey();
@@ -47,7 +85,7 @@ public class ChangeSet {
 				if (value == null) {
 					return null;
 				} else {
-					return serializer.apply(value);
+					return serializer.apply(keyspace, value);
 				}
 			});
 			return Pair.of(keyspace, serialContents);
@@ -67,6 +105,26 @@ public class ChangeSet {
 		return Collections.unmodifiableMap(this.keyspaceToKeyToValue);
 	}
 
+	public Object getPreviousValue(final String keyspace, final String key) {
+		checkNotNull(keyspace, "Precondition violation - argument 'keyspace' must not be NULL!");
+		checkNotNull(key, "Precondition violation - argument 'key' must not be NULL!");
+		Map<String, Object> keyToPreviousValue = this.keyspaceToKeyToPreviousValue.get(keyspace);
+		if (keyToPreviousValue == null) {
+			return null;
+		}
+		return keyToPreviousValue.get(key);
+	}
+
+	public Set<QualifiedKey> getAllModifiedKeys() {
+		Set<QualifiedKey> resultSet = Sets.newHashSet();
+		for (Entry<String, Map<String, Object>> keyspaceEntry : this.keyspaceToKeyToValue.entrySet()) {
+			for (String key : keyspaceEntry.getValue().keySet()) {
+				resultSet.add(QualifiedKey.create(keyspaceEntry.getKey(), key));
+			}
+		}
+		return resultSet;
+	}
+
 	public Set<String> getModifiedKeyspaces() {
 		return Collections.unmodifiableSet(this.keyspaceToKeyToValue.keySet());
 	}
@@ -0,0 +1,82 @@
+package org.chronos.chronodb.internal.impl.engines.base;
+
+import static com.google.common.base.Preconditions.*;
+
+import java.util.Set;
+
+import org.chronos.chronodb.api.ChangeSetEntry;
+import org.chronos.chronodb.api.ChronoDBTransaction;
+import org.chronos.chronodb.api.key.QualifiedKey;
+
+import com.google.common.collect.Sets;
+
+/**
+ * A commit request which waits in the group commit queue of a branch.
+ *
+ * <p>
+ * Pending commits are created by the thread which requests the commit, and completed by the thread which happens to
+ * write the group the commit belongs to. Both threads access instances of this class only while holding the commit
+ * lock of the branch.
+ */
+class PendingCommit {
+
+	private final ChronoDBTransaction transaction;
+	private final Object commitMetadata;
+
+	private volatile boolean done = false;
+	private volatile long commitTimestamp = -1L;
+	private volatile RuntimeException failure;
+
+	PendingCommit(final ChronoDBTransaction transaction, final Object commitMetadata) {
+		checkNotNull(transaction, "Precondition violation - argument 'transaction' must not be NULL!");
+		this.transaction = transaction;
+		this.commitMetadata = commitMetadata;
+	}
+
+	public ChronoDBTransaction getTransaction() {
+		return this.transaction;
+	}
+
+	public Object getCommitMetadata() {
+		return this.commitMetadata;
+	}
+
+	public Set<QualifiedKey> getModifiedKeys() {
+		Set<QualifiedKey> keys = Sets.newHashSet();
+		for (ChangeSetEntry entry : this.transaction.getChangeSet()) {
+			keys.add(QualifiedKey.create(entry.getKeyspace(), entry.getKey()));
+		}
+		return keys;
+	}
+
+	public boolean isDone() {
+		return this.done;
+	}
+
+	public void complete(final long commitTimestamp) {
+		checkState(this.done == false, "Pending commit has already been completed!");
+		this.commitTimestamp = commitTimestamp;
+		this.done = true;
+	}
+
+	public void fail(final RuntimeException failure) {
+		checkNotNull(failure, "Precondition violation - argument 'failure' must not be NULL!");
+		checkState(this.done == false, "Pending commit has already been completed!");
+		this.failure = failure;
+		this.done = true;
+	}
+
+	/**
+	 * Returns the commit timestamp assigned to this commit, or throws the exception which caused it to fail.
+	 *
+	 * @return The commit timestamp.
+	 */
+	public long getResult() {
+		checkState(this.done, "Pending commit has not been completed yet!");
+		if (this.failure != null) {
+			throw this.failure;
+		}
+		return this.commitTimestamp;
+	}
+
+}
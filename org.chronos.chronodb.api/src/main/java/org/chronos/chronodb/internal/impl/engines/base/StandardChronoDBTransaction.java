@@ -12,6 +12,7 @@ import org.chronos.chronodb.api.key.QualifiedKey;
 import org.chronos.chronodb.api.key.TemporalKey;
 import org.chronos.chronodb.internal.api.TemporalKeyValueStore;
 import org.chronos.chronodb.internal.api.query.ChronoDBQuery;
+import org.chronos.chronodb.internal.api.stream.CloseableIterator;
 
 import java.util.*;
 import java.util.Map.Entry;
@@ -114,6 +115,34 @@ public class StandardChronoDBTransaction implements ChronoDBTransaction {
         return this.getTKVS().performGetBinary(this, key);
     }
 
+    @Override
+    public <T> Map<String, T> getAll(final String keyspaceName, final Collection<String> keys)
+        throws ValueTypeMismatchException, UnknownKeyspaceException {
+        checkNotNull(keyspaceName, "Precondition violation - argument 'keyspaceName' must not be NULL!");
+        checkNotNull(keys, "Precondition violation - argument 'keys' must not be NULL!");
+        return this.getAllInternal(keyspaceName, keys);
+    }
+
+    @Override
+    public Map<String, byte[]> getAllBinary(final String keyspaceName, final Collection<String> keys)
+        throws UnknownKeyspaceException {
+        checkNotNull(keyspaceName, "Precondition violation - argument 'keyspaceName' must not be NULL!");
+        checkNotNull(keys, "Precondition violation - argument 'keys' must not be NULL!");
+        return this.getAllInternalBinary(keyspaceName, keys);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected <T> Map<String, T> getAllInternal(final String keyspaceName, final Collection<String> keys)
+        throws ValueTypeMismatchException, UnknownKeyspaceException {
+        // note: due to type erasure, a type mismatch will only surface when the caller accesses the values
+        return (Map<String, T>) this.getTKVS().performGetAll(this, keyspaceName, keys);
+    }
+
+    protected Map<String, byte[]> getAllInternalBinary(final String keyspaceName, final Collection<String> keys)
+        throws UnknownKeyspaceException {
+        return this.getTKVS().performGetAllBinary(this, keyspaceName, keys);
+    }
+
     // =================================================================================================================
     // OPERATION [ EXISTS ]
     // =================================================================================================================
@@ -157,6 +186,32 @@ public class StandardChronoDBTransaction implements ChronoDBTransaction {
         return this.getTKVS().performKeySet(this, keyspaceName);
     }
 
+    @Override
+    public CloseableIterator<String> keyStream() {
+        return this.keyStreamInternal(ChronoDBConstants.DEFAULT_KEYSPACE_NAME);
+    }
+
+    @Override
+    public CloseableIterator<String> keyStream(final String keyspaceName) {
+        checkNotNull(keyspaceName, "Precondition violation - argument 'keyspaceName' must not be NULL!");
+        return this.keyStreamInternal(keyspaceName);
+    }
+
+    @Override
+    public CloseableIterator<String> keyStream(final String keyspaceName, final String prefix) {
+        checkNotNull(keyspaceName, "Precondition violation - argument 'keyspaceName' must not be NULL!");
+        checkNotNull(prefix, "Precondition violation - argument 'prefix' must not be NULL!");
+        return this.keyStreamInternal(keyspaceName, prefix);
+    }
+
+    protected CloseableIterator<String> keyStreamInternal(final String keyspaceName) {
+        return this.getTKVS().performKeyStream(this, keyspaceName);
+    }
+
+    protected CloseableIterator<String> keyStreamInternal(final String keyspaceName, final String prefix) {
+        return this.getTKVS().performKeyStream(this, keyspaceName, prefix);
+    }
+
     // =================================================================================================================
     // OPERATION [ HISTORY ]
     // =================================================================================================================
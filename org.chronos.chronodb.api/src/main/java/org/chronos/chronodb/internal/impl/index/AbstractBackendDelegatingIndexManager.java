@@ -6,7 +6,9 @@ import com.google.common.collect.SetMultimap;
 import com.google.common.collect.Sets;
 import org.chronos.chronodb.api.Branch;
 import org.chronos.chronodb.api.exceptions.ChronoDBIndexingException;
+import org.chronos.chronodb.api.exceptions.UnknownIndexException;
 import org.chronos.chronodb.api.indexing.DoubleIndexer;
+import org.chronos.chronodb.api.indexing.IndexEncoding;
 import org.chronos.chronodb.api.indexing.Indexer;
 import org.chronos.chronodb.api.indexing.LongIndexer;
 import org.chronos.chronodb.api.indexing.StringIndexer;
@@ -37,6 +39,9 @@ public abstract class AbstractBackendDelegatingIndexManager<C extends ChronoDBIn
 
     protected final SetMultimap<String, Indexer<?>> indexNameToIndexers = HashMultimap.create();
     protected final Map<String, Boolean> indexNameToDirtyFlag = Maps.newHashMap();
+    protected final Map<String, IndexEncoding> indexNameToEncoding = Maps.newHashMap();
+    /** Snapshot of the bitmap-encoded indices, which is readable without acquiring the database lock. */
+    private volatile Set<String> bitmapIndexNames = Collections.emptySet();
 
     // =================================================================================================================
     // CONSTRUCTOR
@@ -51,6 +56,8 @@ public abstract class AbstractBackendDelegatingIndexManager<C extends ChronoDBIn
         this.indexNameToIndexers.putAll(loadedIndexers);
         this.indexNameToDirtyFlag.clear();
         this.indexNameToDirtyFlag.putAll(this.backend.loadIndexStates());
+        this.indexNameToEncoding.putAll(this.backend.loadIndexEncodings());
+        this.updateBitmapIndexNames();
     }
 
     // =================================================================================================================
@@ -115,6 +122,10 @@ public abstract class AbstractBackendDelegatingIndexManager<C extends ChronoDBIn
         try (AutoLock lock = this.getOwningDB().lockExclusive()) {
             this.backend.deleteIndexAndIndexers(indexName);
             this.indexNameToIndexers.removeAll(indexName);
+            if (this.indexNameToEncoding.remove(indexName) != null) {
+                this.backend.persistIndexEncodings(this.indexNameToEncoding);
+                this.updateBitmapIndexNames();
+            }
             this.clearQueryCache();
         }
     }
@@ -125,10 +136,60 @@ public abstract class AbstractBackendDelegatingIndexManager<C extends ChronoDBIn
         try (AutoLock lock = this.getOwningDB().lockExclusive()) {
             this.backend.deleteAllIndicesAndIndexers();
             this.indexNameToIndexers.clear();
+            if (this.indexNameToEncoding.isEmpty() == false) {
+                this.indexNameToEncoding.clear();
+                this.backend.persistIndexEncodings(this.indexNameToEncoding);
+                this.updateBitmapIndexNames();
+            }
             this.clearQueryCache();
         }
     }
 
+    @Override
+    public IndexEncoding getIndexEncoding(final String indexName) {
+        checkNotNull(indexName, "Precondition violation - argument 'indexName' must not be NULL!");
+        try (AutoLock lock = this.getOwningDB().lockNonExclusive()) {
+            return this.indexNameToEncoding.getOrDefault(indexName, IndexEncoding.STANDARD);
+        }
+    }
+
+    @Override
+    public void setIndexEncoding(final String indexName, final IndexEncoding encoding) {
+        checkNotNull(indexName, "Precondition violation - argument 'indexName' must not be NULL!");
+        checkNotNull(encoding, "Precondition violation - argument 'encoding' must not be NULL!");
+        this.getOwningDB().getConfiguration().assertNotReadOnly();
+        try (AutoLock lock = this.getOwningDB().lockExclusive()) {
+            if (this.indexNameToIndexers.containsKey(indexName) == false) {
+                throw new UnknownIndexException("There is no index named '" + indexName + "'! Indexed properties are: " + this.getIndexNames());
+            }
+            if (this.getIndexEncoding(indexName) == encoding) {
+                // nothing to do
+                return;
+            }
+            if (encoding == IndexEncoding.STANDARD) {
+                this.indexNameToEncoding.remove(indexName);
+            } else {
+                this.indexNameToEncoding.put(indexName, encoding);
+            }
+            this.backend.persistIndexEncodings(this.indexNameToEncoding);
+            this.updateBitmapIndexNames();
+            // the index structures need to be rebuilt in the new encoding
+            this.setIndexDirty(indexName);
+            this.clearQueryCache();
+        }
+    }
+
+    /**
+     * Returns the names of all indices which use the {@linkplain IndexEncoding#BITMAP bitmap} encoding.
+     *
+     * @return An immutable set of index names. May be empty, but never <code>null</code>.
+     */
+    public Set<String> getBitmapIndexNames() {
+        // note: this method is called by the indexing processes (which may run on worker threads),
+        // therefore it must not acquire the database lock.
+        return this.bitmapIndexNames;
+    }
+
     @Override
     public void addIndexer(final String indexName, final StringIndexer indexer) {
         checkNotNull(indexName, "Precondition violation - argument 'indexName' must not be NULL!");
@@ -249,6 +310,13 @@ public abstract class AbstractBackendDelegatingIndexManager<C extends ChronoDBIn
         }
     }
 
+    private void updateBitmapIndexNames() {
+        this.bitmapIndexNames = Collections.unmodifiableSet(this.indexNameToEncoding.entrySet().stream()
+            .filter(entry -> entry.getValue() == IndexEncoding.BITMAP)
+            .map(Entry::getKey)
+            .collect(Collectors.toSet()));
+    }
+
     protected void addIndexerInternal(final String indexName, final Indexer<?> indexer) {
         checkNotNull(indexName, "Precondition violation - argument 'indexName' must not be NULL!");
         checkNotNull(indexer, "Precondition violation - argument 'indexer' must not be NULL!");
@@ -2,11 +2,16 @@ package org.chronos.chronodb.internal.impl.index;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Iterators;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import org.chronos.chronodb.api.Branch;
-import org.chronos.chronodb.api.exceptions.ChronoDBQuerySyntaxException;
+import org.chronos.chronodb.api.ChronoDBTransaction;
+import org.chronos.chronodb.api.Order;
 import org.chronos.chronodb.api.exceptions.InvalidIndexAccessException;
 import org.chronos.chronodb.api.exceptions.UnknownIndexException;
+import org.chronos.chronodb.api.indexing.CompositeIndexer;
 import org.chronos.chronodb.api.indexing.DoubleIndexer;
+import org.chronos.chronodb.api.indexing.IndexEncoding;
 import org.chronos.chronodb.api.indexing.Indexer;
 import org.chronos.chronodb.api.indexing.LongIndexer;
 import org.chronos.chronodb.api.indexing.StringIndexer;
@@ -14,32 +19,48 @@ import org.chronos.chronodb.api.key.QualifiedKey;
 import org.chronos.chronodb.internal.api.ChronoDBConfiguration;
 import org.chronos.chronodb.internal.api.ChronoDBInternal;
 import org.chronos.chronodb.internal.api.index.IndexManagerInternal;
+import org.chronos.chronodb.internal.api.index.IndexStatistics;
+import org.chronos.chronodb.internal.api.query.BitmapExpression;
 import org.chronos.chronodb.internal.api.query.ChronoDBQuery;
+import org.chronos.chronodb.internal.api.query.QueryPlan;
 import org.chronos.chronodb.internal.api.query.searchspec.*;
+import org.chronos.chronodb.internal.impl.index.diff.IndexingUtils;
 import org.chronos.chronodb.internal.impl.index.querycache.ChronoIndexQueryCache;
-import org.chronos.chronodb.internal.impl.index.querycache.LRUIndexQueryCache;
 import org.chronos.chronodb.internal.impl.index.querycache.NoIndexQueryCache;
-import org.chronos.chronodb.internal.impl.index.setview.SetView;
-import org.chronos.chronodb.internal.impl.query.parser.ast.BinaryOperatorElement;
-import org.chronos.chronodb.internal.impl.query.parser.ast.BinaryQueryOperator;
-import org.chronos.chronodb.internal.impl.query.parser.ast.QueryElement;
-import org.chronos.chronodb.internal.impl.query.parser.ast.WhereElement;
+import org.chronos.chronodb.internal.impl.index.querycache.TemporalIndexQueryCache;
+import org.chronos.chronodb.internal.impl.query.planner.QueryPlanContext;
+import org.chronos.chronodb.internal.impl.query.planner.QueryPlanImpl;
+import org.chronos.chronodb.internal.impl.query.planner.QueryPlanner;
 import org.chronos.common.autolock.AutoLock;
-import org.chronos.common.exceptions.UnknownEnumLiteralException;
 
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.google.common.base.Preconditions.*;
 
 public abstract class AbstractIndexManager<C extends ChronoDBInternal> implements IndexManagerInternal {
 
+    // =================================================================================================================
+    // CONSTANTS
+    // =================================================================================================================
+
+    /** The minimum number of keys to fetch from an ordered index scan at once, see {@link #performOrderedIndexScan}. */
+    private static final int MIN_ORDERED_SCAN_SIZE = 64;
+
     // =================================================================================================================
     // FIELDS
     // =================================================================================================================
 
     private final ChronoIndexQueryCache queryCache;
+    private final QueryPlanner queryPlanner = new QueryPlanner();
     private C owningDB;
 
     // =================================================================================================================
@@ -53,8 +74,7 @@ public abstract class AbstractIndexManager<C extends ChronoDBInternal> implement
         ChronoDBConfiguration chronoDbConfig = this.getOwningDB().getConfiguration();
         if (chronoDbConfig.isIndexQueryCachingEnabled()) {
             int maxIndexQueryCacheSize = chronoDbConfig.getIndexQueryCacheMaxSize();
-            boolean debugModeEnabled = chronoDbConfig.isDebugModeEnabled();
-            this.queryCache = new LRUIndexQueryCache(maxIndexQueryCacheSize, debugModeEnabled);
+            this.queryCache = new TemporalIndexQueryCache(maxIndexQueryCacheSize);
         } else {
             // according to the configuration, no caching is required. To make sure that we still have
             // the same object structure (i.e. we don't have to deal with the cache object being NULL),
@@ -94,35 +114,166 @@ public abstract class AbstractIndexManager<C extends ChronoDBInternal> implement
         }
     }
 
+    /**
+     * Queries the index for the given search specification, stopping as soon as enough matches have been found.
+     *
+     * <p>
+     * The result contains at least <code>min(maxResults, n)</code> keys, where <code>n</code> is the total number of
+     * matches. Limited results are incomplete by definition, therefore they bypass the query cache.
+     *
+     * @param timestamp  The timestamp to query. Must not be negative.
+     * @param branch     The branch to query. Must not be <code>null</code>.
+     * @param keyspace   The keyspace to query. Must not be <code>null</code>.
+     * @param searchSpec The search specification to evaluate. Must not be <code>null</code>.
+     * @param maxResults The number of matches after which the evaluation may stop. Must be greater than zero.
+     * @return A subset of the matching keys, as described above. Never <code>null</code>, may be empty.
+     */
+    public Set<String> queryIndex(final long timestamp, final Branch branch, final String keyspace,
+                                  final SearchSpecification<?,?> searchSpec, final int maxResults) {
+        checkArgument(maxResults > 0, "Precondition violation - argument 'maxResults' must be greater than zero!");
+        if (maxResults == Integer.MAX_VALUE) {
+            return this.queryIndex(timestamp, branch, keyspace, searchSpec);
+        }
+        String property = searchSpec.getProperty();
+        if (this.getIndexNames().contains(property) == false) {
+            throw new UnknownIndexException("There is no index named '" + property + "'! Indexed properties are: " + this.getIndexNames());
+        }
+        this.assertIndexAccessIsOk(searchSpec);
+        return this.performIndexQuery(timestamp, branch, keyspace, searchSpec, maxResults);
+    }
+
+    /**
+     * Counts the keys which match the given search specification.
+     *
+     * <p>
+     * If the backend can not count the matches directly (see {@link #performIndexCount(long, Branch, String, SearchSpecification)}),
+     * the index is queried and the size of the result is returned.
+     *
+     * @param timestamp  The timestamp to query. Must not be negative.
+     * @param branch     The branch to query. Must not be <code>null</code>.
+     * @param keyspace   The keyspace to query. Must not be <code>null</code>.
+     * @param searchSpec The search specification to evaluate. Must not be <code>null</code>.
+     * @return The number of matching keys. Never negative.
+     */
+    public long countIndex(final long timestamp, final Branch branch, final String keyspace,
+                           final SearchSpecification<?,?> searchSpec) {
+        String property = searchSpec.getProperty();
+        if (this.getIndexNames().contains(property) == false) {
+            throw new UnknownIndexException("There is no index named '" + property + "'! Indexed properties are: " + this.getIndexNames());
+        }
+        this.assertIndexAccessIsOk(searchSpec);
+        Long count = this.performIndexCount(timestamp, branch, keyspace, searchSpec);
+        if (count != null) {
+            return count;
+        }
+        return this.queryIndex(timestamp, branch, keyspace, searchSpec).size();
+    }
+
     @Override
     public Iterator<QualifiedKey> evaluate(final long timestamp, final Branch branch, final ChronoDBQuery query) {
+        return this.evaluate(timestamp, branch, query, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public Iterator<QualifiedKey> evaluate(final long timestamp, final Branch branch, final ChronoDBQuery query, final int maxResults) {
         checkArgument(timestamp >= 0, "Precondition violation - argument 'timestamp' must be >= 0!");
         checkNotNull(query, "Precondition violation - argument 'query' must not be NULL!");
+        checkArgument(maxResults > 0, "Precondition violation - argument 'maxResults' must be greater than zero!");
         try (AutoLock lock = this.getOwningDB().lockNonExclusive()) {
-            // walk the AST of the query in a bottom-up fashion, applying the following strategy:
-            // - WHERE node: run the query and remember the result set
-            // - AND node: perform set intersection of left and right child result sets
-            // - OR node: perform set union of left and right child result sets
             String keyspace = query.getKeyspace();
-            QueryElement rootElement = query.getRootElement();
-            Iterator<String> iterator = this.evaluateRecursive(rootElement, timestamp, branch, keyspace).iterator();
-            return Iterators.transform(iterator, key -> QualifiedKey.create(keyspace, key));
+            Iterator<String> iterator = this.evaluateWithPlanner(timestamp, branch, query, maxResults).iterator();
+            // the plan may produce more results than requested (e.g. if an index scan stops at a chunk boundary)
+            return Iterators.limit(Iterators.transform(iterator, key -> QualifiedKey.create(keyspace, key)), maxResults);
         }
     }
 
     @Override
-    public long evaluateCount(final long timestamp, final Branch branch, final ChronoDBQuery query) {
+    public boolean evaluateExists(final long timestamp, final Branch branch, final ChronoDBQuery query) {
+        checkArgument(timestamp >= 0, "Precondition violation - argument 'timestamp' must be >= 0!");
+        checkNotNull(query, "Precondition violation - argument 'query' must not be NULL!");
+        try (AutoLock lock = this.getOwningDB().lockNonExclusive()) {
+            return this.evaluateWithPlanner(timestamp, branch, query, 1).isEmpty() == false;
+        }
+    }
+
+    @Override
+    public Iterator<QualifiedKey> evaluateOrdered(final long timestamp, final Branch branch, final ChronoDBQuery query, final String orderByIndex, final Order order, final int maxResults) {
         checkArgument(timestamp >= 0, "Precondition violation - argument 'timestamp' must be >= 0!");
+        checkNotNull(branch, "Precondition violation - argument 'branch' must not be NULL!");
         checkNotNull(query, "Precondition violation - argument 'query' must not be NULL!");
+        checkNotNull(orderByIndex, "Precondition violation - argument 'orderByIndex' must not be NULL!");
+        checkNotNull(order, "Precondition violation - argument 'order' must not be NULL!");
+        checkArgument(maxResults > 0, "Precondition violation - argument 'maxResults' must be greater than zero!");
+        if (this.getIndexNames().contains(orderByIndex) == false) {
+            throw new UnknownIndexException("There is no index named '" + orderByIndex + "'! Indexed properties are: " + this.getIndexNames());
+        }
         try (AutoLock lock = this.getOwningDB().lockNonExclusive()) {
-            // TODO PERFORMANCE: evaluating everything and then counting is not very efficient...
             String keyspace = query.getKeyspace();
-            QueryElement rootElement = query.getRootElement();
-            Set<String> resultSet = this.evaluateRecursive(rootElement, timestamp, branch, keyspace);
-            return resultSet.size();
+            // the filter is evaluated on the indices only; values are loaded (at most) for the final result
+            Set<String> matches = this.evaluateWithPlanner(timestamp, branch, query);
+            List<String> orderedKeys = this.orderKeys(timestamp, branch, keyspace, matches, orderByIndex, order, maxResults);
+            return Iterators.transform(orderedKeys.iterator(), key -> QualifiedKey.create(keyspace, key));
         }
     }
 
+    @Override
+    public long evaluateCount(final long timestamp, final Branch branch, final ChronoDBQuery query) {
+        checkArgument(timestamp >= 0, "Precondition violation - argument 'timestamp' must be >= 0!");
+        checkNotNull(query, "Precondition violation - argument 'query' must not be NULL!");
+        try (AutoLock lock = this.getOwningDB().lockNonExclusive()) {
+            return this.countWithPlanner(timestamp, branch, query);
+        }
+    }
+
+    @Override
+    public Set<Object> evaluateDistinctValues(final long timestamp, final Branch branch, final String keyspace, final String indexName) {
+        checkArgument(timestamp >= 0, "Precondition violation - argument 'timestamp' must be >= 0!");
+        checkNotNull(branch, "Precondition violation - argument 'branch' must not be NULL!");
+        checkNotNull(keyspace, "Precondition violation - argument 'keyspace' must not be NULL!");
+        checkNotNull(indexName, "Precondition violation - argument 'indexName' must not be NULL!");
+        if (this.getIndexNames().contains(indexName) == false) {
+            throw new UnknownIndexException("There is no index named '" + indexName + "'! Indexed properties are: " + this.getIndexNames());
+        }
+        try (AutoLock lock = this.getOwningDB().lockNonExclusive()) {
+            return this.collectDistinctValues(timestamp, branch, keyspace, indexName, null);
+        }
+    }
+
+    @Override
+    public Set<Object> evaluateDistinctValues(final long timestamp, final Branch branch, final ChronoDBQuery query, final String indexName) {
+        checkArgument(timestamp >= 0, "Precondition violation - argument 'timestamp' must be >= 0!");
+        checkNotNull(branch, "Precondition violation - argument 'branch' must not be NULL!");
+        checkNotNull(query, "Precondition violation - argument 'query' must not be NULL!");
+        checkNotNull(indexName, "Precondition violation - argument 'indexName' must not be NULL!");
+        if (this.getIndexNames().contains(indexName) == false) {
+            throw new UnknownIndexException("There is no index named '" + indexName + "'! Indexed properties are: " + this.getIndexNames());
+        }
+        try (AutoLock lock = this.getOwningDB().lockNonExclusive()) {
+            Set<String> matches = this.evaluateWithPlanner(timestamp, branch, query);
+            if (matches.isEmpty()) {
+                return Collections.emptySet();
+            }
+            return this.collectDistinctValues(timestamp, branch, query.getKeyspace(), indexName, matches);
+        }
+    }
+
+    @Override
+    public QueryPlan explain(final long timestamp, final Branch branch, final ChronoDBQuery query) {
+        checkArgument(timestamp >= 0, "Precondition violation - argument 'timestamp' must be >= 0!");
+        checkNotNull(branch, "Precondition violation - argument 'branch' must not be NULL!");
+        checkNotNull(query, "Precondition violation - argument 'query' must not be NULL!");
+        try (AutoLock lock = this.getOwningDB().lockNonExclusive()) {
+            QueryPlanContext context = new IndexQueryPlanContext(timestamp, branch, query.getKeyspace());
+            return this.queryPlanner.plan(query.getRootElement(), context);
+        }
+    }
+
+    @Override
+    public IndexStatistics getIndexStatistics(final long timestamp, final Branch branch, final String keyspace, final String indexName) {
+        // by default, no statistics are available; the query planner will fall back to default estimates.
+        return null;
+    }
+
     // =================================================================================================================
     // ROLLBACK METHODS
     // =================================================================================================================
@@ -134,6 +285,24 @@ public abstract class AbstractIndexManager<C extends ChronoDBInternal> implement
         }
     }
 
+    /**
+     * Informs the query cache that a commit has modified the given index.
+     *
+     * <p>
+     * Must be called by the indexing process for every index which is changed by a commit, before the commit becomes
+     * visible to other transactions.
+     *
+     * @param branch    The name of the modified branch. Must not be <code>null</code>.
+     * @param keyspace  The modified keyspace. Must not be <code>null</code>.
+     * @param indexName The name of the modified index. Must not be <code>null</code>.
+     * @param timestamp The timestamp of the commit. Must not be negative.
+     */
+    protected void invalidateQueryCache(final String branch, final String keyspace, final String indexName, final long timestamp) {
+        if (this.queryCache != null) {
+            this.queryCache.invalidate(branch, keyspace, indexName, timestamp);
+        }
+    }
+
     @VisibleForTesting
     public ChronoIndexQueryCache getIndexQueryCache() {
         return this.queryCache;
@@ -145,49 +314,227 @@ public abstract class AbstractIndexManager<C extends ChronoDBInternal> implement
 
     protected abstract Set<String> performIndexQuery(final long timestamp, final Branch branch, String keyspace, final SearchSpecification<?, ?> searchSpec);
 
+    /**
+     * Performs the given index query, stopping as soon as enough matches have been found.
+     *
+     * <p>
+     * The result must contain at least <code>min(maxResults, n)</code> keys, where <code>n</code> is the total number
+     * of matches. The default implementation always computes the full result; subclasses should override this method
+     * if their backend is capable of stopping early.
+     *
+     * @param timestamp  The timestamp to query. Must not be negative.
+     * @param branch     The branch to query. Must not be <code>null</code>.
+     * @param keyspace   The keyspace to query. Must not be <code>null</code>.
+     * @param searchSpec The search specification to evaluate. Must not be <code>null</code>.
+     * @param maxResults The number of matches after which the evaluation may stop. Must be greater than zero.
+     * @return A subset of the matching keys, as described above. Never <code>null</code>, may be empty.
+     */
+    protected Set<String> performIndexQuery(final long timestamp, final Branch branch, final String keyspace, final SearchSpecification<?, ?> searchSpec, final int maxResults) {
+        return this.performIndexQuery(timestamp, branch, keyspace, searchSpec);
+    }
+
+    /**
+     * Evaluates the given expression by combining the bitmaps of its (bitmap-encoded) indices.
+     *
+     * <p>
+     * The default implementation returns <code>null</code>; subclasses should override this method if their backend
+     * supports {@linkplain IndexEncoding#BITMAP bitmap-encoded} indices.
+     *
+     * @param timestamp  The timestamp to query. Must not be negative.
+     * @param branch     The branch to query. Must not be <code>null</code>.
+     * @param keyspace   The keyspace to query. Must not be <code>null</code>.
+     * @param expression The expression to evaluate. Must not be <code>null</code>.
+     * @return The set of matching keys, or <code>null</code> if the expression can not be evaluated on bitmaps (e.g.
+     * because the bitmaps are not available for the given timestamp). In this case, the query is evaluated with
+     * regular index scans instead.
+     */
+    protected Set<String> performBitmapQuery(final long timestamp, final Branch branch, final String keyspace, final BitmapExpression expression) {
+        return null;
+    }
+
+    /**
+     * Counts the keys which match the given search specification, without collecting them.
+     *
+     * <p>
+     * The default implementation returns <code>null</code>; subclasses should override this method if their backend
+     * is capable of counting the distinct matches of an index scan directly.
+     *
+     * @param timestamp  The timestamp to query. Must not be negative.
+     * @param branch     The branch to query. Must not be <code>null</code>.
+     * @param keyspace   The keyspace to query. Must not be <code>null</code>.
+     * @param searchSpec The search specification to evaluate. Must not be <code>null</code>.
+     * @return The number of matching keys, or <code>null</code> if the backend can not count them directly. In this
+     * case, the matches are collected and counted instead.
+     */
+    protected Long performIndexCount(final long timestamp, final Branch branch, final String keyspace, final SearchSpecification<?, ?> searchSpec) {
+        return null;
+    }
+
+    /**
+     * Counts the keys which match the given expression on the bitmaps of its (bitmap-encoded) indices.
+     *
+     * <p>
+     * The default implementation returns the size of the result of
+     * {@link #performBitmapQuery(long, Branch, String, BitmapExpression)}; subclasses should override this method if
+     * their backend is capable of counting the matching bits directly.
+     *
+     * @param timestamp  The timestamp to query. Must not be negative.
+     * @param branch     The branch to query. Must not be <code>null</code>.
+     * @param keyspace   The keyspace to query. Must not be <code>null</code>.
+     * @param expression The expression to evaluate. Must not be <code>null</code>.
+     * @return The number of matching keys, or <code>null</code> if the expression can not be evaluated on bitmaps.
+     */
+    protected Long performBitmapCount(final long timestamp, final Branch branch, final String keyspace, final BitmapExpression expression) {
+        Set<String> result = this.performBitmapQuery(timestamp, branch, keyspace, expression);
+        if (result == null) {
+            return null;
+        }
+        return (long) result.size();
+    }
+
+    /**
+     * Scans the given index in the order of its values, producing distinct keys.
+     *
+     * <p>
+     * Every key is reported at the position of its first value in scan order, i.e. at its smallest value in ascending
+     * order and at its largest value in descending order. The default implementation returns <code>null</code>;
+     * subclasses should override this method if their backend stores the index in value order.
+     *
+     * @param timestamp  The timestamp to scan. Must not be negative.
+     * @param branch     The branch to scan. Must not be <code>null</code>.
+     * @param keyspace   The keyspace to scan. Must not be <code>null</code>.
+     * @param indexName  The name of the index to scan. Must not be <code>null</code>.
+     * @param order      The scan order. Must not be <code>null</code>.
+     * @param maxResults The number of distinct keys after which the scan stops. Must be greater than zero.
+     * @return The first <code>maxResults</code> distinct keys in scan order (or fewer, if the index contains fewer
+     * keys), or <code>null</code> if the backend can not scan the given index in order. In this case, the matches are
+     * sorted by their values instead.
+     */
+    protected List<String> performOrderedIndexScan(final long timestamp, final Branch branch, final String keyspace, final String indexName, final Order order, final int maxResults) {
+        return null;
+    }
+
+    /**
+     * Collects the distinct values of the given index from the index itself.
+     *
+     * <p>
+     * The default implementation returns <code>null</code>; subclasses should override this method if their backend
+     * is capable of iterating over the entries of an index.
+     *
+     * @param timestamp The timestamp to scan. Must not be negative.
+     * @param branch    The branch to scan. Must not be <code>null</code>.
+     * @param keyspace  The keyspace to scan. Must not be <code>null</code>.
+     * @param indexName The name of the index to scan. Must not be <code>null</code>.
+     * @param keys      The keys to consider. Use <code>null</code> to consider all keys in the keyspace.
+     * @return The distinct index values of the given keys, or <code>null</code> if the backend can not scan the given
+     * index. In this case, the values are loaded and indexed instead.
+     */
+    protected Set<Object> performDistinctValueScan(final long timestamp, final Branch branch, final String keyspace, final String indexName, final Set<String> keys) {
+        return null;
+    }
+
     // =================================================================================================================
     // HELPER METHODS
     // =================================================================================================================
 
-    protected Set<String> evaluateRecursive(final QueryElement element, final long timestamp, final Branch branch,
-                                                  final String keyspace) {
-        if (element instanceof BinaryOperatorElement) {
-            BinaryOperatorElement binaryOpElement = (BinaryOperatorElement) element;
-            // disassemble the element
-            QueryElement left = binaryOpElement.getLeftChild();
-            QueryElement right = binaryOpElement.getRightChild();
-            BinaryQueryOperator op = binaryOpElement.getOperator();
-            // recursively evaluate left and right child result sets
-            Set<String> leftResult = this.evaluateRecursive(left, timestamp, branch, keyspace);
-            Set<String> rightResult = this.evaluateRecursive(right, timestamp, branch, keyspace);
-            Set<String> resultSet;
-            // depending on the operator, perform union or intersection
-            switch (op) {
-                case AND:
-                    resultSet = SetView.intersection(leftResult, rightResult);
-                    break;
-                case OR:
-                    resultSet = SetView.union(leftResult, rightResult);
-                    break;
-                default:
-                    throw new UnknownEnumLiteralException(
-                        "Encountered unknown literal of BinaryQueryOperator: '" + op + "'!");
-            }
-            //  note: set views are always unmodifiable
-            return resultSet;
-        } else if (element instanceof WhereElement) {
-            WhereElement<?, ?> whereElement = (WhereElement<?, ?>) element;
-            // disassemble and execute the atomic query
-            SearchSpecification<?, ?> searchSpec = whereElement.toSearchSpecification();
-            Set<String> keys = this.queryIndex(timestamp, branch, keyspace, searchSpec);
-            return Collections.unmodifiableSet(keys);
-        } else {
-            // all other elements should be eliminated by optimizations...
-            throw new ChronoDBQuerySyntaxException("Query contains unsupported element of class '"
-                + element.getClass().getName() + "' - was the query optimized?");
+    private List<String> orderKeys(final long timestamp, final Branch branch, final String keyspace, final Set<String> matches,
+                                   final String orderByIndex, final Order order, final int maxResults) {
+        if (matches.size() <= maxResults) {
+            // all matches are part of the result anyways, so we need to load all of them
+            return this.sortKeysByIndexValue(timestamp, branch, keyspace, matches, orderByIndex, order, maxResults);
+        }
+        // scan the index in order until we have found enough matches. Each round doubles the number of
+        // scanned keys, so the total effort is linear in the number of keys we actually need to look at.
+        int scanSize = Math.max(maxResults, MIN_ORDERED_SCAN_SIZE);
+        while (true) {
+            List<String> scannedKeys = this.performOrderedIndexScan(timestamp, branch, keyspace, orderByIndex, order, scanSize);
+            if (scannedKeys == null) {
+                // the backend can't scan this index in order
+                return this.sortKeysByIndexValue(timestamp, branch, keyspace, matches, orderByIndex, order, maxResults);
+            }
+            List<String> result = scannedKeys.stream().filter(matches::contains).limit(maxResults).collect(Collectors.toList());
+            if (result.size() >= maxResults || scannedKeys.size() < scanSize) {
+                // we either have enough results, or we have reached the end of the index
+                return result;
+            }
+            scanSize = scanSize > Integer.MAX_VALUE / 2 ? Integer.MAX_VALUE : scanSize * 2;
         }
     }
 
+    private Set<Object> collectDistinctValues(final long timestamp, final Branch branch, final String keyspace, final String indexName, final Set<String> keys) {
+        Set<Object> values = this.performDistinctValueScan(timestamp, branch, keyspace, indexName, keys);
+        if (values != null) {
+            return Collections.unmodifiableSet(values);
+        }
+        // the backend can't scan the index, index the values ourselves
+        ChronoDBTransaction tx = this.getOwningDB().tx(branch.getName(), timestamp);
+        Set<Indexer<?>> indexers = this.getIndexersByIndexName().get(indexName);
+        Set<String> keysToLoad = keys != null ? keys : tx.keySet(keyspace);
+        Set<Object> result = Sets.newHashSet();
+        for (String key : keysToLoad) {
+            Object value = tx.get(keyspace, key);
+            if (value == null) {
+                continue;
+            }
+            IndexingUtils.getIndexedValuesForObject(indexers, value, indexName).stream()
+                .map(AbstractIndexManager::normalizeIndexValue)
+                .forEach(result::add);
+        }
+        return Collections.unmodifiableSet(result);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private List<String> sortKeysByIndexValue(final long timestamp, final Branch branch, final String keyspace, final Set<String> keys,
+                                              final String orderByIndex, final Order order, final int maxResults) {
+        ChronoDBTransaction tx = this.getOwningDB().tx(branch.getName(), timestamp);
+        Set<Indexer<?>> indexers = this.getIndexersByIndexName().get(orderByIndex);
+        Comparator<Comparable> valueComparator = Comparable::compareTo;
+        Map<String, Comparable> sortValues = Maps.newHashMap();
+        for (String key : keys) {
+            Object value = tx.get(keyspace, key);
+            if (value == null) {
+                continue;
+            }
+            // the index order of a key is determined by the first of its values in scan order
+            Stream<Comparable> indexValues = IndexingUtils.getIndexedValuesForObject(indexers, value, orderByIndex).stream()
+                .map(AbstractIndexManager::normalizeIndexValue)
+                .map(indexValue -> (Comparable) indexValue);
+            Optional<Comparable> sortValue = order == Order.ASCENDING
+                ? indexValues.min(valueComparator)
+                : indexValues.max(valueComparator);
+            sortValue.ifPresent(v -> sortValues.put(key, v));
+        }
+        // ties are broken by the key, just like in the index
+        Comparator<String> comparator = Comparator.comparing(sortValues::get, valueComparator).thenComparing(Comparator.naturalOrder());
+        if (order == Order.DESCENDING) {
+            comparator = comparator.reversed();
+        }
+        return sortValues.keySet().stream().sorted(comparator).limit(maxResults).collect(Collectors.toList());
+    }
+
+    protected Set<String> evaluateWithPlanner(final long timestamp, final Branch branch, final ChronoDBQuery query) {
+        return this.evaluateWithPlanner(timestamp, branch, query, Integer.MAX_VALUE);
+    }
+
+    protected Set<String> evaluateWithPlanner(final long timestamp, final Branch branch, final ChronoDBQuery query, final int maxResults) {
+        // create a cost-based plan for the AST of the query and execute it. The plan evaluates the most
+        // selective conditions first, and checks the remaining conditions either via their indices or
+        // directly on the values of the candidates (whichever is estimated to be cheaper). If the number
+        // of results is limited, the plan stops as soon as it has found enough matches.
+        QueryPlanContext context = new IndexQueryPlanContext(timestamp, branch, query.getKeyspace());
+        QueryPlanImpl plan = this.queryPlanner.plan(query.getRootElement(), context);
+        return plan.execute(context, maxResults);
+    }
+
+    protected long countWithPlanner(final long timestamp, final Branch branch, final ChronoDBQuery query) {
+        // single index scans and bitmap expressions are counted without collecting their keys. A key may
+        // match a combination of conditions via several index scans though, so all other plans have to
+        // collect the distinct keys before they can count them.
+        QueryPlanContext context = new IndexQueryPlanContext(timestamp, branch, query.getKeyspace());
+        QueryPlanImpl plan = this.queryPlanner.plan(query.getRootElement(), context);
+        return plan.count(context);
+    }
+
     protected void assertIndexAccessIsOk(final SearchSpecification<?,?> searchSpec) {
         String indexName = searchSpec.getProperty();
         Set<Indexer<?>> indexers = this.getIndexersByIndexName().get(indexName);
@@ -200,7 +547,12 @@ public abstract class AbstractIndexManager<C extends ChronoDBInternal> implement
         if (!isStringIndex && !isLongIndex && !isDoubleIndex) {
             throw new IllegalStateException("Could not determine index type of index '" + indexName + "'!");
         }
-        if(searchSpec instanceof ContainmentSearchSpecification){
+        if (searchSpec instanceof CompositeSearchSpecification) {
+            boolean isCompositeIndex = indexers.stream().allMatch(indexer -> indexer instanceof CompositeIndexer);
+            if (!isCompositeIndex) {
+                throw new InvalidIndexAccessException("Cannot access non-composite index '" + indexName + "' with " + searchSpec.getDescriptiveSearchType() + " search [" + searchSpec + "]!");
+            }
+        } else if(searchSpec instanceof ContainmentSearchSpecification){
             if(isStringIndex && searchSpec instanceof ContainmentStringSearchSpecification == false){
                 throw new InvalidIndexAccessException("Cannot access String index '" + indexName + "' with " + searchSpec.getDescriptiveSearchType() + " search [" + searchSpec + "]!");
             }
@@ -223,4 +575,104 @@ public abstract class AbstractIndexManager<C extends ChronoDBInternal> implement
         }
 
     }
+
+    // =================================================================================================================
+    // INNER CLASSES
+    // =================================================================================================================
+
+    private class IndexQueryPlanContext implements QueryPlanContext {
+
+        private final long timestamp;
+        private final Branch branch;
+        private final String keyspace;
+
+        private ChronoDBTransaction tx;
+        private Map<String, Set<Indexer<?>>> indexersByIndexName;
+
+        private IndexQueryPlanContext(final long timestamp, final Branch branch, final String keyspace) {
+            this.timestamp = timestamp;
+            this.branch = branch;
+            this.keyspace = keyspace;
+        }
+
+        @Override
+        public IndexStatistics getIndexStatistics(final String indexName) {
+            return AbstractIndexManager.this.getIndexStatistics(this.timestamp, this.branch, this.keyspace, indexName);
+        }
+
+        @Override
+        public Set<String> queryIndex(final SearchSpecification<?, ?> searchSpec) {
+            return AbstractIndexManager.this.queryIndex(this.timestamp, this.branch, this.keyspace, searchSpec);
+        }
+
+        @Override
+        public Set<String> queryIndex(final SearchSpecification<?, ?> searchSpec, final int maxResults) {
+            return AbstractIndexManager.this.queryIndex(this.timestamp, this.branch, this.keyspace, searchSpec, maxResults);
+        }
+
+        @Override
+        public IndexEncoding getIndexEncoding(final String indexName) {
+            return AbstractIndexManager.this.getIndexEncoding(indexName);
+        }
+
+        @Override
+        public Set<String> queryBitmaps(final BitmapExpression expression) {
+            for (BitmapExpression.Lookup lookup : expression.getLookups()) {
+                AbstractIndexManager.this.assertIndexAccessIsOk(lookup.getSearchSpecification());
+            }
+            return AbstractIndexManager.this.performBitmapQuery(this.timestamp, this.branch, this.keyspace, expression);
+        }
+
+        @Override
+        public long countIndex(final SearchSpecification<?, ?> searchSpec) {
+            return AbstractIndexManager.this.countIndex(this.timestamp, this.branch, this.keyspace, searchSpec);
+        }
+
+        @Override
+        public Long countBitmaps(final BitmapExpression expression) {
+            for (BitmapExpression.Lookup lookup : expression.getLookups()) {
+                AbstractIndexManager.this.assertIndexAccessIsOk(lookup.getSearchSpecification());
+            }
+            return AbstractIndexManager.this.performBitmapCount(this.timestamp, this.branch, this.keyspace, expression);
+        }
+
+        @Override
+        public boolean matches(final String key, final List<SearchSpecification<?, ?>> searchSpecs) {
+            if (this.tx == null) {
+                this.tx = AbstractIndexManager.this.getOwningDB().tx(this.branch.getName(), this.timestamp);
+                this.indexersByIndexName = AbstractIndexManager.this.getIndexersByIndexName();
+            }
+            Object value = this.tx.get(this.keyspace, key);
+            if (value == null) {
+                return false;
+            }
+            for (SearchSpecification<?, ?> searchSpec : searchSpecs) {
+                String indexName = searchSpec.getProperty();
+                Set<Indexer<?>> indexers = this.indexersByIndexName.get(indexName);
+                if (indexers == null) {
+                    return false;
+                }
+                Predicate<Object> predicate = searchSpec.toFilterPredicate();
+                boolean anyValueMatches = IndexingUtils.getIndexedValuesForObject(indexers, value, indexName).stream()
+                    .map(AbstractIndexManager::normalizeIndexValue)
+                    .anyMatch(predicate);
+                if (!anyValueMatches) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+    }
+
+    private static Object normalizeIndexValue(final Object indexValue) {
+        // the indices store all integral numbers as longs and all floating point numbers as doubles
+        if (indexValue instanceof Short || indexValue instanceof Integer) {
+            return ((Number) indexValue).longValue();
+        } else if (indexValue instanceof Float) {
+            return ((Number) indexValue).doubleValue();
+        } else {
+            return indexValue;
+        }
+    }
 }
@@ -0,0 +1,303 @@
+package org.chronos.chronodb.internal.impl.index;
+
+import static com.google.common.base.Preconditions.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.chronos.chronodb.api.indexing.CompositeIndexer;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+/**
+ * Encodes tuples of index values into order-preserving {@link String}s, which are stored in regular string indices.
+ *
+ * <p>
+ * Every component of a tuple is encoded as a one-character type tag, followed by the encoded value:
+ * <ul>
+ * <li><b>Long</b>: <code>'l'</code>, followed by 16 hex digits of the value with inverted sign bit.
+ * <li><b>Double</b>: <code>'d'</code>, followed by 16 hex digits of the bits of the value, transformed such that their
+ * unsigned order matches the numeric order of the values.
+ * <li><b>String</b>: <code>'s'</code>, followed by the characters of the string and a terminator
+ * (U+0001). The characters U+0000 to U+0002 are escaped.
+ * </ul>
+ *
+ * Comparing two encoded tuples lexicographically yields the same result as comparing the tuples component by component.
+ * In particular, all tuples which share a given prefix of components form a contiguous range of encoded keys which
+ * begins with the encoded prefix. The encoded keys never contain the character U+0000.
+ *
+ * @author martin.haeusler@uibk.ac.at -- Initial Contribution and API
+ *
+ * @see CompositeIndexer
+ */
+public final class CompositeKeys {
+
+	// =================================================================================================================
+	// CONSTANTS
+	// =================================================================================================================
+
+	/** The type tag of {@link Double} components. */
+	public static final char TAG_DOUBLE = 'd';
+	/** The type tag of {@link Long} components. */
+	public static final char TAG_LONG = 'l';
+	/** The type tag of {@link String} components. */
+	public static final char TAG_STRING = 's';
+
+	private static final char STRING_TERMINATOR = '\u0001';
+	private static final char STRING_ESCAPE = '\u0002';
+
+	private static final int NUMBER_LENGTH = 16;
+
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	private CompositeKeys() {
+		throw new UnsupportedOperationException("Do not instantiate this class!");
+	}
+
+	// =================================================================================================================
+	// PUBLIC API
+	// =================================================================================================================
+
+	/**
+	 * Normalizes the given component value.
+	 *
+	 * <p>
+	 * Integral numbers are converted to {@link Long}, floating point numbers are converted to {@link Double}. Negative
+	 * zero is converted to positive zero.
+	 *
+	 * @param value
+	 *            The value to normalize. Must not be <code>null</code>.
+	 * @return The normalized value, either a {@link String}, a {@link Long} or a {@link Double}.
+	 *
+	 * @throws IllegalArgumentException
+	 *             Thrown if the given value is of any other type.
+	 */
+	public static Object normalize(final Object value) {
+		checkNotNull(value, "Precondition violation - argument 'value' must not be NULL!");
+		if (value instanceof String || value instanceof Long) {
+			return value;
+		} else if (value instanceof Byte || value instanceof Short || value instanceof Integer) {
+			return ((Number) value).longValue();
+		} else if (value instanceof Double || value instanceof Float) {
+			double doubleValue = ((Number) value).doubleValue();
+			// +0.0 and -0.0 are equal, so they need to have the same representation
+			return doubleValue == 0.0 ? 0.0 : doubleValue;
+		} else {
+			throw new IllegalArgumentException("Composite index components must be Strings, Longs or Doubles, "
+					+ "but got a value of type '" + value.getClass().getName() + "'!");
+		}
+	}
+
+	/**
+	 * Encodes the given tuple of values.
+	 *
+	 * @param components
+	 *            The components of the tuple. Must not be <code>null</code>. Must not contain <code>null</code>.
+	 * @return The encoded tuple. Never <code>null</code>.
+	 */
+	public static String encode(final List<?> components) {
+		checkNotNull(components, "Precondition violation - argument 'components' must not be NULL!");
+		StringBuilder builder = new StringBuilder();
+		for (Object component : components) {
+			appendComponent(builder, component);
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Encodes all combinations of the given component values.
+	 *
+	 * <p>
+	 * The result contains one key for every element of the cartesian product of the given sets. If the set of a
+	 * component is empty, the tuples are truncated before that component, i.e. the result contains the keys for the
+	 * combinations of the preceding components only. If the set of the first component is empty, the result is empty.
+	 *
+	 * @param componentValues
+	 *            The values of each component, in order. Must not be <code>null</code>. <code>null</code> sets and
+	 *            <code>null</code> values are treated as absent.
+	 * @return The set of encoded keys. Never <code>null</code>, may be empty.
+	 */
+	public static Set<String> encodeAll(final List<? extends Set<?>> componentValues) {
+		checkNotNull(componentValues, "Precondition violation - argument 'componentValues' must not be NULL!");
+		List<String> keys = Collections.singletonList("");
+		for (Set<?> values : componentValues) {
+			if (values == null || values.isEmpty()) {
+				break;
+			}
+			List<String> extendedKeys = Lists.newArrayListWithCapacity(keys.size() * values.size());
+			for (String key : keys) {
+				for (Object value : values) {
+					if (value == null) {
+						continue;
+					}
+					StringBuilder builder = new StringBuilder(key);
+					appendComponent(builder, value);
+					extendedKeys.add(builder.toString());
+				}
+			}
+			if (extendedKeys.isEmpty()) {
+				break;
+			}
+			keys = extendedKeys;
+		}
+		if (keys.size() == 1 && keys.get(0).isEmpty()) {
+			return Collections.emptySet();
+		}
+		return Sets.newHashSet(keys);
+	}
+
+	/**
+	 * Encodes a single component and appends it to the given builder.
+	 *
+	 * @param builder
+	 *            The builder to append the encoded component to. Must not be <code>null</code>.
+	 * @param value
+	 *            The value of the component. Must not be <code>null</code>. Will be {@linkplain #normalize(Object)
+	 *            normalized}.
+	 */
+	public static void appendComponent(final StringBuilder builder, final Object value) {
+		checkNotNull(builder, "Precondition violation - argument 'builder' must not be NULL!");
+		Object normalized = normalize(value);
+		if (normalized instanceof Long) {
+			builder.append(TAG_LONG);
+			appendHex(builder, (Long) normalized ^ Long.MIN_VALUE);
+		} else if (normalized instanceof Double) {
+			builder.append(TAG_DOUBLE);
+			appendHex(builder, sortableBits((Double) normalized));
+		} else {
+			builder.append(TAG_STRING);
+			String string = (String) normalized;
+			for (int i = 0; i < string.length(); i++) {
+				char c = string.charAt(i);
+				if (c <= STRING_ESCAPE) {
+					builder.append(STRING_ESCAPE);
+					builder.append((char) (c + 1));
+				} else {
+					builder.append(c);
+				}
+			}
+			builder.append(STRING_TERMINATOR);
+		}
+	}
+
+	/**
+	 * Returns the type tag which is used for the given component value.
+	 *
+	 * @param value
+	 *            The component value. Must not be <code>null</code>. Will be {@linkplain #normalize(Object) normalized}.
+	 * @return The type tag.
+	 */
+	public static char getTypeTag(final Object value) {
+		Object normalized = normalize(value);
+		if (normalized instanceof Long) {
+			return TAG_LONG;
+		} else if (normalized instanceof Double) {
+			return TAG_DOUBLE;
+		} else {
+			return TAG_STRING;
+		}
+	}
+
+	/**
+	 * Decodes the given key into its components.
+	 *
+	 * @param key
+	 *            The key to decode. Must not be <code>null</code>. Must have been created by this class.
+	 * @return The list of components (each one either a {@link String}, a {@link Long} or a {@link Double}). Never
+	 *         <code>null</code>.
+	 *
+	 * @throws IllegalArgumentException
+	 *             Thrown if the given key is not a valid composite key.
+	 */
+	public static List<Object> decode(final String key) {
+		checkNotNull(key, "Precondition violation - argument 'key' must not be NULL!");
+		List<Object> components = Lists.newArrayList();
+		int offset = 0;
+		while (offset < key.length()) {
+			char tag = key.charAt(offset);
+			offset++;
+			switch (tag) {
+			case TAG_LONG:
+				components.add(parseHex(key, offset) ^ Long.MIN_VALUE);
+				offset += NUMBER_LENGTH;
+				break;
+			case TAG_DOUBLE:
+				components.add(fromSortableBits(parseHex(key, offset)));
+				offset += NUMBER_LENGTH;
+				break;
+			case TAG_STRING:
+				StringBuilder builder = new StringBuilder();
+				while (true) {
+					if (offset >= key.length()) {
+						throw new IllegalArgumentException("Composite key contains an unterminated string: '" + key + "'!");
+					}
+					char c = key.charAt(offset);
+					offset++;
+					if (c == STRING_TERMINATOR) {
+						break;
+					}
+					if (c == STRING_ESCAPE) {
+						if (offset >= key.length()) {
+							throw new IllegalArgumentException("Composite key contains an invalid escape sequence: '" + key + "'!");
+						}
+						c = (char) (key.charAt(offset) - 1);
+						offset++;
+					}
+					builder.append(c);
+				}
+				components.add(builder.toString());
+				break;
+			default:
+				throw new IllegalArgumentException("Composite key contains unknown type tag '" + tag + "': '" + key + "'!");
+			}
+		}
+		return components;
+	}
+
+	// =================================================================================================================
+	// HELPER METHODS
+	// =================================================================================================================
+
+	private static long sortableBits(final double value) {
+		long bits = Double.doubleToLongBits(value);
+		if (bits < 0) {
+			// negative values: larger magnitude means smaller value, so we invert all bits
+			return ~bits;
+		} else {
+			// positive values: flip the sign bit to sort them after all negative values
+			return bits ^ Long.MIN_VALUE;
+		}
+	}
+
+	private static double fromSortableBits(final long sortableBits) {
+		if (sortableBits < 0) {
+			return Double.longBitsToDouble(sortableBits ^ Long.MIN_VALUE);
+		} else {
+			return Double.longBitsToDouble(~sortableBits);
+		}
+	}
+
+	private static void appendHex(final StringBuilder builder, final long value) {
+		for (int shift = 60; shift >= 0; shift -= 4) {
+			builder.append(HEX_DIGITS[(int) (value >>> shift) & 0xF]);
+		}
+	}
+
+	private static long parseHex(final String key, final int offset) {
+		if (offset + NUMBER_LENGTH > key.length()) {
+			throw new IllegalArgumentException("Composite key contains a truncated number: '" + key + "'!");
+		}
+		long value = 0;
+		for (int i = offset; i < offset + NUMBER_LENGTH; i++) {
+			int digit = Character.digit(key.charAt(i), 16);
+			if (digit < 0) {
+				throw new IllegalArgumentException("Composite key contains an invalid number: '" + key + "'!");
+			}
+			value = value << 4 | digit;
+		}
+		return value;
+	}
+
+}
@@ -218,6 +218,8 @@ public class DocumentBasedIndexManager
             // calculate the diff
             IndexValueDiff diff = IndexingUtils.calculateDiff(indexNameToIndexers, oldValue, newValue);
             for (String indexName : diff.getChangedIndices()) {
+                DocumentBasedIndexManager.this.invalidateQueryCache(chronoIdentifier.getBranchName(),
+                    chronoIdentifier.getKeyspace(), indexName, chronoIdentifier.getTimestamp());
                 Set<Object> addedValues = diff.getAdditions(indexName);
                 Set<Object> removedValues = diff.getRemovals(indexName);
                 // for each value we need to add, we create an index document based on the ChronoIdentifier.
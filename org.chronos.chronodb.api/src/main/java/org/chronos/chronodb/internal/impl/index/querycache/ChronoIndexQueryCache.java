@@ -52,6 +52,25 @@ public interface ChronoIndexQueryCache {
 	 */
 	public CacheStats getStats();
 
+	/**
+	 * Informs this cache that a commit has modified the given index.
+	 *
+	 * <p>
+	 * Cached results which depend on the state of the index at or after the given timestamp are invalidated. This method
+	 * must be called <b>before</b> the commit becomes visible to new transactions, i.e. before the "now" timestamp of the
+	 * branch is advanced.
+	 *
+	 * @param branch
+	 *            The name of the branch which has been modified. Must not be <code>null</code>.
+	 * @param keyspace
+	 *            The keyspace which has been modified. Must not be <code>null</code>.
+	 * @param indexName
+	 *            The name of the index which has been modified. Must not be <code>null</code>.
+	 * @param timestamp
+	 *            The timestamp of the commit which modified the index. Must not be negative.
+	 */
+	public void invalidate(String branch, String keyspace, String indexName, long timestamp);
+
 	/**
 	 * Clears this query cache.
 	 */
@@ -51,6 +51,11 @@ public class LRUIndexQueryCache implements ChronoIndexQueryCache {
 		return this.cache.stats();
 	}
 
+	@Override
+	public void invalidate(final String branch, final String keyspace, final String indexName, final long timestamp) {
+		// results are bound to their exact timestamp; commits never change the past
+	}
+
 	@Override
 	public void clear() {
 		this.cache.invalidateAll();
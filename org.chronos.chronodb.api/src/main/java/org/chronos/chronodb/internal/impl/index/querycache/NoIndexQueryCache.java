@@ -35,6 +35,11 @@ public class NoIndexQueryCache implements ChronoIndexQueryCache {
 		return null;
 	}
 
+	@Override
+	public void invalidate(final String branch, final String keyspace, final String indexName, final long timestamp) {
+		// nothing to do
+	}
+
 	@Override
 	public void clear() {
 		// nothing to do
@@ -0,0 +1,301 @@
+package org.chronos.chronodb.internal.impl.index.querycache;
+
+import static com.google.common.base.Preconditions.*;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.lang3.tuple.Triple;
+import org.chronos.chronodb.api.Branch;
+import org.chronos.chronodb.api.exceptions.ChronoDBIndexingException;
+import org.chronos.chronodb.api.query.Condition;
+import org.chronos.chronodb.internal.api.Period;
+import org.chronos.chronodb.internal.api.query.searchspec.SearchSpecification;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.SetMultimap;
+
+/**
+ * A query cache which shares query results across timestamps.
+ *
+ * <p>
+ * Every cached result is associated with the validity {@link Period} in which it is the correct answer to its query,
+ * similar to the way the entry cache treats the results of temporal key-value lookups. A lookup at a given timestamp is
+ * a cache hit if any cached period of the query contains that timestamp. Consequently, transactions which are opened
+ * on the head revision of a branch at different points in time share their results, as long as no commit in between
+ * has touched the queried index.
+ *
+ * <p>
+ * Results which are calculated on the head revision of a branch are valid from the last modification of their index up
+ * to "infinity". Commits report the indices they modify via {@link #invalidate(String, String, String, long)}, which
+ * terminates the open-ended periods of all affected results at the commit timestamp. Results on older revisions are
+ * only cached for their exact timestamp, because the cache does not know when their index was modified afterwards.
+ *
+ * <p>
+ * The cache holds at most <code>maxSize</code> distinct queries (on a least-recently-used basis), each with a bounded
+ * number of periods. Statistics are always recorded.
+ *
+ * @author martin.haeusler@uibk.ac.at -- Initial Contribution and API
+ *
+ */
+public class TemporalIndexQueryCache implements ChronoIndexQueryCache {
+
+	// =================================================================================================================
+	// CONSTANTS
+	// =================================================================================================================
+
+	/** The maximum number of periods which are cached per query; the oldest period is discarded first. */
+	private static final int MAX_PERIODS_PER_QUERY = 8;
+
+	// =================================================================================================================
+	// FIELDS
+	// =================================================================================================================
+
+	/** Guards {@link #queriesByIndex}, {@link #lastModifications} and the contents of the {@link CachedQuery} objects. */
+	private final Object lock = new Object();
+
+	/** Maps (branch, keyspace, search specification) to the cached results of the query. */
+	private final Cache<Triple<String, String, SearchSpecification<?, ?>>, CachedQuery> cache;
+	/** Maps (branch, keyspace, index name) to the cache keys of the queries on that index. */
+	private final SetMultimap<Triple<String, String, String>, Triple<String, String, SearchSpecification<?, ?>>> queriesByIndex = HashMultimap.create();
+	/** Maps (branch, keyspace, index name) to the timestamp of the latest commit which modified the index. */
+	private final Map<Triple<String, String, String>, Long> lastModifications = Maps.newHashMap();
+
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+	private final LongAdder loadSuccessCount = new LongAdder();
+	private final LongAdder loadExceptionCount = new LongAdder();
+	private final LongAdder totalLoadTime = new LongAdder();
+
+	// =================================================================================================================
+	// CONSTRUCTOR
+	// =================================================================================================================
+
+	public TemporalIndexQueryCache(final int maxSize) {
+		checkArgument(maxSize > 0, "Precondition violation - argument 'maxSize' must be greater than zero!");
+		this.cache = CacheBuilder.newBuilder()
+				.maximumSize(maxSize)
+				.recordStats()
+				.removalListener(this::onRemoval)
+				.build();
+	}
+
+	// =================================================================================================================
+	// PUBLIC API
+	// =================================================================================================================
+
+	@Override
+	public Set<String> getOrCalculate(final long timestamp, final Branch branch, final String keyspace,
+			final SearchSpecification<?, ?> searchSpec, final Callable<Set<String>> loadingFunction) {
+		checkArgument(timestamp >= 0, "Precondition violation - argument 'timestamp' must not be negative!");
+		checkNotNull(branch, "Precondition violation - argument 'branch' must not be NULL!");
+		checkNotNull(keyspace, "Precondition violation - argument 'keyspace' must not be NULL!");
+		checkNotNull(searchSpec, "Precondition violation - argument 'searchSpec' must not be NULL!");
+		checkNotNull(loadingFunction, "Precondition violation - argument 'loadingFunction' must not be NULL!");
+		Triple<String, String, SearchSpecification<?, ?>> cacheKey = Triple.of(branch.getName(), keyspace, searchSpec);
+		CachedQuery cachedQuery = this.cache.getIfPresent(cacheKey);
+		if (cachedQuery != null) {
+			Set<String> cachedResult;
+			synchronized (this.lock) {
+				cachedResult = cachedQuery.get(timestamp);
+			}
+			if (cachedResult != null) {
+				this.hitCount.increment();
+				return cachedResult;
+			}
+		}
+		this.missCount.increment();
+		// note: "now" has to be determined BEFORE running the query. Any commit after this point
+		// will be reported to us via 'invalidate', and therefore truncates the period of the result.
+		long now = branch.getNow();
+		Set<String> result = this.load(timestamp, searchSpec, loadingFunction);
+		Triple<String, String, String> indexKey = Triple.of(branch.getName(), keyspace, searchSpec.getProperty());
+		synchronized (this.lock) {
+			Period period = this.calculateValidityPeriod(timestamp, now, indexKey, searchSpec);
+			if (period.isEmpty()) {
+				// the index has been modified while we were running the query
+				return result;
+			}
+			CachedQuery query = this.cache.getIfPresent(cacheKey);
+			if (query == null) {
+				query = new CachedQuery();
+				this.cache.put(cacheKey, query);
+			}
+			this.queriesByIndex.put(indexKey, cacheKey);
+			query.put(period, result);
+		}
+		return result;
+	}
+
+	@Override
+	public void invalidate(final String branch, final String keyspace, final String indexName, final long timestamp) {
+		checkNotNull(branch, "Precondition violation - argument 'branch' must not be NULL!");
+		checkNotNull(keyspace, "Precondition violation - argument 'keyspace' must not be NULL!");
+		checkNotNull(indexName, "Precondition violation - argument 'indexName' must not be NULL!");
+		checkArgument(timestamp >= 0, "Precondition violation - argument 'timestamp' must not be negative!");
+		Triple<String, String, String> indexKey = Triple.of(branch, keyspace, indexName);
+		synchronized (this.lock) {
+			Long lastModification = this.lastModifications.get(indexKey);
+			if (lastModification != null && lastModification >= timestamp) {
+				// we have already truncated all results at (or before) this timestamp
+				return;
+			}
+			this.lastModifications.put(indexKey, timestamp);
+			for (Triple<String, String, SearchSpecification<?, ?>> cacheKey : this.queriesByIndex.get(indexKey)) {
+				CachedQuery query = this.cache.getIfPresent(cacheKey);
+				if (query != null) {
+					query.truncate(timestamp);
+				}
+			}
+		}
+	}
+
+	@Override
+	public CacheStats getStats() {
+		return new CacheStats(
+				this.hitCount.sum(),
+				this.missCount.sum(),
+				this.loadSuccessCount.sum(),
+				this.loadExceptionCount.sum(),
+				this.totalLoadTime.sum(),
+				this.cache.stats().evictionCount());
+	}
+
+	@Override
+	public void clear() {
+		synchronized (this.lock) {
+			this.cache.invalidateAll();
+			this.queriesByIndex.clear();
+			// clearing the cache usually means that the history has changed (e.g. rollback, dateback),
+			// so we can't rely on the modification timestamps we have seen so far either.
+			this.lastModifications.clear();
+		}
+	}
+
+	// =================================================================================================================
+	// HELPER METHODS
+	// =================================================================================================================
+
+	private Set<String> load(final long timestamp, final SearchSpecification<?, ?> searchSpec,
+			final Callable<Set<String>> loadingFunction) {
+		long startTime = System.nanoTime();
+		try {
+			Set<String> result = loadingFunction.call();
+			this.loadSuccessCount.increment();
+			return result;
+		} catch (Exception e) {
+			this.loadExceptionCount.increment();
+			throw new ChronoDBIndexingException(
+					"Failed to load result of '" + searchSpec + "' at timestamp " + timestamp + "!", e);
+		} finally {
+			this.totalLoadTime.add(System.nanoTime() - startTime);
+		}
+	}
+
+	private Period calculateValidityPeriod(final long timestamp, final long now,
+			final Triple<String, String, String> indexKey, final SearchSpecification<?, ?> searchSpec) {
+		Condition condition = searchSpec.getCondition();
+		if (timestamp < now || condition.isNegated() && condition.acceptsEmptyValue()) {
+			// we don't know when the index has been modified after the given timestamp. Also, negated
+			// conditions which accept empty values match keys which are not contained in the index at
+			// all, so their results may change by commits which don't touch the index.
+			return Period.createPoint(timestamp);
+		}
+		Long lastModification = this.lastModifications.get(indexKey);
+		if (lastModification == null) {
+			// no modification since the cache was created (or cleared); the index didn't change after "now".
+			return Period.createOpenEndedRange(now);
+		}
+		if (lastModification <= now) {
+			// we have seen every modification since the last one, so the result is valid since then.
+			return Period.createOpenEndedRange(lastModification);
+		}
+		// the index has been modified by a commit which is not visible yet
+		if (timestamp >= lastModification) {
+			return Period.empty();
+		}
+		return Period.createRange(now, lastModification);
+	}
+
+	private void onRemoval(
+			final RemovalNotification<Triple<String, String, SearchSpecification<?, ?>>, CachedQuery> notification) {
+		Triple<String, String, SearchSpecification<?, ?>> cacheKey = notification.getKey();
+		if (cacheKey == null) {
+			return;
+		}
+		synchronized (this.lock) {
+			Triple<String, String, String> indexKey = Triple.of(cacheKey.getLeft(), cacheKey.getMiddle(),
+					cacheKey.getRight().getProperty());
+			if (this.cache.asMap().containsKey(cacheKey) == false) {
+				this.queriesByIndex.remove(indexKey, cacheKey);
+			}
+		}
+	}
+
+	// =================================================================================================================
+	// INNER CLASSES
+	// =================================================================================================================
+
+	/**
+	 * The cached results of a single query, each one associated with its validity period.
+	 *
+	 * <p>
+	 * Instances of this class are not thread-safe; all accesses must be guarded by the lock of the owning cache.
+	 */
+	private static class CachedQuery {
+
+		private final Deque<CachedResult> results = new ArrayDeque<>();
+
+		public Set<String> get(final long timestamp) {
+			for (CachedResult result : this.results) {
+				if (result.period.contains(timestamp)) {
+					return result.keys;
+				}
+			}
+			return null;
+		}
+
+		public void put(final Period period, final Set<String> keys) {
+			if (this.results.size() >= MAX_PERIODS_PER_QUERY) {
+				this.results.removeFirst();
+			}
+			this.results.addLast(new CachedResult(period, keys));
+		}
+
+		public void truncate(final long timestamp) {
+			Iterator<CachedResult> iterator = this.results.iterator();
+			while (iterator.hasNext()) {
+				CachedResult result = iterator.next();
+				if (result.period.getLowerBound() >= timestamp) {
+					iterator.remove();
+				} else if (result.period.getUpperBound() > timestamp) {
+					result.period = result.period.setUpperBound(timestamp);
+				}
+			}
+		}
+
+	}
+
+	private static class CachedResult {
+
+		private Period period;
+		private final Set<String> keys;
+
+		public CachedResult(final Period period, final Set<String> keys) {
+			this.period = period;
+			this.keys = keys;
+		}
+
+	}
+
+}
@@ -0,0 +1,153 @@
+package org.chronos.chronodb.internal.impl.metrics;
+
+import static com.google.common.base.Preconditions.*;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.chronos.chronodb.api.metrics.CommitPhase;
+import org.chronos.chronodb.api.metrics.LatencySnapshot;
+import org.chronos.chronodb.internal.api.CommitMetricsInternal;
+
+public class CommitMetricsImpl implements CommitMetricsInternal {
+
+	private static final LatencySnapshot EMPTY_SNAPSHOT = new LatencyHistogram().snapshot();
+
+	private final Map<String, BranchCommitMetrics> branchToMetrics = new ConcurrentHashMap<>();
+
+	// =================================================================================================================
+	// PUBLIC API
+	// =================================================================================================================
+
+	@Override
+	public Set<String> getBranchNames() {
+		return Collections.unmodifiableSet(this.branchToMetrics.keySet());
+	}
+
+	@Override
+	public long getCommitCount(final String branchName) {
+		BranchCommitMetrics metrics = this.getBranchMetrics(branchName);
+		return metrics == null ? 0L : metrics.commitCount.sum();
+	}
+
+	@Override
+	public long getFailedCommitCount(final String branchName) {
+		BranchCommitMetrics metrics = this.getBranchMetrics(branchName);
+		return metrics == null ? 0L : metrics.failedCommitCount.sum();
+	}
+
+	@Override
+	public LatencySnapshot getPhaseLatency(final String branchName, final CommitPhase phase) {
+		checkNotNull(phase, "Precondition violation - argument 'phase' must not be NULL!");
+		BranchCommitMetrics metrics = this.getBranchMetrics(branchName);
+		return metrics == null ? EMPTY_SNAPSHOT : metrics.phaseToHistogram.get(phase).snapshot();
+	}
+
+	@Override
+	public long getCommitLockWaitTime(final String branchName) {
+		BranchCommitMetrics metrics = this.getBranchMetrics(branchName);
+		return metrics == null ? 0L : metrics.lockWaitTime.sum();
+	}
+
+	@Override
+	public int getCommitQueueDepth(final String branchName) {
+		BranchCommitMetrics metrics = this.getBranchMetrics(branchName);
+		return metrics == null ? 0 : metrics.queueDepth.get();
+	}
+
+	@Override
+	public int getMaxCommitQueueDepth(final String branchName) {
+		BranchCommitMetrics metrics = this.getBranchMetrics(branchName);
+		return metrics == null ? 0 : metrics.maxQueueDepth.get();
+	}
+
+	@Override
+	public void reset() {
+		this.branchToMetrics.values().forEach(BranchCommitMetrics::reset);
+	}
+
+	// =================================================================================================================
+	// INTERNAL API
+	// =================================================================================================================
+
+	@Override
+	public void recordPhase(final String branchName, final CommitPhase phase, final long durationNanos) {
+		checkNotNull(phase, "Precondition violation - argument 'phase' must not be NULL!");
+		BranchCommitMetrics metrics = this.getOrCreateBranchMetrics(branchName);
+		metrics.phaseToHistogram.get(phase).record(durationNanos);
+		if (phase == CommitPhase.LOCK_ACQUISITION) {
+			metrics.lockWaitTime.add(durationNanos);
+		}
+	}
+
+	@Override
+	public void recordCommit(final String branchName, final boolean successful) {
+		BranchCommitMetrics metrics = this.getOrCreateBranchMetrics(branchName);
+		if (successful) {
+			metrics.commitCount.increment();
+		} else {
+			metrics.failedCommitCount.increment();
+		}
+	}
+
+	@Override
+	public void commitEnqueued(final String branchName) {
+		BranchCommitMetrics metrics = this.getOrCreateBranchMetrics(branchName);
+		int depth = metrics.queueDepth.incrementAndGet();
+		metrics.maxQueueDepth.accumulateAndGet(depth, Math::max);
+	}
+
+	@Override
+	public void commitDequeued(final String branchName) {
+		this.getOrCreateBranchMetrics(branchName).queueDepth.decrementAndGet();
+	}
+
+	// =================================================================================================================
+	// HELPER METHODS
+	// =================================================================================================================
+
+	private BranchCommitMetrics getBranchMetrics(final String branchName) {
+		checkNotNull(branchName, "Precondition violation - argument 'branchName' must not be NULL!");
+		return this.branchToMetrics.get(branchName);
+	}
+
+	private BranchCommitMetrics getOrCreateBranchMetrics(final String branchName) {
+		checkNotNull(branchName, "Precondition violation - argument 'branchName' must not be NULL!");
+		return this.branchToMetrics.computeIfAbsent(branchName, name -> new BranchCommitMetrics());
+	}
+
+	// =================================================================================================================
+	// INNER CLASSES
+	// =================================================================================================================
+
+	private static class BranchCommitMetrics {
+
+		private final Map<CommitPhase, LatencyHistogram> phaseToHistogram = new EnumMap<>(CommitPhase.class);
+		private final LongAdder commitCount = new LongAdder();
+		private final LongAdder failedCommitCount = new LongAdder();
+		private final LongAdder lockWaitTime = new LongAdder();
+		private final AtomicInteger queueDepth = new AtomicInteger(0);
+		private final AtomicInteger maxQueueDepth = new AtomicInteger(0);
+
+		private BranchCommitMetrics() {
+			for (CommitPhase phase : CommitPhase.values()) {
+				this.phaseToHistogram.put(phase, new LatencyHistogram());
+			}
+		}
+
+		private void reset() {
+			this.phaseToHistogram.values().forEach(LatencyHistogram::reset);
+			this.commitCount.reset();
+			this.failedCommitCount.reset();
+			this.lockWaitTime.reset();
+			this.maxQueueDepth.set(this.queueDepth.get());
+		}
+
+	}
+
+}
@@ -0,0 +1,78 @@
+package org.chronos.chronodb.internal.impl.metrics;
+
+import static com.google.common.base.Preconditions.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.chronos.chronodb.api.metrics.CommitPhase;
+import org.chronos.chronodb.internal.api.CommitMetricsInternal;
+import org.chronos.common.logging.ChronoLogger;
+
+/**
+ * Measures the phases of a single commit and reports them to the {@link CommitMetricsInternal commit metrics}.
+ *
+ * <p>
+ * The phases of a commit are consecutive: {@link #endPhase(CommitPhase)} records the time since the previous call (or
+ * since the creation of the timer) as the duration of the given phase. Use {@link #skip()} to exclude work which does
+ * not belong to any phase.
+ *
+ * <p>
+ * Instances of this class are not thread-safe; they are meant to be used by the committing thread only.
+ */
+public class CommitTimer {
+
+	private final CommitMetricsInternal metrics;
+	private final String branchName;
+	private final long startTime;
+	private final long[] phaseDurations;
+	private long lastMark;
+
+	public CommitTimer(final CommitMetricsInternal metrics, final String branchName) {
+		checkNotNull(metrics, "Precondition violation - argument 'metrics' must not be NULL!");
+		checkNotNull(branchName, "Precondition violation - argument 'branchName' must not be NULL!");
+		this.metrics = metrics;
+		this.branchName = branchName;
+		this.phaseDurations = new long[CommitPhase.values().length];
+		this.startTime = System.nanoTime();
+		this.lastMark = this.startTime;
+	}
+
+	public void endPhase(final CommitPhase phase) {
+		long now = System.nanoTime();
+		long duration = now - this.lastMark;
+		this.metrics.recordPhase(this.branchName, phase, duration);
+		this.phaseDurations[phase.ordinal()] += duration;
+		this.lastMark = now;
+	}
+
+	public void skip() {
+		this.lastMark = System.nanoTime();
+	}
+
+	/**
+	 * Records the total duration of the commit.
+	 *
+	 * @param successful      Whether or not the commit was successful.
+	 * @param logPerformance  Use <code>true</code> to log the phase durations of this commit.
+	 * @param perfLogPrefix   The prefix for the performance log line. Ignored if performance logging is disabled.
+	 */
+	public void finish(final boolean successful, final boolean logPerformance, final String perfLogPrefix) {
+		long duration = System.nanoTime() - this.startTime;
+		this.metrics.recordPhase(this.branchName, CommitPhase.TOTAL, duration);
+		this.metrics.recordCommit(this.branchName, successful);
+		this.phaseDurations[CommitPhase.TOTAL.ordinal()] = duration;
+		if (logPerformance) {
+			StringBuilder message = new StringBuilder(perfLogPrefix);
+			message.append(successful ? " succeeded." : " failed.");
+			for (CommitPhase phase : CommitPhase.values()) {
+				message.append(" ");
+				message.append(phase);
+				message.append(": ");
+				message.append(TimeUnit.NANOSECONDS.toMillis(this.phaseDurations[phase.ordinal()]));
+				message.append("ms.");
+			}
+			ChronoLogger.logInfo(message.toString());
+		}
+	}
+
+}
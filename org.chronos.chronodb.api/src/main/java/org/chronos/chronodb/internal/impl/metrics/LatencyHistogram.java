@@ -0,0 +1,171 @@
+package org.chronos.chronodb.internal.impl.metrics;
+
+import static com.google.common.base.Preconditions.*;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.chronos.chronodb.api.metrics.LatencySnapshot;
+
+/**
+ * A lock-free histogram for latency values (in nanoseconds) with logarithmic buckets.
+ *
+ * <p>
+ * Every power of two is divided into {@value #SUB_BUCKET_COUNT} linear sub-buckets, which bounds the relative error of
+ * reported percentiles by 1/{@value #SUB_BUCKET_COUNT}, independent of the magnitude of the values. The histogram has a
+ * fixed size of less than 8KB and covers the entire range of positive <code>long</code> values. Recording a value is
+ * a handful of atomic increments, so it is safe to record every single commit.
+ */
+public class LatencyHistogram {
+
+	// =================================================================================================================
+	// CONSTANTS
+	// =================================================================================================================
+
+	private static final int SUB_BUCKET_BITS = 4;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+	// =================================================================================================================
+	// FIELDS
+	// =================================================================================================================
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+	private final LongAdder total = new LongAdder();
+	private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+	// =================================================================================================================
+	// PUBLIC API
+	// =================================================================================================================
+
+	public void record(final long value) {
+		long nonNegativeValue = Math.max(0L, value);
+		this.buckets.incrementAndGet(bucketIndex(nonNegativeValue));
+		this.total.add(nonNegativeValue);
+		this.min.accumulate(nonNegativeValue);
+		this.max.accumulate(nonNegativeValue);
+	}
+
+	public LatencySnapshot snapshot() {
+		long[] counts = new long[BUCKET_COUNT];
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			counts[i] = this.buckets.get(i);
+		}
+		return new Snapshot(counts, this.total.sum(), this.min.get(), this.max.get());
+	}
+
+	public void reset() {
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			this.buckets.set(i, 0L);
+		}
+		this.total.reset();
+		this.min.reset();
+		this.max.reset();
+	}
+
+	// =================================================================================================================
+	// HELPER METHODS
+	// =================================================================================================================
+
+	static int bucketIndex(final long value) {
+		if (value < SUB_BUCKET_COUNT) {
+			return (int) value;
+		}
+		int magnitude = 63 - Long.numberOfLeadingZeros(value);
+		int shift = magnitude - SUB_BUCKET_BITS;
+		// the sub-bucket is formed by the highest (SUB_BUCKET_BITS + 1) bits of the value
+		return shift * SUB_BUCKET_COUNT + (int) (value >>> shift);
+	}
+
+	static long highestValueInBucket(final int index) {
+		if (index < SUB_BUCKET_COUNT) {
+			return index;
+		}
+		int shift = index / SUB_BUCKET_COUNT - 1;
+		long subBucket = index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+		return ((subBucket + 1) << shift) - 1;
+	}
+
+	// =================================================================================================================
+	// INNER CLASSES
+	// =================================================================================================================
+
+	private static class Snapshot implements LatencySnapshot {
+
+		private final long[] counts;
+		private final long count;
+		private final long total;
+		private final long min;
+		private final long max;
+
+		private Snapshot(final long[] counts, final long total, final long min, final long max) {
+			this.counts = counts;
+			long count = 0;
+			for (long bucketCount : counts) {
+				count += bucketCount;
+			}
+			this.count = count;
+			this.total = total;
+			this.min = count > 0 ? min : 0L;
+			this.max = count > 0 ? max : 0L;
+		}
+
+		@Override
+		public long getCount() {
+			return this.count;
+		}
+
+		@Override
+		public long getMin() {
+			return this.min;
+		}
+
+		@Override
+		public long getMax() {
+			return this.max;
+		}
+
+		@Override
+		public double getMean() {
+			if (this.count <= 0) {
+				return 0;
+			}
+			return (double) this.total / this.count;
+		}
+
+		@Override
+		public long getTotal() {
+			return this.total;
+		}
+
+		@Override
+		public long getValueAtPercentile(final double percentile) {
+			checkArgument(percentile >= 0 && percentile <= 100,
+					"Precondition violation - argument 'percentile' must be between 0 and 100 (inclusive)!");
+			if (this.count <= 0) {
+				return 0L;
+			}
+			long targetCount = Math.max(1L, (long) Math.ceil(percentile / 100.0 * this.count));
+			long cumulativeCount = 0;
+			for (int i = 0; i < this.counts.length; i++) {
+				cumulativeCount += this.counts[i];
+				if (cumulativeCount >= targetCount) {
+					long value = highestValueInBucket(i);
+					return Math.max(this.min, Math.min(value, this.max));
+				}
+			}
+			return this.max;
+		}
+
+		@Override
+		public String toString() {
+			return "LatencySnapshot[count=" + this.count + ", min=" + this.min + "ns, p50="
+					+ this.getValueAtPercentile(50) + "ns, p99=" + this.getValueAtPercentile(99) + "ns, max=" + this.max
+					+ "ns]";
+		}
+
+	}
+
+}
@@ -0,0 +1,53 @@
+package org.chronos.chronodb.internal.impl.query;
+
+import java.util.function.Predicate;
+
+import org.chronos.chronodb.api.query.CompositeCondition;
+import org.chronos.chronodb.api.query.CompositeKeyRange;
+import org.chronos.chronodb.internal.api.query.searchspec.CompositeSearchSpecification;
+import org.chronos.chronodb.internal.api.query.searchspec.SearchSpecification;
+
+public class CompositeSearchSpecificationImpl extends AbstractSearchSpecification<String, CompositeCondition, CompositeKeyRange> implements CompositeSearchSpecification {
+
+	// =================================================================================================================
+	// CONSTRUCTOR
+	// =================================================================================================================
+
+	public CompositeSearchSpecificationImpl(final String property, final CompositeCondition condition, final CompositeKeyRange range) {
+		super(property, condition, range);
+	}
+
+	// =================================================================================================================
+	// PUBLIC API
+	// =================================================================================================================
+
+	@Override
+	public Predicate<Object> toFilterPredicate() {
+		return (obj) -> {
+			if (obj instanceof String == false) {
+				return false;
+			}
+			return this.condition.applies((String) obj, this.searchValue);
+		};
+	}
+
+	@Override
+	public SearchSpecification<String, CompositeKeyRange> negate() {
+		return new CompositeSearchSpecificationImpl(this.getProperty(), this.getCondition().negate(), this.getSearchValue());
+	}
+
+	// =================================================================================================================
+	// HASH CODE & EQUALS
+	// =================================================================================================================
+
+	@Override
+	public int hashCode() {
+		return super.hashCode();
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		return super.equals(obj);
+	}
+
+}
@@ -0,0 +1,30 @@
+package org.chronos.chronodb.internal.impl.query.condition.composite;
+
+import org.chronos.chronodb.api.query.CompositeCondition;
+import org.chronos.chronodb.api.query.CompositeKeyRange;
+import org.chronos.chronodb.internal.impl.query.condition.AbstractCondition;
+
+public class MatchesCompositeCondition extends AbstractCondition implements CompositeCondition {
+
+	public static final MatchesCompositeCondition INSTANCE = new MatchesCompositeCondition();
+
+	protected MatchesCompositeCondition() {
+		super("matches composite");
+	}
+
+	@Override
+	public CompositeCondition negate() {
+		return NotMatchesCompositeCondition.INSTANCE;
+	}
+
+	@Override
+	public boolean applies(final String value, final CompositeKeyRange range) {
+		return range.contains(value);
+	}
+
+	@Override
+	public String toString() {
+		return "Matches Composite";
+	}
+
+}
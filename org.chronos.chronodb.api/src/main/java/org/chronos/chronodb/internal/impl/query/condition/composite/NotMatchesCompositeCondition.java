@@ -0,0 +1,40 @@
+package org.chronos.chronodb.internal.impl.query.condition.composite;
+
+import org.chronos.chronodb.api.query.CompositeCondition;
+import org.chronos.chronodb.api.query.CompositeKeyRange;
+import org.chronos.chronodb.internal.impl.query.condition.AbstractCondition;
+
+public class NotMatchesCompositeCondition extends AbstractCondition implements CompositeCondition {
+
+	public static final NotMatchesCompositeCondition INSTANCE = new NotMatchesCompositeCondition();
+
+	protected NotMatchesCompositeCondition() {
+		super("not matches composite");
+	}
+
+	@Override
+	public CompositeCondition negate() {
+		return MatchesCompositeCondition.INSTANCE;
+	}
+
+	@Override
+	public boolean applies(final String value, final CompositeKeyRange range) {
+		return range.contains(value) == false;
+	}
+
+	@Override
+	public boolean isNegated() {
+		return true;
+	}
+
+	@Override
+	public boolean acceptsEmptyValue() {
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return "Not Matches Composite";
+	}
+
+}
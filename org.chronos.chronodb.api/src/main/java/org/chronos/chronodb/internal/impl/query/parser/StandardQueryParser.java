@@ -256,6 +256,13 @@ public class StandardQueryParser implements QueryParser {
 				QueryElement whereElement = new SetDoubleWhereElement(indexName, condition, comparisonValues,
 					equalityTolerance);
 				return whereElement;
+            } else if (whereToken.isCompositeWhereToken()) {
+                CompositeWhereDetails compositeWhereToken = whereToken.asCompositeWhereToken();
+                String indexName = compositeWhereToken.getIndexName();
+                CompositeCondition condition = compositeWhereToken.getCondition();
+                CompositeKeyRange range = compositeWhereToken.getComparisonValue();
+                QueryElement whereElement = new CompositeWhereElement(indexName, condition, range);
+                return whereElement;
             } else {
                 throw new IllegalStateException("Unknown details on Where token!");
             }
@@ -0,0 +1,31 @@
+package org.chronos.chronodb.internal.impl.query.parser.ast;
+
+import org.chronos.chronodb.api.query.CompositeCondition;
+import org.chronos.chronodb.api.query.CompositeKeyRange;
+import org.chronos.chronodb.api.query.ContainmentCondition;
+import org.chronos.chronodb.internal.api.query.searchspec.CompositeSearchSpecification;
+import org.chronos.chronodb.internal.api.query.searchspec.SearchSpecification;
+
+public class CompositeWhereElement extends WhereElement<CompositeKeyRange, CompositeCondition> {
+
+	public CompositeWhereElement(final String indexName, final CompositeCondition condition, final CompositeKeyRange comparisonValue) {
+		super(indexName, condition, comparisonValue);
+	}
+
+	@Override
+	public CompositeWhereElement negate() {
+		return new CompositeWhereElement(this.getIndexName(), this.getCondition().negate(), this.getComparisonValue());
+	}
+
+	@Override
+	public SearchSpecification<?, ?> toSearchSpecification() {
+		return CompositeSearchSpecification.create(this.getIndexName(), this.getCondition(), this.getComparisonValue());
+	}
+
+	@Override
+	public WhereElement<?, ? extends ContainmentCondition> collapseToInClause(final WhereElement<?, ?> other) {
+		// ranges of composite keys can't be expressed as a set of values
+		return null;
+	}
+
+}
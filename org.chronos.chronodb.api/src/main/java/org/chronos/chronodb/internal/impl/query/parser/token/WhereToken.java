@@ -291,6 +291,31 @@ public class WhereToken implements QueryToken {
 	}
 
 
+	/**
+	 * Sets the {@link CompositeWhereDetails} on this token.
+	 *
+	 * <p>
+	 * Please note that any {@link WhereToken} can have at most one details object assigned at any point in time. If there already is a details object of a different type attached, this method will throw an {@link IllegalStateException}. If there is a details object of the same type attached, its values will be overwritten.
+	 *
+	 * @param condition
+	 *            The condition to store in this "where" token. Must not be <code>null</code>.
+	 * @param range
+	 *            The composite key range to store in this "where" token. Must not be <code>null</code>.
+	 */
+	public void setCompositeWhereDetails(final CompositeCondition condition, final CompositeKeyRange range) {
+		checkNotNull(condition, "Precondition violation - argument 'condition' must not be NULL!");
+		if (this.whereDetails != null && this.whereDetails instanceof CompositeWhereDetails == false) {
+			throw new IllegalStateException("Attempted to set composite search details on a Where token that has search details of a different type assigned!");
+		}
+		if (this.whereDetails == null) {
+			this.whereDetails = new CompositeWhereDetails(condition, range);
+		} else {
+			CompositeWhereDetails compositeWhereDetails = (CompositeWhereDetails) this.whereDetails;
+			compositeWhereDetails.setCondition(condition);
+			compositeWhereDetails.setComparisonValue(range);
+		}
+	}
+
 	/**
 	 * Returns the {@link StringWhereDetails} attached to this element.
 	 *
@@ -417,6 +442,27 @@ public class WhereToken implements QueryToken {
 		return (SetDoubleWhereDetails) this.whereDetails;
 	}
 
+	/**
+	 * Returns the {@link CompositeWhereDetails} attached to this element.
+	 *
+	 * <p>
+	 * Please note that a {@link WhereToken} can have at most one "details" object attached. If there is no details object attached, or a details object of a different type is attached, then this method will throw an {@link IllegalStateException}. Use {@link #isCompositeWhereToken()} first to check if calling this method is safe or not.
+	 *
+	 * @return The details object. Never <code>null</code>.
+	 *
+	 * @throws IllegalStateException
+	 *             Thrown if no details object is present or it is of the wrong type.
+	 */
+	public CompositeWhereDetails asCompositeWhereToken() {
+		if (this.whereDetails == null) {
+			throw new IllegalStateException("Requested the Where details for Composite search, but no details have been assigned yet!");
+		}
+		if (this.whereDetails instanceof CompositeWhereDetails == false) {
+			throw new IllegalStateException("Requested the Where details for Composite search, but details of a different type were assigned!");
+		}
+		return (CompositeWhereDetails) this.whereDetails;
+	}
+
 	/**
 	 * Checks if this element has {@link StringWhereDetails} assigned to it.
 	 *
@@ -471,6 +517,14 @@ public class WhereToken implements QueryToken {
 		return this.whereDetails instanceof SetDoubleWhereDetails;
 	}
 
+	/**
+	 * Checks if this element has {@link CompositeWhereDetails} assigned to it.
+	 *
+	 * @return <code>true</code> if CompositeWhereDetails are assigned, otherwise <code>false</code>.
+	 */
+	public boolean isCompositeWhereToken() {
+		return this.whereDetails instanceof CompositeWhereDetails;
+	}
 
 	/**
 	 * Checks if this element already has {@linkplain AbstractWhereDetails details} assigned to it.
@@ -845,4 +899,28 @@ public class WhereToken implements QueryToken {
 		}
 	}
 
+	/**
+	 * A simple data container, specifying the details of a {@link WhereToken} in the query language.
+	 *
+	 * <p>
+	 * This version is specialized for "where" clauses that act on composite indices, comparing against a {@link CompositeKeyRange}.
+	 *
+	 * @author martin.haeusler@uibk.ac.at -- Initial Contribution and API
+	 */
+	public class CompositeWhereDetails extends AbstractWhereDetails<CompositeKeyRange, CompositeCondition> {
+
+		/**
+		 * Creates a new {@link CompositeWhereDetails} instance.
+		 *
+		 * @param condition
+		 *            The condition to store in the new details object. Must not be <code>null</code>.
+		 * @param range
+		 *            The composite key range to store in the new details object. Must not be <code>null</code>.
+		 */
+		protected CompositeWhereDetails(final CompositeCondition condition, final CompositeKeyRange range) {
+			super(condition, range);
+		}
+
+	}
+
 }
@@ -0,0 +1,77 @@
+package org.chronos.chronodb.internal.impl.query.planner;
+
+import static com.google.common.base.Preconditions.*;
+
+import java.util.Collections;
+import java.util.Set;
+
+import org.chronos.chronodb.api.indexing.IndexEncoding;
+import org.chronos.chronodb.internal.api.query.BitmapExpression;
+
+/**
+ * A {@link PlanNode} which evaluates an <code>and</code> / <code>or</code> combination of lookups on
+ * {@linkplain IndexEncoding#BITMAP bitmap-encoded} indices by combining their bitmaps.
+ *
+ * <p>
+ * The storage backend may refuse to evaluate the expression on bitmaps (e.g. because the bitmaps do not cover the
+ * requested timestamp). In this case, the <i>fallback</i> node (the regular plan for the same expression) is executed
+ * instead.
+ */
+public class BitmapNode extends PlanNode {
+
+	private final BitmapExpression expression;
+	private final PlanNode fallback;
+
+	public BitmapNode(final BitmapExpression expression, final PlanNode fallback, final double estimatedCost) {
+		super(fallback.getEstimatedResultSize(), fallback.getSelectivity(), estimatedCost);
+		checkNotNull(expression, "Precondition violation - argument 'expression' must not be NULL!");
+		this.expression = expression;
+		this.fallback = fallback;
+	}
+
+	// =================================================================================================================
+	// PUBLIC API
+	// =================================================================================================================
+
+	public BitmapExpression getExpression() {
+		return this.expression;
+	}
+
+	@Override
+	public Set<String> execute(final QueryPlanContext context) {
+		checkNotNull(context, "Precondition violation - argument 'context' must not be NULL!");
+		Set<String> result = context.queryBitmaps(this.expression);
+		if (result == null) {
+			return this.fallback.execute(context);
+		}
+		return Collections.unmodifiableSet(result);
+	}
+
+	@Override
+	public Set<String> execute(final QueryPlanContext context, final int maxResults) {
+		checkNotNull(context, "Precondition violation - argument 'context' must not be NULL!");
+		checkArgument(maxResults > 0, "Precondition violation - argument 'maxResults' must be greater than zero!");
+		Set<String> result = context.queryBitmaps(this.expression);
+		if (result == null) {
+			return this.fallback.execute(context, maxResults);
+		}
+		// note: the bitmaps always produce the full result, there is nothing to gain by stopping early
+		return Collections.unmodifiableSet(result);
+	}
+
+	@Override
+	public long count(final QueryPlanContext context) {
+		checkNotNull(context, "Precondition violation - argument 'context' must not be NULL!");
+		Long count = context.countBitmaps(this.expression);
+		if (count == null) {
+			return this.fallback.count(context);
+		}
+		return count;
+	}
+
+	@Override
+	public void describe(final StringBuilder builder, final int depth) {
+		this.appendLine(builder, depth, "BITMAP " + this.expression);
+	}
+
+}
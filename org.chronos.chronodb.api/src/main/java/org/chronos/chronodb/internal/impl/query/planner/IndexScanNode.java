@@ -0,0 +1,79 @@
+package org.chronos.chronodb.internal.impl.query.planner;
+
+import static com.google.common.base.Preconditions.*;
+
+import java.util.Collections;
+import java.util.Set;
+
+import org.chronos.chronodb.internal.api.query.searchspec.SearchSpecification;
+
+/**
+ * A {@link PlanNode} which evaluates a single search specification against its secondary index.
+ */
+public class IndexScanNode extends PlanNode {
+
+	private final SearchSpecification<?, ?> searchSpec;
+	private final String description;
+
+	public IndexScanNode(final SearchSpecification<?, ?> searchSpec, final String description,
+			final double estimatedResultSize, final double selectivity, final double estimatedCost) {
+		super(estimatedResultSize, selectivity, estimatedCost);
+		checkNotNull(searchSpec, "Precondition violation - argument 'searchSpec' must not be NULL!");
+		checkNotNull(description, "Precondition violation - argument 'description' must not be NULL!");
+		this.searchSpec = searchSpec;
+		this.description = description;
+	}
+
+	// =================================================================================================================
+	// PUBLIC API
+	// =================================================================================================================
+
+	public SearchSpecification<?, ?> getSearchSpecification() {
+		return this.searchSpec;
+	}
+
+	public String getDescription() {
+		return this.description;
+	}
+
+	/**
+	 * Checks if the search specification of this node can be checked directly on a value (instead of scanning the
+	 * index).
+	 *
+	 * <p>
+	 * This is not the case for negated conditions, because they also match keys which do not produce any index value.
+	 *
+	 * @return <code>true</code> if this node can be turned into a filter, otherwise <code>false</code>.
+	 */
+	public boolean isFilterable() {
+		return this.searchSpec.getCondition().isNegated() == false;
+	}
+
+	@Override
+	public Set<String> execute(final QueryPlanContext context) {
+		checkNotNull(context, "Precondition violation - argument 'context' must not be NULL!");
+		return Collections.unmodifiableSet(context.queryIndex(this.searchSpec));
+	}
+
+	@Override
+	public Set<String> execute(final QueryPlanContext context, final int maxResults) {
+		checkNotNull(context, "Precondition violation - argument 'context' must not be NULL!");
+		checkArgument(maxResults > 0, "Precondition violation - argument 'maxResults' must be greater than zero!");
+		if (maxResults == Integer.MAX_VALUE) {
+			return this.execute(context);
+		}
+		return Collections.unmodifiableSet(context.queryIndex(this.searchSpec, maxResults));
+	}
+
+	@Override
+	public long count(final QueryPlanContext context) {
+		checkNotNull(context, "Precondition violation - argument 'context' must not be NULL!");
+		return context.countIndex(this.searchSpec);
+	}
+
+	@Override
+	public void describe(final StringBuilder builder, final int depth) {
+		this.appendLine(builder, depth, "INDEX SCAN " + this.description);
+	}
+
+}
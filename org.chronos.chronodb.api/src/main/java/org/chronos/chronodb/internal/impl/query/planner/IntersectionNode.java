@@ -0,0 +1,108 @@
+package org.chronos.chronodb.internal.impl.query.planner;
+
+import static com.google.common.base.Preconditions.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.chronos.chronodb.internal.api.query.searchspec.SearchSpecification;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Sets;
+
+/**
+ * A {@link PlanNode} which produces the intersection of the results of its children.
+ *
+ * <p>
+ * The <i>driver</i> (the most selective child) is evaluated first and produces the candidate keys. The <i>probes</i>
+ * are evaluated afterwards, in the given order; each of them reduces the candidates to the keys contained in its own
+ * result. Finally, the <i>filters</i> are checked directly on the values of the remaining candidates, without scanning
+ * their indices at all. As soon as the set of candidates is empty, evaluation stops.
+ */
+public class IntersectionNode extends PlanNode {
+
+	private final PlanNode driver;
+	private final List<PlanNode> probes;
+	private final List<IndexScanNode> filters;
+
+	public IntersectionNode(final PlanNode driver, final List<PlanNode> probes, final List<IndexScanNode> filters,
+			final double estimatedResultSize, final double selectivity, final double estimatedCost) {
+		super(estimatedResultSize, selectivity, estimatedCost);
+		checkNotNull(driver, "Precondition violation - argument 'driver' must not be NULL!");
+		checkNotNull(probes, "Precondition violation - argument 'probes' must not be NULL!");
+		checkNotNull(filters, "Precondition violation - argument 'filters' must not be NULL!");
+		this.driver = driver;
+		this.probes = ImmutableList.copyOf(probes);
+		this.filters = ImmutableList.copyOf(filters);
+	}
+
+	// =================================================================================================================
+	// PUBLIC API
+	// =================================================================================================================
+
+	@Override
+	public Set<String> execute(final QueryPlanContext context) {
+		return this.execute(context, Integer.MAX_VALUE);
+	}
+
+	@Override
+	public Set<String> execute(final QueryPlanContext context, final int maxResults) {
+		checkNotNull(context, "Precondition violation - argument 'context' must not be NULL!");
+		checkArgument(maxResults > 0, "Precondition violation - argument 'maxResults' must be greater than zero!");
+		// note: the driver and the probes can not be limited, because the subsequent steps may drop any of their keys
+		Set<String> candidates = this.driver.execute(context);
+		for (PlanNode probe : this.probes) {
+			if (candidates.isEmpty()) {
+				return Collections.emptySet();
+			}
+			Set<String> probeResult = probe.execute(context);
+			// iterate over the smaller set and check for membership in the larger one
+			Set<String> smaller = candidates.size() <= probeResult.size() ? candidates : probeResult;
+			Set<String> larger = smaller == candidates ? probeResult : candidates;
+			Set<String> intersection = Sets.newHashSetWithExpectedSize(smaller.size());
+			for (String key : smaller) {
+				if (larger.contains(key)) {
+					intersection.add(key);
+				}
+			}
+			candidates = intersection;
+		}
+		if (this.filters.isEmpty() == false && candidates.isEmpty() == false) {
+			List<SearchSpecification<?, ?>> searchSpecs = this.filters.stream()
+					.map(IndexScanNode::getSearchSpecification)
+					.collect(Collectors.toList());
+			// the filters load the value of every candidate, so we stop as soon as we have enough results
+			Set<String> matches = Sets.newHashSet();
+			for (String key : candidates) {
+				if (matches.size() >= maxResults) {
+					break;
+				}
+				if (context.matches(key, searchSpecs)) {
+					matches.add(key);
+				}
+			}
+			candidates = matches;
+		}
+		return Collections.unmodifiableSet(candidates);
+	}
+
+	@Override
+	public void describe(final StringBuilder builder, final int depth) {
+		this.appendLine(builder, depth, "INTERSECT");
+		this.driver.describe(builder, depth + 1);
+		for (PlanNode probe : this.probes) {
+			probe.describe(builder, depth + 1);
+		}
+		for (IndexScanNode filter : this.filters) {
+			for (int i = 0; i < depth + 1; i++) {
+				builder.append("  ");
+			}
+			builder.append("FILTER ");
+			builder.append(filter.getDescription());
+			builder.append("\n");
+		}
+	}
+
+}
@@ -0,0 +1,131 @@
+package org.chronos.chronodb.internal.impl.query.planner;
+
+import java.util.Set;
+
+/**
+ * A single node in the tree of a {@link QueryPlanImpl query plan}.
+ *
+ * <p>
+ * Every node carries the estimates which were used by the {@link QueryPlanner} to create it, and knows how to produce
+ * its result set.
+ */
+public abstract class PlanNode {
+
+	// =================================================================================================================
+	// FIELDS
+	// =================================================================================================================
+
+	private final double estimatedResultSize;
+	private final double selectivity;
+	private final double estimatedCost;
+
+	// =================================================================================================================
+	// CONSTRUCTOR
+	// =================================================================================================================
+
+	protected PlanNode(final double estimatedResultSize, final double selectivity, final double estimatedCost) {
+		this.estimatedResultSize = Math.max(0, estimatedResultSize);
+		this.selectivity = Math.max(0, Math.min(1, selectivity));
+		this.estimatedCost = Math.max(0, estimatedCost);
+	}
+
+	// =================================================================================================================
+	// PUBLIC API
+	// =================================================================================================================
+
+	/**
+	 * Returns the estimated number of keys produced by this node.
+	 *
+	 * @return The estimated result size. Never negative.
+	 */
+	public double getEstimatedResultSize() {
+		return this.estimatedResultSize;
+	}
+
+	/**
+	 * Returns the estimated fraction of keys which are produced by this node.
+	 *
+	 * @return The selectivity, between zero and one (inclusive).
+	 */
+	public double getSelectivity() {
+		return this.selectivity;
+	}
+
+	/**
+	 * Returns the estimated cost of producing the result of this node.
+	 *
+	 * @return The estimated cost. Never negative.
+	 */
+	public double getEstimatedCost() {
+		return this.estimatedCost;
+	}
+
+	/**
+	 * Produces the result set of this node.
+	 *
+	 * @param context
+	 *            The context to evaluate the node in. Must not be <code>null</code>.
+	 * @return The set of matching keys. Never <code>null</code>, may be empty. The returned set is unmodifiable.
+	 */
+	public abstract Set<String> execute(QueryPlanContext context);
+
+	/**
+	 * Produces (a part of) the result set of this node, stopping as soon as enough matches have been found.
+	 *
+	 * <p>
+	 * The returned set contains at least <code>min(maxResults, n)</code> keys, where <code>n</code> is the size of the
+	 * full result set. By default, the full result set is produced.
+	 *
+	 * @param context
+	 *            The context to evaluate the node in. Must not be <code>null</code>.
+	 * @param maxResults
+	 *            The number of matches after which the evaluation may stop. Must be greater than zero.
+	 * @return A subset of the matching keys, as described above. Never <code>null</code>, may be empty. The returned
+	 *         set is unmodifiable.
+	 */
+	public Set<String> execute(final QueryPlanContext context, final int maxResults) {
+		return this.execute(context);
+	}
+
+	/**
+	 * Counts the keys in the result set of this node.
+	 *
+	 * <p>
+	 * By default, the full result set is produced and its size is returned. Nodes which are able to count their
+	 * matches without collecting them override this method.
+	 *
+	 * @param context
+	 *            The context to evaluate the node in. Must not be <code>null</code>.
+	 * @return The number of matching keys. Never negative.
+	 */
+	public long count(final QueryPlanContext context) {
+		return this.execute(context).size();
+	}
+
+	/**
+	 * Appends the description of this node (and its children) to the given builder.
+	 *
+	 * @param builder
+	 *            The builder to append to. Must not be <code>null</code>.
+	 * @param depth
+	 *            The depth of this node in the plan, used for indentation. Must not be negative.
+	 */
+	public abstract void describe(StringBuilder builder, int depth);
+
+	// =================================================================================================================
+	// HELPER METHODS
+	// =================================================================================================================
+
+	protected void appendLine(final StringBuilder builder, final int depth, final String text) {
+		for (int i = 0; i < depth; i++) {
+			builder.append("  ");
+		}
+		builder.append(text);
+		builder.append(" [rows: ");
+		builder.append(Math.round(this.estimatedResultSize));
+		builder.append(", cost: ");
+		builder.append(Math.round(this.estimatedCost));
+		builder.append("]\n");
+	}
+
+}
@@ -0,0 +1,121 @@
+package org.chronos.chronodb.internal.impl.query.planner;
+
+import java.util.List;
+import java.util.Set;
+
+import org.chronos.chronodb.api.indexing.IndexEncoding;
+import org.chronos.chronodb.internal.api.index.IndexStatistics;
+import org.chronos.chronodb.internal.api.query.BitmapExpression;
+import org.chronos.chronodb.internal.api.query.searchspec.SearchSpecification;
+
+/**
+ * Provides the {@link QueryPlanner} and the resulting plans with access to the indices of a single keyspace, at a
+ * fixed branch and timestamp.
+ */
+public interface QueryPlanContext {
+
+	/**
+	 * Returns the statistics of the given index.
+	 *
+	 * @param indexName
+	 *            The name of the index. Must not be <code>null</code>.
+	 * @return The statistics of the index, or <code>null</code> if no statistics are available.
+	 */
+	public IndexStatistics getIndexStatistics(String indexName);
+
+	/**
+	 * Evaluates the given search specification against its index.
+	 *
+	 * @param searchSpec
+	 *            The search specification to evaluate. Must not be <code>null</code>.
+	 * @return The set of matching keys. Never <code>null</code>, may be empty.
+	 */
+	public Set<String> queryIndex(SearchSpecification<?, ?> searchSpec);
+
+	/**
+	 * Evaluates the given search specification against its index, stopping as soon as enough matches have been found.
+	 *
+	 * <p>
+	 * The returned set contains at least <code>min(maxResults, n)</code> keys, where <code>n</code> is the total number
+	 * of matches. If it contains fewer than <code>maxResults</code> keys, it is the complete result.
+	 *
+	 * @param searchSpec
+	 *            The search specification to evaluate. Must not be <code>null</code>.
+	 * @param maxResults
+	 *            The number of matches after which the evaluation may stop. Must be greater than zero.
+	 * @return A subset of the matching keys, as described above. Never <code>null</code>, may be empty.
+	 */
+	public default Set<String> queryIndex(final SearchSpecification<?, ?> searchSpec, final int maxResults) {
+		return this.queryIndex(searchSpec);
+	}
+
+	/**
+	 * Checks if the value of the given key matches all of the given search specifications.
+	 *
+	 * <p>
+	 * This method loads the value and runs the indexers on it, it does not consult the indices.
+	 *
+	 * @param key
+	 *            The key to check. Must not be <code>null</code>.
+	 * @param searchSpecs
+	 *            The (non-negated) search specifications to check. Must not be <code>null</code>.
+	 * @return <code>true</code> if the value of the key matches all search specifications, otherwise <code>false</code>.
+	 */
+	public boolean matches(String key, List<SearchSpecification<?, ?>> searchSpecs);
+
+	/**
+	 * Returns the encoding of the given index.
+	 *
+	 * @param indexName
+	 *            The name of the index. Must not be <code>null</code>.
+	 * @return The encoding of the index. Never <code>null</code>. By default, {@link IndexEncoding#STANDARD}.
+	 */
+	public default IndexEncoding getIndexEncoding(final String indexName) {
+		return IndexEncoding.STANDARD;
+	}
+
+	/**
+	 * Evaluates the given expression on the bitmaps of its (bitmap-encoded) indices.
+	 *
+	 * @param expression
+	 *            The expression to evaluate. Must not be <code>null</code>.
+	 * @return The set of matching keys, or <code>null</code> if the expression can not be evaluated on bitmaps (in which
+	 *         case the caller has to fall back to regular index scans). By default, <code>null</code>.
+	 */
+	public default Set<String> queryBitmaps(final BitmapExpression expression) {
+		return null;
+	}
+
+	/**
+	 * Counts the keys which match the given search specification.
+	 *
+	 * <p>
+	 * By default, the index is queried and the size of the result is returned. Implementations should override this
+	 * method if they can count the matches without collecting them.
+	 *
+	 * @param searchSpec
+	 *            The search specification to evaluate. Must not be <code>null</code>.
+	 * @return The number of matching keys. Never negative.
+	 */
+	public default long countIndex(final SearchSpecification<?, ?> searchSpec) {
+		return this.queryIndex(searchSpec).size();
+	}
+
+	/**
+	 * Counts the keys which match the given expression on the bitmaps of its (bitmap-encoded) indices.
+	 *
+	 * @param expression
+	 *            The expression to evaluate. Must not be <code>null</code>.
+	 * @return The number of matching keys, or <code>null</code> if the expression can not be evaluated on bitmaps (in
+	 *         which case the caller has to fall back to regular index scans). By default, the size of the result of
+	 *         {@link #queryBitmaps(BitmapExpression)}.
+	 */
+	public default Long countBitmaps(final BitmapExpression expression) {
+		Set<String> result = this.queryBitmaps(expression);
+		if (result == null) {
+			return null;
+		}
+		return (long) result.size();
+	}
+
+}
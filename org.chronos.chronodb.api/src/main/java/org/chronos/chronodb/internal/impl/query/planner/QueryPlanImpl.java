@@ -0,0 +1,93 @@
+package org.chronos.chronodb.internal.impl.query.planner;
+
+import static com.google.common.base.Preconditions.*;
+
+import java.util.Set;
+
+import org.chronos.chronodb.internal.api.query.QueryPlan;
+
+public class QueryPlanImpl implements QueryPlan {
+
+	private final PlanNode rootNode;
+
+	public QueryPlanImpl(final PlanNode rootNode) {
+		checkNotNull(rootNode, "Precondition violation - argument 'rootNode' must not be NULL!");
+		this.rootNode = rootNode;
+	}
+
+	// =================================================================================================================
+	// PUBLIC API
+	// =================================================================================================================
+
+	@Override
+	public long getEstimatedResultSize() {
+		return Math.round(this.rootNode.getEstimatedResultSize());
+	}
+
+	@Override
+	public double getEstimatedCost() {
+		return this.rootNode.getEstimatedCost();
+	}
+
+	@Override
+	public String getDescription() {
+		StringBuilder builder = new StringBuilder();
+		this.rootNode.describe(builder, 0);
+		return builder.toString();
+	}
+
+	public PlanNode getRootNode() {
+		return this.rootNode;
+	}
+
+	/**
+	 * Executes this plan.
+	 *
+	 * @param context
+	 *            The context to execute the plan in. Must not be <code>null</code>.
+	 * @return The set of keys matching the query. Never <code>null</code>, may be empty. The returned set is
+	 *         unmodifiable.
+	 */
+	public Set<String> execute(final QueryPlanContext context) {
+		checkNotNull(context, "Precondition violation - argument 'context' must not be NULL!");
+		return this.rootNode.execute(context);
+	}
+
+	/**
+	 * Executes this plan, stopping as soon as enough matches have been found.
+	 *
+	 * @param context
+	 *            The context to execute the plan in. Must not be <code>null</code>.
+	 * @param maxResults
+	 *            The number of matches after which the evaluation may stop. Must be greater than zero.
+	 * @return At least <code>min(maxResults, n)</code> keys matching the query, where <code>n</code> is the total number
+	 *         of matches. Never <code>null</code>, may be empty. The returned set is unmodifiable.
+	 */
+	public Set<String> execute(final QueryPlanContext context, final int maxResults) {
+		checkNotNull(context, "Precondition violation - argument 'context' must not be NULL!");
+		checkArgument(maxResults > 0, "Precondition violation - argument 'maxResults' must be greater than zero!");
+		return this.rootNode.execute(context, maxResults);
+	}
+
+	/**
+	 * Counts the keys which match the query of this plan.
+	 *
+	 * <p>
+	 * Plans which consist of a single index scan (or a single bitmap expression) count the matches without collecting
+	 * them. All other plans produce their result set and return its size.
+	 *
+	 * @param context
+	 *            The context to execute the plan in. Must not be <code>null</code>.
+	 * @return The number of keys matching the query. Never negative.
+	 */
+	public long count(final QueryPlanContext context) {
+		checkNotNull(context, "Precondition violation - argument 'context' must not be NULL!");
+		return this.rootNode.count(context);
+	}
+
+	@Override
+	public String toString() {
+		return this.getDescription();
+	}
+
+}
@@ -0,0 +1,270 @@
+package org.chronos.chronodb.internal.impl.query.planner;
+
+import static com.google.common.base.Preconditions.*;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.chronos.chronodb.api.exceptions.ChronoDBQuerySyntaxException;
+import org.chronos.chronodb.api.indexing.IndexEncoding;
+import org.chronos.chronodb.internal.api.index.IndexStatistics;
+import org.chronos.chronodb.internal.api.query.BitmapExpression;
+import org.chronos.chronodb.internal.api.query.searchspec.SearchSpecification;
+import org.chronos.chronodb.internal.impl.query.parser.ast.BinaryOperatorElement;
+import org.chronos.chronodb.internal.impl.query.parser.ast.BinaryQueryOperator;
+import org.chronos.chronodb.internal.impl.query.parser.ast.QueryElement;
+import org.chronos.chronodb.internal.impl.query.parser.ast.WhereElement;
+import org.chronos.common.exceptions.UnknownEnumLiteralException;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+/**
+ * A cost-based planner which turns the (optimized) AST of a query into a {@link QueryPlanImpl query plan}.
+ *
+ * <p>
+ * The planner applies the following strategy:
+ * <ul>
+ * <li>Every <code>where</code> clause becomes an {@linkplain IndexScanNode index scan}, whose size and cost are
+ * estimated from the {@link IndexStatistics} of its index.
+ * <li>Chains of <code>and</code> operators are flattened into a single {@linkplain IntersectionNode intersection}. The
+ * conjuncts are ordered by their estimated result size; the most selective one is evaluated first. Each remaining
+ * conjunct is either evaluated against its index and intersected with the candidates, or - if checking the (estimated)
+ * candidates directly is cheaper than scanning the index - it is applied as a filter on the candidate values.
+ * <li><code>or</code> operators become {@linkplain UnionNode unions} of their children.
+ * <li>Equality and <code>within</code> conditions on {@linkplain IndexEncoding#BITMAP bitmap-encoded} indices, as well
+ * as <code>and</code> / <code>or</code> combinations of them, are combined into a single {@linkplain BitmapNode bitmap
+ * operation} (if that is cheaper than the regular plan).
+ * </ul>
+ *
+ * <p>
+ * Instances of this class are stateless and may be shared among threads.
+ */
+public class QueryPlanner {
+
+	// =================================================================================================================
+	// CONSTANTS
+	// =================================================================================================================
+
+	/** The cost of loading a single value and running the indexers on it, relative to visiting one index entry. */
+	public static final double VALUE_LOAD_COST = 20;
+
+	/** The fixed cost of accessing an index, regardless of the number of visited entries. */
+	private static final double INDEX_ACCESS_COST = 1;
+
+	/** The number of keys which are processed by a single word operation on a bitmap. */
+	private static final double BITMAP_WORD_SIZE = 64;
+
+	// =================================================================================================================
+	// PUBLIC API
+	// =================================================================================================================
+
+	/**
+	 * Creates the plan for the query with the given AST.
+	 *
+	 * @param rootElement
+	 *            The root of the query AST. Must not be <code>null</code>. The query must have been optimized before.
+	 * @param context
+	 *            The context which provides the index statistics. Must not be <code>null</code>.
+	 * @return The query plan. Never <code>null</code>.
+	 */
+	public QueryPlanImpl plan(final QueryElement rootElement, final QueryPlanContext context) {
+		checkNotNull(rootElement, "Precondition violation - argument 'rootElement' must not be NULL!");
+		checkNotNull(context, "Precondition violation - argument 'context' must not be NULL!");
+		Map<String, IndexStatistics> statisticsCache = Maps.newHashMap();
+		return new QueryPlanImpl(this.planElement(rootElement, context, statisticsCache));
+	}
+
+	// =================================================================================================================
+	// HELPER METHODS
+	// =================================================================================================================
+
+	private PlanNode planElement(final QueryElement element, final QueryPlanContext context,
+			final Map<String, IndexStatistics> statisticsCache) {
+		if (element instanceof BinaryOperatorElement) {
+			BinaryOperatorElement binaryOpElement = (BinaryOperatorElement) element;
+			BinaryQueryOperator op = binaryOpElement.getOperator();
+			switch (op) {
+			case AND:
+				return this.planConjunction(binaryOpElement, context, statisticsCache);
+			case OR:
+				PlanNode left = this.planElement(binaryOpElement.getLeftChild(), context, statisticsCache);
+				PlanNode right = this.planElement(binaryOpElement.getRightChild(), context, statisticsCache);
+				UnionNode union = new UnionNode(left, right);
+				BitmapExpression bitmapExpression = this.toBitmapExpression(binaryOpElement, context);
+				if (bitmapExpression == null) {
+					return union;
+				}
+				return this.planBitmap(bitmapExpression, union, context, statisticsCache);
+			default:
+				throw new UnknownEnumLiteralException(
+						"Encountered unknown literal of BinaryQueryOperator: '" + op + "'!");
+			}
+		} else if (element instanceof WhereElement) {
+			return this.planWhere((WhereElement<?, ?>) element, context, statisticsCache);
+		} else {
+			// all other elements should be eliminated by optimizations...
+			throw new ChronoDBQuerySyntaxException("Query contains unsupported element of class '"
+					+ element.getClass().getName() + "' - was the query optimized?");
+		}
+	}
+
+	private PlanNode planWhere(final WhereElement<?, ?> whereElement, final QueryPlanContext context,
+			final Map<String, IndexStatistics> statisticsCache) {
+		return this.planSearchSpecification(whereElement.toSearchSpecification(), whereElement.toString(), context,
+				statisticsCache);
+	}
+
+	private IndexScanNode planSearchSpecification(final SearchSpecification<?, ?> searchSpec,
+			final String description, final QueryPlanContext context,
+			final Map<String, IndexStatistics> statisticsCache) {
+		String indexName = searchSpec.getProperty();
+		IndexStatistics statistics;
+		if (statisticsCache.containsKey(indexName)) {
+			statistics = statisticsCache.get(indexName);
+		} else {
+			statistics = context.getIndexStatistics(indexName);
+			statisticsCache.put(indexName, statistics);
+		}
+		double entryCount = statistics != null ? statistics.getEntryCount() : SelectivityEstimator.DEFAULT_ENTRY_COUNT;
+		double selectivity = SelectivityEstimator.estimateSelectivity(searchSpec, statistics);
+		double resultSize = entryCount * selectivity;
+		double scannedEntries = SelectivityEstimator.isRangeScan(searchSpec) ? resultSize : entryCount;
+		return new IndexScanNode(searchSpec, description, resultSize, selectivity,
+				INDEX_ACCESS_COST + scannedEntries);
+	}
+
+	private PlanNode planConjunction(final BinaryOperatorElement element, final QueryPlanContext context,
+			final Map<String, IndexStatistics> statisticsCache) {
+		List<QueryElement> conjuncts = Lists.newArrayList();
+		this.collectConjuncts(element, conjuncts);
+		List<PlanNode> nodes = Lists.newArrayList();
+		// the conjuncts which can be evaluated on bitmaps are combined into a single bitmap operation
+		List<BitmapExpression> bitmapOperands = Lists.newArrayList();
+		List<PlanNode> bitmapNodes = Lists.newArrayList();
+		for (QueryElement conjunct : conjuncts) {
+			PlanNode node = this.planElement(conjunct, context, statisticsCache);
+			BitmapExpression bitmapExpression = this.toBitmapExpression(conjunct, context);
+			if (bitmapExpression != null) {
+				bitmapOperands.add(bitmapExpression);
+				bitmapNodes.add(node);
+			} else {
+				nodes.add(node);
+			}
+		}
+		if (bitmapOperands.size() >= 2) {
+			PlanNode fallback = this.planIntersection(bitmapNodes);
+			nodes.add(this.planBitmap(BitmapExpression.and(bitmapOperands), fallback, context, statisticsCache));
+		} else {
+			nodes.addAll(bitmapNodes);
+		}
+		if (nodes.size() == 1) {
+			return nodes.get(0);
+		}
+		return this.planIntersection(nodes);
+	}
+
+	private PlanNode planIntersection(final List<PlanNode> children) {
+		// evaluate the most selective children first
+		List<PlanNode> nodes = children.stream()
+				.sorted(Comparator.comparingDouble(PlanNode::getEstimatedResultSize)
+						.thenComparingDouble(PlanNode::getEstimatedCost))
+				.collect(Collectors.toList());
+		PlanNode driver = nodes.get(0);
+		List<PlanNode> probes = Lists.newArrayList();
+		List<IndexScanNode> filters = Lists.newArrayList();
+		double candidates = driver.getEstimatedResultSize();
+		double cost = driver.getEstimatedCost();
+		double filterSelectivity = 1.0;
+		for (PlanNode node : nodes.subList(1, nodes.size())) {
+			boolean filterIsCheaper = candidates * VALUE_LOAD_COST < node.getEstimatedCost();
+			if (node instanceof IndexScanNode && ((IndexScanNode) node).isFilterable() && filterIsCheaper) {
+				filters.add((IndexScanNode) node);
+				filterSelectivity *= node.getSelectivity();
+			} else {
+				probes.add(node);
+				cost += node.getEstimatedCost();
+				candidates *= node.getSelectivity();
+			}
+		}
+		if (filters.isEmpty() == false) {
+			// all filters are checked on the same value, which is loaded once per candidate
+			cost += candidates * VALUE_LOAD_COST;
+		}
+		double selectivity = nodes.stream().mapToDouble(PlanNode::getSelectivity).reduce(1.0, (a, b) -> a * b);
+		return new IntersectionNode(driver, probes, filters, candidates * filterSelectivity, selectivity, cost);
+	}
+
+	private PlanNode planBitmap(final BitmapExpression expression, final PlanNode fallback,
+			final QueryPlanContext context, final Map<String, IndexStatistics> statisticsCache) {
+		// every value is a single bitmap access; combining the bitmaps processes one word per 64 keys
+		double cost = 0;
+		for (BitmapExpression.Lookup lookup : expression.getLookups()) {
+			IndexScanNode scan = this.planSearchSpecification(lookup.getSearchSpecification(), lookup.toString(),
+					context, statisticsCache);
+			cost += INDEX_ACCESS_COST * lookup.getValues().size() + scan.getEstimatedResultSize() / BITMAP_WORD_SIZE;
+		}
+		if (cost >= fallback.getEstimatedCost()) {
+			return fallback;
+		}
+		return new BitmapNode(expression, fallback, cost);
+	}
+
+	/**
+	 * Converts the given element into a {@link BitmapExpression}.
+	 *
+	 * @param element
+	 *            The element to convert. Must not be <code>null</code>.
+	 * @param context
+	 *            The context which provides the index encodings. Must not be <code>null</code>.
+	 * @return The bitmap expression, or <code>null</code> if the element (or any part of it) can not be evaluated on
+	 *         bitmaps.
+	 */
+	private BitmapExpression toBitmapExpression(final QueryElement element, final QueryPlanContext context) {
+		if (element instanceof WhereElement) {
+			SearchSpecification<?, ?> searchSpec = ((WhereElement<?, ?>) element).toSearchSpecification();
+			if (BitmapExpression.isBitmapLookup(searchSpec) == false) {
+				return null;
+			}
+			if (context.getIndexEncoding(searchSpec.getProperty()) != IndexEncoding.BITMAP) {
+				return null;
+			}
+			return BitmapExpression.lookup(searchSpec);
+		}
+		if (element instanceof BinaryOperatorElement == false) {
+			return null;
+		}
+		BinaryOperatorElement binaryOpElement = (BinaryOperatorElement) element;
+		BitmapExpression left = this.toBitmapExpression(binaryOpElement.getLeftChild(), context);
+		if (left == null) {
+			return null;
+		}
+		BitmapExpression right = this.toBitmapExpression(binaryOpElement.getRightChild(), context);
+		if (right == null) {
+			return null;
+		}
+		switch (binaryOpElement.getOperator()) {
+		case AND:
+			return BitmapExpression.and(Lists.newArrayList(left, right));
+		case OR:
+			return BitmapExpression.or(Lists.newArrayList(left, right));
+		default:
+			throw new UnknownEnumLiteralException(
+					"Encountered unknown literal of BinaryQueryOperator: '" + binaryOpElement.getOperator() + "'!");
+		}
+	}
+
+	private void collectConjuncts(final QueryElement element, final List<QueryElement> conjuncts) {
+		if (element instanceof BinaryOperatorElement
+				&& ((BinaryOperatorElement) element).getOperator() == BinaryQueryOperator.AND) {
+			BinaryOperatorElement binaryOpElement = (BinaryOperatorElement) element;
+			this.collectConjuncts(binaryOpElement.getLeftChild(), conjuncts);
+			this.collectConjuncts(binaryOpElement.getRightChild(), conjuncts);
+		} else {
+			conjuncts.add(element);
+		}
+	}
+
+}
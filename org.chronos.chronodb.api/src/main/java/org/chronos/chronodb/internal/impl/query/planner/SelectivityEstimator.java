@@ -0,0 +1,127 @@
+package org.chronos.chronodb.internal.impl.query.planner;
+
+import static com.google.common.base.Preconditions.*;
+
+import java.util.Collection;
+
+import org.chronos.chronodb.api.query.CompositeCondition;
+import org.chronos.chronodb.api.query.CompositeKeyRange;
+import org.chronos.chronodb.api.query.Condition;
+import org.chronos.chronodb.api.query.ContainmentCondition;
+import org.chronos.chronodb.api.query.NumberCondition;
+import org.chronos.chronodb.api.query.StringCondition;
+import org.chronos.chronodb.internal.api.index.IndexStatistics;
+import org.chronos.chronodb.internal.api.query.searchspec.SearchSpecification;
+
+/**
+ * Estimates the fraction of index entries matched by a search specification, as well as the cost of evaluating it.
+ *
+ * <p>
+ * Equality conditions are estimated via the number of distinct values in the index (assuming a uniform distribution);
+ * all other conditions use fixed default selectivities. Negated conditions are estimated as the complement of their
+ * non-negated counterpart.
+ */
+public final class SelectivityEstimator {
+
+	// =================================================================================================================
+	// CONSTANTS
+	// =================================================================================================================
+
+	/** The number of index entries which is assumed if no statistics are available. */
+	public static final double DEFAULT_ENTRY_COUNT = 10_000;
+
+	private static final double DEFAULT_EQUALS_SELECTIVITY = 0.01;
+	private static final double RANGE_SELECTIVITY = 1.0 / 3.0;
+	private static final double STARTS_WITH_SELECTIVITY = 0.05;
+	private static final double ENDS_WITH_SELECTIVITY = 0.05;
+	private static final double CONTAINS_SELECTIVITY = 0.1;
+	private static final double REGEX_SELECTIVITY = 0.25;
+
+	private SelectivityEstimator() {
+		throw new UnsupportedOperationException("Do not instantiate this class!");
+	}
+
+	// =================================================================================================================
+	// PUBLIC API
+	// =================================================================================================================
+
+	/**
+	 * Estimates the fraction of index entries which match the given search specification.
+	 *
+	 * @param searchSpec
+	 *            The search specification to estimate. Must not be <code>null</code>.
+	 * @param statistics
+	 *            The statistics of the index. May be <code>null</code> if unknown.
+	 * @return The estimated selectivity, between zero and one (inclusive).
+	 */
+	public static double estimateSelectivity(final SearchSpecification<?, ?> searchSpec, final IndexStatistics statistics) {
+		checkNotNull(searchSpec, "Precondition violation - argument 'searchSpec' must not be NULL!");
+		Condition condition = searchSpec.getCondition();
+		if (condition.isNegated()) {
+			return 1.0 - estimateSelectivity(searchSpec.negate(), statistics);
+		}
+		if (statistics != null && statistics.getEntryCount() == 0) {
+			return 0.0;
+		}
+		double equalsSelectivity = DEFAULT_EQUALS_SELECTIVITY;
+		if (statistics != null && statistics.getDistinctValueCount() > 0) {
+			equalsSelectivity = 1.0 / statistics.getDistinctValueCount();
+		}
+		if (condition == Condition.EQUALS) {
+			return equalsSelectivity;
+		}
+		if (condition instanceof ContainmentCondition) {
+			Object searchValue = searchSpec.getSearchValue();
+			int valueCount = searchValue instanceof Collection ? ((Collection<?>) searchValue).size() : 1;
+			return Math.min(1.0, valueCount * equalsSelectivity);
+		}
+		if (condition == NumberCondition.GREATER_THAN || condition == NumberCondition.GREATER_EQUAL
+				|| condition == NumberCondition.LESS_THAN || condition == NumberCondition.LESS_EQUAL) {
+			return RANGE_SELECTIVITY;
+		}
+		if (condition == StringCondition.STARTS_WITH) {
+			return STARTS_WITH_SELECTIVITY;
+		}
+		if (condition == StringCondition.ENDS_WITH) {
+			return ENDS_WITH_SELECTIVITY;
+		}
+		if (condition == StringCondition.CONTAINS) {
+			return CONTAINS_SELECTIVITY;
+		}
+		if (condition == StringCondition.MATCHES_REGEX) {
+			return REGEX_SELECTIVITY;
+		}
+		if (condition == CompositeCondition.MATCHES) {
+			// a composite prefix behaves like a "starts with" on the encoded keys
+			CompositeKeyRange range = (CompositeKeyRange) searchSpec.getSearchValue();
+			return range.hasBounds() ? STARTS_WITH_SELECTIVITY * RANGE_SELECTIVITY : STARTS_WITH_SELECTIVITY;
+		}
+		// unknown condition; assume the worst
+		return 1.0;
+	}
+
+	/**
+	 * Checks if the given search specification can be answered by scanning only the matching range(s) of its index.
+	 *
+	 * <p>
+	 * All other search specifications require a scan over the entire index.
+	 *
+	 * @param searchSpec
+	 *            The search specification to check. Must not be <code>null</code>.
+	 * @return <code>true</code> if the cost of the search is proportional to the number of matches, <code>false</code>
+	 *         if it is proportional to the size of the index.
+	 */
+	public static boolean isRangeScan(final SearchSpecification<?, ?> searchSpec) {
+		checkNotNull(searchSpec, "Precondition violation - argument 'searchSpec' must not be NULL!");
+		Condition condition = searchSpec.getCondition();
+		if (condition.isNegated()) {
+			return false;
+		}
+		return condition == Condition.EQUALS
+				|| condition == StringCondition.STARTS_WITH
+				|| condition == CompositeCondition.MATCHES
+				|| condition instanceof NumberCondition
+				|| condition instanceof ContainmentCondition;
+	}
+
+}
@@ -0,0 +1,58 @@
+package org.chronos.chronodb.internal.impl.query.planner;
+
+import static com.google.common.base.Preconditions.*;
+
+import java.util.Set;
+
+import org.chronos.chronodb.internal.impl.index.setview.SetView;
+
+/**
+ * A {@link PlanNode} which produces the union of the results of its two children.
+ */
+public class UnionNode extends PlanNode {
+
+	private final PlanNode left;
+	private final PlanNode right;
+
+	public UnionNode(final PlanNode left, final PlanNode right) {
+		super(left.getEstimatedResultSize() + right.getEstimatedResultSize(),
+				left.getSelectivity() + right.getSelectivity() - left.getSelectivity() * right.getSelectivity(),
+				left.getEstimatedCost() + right.getEstimatedCost());
+		this.left = left;
+		this.right = right;
+	}
+
+	// =================================================================================================================
+	// PUBLIC API
+	// =================================================================================================================
+
+	@Override
+	public Set<String> execute(final QueryPlanContext context) {
+		checkNotNull(context, "Precondition violation - argument 'context' must not be NULL!");
+		Set<String> leftResult = this.left.execute(context);
+		Set<String> rightResult = this.right.execute(context);
+		// note: set views are always unmodifiable
+		return SetView.union(leftResult, rightResult);
+	}
+
+	@Override
+	public Set<String> execute(final QueryPlanContext context, final int maxResults) {
+		checkNotNull(context, "Precondition violation - argument 'context' must not be NULL!");
+		checkArgument(maxResults > 0, "Precondition violation - argument 'maxResults' must be greater than zero!");
+		Set<String> leftResult = this.left.execute(context, maxResults);
+		if (leftResult.size() >= maxResults) {
+			// the left side alone produces enough results, no need to evaluate the right side
+			return leftResult;
+		}
+		Set<String> rightResult = this.right.execute(context, maxResults);
+		return SetView.union(leftResult, rightResult);
+	}
+
+	@Override
+	public void describe(final StringBuilder builder, final int depth) {
+		this.appendLine(builder, depth, "UNION");
+		this.left.describe(builder, depth + 1);
+		this.right.describe(builder, depth + 1);
+	}
+
+}
@@ -0,0 +1,136 @@
+package org.chronos.chronodb.internal.impl.serialization;
+
+import static com.google.common.base.Preconditions.*;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.chronos.chronodb.api.serialization.StringDictionary;
+
+/**
+ * Base class for {@link StringDictionary} implementations which keep the entire dictionary in memory and delegate
+ * durability to a backend-specific store.
+ *
+ * <p>
+ * The persistent entries are {@linkplain #loadEntries() loaded} lazily on first access. New entries are kept in
+ * memory until the next {@link #flush()}, which {@linkplain #persistEntries(Map) persists} all of them at once. This
+ * way, a commit which introduces many new strings writes the dictionary only once.
+ *
+ * @author martin.haeusler@uibk.ac.at -- Initial Contribution and API
+ */
+public abstract class AbstractStringDictionary implements StringDictionary {
+
+	// =====================================================================================================================
+	// FIELDS
+	// =====================================================================================================================
+
+	private final Map<String, Integer> stringToId = new ConcurrentHashMap<>();
+	private final Map<Integer, String> idToString = new ConcurrentHashMap<>();
+
+	/** The entries which have not been persisted yet, in the order of their IDs. Guarded by <code>this</code>. */
+	private final Map<String, Integer> pendingEntries = new LinkedHashMap<>();
+
+	private volatile boolean loaded = false;
+
+	// =====================================================================================================================
+	// PUBLIC API
+	// =====================================================================================================================
+
+	@Override
+	public int getOrCreateId(final String string) {
+		checkNotNull(string, "Precondition violation - argument 'string' must not be NULL!");
+		this.ensureLoaded();
+		Integer id = this.stringToId.get(string);
+		if (id != null) {
+			return id;
+		}
+		synchronized (this) {
+			id = this.stringToId.get(string);
+			if (id != null) {
+				// another thread was faster
+				return id;
+			}
+			int newId = this.idToString.size();
+			// the entry becomes durable on the next flush, which happens before any value referring to it is written
+			this.pendingEntries.put(string, newId);
+			this.idToString.put(newId, string);
+			this.stringToId.put(string, newId);
+			return newId;
+		}
+	}
+
+	@Override
+	public String getString(final int id) {
+		checkArgument(id >= 0, "Precondition violation - argument 'id' must not be negative!");
+		this.ensureLoaded();
+		String string = this.idToString.get(id);
+		if (string == null) {
+			throw new IllegalArgumentException("There is no string with ID " + id + " in the dictionary!");
+		}
+		return string;
+	}
+
+	@Override
+	public int size() {
+		this.ensureLoaded();
+		return this.idToString.size();
+	}
+
+	@Override
+	public synchronized void flush() {
+		if (this.pendingEntries.isEmpty()) {
+			return;
+		}
+		// only clear the pending entries after they have been stored successfully, such that a failed flush
+		// is repeated by the next one
+		this.persistEntries(Collections.unmodifiableMap(this.pendingEntries));
+		this.pendingEntries.clear();
+	}
+
+	// =====================================================================================================================
+	// INTERNAL HELPER METHODS
+	// =====================================================================================================================
+
+	private void ensureLoaded() {
+		if (this.loaded) {
+			return;
+		}
+		synchronized (this) {
+			if (this.loaded) {
+				return;
+			}
+			for (Entry<String, Integer> entry : this.loadEntries().entrySet()) {
+				this.stringToId.put(entry.getKey(), entry.getValue());
+				this.idToString.put(entry.getValue(), entry.getKey());
+			}
+			if (this.idToString.size() != this.stringToId.size()) {
+				throw new IllegalStateException("The persistent string dictionary is corrupted: it contains duplicate IDs!");
+			}
+			this.loaded = true;
+		}
+	}
+
+	// =====================================================================================================================
+	// ABSTRACT METHODS
+	// =====================================================================================================================
+
+	/**
+	 * Loads all persistent entries of this dictionary.
+	 *
+	 * @return A mapping from string to ID. Never <code>null</code>, may be empty. The IDs are consecutive, starting at
+	 *         zero.
+	 */
+	protected abstract Map<String, Integer> loadEntries();
+
+	/**
+	 * Durably stores the given dictionary entries, atomically if possible.
+	 *
+	 * @param entries
+	 *            A mapping from string to ID, in ascending order of IDs. Never <code>null</code>, never empty.
+	 */
+	protected abstract void persistEntries(Map<String, Integer> entries);
+
+}
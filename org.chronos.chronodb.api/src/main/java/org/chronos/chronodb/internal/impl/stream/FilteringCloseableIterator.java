@@ -0,0 +1,59 @@
+package org.chronos.chronodb.internal.impl.stream;
+
+import static com.google.common.base.Preconditions.*;
+
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+import org.chronos.chronodb.internal.api.stream.CloseableIterator;
+
+public class FilteringCloseableIterator<E> extends AbstractCloseableIterator<E> {
+
+	private final CloseableIterator<E> iterator;
+	private final Predicate<? super E> predicate;
+
+	private E next;
+	private boolean hasNext;
+
+	public FilteringCloseableIterator(final CloseableIterator<E> iterator, final Predicate<? super E> predicate) {
+		checkNotNull(iterator, "Precondition violation - argument 'iterator' must not be NULL!");
+		checkNotNull(predicate, "Precondition violation - argument 'predicate' must not be NULL!");
+		this.iterator = iterator;
+		this.predicate = predicate;
+		this.tryMoveNext();
+	}
+
+	@Override
+	public E next() {
+		if (this.hasNext() == false) {
+			throw new NoSuchElementException("Iterator is exhausted; there are no more elements!");
+		}
+		E element = this.next;
+		this.tryMoveNext();
+		return element;
+	}
+
+	@Override
+	protected boolean hasNextInternal() {
+		return this.hasNext;
+	}
+
+	@Override
+	protected void closeInternal() {
+		this.iterator.close();
+	}
+
+	private void tryMoveNext() {
+		while (this.iterator.hasNext()) {
+			E element = this.iterator.next();
+			if (this.predicate.test(element)) {
+				this.next = element;
+				this.hasNext = true;
+				return;
+			}
+		}
+		this.next = null;
+		this.hasNext = false;
+	}
+
+}
@@ -0,0 +1,31 @@
+package org.chronos.chronodb.internal.impl.stream;
+
+import static com.google.common.base.Preconditions.*;
+
+import java.util.Iterator;
+
+public class IteratorWrappingCloseableIterator<E> extends AbstractCloseableIterator<E> {
+
+	private final Iterator<? extends E> iterator;
+
+	public IteratorWrappingCloseableIterator(final Iterator<? extends E> iterator) {
+		checkNotNull(iterator, "Precondition violation - argument 'iterator' must not be NULL!");
+		this.iterator = iterator;
+	}
+
+	@Override
+	public E next() {
+		return this.iterator.next();
+	}
+
+	@Override
+	protected boolean hasNextInternal() {
+		return this.iterator.hasNext();
+	}
+
+	@Override
+	protected void closeInternal() {
+		// nothing to close
+	}
+
+}
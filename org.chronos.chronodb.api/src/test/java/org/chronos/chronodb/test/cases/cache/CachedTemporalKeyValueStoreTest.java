@@ -3,7 +3,11 @@ package org.chronos.chronodb.test.cases.cache;
 import org.chronos.chronodb.api.ChronoDB;
 import org.chronos.chronodb.api.ChronoDBTransaction;
 import org.chronos.chronodb.internal.api.ChronoDBConfiguration;
+import org.chronos.chronodb.internal.api.ChronoDBInternal;
+import org.chronos.chronodb.internal.api.cache.ChronoDBBinaryCache;
 import org.chronos.chronodb.internal.api.cache.ChronoDBCache;
+import org.chronos.chronodb.internal.impl.cache.concurrent.ConcurrentMosaicCache;
+import org.chronos.chronodb.internal.impl.cache.offheap.OffHeapBinaryCache;
 import org.chronos.chronodb.test.base.AllChronoDBBackendsTest;
 import org.chronos.chronodb.test.base.InstantiateChronosWith;
 import org.chronos.common.test.junit.categories.IntegrationTest;
@@ -63,6 +67,61 @@ public class CachedTemporalKeyValueStoreTest extends AllChronoDBBackendsTest {
 
     }
 
+    @Test
+    @InstantiateChronosWith(property = ChronoDBConfiguration.CACHING_ENABLED, value = "true")
+    @InstantiateChronosWith(property = ChronoDBConfiguration.CACHE_MAX_SIZE_IN_BYTES, value = "10485760")
+    @InstantiateChronosWith(property = ChronoDBConfiguration.CACHE_KEYSPACE_BUDGETS, value = "vertex:1048576, edge:1048576")
+    public void memoryBoundedCacheProducesHitsOnGetOperations() {
+        ChronoDB db = this.getChronoDB();
+        ChronoDBCache cache = db.getCache();
+        assertTrue(cache instanceof ConcurrentMosaicCache);
+
+        ChronoDBTransaction tx = db.tx();
+        tx.put("Hello", "World");
+        tx.put("vertex", "v1", "Vertex");
+        tx.put("edge", "e1", "Edge");
+        tx.commit();
+
+        // the commit should have triggered a write-through, and filled the cache with 3 entries
+        assertTrue(cache.size() >= 3);
+        assertTrue(((ConcurrentMosaicCache) cache).weightedSize("vertex") > 0);
+        assertTrue(((ConcurrentMosaicCache) cache).weightedSize("edge") > 0);
+
+        cache.resetStatistics();
+        assertEquals("World", tx.get("Hello"));
+        assertEquals("Vertex", tx.get("vertex", "v1"));
+        assertEquals("Edge", tx.get("edge", "e1"));
+        assertEquals(3, cache.getStatistics().getCacheHitCount());
+    }
+
+    @Test
+    @InstantiateChronosWith(property = ChronoDBConfiguration.OFFHEAP_CACHE_MAX_SIZE_IN_BYTES, value = "1048576")
+    public void offHeapCacheProducesHitsOnGetOperations() {
+        ChronoDB db = this.getChronoDB();
+        ChronoDBBinaryCache binaryCache = ((ChronoDBInternal) db).getBinaryCache();
+        assertTrue(binaryCache instanceof OffHeapBinaryCache);
+
+        ChronoDBTransaction tx = db.tx();
+        tx.put("Hello", "World");
+        tx.put("Foo", "Bar");
+        tx.commit();
+        long afterFirstCommit = db.tx().getTimestamp();
+
+        binaryCache.resetStatistics();
+        // the first read fills the cache, the second one hits it
+        assertEquals("World", db.tx().get("Hello"));
+        assertEquals("World", db.tx().get("Hello"));
+        assertEquals(1, binaryCache.getStatistics().getCacheHitCount());
+
+        // a commit must terminate the validity of the cached entry
+        ChronoDBTransaction tx2 = db.tx();
+        tx2.put("Hello", "Chronos");
+        tx2.commit();
+        assertEquals("Chronos", db.tx().get("Hello"));
+        // the old state is still visible (and cached) in the past
+        assertEquals("World", db.tx(afterFirstCommit).get("Hello"));
+    }
+
     // @Test
     // @InstantiateChronosWith(property = ChronoDBConfiguration.CACHING_ENABLED, value = "true")
     // @InstantiateChronosWith(property = ChronoDBConfiguration.CACHE_MAX_SIZE, value = "200000")
@@ -0,0 +1,267 @@
+package org.chronos.chronodb.test.cases.cache.concurrent;
+
+import com.google.common.collect.Lists;
+import org.chronos.chronodb.api.ChronoDBConstants;
+import org.chronos.chronodb.api.key.QualifiedKey;
+import org.chronos.chronodb.internal.api.GetResult;
+import org.chronos.chronodb.internal.api.Period;
+import org.chronos.chronodb.internal.api.cache.CacheGetResult;
+import org.chronos.chronodb.internal.api.cache.ChronoDBCache;
+import org.chronos.chronodb.internal.impl.cache.concurrent.ConcurrentMosaicCache;
+import org.chronos.common.test.ChronosUnitTest;
+import org.chronos.common.test.junit.categories.UnitTest;
+import org.chronos.common.test.utils.TestUtils;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.*;
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class ConcurrentMosaicCacheTest extends ChronosUnitTest {
+
+    @Test
+    public void canCreateConcurrentMosaicCacheInstance() {
+        ChronoDBCache cache = new ConcurrentMosaicCache();
+        assertNotNull(cache);
+    }
+
+    @Test
+    public void cacheAndGetAreConsistent() {
+        ChronoDBCache cache = createCacheOfSize(100);
+        String branch = ChronoDBConstants.MASTER_BRANCH_IDENTIFIER;
+        QualifiedKey key = QualifiedKey.createInDefaultKeyspace("Hello");
+
+        cache.cache(branch, GetResult.create(key, "World", Period.createRange(100, 200)));
+        cache.cache(branch, GetResult.create(key, "Foo", Period.createRange(200, 500)));
+
+        assertTrue(cache.get(branch, 99, key).isMiss());
+        assertEquals("World", cache.get(branch, 100, key).getValue());
+        assertEquals("World", cache.get(branch, 199, key).getValue());
+        assertEquals("Foo", cache.get(branch, 200, key).getValue());
+        assertEquals("Foo", cache.get(branch, 499, key).getValue());
+        assertTrue(cache.get(branch, 500, key).isMiss());
+        // other branches are not affected
+        assertTrue(cache.get("other", 150, key).isMiss());
+    }
+
+    @Test
+    public void cacheGetOnNonExistingRowDoesntCrash() {
+        ChronoDBCache cache = createCacheOfSize(1);
+        String branch = ChronoDBConstants.MASTER_BRANCH_IDENTIFIER;
+        CacheGetResult<Object> result = cache.get(branch, 1234, QualifiedKey.createInDefaultKeyspace("Fake"));
+        assertNotNull(result);
+        assertTrue(result.isMiss());
+    }
+
+    @Test
+    public void shrinkOnCacheBehaviourWorks() {
+        QualifiedKey key = QualifiedKey.createInDefaultKeyspace("Hello");
+        ChronoDBCache cache = createCacheOfSize(1);
+        String branch = ChronoDBConstants.MASTER_BRANCH_IDENTIFIER;
+
+        cache.cache(branch, GetResult.create(key, "World", Period.createRange(100, 200)));
+        cache.cache(branch, GetResult.create(key, "Foo", Period.createRange(200, 300)));
+
+        assertEquals(1, cache.size());
+        assertEquals("Foo", cache.get(branch, 250, key).getValue());
+        assertFalse(cache.get(branch, 150, key).isHit());
+    }
+
+    @Test
+    public void shrinkOnWriteThroughBehaviourWorks() {
+        QualifiedKey key = QualifiedKey.createInDefaultKeyspace("Hello");
+        ChronoDBCache cache = createCacheOfSize(1);
+        String branch = ChronoDBConstants.MASTER_BRANCH_IDENTIFIER;
+
+        cache.cache(branch, GetResult.create(key, "World", Period.createOpenEndedRange(100)));
+        cache.writeThrough(branch, 200, key, "Foo");
+
+        assertEquals("Foo", cache.get(branch, 250, key).getValue());
+        assertFalse(cache.get(branch, 150, key).isHit());
+    }
+
+    @Test
+    public void writeThroughLimitsOpenEndedEntry() {
+        QualifiedKey key = QualifiedKey.createInDefaultKeyspace("Hello");
+        ChronoDBCache cache = createCacheOfSize(100);
+        String branch = ChronoDBConstants.MASTER_BRANCH_IDENTIFIER;
+
+        cache.cache(branch, GetResult.create(key, "World", Period.createOpenEndedRange(100)));
+        cache.writeThrough(branch, 200, key, "Foo");
+
+        assertEquals(2, cache.size());
+        assertEquals("World", cache.get(branch, 150, key).getValue());
+        assertEquals("Foo", cache.get(branch, 250, key).getValue());
+    }
+
+    @Test
+    public void rollbackRemovesEntries() {
+        QualifiedKey key = QualifiedKey.createInDefaultKeyspace("Hello");
+        ChronoDBCache cache = createCacheOfSize(100);
+        String branch = ChronoDBConstants.MASTER_BRANCH_IDENTIFIER;
+
+        cache.writeThrough(branch, 100, key, "World");
+        cache.writeThrough(branch, 200, key, "Foo");
+        cache.rollbackToTimestamp(150);
+
+        assertEquals(0, cache.size());
+        assertTrue(cache.get(branch, 250, key).isMiss());
+    }
+
+    @Test
+    public void frequentlyUsedEntriesSurviveScans() {
+        // use a single stripe to make the eviction behaviour deterministic
+        ConcurrentMosaicCache cache = new ConcurrentMosaicCache(100, 1);
+        String branch = ChronoDBConstants.MASTER_BRANCH_IDENTIFIER;
+        QualifiedKey hotKey = QualifiedKey.createInDefaultKeyspace("hot");
+        cache.cache(branch, GetResult.create(hotKey, "Hot", Period.createRange(0, 100)));
+        for (int i = 0; i < 10; i++) {
+            cache.cache(branch, GetResult.create(QualifiedKey.createInDefaultKeyspace("fill" + i), i, Period.createRange(0, 100)));
+        }
+        for (int i = 0; i < 10; i++) {
+            assertTrue(cache.get(branch, 50, hotKey).isHit());
+        }
+        // scan over a lot of keys which are used only once
+        for (int i = 0; i < 1000; i++) {
+            cache.cache(branch, GetResult.create(QualifiedKey.createInDefaultKeyspace("scan" + i), i, Period.createRange(0, 100)));
+        }
+        assertTrue(cache.size() <= 100);
+        assertEquals(cache.computedSize(), cache.size());
+        assertTrue(cache.get(branch, 50, hotKey).isHit());
+    }
+
+    @Test
+    public void concurrentAccessKeepsCacheConsistent() throws Exception {
+        ConcurrentMosaicCache cache = new ConcurrentMosaicCache(500, 4);
+        String branch = ChronoDBConstants.MASTER_BRANCH_IDENTIFIER;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = Lists.newArrayList();
+            for (int thread = 0; thread < 8; thread++) {
+                final int seed = thread;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10000; i++) {
+                        QualifiedKey key = QualifiedKey.createInDefaultKeyspace("k" + ((i * 31 + seed) % 1000));
+                        CacheGetResult<Object> result = cache.get(branch, 50, key);
+                        if (result.isHit()) {
+                            assertEquals(key.getKey(), result.getValue());
+                        } else {
+                            cache.cache(branch, GetResult.create(key, key.getKey(), Period.createRange(0, 100)));
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        assertTrue(cache.size() <= 500);
+        assertEquals(cache.computedSize(), cache.size());
+        assertTrue(cache.rowCount() <= cache.size());
+    }
+
+    @Test
+    public void memoryBudgetIsRespected() {
+        ConcurrentMosaicCache cache = ConcurrentMosaicCache.createWithMemoryBudget(64 * 1024, Collections.emptyMap(), 1);
+        String branch = ChronoDBConstants.MASTER_BRANCH_IDENTIFIER;
+        for (int i = 0; i < 100; i++) {
+            QualifiedKey key = QualifiedKey.createInDefaultKeyspace("k" + i);
+            cache.cache(branch, GetResult.create(key, new byte[4 * 1024], Period.createRange(0, 100)));
+            assertTrue(cache.weightedSize() <= cache.maxSizeInBytes());
+        }
+        // each value occupies more than 4KB, so we can't have more than 16 of them
+        assertTrue(cache.size() > 0);
+        assertTrue(cache.size() < 16);
+        assertEquals(cache.computedSize(), cache.size());
+    }
+
+    @Test
+    public void valuesLargerThanTheMemoryBudgetAreNotCached() {
+        ConcurrentMosaicCache cache = ConcurrentMosaicCache.createWithMemoryBudget(64 * 1024, Collections.emptyMap(), 1);
+        String branch = ChronoDBConstants.MASTER_BRANCH_IDENTIFIER;
+        QualifiedKey small = QualifiedKey.createInDefaultKeyspace("small");
+        QualifiedKey huge = QualifiedKey.createInDefaultKeyspace("huge");
+        cache.cache(branch, GetResult.create(small, "Hello", Period.createRange(0, 100)));
+        cache.cache(branch, GetResult.create(huge, new byte[128 * 1024], Period.createRange(0, 100)));
+        assertTrue(cache.get(branch, 50, small).isHit());
+        assertTrue(cache.get(branch, 50, huge).isMiss());
+        assertTrue(cache.weightedSize() <= cache.maxSizeInBytes());
+    }
+
+    @Test
+    public void keyspaceBudgetsAreIsolated() {
+        Map<String, Long> budgets = Collections.singletonMap("vertex", 128L * 1024);
+        ConcurrentMosaicCache cache = ConcurrentMosaicCache.createWithMemoryBudget(256 * 1024, budgets, 1);
+        String branch = ChronoDBConstants.MASTER_BRANCH_IDENTIFIER;
+        for (int i = 0; i < 20; i++) {
+            QualifiedKey key = QualifiedKey.create("edge", "e" + i);
+            cache.cache(branch, GetResult.create(key, "Edge" + i, Period.createRange(0, 100)));
+        }
+        // flood the vertex keyspace with large values
+        for (int i = 0; i < 1000; i++) {
+            QualifiedKey key = QualifiedKey.create("vertex", "v" + i);
+            cache.cache(branch, GetResult.create(key, new byte[4 * 1024], Period.createRange(0, 100)));
+        }
+        assertTrue(cache.weightedSize("vertex") <= 128 * 1024);
+        // the edges must not have been evicted by the vertices
+        for (int i = 0; i < 20; i++) {
+            QualifiedKey key = QualifiedKey.create("edge", "e" + i);
+            CacheGetResult<Object> result = cache.get(branch, 50, key);
+            assertTrue(result.isHit());
+            assertEquals("Edge" + i, result.getValue());
+        }
+        assertEquals(cache.computedSize(), cache.size());
+    }
+
+    @Test
+    public void keyspaceBudgetsMustNotExceedTotalBudget() {
+        Map<String, Long> budgets = Collections.singletonMap("vertex", 1024L);
+        try {
+            ConcurrentMosaicCache.createWithMemoryBudget(1024, budgets);
+            fail("Managed to create a cache without budget for the remaining keyspaces!");
+        } catch (IllegalArgumentException expected) {
+            // pass
+        }
+    }
+
+    // =================================================================================================================
+    // HELPER METHODS
+    // =================================================================================================================
+
+    private static ChronoDBCache createCacheOfSize(final int size) {
+        checkArgument(size > 0, "Precondition violation - argument 'size' must be > 0!");
+        final ConcurrentMosaicCache concurrentCache = new ConcurrentMosaicCache(size);
+        // wrap the cache in a delegating proxy which asserts that all cache
+        // invariants are valid before and after every method call.
+        return TestUtils.createProxy(ChronoDBCache.class, (self, method, args) -> {
+            assertCacheInvariants(concurrentCache);
+            Object result = method.invoke(concurrentCache, args);
+            assertCacheInvariants(concurrentCache);
+            return result;
+        });
+    }
+
+    private static void assertCacheInvariants(final ConcurrentMosaicCache cache) {
+        int maxSize = cache.maxSize();
+        int size = cache.size();
+        if (maxSize > 0) {
+            // each stripe may round up its share of the maximum size
+            assertTrue(size <= maxSize + cache.stripeCount());
+        }
+        assertEquals(cache.computedSize(), size);
+        assertTrue(cache.rowCount() <= size);
+    }
+
+}
@@ -0,0 +1,147 @@
+package org.chronos.chronodb.test.cases.cache.offheap;
+
+import com.google.common.collect.Lists;
+import org.chronos.chronodb.api.ChronoDBConstants;
+import org.chronos.chronodb.api.key.QualifiedKey;
+import org.chronos.chronodb.internal.api.GetResult;
+import org.chronos.chronodb.internal.api.Period;
+import org.chronos.chronodb.internal.impl.cache.offheap.OffHeapBinaryCache;
+import org.chronos.common.test.ChronosUnitTest;
+import org.chronos.common.test.junit.categories.UnitTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class OffHeapBinaryCacheTest extends ChronosUnitTest {
+
+    private static final String BRANCH = ChronoDBConstants.MASTER_BRANCH_IDENTIFIER;
+
+    @Test
+    public void cacheAndGetAreConsistent() {
+        OffHeapBinaryCache cache = new OffHeapBinaryCache(1024 * 1024);
+        QualifiedKey key = QualifiedKey.createInDefaultKeyspace("Hello");
+
+        cache.cache(BRANCH, GetResult.create(key, bytes(1, 2, 3), Period.createRange(100, 200)));
+        cache.cache(BRANCH, GetResult.create(key, bytes(4, 5), Period.createRange(200, 500)));
+
+        assertNull(cache.get(BRANCH, 99, key));
+        assertArrayEquals(bytes(1, 2, 3), cache.get(BRANCH, 100, key).getValue());
+        assertArrayEquals(bytes(1, 2, 3), cache.get(BRANCH, 199, key).getValue());
+        assertArrayEquals(bytes(4, 5), cache.get(BRANCH, 200, key).getValue());
+        assertEquals(500, cache.get(BRANCH, 499, key).getPeriod().getUpperBound());
+        assertNull(cache.get(BRANCH, 500, key));
+        // other branches are not affected
+        assertNull(cache.get("other", 150, key));
+        assertEquals(2, cache.size());
+        assertEquals(4, cache.getStatistics().getCacheHitCount());
+        assertEquals(3, cache.getStatistics().getCacheMissCount());
+    }
+
+    @Test
+    public void distinguishesBetweenNoValueAndNullValue() {
+        OffHeapBinaryCache cache = new OffHeapBinaryCache(1024 * 1024);
+        QualifiedKey key = QualifiedKey.createInDefaultKeyspace("Hello");
+
+        cache.cache(BRANCH, GetResult.createNoValueResult(key, Period.createRange(0, 100)));
+        cache.cache(BRANCH, GetResult.create(key, null, Period.createOpenEndedRange(100)));
+
+        GetResult<byte[]> noValue = cache.get(BRANCH, 50, key);
+        assertNotNull(noValue);
+        assertFalse(noValue.isHit());
+        GetResult<byte[]> deletion = cache.get(BRANCH, 150, key);
+        assertNotNull(deletion);
+        assertTrue(deletion.isHit());
+        assertNull(deletion.getValue());
+        assertEquals(100, deletion.getPeriod().getLowerBound());
+        assertEquals(Long.MAX_VALUE, deletion.getPeriod().getUpperBound());
+    }
+
+    @Test
+    public void recyclingASegmentEvictsItsEntries() {
+        // four segments with room for two minimal entries each
+        OffHeapBinaryCache cache = new OffHeapBinaryCache(512, 128);
+        assertEquals(4, cache.getSegmentCount());
+        for (int i = 0; i < 20; i++) {
+            QualifiedKey key = QualifiedKey.createInDefaultKeyspace("k" + i);
+            cache.cache(BRANCH, GetResult.create(key, bytes(i), Period.createOpenEndedRange(0)));
+        }
+        assertTrue(cache.size() <= 8);
+        assertEquals(cache.size(), cache.computedSize());
+        // the most recent entry is always available, the oldest one has been evicted
+        assertArrayEquals(bytes(19), cache.get(BRANCH, 10, QualifiedKey.createInDefaultKeyspace("k19")).getValue());
+        assertNull(cache.get(BRANCH, 10, QualifiedKey.createInDefaultKeyspace("k0")));
+    }
+
+    @Test
+    public void valuesLargerThanASegmentAreNotCached() {
+        OffHeapBinaryCache cache = new OffHeapBinaryCache(512, 128);
+        QualifiedKey key = QualifiedKey.createInDefaultKeyspace("Hello");
+        cache.cache(BRANCH, GetResult.create(key, new byte[256], Period.createOpenEndedRange(0)));
+        assertEquals(0, cache.size());
+        assertNull(cache.get(BRANCH, 10, key));
+    }
+
+    @Test
+    public void writeThroughTerminatesTheValidityOfExistingEntries() {
+        OffHeapBinaryCache cache = new OffHeapBinaryCache(1024 * 1024);
+        QualifiedKey key = QualifiedKey.createInDefaultKeyspace("Hello");
+        QualifiedKey otherKey = QualifiedKey.createInDefaultKeyspace("Other");
+        cache.cache(BRANCH, GetResult.create(key, bytes(1), Period.createOpenEndedRange(100)));
+        cache.cache(BRANCH, GetResult.create(otherKey, bytes(2), Period.createOpenEndedRange(100)));
+
+        cache.writeThrough(BRANCH, 300, Collections.singleton(key));
+
+        assertArrayEquals(bytes(1), cache.get(BRANCH, 299, key).getValue());
+        assertEquals(300, cache.get(BRANCH, 200, key).getPeriod().getUpperBound());
+        assertNull(cache.get(BRANCH, 300, key));
+        // unmodified keys are not affected
+        assertArrayEquals(bytes(2), cache.get(BRANCH, 300, otherKey).getValue());
+    }
+
+    @Test
+    public void rollbackRemovesEntriesAfterTheTimestamp() {
+        OffHeapBinaryCache cache = new OffHeapBinaryCache(1024 * 1024);
+        QualifiedKey key = QualifiedKey.createInDefaultKeyspace("Hello");
+        cache.cache(BRANCH, GetResult.create(key, bytes(1), Period.createRange(0, 100)));
+        cache.cache(BRANCH, GetResult.create(key, bytes(2), Period.createRange(100, 200)));
+        cache.cache(BRANCH, GetResult.create(key, bytes(3), Period.createOpenEndedRange(200)));
+
+        cache.rollbackToTimestamp(150);
+
+        assertEquals(1, cache.size());
+        assertArrayEquals(bytes(1), cache.get(BRANCH, 50, key).getValue());
+        assertNull(cache.get(BRANCH, 150, key));
+        assertNull(cache.get(BRANCH, 250, key));
+    }
+
+    @Test
+    public void clearRemovesAllEntries() {
+        OffHeapBinaryCache cache = new OffHeapBinaryCache(1024 * 1024);
+        for (String key : Lists.newArrayList("a", "b", "c")) {
+            QualifiedKey qKey = QualifiedKey.createInDefaultKeyspace(key);
+            cache.cache(BRANCH, GetResult.create(qKey, bytes(1), Period.createOpenEndedRange(0)));
+        }
+        assertEquals(3, cache.size());
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.computedSize());
+        assertNull(cache.get(BRANCH, 10, QualifiedKey.createInDefaultKeyspace("a")));
+        // the cache remains usable after clearing it
+        QualifiedKey qKey = QualifiedKey.createInDefaultKeyspace("d");
+        cache.cache(BRANCH, GetResult.create(qKey, bytes(4), Period.createOpenEndedRange(0)));
+        assertArrayEquals(bytes(4), cache.get(BRANCH, 10, qKey).getValue());
+    }
+
+    private static byte[] bytes(final int... values) {
+        byte[] result = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (byte) values[i];
+        }
+        return result;
+    }
+
+}
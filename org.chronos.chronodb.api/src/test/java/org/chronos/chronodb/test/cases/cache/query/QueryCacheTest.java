@@ -1,5 +1,6 @@
 package org.chronos.chronodb.test.cases.cache.query;
 
+import com.google.common.collect.Sets;
 import org.chronos.chronodb.api.ChronoDB;
 import org.chronos.chronodb.api.ChronoDBTransaction;
 import org.chronos.chronodb.api.key.QualifiedKey;
@@ -14,6 +15,7 @@ import org.chronos.common.test.utils.NamedPayload;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
+import java.util.Collections;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -79,4 +81,55 @@ public class QueryCacheTest extends AllChronoDBBackendsTest {
         assertTrue(keys.contains("np3")); // f[o]o
     }
 
+    @Test
+    @InstantiateChronosWith(property = ChronoDBConfiguration.QUERY_CACHE_ENABLED, value = "true")
+    @InstantiateChronosWith(property = ChronoDBConfiguration.QUERY_CACHE_MAX_SIZE, value = "10")
+    public void queryResultsAreSharedAcrossTransactionsUntilTheIndexIsModified() {
+        ChronoDB db = this.getChronoDB();
+        db.getIndexManager().addIndexer("name", new NamedPayloadNameIndexer());
+        ChronoDBTransaction tx = db.tx();
+        tx.put("np1", NamedPayload.create1KB("Hello"));
+        tx.put("np2", NamedPayload.create1KB("World"));
+        tx.commit();
+
+        IndexManagerInternal indexManager = (IndexManagerInternal) db.getIndexManager();
+        ChronoIndexQueryCache queryCache = indexManager.getIndexQueryCache();
+
+        // the first query results in a cache miss
+        assertEquals(Collections.singleton("np1"), this.findKeysByName(db.tx(), "Hello"));
+        assertEquals(0, queryCache.getStats().hitCount());
+        assertEquals(1, queryCache.getStats().missCount());
+
+        // modify a different keyspace; this doesn't affect the index in the default keyspace
+        ChronoDBTransaction tx2 = db.tx();
+        tx2.put("other", "np3", NamedPayload.create1KB("Hello"));
+        tx2.commit();
+
+        // a new transaction on the new head revision should be served from the cache
+        assertEquals(Collections.singleton("np1"), this.findKeysByName(db.tx(), "Hello"));
+        assertEquals(1, queryCache.getStats().hitCount());
+        assertEquals(1, queryCache.getStats().missCount());
+        long timestampBeforeModification = db.getBranchManager().getMasterBranch().getNow();
+
+        // modify the index in the default keyspace
+        ChronoDBTransaction tx3 = db.tx();
+        tx3.put("np4", NamedPayload.create1KB("Hello"));
+        tx3.commit();
+
+        // the cached result must not be used for the new head revision
+        assertEquals(Sets.newHashSet("np1", "np4"), this.findKeysByName(db.tx(), "Hello"));
+        assertEquals(1, queryCache.getStats().hitCount());
+        assertEquals(2, queryCache.getStats().missCount());
+
+        // ... but it is still valid for the revision before the modification
+        assertEquals(Collections.singleton("np1"), this.findKeysByName(db.tx(timestampBeforeModification), "Hello"));
+        assertEquals(2, queryCache.getStats().hitCount());
+        assertEquals(2, queryCache.getStats().missCount());
+    }
+
+    private Set<String> findKeysByName(final ChronoDBTransaction tx, final String name) {
+        Set<QualifiedKey> keys = tx.find().inDefaultKeyspace().where("name").isEqualTo(name).getKeysAsSet();
+        return keys.stream().map(QualifiedKey::getKey).collect(Collectors.toSet());
+    }
+
 }
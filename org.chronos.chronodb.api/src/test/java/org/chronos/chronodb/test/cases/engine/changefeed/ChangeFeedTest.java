@@ -0,0 +1,230 @@
+package org.chronos.chronodb.test.cases.engine.changefeed;
+
+import com.google.common.collect.Lists;
+import org.chronos.chronodb.api.ChronoDB;
+import org.chronos.chronodb.api.ChronoDBConstants;
+import org.chronos.chronodb.api.ChronoDBTransaction;
+import org.chronos.chronodb.api.changefeed.ChangeFeedEvent;
+import org.chronos.chronodb.api.changefeed.ChangeFeedSubscription;
+import org.chronos.chronodb.api.changefeed.ChangeType;
+import org.chronos.chronodb.api.changefeed.KeyChange;
+import org.chronos.chronodb.test.base.AllChronoDBBackendsTest;
+import org.chronos.common.test.junit.categories.IntegrationTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@Category(IntegrationTest.class)
+public class ChangeFeedTest extends AllChronoDBBackendsTest {
+
+    @Test
+    public void liveSubscriptionReceivesCommittedChanges() {
+        ChronoDB db = this.getChronoDB();
+        ChronoDBTransaction tx = db.tx();
+        tx.put("a", 1);
+        tx.put("b", 1);
+        tx.commit();
+
+        List<ChangeFeedEvent> events = Collections.synchronizedList(Lists.newArrayList());
+        try (ChangeFeedSubscription subscription = db.getChangeFeedManager().subscribe(ChronoDBConstants.MASTER_BRANCH_IDENTIFIER, events::add)) {
+            tx = db.tx();
+            tx.put("a", 2);
+            tx.remove("b");
+            tx.put("c", 3);
+            tx.commit();
+            long commitTimestamp = tx.getTimestamp();
+
+            this.awaitEvents(events, 1);
+            ChangeFeedEvent event = events.get(0);
+            assertEquals(commitTimestamp, event.getCommitTimestamp());
+            assertEquals(ChronoDBConstants.MASTER_BRANCH_IDENTIFIER, event.getBranchName());
+            assertEquals(3, event.getChanges().size());
+
+            KeyChange a = this.getChange(event, "a");
+            assertEquals(ChangeType.UPDATED, a.getChangeType());
+            assertEquals(1, a.getOldValue());
+            assertEquals(2, a.getNewValue());
+            KeyChange b = this.getChange(event, "b");
+            assertEquals(ChangeType.DELETED, b.getChangeType());
+            assertEquals(1, b.getOldValue());
+            assertNull(b.getNewValue());
+            KeyChange c = this.getChange(event, "c");
+            assertEquals(ChangeType.CREATED, c.getChangeType());
+            assertNull(c.getOldValue());
+            assertEquals(3, c.getNewValue());
+
+            this.awaitLastDelivered(subscription, commitTimestamp);
+        }
+    }
+
+    @Test
+    public void subscriptionCatchesUpFromGivenTimestamp() {
+        ChronoDB db = this.getChronoDB();
+        List<Long> commitTimestamps = Lists.newArrayList();
+        for (int i = 0; i < 5; i++) {
+            ChronoDBTransaction tx = db.tx();
+            tx.put("key", i);
+            tx.commit();
+            commitTimestamps.add(tx.getTimestamp());
+        }
+
+        List<ChangeFeedEvent> events = Collections.synchronizedList(Lists.newArrayList());
+        long after = commitTimestamps.get(1);
+        try (ChangeFeedSubscription subscription = db.getChangeFeedManager().subscribe(ChronoDBConstants.MASTER_BRANCH_IDENTIFIER, after, events::add)) {
+            // commits after subscribing are delivered after the older ones
+            ChronoDBTransaction tx = db.tx();
+            tx.put("key", 5);
+            tx.commit();
+            commitTimestamps.add(tx.getTimestamp());
+
+            this.awaitEvents(events, 4);
+            for (int i = 0; i < 4; i++) {
+                ChangeFeedEvent event = events.get(i);
+                assertEquals((long) commitTimestamps.get(i + 2), event.getCommitTimestamp());
+                KeyChange change = this.getChange(event, "key");
+                assertEquals(ChangeType.UPDATED, change.getChangeType());
+                assertEquals(i + 1, change.getOldValue());
+                assertEquals(i + 2, change.getNewValue());
+            }
+            this.awaitLastDelivered(subscription, tx.getTimestamp());
+        }
+    }
+
+    @Test
+    public void subscriptionCanBeResumed() {
+        ChronoDB db = this.getChronoDB();
+        List<ChangeFeedEvent> events = Collections.synchronizedList(Lists.newArrayList());
+        long lastDelivered;
+        try (ChangeFeedSubscription subscription = db.getChangeFeedManager().subscribe(ChronoDBConstants.MASTER_BRANCH_IDENTIFIER, events::add)) {
+            ChronoDBTransaction tx = db.tx();
+            tx.put("first", 1);
+            tx.commit();
+            this.awaitEvents(events, 1);
+            lastDelivered = this.awaitLastDelivered(subscription, tx.getTimestamp());
+        }
+        // commit while nobody is listening
+        ChronoDBTransaction tx = db.tx();
+        tx.put("second", 2);
+        tx.commit();
+
+        events.clear();
+        try (ChangeFeedSubscription subscription = db.getChangeFeedManager().subscribe(ChronoDBConstants.MASTER_BRANCH_IDENTIFIER, lastDelivered, events::add)) {
+            this.awaitEvents(events, 1);
+            assertEquals(tx.getTimestamp(), events.get(0).getCommitTimestamp());
+            assertEquals(ChangeType.CREATED, this.getChange(events.get(0), "second").getChangeType());
+            this.awaitLastDelivered(subscription, tx.getTimestamp());
+        }
+    }
+
+    @Test
+    public void closedSubscriptionReceivesNoFurtherEvents() {
+        ChronoDB db = this.getChronoDB();
+        List<ChangeFeedEvent> events = Collections.synchronizedList(Lists.newArrayList());
+        ChangeFeedSubscription subscription = db.getChangeFeedManager().subscribe(ChronoDBConstants.MASTER_BRANCH_IDENTIFIER, events::add);
+        subscription.close();
+        assertTrue(subscription.isClosed());
+        ChronoDBTransaction tx = db.tx();
+        tx.put("key", "value");
+        tx.commit();
+        this.sleep(200);
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void canRetrieveChangesBetweenTimestamps() {
+        ChronoDB db = this.getChronoDB();
+        ChronoDBTransaction tx = db.tx();
+        tx.put("a", 1);
+        tx.commit();
+        long first = tx.getTimestamp();
+        tx = db.tx();
+        tx.put("a", 2);
+        tx.put("b", 1);
+        tx.commit();
+        long second = tx.getTimestamp();
+        tx = db.tx();
+        tx.remove("a");
+        tx.commit();
+        long third = tx.getTimestamp();
+
+        Iterator<ChangeFeedEvent> iterator = db.getChangeFeedManager().getChangesBetween(ChronoDBConstants.MASTER_BRANCH_IDENTIFIER, first, third);
+        List<ChangeFeedEvent> events = Lists.newArrayList(iterator);
+        assertEquals(2, events.size());
+        assertEquals(second, events.get(0).getCommitTimestamp());
+        assertEquals(2, events.get(0).getChanges().size());
+        assertEquals(ChangeType.UPDATED, this.getChange(events.get(0), "a").getChangeType());
+        assertEquals(ChangeType.CREATED, this.getChange(events.get(0), "b").getChangeType());
+        assertEquals(third, events.get(1).getCommitTimestamp());
+        KeyChange removal = this.getChange(events.get(1), "a");
+        assertEquals(ChangeType.DELETED, removal.getChangeType());
+        assertEquals(2, removal.getOldValue());
+    }
+
+    @Test
+    public void changesOfOtherBranchesAreNotDelivered() {
+        ChronoDB db = this.getChronoDB();
+        ChronoDBTransaction tx = db.tx();
+        tx.put("a", 1);
+        tx.commit();
+        db.getBranchManager().createBranch("test");
+
+        List<ChangeFeedEvent> events = Collections.synchronizedList(Lists.newArrayList());
+        try (ChangeFeedSubscription subscription = db.getChangeFeedManager().subscribe("test", events::add)) {
+            ChronoDBTransaction masterTx = db.tx();
+            masterTx.put("a", 2);
+            masterTx.commit();
+            ChronoDBTransaction branchTx = db.tx("test");
+            branchTx.put("a", 3);
+            branchTx.commit();
+
+            this.awaitEvents(events, 1);
+            this.awaitLastDelivered(subscription, branchTx.getTimestamp());
+            assertEquals(1, events.size());
+            assertEquals("test", events.get(0).getBranchName());
+            KeyChange change = this.getChange(events.get(0), "a");
+            assertEquals(1, change.getOldValue());
+            assertEquals(3, change.getNewValue());
+        }
+    }
+
+    // =================================================================================================================
+    // HELPER METHODS
+    // =================================================================================================================
+
+    private KeyChange getChange(final ChangeFeedEvent event, final String key) {
+        for (KeyChange change : event.getChanges()) {
+            if (change.getKeyspace().equals(ChronoDBConstants.DEFAULT_KEYSPACE_NAME) && change.getKey().equals(key)) {
+                return change;
+            }
+        }
+        fail("Change feed event " + event + " does not contain a change for key '" + key + "'!");
+        return null;
+    }
+
+    private void awaitEvents(final List<ChangeFeedEvent> events, final int count) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (events.size() < count) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Expected " + count + " change feed events, but received only " + events.size() + " in time: " + events);
+            }
+            this.sleep(10);
+        }
+    }
+
+    private long awaitLastDelivered(final ChangeFeedSubscription subscription, final long timestamp) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (subscription.getLastDeliveredTimestamp() < timestamp) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Change feed subscription did not reach timestamp " + timestamp + " in time, last delivered: " + subscription.getLastDeliveredTimestamp());
+            }
+            this.sleep(10);
+        }
+        return subscription.getLastDeliveredTimestamp();
+    }
+
+}
@@ -0,0 +1,147 @@
+package org.chronos.chronodb.test.cases.engine.indexing;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.chronos.chronodb.api.query.CompositeKeyRange;
+import org.chronos.chronodb.internal.impl.index.CompositeKeys;
+import org.chronos.chronodb.test.base.ChronoDBUnitTest;
+import org.chronos.common.test.junit.categories.UnitTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class CompositeKeysTest extends ChronoDBUnitTest {
+
+    // =====================================================================================================================
+    // ENCODING TESTS
+    // =====================================================================================================================
+
+    @Test
+    public void canRoundTripKeys() {
+        List<Object> tuple = Arrays.asList("Order", "open\u0000\u0001\u0002", 42L, -0.5, "");
+        assertEquals(tuple, CompositeKeys.decode(CompositeKeys.encode(tuple)));
+    }
+
+    @Test
+    public void encodingPreservesNumericOrder() {
+        List<Long> longs = Arrays.asList(Long.MIN_VALUE, -1000L, -1L, 0L, 1L, 1000L, Long.MAX_VALUE);
+        this.assertEncodingPreservesOrder(longs);
+        List<Double> doubles = Arrays.asList(Double.NEGATIVE_INFINITY, -1000.5, -1.0, -Double.MIN_VALUE, 0.0, Double.MIN_VALUE, 1.0, 1000.5, Double.POSITIVE_INFINITY);
+        this.assertEncodingPreservesOrder(doubles);
+    }
+
+    @Test
+    public void encodingPreservesTupleOrder() {
+        // shorter strings must sort before their extensions, regardless of the following components
+        String k1 = CompositeKeys.encode(Arrays.asList("a", 5L));
+        String k2 = CompositeKeys.encode(Arrays.asList("a\u0001", 1L));
+        String k3 = CompositeKeys.encode(Arrays.asList("ab", 1L));
+        assertTrue(k1.compareTo(k2) < 0);
+        assertTrue(k2.compareTo(k3) < 0);
+    }
+
+    @Test
+    public void negativeZeroIsEncodedLikePositiveZero() {
+        assertEquals(CompositeKeys.encode(Collections.singletonList(0.0)), CompositeKeys.encode(Collections.singletonList(-0.0)));
+    }
+
+    @Test
+    public void integralNumbersAreEncodedAsLongs() {
+        assertEquals(CompositeKeys.encode(Collections.singletonList(7L)), CompositeKeys.encode(Collections.singletonList(7)));
+    }
+
+    @Test
+    public void encodeAllProducesCartesianProduct() {
+        Set<String> keys = CompositeKeys.encodeAll(Lists.newArrayList(Sets.newHashSet("a", "b"), Sets.newHashSet(1L, 2L)));
+        assertEquals(4, keys.size());
+        assertTrue(keys.contains(CompositeKeys.encode(Arrays.asList("b", 2L))));
+    }
+
+    @Test
+    public void encodeAllTruncatesAtMissingComponent() {
+        Set<String> keys = CompositeKeys.encodeAll(Lists.newArrayList(Sets.newHashSet("a"), Collections.emptySet(), Sets.newHashSet(1L)));
+        assertEquals(Collections.singleton(CompositeKeys.encode(Collections.singletonList("a"))), keys);
+        keys = CompositeKeys.encodeAll(Lists.newArrayList(Collections.emptySet(), Sets.newHashSet(1L)));
+        assertEquals(Collections.emptySet(), keys);
+    }
+
+    // =====================================================================================================================
+    // RANGE TESTS
+    // =====================================================================================================================
+
+    @Test
+    public void prefixRangeContainsExtensionsOfPrefix() {
+        CompositeKeyRange range = CompositeKeyRange.withPrefix("Order", "open");
+        assertTrue(range.contains(CompositeKeys.encode(Arrays.asList("Order", "open"))));
+        assertTrue(range.contains(CompositeKeys.encode(Arrays.asList("Order", "open", 5L))));
+        assertFalse(range.contains(CompositeKeys.encode(Arrays.asList("Order", "opened", 5L))));
+        assertFalse(range.contains(CompositeKeys.encode(Collections.singletonList("Order"))));
+    }
+
+    @Test
+    public void boundedRangeContainsValuesWithinBounds() {
+        CompositeKeyRange range = CompositeKeyRange.withPrefix("Order").greaterThan(10).lessThanOrEqualTo(20);
+        assertFalse(range.contains(CompositeKeys.encode(Arrays.asList("Order", 10L))));
+        assertTrue(range.contains(CompositeKeys.encode(Arrays.asList("Order", 11L, "x"))));
+        assertTrue(range.contains(CompositeKeys.encode(Arrays.asList("Order", 20L))));
+        assertFalse(range.contains(CompositeKeys.encode(Arrays.asList("Order", 21L))));
+        // values of a different type are never contained
+        assertFalse(range.contains(CompositeKeys.encode(Arrays.asList("Order", 15.0))));
+        // keys without a value for the bounded component are never contained
+        assertFalse(range.contains(CompositeKeys.encode(Collections.singletonList("Order"))));
+    }
+
+    @Test
+    public void scanStartIsBelowAllContainedKeys() {
+        CompositeKeyRange range = CompositeKeyRange.withPrefix("Order").greaterThanOrEqualTo(-5.0);
+        String contained = CompositeKeys.encode(Arrays.asList("Order", -5.0));
+        assertTrue(range.contains(contained));
+        assertTrue(range.getScanStart().compareTo(contained) <= 0);
+        assertFalse(range.isBelow(contained));
+        assertTrue(range.isBelow(CompositeKeys.encode(Arrays.asList("Order", -6.0))));
+        assertTrue(range.isBelow(CompositeKeys.encode(Collections.singletonList("Order"))));
+    }
+
+    @Test
+    public void keysEqualToExclusiveLowerBoundAreBelowRange() {
+        CompositeKeyRange range = CompositeKeyRange.withPrefix("Order").greaterThan(10L);
+        String boundKey = CompositeKeys.encode(Arrays.asList("Order", 10L, "x"));
+        assertFalse(range.contains(boundKey));
+        assertTrue(range.isBelow(boundKey));
+        assertFalse(range.isBelow(CompositeKeys.encode(Arrays.asList("Order", 11L))));
+    }
+
+    @Test
+    public void upperBoundOnlyRangeStartsAtTypeTag() {
+        CompositeKeyRange range = CompositeKeyRange.withPrefix("Order").lessThan(0L);
+        assertTrue(range.contains(CompositeKeys.encode(Arrays.asList("Order", Long.MIN_VALUE))));
+        assertTrue(range.isBelow(CompositeKeys.encode(Arrays.asList("Order", -1.0))));
+        assertFalse(range.isBelow(CompositeKeys.encode(Arrays.asList("Order", 0L))));
+        assertFalse(range.contains(CompositeKeys.encode(Arrays.asList("Order", 0L))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void boundsMustHaveSameType() {
+        CompositeKeyRange.withPrefix("Order").greaterThan(1L).lessThan(2.0);
+    }
+
+    // =====================================================================================================================
+    // HELPER METHODS
+    // =====================================================================================================================
+
+    private void assertEncodingPreservesOrder(final List<?> ascendingValues) {
+        for (int i = 1; i < ascendingValues.size(); i++) {
+            String lower = CompositeKeys.encode(Arrays.asList("x", ascendingValues.get(i - 1)));
+            String higher = CompositeKeys.encode(Arrays.asList("x", ascendingValues.get(i)));
+            assertTrue(ascendingValues.get(i - 1) + " < " + ascendingValues.get(i), lower.compareTo(higher) < 0);
+        }
+    }
+
+}
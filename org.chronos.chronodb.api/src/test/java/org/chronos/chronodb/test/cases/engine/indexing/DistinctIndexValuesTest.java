@@ -0,0 +1,137 @@
+package org.chronos.chronodb.test.cases.engine.indexing;
+
+import com.google.common.collect.Sets;
+import org.chronos.chronodb.api.ChronoDB;
+import org.chronos.chronodb.api.ChronoDBConstants;
+import org.chronos.chronodb.api.ChronoDBTransaction;
+import org.chronos.chronodb.api.IndexManager;
+import org.chronos.chronodb.test.base.AllChronoDBBackendsTest;
+import org.chronos.chronodb.test.cases.util.ReflectiveLongIndexer;
+import org.chronos.chronodb.test.cases.util.ReflectiveStringIndexer;
+import org.chronos.common.test.junit.categories.IntegrationTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+@Category(IntegrationTest.class)
+public class DistinctIndexValuesTest extends AllChronoDBBackendsTest {
+
+    @Test
+    public void canGetDistinctValuesOfIndex() {
+        ChronoDB db = this.getChronoDB();
+        db.getIndexManager().addIndexer("country", new ReflectiveStringIndexer(Address.class, "country"));
+        db.getIndexManager().addIndexer("city", new ReflectiveStringIndexer(Address.class, "city"));
+        db.getIndexManager().addIndexer("zip", new ReflectiveLongIndexer(Address.class, "zip"));
+        db.getIndexManager().reindexAll();
+        { // insert some data
+            ChronoDBTransaction tx = db.tx();
+            tx.put("a", new Address("Austria", "Innsbruck", 6020));
+            tx.put("b", new Address("Austria", "Innsbruck", 6020));
+            tx.put("c", new Address("Austria", "Vienna", 1010));
+            tx.put("d", new Address("Germany", "Munich", 80331));
+            tx.commit();
+        }
+        ChronoDBTransaction tx = db.tx();
+        assertEquals(Sets.newHashSet("Innsbruck", "Vienna", "Munich"), this.distinctValues(db, tx, "city"));
+        // numbers are returned in the format of the index
+        assertEquals(Sets.newHashSet(6020L, 1010L, 80331L), this.distinctValues(db, tx, "zip"));
+        // the values can be restricted to the matches of a query
+        Set<Object> austrianCities = tx.find().inDefaultKeyspace().where("country").isEqualTo("Austria").distinctValues("city");
+        assertEquals(Sets.newHashSet("Innsbruck", "Vienna"), austrianCities);
+        Set<Object> noCities = tx.find().inDefaultKeyspace().where("country").isEqualTo("France").distinctValues("city");
+        assertEquals(Sets.newHashSet(), noCities);
+    }
+
+    @Test
+    public void distinctValuesRespectHistory() {
+        ChronoDB db = this.getChronoDB();
+        db.getIndexManager().addIndexer("city", new ReflectiveStringIndexer(Address.class, "city"));
+        db.getIndexManager().reindexAll();
+        ChronoDBTransaction tx = db.tx();
+        tx.put("a", new Address("Austria", "Innsbruck", 6020));
+        tx.put("b", new Address("Austria", "Vienna", 1010));
+        tx.commit();
+        long afterFirstCommit = tx.getTimestamp();
+
+        tx.put("a", new Address("Austria", "Salzburg", 5020));
+        tx.remove("b");
+        tx.commit();
+
+        assertEquals(Sets.newHashSet("Innsbruck", "Vienna"), this.distinctValues(db, db.tx(afterFirstCommit), "city"));
+        assertEquals(Sets.newHashSet("Salzburg"), this.distinctValues(db, db.tx(), "city"));
+    }
+
+    @Test
+    public void distinctValuesRespectBranches() {
+        ChronoDB db = this.getChronoDB();
+        db.getIndexManager().addIndexer("city", new ReflectiveStringIndexer(Address.class, "city"));
+        db.getIndexManager().reindexAll();
+        { // insert some data on master
+            ChronoDBTransaction tx = db.tx();
+            tx.put("a", new Address("Austria", "Innsbruck", 6020));
+            tx.put("b", new Address("Austria", "Vienna", 1010));
+            tx.commit();
+        }
+        db.getBranchManager().createBranch("test");
+        { // modify the data on the branch
+            ChronoDBTransaction tx = db.tx("test");
+            tx.put("a", new Address("Austria", "Graz", 8010));
+            tx.put("c", new Address("Austria", "Linz", 4020));
+            tx.commit();
+        }
+        { // modify the data on master after branching
+            ChronoDBTransaction tx = db.tx();
+            tx.put("d", new Address("Germany", "Munich", 80331));
+            tx.commit();
+        }
+        assertEquals(Sets.newHashSet("Innsbruck", "Vienna", "Munich"), this.distinctValues(db, db.tx(), "city"));
+        // the branch sees the values of its origin at the time of branching, minus its own changes
+        assertEquals(Sets.newHashSet("Graz", "Vienna", "Linz"), this.distinctValues(db, db.tx("test"), "city"));
+    }
+
+    // =================================================================================================================
+    // HELPER METHODS
+    // =================================================================================================================
+
+    private Set<Object> distinctValues(final ChronoDB db, final ChronoDBTransaction tx, final String indexName) {
+        IndexManager indexManager = db.getIndexManager();
+        return indexManager.evaluateDistinctValues(tx.getTimestamp(), db.getBranchManager().getBranch(tx.getBranchName()), ChronoDBConstants.DEFAULT_KEYSPACE_NAME, indexName);
+    }
+
+    // =================================================================================================================
+    // INNER CLASSES
+    // =================================================================================================================
+
+    @SuppressWarnings("unused")
+    private static class Address {
+
+        private String country;
+        private String city;
+        private long zip;
+
+        protected Address() {
+        }
+
+        public Address(final String country, final String city, final long zip) {
+            this.country = country;
+            this.city = city;
+            this.zip = zip;
+        }
+
+        public String getCountry() {
+            return this.country;
+        }
+
+        public String getCity() {
+            return this.city;
+        }
+
+        public long getZip() {
+            return this.zip;
+        }
+    }
+
+}
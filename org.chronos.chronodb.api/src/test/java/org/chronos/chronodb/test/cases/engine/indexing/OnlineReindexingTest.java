@@ -0,0 +1,162 @@
+package org.chronos.chronodb.test.cases.engine.indexing;
+
+import com.google.common.collect.Lists;
+import org.chronos.chronodb.api.ChronoDB;
+import org.chronos.chronodb.api.ChronoDBTransaction;
+import org.chronos.chronodb.inmemory.InMemoryChronoDB;
+import org.chronos.chronodb.test.base.AllChronoDBBackendsTest;
+import org.chronos.chronodb.test.cases.util.model.payload.NamedPayloadNameIndexer;
+import org.chronos.common.test.junit.categories.IntegrationTest;
+import org.chronos.common.test.utils.NamedPayload;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+@Category(IntegrationTest.class)
+public class OnlineReindexingTest extends AllChronoDBBackendsTest {
+
+    @Test
+    public void onlineReindexingProducesCleanIndex() throws Exception {
+        ChronoDB db = this.getChronoDB();
+        ChronoDBTransaction tx = db.tx();
+        tx.put("np1", NamedPayload.create1KB("Hello World"));
+        tx.put("np2", NamedPayload.create1KB("Foo Bar"));
+        tx.commit();
+        long afterFirstWrite = tx.getTimestamp();
+        tx.put("np1", NamedPayload.create1KB("Overwritten"));
+        tx.commit();
+
+        db.getIndexManager().addIndexer("name", new NamedPayloadNameIndexer());
+        assertTrue(db.getIndexManager().getDirtyIndices().contains("name"));
+        db.getIndexManager().reindexAllOnline().get(1, TimeUnit.MINUTES);
+        assertFalse(db.getIndexManager().isReindexingRequired());
+
+        // the history has been indexed as well
+        assertEquals(1, db.tx(afterFirstWrite).find().inDefaultKeyspace().where("name").isEqualTo("Hello World").count());
+        assertEquals(0, db.tx().find().inDefaultKeyspace().where("name").isEqualTo("Hello World").count());
+        assertEquals(1, db.tx().find().inDefaultKeyspace().where("name").isEqualTo("Overwritten").count());
+        assertEquals(1, db.tx().find().inDefaultKeyspace().where("name").isEqualTo("Foo Bar").count());
+    }
+
+    @Test
+    public void commitsDuringOnlineReindexingAreIndexed() throws Exception {
+        ChronoDB db = this.getChronoDB();
+        ChronoDBTransaction tx = db.tx();
+        for (int i = 0; i < 100; i++) {
+            tx.put("np" + i, NamedPayload.create1KB("Original"));
+        }
+        tx.commit();
+
+        db.getIndexManager().addIndexer("name", new NamedPayloadNameIndexer());
+        CompletableFuture<Void> reindexing = db.getIndexManager().reindexAllOnline();
+        // keep committing while the index is being built
+        for (int i = 0; i < 10; i++) {
+            ChronoDBTransaction tx2 = db.tx();
+            tx2.put("np" + i, NamedPayload.create1KB("Changed"));
+            tx2.remove("np" + (50 + i));
+            tx2.commit();
+        }
+        reindexing.get(1, TimeUnit.MINUTES);
+        assertFalse(db.getIndexManager().isReindexingRequired());
+
+        assertEquals(80, db.tx().find().inDefaultKeyspace().where("name").isEqualTo("Original").count());
+        assertEquals(10, db.tx().find().inDefaultKeyspace().where("name").isEqualTo("Changed").count());
+
+        // commits after the online build are indexed as usual
+        ChronoDBTransaction tx3 = db.tx();
+        tx3.put("np99", NamedPayload.create1KB("Changed"));
+        tx3.commit();
+        assertEquals(11, db.tx().find().inDefaultKeyspace().where("name").isEqualTo("Changed").count());
+    }
+
+    @Test
+    @DontRunWithBackend(InMemoryChronoDB.BACKEND_NAME) // the in-memory backend re-indexes in the calling thread
+    public void onlineReindexingDoesNotBlockCommitsOfOtherThreads() throws Exception {
+        ChronoDB db = this.getChronoDB();
+        ChronoDBTransaction tx = db.tx();
+        for (int i = 0; i < 100; i++) {
+            tx.put("np" + i, NamedPayload.create1KB("Original"));
+        }
+        tx.commit();
+
+        BlockingNameIndexer.reset();
+        db.getIndexManager().addIndexer("name", new BlockingNameIndexer());
+        CompletableFuture<Void> reindexing = db.getIndexManager().reindexAllOnline();
+        try {
+            // wait until the build is in the middle of a chunk
+            assertTrue(BlockingNameIndexer.blocked.await(1, TimeUnit.MINUTES));
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> commits = Lists.newArrayList();
+                for (int i = 0; i < 4; i++) {
+                    String key = "np" + i;
+                    commits.add(executor.submit(() -> {
+                        ChronoDBTransaction tx2 = db.tx();
+                        tx2.put(key, NamedPayload.create1KB("Changed"));
+                        tx2.commit();
+                    }));
+                }
+                // the commits must not wait for the build
+                for (Future<?> commit : commits) {
+                    commit.get(30, TimeUnit.SECONDS);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+            assertFalse(reindexing.isDone());
+        } finally {
+            BlockingNameIndexer.release.countDown();
+        }
+        reindexing.get(1, TimeUnit.MINUTES);
+        assertFalse(db.getIndexManager().isReindexingRequired());
+
+        assertEquals(96, db.tx().find().inDefaultKeyspace().where("name").isEqualTo("Original").count());
+        assertEquals(4, db.tx().find().inDefaultKeyspace().where("name").isEqualTo("Changed").count());
+    }
+
+    // =================================================================================================================
+    // INNER CLASSES
+    // =================================================================================================================
+
+    /**
+     * Blocks the first thread which uses this indexer until {@link #release} is counted down.
+     */
+    public static class BlockingNameIndexer extends NamedPayloadNameIndexer {
+
+        private static AtomicBoolean first;
+        private static CountDownLatch blocked;
+        private static CountDownLatch release;
+
+        private static void reset() {
+            first = new AtomicBoolean(true);
+            blocked = new CountDownLatch(1);
+            release = new CountDownLatch(1);
+        }
+
+        @Override
+        public Set<String> getIndexValues(final Object object) {
+            if (first.compareAndSet(true, false)) {
+                blocked.countDown();
+                try {
+                    release.await(1, TimeUnit.MINUTES);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return super.getIndexValues(object);
+        }
+
+    }
+
+}
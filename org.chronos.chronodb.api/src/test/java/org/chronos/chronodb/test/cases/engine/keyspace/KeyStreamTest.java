@@ -0,0 +1,120 @@
+package org.chronos.chronodb.test.cases.engine.keyspace;
+
+import com.google.common.collect.Sets;
+import org.chronos.chronodb.api.ChronoDB;
+import org.chronos.chronodb.api.ChronoDBConstants;
+import org.chronos.chronodb.api.ChronoDBTransaction;
+import org.chronos.chronodb.internal.api.stream.CloseableIterator;
+import org.chronos.chronodb.test.base.AllChronoDBBackendsTest;
+import org.chronos.common.test.junit.categories.IntegrationTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+@Category(IntegrationTest.class)
+public class KeyStreamTest extends AllChronoDBBackendsTest {
+
+    @Test
+    public void keyStreamProducesSameResultAsKeySet() {
+        ChronoDB db = this.getChronoDB();
+        ChronoDBTransaction tx = db.tx();
+        tx.put("Hello", "World");
+        tx.put("Foo", "Bar");
+        tx.put("Numbers", "One", 1);
+        tx.commit();
+        long afterFirstCommit = tx.getTimestamp();
+
+        tx.remove("Foo");
+        tx.put("Baz", "Qux");
+        tx.commit();
+
+        assertEquals(Sets.newHashSet("Hello", "Baz"), collect(db.tx().keyStream()));
+        assertEquals(db.tx().keySet(), collect(db.tx().keyStream()));
+        assertEquals(Sets.newHashSet("One"), collect(db.tx().keyStream("Numbers")));
+        assertEquals(Sets.newHashSet("Hello", "Foo"), collect(db.tx(afterFirstCommit).keyStream()));
+    }
+
+    @Test
+    public void keyStreamOnUnknownKeyspaceIsEmpty() {
+        ChronoDB db = this.getChronoDB();
+        ChronoDBTransaction tx = db.tx();
+        tx.put("Hello", "World");
+        tx.commit();
+
+        assertTrue(collect(db.tx().keyStream("DoesNotExist")).isEmpty());
+    }
+
+    @Test
+    public void keyStreamConsidersBranchLocalModifications() {
+        ChronoDB db = this.getChronoDB();
+        ChronoDBTransaction tx = db.tx();
+        tx.put("a", 1);
+        tx.put("b", 2);
+        tx.put("c", 3);
+        tx.commit();
+
+        db.getBranchManager().createBranch("MyBranch");
+        ChronoDBTransaction branchTx = db.tx("MyBranch");
+        branchTx.remove("a");
+        branchTx.put("b", 20);
+        branchTx.put("d", 4);
+        branchTx.commit();
+
+        // changes on master after branching must not be visible in the branch
+        tx.put("e", 5);
+        tx.commit();
+
+        Set<String> keys = collect(db.tx("MyBranch").keyStream());
+        assertEquals(Sets.newHashSet("b", "c", "d"), keys);
+        assertEquals(db.tx("MyBranch").keySet(), keys);
+        assertEquals(Sets.newHashSet("a", "b", "c", "e"), collect(db.tx().keyStream()));
+    }
+
+    @Test
+    public void keyStreamWithPrefixOnlyReturnsMatchingKeys() {
+        ChronoDB db = this.getChronoDB();
+        ChronoDBTransaction tx = db.tx();
+        tx.put("a", 1);
+        tx.put("ab", 2);
+        tx.put("ab|x", 3);
+        tx.put("ab|y", 4);
+        tx.put("abc", 5);
+        tx.put("b", 6);
+        tx.commit();
+        long afterFirstCommit = tx.getTimestamp();
+
+        tx.remove("ab|x");
+        tx.put("ab|z", 7);
+        tx.commit();
+
+        assertEquals(Sets.newHashSet("ab", "ab|y", "ab|z", "abc"), collect(db.tx().keyStream(ChronoDBConstants.DEFAULT_KEYSPACE_NAME, "ab")));
+        assertEquals(Sets.newHashSet("ab|y", "ab|z"), collect(db.tx().keyStream(ChronoDBConstants.DEFAULT_KEYSPACE_NAME, "ab|")));
+        assertEquals(Sets.newHashSet("ab|x", "ab|y"), collect(db.tx(afterFirstCommit).keyStream(ChronoDBConstants.DEFAULT_KEYSPACE_NAME, "ab|")));
+        assertTrue(collect(db.tx().keyStream(ChronoDBConstants.DEFAULT_KEYSPACE_NAME, "c")).isEmpty());
+        assertEquals(db.tx().keySet(), collect(db.tx().keyStream(ChronoDBConstants.DEFAULT_KEYSPACE_NAME, "")));
+
+        // branches combine the keys of their origin with their own modifications
+        db.getBranchManager().createBranch("MyBranch");
+        ChronoDBTransaction branchTx = db.tx("MyBranch");
+        branchTx.remove("ab|y");
+        branchTx.put("ab|w", 8);
+        branchTx.put("b|v", 9);
+        branchTx.commit();
+        assertEquals(Sets.newHashSet("ab|w", "ab|z"), collect(db.tx("MyBranch").keyStream(ChronoDBConstants.DEFAULT_KEYSPACE_NAME, "ab|")));
+    }
+
+    private static Set<String> collect(final CloseableIterator<String> iterator) {
+        Set<String> result = Sets.newHashSet();
+        try (CloseableIterator<String> keys = iterator) {
+            while (keys.hasNext()) {
+                // every key must be reported exactly once
+                assertTrue(result.add(keys.next()));
+            }
+        }
+        return result;
+    }
+
+}
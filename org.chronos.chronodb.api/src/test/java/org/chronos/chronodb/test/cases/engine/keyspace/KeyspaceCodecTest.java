@@ -0,0 +1,166 @@
+package org.chronos.chronodb.test.cases.engine.keyspace;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.google.common.collect.Lists;
+import org.chronos.chronodb.api.ChronoDB;
+import org.chronos.chronodb.api.ChronoDBConstants;
+import org.chronos.chronodb.api.ChronoDBTransaction;
+import org.chronos.chronodb.api.SerializationManager;
+import org.chronos.chronodb.api.serialization.StringDictionary;
+import org.chronos.chronodb.api.serialization.ValueCodec;
+import org.chronos.chronodb.inmemory.InMemorySerializationManager;
+import org.chronos.chronodb.test.base.AllChronoDBBackendsTest;
+import org.chronos.common.test.junit.categories.IntegrationTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+@Category(IntegrationTest.class)
+public class KeyspaceCodecTest extends AllChronoDBBackendsTest {
+
+    private static final String KEYSPACE = "labels";
+
+    @Test
+    public void valuesAreWrittenWithTheCodecOfTheirKeyspace() {
+        ChronoDB db = this.getChronoDB();
+        registerCodec(db);
+        ChronoDBTransaction tx = db.tx();
+        tx.put(KEYSPACE, "a", "Person");
+        tx.put(KEYSPACE, "b", "Location");
+        tx.put(KEYSPACE, "c", 42);
+        tx.put("Person", "Person");
+        tx.commit();
+
+        ChronoDBTransaction tx2 = db.tx();
+        assertEquals("Person", tx2.get(KEYSPACE, "a"));
+        assertEquals("Location", tx2.get(KEYSPACE, "b"));
+        assertEquals(42, (int) tx2.get(KEYSPACE, "c"));
+        assertEquals("Person", tx2.get("Person"));
+
+        Map<String, byte[]> binary = tx2.getAllBinary(KEYSPACE, Lists.newArrayList("a", "b", "c"));
+        assertEquals(InMemorySerializationManager.CODEC_MARKER, binary.get("a")[0]);
+        assertEquals(InMemorySerializationManager.CODEC_MARKER, binary.get("b")[0]);
+        // the codec rejects integers, so they are written in the default format
+        assertNotEquals(InMemorySerializationManager.CODEC_MARKER, binary.get("c")[0]);
+        // other keyspaces are not affected
+        byte[] defaultKeyspaceValue = tx2.getAllBinary(ChronoDBConstants.DEFAULT_KEYSPACE_NAME, Collections.singleton("Person")).get("Person");
+        assertNotEquals(InMemorySerializationManager.CODEC_MARKER, defaultKeyspaceValue[0]);
+        // the default format is independent of the dictionary
+        SerializationManager serializationManager = db.getSerializationManager();
+        byte[] defaultFormat = serializationManager.toDefaultFormat(binary.get("a"));
+        assertNotEquals(InMemorySerializationManager.CODEC_MARKER, defaultFormat[0]);
+        assertEquals("Person", serializationManager.deserialize(defaultFormat));
+    }
+
+    @Test
+    public void changingTheCodecDoesNotAffectExistingValues() {
+        ChronoDB db = this.getChronoDB();
+        registerCodec(db);
+        ChronoDBTransaction tx = db.tx();
+        tx.put(KEYSPACE, "a", "Person");
+        tx.commit();
+        db.getSerializationManager().setKeyspaceCodec(KEYSPACE, null);
+        tx.put(KEYSPACE, "b", "Location");
+        tx.commit();
+
+        assertNull(db.getSerializationManager().getKeyspaceCodec(KEYSPACE));
+        assertEquals("Person", db.tx().get(KEYSPACE, "a"));
+        assertEquals("Location", db.tx().get(KEYSPACE, "b"));
+    }
+
+    @Test
+    public void dictionarySurvivesRestart() {
+        ChronoDB db = this.getChronoDB();
+        this.assumeIsPersistent(db);
+        registerCodec(db);
+        ChronoDBTransaction tx = db.tx();
+        List<String> keys = Lists.newArrayList();
+        for (int i = 0; i < 50; i++) {
+            tx.put(KEYSPACE, "k" + i, "value" + i % 10);
+            keys.add("k" + i);
+        }
+        tx.commit();
+
+        db = this.closeAndReopenDB();
+        registerCodec(db);
+        Map<String, String> values = db.tx().getAll(KEYSPACE, keys);
+        assertEquals(50, values.size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals("value" + i % 10, values.get("k" + i));
+        }
+        // new strings receive new IDs, known strings are resolved
+        tx = db.tx();
+        tx.put(KEYSPACE, "new", "newValue");
+        tx.commit();
+        assertEquals("newValue", db.tx().get(KEYSPACE, "new"));
+        assertEquals("value3", db.tx().get(KEYSPACE, "k3"));
+    }
+
+    @Test
+    public void codecsMustHaveUniqueIds() {
+        ChronoDB db = this.getChronoDB();
+        registerCodec(db);
+        // registering the same codec twice is fine
+        registerCodec(db);
+        try {
+            db.getSerializationManager().registerCodec(new DictionaryStringCodec("other.name"));
+            fail("Managed to register two codecs with the same ID!");
+        } catch (IllegalArgumentException expected) {
+            // pass
+        }
+    }
+
+    private static void registerCodec(final ChronoDB db) {
+        SerializationManager serializationManager = db.getSerializationManager();
+        serializationManager.registerCodec(new DictionaryStringCodec(DictionaryStringCodec.NAME));
+        serializationManager.setKeyspaceCodec(KEYSPACE, DictionaryStringCodec.NAME);
+    }
+
+    // =================================================================================================================
+    // INNER CLASSES
+    // =================================================================================================================
+
+    private static class DictionaryStringCodec implements ValueCodec {
+
+        private static final String NAME = "test.dictionaryStrings";
+
+        private final String name;
+
+        private DictionaryStringCodec(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return this.name;
+        }
+
+        @Override
+        public int getId() {
+            return 200;
+        }
+
+        @Override
+        public boolean canEncode(final Object value) {
+            return value instanceof String;
+        }
+
+        @Override
+        public void encode(final Object value, final Output output, final StringDictionary dictionary) {
+            output.writeVarInt(dictionary.getOrCreateId((String) value), true);
+        }
+
+        @Override
+        public Object decode(final Input input, final StringDictionary dictionary) {
+            return dictionary.getString(input.readVarInt(true));
+        }
+
+    }
+
+}
@@ -0,0 +1,188 @@
+package org.chronos.chronodb.test.cases.engine.transaction;
+
+import com.google.common.collect.Lists;
+import org.chronos.chronodb.api.ChronoDB;
+import org.chronos.chronodb.api.ChronoDBConstants;
+import org.chronos.chronodb.api.ChronoDBTransaction;
+import org.chronos.chronodb.api.CommitMetadataFilter;
+import org.chronos.chronodb.api.exceptions.ChronoDBCommitMetadataRejectedException;
+import org.chronos.chronodb.api.metrics.CommitMetrics;
+import org.chronos.chronodb.api.metrics.CommitPhase;
+import org.chronos.chronodb.api.metrics.LatencySnapshot;
+import org.chronos.chronodb.internal.api.BranchInternal;
+import org.chronos.chronodb.internal.api.ChronoDBConfiguration;
+import org.chronos.chronodb.internal.api.TemporalKeyValueStore;
+import org.chronos.chronodb.test.base.AllChronoDBBackendsTest;
+import org.chronos.chronodb.test.base.InstantiateChronosWith;
+import org.chronos.common.test.junit.categories.IntegrationTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+@Category(IntegrationTest.class)
+public class CommitMetricsTest extends AllChronoDBBackendsTest {
+
+    @Test
+    public void commitPhasesAreRecordedPerBranch() {
+        ChronoDB db = this.getChronoDB();
+        for (int i = 0; i < 5; i++) {
+            ChronoDBTransaction tx = db.tx();
+            tx.put("key" + i, i);
+            tx.commit();
+        }
+        // empty commits are not counted
+        db.tx().commit();
+        CommitMetrics metrics = db.getCommitMetrics();
+        String master = ChronoDBConstants.MASTER_BRANCH_IDENTIFIER;
+        assertTrue(metrics.getBranchNames().contains(master));
+        assertEquals(5, metrics.getCommitCount(master));
+        assertEquals(0, metrics.getFailedCommitCount(master));
+        // the commit lock is acquired even for empty commits
+        assertTrue(metrics.getPhaseLatency(master, CommitPhase.LOCK_ACQUISITION).getCount() >= 5);
+        for (CommitPhase phase : new CommitPhase[]{CommitPhase.CHANGE_SET_ANALYSIS, CommitPhase.PRIMARY_INDEX_UPDATE, CommitPhase.COMMIT_METADATA_STORE, CommitPhase.CHANGE_LOG_STORE, CommitPhase.TOTAL}) {
+            assertEquals(phase.toString(), 5, metrics.getPhaseLatency(master, phase).getCount());
+        }
+        LatencySnapshot total = metrics.getPhaseLatency(master, CommitPhase.TOTAL);
+        assertTrue(total.getMax() >= total.getValueAtPercentile(50));
+        assertTrue(total.getTotal() >= metrics.getPhaseLatency(master, CommitPhase.PRIMARY_INDEX_UPDATE).getTotal());
+        assertEquals(0, metrics.getCommitQueueDepth(master));
+        assertTrue(metrics.getMaxCommitQueueDepth(master) >= 1);
+        // other branches are tracked separately
+        db.getBranchManager().createBranch("test");
+        ChronoDBTransaction tx = db.tx("test");
+        tx.put("key", "value");
+        tx.commit();
+        assertEquals(1, metrics.getCommitCount("test"));
+        assertEquals(5, metrics.getCommitCount(master));
+        // unknown branches have no values
+        assertEquals(0, metrics.getCommitCount("unknown"));
+        assertEquals(0, metrics.getPhaseLatency("unknown", CommitPhase.TOTAL).getCount());
+    }
+
+    @Test
+    @InstantiateChronosWith(property = ChronoDBConfiguration.COMMIT_METADATA_FILTER_CLASS, value = "org.chronos.chronodb.test.cases.engine.transaction.CommitMetricsTest$RejectNullFilter")
+    public void failedCommitsAreCounted() {
+        ChronoDB db = this.getChronoDB();
+        ChronoDBTransaction tx = db.tx();
+        tx.put("Hello", "World");
+        try {
+            tx.commit();
+            fail("Commit metadata filter did not reject NULL metadata!");
+        } catch (ChronoDBCommitMetadataRejectedException expected) {
+            // pass
+        }
+        tx.commit("with metadata");
+        CommitMetrics metrics = db.getCommitMetrics();
+        String master = ChronoDBConstants.MASTER_BRANCH_IDENTIFIER;
+        assertEquals(1, metrics.getCommitCount(master));
+        assertEquals(1, metrics.getFailedCommitCount(master));
+        assertEquals(2, metrics.getPhaseLatency(master, CommitPhase.TOTAL).getCount());
+    }
+
+    @Test
+    @InstantiateChronosWith(property = ChronoDBConfiguration.COMMIT_GROUP_ENABLED, value = "true")
+    public void groupCommitsAreRecorded() {
+        ChronoDB db = this.getChronoDB();
+        for (int i = 0; i < 3; i++) {
+            ChronoDBTransaction tx = db.tx();
+            tx.put("key" + i, i);
+            tx.commit();
+        }
+        CommitMetrics metrics = db.getCommitMetrics();
+        String master = ChronoDBConstants.MASTER_BRANCH_IDENTIFIER;
+        assertEquals(3, metrics.getCommitCount(master));
+        assertEquals(3, metrics.getPhaseLatency(master, CommitPhase.TOTAL).getCount());
+        assertTrue(metrics.getPhaseLatency(master, CommitPhase.PRIMARY_INDEX_UPDATE).getCount() >= 1);
+    }
+
+    @Test
+    public void commitsWaitingForTheLockAreCountedInTheQueueDepth() throws Exception {
+        ChronoDB db = this.getChronoDB();
+        String master = ChronoDBConstants.MASTER_BRANCH_IDENTIFIER;
+        CommitMetrics metrics = db.getCommitMetrics();
+        TemporalKeyValueStore tkvs = ((BranchInternal) db.getBranchManager().getMasterBranch()).getTemporalKeyValueStore();
+        CountDownLatch firstCommitWriting = new CountDownLatch(1);
+        CountDownLatch releaseFirstCommit = new CountDownLatch(1);
+        tkvs.setDebugCallbackBeforePrimaryIndexUpdate(tx -> {
+            if (firstCommitWriting.getCount() > 0) {
+                firstCommitWriting.countDown();
+                try {
+                    releaseFirstCommit.await(1, TimeUnit.MINUTES);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        int waitingCommits = 3;
+        ExecutorService executor = Executors.newFixedThreadPool(waitingCommits + 1);
+        try {
+            List<Future<?>> futures = Lists.newArrayList();
+            futures.add(executor.submit(() -> this.commitKey(db, "first")));
+            assertTrue(firstCommitWriting.await(1, TimeUnit.MINUTES));
+            // the commit which holds the lock is no longer queued
+            assertEquals(0, metrics.getCommitQueueDepth(master));
+            for (int i = 0; i < waitingCommits; i++) {
+                String key = "waiting" + i;
+                futures.add(executor.submit(() -> this.commitKey(db, key)));
+            }
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (metrics.getCommitQueueDepth(master) < waitingCommits) {
+                if (System.currentTimeMillis() > deadline) {
+                    fail("Commits waiting for the lock were not counted in the queue depth: " + metrics.getCommitQueueDepth(master));
+                }
+                sleep(10);
+            }
+            releaseFirstCommit.countDown();
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            tkvs.setDebugCallbackBeforePrimaryIndexUpdate(null);
+            executor.shutdownNow();
+        }
+        assertEquals(0, metrics.getCommitQueueDepth(master));
+        assertEquals(waitingCommits, metrics.getMaxCommitQueueDepth(master));
+    }
+
+    @Test
+    public void resetClearsRecordedValues() {
+        ChronoDB db = this.getChronoDB();
+        ChronoDBTransaction tx = db.tx();
+        tx.put("Hello", "World");
+        tx.commit();
+        CommitMetrics metrics = db.getCommitMetrics();
+        String master = ChronoDBConstants.MASTER_BRANCH_IDENTIFIER;
+        assertEquals(1, metrics.getCommitCount(master));
+        metrics.reset();
+        assertEquals(0, metrics.getCommitCount(master));
+        assertEquals(0, metrics.getPhaseLatency(master, CommitPhase.TOTAL).getCount());
+        assertEquals(0, metrics.getCommitLockWaitTime(master));
+    }
+
+    private void commitKey(final ChronoDB db, final String key) {
+        ChronoDBTransaction tx = db.tx();
+        tx.put(key, key);
+        tx.commit();
+    }
+
+    public static class RejectNullFilter implements CommitMetadataFilter {
+
+        public RejectNullFilter() {
+            // default constructor for instantiation
+        }
+
+        @Override
+        public boolean doesAccept(final String branch, final long timestamp, final Object metadata) {
+            return metadata != null;
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+package org.chronos.chronodb.test.cases.engine.transaction;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.chronos.chronodb.api.ChronoDB;
+import org.chronos.chronodb.api.ChronoDBConstants;
+import org.chronos.chronodb.api.ChronoDBTransaction;
+import org.chronos.chronodb.internal.api.ChronoDBConfiguration;
+import org.chronos.chronodb.test.base.AllChronoDBBackendsTest;
+import org.chronos.chronodb.test.base.InstantiateChronosWith;
+import org.chronos.common.test.junit.categories.IntegrationTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+@Category(IntegrationTest.class)
+public class GetAllTest extends AllChronoDBBackendsTest {
+
+    @Test
+    public void getAllProducesSameResultAsGet() {
+        ChronoDB db = this.getChronoDB();
+        ChronoDBTransaction tx = db.tx();
+        tx.put("Hello", "World");
+        tx.put("Foo", "Bar");
+        tx.put("Baz", "Qux");
+        tx.commit();
+        long afterFirstCommit = tx.getTimestamp();
+
+        tx.remove("Foo");
+        tx.put("Hello", "Chronos");
+        tx.commit();
+
+        String keyspace = ChronoDBConstants.DEFAULT_KEYSPACE_NAME;
+        List<String> keys = Arrays.asList("Hello", "Foo", "Baz", "DoesNotExist");
+        Map<String, String> expected = Maps.newHashMap();
+        expected.put("Hello", "Chronos");
+        expected.put("Baz", "Qux");
+        assertEquals(expected, db.tx().getAll(keyspace, keys));
+
+        Map<String, String> expectedInPast = Maps.newHashMap();
+        expectedInPast.put("Hello", "World");
+        expectedInPast.put("Foo", "Bar");
+        expectedInPast.put("Baz", "Qux");
+        assertEquals(expectedInPast, db.tx(afterFirstCommit).getAll(keyspace, keys));
+
+        Map<String, byte[]> binaryValues = db.tx().getAllBinary(keyspace, keys);
+        assertEquals(Sets.newHashSet("Hello", "Baz"), binaryValues.keySet());
+        assertEquals("Chronos", db.getSerializationManager().deserialize(binaryValues.get("Hello")));
+    }
+
+    @Test
+    public void getAllOnUnknownKeyspaceIsEmpty() {
+        ChronoDB db = this.getChronoDB();
+        ChronoDBTransaction tx = db.tx();
+        tx.put("Hello", "World");
+        tx.commit();
+
+        assertTrue(db.tx().getAll("DoesNotExist", Collections.singleton("Hello")).isEmpty());
+        assertTrue(db.tx().getAll(ChronoDBConstants.DEFAULT_KEYSPACE_NAME, Collections.emptyList()).isEmpty());
+    }
+
+    @Test
+    public void getAllConsidersOriginBranches() {
+        ChronoDB db = this.getChronoDB();
+        ChronoDBTransaction tx = db.tx();
+        tx.put("a", 1);
+        tx.put("b", 2);
+        tx.put("c", 3);
+        tx.commit();
+
+        db.getBranchManager().createBranch("MyBranch");
+        ChronoDBTransaction branchTx = db.tx("MyBranch");
+        branchTx.remove("a");
+        branchTx.put("b", 20);
+        branchTx.put("d", 4);
+        branchTx.commit();
+
+        // changes on master after branching must not be visible in the branch
+        tx.put("c", 30);
+        tx.put("e", 5);
+        tx.commit();
+
+        Map<String, Integer> expected = Maps.newHashMap();
+        expected.put("b", 20);
+        expected.put("c", 3);
+        expected.put("d", 4);
+        List<String> keys = Lists.newArrayList("a", "b", "c", "d", "e");
+        assertEquals(expected, db.tx("MyBranch").getAll(ChronoDBConstants.DEFAULT_KEYSPACE_NAME, keys));
+    }
+
+    @Test
+    @InstantiateChronosWith(property = ChronoDBConfiguration.CACHING_ENABLED, value = "true")
+    @InstantiateChronosWith(property = ChronoDBConfiguration.CACHE_MAX_SIZE, value = "1000")
+    public void getAllFillsTheCache() {
+        ChronoDB db = this.getChronoDB();
+        ChronoDBTransaction tx = db.tx();
+        List<String> keys = Lists.newArrayList();
+        for (int i = 0; i < 100; i++) {
+            tx.put("k" + i, i);
+            keys.add("k" + i);
+        }
+        tx.commit();
+        db.getCache().clear();
+
+        Map<String, Integer> values = db.tx().getAll(ChronoDBConstants.DEFAULT_KEYSPACE_NAME, keys);
+        assertEquals(100, values.size());
+        assertEquals(42, (int) values.get("k42"));
+        // the cache has been filled in bulk, so a second request produces cache hits only
+        db.getCache().resetStatistics();
+        assertEquals(values, db.tx().getAll(ChronoDBConstants.DEFAULT_KEYSPACE_NAME, keys));
+        assertEquals(100, db.getCache().getStatistics().getCacheHitCount());
+        assertEquals(0, db.getCache().getStatistics().getCacheMissCount());
+    }
+
+}
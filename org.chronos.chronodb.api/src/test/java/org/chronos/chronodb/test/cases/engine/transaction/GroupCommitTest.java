@@ -0,0 +1,204 @@
+package org.chronos.chronodb.test.cases.engine.transaction;
+
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.chronos.chronodb.api.ChronoDB;
+import org.chronos.chronodb.api.ChronoDBConstants;
+import org.chronos.chronodb.api.ChronoDBTransaction;
+import org.chronos.chronodb.api.exceptions.ChronoDBCommitConflictException;
+import org.chronos.chronodb.api.metrics.CommitPhase;
+import org.chronos.chronodb.internal.api.BranchInternal;
+import org.chronos.chronodb.internal.api.ChronoDBConfiguration;
+import org.chronos.chronodb.internal.api.TemporalKeyValueStore;
+import org.chronos.chronodb.test.base.AllChronoDBBackendsTest;
+import org.chronos.chronodb.test.base.InstantiateChronosWith;
+import org.chronos.common.test.junit.categories.IntegrationTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+@Category(IntegrationTest.class)
+public class GroupCommitTest extends AllChronoDBBackendsTest {
+
+    private static final int THREADS = 8;
+    private static final int COMMITS_PER_THREAD = 25;
+
+    @Test
+    @InstantiateChronosWith(property = ChronoDBConfiguration.COMMIT_GROUP_ENABLED, value = "true")
+    public void concurrentCommitsAreAllWritten() throws Exception {
+        ChronoDB db = this.getChronoDB();
+        List<Long> commitTimestamps = this.commitConcurrently(db, (thread, commit) -> {
+            ChronoDBTransaction tx = db.tx();
+            tx.put("t" + thread + "c" + commit, commit);
+            return tx.commit("thread " + thread + ", commit " + commit);
+        });
+        // every commit has its own timestamp
+        assertEquals(THREADS * COMMITS_PER_THREAD, Sets.newHashSet(commitTimestamps).size());
+        ChronoDBTransaction tx = db.tx();
+        assertEquals(THREADS * COMMITS_PER_THREAD, tx.countCommitTimestamps());
+        assertEquals(THREADS * COMMITS_PER_THREAD, tx.keySet().size());
+        for (int thread = 0; thread < THREADS; thread++) {
+            for (int commit = 0; commit < COMMITS_PER_THREAD; commit++) {
+                String key = "t" + thread + "c" + commit;
+                assertEquals(commit, (int) tx.get(key));
+                // the commit metadata belongs to the commit which wrote the key
+                long timestamp = tx.getLastModificationTimestamp(key);
+                assertEquals("thread " + thread + ", commit " + commit, tx.getCommitMetadata(timestamp));
+            }
+        }
+    }
+
+    @Test
+    @InstantiateChronosWith(property = ChronoDBConfiguration.COMMIT_GROUP_ENABLED, value = "true")
+    @InstantiateChronosWith(property = ChronoDBConfiguration.COMMIT_CONFLICT_RESOLUTION_STRATEGY, value = "OVERWRITE_WITH_SOURCE")
+    public void concurrentCommitsOnTheSameKeyAreWrittenInSequence() throws Exception {
+        ChronoDB db = this.getChronoDB();
+        this.commitConcurrently(db, (thread, commit) -> {
+            ChronoDBTransaction tx = db.tx();
+            tx.put("shared", "t" + thread + "c" + commit);
+            tx.put("t" + thread, commit);
+            return tx.commit();
+        });
+        ChronoDBTransaction tx = db.tx();
+        // no version of the shared key got lost
+        assertEquals(THREADS * COMMITS_PER_THREAD, Iterators.size(tx.history("shared")));
+        for (int thread = 0; thread < THREADS; thread++) {
+            assertEquals(COMMITS_PER_THREAD - 1, (int) tx.get("t" + thread));
+        }
+    }
+
+    @Test
+    @InstantiateChronosWith(property = ChronoDBConfiguration.COMMIT_GROUP_ENABLED, value = "true")
+    public void waitingCommitsAreWrittenAsOneGroup() throws Exception {
+        ChronoDB db = this.getChronoDB();
+        String master = ChronoDBConstants.MASTER_BRANCH_IDENTIFIER;
+        TemporalKeyValueStore tkvs = ((BranchInternal) db.getBranchManager().getMasterBranch()).getTemporalKeyValueStore();
+        CountDownLatch firstCommitWriting = new CountDownLatch(1);
+        CountDownLatch releaseFirstCommit = new CountDownLatch(1);
+        // the callback is only ever invoked by the holder of the commit lock, so it blocks the first group only
+        tkvs.setDebugCallbackBeforePrimaryIndexUpdate(tx -> {
+            if (firstCommitWriting.getCount() > 0) {
+                firstCommitWriting.countDown();
+                try {
+                    releaseFirstCommit.await(1, TimeUnit.MINUTES);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        db.getCommitMetrics().reset();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+        try {
+            List<Future<Long>> futures = Lists.newArrayList();
+            futures.add(executor.submit(() -> this.commitKey(db, "first")));
+            assertTrue(firstCommitWriting.await(1, TimeUnit.MINUTES));
+            for (int thread = 0; thread < THREADS; thread++) {
+                String key = "waiting" + thread;
+                futures.add(executor.submit(() -> this.commitKey(db, key)));
+            }
+            // wait until the other commits have queued up behind the blocked one
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (db.getCommitMetrics().getCommitQueueDepth(master) < THREADS) {
+                if (System.currentTimeMillis() > deadline) {
+                    fail("Commits did not queue up in time: " + db.getCommitMetrics().getCommitQueueDepth(master));
+                }
+                sleep(10);
+            }
+            releaseFirstCommit.countDown();
+            for (Future<Long> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            tkvs.setDebugCallbackBeforePrimaryIndexUpdate(null);
+            executor.shutdownNow();
+        }
+        assertEquals(THREADS + 1, db.tx().countCommitTimestamps());
+        assertEquals(THREADS + 1, db.getCommitMetrics().getCommitCount(master));
+        // the primary index is updated once per group: once for the blocked commit, once for all waiting ones
+        assertEquals(2, db.getCommitMetrics().getPhaseLatency(master, CommitPhase.PRIMARY_INDEX_UPDATE).getCount());
+    }
+
+    @Test
+    @InstantiateChronosWith(property = ChronoDBConfiguration.COMMIT_GROUP_ENABLED, value = "true")
+    public void conflictsAreDetectedPerTransaction() {
+        ChronoDB db = this.getChronoDB();
+        ChronoDBTransaction tx1 = db.tx();
+        ChronoDBTransaction tx2 = db.tx();
+        tx2.put("key", "value");
+        tx2.commit();
+        tx1.put("key", 123);
+        try {
+            tx1.commit();
+            fail("Managed to commit a conflicting change!");
+        } catch (ChronoDBCommitConflictException expected) {
+            // pass
+        }
+        // the failed commit did not affect the database
+        assertEquals("value", db.tx().get("key"));
+        ChronoDBTransaction tx3 = db.tx();
+        tx3.put("other", 42);
+        tx3.commit();
+        assertEquals(42, (int) db.tx().get("other"));
+    }
+
+    @Test
+    @InstantiateChronosWith(property = ChronoDBConfiguration.COMMIT_GROUP_ENABLED, value = "true")
+    public void emptyCommitsAreIgnored() {
+        ChronoDB db = this.getChronoDB();
+        long now = db.getBranchManager().getMasterBranch().getNow();
+        assertEquals(-1, db.tx().commit());
+        assertEquals(now, db.getBranchManager().getMasterBranch().getNow());
+    }
+
+    private List<Long> commitConcurrently(final ChronoDB db, final CommitAction action) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch startSignal = new CountDownLatch(1);
+            List<Future<List<Long>>> futures = Lists.newArrayList();
+            for (int thread = 0; thread < THREADS; thread++) {
+                int threadNumber = thread;
+                futures.add(executor.submit(() -> {
+                    startSignal.await();
+                    List<Long> timestamps = Lists.newArrayList();
+                    for (int commit = 0; commit < COMMITS_PER_THREAD; commit++) {
+                        timestamps.add(action.commit(threadNumber, commit));
+                    }
+                    return timestamps;
+                }));
+            }
+            startSignal.countDown();
+            List<Long> allTimestamps = Lists.newArrayList();
+            for (Future<List<Long>> future : futures) {
+                allTimestamps.addAll(future.get(2, TimeUnit.MINUTES));
+            }
+            return Collections.unmodifiableList(allTimestamps);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long commitKey(final ChronoDB db, final String key) {
+        ChronoDBTransaction tx = db.tx();
+        tx.put(key, key);
+        return tx.commit();
+    }
+
+    @FunctionalInterface
+    private interface CommitAction {
+
+        public long commit(int thread, int commit);
+
+    }
+
+}
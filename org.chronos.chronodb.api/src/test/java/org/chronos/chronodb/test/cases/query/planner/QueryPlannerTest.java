@@ -0,0 +1,274 @@
+package org.chronos.chronodb.test.cases.query.planner;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.chronos.chronodb.api.indexing.IndexEncoding;
+import org.chronos.chronodb.api.query.Condition;
+import org.chronos.chronodb.api.query.NumberCondition;
+import org.chronos.chronodb.api.query.StringCondition;
+import org.chronos.chronodb.internal.api.index.IndexStatistics;
+import org.chronos.chronodb.internal.api.query.BitmapExpression;
+import org.chronos.chronodb.internal.api.query.searchspec.LongSearchSpecification;
+import org.chronos.chronodb.internal.api.query.searchspec.SearchSpecification;
+import org.chronos.chronodb.internal.impl.query.TextMatchMode;
+import org.chronos.chronodb.internal.impl.query.parser.ast.BinaryOperatorElement;
+import org.chronos.chronodb.internal.impl.query.parser.ast.BinaryQueryOperator;
+import org.chronos.chronodb.internal.impl.query.parser.ast.LongWhereElement;
+import org.chronos.chronodb.internal.impl.query.parser.ast.QueryElement;
+import org.chronos.chronodb.internal.impl.query.parser.ast.StringWhereElement;
+import org.chronos.chronodb.internal.impl.query.planner.BitmapNode;
+import org.chronos.chronodb.internal.impl.query.planner.IntersectionNode;
+import org.chronos.chronodb.internal.impl.query.planner.QueryPlanContext;
+import org.chronos.chronodb.internal.impl.query.planner.QueryPlanImpl;
+import org.chronos.chronodb.internal.impl.query.planner.QueryPlanner;
+import org.chronos.chronodb.internal.impl.query.planner.SelectivityEstimator;
+import org.chronos.chronodb.internal.impl.query.planner.UnionNode;
+import org.chronos.chronodb.test.base.ChronoDBUnitTest;
+import org.chronos.common.test.junit.categories.UnitTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class QueryPlannerTest extends ChronoDBUnitTest {
+
+    @Test
+    public void mostSelectiveConjunctIsEvaluatedFirst() {
+        FakeContext context = this.createContext();
+        context.statistics.put("name", new IndexStatistics(4, 4));
+        context.statistics.put("kind", new IndexStatistics(4, 2));
+        QueryElement query = and(
+            new StringWhereElement("kind", Condition.EQUALS, TextMatchMode.STRICT, "animal"),
+            new StringWhereElement("name", Condition.EQUALS, TextMatchMode.STRICT, "cat")
+        );
+        QueryPlanImpl plan = new QueryPlanner().plan(query, context);
+        assertTrue(plan.getRootNode() instanceof IntersectionNode);
+        String description = plan.getDescription();
+        assertTrue(description, description.indexOf("'name'") < description.indexOf("'kind'"));
+        assertEquals(Sets.newHashSet("k1"), plan.execute(context));
+    }
+
+    @Test
+    public void unselectiveConjunctIsAppliedAsFilter() {
+        FakeContext context = this.createContext();
+        context.statistics.put("name", new IndexStatistics(100_000, 100_000));
+        context.statistics.put("kind", new IndexStatistics(100_000, 2));
+        QueryElement query = and(
+            new StringWhereElement("kind", Condition.EQUALS, TextMatchMode.STRICT, "animal"),
+            new StringWhereElement("name", Condition.EQUALS, TextMatchMode.STRICT, "cat")
+        );
+        QueryPlanImpl plan = new QueryPlanner().plan(query, context);
+        assertTrue(plan.getDescription(), plan.getDescription().contains("FILTER where 'kind'"));
+        assertEquals(Sets.newHashSet("k1"), plan.execute(context));
+        // the filtered index must not have been scanned
+        assertEquals(Sets.newHashSet("name"), context.queriedIndices);
+    }
+
+    @Test
+    public void negatedConjunctIsNeverAppliedAsFilter() {
+        FakeContext context = this.createContext();
+        context.statistics.put("name", new IndexStatistics(100_000, 100_000));
+        context.statistics.put("kind", new IndexStatistics(100_000, 2));
+        QueryElement query = and(
+            new StringWhereElement("kind", Condition.NOT_EQUALS, TextMatchMode.STRICT, "plant"),
+            new StringWhereElement("name", Condition.EQUALS, TextMatchMode.STRICT, "cat")
+        );
+        QueryPlanImpl plan = new QueryPlanner().plan(query, context);
+        assertFalse(plan.getDescription(), plan.getDescription().contains("FILTER"));
+        assertEquals(Sets.newHashSet("k1"), plan.execute(context));
+        assertEquals(Sets.newHashSet("name", "kind"), context.queriedIndices);
+    }
+
+    @Test
+    public void disjunctionsAreEvaluatedAsUnions() {
+        FakeContext context = this.createContext();
+        QueryElement query = new BinaryOperatorElement(
+            new StringWhereElement("name", Condition.EQUALS, TextMatchMode.STRICT, "cat"),
+            BinaryQueryOperator.OR,
+            new LongWhereElement("legs", NumberCondition.GREATER_THAN, 2L)
+        );
+        QueryPlanImpl plan = new QueryPlanner().plan(query, context);
+        assertTrue(plan.getRootNode() instanceof UnionNode);
+        assertEquals(Sets.newHashSet("k1", "k2", "k3"), plan.execute(context));
+    }
+
+    @Test
+    public void limitedUnionSkipsRightSideIfLeftSideHasEnoughResults() {
+        FakeContext context = this.createContext();
+        QueryElement query = new BinaryOperatorElement(
+            new StringWhereElement("kind", Condition.EQUALS, TextMatchMode.STRICT, "animal"),
+            BinaryQueryOperator.OR,
+            new LongWhereElement("legs", NumberCondition.GREATER_THAN, 2L)
+        );
+        QueryPlanImpl plan = new QueryPlanner().plan(query, context);
+        Set<String> result = plan.execute(context, 2);
+        assertTrue(result.size() >= 2);
+        assertTrue(Sets.newHashSet("k1", "k2", "k3").containsAll(result));
+        assertEquals(Sets.newHashSet("kind"), context.queriedIndices);
+    }
+
+    @Test
+    public void limitedFilterStopsAsSoonAsEnoughResultsWereFound() {
+        FakeContext context = this.createContext();
+        context.statistics.put("name", new IndexStatistics(100_000, 100_000));
+        context.statistics.put("kind", new IndexStatistics(1_000_000, 2));
+        QueryElement query = and(
+            new StringWhereElement("kind", Condition.EQUALS, TextMatchMode.STRICT, "animal"),
+            new StringWhereElement("name", StringCondition.STARTS_WITH, TextMatchMode.STRICT, "c")
+        );
+        QueryPlanImpl plan = new QueryPlanner().plan(query, context);
+        assertTrue(plan.getDescription(), plan.getDescription().contains("FILTER where 'kind'"));
+        assertEquals(Sets.newHashSet("k1", "k2"), plan.execute(context));
+        assertEquals(1, plan.execute(context, 1).size());
+    }
+
+    @Test
+    public void conjunctionsOfBitmapIndicesAreEvaluatedOnBitmaps() {
+        FakeContext context = this.createContext();
+        context.statistics.put("kind", new IndexStatistics(1_000_000, 2));
+        context.statistics.put("legs", new IndexStatistics(1_000_000, 4));
+        context.bitmapIndices.add("kind");
+        context.bitmapIndices.add("legs");
+        QueryElement query = and(
+            new StringWhereElement("kind", Condition.EQUALS, TextMatchMode.STRICT, "animal"),
+            new LongWhereElement("legs", Condition.EQUALS, 4L)
+        );
+        QueryPlanImpl plan = new QueryPlanner().plan(query, context);
+        assertTrue(plan.getRootNode() instanceof BitmapNode);
+        assertTrue(plan.getDescription(), plan.getDescription().contains("BITMAP"));
+        assertEquals(Sets.newHashSet("k1", "k3"), plan.execute(context));
+        assertEquals(1, context.bitmapQueries);
+        assertTrue(context.queriedIndices.isEmpty());
+    }
+
+    @Test
+    public void bitmapPlanFallsBackToIndexScansIfBitmapsAreUnavailable() {
+        FakeContext context = this.createContext();
+        context.statistics.put("kind", new IndexStatistics(1_000_000, 2));
+        context.statistics.put("legs", new IndexStatistics(1_000_000, 4));
+        context.bitmapIndices.add("kind");
+        context.bitmapIndices.add("legs");
+        context.bitmapsAvailable = false;
+        QueryElement query = new BinaryOperatorElement(
+            new StringWhereElement("kind", Condition.EQUALS, TextMatchMode.STRICT, "plant"),
+            BinaryQueryOperator.OR,
+            new LongWhereElement("legs", Condition.EQUALS, 2L)
+        );
+        QueryPlanImpl plan = new QueryPlanner().plan(query, context);
+        assertTrue(plan.getRootNode() instanceof BitmapNode);
+        assertEquals(Sets.newHashSet("k2", "k4"), plan.execute(context));
+        assertEquals(Sets.newHashSet("kind", "legs"), context.queriedIndices);
+    }
+
+    @Test
+    public void nonEqualityConditionsAreNotEvaluatedOnBitmaps() {
+        FakeContext context = this.createContext();
+        context.statistics.put("kind", new IndexStatistics(1_000_000, 2));
+        context.statistics.put("name", new IndexStatistics(1_000_000, 1_000_000));
+        context.bitmapIndices.add("kind");
+        context.bitmapIndices.add("name");
+        QueryElement query = and(
+            new StringWhereElement("kind", Condition.EQUALS, TextMatchMode.STRICT, "animal"),
+            new StringWhereElement("name", StringCondition.STARTS_WITH, TextMatchMode.STRICT, "c")
+        );
+        QueryPlanImpl plan = new QueryPlanner().plan(query, context);
+        assertFalse(plan.getDescription(), plan.getDescription().contains("BITMAP"));
+        assertEquals(Sets.newHashSet("k1", "k2"), plan.execute(context));
+        assertEquals(0, context.bitmapQueries);
+    }
+
+    @Test
+    public void selectivityEstimatesAreReasonable() {
+        IndexStatistics statistics = new IndexStatistics(1000, 10);
+        LongSearchSpecification equals = LongSearchSpecification.create("legs", Condition.EQUALS, 4);
+        assertEquals(0.1, SelectivityEstimator.estimateSelectivity(equals, statistics), 0.0001);
+        assertEquals(0.9, SelectivityEstimator.estimateSelectivity(equals.negate(), statistics), 0.0001);
+        assertEquals(0.0, SelectivityEstimator.estimateSelectivity(equals, new IndexStatistics(0, 0)), 0.0001);
+        assertTrue(SelectivityEstimator.isRangeScan(equals));
+        assertFalse(SelectivityEstimator.isRangeScan(equals.negate()));
+    }
+
+    // =================================================================================================================
+    // HELPER METHODS
+    // =================================================================================================================
+
+    private static QueryElement and(final QueryElement left, final QueryElement right) {
+        return new BinaryOperatorElement(left, BinaryQueryOperator.AND, right);
+    }
+
+    private FakeContext createContext() {
+        FakeContext context = new FakeContext();
+        context.values.put("k1", ImmutableMap.of("name", "cat", "kind", "animal", "legs", 4L));
+        context.values.put("k2", ImmutableMap.of("name", "chicken", "kind", "animal", "legs", 2L));
+        context.values.put("k3", ImmutableMap.of("name", "dog", "kind", "animal", "legs", 4L));
+        context.values.put("k4", ImmutableMap.of("name", "tree", "kind", "plant", "legs", 0L));
+        return context;
+    }
+
+    private static class FakeContext implements QueryPlanContext {
+
+        private final Map<String, Map<String, Object>> values = Maps.newHashMap();
+        private final Map<String, IndexStatistics> statistics = Maps.newHashMap();
+        private final Set<String> queriedIndices = Sets.newHashSet();
+        private final Set<String> bitmapIndices = Sets.newHashSet();
+        private boolean bitmapsAvailable = true;
+        private int bitmapQueries = 0;
+
+        @Override
+        public IndexStatistics getIndexStatistics(final String indexName) {
+            return this.statistics.get(indexName);
+        }
+
+        @Override
+        public Set<String> queryIndex(final SearchSpecification<?, ?> searchSpec) {
+            this.queriedIndices.add(searchSpec.getProperty());
+            return this.values.keySet().stream()
+                .filter(key -> this.matches(key, searchSpec))
+                .collect(Collectors.toSet());
+        }
+
+        @Override
+        public IndexEncoding getIndexEncoding(final String indexName) {
+            return this.bitmapIndices.contains(indexName) ? IndexEncoding.BITMAP : IndexEncoding.STANDARD;
+        }
+
+        @Override
+        public Set<String> queryBitmaps(final BitmapExpression expression) {
+            if (this.bitmapsAvailable == false) {
+                return null;
+            }
+            this.bitmapQueries++;
+            return this.values.keySet().stream()
+                .filter(key -> this.matches(key, expression))
+                .collect(Collectors.toSet());
+        }
+
+        @Override
+        public boolean matches(final String key, final List<SearchSpecification<?, ?>> searchSpecs) {
+            return searchSpecs.stream().allMatch(searchSpec -> this.matches(key, searchSpec));
+        }
+
+        private boolean matches(final String key, final BitmapExpression expression) {
+            if (expression instanceof BitmapExpression.Lookup) {
+                return this.matches(key, ((BitmapExpression.Lookup) expression).getSearchSpecification());
+            } else if (expression instanceof BitmapExpression.Intersection) {
+                return ((BitmapExpression.Intersection) expression).getOperands().stream().allMatch(operand -> this.matches(key, operand));
+            } else {
+                return ((BitmapExpression.Composite) expression).getOperands().stream().anyMatch(operand -> this.matches(key, operand));
+            }
+        }
+
+        private boolean matches(final String key, final SearchSpecification<?, ?> searchSpec) {
+            Object value = this.values.get(key).get(searchSpec.getProperty());
+            return value != null && searchSpec.toFilterPredicate().test(value);
+        }
+    }
+
+}
@@ -0,0 +1,87 @@
+package org.chronos.chronodb.test.cases.util;
+
+import org.chronos.chronodb.api.metrics.LatencySnapshot;
+import org.chronos.chronodb.internal.impl.metrics.LatencyHistogram;
+import org.chronos.chronodb.test.base.ChronoDBUnitTest;
+import org.chronos.common.test.junit.categories.UnitTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class LatencyHistogramTest extends ChronoDBUnitTest {
+
+    @Test
+    public void emptyHistogramReportsZero() {
+        LatencySnapshot snapshot = new LatencyHistogram().snapshot();
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0, snapshot.getMin());
+        assertEquals(0, snapshot.getMax());
+        assertEquals(0, snapshot.getTotal());
+        assertEquals(0, snapshot.getMean(), 0);
+        assertEquals(0, snapshot.getValueAtPercentile(99));
+    }
+
+    @Test
+    public void smallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 10; i++) {
+            histogram.record(i);
+        }
+        LatencySnapshot snapshot = histogram.snapshot();
+        assertEquals(10, snapshot.getCount());
+        assertEquals(1, snapshot.getMin());
+        assertEquals(10, snapshot.getMax());
+        assertEquals(55, snapshot.getTotal());
+        assertEquals(5.5, snapshot.getMean(), 0.0001);
+        assertEquals(5, snapshot.getValueAtPercentile(50));
+        assertEquals(10, snapshot.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void percentilesAreWithinRelativeErrorBound() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        // one millisecond to one second
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1_000_000L);
+        }
+        LatencySnapshot snapshot = histogram.snapshot();
+        for (double percentile : new double[]{10, 50, 90, 99, 99.9}) {
+            long exact = (long) Math.ceil(percentile / 100.0 * 1000) * 1_000_000L;
+            long reported = snapshot.getValueAtPercentile(percentile);
+            double relativeError = Math.abs(reported - exact) / (double) exact;
+            assertTrue("p" + percentile + ": expected ~" + exact + " but got " + reported, relativeError <= 1.0 / 16 + 0.01);
+        }
+        assertEquals(1000, snapshot.getValueAtPercentile(100, TimeUnit.MILLISECONDS), 1000 / 16.0);
+    }
+
+    @Test
+    public void extremeValuesCanBeRecorded() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        LatencySnapshot snapshot = histogram.snapshot();
+        assertEquals(2, snapshot.getCount());
+        assertEquals(0, snapshot.getMin());
+        assertEquals(Long.MAX_VALUE, snapshot.getMax());
+        assertEquals(Long.MAX_VALUE, snapshot.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void resetClearsAllValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(100);
+        histogram.record(200);
+        histogram.reset();
+        assertEquals(0, histogram.snapshot().getCount());
+        histogram.record(300);
+        LatencySnapshot snapshot = histogram.snapshot();
+        assertEquals(1, snapshot.getCount());
+        assertEquals(300, snapshot.getMin());
+        assertEquals(300, snapshot.getMax());
+    }
+
+}
@@ -31,6 +31,8 @@ import org.chronos.chronodb.internal.impl.query.StandardQueryManager
 import org.chronos.common.logging.ChronoLogger
 import org.chronos.common.version.ChronosVersion
 import java.io.File
+import java.lang.management.ManagementFactory
+import javax.management.ObjectName
 
 class ExodusChronoDB : AbstractChronoDB {
 
@@ -65,7 +67,7 @@ class ExodusChronoDB : AbstractChronoDB {
     constructor(configuration: ExodusChronoDBConfiguration) : super(configuration) {
         val workDir = configuration.workDirectory!!
         val isNewDatabaseInstance = !File(workDir, ChronoDBDirectoryLayout.BRANCHES_DIRECTORY).exists()
-        this.serializationManager = InMemorySerializationManager()
+        this.serializationManager = InMemorySerializationManager(ExodusStringDictionary(this))
         val exodusConfig = configuration.extractExodusConfiguration()
         val environmentManager = EnvironmentManager(exodusConfig, configuration.keepOpenEnvironments, configuration.environmentCleanPeriodSeconds)
         val globalEnvironment =  environmentManager.getEnvironment(File(workDir, ChronoDBDirectoryLayout.GLOBAL_DIRECTORY))
@@ -79,7 +81,12 @@ class ExodusChronoDB : AbstractChronoDB {
         this.datebackManager = ExodusDatebackManager(this)
         this.backupManager = ExodusBackupManager(this)
         this.cache = ChronoDBCache.createCacheForConfiguration(configuration)
+        val indexRebuildMBeanName = if (configuration.isMBeanIntegrationEnabled) this.registerIndexRebuildMBean(workDir) else null
         this.addShutdownHook {
+            this.indexManager.cancelOnlineIndexBuild()
+            if (indexRebuildMBeanName != null) {
+                this.unregisterMBean(indexRebuildMBeanName)
+            }
             this.globalChunkManager.close()
         }
         if(isNewDatabaseInstance){
@@ -209,6 +216,25 @@ class ExodusChronoDB : AbstractChronoDB {
         this.loadEntries(entries, true)
     }
 
+    private fun registerIndexRebuildMBean(workDir: File): ObjectName? {
+        return try {
+            val objectName = ObjectName("org.chronos.chronodb:type=ChronoDB.IndexRebuildProgress,directory=${ObjectName.quote(workDir.absolutePath)}")
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this.indexManager.indexRebuildProgress, objectName)
+            objectName
+        } catch (e: Exception) {
+            ChronoLogger.logWarning("Failed to register the index rebuild MBean. Index rebuild progress will not be available via JMX. Exception is: $e")
+            null
+        }
+    }
+
+    private fun unregisterMBean(objectName: ObjectName) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName)
+        } catch (e: Exception) {
+            ChronoLogger.logWarning("Failed to unregister MBean '$objectName'. Exception is: $e")
+        }
+    }
+
     private fun createBranchNameResolver(globalEnvironment: Environment): (File)->String? {
         val dirNameToBranchName = mutableMapOf<String, String>()
         globalEnvironment.computeInExclusiveTransaction { tx ->
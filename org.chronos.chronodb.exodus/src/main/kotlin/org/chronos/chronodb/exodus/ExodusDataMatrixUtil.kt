@@ -18,6 +18,7 @@ object ExodusDataMatrixUtil {
             tx.put(storeName, tKey, value)
             tx.put(inverseStore, inverseKey, inverseValue)
         }
+        ExodusKeySetIndex.refresh(tx, storeName, entries.map { it.key.key })
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,325 @@
+package org.chronos.chronodb.exodus
+
+import jetbrains.exodus.ArrayByteIterable
+import jetbrains.exodus.ByteIterable
+import org.chronos.chronodb.exodus.kotlin.ext.*
+import org.chronos.chronodb.exodus.transaction.ExodusTransaction
+import org.chronos.chronodb.internal.impl.temporal.UnqualifiedTemporalKey
+import org.chronos.chronodb.internal.util.KeySetModifications
+import java.nio.ByteBuffer
+
+/**
+ * The key set index is an auxiliary store which accompanies every matrix store within a chunk.
+ *
+ * It contains exactly one entry per user key which occurs in the matrix store of the chunk (regardless of how
+ * many versions the key has). The value of each entry is the ordered list of *existence events* of the key, i.e.
+ * the timestamps at which the key was created or deleted. Consecutive events of the same kind are collapsed, so
+ * overwriting an existing key does not produce a new event. Each event is stored as a single long: a creation at
+ * timestamp `t` is stored as `t`, a deletion at timestamp `t` is stored as `t.inv()` (which is always negative, as
+ * timestamps are never negative).
+ *
+ * Example:
+ * ```
+ * Matrix Store                 Key Set Index
+ * +------+--------+            +-----+-------------------+
+ * | a@1  | bytes1 |            | a   | [+1, -40]         |
+ * | a@25 | bytes2 |    ===>    | b   | [+30]             |
+ * | a@40 | <del>  |            | c   | [-13]             |
+ * | b@30 | bytes3 |            +-----+-------------------+
+ * | c@13 | <del>  |
+ * +------+--------+
+ * ```
+ *
+ * This allows to answer [keySetModifications] with a single scan over the distinct keys of the chunk, rather than a
+ * scan over all versions of all keys.
+ *
+ * Chunks which have been written by an older version of Chronos do not have a key set index. Reading operations
+ * have to check [isPresent] and fall back to scanning the matrix store if necessary. Writing operations create
+ * the index on-the-fly for such chunks.
+ */
+object ExodusKeySetIndex {
+
+    // =================================================================================================================
+    // QUERIES
+    // =================================================================================================================
+
+    fun getIndexStoreName(matrixStoreName: String): String {
+        return matrixStoreName + TemporalExodusMatrix.KEY_SET_STORE_NAME_SUFFIX
+    }
+
+    /**
+     * Checks if the key set index for the given matrix store can be used in the given transaction.
+     *
+     * @param tx The transaction to check in.
+     * @param matrixStoreName The name of the matrix store.
+     *
+     * @return `true` if the index exists (or if the matrix store does not exist either), otherwise `false`.
+     */
+    fun isPresent(tx: ExodusTransaction, matrixStoreName: String): Boolean {
+        return tx.storeExists(getIndexStoreName(matrixStoreName)) || !tx.storeExists(matrixStoreName)
+    }
+
+    /**
+     * Calculates the [KeySetModifications] at the given timestamp, based on the key set index.
+     *
+     * Callers need to ensure that the index [isPresent].
+     *
+     * @param tx The transaction to read from.
+     * @param matrixStoreName The name of the matrix store.
+     * @param timestamp The timestamp at which the modifications should be calculated (inclusive).
+     * @param prefix Only user keys which start with this prefix are considered. Use the empty string to consider all keys.
+     *
+     * @return The key set modifications.
+     */
+    fun keySetModifications(tx: ExodusTransaction, matrixStoreName: String, timestamp: Long, prefix: String = ""): KeySetModifications {
+        val additions = mutableSetOf<String>()
+        val removals = mutableSetOf<String>()
+        tx.withCursorOn(getIndexStoreName(matrixStoreName)) { cursor ->
+            var hasEntry = if (prefix.isEmpty()) cursor.next else cursor.getSearchKeyRange(prefix.toByteIterable()) != null
+            while (hasEntry) {
+                val key = cursor.key.parseAsString()
+                if (!key.startsWith(prefix)) {
+                    // the index is sorted by key, there are no further keys with this prefix
+                    break
+                }
+                val event = lastEventAtOrBefore(cursor.value, timestamp)
+                if (event != null) {
+                    if (isDeletion(event)) {
+                        removals.add(key)
+                    } else {
+                        additions.add(key)
+                    }
+                }
+                hasEntry = cursor.next
+            }
+        }
+        return KeySetModifications(additions, removals)
+    }
+
+    /**
+     * Scans a portion of the key set index and reports all user keys which exist at the given timestamp.
+     *
+     * This method allows to page through the key set index without holding on to the transaction between pages.
+     * Callers need to ensure that the index [isPresent].
+     *
+     * @param tx The transaction to read from.
+     * @param matrixStoreName The name of the matrix store.
+     * @param timestamp The timestamp at which the keys should exist (inclusive).
+     * @param afterKey The last key which has been scanned by the previous page (exclusive). Use `null` to start from the beginning.
+     * @param maxEntries The maximum number of index entries to scan. Must be positive.
+     * @param prefix Only user keys which start with this prefix are reported. Use the empty string to report all keys.
+     * @param consumer Receives every key which exists at the given timestamp.
+     *
+     * @return The last scanned key (to be passed as `afterKey` to the next page), or `null` if the index has been exhausted.
+     */
+    fun scanExistingKeys(tx: ExodusTransaction, matrixStoreName: String, timestamp: Long, afterKey: String?, maxEntries: Int, prefix: String = "", consumer: (String) -> Unit): String? {
+        require(maxEntries > 0) { "Precondition violation - argument 'maxEntries' must be greater than zero!" }
+        return tx.withCursorOn(getIndexStoreName(matrixStoreName)) { cursor ->
+            var hasEntry = if (afterKey == null) {
+                if (prefix.isEmpty()) cursor.next else cursor.getSearchKeyRange(prefix.toByteIterable()) != null
+            } else {
+                val found = cursor.getSearchKeyRange(afterKey.toByteIterable()) != null
+                if (found && cursor.key.parseAsString() == afterKey) {
+                    // the given key has already been reported by the previous page
+                    cursor.next
+                } else {
+                    found
+                }
+            }
+            var lastKey: String? = null
+            var scannedEntries = 0
+            while (hasEntry && scannedEntries < maxEntries) {
+                val key = cursor.key.parseAsString()
+                if (!key.startsWith(prefix)) {
+                    // the index is sorted by key, there are no further keys with this prefix
+                    return@withCursorOn null
+                }
+                val event = lastEventAtOrBefore(cursor.value, timestamp)
+                if (event != null && !isDeletion(event)) {
+                    consumer(key)
+                }
+                lastKey = key
+                scannedEntries++
+                hasEntry = cursor.next
+            }
+            if (hasEntry) lastKey else null
+        }
+    }
+
+    // =================================================================================================================
+    // MODIFICATIONS
+    // =================================================================================================================
+
+    /**
+     * Records the given modifications (which have already been written into the matrix store) in the key set index.
+     *
+     * The timestamp must be greater than or equal to all timestamps present in the index, i.e. this method is
+     * intended for regular commits on the head chunk. For out-of-order modifications, use [refresh] instead.
+     *
+     * @param tx The transaction to write to.
+     * @param matrixStoreName The name of the matrix store.
+     * @param timestamp The timestamp of the modifications.
+     * @param keyToDeletion Maps each modified user key to `true` if it was deleted, or `false` if a value was written.
+     */
+    fun recordModifications(tx: ExodusTransaction, matrixStoreName: String, timestamp: Long, keyToDeletion: Map<String, Boolean>) {
+        val indexStoreName = getIndexStoreName(matrixStoreName)
+        if (!tx.storeExists(indexStoreName)) {
+            // this chunk was created by an older version and has no
+            // index yet; build it from the matrix store contents, which
+            // already include the given modifications.
+            rebuild(tx, matrixStoreName)
+            return
+        }
+        for ((key, deletion) in keyToDeletion) {
+            val indexKey = key.toByteIterable()
+            val events = tx.get(indexStoreName, indexKey)?.let(this::parseEvents) ?: LongArray(0)
+            val lastEventIsDeletion = if (events.isEmpty()) null else isDeletion(events.last())
+            if (lastEventIsDeletion == deletion) {
+                // state of the key does not change (e.g. overwrite of an existing key)
+                continue
+            }
+            val event = if (deletion) timestamp.inv() else timestamp
+            tx.put(indexStoreName, indexKey, writeEvents(events + event))
+        }
+    }
+
+    /**
+     * Recalculates the key set index entries of the given user keys from the matrix store.
+     *
+     * Use this method after entries have been inserted or purged at arbitrary timestamps. If the index does not exist
+     * yet in the chunk, it will be fully rebuilt.
+     *
+     * @param tx The transaction to write to.
+     * @param matrixStoreName The name of the matrix store.
+     * @param keys The user keys to recalculate.
+     */
+    fun refresh(tx: ExodusTransaction, matrixStoreName: String, keys: Collection<String>) {
+        val indexStoreName = getIndexStoreName(matrixStoreName)
+        if (!tx.storeExists(indexStoreName)) {
+            rebuild(tx, matrixStoreName)
+            return
+        }
+        tx.withCursorOn(matrixStoreName) { cursor ->
+            for (key in keys.toSet()) {
+                val events = mutableListOf<Long>()
+                var value = cursor.getSearchKeyRange(UnqualifiedTemporalKey.createMin(key).toByteIterable())
+                while (value != null) {
+                    val tKey = cursor.key.parseAsUnqualifiedTemporalKey()
+                    if (tKey.key != key) {
+                        break
+                    }
+                    appendEvent(events, tKey.timestamp, value.isEmpty())
+                    value = if (cursor.next) cursor.value else null
+                }
+                if (events.isEmpty()) {
+                    tx.delete(indexStoreName, key.toByteIterable())
+                } else {
+                    tx.put(indexStoreName, key.toByteIterable(), writeEvents(events.toLongArray()))
+                }
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the key set index for the given matrix store from scratch.
+     *
+     * @param tx The transaction to write to.
+     * @param matrixStoreName The name of the matrix store.
+     */
+    fun rebuild(tx: ExodusTransaction, matrixStoreName: String) {
+        val indexStoreName = getIndexStoreName(matrixStoreName)
+        if (tx.storeExists(indexStoreName)) {
+            tx.truncateStore(indexStoreName)
+        }
+        tx.withCursorOn(matrixStoreName) { cursor ->
+            var currentKey: String? = null
+            val events = mutableListOf<Long>()
+            while (cursor.next) {
+                val tKey = cursor.key.parseAsUnqualifiedTemporalKey()
+                if (currentKey != null && tKey.key != currentKey) {
+                    tx.put(indexStoreName, currentKey.toByteIterable(), writeEvents(events.toLongArray()))
+                    events.clear()
+                }
+                currentKey = tKey.key
+                appendEvent(events, tKey.timestamp, cursor.value.isEmpty())
+            }
+            if (currentKey != null) {
+                tx.put(indexStoreName, currentKey.toByteIterable(), writeEvents(events.toLongArray()))
+            }
+        }
+    }
+
+    /**
+     * Removes all events which occurred strictly after the given timestamp from the key set index.
+     *
+     * @param tx The transaction to write to.
+     * @param matrixStoreName The name of the matrix store.
+     * @param timestamp The timestamp to roll back to (inclusive).
+     */
+    fun rollback(tx: ExodusTransaction, matrixStoreName: String, timestamp: Long) {
+        val indexStoreName = getIndexStoreName(matrixStoreName)
+        if (!tx.storeExists(indexStoreName)) {
+            rebuild(tx, matrixStoreName)
+            return
+        }
+        val keyToRetainedEvents = mutableMapOf<String, LongArray>()
+        tx.withCursorOn(indexStoreName) { cursor ->
+            while (cursor.next) {
+                val events = parseEvents(cursor.value)
+                val retainedEvents = events.filter { eventTimestamp(it) <= timestamp }
+                if (retainedEvents.size != events.size) {
+                    keyToRetainedEvents[cursor.key.parseAsString()] = retainedEvents.toLongArray()
+                }
+            }
+        }
+        for ((key, retainedEvents) in keyToRetainedEvents) {
+            if (retainedEvents.isEmpty()) {
+                tx.delete(indexStoreName, key.toByteIterable())
+            } else {
+                tx.put(indexStoreName, key.toByteIterable(), writeEvents(retainedEvents))
+            }
+        }
+    }
+
+    // =================================================================================================================
+    // HELPER METHODS
+    // =================================================================================================================
+
+    private fun appendEvent(events: MutableList<Long>, timestamp: Long, deletion: Boolean) {
+        if (events.isNotEmpty() && isDeletion(events.last()) == deletion) {
+            // existence of the key did not change
+            return
+        }
+        events.add(if (deletion) timestamp.inv() else timestamp)
+    }
+
+    private fun lastEventAtOrBefore(value: ByteIterable, timestamp: Long): Long? {
+        val events = parseEvents(value)
+        for (i in events.indices.reversed()) {
+            if (eventTimestamp(events[i]) <= timestamp) {
+                return events[i]
+            }
+        }
+        return null
+    }
+
+    private fun isDeletion(event: Long): Boolean {
+        return event < 0
+    }
+
+    private fun eventTimestamp(event: Long): Long {
+        return if (event < 0) event.inv() else event
+    }
+
+    private fun parseEvents(value: ByteIterable): LongArray {
+        val buffer = ByteBuffer.wrap(value.toByteArray())
+        return LongArray(value.length / java.lang.Long.BYTES) { buffer.long }
+    }
+
+    private fun writeEvents(events: LongArray): ByteIterable {
+        val buffer = ByteBuffer.allocate(events.size * java.lang.Long.BYTES)
+        events.forEach { buffer.putLong(it) }
+        return ArrayByteIterable(buffer.array())
+    }
+
+}
@@ -4,7 +4,6 @@ import com.google.common.collect.HashMultimap
 import com.google.common.collect.Lists
 import com.google.common.collect.Sets
 import jetbrains.exodus.ByteIterable
-import jetbrains.exodus.env.Cursor
 import org.chronos.chronodb.algorithms.temporalGet
 import org.chronos.chronodb.algorithms.temporalPut
 import org.chronos.chronodb.api.Order
@@ -16,6 +15,7 @@ import org.chronos.chronodb.exodus.manager.chunk.ChronoChunk
 import org.chronos.chronodb.exodus.manager.chunk.GlobalChunkManager
 import org.chronos.chronodb.exodus.manager.chunk.iterators.AllEntriesIterator
 import org.chronos.chronodb.exodus.manager.chunk.iterators.HistoryIterator
+import org.chronos.chronodb.exodus.manager.chunk.iterators.KeySetIterator
 import org.chronos.chronodb.exodus.manager.chunk.iterators.ModificationsIterator
 import org.chronos.chronodb.internal.api.GetResult
 import org.chronos.chronodb.internal.api.Period
@@ -25,6 +25,7 @@ import org.chronos.chronodb.internal.impl.temporal.InverseUnqualifiedTemporalKey
 import org.chronos.chronodb.internal.impl.temporal.UnqualifiedTemporalEntry
 import org.chronos.chronodb.internal.impl.temporal.UnqualifiedTemporalKey
 import org.chronos.chronodb.internal.util.KeySetModifications
+import java.util.SortedMap
 
 class TemporalExodusMatrix : AbstractTemporalDataMatrix {
 
@@ -34,6 +35,7 @@ class TemporalExodusMatrix : AbstractTemporalDataMatrix {
 
     companion object {
         const val INVERSE_STORE_NAME_SUFFIX = "_inv"
+        const val KEY_SET_STORE_NAME_SUFFIX = "_keys"
     }
 
 
@@ -71,31 +73,100 @@ class TemporalExodusMatrix : AbstractTemporalDataMatrix {
         return GetResult.alterPeriod(getResult, getResult.period.intersection(chunkValidPeriod))
     }
 
-    override fun keySetModifications(timestamp: Long): KeySetModifications {
-        return this.readFromStore(timestamp) { cursor ->
-            val additions = mutableSetOf<String>()
-            val removals = mutableSetOf<String>()
-            while (cursor.next) {
-                val key = cursor.key.parseAsUnqualifiedTemporalKey()
-                if (key.timestamp > timestamp) {
-                    // out of scope
-                    continue
+    override fun getAll(timestamp: Long, keys: Collection<String>): Map<String, GetResult<ByteArray>> {
+        require(timestamp >= 0) { "Precondition violation - argument 'timestamp' must not be negative!" }
+        if (keys.isEmpty()) {
+            return emptyMap()
+        }
+        // visiting the keys in ascending order allows the cursor to move forward through the B-tree
+        val sortedKeys = keys.toSortedSet()
+        val floorAndHigherEntries = mutableMapOf<String, Pair<Pair<UnqualifiedTemporalKey, ByteArray>?, Pair<UnqualifiedTemporalKey, ByteArray>?>>()
+        var chunkValidPeriod: Period = Period.eternal()
+        // all keys are resolved at the same timestamp, so they all reside in the same chunk
+        chunkManager.openReadOnlyTransactionOn(branchName, timestamp).useChunkTx { tx ->
+            tx.withCursorOn(storeName) { cursor ->
+                for (key in sortedKeys) {
+                    val searchKey = UnqualifiedTemporalKey.create(key, timestamp).toByteIterable()
+                    val (floor, higher) = cursor.floorAndHigherEntry(searchKey)
+                    // parse the entries right away, the cursor will be moved by the next search
+                    val floorEntry = floor.mapSingle { Pair(it.first.parseAsUnqualifiedTemporalKey(), it.second.toByteArray()) }
+                    val higherEntry = higher.mapSingle { Pair(it.first.parseAsUnqualifiedTemporalKey(), it.second.toByteArray()) }
+                    floorAndHigherEntries[key] = Pair(floorEntry, higherEntry)
                 }
-                val userKey = key.key
-                if (cursor.value.isEmpty()) {
-                    // removal
-                    additions.remove(userKey)
-                    removals.add(userKey)
+            }
+            chunkValidPeriod = tx.chunkValidPeriod
+        }
+        val resultMap = HashMap<String, GetResult<ByteArray>>(floorAndHigherEntries.size * 4 / 3 + 1)
+        for ((key, entries) in floorAndHigherEntries) {
+            val getResult = temporalGet(keyspace, key, timestamp, entries.first, entries.second)
+            // limit the range of the result to be within the bounds of this chunk
+            resultMap[key] = GetResult.alterPeriod(getResult, getResult.period.intersection(chunkValidPeriod))
+        }
+        return resultMap
+    }
+
+    override fun keySetModifications(timestamp: Long): KeySetModifications {
+        return this.keySetModifications(timestamp, "")
+    }
+
+    override fun keySetModifications(timestamp: Long, prefix: String): KeySetModifications {
+        return this.chunkManager.openReadOnlyTransactionOn(this.branchName, timestamp).use { tx ->
+            if (ExodusKeySetIndex.isPresent(tx, this.storeName)) {
+                // a single scan over the distinct keys of the chunk is sufficient
+                return@use ExodusKeySetIndex.keySetModifications(tx, this.storeName, timestamp, prefix)
+            }
+            // this chunk has no key set index (it was written by an older version), scan all entries instead
+            tx.withCursorOn(this.storeName) { cursor ->
+                val additions = mutableSetOf<String>()
+                val removals = mutableSetOf<String>()
+                var hasEntry = if (prefix.isEmpty()) {
+                    cursor.next
                 } else {
-                    // put
-                    additions.add(userKey)
-                    removals.remove(userKey)
+                    cursor.getSearchKeyRange(UnqualifiedTemporalKey.createMin(prefix).toByteIterable()) != null
                 }
+                while (hasEntry) {
+                    val key = cursor.key.parseAsUnqualifiedTemporalKey()
+                    val userKey = key.key
+                    if (!userKey.startsWith(prefix)) {
+                        // entries are sorted by user key, there are no further keys with this prefix
+                        break
+                    }
+                    if (key.timestamp <= timestamp) {
+                        if (cursor.value.isEmpty()) {
+                            // removal
+                            additions.remove(userKey)
+                            removals.add(userKey)
+                        } else {
+                            // put
+                            additions.add(userKey)
+                            removals.remove(userKey)
+                        }
+                    }
+                    hasEntry = cursor.next
+                }
+                return@withCursorOn KeySetModifications(additions, removals)
             }
-            return@readFromStore KeySetModifications(additions, removals)
         }
     }
 
+    override fun keyStream(timestamp: Long): CloseableIterator<String> {
+        return this.keyStream(timestamp, "")
+    }
+
+    override fun keyStream(timestamp: Long, prefix: String): CloseableIterator<String> {
+        require(timestamp >= 0) { "Precondition violation - argument 'timestamp' must not be negative!" }
+        val chunk = this.chunkManager.getChunkManagerForBranch(this.branchName).getChunkForTimestamp(timestamp)
+                ?: return CloseableIterator.wrap(emptyList<String>().iterator())
+        val indexPresent = this.chunkManager.openReadOnlyTransactionOn(chunk).use { tx ->
+            ExodusKeySetIndex.isPresent(tx, this.storeName)
+        }
+        if (!indexPresent) {
+            // this chunk has no key set index (it was written by an older version), fall back to the full scan
+            return CloseableIterator.wrap(this.keySetModifications(timestamp, prefix).additions.iterator())
+        }
+        return KeySetIterator(this.chunkManager, chunk, this.storeName, timestamp, prefix = prefix)
+    }
+
     override fun history(key: String, lowerBound: Long, upperBound: Long, order: Order): Iterator<Long> {
         var maxTime = upperBound
         if (maxTime < Long.MAX_VALUE) {
@@ -170,11 +241,36 @@ class TemporalExodusMatrix : AbstractTemporalDataMatrix {
                     tx.put(store, it.key.toByteIterable(), it.value.toByteIterable())
                     tx.put(inverseStore, it.inverseKey.toByteIterable(), it.inverseValue.toByteIterable())
                 }
+                ExodusKeySetIndex.recordModifications(tx, store, timestamp, entries.associate { it.key.key to it.value.isEmpty() })
                 tx.commit()
             }
         }
     }
 
+    override fun putAll(timestampToContents: SortedMap<Long, Map<String, ByteArray>>) {
+        val nonEmpty = timestampToContents.filterValues { it.isNotEmpty() }
+        if (nonEmpty.isEmpty()) {
+            return
+        }
+        require(nonEmpty.keys.first() >= 0) { "Precondition violation - argument 'timestampToContents' must not contain negative timestamps!" }
+        this.ensureCreationTimestampIsGreaterThanOrEqualTo(nonEmpty.keys.first())
+        // write all timestamps in a single transaction on the head chunk
+        chunkManager.openReadWriteTransactionOnHeadChunkOf(this.branchName).use { tx ->
+            val store = this.storeName
+            val inverseStore = this.inverseStoreName
+            nonEmpty.forEach { (timestamp, contents) ->
+                temporalPut(timestamp, contents) { entries ->
+                    entries.forEach {
+                        tx.put(store, it.key.toByteIterable(), it.value.toByteIterable())
+                        tx.put(inverseStore, it.inverseKey.toByteIterable(), it.inverseValue.toByteIterable())
+                    }
+                    ExodusKeySetIndex.recordModifications(tx, store, timestamp, entries.associate { it.key.key to it.value.isEmpty() })
+                }
+            }
+            tx.commit()
+        }
+    }
+
     override fun ensureCreationTimestampIsGreaterThanOrEqualTo(timestamp: Long) {
         require(timestamp >= 0) { "Precondition violation - argument 'timestamp' must not be negative!" }
         if (this.creationTimestamp > timestamp) {
@@ -271,6 +367,7 @@ class TemporalExodusMatrix : AbstractTemporalDataMatrix {
                     } while (cursor.next)
                 }
             }
+            ExodusKeySetIndex.rollback(tx, this.storeName, timestamp)
             tx.commit()
         }
     }
@@ -294,6 +391,7 @@ class TemporalExodusMatrix : AbstractTemporalDataMatrix {
                         successfullyPurged++
                     }
                 }
+                ExodusKeySetIndex.refresh(tx, this.storeName, localKeys.map { it.key })
                 tx.commit()
             }
         }
@@ -342,6 +440,7 @@ class TemporalExodusMatrix : AbstractTemporalDataMatrix {
                 for (key in keysToRemoveInChunk) {
                     tx.delete(this.storeName, key.toByteIterable())
                 }
+                ExodusKeySetIndex.refresh(tx, this.storeName, keysToRemoveInChunk.map { it.key })
                 purgedKeys.addAll(keysToRemoveInChunk)
                 tx.commit()
             }
@@ -349,19 +448,6 @@ class TemporalExodusMatrix : AbstractTemporalDataMatrix {
         return purgedKeys
     }
 
-
-    private fun <T> readFromStore(timestamp: Long, consumer: (Cursor) -> T): T {
-        return this.chunkManager.openReadOnlyTransactionOn(this.branchName, timestamp).use { tx ->
-            tx.withCursorOn(this.storeName, consumer)
-        }
-    }
-
-    private fun <T> readFromInverseStore(timestamp: Long, consumer: (Cursor) -> T): T {
-        return this.chunkManager.openReadOnlyTransactionOn(this.branchName, timestamp).use { tx ->
-            tx.withCursorOn(this.inverseStoreName, consumer)
-        }
-    }
-
 }
 
 
@@ -70,6 +70,37 @@ class ExodusChronoDBConfiguration : ChronoDBBaseConfiguration() {
          */
         const val ROLLOVER_BATCH_SIZE = ChronoDBConfiguration.NS_DOT + "storage.rollover.batch_size"
 
+        /**
+         * Enables trigram stores for secondary string indices.
+         *
+         * A trigram store allows to answer `contains`, `endsWith` and `matchesRegex` queries on a string index
+         * without scanning the entire index, at the expense of additional disk space and slower index updates.
+         * Trigram stores are created for string indices which do not contain any entries yet (i.e. new indices,
+         * new chunks and indices which are being rebuilt). Once created, a trigram store is maintained even if
+         * this setting is disabled again.
+         *
+         * Type: boolean
+         * Values: true, false
+         * Default value: false
+         * Maps to: [.stringIndexTrigramsEnabled]
+         */
+        const val STRING_INDEX_TRIGRAMS_ENABLED = ChronoDBConfiguration.NS_DOT + "storage.index.string_trigrams"
+
+        /**
+         * Determines how many chunks are re-indexed in parallel when the secondary indices are rebuilt.
+         *
+         * Each chunk has its own index environment, therefore chunks can be re-indexed independently. Every worker
+         * uses one additional thread to read and evaluate the primary data while the index entries are written.
+         * Note that each worker keeps several environments open at the same time; the effective number of workers
+         * is therefore also limited by [KEEP_OPEN_ENVIRONMENTS].
+         *
+         * Type: integer
+         * Values: any positive integer >= 1
+         * Default value: the number of available processors
+         * Maps to: [.indexRebuildParallelism]
+         */
+        const val INDEX_REBUILD_PARALLELISM = ChronoDBConfiguration.NS_DOT + "storage.index.rebuild_parallelism"
+
         /**
          * @see [jetbrains.exodus.env.EnvironmentConfig.MEMORY_USAGE]
          */
@@ -370,6 +401,12 @@ class ExodusChronoDBConfiguration : ChronoDBBaseConfiguration() {
     @Parameter(key = ROLLOVER_BATCH_SIZE)
     var rolloverBatchSize: Int = 50_000
 
+    @Parameter(key = STRING_INDEX_TRIGRAMS_ENABLED)
+    var stringIndexTrigramsEnabled: Boolean = false
+
+    @Parameter(key = INDEX_REBUILD_PARALLELISM)
+    var indexRebuildParallelism: Int = Runtime.getRuntime().availableProcessors()
+
     @Suppress("unused") // used in 'extractExodusConfiguration()'.
     @Parameter(key = EXODUS_MEMORY_USAGE, optional = true)
     var exodusMemoryUsage: Long? = null
@@ -11,12 +11,21 @@ object ChronoDBStoreLayout {
     const val STORE_NAME__INDEXERS = "chronos.management.indexers"
     const val STORE_NAME__INDEXDIRTY = "chronos.management.indexdirty"
     const val STORE_NAME__DATEBACK_LOG = "chronos.management.datebacklog"
+    const val STORE_NAME__STRING_DICTIONARY = "chronos.management.stringDictionary"
+    const val STORE_NAME__INDEX_REBUILD_JOURNAL = "chronos.management.indexRebuildJournal"
+    const val STORE_NAME__INDEX_ENCODINGS = "chronos.management.indexEncodings"
 
     const val STORE_NAME_PREFIX__MATRIX = "matrix_"
+    const val STORE_NAME_PREFIX__CHANGE_LOG = "changeLog_"
     const val STORE_NAME_PREFIX__SECONDARY_INDEX_STRING = "secondaryIndex_String_"
     const val STORE_NAME_PREFIX__SECONDARY_INDEX_STRING_CASE_INSENSITIVE = "secondaryIndex_StringCI_"
+    const val STORE_NAME_PREFIX__SECONDARY_INDEX_STRING_TRIGRAM = "secondaryIndex_StringTrigram_"
     const val STORE_NAME_PREFIX__SECONDARY_INDEX_DOUBLE = "secondaryIndex_Double_"
     const val STORE_NAME_PREFIX__SECONDARY_INDEX_LONG = "secondaryIndex_Long_"
+    const val STORE_NAME_PREFIX__SECONDARY_INDEX_BITMAP = "secondaryIndex_Bitmap_"
+    const val STORE_NAME_PREFIX__SECONDARY_INDEX_BITMAP_KEYS = "secondaryIndex_BitmapKeys_"
+    const val STORE_NAME_PREFIX__SECONDARY_INDEX_BITMAP_ORDINALS = "secondaryIndex_BitmapOrdinals_"
+    const val STORE_NAME__SECONDARY_INDEX_STATISTICS = "secondaryIndex_Statistics"
 
     const val KEY__CHRONOS_VERSION = "chronos.version"
     const val KEY__ALL_INDEXERS = "chronos.indexers"
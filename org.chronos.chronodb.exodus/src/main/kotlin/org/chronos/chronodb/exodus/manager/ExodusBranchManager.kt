@@ -78,6 +78,7 @@ class ExodusBranchManager : AbstractBranchManager {
         this.owningDB.globalChunkManager.openReadWriteTransactionOnGlobalEnvironment().use { tx ->
             NavigationIndex.deleteBranch(tx, branch.name)
             BranchMetadataIndex.deleteBranch(tx, branch.name)
+            ExodusChangeLogStore.deleteBranch(tx, branch.name)
             tx.commit()
         }
         this.owningDB.datebackManager.deleteLogsForBranch(branch.name)
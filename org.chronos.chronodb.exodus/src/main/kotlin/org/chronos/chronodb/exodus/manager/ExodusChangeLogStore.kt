@@ -0,0 +1,95 @@
+package org.chronos.chronodb.exodus.manager
+
+import jetbrains.exodus.ByteIterable
+import org.chronos.chronodb.api.Branch
+import org.chronos.chronodb.api.ChronoDB
+import org.chronos.chronodb.api.key.QualifiedKey
+import org.chronos.chronodb.exodus.kotlin.ext.*
+import org.chronos.chronodb.exodus.layout.ChronoDBStoreLayout
+import org.chronos.chronodb.exodus.manager.chunk.GlobalChunkManager
+import org.chronos.chronodb.exodus.transaction.ExodusTransaction
+import org.chronos.chronodb.internal.impl.engines.base.AbstractChangeLogStore
+import java.util.*
+
+/**
+ * Stores the change log of a branch in the global environment (one store per branch, keyed by commit timestamp).
+ *
+ * In contrast to the commit metadata, the change log is not split into chunks. Its entries are small, and the change
+ * feed only ever accesses them via point lookups.
+ */
+class ExodusChangeLogStore : AbstractChangeLogStore {
+
+    companion object {
+
+        fun storeName(branchName: String): String {
+            return ChronoDBStoreLayout.STORE_NAME_PREFIX__CHANGE_LOG + branchName
+        }
+
+        /**
+         * Deletes the change log of the given branch.
+         *
+         * @param tx The transaction on the global environment. Must not be read-only. Needs to be committed by the caller.
+         * @param branchName The name of the branch to delete the change log for.
+         */
+        fun deleteBranch(tx: ExodusTransaction, branchName: String) {
+            val storeName = storeName(branchName)
+            if (tx.storeExists(storeName)) {
+                tx.removeStore(storeName)
+            }
+        }
+
+    }
+
+    private val globalChunkManager: GlobalChunkManager
+    private val storeName: String
+
+    constructor(globalChunkManager: GlobalChunkManager, owningDB: ChronoDB, branch: Branch) : super(owningDB, branch) {
+        this.globalChunkManager = globalChunkManager
+        this.storeName = storeName(branch.name)
+    }
+
+    override fun putAll(commitTimestampToModifiedKeys: SortedMap<Long, Set<QualifiedKey>>) {
+        // serialize outside of the transaction, then write all entries at once
+        val serializedEntries = commitTimestampToModifiedKeys.mapValues { this.serialize(it.value) }
+        this.globalChunkManager.openReadWriteTransactionOnGlobalEnvironment().use { tx ->
+            serializedEntries.forEach { (timestamp, serializedKeys) ->
+                requireNonNegative(timestamp, "commitTimestamp")
+                tx.put(this.storeName, timestamp.toByteIterable(), serializedKeys.toByteIterable())
+            }
+            tx.commit()
+        }
+    }
+
+    override fun getInternal(commitTimestamp: Long): ByteArray? {
+        requireNonNegative(commitTimestamp, "commitTimestamp")
+        return this.globalChunkManager.openReadOnlyTransactionOnGlobalEnvironment().use { tx ->
+            tx.get(this.storeName, commitTimestamp.toByteIterable())?.toByteArray()
+        }
+    }
+
+    override fun putInternal(commitTimestamp: Long, serializedKeys: ByteArray) {
+        requireNonNegative(commitTimestamp, "commitTimestamp")
+        this.globalChunkManager.openReadWriteTransactionOnGlobalEnvironment().use { tx ->
+            tx.put(this.storeName, commitTimestamp.toByteIterable(), serializedKeys.toByteIterable())
+            tx.commit()
+        }
+    }
+
+    override fun rollbackToTimestampInternal(timestamp: Long) {
+        requireNonNegative(timestamp, "timestamp")
+        this.globalChunkManager.openReadWriteTransactionOnGlobalEnvironment().use { tx ->
+            val keysToRemove = mutableListOf<ByteIterable>()
+            tx.withCursorOn(this.storeName) { cursor ->
+                // the timestamps are stored in ascending order, so everything after the first key is affected as well
+                if (cursor.ceilKey((timestamp + 1).toByteIterable()) != null) {
+                    do {
+                        keysToRemove += cursor.key
+                    } while (cursor.next)
+                }
+            }
+            keysToRemove.forEach { tx.delete(this.storeName, it) }
+            tx.commit()
+        }
+    }
+
+}
@@ -183,6 +183,24 @@ class ExodusCommitMetadataStore : CommitMetadataStore {
         }
     }
 
+    override fun putAll(commitTimestampToMetadata: SortedMap<Long, Any?>) {
+        // group the commits by chunk, and write each group in a single transaction
+        val chunkToEntries = commitTimestampToMetadata.entries.groupBy { entry ->
+            requireNonNegative(entry.key, "commitTimestamp")
+            this.branchChunkManager.getChunkForTimestamp(entry.key)
+                ?: throw IllegalStateException("Cannot insert commit at timestamp ${entry.key} - the branch ${this.branch.name} has no chunk for this timestamp!")
+        }
+        for ((chunk, entries) in chunkToEntries) {
+            this.globalChunkManager.openReadWriteTransactionOn(chunk).use { tx ->
+                for (entry in entries) {
+                    val byteValue = this.serializationManager.serialize(entry.value).toByteIterable()
+                    tx.put(ChronoDBStoreLayout.STORE_NAME__COMMIT_METADATA, entry.key.toByteIterable(), byteValue)
+                }
+                tx.commit()
+            }
+        }
+    }
+
     override fun get(commitTimestamp: Long): Any? {
         requireNonNegative(commitTimestamp, "commitTimestamp")
         val chunk = this.branchChunkManager.getChunkForTimestamp(commitTimestamp)
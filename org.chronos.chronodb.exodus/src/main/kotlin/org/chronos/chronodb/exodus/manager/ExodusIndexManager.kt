@@ -1,24 +1,66 @@
 package org.chronos.chronodb.exodus.manager
 
+import com.google.common.collect.HashMultimap
+import com.google.common.collect.Multimaps
+import com.google.common.collect.SetMultimap
 import org.apache.commons.lang3.tuple.Pair
 import org.chronos.chronodb.api.Branch
+import org.chronos.chronodb.api.Order
+import org.chronos.chronodb.api.exceptions.ChronoDBIndexingException
+import org.chronos.chronodb.api.indexing.DoubleIndexer
+import org.chronos.chronodb.api.indexing.Indexer
+import org.chronos.chronodb.api.indexing.LongIndexer
+import org.chronos.chronodb.api.indexing.StringIndexer
 import org.chronos.chronodb.api.key.ChronoIdentifier
 import org.chronos.chronodb.exodus.ExodusChronoDB
 import org.chronos.chronodb.exodus.secondaryindex.ExodusIndexEntryAddition
 import org.chronos.chronodb.exodus.secondaryindex.ExodusIndexEntryTermination
 import org.chronos.chronodb.exodus.secondaryindex.ExodusIndexManagerBackend
 import org.chronos.chronodb.exodus.secondaryindex.ExodusIndexModifications
+import org.chronos.chronodb.exodus.secondaryindex.rebuild.IndexRebuildListener
+import org.chronos.chronodb.exodus.secondaryindex.rebuild.IndexRebuildProgress
 import org.chronos.chronodb.exodus.secondaryindex.stores.IndexEntryConsumer
 import org.chronos.chronodb.exodus.secondaryindex.stores.ScanResultEntry
+import org.chronos.chronodb.internal.api.Period
+import org.chronos.chronodb.internal.api.index.IndexStatistics
+import org.chronos.chronodb.internal.api.query.BitmapExpression
 import org.chronos.chronodb.internal.api.query.searchspec.SearchSpecification
 import org.chronos.chronodb.internal.impl.index.AbstractBackendDelegatingIndexManager
 import org.chronos.chronodb.internal.impl.index.IndexerWorkloadSorter
 import org.chronos.chronodb.internal.impl.index.diff.IndexingUtils
+import org.chronos.common.logging.ChronoLogger
 import java.util.*
+import java.util.concurrent.CancellationException
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.locks.ReentrantLock
+import java.util.concurrent.locks.ReentrantReadWriteLock
+import kotlin.concurrent.read
+import kotlin.concurrent.withLock
+import kotlin.concurrent.write
 import kotlin.reflect.KClass
 
 class ExodusIndexManager : AbstractBackendDelegatingIndexManager<ExodusChronoDB, ExodusIndexManagerBackend> {
 
+    // =================================================================================================================
+    // CONSTANTS
+    // =================================================================================================================
+
+    companion object {
+        /** The maximum number of catch-up passes an online index build performs while commits continue to run. */
+        private const val ONLINE_BUILD_MAX_CATCH_UP_PASSES = 10
+        /** If a catch-up pass indexes fewer entries than this, the online index build proceeds with its final pass. */
+        private const val ONLINE_BUILD_FINAL_PASS_THRESHOLD = 1_000L
+    }
+
+    // =================================================================================================================
+    // FIELDS
+    // =================================================================================================================
+
+    /** Commits hold the read lock while they update the secondary indices; an online index build takes the write lock to switch over. */
+    private val onlineBuildLock = ReentrantReadWriteLock(true)
+    /** The online index build which is currently running (if any). Guarded by [onlineBuildLock]. */
+    private var onlineBuild: OnlineIndexBuild? = null
 
     // =================================================================================================================
     // CONSTRUCTOR
@@ -40,6 +82,8 @@ class ExodusIndexManager : AbstractBackendDelegatingIndexManager<ExodusChronoDB,
                 // no indices are dirty -> no need to re-index
                 return
             }
+            // the full rebuild takes care of the indices of the online build (if any)
+            this.cancelOnlineIndexBuild()
             this.indexManagerBackend.rebuildIndexOnAllChunks()
             for (indexName in this.indexNames) {
                 this.setIndexClean(indexName)
@@ -50,6 +94,51 @@ class ExodusIndexManager : AbstractBackendDelegatingIndexManager<ExodusChronoDB,
         }
     }
 
+    /**
+     * Builds the dirty indices in the background, while reads and commits continue.
+     *
+     * The build runs in passes over the chunks of all branches. The first pass indexes everything up to the current state
+     * of each branch. Commits which happen in the meantime do not touch the indices under construction; the following
+     * passes catch up with them instead. These passes do not hold the database lock: each chunk is read from a snapshot
+     * and its index is written in short transactions of its own. Only the final pass takes the (non-exclusive) database
+     * lock, which blocks concurrent commits until it has indexed the remaining commits and marked the indices as clean.
+     *
+     * The build is cancelled if the database is closed or if [reindexAll] runs in the meantime. It fails if the
+     * indexers of the indices under construction are changed. In both cases, the indices remain dirty.
+     */
+    override fun reindexAllOnline(): CompletableFuture<Void> {
+        this.owningDB.configuration.assertNotReadOnly()
+        this.owningDB.lockNonExclusive().use {
+            this.onlineBuildLock.write {
+                val runningBuild = this.onlineBuild
+                if (runningBuild != null) {
+                    // there can only be one online build at a time
+                    return runningBuild.future
+                }
+                val dirtyIndices = this.dirtyIndices
+                if (dirtyIndices.isEmpty()) {
+                    // no indices are dirty -> no need to re-index
+                    return CompletableFuture.completedFuture(null)
+                }
+                val build = OnlineIndexBuild(dirtyIndices)
+                this.onlineBuild = build
+                build.start()
+                return build.future
+            }
+        }
+    }
+
+    /**
+     * Cancels the online index build which is currently running (if any). The indices under construction remain dirty.
+     */
+    fun cancelOnlineIndexBuild() {
+        this.onlineBuildLock.write {
+            val build = this.onlineBuild ?: return
+            build.cancel()
+            this.onlineBuild = null
+        }
+    }
+
     override fun index(identifierToOldAndNewValue: MutableMap<ChronoIdentifier, Pair<Any?, Any?>>) {
         if (identifierToOldAndNewValue.isEmpty()) {
             // no workload to index
@@ -60,7 +149,9 @@ class ExodusIndexManager : AbstractBackendDelegatingIndexManager<ExodusChronoDB,
             return
         }
         this.owningDB.lockNonExclusive().use {
-            IndexingProcess().index(identifierToOldAndNewValue)
+            this.onlineBuildLock.read {
+                IndexingProcess(this.onlineBuild).index(identifierToOldAndNewValue)
+            }
         }
     }
 
@@ -89,20 +180,108 @@ class ExodusIndexManager : AbstractBackendDelegatingIndexManager<ExodusChronoDB,
 
     }
 
+    override fun performIndexQuery(timestamp: Long, branch: Branch, keyspace: String, searchSpec: SearchSpecification<*, *>, maxResults: Int): Set<String> {
+        if (searchSpec.condition.isNegated && searchSpec.condition.acceptsEmptyValue()) {
+            // we need the full key set of the keyspace anyways, no point in limiting the scan
+            return this.performIndexQuery(timestamp, branch, keyspace, searchSpec)
+        }
+        this.owningDB.lockNonExclusive().use {
+            val scanResult = this.indexManagerBackend.performSearch(timestamp, branch, keyspace, searchSpec, maxResults)
+            return Collections.unmodifiableSet(scanResult)
+        }
+    }
+
+    override fun performBitmapQuery(timestamp: Long, branch: Branch, keyspace: String, expression: BitmapExpression): Set<String>? {
+        this.owningDB.lockNonExclusive().use {
+            val result = this.indexManagerBackend.performBitmapSearch(timestamp, branch, keyspace, expression)
+                    ?: return null
+            return Collections.unmodifiableSet(result)
+        }
+    }
+
+    override fun performIndexCount(timestamp: Long, branch: Branch, keyspace: String, searchSpec: SearchSpecification<*, *>): Long? {
+        if (searchSpec.condition.isNegated && searchSpec.condition.acceptsEmptyValue()) {
+            // the matches are computed from the key set of the keyspace, see performIndexQuery(...)
+            return null
+        }
+        this.owningDB.lockNonExclusive().use {
+            return this.indexManagerBackend.performCount(timestamp, branch, keyspace, searchSpec)
+        }
+    }
+
+    override fun performBitmapCount(timestamp: Long, branch: Branch, keyspace: String, expression: BitmapExpression): Long? {
+        this.owningDB.lockNonExclusive().use {
+            return this.indexManagerBackend.performBitmapCount(timestamp, branch, keyspace, expression)
+        }
+    }
+
+    override fun performOrderedIndexScan(timestamp: Long, branch: Branch, keyspace: String, indexName: String, order: Order, maxResults: Int): List<String>? {
+        val indexers = this.indexersByIndexName[indexName]
+        if (indexers.isNullOrEmpty() || !indexers.all { it is LongIndexer }) {
+            // only the keys of long indices are order-preserving across the whole value range
+            return null
+        }
+        this.owningDB.lockNonExclusive().use {
+            return this.indexManagerBackend.performOrderedLongScan(timestamp, branch, keyspace, indexName, order, maxResults)
+        }
+    }
+
+    override fun performDistinctValueScan(timestamp: Long, branch: Branch, keyspace: String, indexName: String, keys: Set<String>?): Set<Any>? {
+        val indexers = this.indexersByIndexName[indexName]
+        if (indexers.isNullOrEmpty()) {
+            return null
+        }
+        this.owningDB.lockNonExclusive().use {
+            val backend = this.indexManagerBackend
+            return when {
+                indexers.all { it is StringIndexer } -> backend.performDistinctValueScan(timestamp, branch, keyspace, indexName, String::class, keys)
+                indexers.all { it is LongIndexer } -> backend.performDistinctValueScan(timestamp, branch, keyspace, indexName, Long::class, keys)
+                indexers.all { it is DoubleIndexer } -> backend.performDistinctValueScan(timestamp, branch, keyspace, indexName, Double::class, keys)
+                // the values are spread across the stores of different types
+                else -> null
+            }
+        }
+    }
+
+    override fun getIndexStatistics(timestamp: Long, branch: Branch, keyspace: String, indexName: String): IndexStatistics? {
+        this.owningDB.lockNonExclusive().use {
+            return this.indexManagerBackend.getIndexStatistics(timestamp, branch, keyspace, indexName)
+        }
+    }
+
     fun <T: Any> allEntries(branch: String, keyspace: String, propertyName: String, type: KClass<T>, consumer: IndexEntryConsumer<T>){
         this.indexManagerBackend.allEntries(branch, keyspace, propertyName, type, consumer)
     }
 
+    /** The progress of the current (or most recent) rebuild of the secondary indices. */
+    val indexRebuildProgress: IndexRebuildProgress
+        get() = this.indexManagerBackend.rebuildProgress
+
+    fun addIndexRebuildListener(listener: IndexRebuildListener) {
+        this.indexManagerBackend.addRebuildListener(listener)
+    }
+
+    fun removeIndexRebuildListener(listener: IndexRebuildListener) {
+        this.indexManagerBackend.removeRebuildListener(listener)
+    }
+
     fun reindexHeadRevision(branchName: String) {
-        this.indexManagerBackend.rebuildIndexOnHeadChunk(branchName)
+        // the indices under construction are indexed by the online build itself
+        val indicesUnderConstruction = this.onlineBuildLock.read { this.onlineBuild?.indices ?: emptySet() }
+        this.indexManagerBackend.rebuildIndexOnHeadChunk(branchName, indicesUnderConstruction)
     }
 
 
-    inner class IndexingProcess {
+    inner class IndexingProcess(private val onlineBuild: OnlineIndexBuild?) {
 
         private var currentTimestamp = -1L
         private var indexModifications: ExodusIndexModifications? = null
 
+        /** The indexers to apply; the indices under construction are left to the online build. */
+        private val indexNameToIndexers: SetMultimap<String, Indexer<*>> = this.onlineBuild
+                ?.let { build -> Multimaps.filterKeys(this@ExodusIndexManager.indexNameToIndexers) { it !in build.indices } }
+                ?: this@ExodusIndexManager.indexNameToIndexers
+
         fun index(identifierToValue: Map<ChronoIdentifier, Pair<Any?, Any?>>) {
             // build the indexer workload. The primary purpose is to sort the entries
             // of the map in an order suitable for processing.
@@ -116,6 +295,8 @@ class ExodusIndexManager : AbstractBackendDelegatingIndexManager<ExodusChronoDB,
                 val chronoIdentifier = entry.key
                 // check if we need to perform any periodic tasks
                 this.checkCurrentTimestamp(chronoIdentifier.timestamp)
+                // the online build (if any) needs to catch up with this entry
+                this.onlineBuild?.entrySkipped(chronoIdentifier.branchName, chronoIdentifier.timestamp)
                 // index the single entry
                 val oldAndNewValue = identifierToValue[chronoIdentifier]!!
                 val oldValue = oldAndNewValue.left
@@ -142,9 +323,9 @@ class ExodusIndexManager : AbstractBackendDelegatingIndexManager<ExodusChronoDB,
         }
 
         private fun indexSingleEntry(identifier: ChronoIdentifier, oldValue: Any?, newValue: Any?) {
-            val indexNameToIndexers = this@ExodusIndexManager.indexNameToIndexers
-            val diff = IndexingUtils.calculateDiff(indexNameToIndexers, oldValue, newValue)
+            val diff = IndexingUtils.calculateDiff(this.indexNameToIndexers, oldValue, newValue)
             diff.changedIndices.forEach { indexName ->
+                this@ExodusIndexManager.invalidateQueryCache(identifier.branchName, identifier.keyspace, indexName, identifier.timestamp)
                 diff.getAdditions(indexName).forEach { addedValue ->
                     this.indexModifications!!.addEntryAddition(
                             ExodusIndexEntryAddition(
@@ -170,4 +351,138 @@ class ExodusIndexManager : AbstractBackendDelegatingIndexManager<ExodusChronoDB,
             }
         }
     }
+
+    /**
+     * Builds a set of indices in the background, see [reindexAllOnline].
+     *
+     * @param indices The names of the indices to build.
+     */
+    inner class OnlineIndexBuild(val indices: Set<String>) {
+
+        val future = CompletableFuture<Void>()
+
+        /** The indexers of the indices under construction, at the time the build has been started. */
+        private val indexers: SetMultimap<String, Indexer<*>> = HashMultimap.create(
+                Multimaps.filterKeys(this@ExodusIndexManager.indexNameToIndexers) { it in this.indices }
+        )
+        /** Branch name to the timestamp up to which (inclusive) the branch has been indexed. Only accessed by the build thread. */
+        private val indexedUpTo = mutableMapOf<String, Long>()
+        /** Branch name to the latest timestamp at which a commit has left the indices under construction to us. */
+        private val skippedUpTo = ConcurrentHashMap<String, Long>()
+        /** Held by the build thread while it works on a chunk. The database lock does not protect the chunks from [cancel] callers. */
+        private val chunkLock = ReentrantLock()
+        @Volatile
+        private var cancelled = false
+
+        fun start() {
+            val thread = Thread(this::run, "ChronoDB-OnlineIndexBuild")
+            thread.isDaemon = true
+            thread.start()
+        }
+
+        fun cancel() {
+            this.cancelled = true
+            this.future.cancel(false)
+            // the build thread stops at the next index transaction. Wait for it, so that the caller
+            // can modify the indices (or close the environments) afterwards.
+            this.chunkLock.withLock {}
+        }
+
+        fun entrySkipped(branchName: String, timestamp: Long) {
+            this.skippedUpTo.merge(branchName, timestamp) { a, b -> Math.max(a, b) }
+        }
+
+        private fun run() {
+            val manager = this@ExodusIndexManager
+            try {
+                // catch up with the commits until only a few of them remain
+                var passes = 0
+                do {
+                    val indexedEntries = this.performPass(finalPass = false)
+                    passes++
+                } while (indexedEntries >= ONLINE_BUILD_FINAL_PASS_THRESHOLD && passes < ONLINE_BUILD_MAX_CATCH_UP_PASSES)
+                manager.owningDB.lockNonExclusive().use {
+                    manager.onlineBuildLock.write {
+                        this.assertNotCancelled()
+                        // no commit can update the indices while we hold the lock. After the final
+                        // pass, the commits take over the indices under construction again.
+                        this.performPass(finalPass = true)
+                        for (indexName in this.indices) {
+                            manager.setIndexClean(indexName)
+                        }
+                        manager.onlineBuild = null
+                        manager.clearQueryCache()
+                        manager.owningDB.statisticsManager.clearBranchHeadStatistics()
+                    }
+                }
+                this.future.complete(null)
+            } catch (e: CancellationException) {
+                // the build has been cancelled (usually, the future has already been completed by cancel())
+                this.future.cancel(false)
+            } catch (t: Throwable) {
+                ChronoLogger.logError("The online build of the indices ${this.indices} has failed! The indices remain dirty.", t)
+                manager.onlineBuildLock.write {
+                    if (manager.onlineBuild === this) {
+                        manager.onlineBuild = null
+                    }
+                }
+                this.future.completeExceptionally(t)
+            }
+        }
+
+        private fun performPass(finalPass: Boolean): Long {
+            val manager = this@ExodusIndexManager
+            val db = manager.owningDB
+            var indexedEntries = 0L
+            for (branchName in db.branchManager.branchNames) {
+                val branch = db.branchManager.getBranch(branchName) ?: continue
+                val indexedUpTo = this.indexedUpTo[branchName]
+                var upTo = branch.now
+                if (finalPass) {
+                    // these commits have completed their index updates, but may not have published their timestamp yet
+                    upTo = Math.max(upTo, this.skippedUpTo[branchName] ?: -1L)
+                }
+                if (indexedUpTo != null && upTo <= indexedUpTo) {
+                    // no new commits on this branch
+                    continue
+                }
+                val chunkManager = db.globalChunkManager.getOrCreateChunkManagerForBranch(branch)
+                val chunks = if (indexedUpTo == null) {
+                    // the first pass on a branch visits all chunks, in order to remove outdated index entries
+                    chunkManager.getChunksForPeriod(Period.eternal())
+                } else {
+                    chunkManager.getChunksForPeriod(Period.createRange(indexedUpTo + 1, upTo + 1))
+                }
+                for (chunk in chunks) {
+                    // the catch-up passes must not hold the database lock, as it would block all commits. The chunk
+                    // is read from a snapshot instead; the read lock of the chunk manager only prevents a rollover.
+                    val indexedChunkEntries = this.chunkLock.withLock {
+                        this.assertNotCancelled()
+                        if (!db.branchManager.existsBranch(branchName)) {
+                            // the branch has been deleted in the meantime
+                            null
+                        } else {
+                            chunkManager.withReadLock {
+                                manager.indexManagerBackend.indexChunkEntries(chunk, this.indexers, indexedUpTo ?: -1L, upTo, this::assertNotCancelled)
+                            }
+                        }
+                    } ?: break
+                    indexedEntries += indexedChunkEntries
+                }
+                this.indexedUpTo[branchName] = upTo
+            }
+            return indexedEntries
+        }
+
+        private fun assertNotCancelled() {
+            if (this.cancelled || this@ExodusIndexManager.owningDB.isClosed) {
+                throw CancellationException("The online index build has been cancelled.")
+            }
+            val currentIndexers = Multimaps.filterKeys(this@ExodusIndexManager.indexNameToIndexers) { it in this.indices }
+            if (currentIndexers != this.indexers) {
+                throw ChronoDBIndexingException("The indexers of the indices ${this.indices} have been changed during the online index build!")
+            }
+        }
+
+    }
 }
\ No newline at end of file
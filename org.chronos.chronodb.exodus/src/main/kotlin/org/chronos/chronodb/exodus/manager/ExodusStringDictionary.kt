@@ -0,0 +1,39 @@
+package org.chronos.chronodb.exodus.manager
+
+import org.chronos.chronodb.exodus.ExodusChronoDB
+import org.chronos.chronodb.exodus.kotlin.ext.parseAsLong
+import org.chronos.chronodb.exodus.kotlin.ext.parseAsString
+import org.chronos.chronodb.exodus.kotlin.ext.toByteIterable
+import org.chronos.chronodb.exodus.layout.ChronoDBStoreLayout
+import org.chronos.chronodb.internal.impl.serialization.AbstractStringDictionary
+
+/**
+ * A string dictionary which is persisted in the global environment of an [ExodusChronoDB].
+ *
+ * The store maps each string to its ID. Entries are loaded lazily on first access, because the dictionary is created
+ * before the global environment is available. New entries are written in a single transaction per flush.
+ */
+class ExodusStringDictionary(private val owningDB: ExodusChronoDB) : AbstractStringDictionary() {
+
+    override fun loadEntries(): Map<String, Int> {
+        val result = mutableMapOf<String, Int>()
+        this.owningDB.globalChunkManager.openReadOnlyTransactionOnGlobalEnvironment().use { tx ->
+            tx.openCursorOn(ChronoDBStoreLayout.STORE_NAME__STRING_DICTIONARY).use { cursor ->
+                while (cursor.next) {
+                    result[cursor.key.parseAsString()] = cursor.value.parseAsLong().toInt()
+                }
+            }
+        }
+        return result
+    }
+
+    override fun persistEntries(entries: Map<String, Int>) {
+        this.owningDB.globalChunkManager.openReadWriteTransactionOnGlobalEnvironment().use { tx ->
+            entries.forEach { (string, id) ->
+                tx.put(ChronoDBStoreLayout.STORE_NAME__STRING_DICTIONARY, string, id.toLong().toByteIterable())
+            }
+            tx.commit()
+        }
+    }
+
+}
@@ -6,12 +6,14 @@ import jetbrains.exodus.bindings.BooleanBinding
 import org.chronos.chronodb.api.ChronoDBConstants
 import org.chronos.chronodb.exodus.ExodusChronoDB
 import org.chronos.chronodb.exodus.ExodusDataMatrixUtil
+import org.chronos.chronodb.exodus.ExodusKeySetIndex
 import org.chronos.chronodb.exodus.TemporalExodusMatrix
 import org.chronos.chronodb.exodus.kotlin.ext.*
 import org.chronos.chronodb.exodus.layout.ChronoDBStoreLayout
 import org.chronos.chronodb.exodus.manager.chunk.RolloverProcessInfo
 import org.chronos.chronodb.exodus.transaction.ExodusTransaction
 import org.chronos.chronodb.internal.api.BranchInternal
+import org.chronos.chronodb.internal.api.ChangeLogStore
 import org.chronos.chronodb.internal.api.CommitMetadataStore
 import org.chronos.chronodb.internal.api.Period
 import org.chronos.chronodb.internal.api.TemporalDataMatrix
@@ -28,6 +30,7 @@ import kotlin.concurrent.withLock
 class ExodusTkvs : AbstractTemporalKeyValueStore {
 
     private val commitMetadataStore: CommitMetadataStore
+    private val changeLogStore: ChangeLogStore
     private var cachedNowTimestamp: Long
     private val owningDB: ExodusChronoDB
         get() = super.getOwningDB() as ExodusChronoDB
@@ -41,6 +44,7 @@ class ExodusTkvs : AbstractTemporalKeyValueStore {
 
     constructor(owningDB: ExodusChronoDB, branch: BranchInternal) : super(owningDB, branch) {
         this.commitMetadataStore = ExodusCommitMetadataStore(owningDB.globalChunkManager, owningDB.serializationManager, branch)
+        this.changeLogStore = ExodusChangeLogStore(owningDB.globalChunkManager, owningDB, branch)
         this.cachedNowTimestamp = -1L
         this.initializeBranch()
         this.initializeKeyspaceToMatrixMapFromDB()
@@ -111,6 +115,10 @@ class ExodusTkvs : AbstractTemporalKeyValueStore {
         return this.commitMetadataStore
     }
 
+    override fun getChangeLogStore(): ChangeLogStore {
+        return this.changeLogStore
+    }
+
     override fun performWriteAheadLog(token: WriteAheadLogToken) {
         this.walTokenCacheLock.withLock {
             this.withGlobalReadWriteTransaction { tx ->
@@ -216,6 +224,10 @@ class ExodusTkvs : AbstractTemporalKeyValueStore {
 
                         copyAllLatestEntriesFromReadTxIntoWriteTx(readTx, writeTx, matrixStoreName, writeChunk.validPeriod.lowerBound)
                         writeTx.flush()
+
+                        // the rollover base version has changed, so the key set index has to follow
+                        ExodusKeySetIndex.rebuild(writeTx, matrixStoreName)
+                        writeTx.flush()
                     }
                 }
                 writeTx.commit()
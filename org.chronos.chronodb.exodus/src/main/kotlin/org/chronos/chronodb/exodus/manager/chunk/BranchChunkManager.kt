@@ -296,8 +296,8 @@ class BranchChunkManager {
         return chunk
     }
 
-    fun withReadLock(function: () -> Unit) {
-        this.accessLock.readLock().withLock(function)
+    fun <T> withReadLock(function: () -> T): T {
+        return this.accessLock.readLock().withLock(function)
     }
 
     // =================================================================================================================
@@ -0,0 +1,83 @@
+package org.chronos.chronodb.exodus.manager.chunk.iterators
+
+import org.chronos.chronodb.exodus.ExodusKeySetIndex
+import org.chronos.chronodb.exodus.manager.chunk.ChronoChunk
+import org.chronos.chronodb.exodus.manager.chunk.GlobalChunkManager
+import org.chronos.chronodb.internal.impl.stream.AbstractCloseableIterator
+import java.util.NoSuchElementException
+
+/**
+ * Iterates over the keys which exist in a matrix at a given timestamp, based on the [key set index][ExodusKeySetIndex].
+ *
+ * Optionally, only the keys starting with a given prefix are returned; the scan then starts at the prefix and
+ * ends as soon as the first key without the prefix is encountered.
+ *
+ * The keys are fetched page by page. Every page is read in its own short-lived transaction, so no transaction
+ * is held open between calls to [next], and an abandoned iterator does not block the chunk.
+ */
+class KeySetIterator : AbstractCloseableIterator<String> {
+
+    companion object {
+
+        const val DEFAULT_PAGE_SIZE = 1000
+
+    }
+
+    private val chunkManager: GlobalChunkManager
+    private val chunk: ChronoChunk
+    private val storeName: String
+    private val timestamp: Long
+    private val pageSize: Int
+    private val prefix: String
+
+    private var currentPage: Iterator<String> = emptyList<String>().iterator()
+    private var lastScannedKey: String? = null
+    private var exhausted = false
+
+    constructor(chunkManager: GlobalChunkManager, chunk: ChronoChunk, storeName: String, timestamp: Long, pageSize: Int = DEFAULT_PAGE_SIZE, prefix: String = "") {
+        require(timestamp >= 0) { "Precondition violation - argument 'timestamp' must be greater than or equal to zero!" }
+        require(pageSize > 0) { "Precondition violation - argument 'pageSize' must be greater than zero!" }
+        this.chunkManager = chunkManager
+        this.chunk = chunk
+        this.storeName = storeName
+        this.timestamp = timestamp
+        this.pageSize = pageSize
+        this.prefix = prefix
+    }
+
+    override fun next(): String {
+        if (!this.hasNext()) {
+            throw NoSuchElementException("Iterator is exhausted; there are no more elements!")
+        }
+        return this.currentPage.next()
+    }
+
+    override fun hasNextInternal(): Boolean {
+        while (!this.currentPage.hasNext()) {
+            if (this.exhausted) {
+                return false
+            }
+            this.loadNextPage()
+        }
+        return true
+    }
+
+    override fun closeInternal() {
+        this.currentPage = emptyList<String>().iterator()
+        this.exhausted = true
+    }
+
+    private fun loadNextPage() {
+        val page = mutableListOf<String>()
+        this.chunkManager.openReadOnlyTransactionOn(this.chunk).use { tx ->
+            this.lastScannedKey = ExodusKeySetIndex.scanExistingKeys(tx, this.storeName, this.timestamp, this.lastScannedKey, this.pageSize, this.prefix) { key ->
+                page.add(key)
+            }
+        }
+        if (this.lastScannedKey == null) {
+            this.exhausted = true
+        }
+        this.currentPage = page.iterator()
+    }
+
+}
@@ -2,37 +2,129 @@ package org.chronos.chronodb.exodus.secondaryindex
 
 import org.chronos.chronodb.exodus.secondaryindex.stores.*
 import org.chronos.chronodb.exodus.transaction.ExodusTransaction
+import org.chronos.chronodb.internal.api.Period
+import org.chronos.chronodb.internal.api.query.BitmapExpression
 import org.chronos.chronodb.internal.api.query.searchspec.*
 import kotlin.reflect.KClass
 
 object ExodusChunkIndex {
 
     @Suppress("UNCHECKED_CAST")
-    fun <T> scanForResults(tx: ExodusTransaction, timestamp: Long, keyspace: String, searchSpec: SearchSpecification<T, *>): ScanResult<T> {
-        return scanInternal(tx, timestamp, keyspace, searchSpec, ScanTimeMode.SCAN_FOR_PERIOD_MATCHES)
+    fun <T> scanForResults(tx: ExodusTransaction, timestamp: Long, keyspace: String, searchSpec: SearchSpecification<T, *>, maxResults: Int = Int.MAX_VALUE): ScanResult<T> {
+        return scanInternal(tx, timestamp, keyspace, searchSpec, ScanTimeMode.SCAN_FOR_PERIOD_MATCHES, maxResults)
     }
 
     fun <T> scanForTerminations(tx: ExodusTransaction, timestamp: Long, keyspace: String, searchSpec: SearchSpecification<T, *>): ScanResult<T> {
-        return scanInternal(tx, timestamp, keyspace, searchSpec, ScanTimeMode.SCAN_FOR_TERMINATED_PERIODS)
+        return scanInternal(tx, timestamp, keyspace, searchSpec, ScanTimeMode.SCAN_FOR_TERMINATED_PERIODS, Int.MAX_VALUE)
     }
 
-    private fun <T> scanInternal(tx: ExodusTransaction, timestamp: Long, keyspace: String, searchSpec: SearchSpecification<T, *>, scanTimeMode: ScanTimeMode): ScanResult<T> {
+    /**
+     * Evaluates the given expression on the bitmap stores of its indices.
+     *
+     * @param tx The transaction to operate on.
+     * @param timestamp The timestamp to evaluate the expression at. Must not be negative.
+     * @param keyspace The keyspace to search in.
+     * @param expression The expression to evaluate.
+     * @return The set of matching keys, or `null` if the expression can't be evaluated on the bitmaps (see [BitmapIndexStore.lookup]).
+     */
+    fun scanBitmaps(tx: ExodusTransaction, timestamp: Long, keyspace: String, expression: BitmapExpression): Set<String>? {
+        val ordinals = this.evaluateBitmapExpression(tx, timestamp, keyspace, expression) ?: return null
+        return BitmapIndexStore.resolveKeys(tx, keyspace, ordinals).toSet()
+    }
+
+    /**
+     * Counts the distinct keys which match the given expression on the bitmap stores of its indices.
+     *
+     * @param tx The transaction to operate on.
+     * @param timestamp The timestamp to evaluate the expression at. Must not be negative.
+     * @param keyspace The keyspace to search in.
+     * @param expression The expression to evaluate.
+     * @return The number of matching keys, or `null` if the expression can't be evaluated on the bitmaps (see [BitmapIndexStore.lookup]).
+     */
+    fun countBitmaps(tx: ExodusTransaction, timestamp: Long, keyspace: String, expression: BitmapExpression): Long? {
+        return this.evaluateBitmapExpression(tx, timestamp, keyspace, expression)?.cardinality?.toLong()
+    }
+
+    /**
+     * Counts the distinct keys which match the given search specification, without collecting them.
+     *
+     * @param tx The transaction to operate on.
+     * @param timestamp The timestamp to evaluate the search at. Must not be negative.
+     * @param keyspace The keyspace to search in.
+     * @param searchSpec The search specification to evaluate.
+     * @return The number of matching keys, or `null` if they can't be counted directly. In this case, the caller has to count the results of [scanForResults] instead.
+     */
+    fun <T> countResults(tx: ExodusTransaction, timestamp: Long, keyspace: String, searchSpec: SearchSpecification<T, *>): Long? {
+        if (BitmapExpression.isBitmapLookup(searchSpec)) {
+            val bitmapCount = this.countBitmaps(tx, timestamp, keyspace, BitmapExpression.lookup(searchSpec))
+            if (bitmapCount != null) {
+                return bitmapCount
+            }
+        }
+        return when (searchSpec) {
+            is DoubleSearchSpecification -> SecondaryDoubleIndexStore.count(tx, searchSpec, keyspace, timestamp)
+            is LongSearchSpecification -> SecondaryLongIndexStore.count(tx, searchSpec, keyspace, timestamp)
+            is StringSearchSpecification -> SecondaryStringIndexStore.count(tx, searchSpec, keyspace, timestamp)
+            is ContainmentStringSearchSpecification -> SecondaryStringIndexStore.count(tx, searchSpec, keyspace, timestamp)
+            is ContainmentLongSearchSpecification -> SecondaryLongIndexStore.count(tx, searchSpec, keyspace, timestamp)
+            is ContainmentDoubleSearchSpecification -> SecondaryDoubleIndexStore.count(tx, searchSpec, keyspace, timestamp)
+            is CompositeSearchSpecification -> SecondaryStringIndexStore.count(tx, searchSpec, keyspace, timestamp)
+            else -> null
+        }
+    }
+
+    @Suppress("UNCHECKED_CAST")
+    private fun <T> scanInternal(tx: ExodusTransaction, timestamp: Long, keyspace: String, searchSpec: SearchSpecification<T, *>, scanTimeMode: ScanTimeMode, maxResults: Int): ScanResult<T> {
+        if (scanTimeMode == ScanTimeMode.SCAN_FOR_PERIOD_MATCHES && BitmapExpression.isBitmapLookup(searchSpec)) {
+            // bitmap stores only contain the latest state, so they can't answer scans for terminated periods
+            val bitmapResult = this.scanBitmapLookup(tx, timestamp, keyspace, BitmapExpression.lookup(searchSpec), maxResults)
+            if (bitmapResult != null) {
+                return bitmapResult as ScanResult<T>
+            }
+        }
         return when (searchSpec) {
-            is DoubleSearchSpecification -> SecondaryDoubleIndexStore.scan(tx, searchSpec, keyspace, timestamp, scanTimeMode) as ScanResult<T>
-            is LongSearchSpecification -> SecondaryLongIndexStore.scan(tx, searchSpec, keyspace, timestamp, scanTimeMode) as ScanResult<T>
-            is StringSearchSpecification -> SecondaryStringIndexStore.scan(tx, searchSpec, keyspace, timestamp, scanTimeMode) as ScanResult<T>
-            is ContainmentStringSearchSpecification -> SecondaryStringIndexStore.scan(tx, searchSpec, keyspace, timestamp, scanTimeMode) as ScanResult<T>
-            is ContainmentLongSearchSpecification -> SecondaryLongIndexStore.scan(tx, searchSpec, keyspace, timestamp, scanTimeMode) as ScanResult<T>
-            is ContainmentDoubleSearchSpecification -> SecondaryDoubleIndexStore.scan(tx, searchSpec, keyspace, timestamp, scanTimeMode) as ScanResult<T>
+            is DoubleSearchSpecification -> SecondaryDoubleIndexStore.scan(tx, searchSpec, keyspace, timestamp, scanTimeMode, maxResults) as ScanResult<T>
+            is LongSearchSpecification -> SecondaryLongIndexStore.scan(tx, searchSpec, keyspace, timestamp, scanTimeMode, maxResults) as ScanResult<T>
+            is StringSearchSpecification -> SecondaryStringIndexStore.scan(tx, searchSpec, keyspace, timestamp, scanTimeMode, maxResults) as ScanResult<T>
+            is ContainmentStringSearchSpecification -> SecondaryStringIndexStore.scan(tx, searchSpec, keyspace, timestamp, scanTimeMode, maxResults) as ScanResult<T>
+            is ContainmentLongSearchSpecification -> SecondaryLongIndexStore.scan(tx, searchSpec, keyspace, timestamp, scanTimeMode, maxResults) as ScanResult<T>
+            is ContainmentDoubleSearchSpecification -> SecondaryDoubleIndexStore.scan(tx, searchSpec, keyspace, timestamp, scanTimeMode, maxResults) as ScanResult<T>
+            is CompositeSearchSpecification -> SecondaryStringIndexStore.scan(tx, searchSpec, keyspace, timestamp, scanTimeMode, maxResults) as ScanResult<T>
             else -> throw IllegalArgumentException("Unknown type of query (class: ${searchSpec.javaClass.name})!")
         }
     }
 
-    fun applyModifications(tx: ExodusTransaction, modifications: ExodusIndexModifications, lowerBound: Long) {
+    fun applyModifications(tx: ExodusTransaction, modifications: ExodusIndexModifications, lowerBound: Long, createTrigramStores: Boolean = false, bitmapIndices: Set<String> = emptySet()) {
         if(modifications.isEmpty){
             return
         }
         val timestamp = modifications.changeTimestamp
+        // indices which receive their first entries get statistics (and a bitmap store, if requested)
+        val terminatedStores = modifications.terminations.asSequence().map { Triple(it.index, it.keyspace, it.value) }
+        val addedStores = modifications.additions.asSequence().map { Triple(it.index, it.keyspace, it.value) }
+        val modifiedStores = (terminatedStores + addedStores)
+            .mapNotNull { (indexName, keyspace, value) -> this.getStoreForValue(value)?.let { Triple(indexName, keyspace, it.storeName(indexName, keyspace)) } }
+            .distinct()
+            .toList()
+        modifiedStores.forEach { (indexName, keyspace, storeName) ->
+            IndexStatisticsStore.createIfIndexIsEmpty(tx, indexName, keyspace, storeName)
+            if (indexName in bitmapIndices) {
+                BitmapIndexStore.createIfIndexIsEmpty(tx, indexName, keyspace, storeName)
+            }
+        }
+        // existing bitmap stores are maintained alongside the regular stores
+        val bitmapStores = modifiedStores.asSequence()
+            .map { (indexName, keyspace, _) -> Pair(indexName, keyspace) }
+            .filter { (indexName, keyspace) -> BitmapIndexStore.exists(tx, indexName, keyspace) }
+            .toSet()
+        if (createTrigramStores) {
+            // string indices which receive their first entries get a trigram store
+            val terminatedIndices = modifications.terminations.asSequence().filter { it.value is String }.map { Pair(it.index, it.keyspace) }
+            val addedIndices = modifications.additions.asSequence().filter { it.value is String }.map { Pair(it.index, it.keyspace) }
+            (terminatedIndices + addedIndices)
+                .distinct()
+                .forEach { (indexName, keyspace) -> SecondaryStringIndexStore.createTrigramStoreIfIndexIsEmpty(tx, indexName, keyspace) }
+        }
         modifications.terminations.forEach { termination ->
             when (termination.value) {
                 is String -> executeStringTermination(tx, termination, timestamp, lowerBound)
@@ -41,6 +133,9 @@ object ExodusChunkIndex {
                 else -> throw IllegalArgumentException("Cannot index value - it's type does not match any known indices! " +
                         "Value Class: ${termination.value.javaClass.name}, Value: '${termination.value}'")
             }
+            if (Pair(termination.index, termination.keyspace) in bitmapStores) {
+                BitmapIndexStore.remove(tx, termination.index, termination.keyspace, termination.value, termination.key, timestamp)
+            }
         }
         modifications.additions.forEach { addition ->
             when (addition.value) {
@@ -50,6 +145,33 @@ object ExodusChunkIndex {
                 else -> throw IllegalArgumentException("Cannot index value - it's type does not match any known indices! " +
                         "Value Class: ${addition.value.javaClass.name}, Value: '${addition.value}'")
             }
+            if (Pair(addition.index, addition.keyspace) in bitmapStores) {
+                BitmapIndexStore.add(tx, addition.index, addition.keyspace, addition.value, addition.key, timestamp)
+            }
+        }
+    }
+
+    /**
+     * Recomputes the bitmap stores of the given index from the open-ended entries of its regular stores.
+     *
+     * This is required after a rollback, because the bitmap stores can't be rolled back by themselves.
+     *
+     * @param tx The transaction to operate on. Must not be read-only.
+     * @param indexName The name of the index.
+     * @param type The type of the index values.
+     * @param version The new version of the bitmap stores, i.e. the timestamp of the state which is reflected by the regular stores.
+     */
+    fun <V : Any> resetBitmaps(tx: ExodusTransaction, indexName: String, type: KClass<V>, version: Long) {
+        for (keyspace in BitmapIndexStore.getKeyspaces(tx, indexName)) {
+            val regularStoreName = this.getStoreForType(type).storeName(indexName, keyspace)
+            val keysByIndexValue = mutableMapOf<Any, MutableList<String>>()
+            this.allEntries(tx, keyspace, indexName, type) { storeName, primaryKey, indexedValue, validityPeriods ->
+                // ignore the case-insensitive variants of string indices
+                if (storeName == regularStoreName && validityPeriods.any(Period::isOpenEnded)) {
+                    keysByIndexValue.getOrPut(indexedValue) { mutableListOf() }.add(primaryKey)
+                }
+            }
+            BitmapIndexStore.replace(tx, indexName, keyspace, keysByIndexValue, version)
         }
     }
 
@@ -136,4 +258,65 @@ object ExodusChunkIndex {
         )
     }
 
-}
\ No newline at end of file
+    private fun scanBitmapLookup(tx: ExodusTransaction, timestamp: Long, keyspace: String, lookup: BitmapExpression.Lookup, maxResults: Int): ScanResult<Any>? {
+        val entries = mutableListOf<ScanResultEntry<Any>>()
+        for (value in lookup.values) {
+            val ordinals = BitmapIndexStore.lookup(tx, lookup.indexName, keyspace, listOf(value), timestamp) ?: return null
+            BitmapIndexStore.resolveKeys(tx, keyspace, ordinals, maxResults - entries.size).forEach { key ->
+                entries += ScanResultEntry(value, key)
+            }
+            if (entries.size >= maxResults) {
+                break
+            }
+        }
+        return ScanResult(entries)
+    }
+
+    private fun evaluateBitmapExpression(tx: ExodusTransaction, timestamp: Long, keyspace: String, expression: BitmapExpression): CompressedBitmap? {
+        return when (expression) {
+            is BitmapExpression.Lookup -> BitmapIndexStore.lookup(tx, expression.indexName, keyspace, expression.values, timestamp)
+            is BitmapExpression.Intersection -> {
+                var result: CompressedBitmap? = null
+                for (operand in expression.operands) {
+                    val bitmap = this.evaluateBitmapExpression(tx, timestamp, keyspace, operand) ?: return null
+                    val intersection = result?.and(bitmap) ?: bitmap
+                    if (intersection.isEmpty) {
+                        // the remaining operands can't change the result anymore
+                        return intersection
+                    }
+                    result = intersection
+                }
+                result
+            }
+            is BitmapExpression.Union -> {
+                var result = CompressedBitmap()
+                for (operand in expression.operands) {
+                    val bitmap = this.evaluateBitmapExpression(tx, timestamp, keyspace, operand) ?: return null
+                    result = result.or(bitmap)
+                }
+                result
+            }
+            else -> throw IllegalArgumentException("Unknown type of bitmap expression (class: ${expression.javaClass.name})!")
+        }
+    }
+
+    private fun getStoreForType(type: KClass<*>): SecondaryIndexStore<*, *> {
+        return when (type) {
+            String::class -> SecondaryStringIndexStore
+            Long::class -> SecondaryLongIndexStore
+            Double::class -> SecondaryDoubleIndexStore
+            else -> throw IllegalArgumentException("Unknown index type: ${type.qualifiedName}")
+        }
+    }
+
+    private fun getStoreForValue(value: Any): SecondaryIndexStore<*, *>? {
+        return when (value) {
+            is String -> SecondaryStringIndexStore
+            is Short, is Int, is Long -> SecondaryLongIndexStore
+            is Float, is Double -> SecondaryDoubleIndexStore
+            // unknown types are reported when the modification is executed
+            else -> null
+        }
+    }
+
+}
@@ -1,24 +1,34 @@
 package org.chronos.chronodb.exodus.secondaryindex
 
 import com.google.common.collect.*
+import com.google.common.util.concurrent.ThreadFactoryBuilder
 import jetbrains.exodus.ByteIterable
 import jetbrains.exodus.env.Cursor
 import org.chronos.chronodb.api.Branch
 import org.chronos.chronodb.api.ChronoDBConstants
+import org.chronos.chronodb.api.Order
+import org.chronos.chronodb.api.exceptions.ChronoDBIndexingException
 import org.chronos.chronodb.api.indexing.DoubleIndexer
+import org.chronos.chronodb.api.indexing.IndexEncoding
 import org.chronos.chronodb.api.indexing.Indexer
 import org.chronos.chronodb.api.indexing.LongIndexer
 import org.chronos.chronodb.api.indexing.StringIndexer
 import org.chronos.chronodb.api.key.QualifiedKey
 import org.chronos.chronodb.exodus.ExodusChronoDB
+import org.chronos.chronodb.exodus.configuration.ExodusChronoDBConfiguration
 import org.chronos.chronodb.exodus.kotlin.ext.*
 import org.chronos.chronodb.exodus.layout.ChronoDBStoreLayout
 import org.chronos.chronodb.exodus.manager.NavigationIndex
 import org.chronos.chronodb.exodus.manager.chunk.ChronoChunk
+import org.chronos.chronodb.exodus.secondaryindex.rebuild.IndexRebuildJournal
+import org.chronos.chronodb.exodus.secondaryindex.rebuild.IndexRebuildListener
+import org.chronos.chronodb.exodus.secondaryindex.rebuild.IndexRebuildProgress
 import org.chronos.chronodb.exodus.secondaryindex.stores.*
 import org.chronos.chronodb.exodus.transaction.ExodusTransaction
 import org.chronos.chronodb.internal.api.Period
 import org.chronos.chronodb.internal.api.index.IndexManagerBackend
+import org.chronos.chronodb.internal.api.index.IndexStatistics
+import org.chronos.chronodb.internal.api.query.BitmapExpression
 import org.chronos.chronodb.internal.api.query.searchspec.SearchSpecification
 import org.chronos.chronodb.internal.impl.index.diff.IndexValueDiff
 import org.chronos.chronodb.internal.impl.index.diff.IndexingUtils
@@ -26,6 +36,8 @@ import org.chronos.chronodb.internal.impl.temporal.UnqualifiedTemporalKey
 import org.chronos.chronodb.internal.util.MultiMapUtil
 import org.chronos.common.logging.ChronoLogger
 import java.nio.file.Files
+import java.util.concurrent.*
+import java.util.concurrent.atomic.AtomicBoolean
 import kotlin.reflect.KClass
 
 class ExodusIndexManagerBackend : IndexManagerBackend {
@@ -36,6 +48,15 @@ class ExodusIndexManagerBackend : IndexManagerBackend {
 
     companion object {
         private const val REINDEX_FLUSH_INTERVAL = 25_000
+        /** The number of index modifications which the reader of a chunk hands over to its writer at once. */
+        private const val REINDEX_PIPELINE_BATCH_SIZE = 1_000
+        /** The number of batches which may wait for the writer of a chunk before the reader is blocked. */
+        private const val REINDEX_PIPELINE_CAPACITY = 16
+        private const val REINDEX_PIPELINE_POLL_MILLIS = 10L
+        /** The number of environments kept open by a single re-indexing worker (global, chunk data and chunk index). */
+        private const val ENVIRONMENTS_PER_REINDEX_WORKER = 3
+        /** The number of index modifications which an online index build writes per transaction. Small transactions keep the waiting times of concurrent commits short. */
+        private const val ONLINE_REINDEX_TRANSACTION_SIZE = 1_000
     }
 
 
@@ -44,6 +65,9 @@ class ExodusIndexManagerBackend : IndexManagerBackend {
     // =================================================================================================================
 
     private val owningDB: ExodusChronoDB
+    private val rebuildListeners = CopyOnWriteArrayList<IndexRebuildListener>()
+
+    val rebuildProgress = IndexRebuildProgress()
 
     // =================================================================================================================
     // CONSTRUCTOR
@@ -51,6 +75,7 @@ class ExodusIndexManagerBackend : IndexManagerBackend {
 
     constructor(owningDB: ExodusChronoDB) {
         this.owningDB = owningDB
+        this.rebuildListeners.add(this.rebuildProgress)
     }
 
     // =================================================================================================================
@@ -113,6 +138,33 @@ class ExodusIndexManagerBackend : IndexManagerBackend {
         }
     }
 
+    override fun loadIndexEncodings(): Map<String, IndexEncoding> {
+        return this.owningDB.globalChunkManager.openReadOnlyTransactionOnGlobalEnvironment().use { tx ->
+            tx.withCursorOn(ChronoDBStoreLayout.STORE_NAME__INDEX_ENCODINGS) { cursor ->
+                val encodings = mutableMapOf<String, IndexEncoding>()
+                while (cursor.next) {
+                    encodings[cursor.key.parseAsString()] = IndexEncoding.valueOf(cursor.value.parseAsString())
+                }
+                encodings
+            }
+        }
+    }
+
+    override fun persistIndexEncodings(indexNameToEncoding: Map<String, IndexEncoding>) {
+        this.owningDB.globalChunkManager.openReadWriteTransactionOnGlobalEnvironment().use { tx ->
+            val storeName = ChronoDBStoreLayout.STORE_NAME__INDEX_ENCODINGS
+            tx.withCursorOn(storeName) { cursor ->
+                while (cursor.next) {
+                    cursor.deleteCurrent()
+                }
+            }
+            indexNameToEncoding.forEach { (indexName, encoding) ->
+                tx.put(storeName, indexName, encoding.name.toByteIterable())
+            }
+            tx.commit()
+        }
+    }
+
     override fun rollback(branches: Set<String>, timestamp: Long) {
         requireNonNegative(timestamp, "timestamp")
         this.rollbackInternal(branches, timestamp, null)
@@ -141,18 +193,21 @@ class ExodusIndexManagerBackend : IndexManagerBackend {
                             is StringIndexer -> {
                                 if (!rolledBackIndices.contains(Pair(indexName, String::class))) {
                                     SecondaryStringIndexStore.rollback(tx, indexName, timestamp, keys)
+                                    ExodusChunkIndex.resetBitmaps(tx, indexName, String::class, timestamp)
                                     rolledBackIndices.add(indexName to String::class)
                                 }
                             }
                             is DoubleIndexer -> {
                                 if (!rolledBackIndices.contains(Pair(indexName, Double::class))) {
                                     SecondaryDoubleIndexStore.rollback(tx, indexName, timestamp, keys)
+                                    ExodusChunkIndex.resetBitmaps(tx, indexName, Double::class, timestamp)
                                     rolledBackIndices.add(indexName to Double::class)
                                 }
                             }
                             is LongIndexer -> {
                                 if (!rolledBackIndices.contains(Pair(indexName, Long::class))) {
                                     SecondaryLongIndexStore.rollback(tx, indexName, timestamp, keys)
+                                    ExodusChunkIndex.resetBitmaps(tx, indexName, Long::class, timestamp)
                                     rolledBackIndices.add(Pair(indexName, Long::class))
                                 }
                             }
@@ -167,16 +222,51 @@ class ExodusIndexManagerBackend : IndexManagerBackend {
         }
     }
 
+    fun addRebuildListener(listener: IndexRebuildListener) {
+        this.rebuildListeners.add(listener)
+    }
+
+    fun removeRebuildListener(listener: IndexRebuildListener) {
+        this.rebuildListeners.remove(listener)
+    }
+
+    /**
+     * Rebuilds the secondary indices of all chunks of all branches.
+     *
+     * Chunks are independent of each other (each one has its own index environment), so they are re-indexed in
+     * parallel (see [ExodusChronoDBConfiguration.INDEX_REBUILD_PARALLELISM]). Completed chunks are recorded in the
+     * [IndexRebuildJournal]; if the rebuild is interrupted, the next rebuild only processes the remaining chunks.
+     */
     fun rebuildIndexOnAllChunks() {
         val gcm = this.owningDB.globalChunkManager
-        // iterate over all branches
-        for (branch in this.owningDB.branchManager.branches) {
-            val branchChunkManager = gcm.getOrCreateChunkManagerForBranch(branch)
-            // iterate over all chunks
-            val chunks = branchChunkManager.getChunksForPeriod(Period.createOpenEndedRange(0))
-            for (chunk in chunks) {
-                this.rebuildIndexForChunk(chunk)
+        val chunks = this.owningDB.branchManager.branches.flatMap { branch ->
+            gcm.getOrCreateChunkManagerForBranch(branch).getChunksForPeriod(Period.createOpenEndedRange(0))
+        }
+        val indexers = MultiMapUtil.copyToMultimap(this.owningDB.indexManager.indexersByIndexName)
+        // resume the previous rebuild (if it has been interrupted)
+        val completedChunkIds = gcm.openReadWriteTransactionOnGlobalEnvironment().use { tx ->
+            val completed = IndexRebuildJournal.begin(tx, this.getIndexersSerialForm(tx) ?: ByteArray(0))
+            tx.commit()
+            completed
+        }
+        val pendingChunks = chunks.filter { IndexRebuildJournal.chunkId(it.branchName, it.sequenceNumber) !in completedChunkIds }
+        this.rebuildListeners.forEach { it.rebuildStarted(chunks.size, chunks.size - pendingChunks.size) }
+        var successful = false
+        try {
+            // delta chunks look up the predecessors of their entries in the origin branch. This requires
+            // the database lock which is held by the calling thread, so we process them right here.
+            val (deltaChunks, independentChunks) = pendingChunks.partition { this.isBranchDeltaChunk(it) }
+            for (chunk in deltaChunks) {
+                this.rebuildIndexForChunkAndRecordProgress(chunk, indexers, null)
             }
+            this.rebuildIndexForChunksInParallel(independentChunks, indexers)
+            gcm.openReadWriteTransactionOnGlobalEnvironment().use { tx ->
+                IndexRebuildJournal.clear(tx)
+                tx.commit()
+            }
+            successful = true
+        } finally {
+            this.rebuildListeners.forEach { it.rebuildFinished(successful) }
         }
     }
 
@@ -194,13 +284,94 @@ class ExodusIndexManagerBackend : IndexManagerBackend {
             val branchingTimestamp = this.owningDB.branchManager.getBranch(branchName).branchingTimestamp
             val lowerBound = Math.max(branchingTimestamp, chunk.validPeriod.lowerBound)
             gcm.openReadWriteTransactionOn(chunk.indexDirectory).use { tx ->
-                ExodusChunkIndex.applyModifications(tx, modifications, lowerBound)
+                ExodusChunkIndex.applyModifications(tx, modifications, lowerBound, this.owningDB.configuration.stringIndexTrigramsEnabled, this.owningDB.indexManager.bitmapIndexNames)
                 tx.commit()
             }
         }
     }
 
-    fun <T> performSearch(timestamp: Long, branch: Branch, keyspace: String, searchSpec: SearchSpecification<T, *>): Set<String> {
+    /**
+     * Indexes the entries of the given chunk which have been written within the given time window.
+     *
+     * This is the building block of online index builds. In contrast to a regular rebuild, it only touches the stores
+     * of the given indices, and it writes the index in a series of short transactions. Concurrent commits can therefore
+     * keep updating the other indices of the chunk in the meantime. The chunk itself is read from a single read-only
+     * transaction, i.e. from a snapshot which is not affected by the commits which happen while the chunk is indexed.
+     *
+     * @param chunk The chunk to index.
+     * @param indexers The indexers to evaluate. Only the indices of these indexers are written.
+     * @param fromExclusive The entries written at or before this timestamp have already been indexed. Use -1 to index the chunk from scratch; the existing entries of the given indices are deleted in this case.
+     * @param toInclusive The entries written after this timestamp are ignored.
+     * @param checkCancelled Invoked before each index transaction; may throw an exception in order to abort the process.
+     * @return The number of primary index entries within the time window.
+     */
+    fun indexChunkEntries(chunk: ChronoChunk, indexers: SetMultimap<String, Indexer<*>>, fromExclusive: Long, toInclusive: Long, checkCancelled: () -> Unit = {}): Long {
+        val gcm = this.owningDB.globalChunkManager
+        if (fromExclusive < 0) {
+            // note: this has to happen in a dedicated transaction, see rebuildIndexForChunk(...)
+            gcm.openReadWriteTransactionOn(chunk.indexDirectory).use { indexTx ->
+                this.truncateChunkIndex(indexTx, indexers.keySet())
+                indexTx.commit()
+            }
+        }
+        if (!chunk.indexDirectory.exists()) {
+            Files.createDirectory(chunk.indexDirectory.toPath())
+        }
+        val branchName = chunk.branchName
+        val isDeltaChunk = this.isBranchDeltaChunk(chunk)
+        val branchingTimestamp = this.owningDB.branchManager.getBranch(branchName).branchingTimestamp
+        val lowerBound = Math.max(branchingTimestamp, chunk.validPeriod.lowerBound)
+        val trigramsEnabled = this.owningDB.configuration.stringIndexTrigramsEnabled
+        val bitmapIndices = this.owningDB.indexManager.bitmapIndexNames
+        val allKeyspaceMetadata = gcm.openReadOnlyTransactionOnGlobalEnvironment().use { gTx ->
+            NavigationIndex.getKeyspaceMetadata(gTx, branchName)
+        }
+        val batch = ArrayList<ExodusIndexModifications>(ONLINE_REINDEX_TRANSACTION_SIZE)
+        val writeBatch = {
+            if (batch.isNotEmpty()) {
+                checkCancelled()
+                gcm.openReadWriteTransactionOn(chunk.indexDirectory).use { indexTx ->
+                    batch.forEach { ExodusChunkIndex.applyModifications(indexTx, it, lowerBound, trigramsEnabled, bitmapIndices) }
+                    indexTx.commit()
+                }
+                batch.clear()
+            }
+        }
+        var indexedEntries = 0L
+        gcm.openReadOnlyTransactionOn(chunk).use { chunkTx ->
+            for (keyspaceMetadata in allKeyspaceMetadata) {
+                if (!chunk.validPeriod.overlaps(Period.createOpenEndedRange(keyspaceMetadata.creationTimestamp))) {
+                    // the keyspace was created after the period of this chunk; skip it
+                    continue
+                }
+                chunkTx.withCursorOn(keyspaceMetadata.matrixTableName) { cursor ->
+                    performReindexing(cursor, branchName, keyspaceMetadata.keyspaceName, isDeltaChunk, indexers, fromExclusive, toInclusive) { indexModifications ->
+                        indexedEntries++
+                        if (indexModifications.isNotEmpty) {
+                            batch.add(indexModifications)
+                            if (batch.size >= ONLINE_REINDEX_TRANSACTION_SIZE) {
+                                writeBatch()
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        writeBatch()
+        return indexedEntries
+    }
+
+    /**
+     * Searches the secondary index for keys which match the given search specification.
+     *
+     * @param timestamp The timestamp to search at. Must not be negative.
+     * @param branch The branch to search in.
+     * @param keyspace The keyspace to search in.
+     * @param searchSpec The search specification to evaluate.
+     * @param maxResults The number of matches after which the search may stop. The result contains at least this many keys, unless there are fewer matches. Use [Int.MAX_VALUE] (default) to get all matches. Only searches which are answered by a single chunk can stop early.
+     * @return The set of matching keys.
+     */
+    fun <T> performSearch(timestamp: Long, branch: Branch, keyspace: String, searchSpec: SearchSpecification<T, *>, maxResults: Int = Int.MAX_VALUE): Set<String> {
         requireNonNegative(timestamp, "timestamp")
         val gcm = this.owningDB.globalChunkManager
         val branches = Lists.newArrayList(branch.originsRecursive)
@@ -272,7 +443,7 @@ class ExodusIndexManagerBackend : IndexManagerBackend {
             if (branches.size == 1) {
                 // only master branch, no need to do all the magic...
                 val result = gcm.openReadOnlyTransactionOn(chunk.indexDirectory).use { tx ->
-                    ExodusChunkIndex.scanForResults(tx, scanTimestamp, keyspace, searchSpec)
+                    ExodusChunkIndex.scanForResults(tx, scanTimestamp, keyspace, searchSpec, maxResults)
                 }
                 val set = Sets.newHashSetWithExpectedSize<String>(result.size)
                 for (entry in result) {
@@ -291,6 +462,184 @@ class ExodusIndexManagerBackend : IndexManagerBackend {
         return resultMap.keySet()
     }
 
+    /**
+     * Scans the given long index in the order of its values.
+     *
+     * Like [performBitmapSearch], this is restricted to branches without origins, because the entries of the origin
+     * branches would have to be merged into the scan.
+     *
+     * @param timestamp The timestamp to scan at. Must not be negative.
+     * @param branch The branch to scan.
+     * @param keyspace The keyspace to scan.
+     * @param indexName The name of the index to scan. Must be a long index.
+     * @param order The scan order.
+     * @param maxResults The number of distinct keys after which the scan stops.
+     * @return The distinct keys in scan order (see [SecondaryLongIndexStore.scanOrdered]), or `null` if the branch has origins.
+     */
+    fun performOrderedLongScan(timestamp: Long, branch: Branch, keyspace: String, indexName: String, order: Order, maxResults: Int): List<String>? {
+        requireNonNegative(timestamp, "timestamp")
+        if (branch.origin != null) {
+            return null
+        }
+        val gcm = this.owningDB.globalChunkManager
+        val chunk = gcm.getChunkManagerForBranch(branch.name).getChunkForTimestamp(timestamp) ?: return emptyList()
+        return gcm.openReadOnlyTransactionOn(chunk.indexDirectory).use { tx ->
+            SecondaryLongIndexStore.scanOrdered(tx, indexName, keyspace, timestamp, order, maxResults)
+        }
+    }
+
+    /**
+     * Collects the distinct values of the given index by iterating over the entries of the index stores.
+     *
+     * Unlike [performOrderedLongScan], this works on child branches as well: the entries of the origin branches are
+     * collected first (at the time of branching out), and the terminations recorded by the child branches are
+     * subtracted from them. The primary stores are never touched.
+     *
+     * @param timestamp The timestamp to scan at. Must not be negative.
+     * @param branch The branch to scan.
+     * @param keyspace The keyspace to scan.
+     * @param indexName The name of the index to scan.
+     * @param type The type of the index values.
+     * @param keys The primary keys to consider, or `null` to consider all keys.
+     * @return The distinct index values of the given keys.
+     */
+    fun <T : Any> performDistinctValueScan(timestamp: Long, branch: Branch, keyspace: String, indexName: String, type: KClass<T>, keys: Set<String>?): Set<T> {
+        requireNonNegative(timestamp, "timestamp")
+        val gcm = this.owningDB.globalChunkManager
+        val branches = Lists.newArrayList(branch.originsRecursive)
+        branches.add(branch)
+        val valuesByKey = HashMultimap.create<String, T>()
+        for (i in branches.indices) {
+            val currentBranch = branches[i]
+            // for origin branches, only the state at the time of branching out is relevant
+            val scanTimestamp = if (currentBranch == branch) timestamp else Math.min(timestamp, branches[i + 1].branchingTimestamp)
+            if (scanTimestamp < currentBranch.branchingTimestamp) {
+                break
+            }
+            val chunk = gcm.getChunkManagerForBranch(currentBranch.name).getChunkForTimestamp(scanTimestamp) ?: continue
+            gcm.openReadOnlyTransactionOn(chunk.indexDirectory).use { tx ->
+                ExodusChunkIndex.allEntries(tx, keyspace, indexName, type) { _, primaryKey, indexedValue, validityPeriods ->
+                    if (keys != null && !keys.contains(primaryKey)) {
+                        return@allEntries
+                    }
+                    if (validityPeriods.any { it.contains(scanTimestamp) }) {
+                        valuesByKey.put(primaryKey, indexedValue)
+                    } else if (validityPeriods.any { it.upperBound <= scanTimestamp }) {
+                        // the entry has been terminated (possibly in this branch, for an entry of an origin branch)
+                        valuesByKey.remove(primaryKey, indexedValue)
+                    }
+                }
+            }
+        }
+        return valuesByKey.values().toSet()
+    }
+
+    /**
+     * Evaluates the given expression on the bitmap stores of its indices.
+     *
+     * The bitmap stores of a chunk only contain the state of the chunk's own branch. Combining them with the entries
+     * of the origin branches would require the regular index stores anyway, so only branches without origins are
+     * supported.
+     *
+     * @param timestamp The timestamp to search at. Must not be negative.
+     * @param branch The branch to search in.
+     * @param keyspace The keyspace to search in.
+     * @param expression The expression to evaluate.
+     * @return The set of matching keys, or `null` if the expression can't be evaluated on the bitmap stores.
+     */
+    fun performBitmapSearch(timestamp: Long, branch: Branch, keyspace: String, expression: BitmapExpression): Set<String>? {
+        requireNonNegative(timestamp, "timestamp")
+        if (branch.origin != null) {
+            return null
+        }
+        val gcm = this.owningDB.globalChunkManager
+        val chunk = gcm.getChunkManagerForBranch(branch.name).getChunkForTimestamp(timestamp) ?: return null
+        return gcm.openReadOnlyTransactionOn(chunk.indexDirectory).use { tx ->
+            ExodusChunkIndex.scanBitmaps(tx, timestamp, keyspace, expression)
+        }
+    }
+
+    /**
+     * Counts the keys which match the given expression on the bitmap stores of its indices.
+     *
+     * Like [performBitmapSearch], this is restricted to branches without origins.
+     *
+     * @param timestamp The timestamp to search at. Must not be negative.
+     * @param branch The branch to search in.
+     * @param keyspace The keyspace to search in.
+     * @param expression The expression to evaluate.
+     * @return The number of matching keys, or `null` if the expression can't be evaluated on the bitmap stores.
+     */
+    fun performBitmapCount(timestamp: Long, branch: Branch, keyspace: String, expression: BitmapExpression): Long? {
+        requireNonNegative(timestamp, "timestamp")
+        if (branch.origin != null) {
+            return null
+        }
+        val gcm = this.owningDB.globalChunkManager
+        val chunk = gcm.getChunkManagerForBranch(branch.name).getChunkForTimestamp(timestamp) ?: return null
+        return gcm.openReadOnlyTransactionOn(chunk.indexDirectory).use { tx ->
+            ExodusChunkIndex.countBitmaps(tx, timestamp, keyspace, expression)
+        }
+    }
+
+    /**
+     * Counts the keys which match the given search specification, without collecting them.
+     *
+     * Like [performBitmapSearch], this is restricted to branches without origins: the matches of the origin branches
+     * would have to be collected in order to subtract the terminations recorded by the child branch.
+     *
+     * @param timestamp The timestamp to search at. Must not be negative.
+     * @param branch The branch to search in.
+     * @param keyspace The keyspace to search in.
+     * @param searchSpec The search specification to evaluate.
+     * @return The number of matching keys, or `null` if they can't be counted directly (see [ExodusChunkIndex.countResults]).
+     */
+    fun performCount(timestamp: Long, branch: Branch, keyspace: String, searchSpec: SearchSpecification<*, *>): Long? {
+        requireNonNegative(timestamp, "timestamp")
+        if (branch.origin != null) {
+            return null
+        }
+        val gcm = this.owningDB.globalChunkManager
+        val chunk = gcm.getChunkManagerForBranch(branch.name).getChunkForTimestamp(timestamp) ?: return 0
+        return gcm.openReadOnlyTransactionOn(chunk.indexDirectory).use { tx ->
+            ExodusChunkIndex.countResults(tx, timestamp, keyspace, searchSpec)
+        }
+    }
+
+    /**
+     * Returns the statistics of the given index, as visible from the given branch at the given timestamp.
+     *
+     * The statistics of the branch are combined with the statistics of its origin branches, because queries on
+     * the branch have to consider the index entries of its origins as well.
+     *
+     * @param timestamp The timestamp at which to get the statistics. Must not be negative.
+     * @param branch The branch to get the statistics for.
+     * @param keyspace The keyspace of the index.
+     * @param indexName The name of the index.
+     * @return The statistics, or `null` if they are not available (e.g. because the index was created before statistics were supported).
+     */
+    fun getIndexStatistics(timestamp: Long, branch: Branch, keyspace: String, indexName: String): IndexStatistics? {
+        requireNonNegative(timestamp, "timestamp")
+        val gcm = this.owningDB.globalChunkManager
+        val branches = Lists.newArrayList(branch.originsRecursive)
+        branches.add(branch)
+        var result: IndexStatistics? = null
+        for (i in branches.indices) {
+            val currentBranch = branches[i]
+            // for origin branches, only the state at the time of branching out is relevant
+            val scanTimestamp = if (currentBranch == branch) timestamp else Math.min(timestamp, branches[i + 1].branchingTimestamp)
+            if (scanTimestamp < currentBranch.branchingTimestamp) {
+                break
+            }
+            val chunk = gcm.getChunkManagerForBranch(currentBranch.name).getChunkForTimestamp(scanTimestamp) ?: continue
+            val statistics = gcm.openReadOnlyTransactionOn(chunk.indexDirectory).use { tx ->
+                IndexStatisticsStore.get(tx, indexName, keyspace)
+            } ?: continue
+            result = result?.plus(statistics) ?: statistics
+        }
+        return result
+    }
+
     fun <T : Any> allEntries(branch: String, keyspace: String, propertyName: String, type: KClass<T>, consumer: IndexEntryConsumer<T>) {
         val bcm = this.owningDB.globalChunkManager.getChunkManagerForBranch(branch)
         val branchChunks = bcm.getChunksForPeriod(Period.eternal())
@@ -307,15 +656,87 @@ class ExodusIndexManagerBackend : IndexManagerBackend {
     // HELPER METHODS
     // =================================================================================================================
 
-    private fun rebuildIndexForChunk(chunk: ChronoChunk) {
+    private fun rebuildIndexForChunksInParallel(chunks: List<ChronoChunk>, indexers: SetMultimap<String, Indexer<*>>) {
+        if (chunks.isEmpty()) {
+            return
+        }
+        val configuration = this.owningDB.configuration
+        val maxWorkers = Math.max(1, configuration.keepOpenEnvironments / ENVIRONMENTS_PER_REINDEX_WORKER)
+        val parallelism = Math.max(1, Math.min(Math.min(configuration.indexRebuildParallelism, maxWorkers), chunks.size))
+        if (parallelism == 1) {
+            chunks.forEach { this.rebuildIndexForChunkAndRecordProgress(it, indexers, null) }
+            return
+        }
+        val writers = Executors.newFixedThreadPool(parallelism, ThreadFactoryBuilder().setNameFormat("ChronoDB-IndexRebuild-Writer-%d").setDaemon(true).build())
+        val readers = Executors.newFixedThreadPool(parallelism, ThreadFactoryBuilder().setNameFormat("ChronoDB-IndexRebuild-Reader-%d").setDaemon(true).build())
+        val futures = chunks.map { chunk ->
+            writers.submit(Runnable { this.rebuildIndexForChunkAndRecordProgress(chunk, indexers, readers) })
+        }
+        try {
+            for (future in futures) {
+                future.get()
+            }
+        } catch (e: ExecutionException) {
+            throw ChronoDBIndexingException("Failed to rebuild the secondary index! The rebuild will be resumed by the next attempt.", e.cause)
+        } catch (e: InterruptedException) {
+            Thread.currentThread().interrupt()
+            throw ChronoDBIndexingException("The secondary index rebuild has been interrupted! The rebuild will be resumed by the next attempt.", e)
+        } finally {
+            // don't start any further chunks, but let the running ones complete. We must not interrupt them,
+            // because an interrupt during an I/O operation may close the underlying file channels of exodus.
+            futures.forEach { it.cancel(false) }
+            writers.shutdown()
+            var interrupted = false
+            while (!writers.isTerminated) {
+                try {
+                    writers.awaitTermination(1, TimeUnit.SECONDS)
+                } catch (e: InterruptedException) {
+                    interrupted = true
+                }
+            }
+            // the writers submit the reader tasks, so the readers can only be shut down afterwards
+            readers.shutdown()
+            if (interrupted) {
+                Thread.currentThread().interrupt()
+            }
+        }
+    }
+
+    private fun rebuildIndexForChunkAndRecordProgress(chunk: ChronoChunk, indexers: SetMultimap<String, Indexer<*>>, evaluationExecutor: ExecutorService?) {
+        val indexedEntries = this.rebuildIndexForChunk(chunk, indexers, evaluationExecutor)
+        this.owningDB.globalChunkManager.openReadWriteTransactionOnGlobalEnvironment().use { tx ->
+            IndexRebuildJournal.markChunkCompleted(tx, IndexRebuildJournal.chunkId(chunk.branchName, chunk.sequenceNumber))
+            tx.commit()
+        }
+        this.rebuildListeners.forEach { it.chunkRebuilt(chunk.branchName, chunk.sequenceNumber, indexedEntries) }
+    }
+
+    /**
+     * Rebuilds the secondary index of a single chunk.
+     *
+     * @param chunk The chunk to re-index.
+     * @param indexers The indexers to use.
+     * @param evaluationExecutor The executor which reads and evaluates the primary data while the calling thread writes the index. If `null`, the calling thread does everything by itself.
+     * @param truncatedIndices The indices whose existing entries are deleted before the rebuild. If `null`, all data of the chunk index is deleted.
+     * @return The number of processed primary index entries.
+     */
+    private fun rebuildIndexForChunk(
+            chunk: ChronoChunk,
+            indexers: SetMultimap<String, Indexer<*>> = MultiMapUtil.copyToMultimap(this.owningDB.indexManager.indexersByIndexName),
+            evaluationExecutor: ExecutorService? = null,
+            truncatedIndices: Set<String>? = null
+    ): Long {
         val gcm = this.owningDB.globalChunkManager
-        val indexers = MultiMapUtil.copyToMultimap(this.owningDB.indexManager.indexersByIndexName)
         val isDeltaChunk = this.isBranchDeltaChunk(chunk)
 
         gcm.openReadWriteTransactionOn(chunk.indexDirectory).use { indexTx ->
             // first, truncate all data in this environment (in each store)
-            indexTx.getAllStoreNames().forEach {
-                indexTx.removeStore(it)
+            if (truncatedIndices == null) {
+                indexTx.getAllStoreNames().forEach {
+                    indexTx.removeStore(it)
+                }
+            } else {
+                this.truncateChunkIndex(indexTx, truncatedIndices)
             }
             // note: it is imperative that we COMMIT here and do not continue using
             // the same transaction. The reason is that Exodus chokes on the situation
@@ -325,10 +746,12 @@ class ExodusIndexManagerBackend : IndexManagerBackend {
             // new (potentially equally named) store.
             indexTx.commit()
         }
-        gcm.openReadWriteTransactionOn(chunk.indexDirectory).use { indexTx ->
+        return gcm.openReadWriteTransactionOn(chunk.indexDirectory).use { indexTx ->
             // then, rebuild the index
             val branchName = chunk.branchName
             val chunkPeriod = chunk.validPeriod
+            val branchingTimestamp = this.owningDB.branchManager.getBranch(branchName).branchingTimestamp
+            val writer = ReindexWriter(indexTx, branchingTimestamp)
             val allKeyspaceMetadata = gcm.openReadOnlyTransactionOnGlobalEnvironment().use { gTx ->
                 NavigationIndex.getKeyspaceMetadata(gTx, branchName)
             }
@@ -345,23 +768,84 @@ class ExodusIndexManagerBackend : IndexManagerBackend {
                 val keyspaceName = keyspaceMetadata.keyspaceName
                 val matrixName = keyspaceMetadata.matrixTableName
 
-                // access the chunk data and index it.
-                gcm.openReadOnlyTransactionOn(chunk).use { chunkTx ->
-                    // iterate over all entries
-                    chunkTx.withCursorOn(matrixName) { cursor ->
-                        performReindexing(cursor, branchName, keyspaceName, isDeltaChunk, indexers, indexTx)
+                if (evaluationExecutor != null) {
+                    this.performPipelinedReindexing(chunk, matrixName, keyspaceName, isDeltaChunk, indexers, writer, evaluationExecutor)
+                } else {
+                    // access the chunk data and index it.
+                    gcm.openReadOnlyTransactionOn(chunk).use { chunkTx ->
+                        // iterate over all entries
+                        chunkTx.withCursorOn(matrixName) { cursor ->
+                            performReindexing(cursor, branchName, keyspaceName, isDeltaChunk, indexers, consumer = writer::apply)
+                        }
                     }
                 }
             }
             indexTx.commit()
+            writer.appliedEntries
+        }
+    }
+
+    private fun performPipelinedReindexing(chunk: ChronoChunk, matrixName: String, keyspaceName: String, isDeltaChunk: Boolean, indexers: SetMultimap<String, Indexer<*>>?, writer: ReindexWriter, evaluationExecutor: ExecutorService) {
+        val queue = ArrayBlockingQueue<List<ExodusIndexModifications>>(REINDEX_PIPELINE_CAPACITY)
+        val writerStopped = AtomicBoolean(false)
+        // the reader deserializes the entries and evaluates the indexers, while
+        // this thread (which owns the index transaction) writes the results.
+        val reader = evaluationExecutor.submit(Runnable {
+            this.owningDB.globalChunkManager.openReadOnlyTransactionOn(chunk).use { chunkTx ->
+                chunkTx.withCursorOn(matrixName) { cursor ->
+                    var batch = ArrayList<ExodusIndexModifications>(REINDEX_PIPELINE_BATCH_SIZE)
+                    performReindexing(cursor, chunk.branchName, keyspaceName, isDeltaChunk, indexers) { indexModifications ->
+                        batch.add(indexModifications)
+                        if (batch.size >= REINDEX_PIPELINE_BATCH_SIZE) {
+                            this.handOverToWriter(queue, batch, writerStopped)
+                            batch = ArrayList(REINDEX_PIPELINE_BATCH_SIZE)
+                        }
+                    }
+                    if (batch.isNotEmpty()) {
+                        this.handOverToWriter(queue, batch, writerStopped)
+                    }
+                }
+            }
+        })
+        try {
+            while (true) {
+                val batch = queue.poll(REINDEX_PIPELINE_POLL_MILLIS, TimeUnit.MILLISECONDS)
+                if (batch != null) {
+                    batch.forEach(writer::apply)
+                } else if (reader.isDone && queue.isEmpty()) {
+                    break
+                }
+            }
+            // propagate the failure of the reader (if any)
+            reader.get()
+        } catch (e: ExecutionException) {
+            throw ChronoDBIndexingException("Failed to read the entries of keyspace '${keyspaceName}' in ${chunk} for re-indexing!", e.cause)
+        } finally {
+            writerStopped.set(true)
+        }
+    }
+
+    private fun handOverToWriter(queue: BlockingQueue<List<ExodusIndexModifications>>, batch: List<ExodusIndexModifications>, writerStopped: AtomicBoolean) {
+        while (!queue.offer(batch, REINDEX_PIPELINE_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+            if (writerStopped.get()) {
+                throw CancellationException("The writer has stopped, no further entries are required.")
+            }
         }
     }
 
-    private fun performReindexing(cursor: Cursor, branchName: String, keyspaceName: String, isDeltaChunk: Boolean, indexers: SetMultimap<String, Indexer<*>>?, indexTx: ExodusTransaction) {
+    private fun performReindexing(
+            cursor: Cursor,
+            branchName: String,
+            keyspaceName: String,
+            isDeltaChunk: Boolean,
+            indexers: SetMultimap<String, Indexer<*>>?,
+            fromExclusive: Long = -1,
+            toInclusive: Long = Long.MAX_VALUE,
+            consumer: (ExodusIndexModifications) -> Unit
+    ) {
         var previousKey: String? = null
         var previousValue: Any? = null
         var previousIndexValues: SetMultimap<String, Any>? = null
-        var batchSize = 0
         // Important note: due to the way the primary index keys are
         // constructed, the following iteration order is ALWAYS employed:
         // - First, by user key ascending,
@@ -370,7 +854,20 @@ class ExodusIndexManagerBackend : IndexManagerBackend {
         // one another. We make heavy use of this fact in the loop below.
         while (cursor.next) {
             val tKey = cursor.key.parseAsUnqualifiedTemporalKey()
+            if (tKey.timestamp > toInclusive) {
+                // this entry is outside of our time window (and so are the
+                // following versions of the same key); ignore it.
+                continue
+            }
             val value = deserialize(cursor.value)
+            if (tKey.timestamp <= fromExclusive) {
+                // this entry has been indexed before; we only need to
+                // remember it as the predecessor of the next version.
+                previousIndexValues = value?.let { IndexingUtils.getIndexedValuesForObject(indexers, it) }
+                previousKey = tKey.key
+                previousValue = value
+                continue
+            }
             val indexModifications = ExodusIndexModifications(tKey.timestamp)
             if (value == null) {
                 // deletion
@@ -427,18 +924,11 @@ class ExodusIndexManagerBackend : IndexManagerBackend {
                 applyIndexingDiffToModifications(indexingDiff, indexModifications, branchName, keyspaceName, tKey)
                 previousIndexValues = indexValues
             }
-            val branchingTimestamp = this.owningDB.branchManager.getBranch(branchName).branchingTimestamp
             // apply the index modifications
-            ExodusChunkIndex.applyModifications(indexTx, indexModifications, branchingTimestamp)
+            consumer(indexModifications)
             // remember the results of this iteration (for use in the next iteration)
             previousKey = tKey.key
             previousValue = value
-            batchSize++
-            if (batchSize >= REINDEX_FLUSH_INTERVAL) {
-                // flush our changes to disk (but do NOT commit yet!)
-                indexTx.flush()
-                batchSize = 0
-            }
         }
     }
 
@@ -490,26 +980,34 @@ class ExodusIndexManagerBackend : IndexManagerBackend {
             val bcm = gcm.getChunkManagerForBranch(branch)
             bcm.getChunksForPeriod(Period.eternal()).forEach { chunk ->
                 gcm.openReadWriteTransactionOn(chunk.indexDirectory).use { tx ->
-                    tx.getAllStoreNames().forEach { storeName ->
-                        val stringIndexName = SecondaryStringIndexStore.getIndexNameForStoreName(storeName)
-                        val longIndexName = SecondaryLongIndexStore.getIndexNameForStoreName(storeName)
-                        val doubleIndexName = SecondaryDoubleIndexStore.getIndexNameForStoreName(storeName)
-                        if (stringIndexName != null && stringIndexName in indices) {
-                            tx.removeStore(storeName)
-                        } else {
-                            if (longIndexName != null && longIndexName in indices) {
-                                tx.removeStore(storeName)
-                            } else if (doubleIndexName != null && doubleIndexName in indices) {
-                                tx.removeStore(storeName)
-                            }
-                        }
-                    }
+                    this.truncateChunkIndex(tx, indices)
                     tx.commit()
                 }
             }
         }
     }
 
+    private fun truncateChunkIndex(tx: ExodusTransaction, indices: Set<String>) {
+        tx.getAllStoreNames().forEach { storeName ->
+            val stringIndexName = SecondaryStringIndexStore.getIndexNameForStoreName(storeName)
+            val longIndexName = SecondaryLongIndexStore.getIndexNameForStoreName(storeName)
+            val doubleIndexName = SecondaryDoubleIndexStore.getIndexNameForStoreName(storeName)
+            val bitmapIndexName = BitmapIndexStore.getIndexNameForStoreName(storeName)
+            if (stringIndexName != null && stringIndexName in indices) {
+                tx.removeStore(storeName)
+            } else {
+                if (longIndexName != null && longIndexName in indices) {
+                    tx.removeStore(storeName)
+                } else if (doubleIndexName != null && doubleIndexName in indices) {
+                    tx.removeStore(storeName)
+                } else if (bitmapIndexName != null && bitmapIndexName in indices) {
+                    tx.removeStore(storeName)
+                }
+            }
+        }
+        IndexStatisticsStore.delete(tx, indices)
+    }
+
     private fun deleteAllChunkIndices() {
         val gcm = this.owningDB.globalChunkManager
         this.owningDB.branchManager.branchNames.forEach { branch ->
@@ -603,11 +1101,53 @@ class ExodusIndexManagerBackend : IndexManagerBackend {
         tx.put(indexName, key, serialForm.toByteIterable())
     }
 
-    fun rebuildIndexOnHeadChunk(branchName: String) {
+    /**
+     * Rebuilds the secondary indices of the head chunk of the given branch.
+     *
+     * @param branchName The name of the branch to rebuild.
+     * @param excludedIndices The indices which must not be touched, because they are maintained by an online index build. May be empty.
+     */
+    fun rebuildIndexOnHeadChunk(branchName: String, excludedIndices: Set<String> = emptySet()) {
         val branch = this.owningDB.branchManager.getBranch(branchName)
         val branchChunkManager = this.owningDB.globalChunkManager.getOrCreateChunkManagerForBranch(branch)
-        this.rebuildIndexForChunk(branchChunkManager.headChunk)
+        if (excludedIndices.isEmpty()) {
+            this.rebuildIndexForChunk(branchChunkManager.headChunk)
+        } else {
+            val indexers = MultiMapUtil.copyToMultimap(this.owningDB.indexManager.indexersByIndexName)
+            excludedIndices.forEach { indexers.removeAll(it) }
+            this.rebuildIndexForChunk(branchChunkManager.headChunk, indexers, truncatedIndices = indexers.keySet())
+        }
     }
 
+    // =================================================================================================================
+    // INNER CLASSES
+    // =================================================================================================================
+
+    /**
+     * Applies the index modifications produced during a rebuild to the index transaction of a chunk.
+     *
+     * The transaction is flushed (but not committed) periodically to keep the memory consumption in check.
+     */
+    private inner class ReindexWriter(private val indexTx: ExodusTransaction, private val branchingTimestamp: Long) {
+
+        private val trigramsEnabled = this@ExodusIndexManagerBackend.owningDB.configuration.stringIndexTrigramsEnabled
+        private val bitmapIndices = this@ExodusIndexManagerBackend.owningDB.indexManager.bitmapIndexNames
+        private var unflushedEntries = 0
+
+        var appliedEntries = 0L
+            private set
+
+        fun apply(indexModifications: ExodusIndexModifications) {
+            ExodusChunkIndex.applyModifications(this.indexTx, indexModifications, this.branchingTimestamp, this.trigramsEnabled, this.bitmapIndices)
+            this.appliedEntries++
+            this.unflushedEntries++
+            if (this.unflushedEntries >= REINDEX_FLUSH_INTERVAL) {
+                // flush our changes to disk (but do NOT commit yet!)
+                this.indexTx.flush()
+                this.unflushedEntries = 0
+            }
+        }
+
+    }
 
 }
@@ -0,0 +1,105 @@
+package org.chronos.chronodb.exodus.secondaryindex.rebuild
+
+import org.chronos.chronodb.exodus.kotlin.ext.parseAsString
+import org.chronos.chronodb.exodus.kotlin.ext.toByteArray
+import org.chronos.chronodb.exodus.kotlin.ext.toByteIterable
+import org.chronos.chronodb.exodus.layout.ChronoDBStoreLayout
+import org.chronos.chronodb.exodus.transaction.ExodusTransaction
+
+/**
+ * Remembers which chunks have already been re-indexed by a rebuild of the secondary indices.
+ *
+ * The journal lives in the global environment. It is created when a rebuild starts and cleared when it completes
+ * successfully. If a rebuild is interrupted (e.g. by a crash), the next rebuild resumes the journal and skips the chunks
+ * which have already been completed - provided that the indexers have not changed in the meantime.
+ */
+object IndexRebuildJournal {
+
+    // =================================================================================================================
+    // CONSTANTS
+    // =================================================================================================================
+
+    private const val STORE_NAME = ChronoDBStoreLayout.STORE_NAME__INDEX_REBUILD_JOURNAL
+
+    private const val KEY__INDEXERS = "indexers"
+
+    private const val KEY_PREFIX__CHUNK = "chunk/"
+
+    // =================================================================================================================
+    // PUBLIC API
+    // =================================================================================================================
+
+    /**
+     * Starts a new rebuild, or resumes the previous one if it has been interrupted.
+     *
+     * @param tx The transaction on the global environment. Must not be read-only. Needs to be committed by the caller.
+     * @param indexersSerialForm The serial form of the current indexers. A journal which has been written for different indexers is discarded.
+     * @return The IDs (see [chunkId]) of the chunks which have already been rebuilt. May be empty.
+     */
+    fun begin(tx: ExodusTransaction, indexersSerialForm: ByteArray): Set<String> {
+        if (tx.storeExists(STORE_NAME)) {
+            val journalIndexers = tx.get(STORE_NAME, KEY__INDEXERS)?.toByteArray()
+            if (journalIndexers != null && journalIndexers.contentEquals(indexersSerialForm)) {
+                // resume the previous rebuild
+                return this.getKeys(tx)
+                        .filter { it.startsWith(KEY_PREFIX__CHUNK) }
+                        .map { it.removePrefix(KEY_PREFIX__CHUNK) }
+                        .toSet()
+            }
+            // the journal belongs to different indexers; all chunks have to be rebuilt
+            this.clear(tx)
+        }
+        tx.put(STORE_NAME, KEY__INDEXERS, indexersSerialForm.toByteIterable())
+        return emptySet()
+    }
+
+    /**
+     * Records that the given chunk has been rebuilt.
+     *
+     * @param tx The transaction on the global environment. Must not be read-only. Needs to be committed by the caller.
+     * @param chunkId The ID of the chunk, as produced by [chunkId].
+     */
+    fun markChunkCompleted(tx: ExodusTransaction, chunkId: String) {
+        tx.put(STORE_NAME, KEY_PREFIX__CHUNK + chunkId, ByteArray(0).toByteIterable())
+    }
+
+    /**
+     * Clears the journal, i.e. the next rebuild will start from scratch.
+     *
+     * @param tx The transaction on the global environment. Must not be read-only. Needs to be committed by the caller.
+     */
+    fun clear(tx: ExodusTransaction) {
+        if (!tx.storeExists(STORE_NAME)) {
+            return
+        }
+        // note: we delete the entries rather than the store, because exodus does not
+        // cope well with removing and re-creating a store in the same transaction.
+        this.getKeys(tx).forEach { tx.delete(STORE_NAME, it) }
+    }
+
+    /**
+     * Creates the journal ID of a chunk.
+     *
+     * @param branchName The name of the branch which owns the chunk.
+     * @param sequenceNumber The sequence number of the chunk.
+     * @return The ID of the chunk.
+     */
+    fun chunkId(branchName: String, sequenceNumber: Long): String {
+        return "${sequenceNumber}/${branchName}"
+    }
+
+    // =================================================================================================================
+    // HELPER METHODS
+    // =================================================================================================================
+
+    private fun getKeys(tx: ExodusTransaction): List<String> {
+        return tx.withCursorOn(STORE_NAME) { cursor ->
+            val keys = mutableListOf<String>()
+            while (cursor.next) {
+                keys += cursor.key.parseAsString()
+            }
+            keys
+        }
+    }
+
+}
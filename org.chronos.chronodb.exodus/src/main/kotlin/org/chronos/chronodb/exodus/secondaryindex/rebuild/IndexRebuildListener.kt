@@ -0,0 +1,34 @@
+package org.chronos.chronodb.exodus.secondaryindex.rebuild
+
+/**
+ * Receives progress notifications while the secondary indices are being rebuilt.
+ *
+ * Notifications may be delivered concurrently from several worker threads; implementations must be thread-safe.
+ */
+interface IndexRebuildListener {
+
+    /**
+     * Called once before the first chunk is rebuilt.
+     *
+     * @param totalChunks The total number of chunks in the database.
+     * @param resumedChunks The number of chunks which have already been rebuilt by a previous, interrupted run and will therefore be skipped.
+     */
+    fun rebuildStarted(totalChunks: Int, resumedChunks: Int) {}
+
+    /**
+     * Called whenever the index of a chunk has been rebuilt and committed.
+     *
+     * @param branchName The name of the branch which owns the chunk.
+     * @param sequenceNumber The sequence number of the chunk within its branch.
+     * @param indexedEntries The number of primary index entries which have been processed for the chunk.
+     */
+    fun chunkRebuilt(branchName: String, sequenceNumber: Long, indexedEntries: Long) {}
+
+    /**
+     * Called once after the rebuild has ended.
+     *
+     * @param successful `true` if all chunks have been rebuilt, `false` if the rebuild failed or has been interrupted. An unsuccessful rebuild can be resumed by starting a new one.
+     */
+    fun rebuildFinished(successful: Boolean) {}
+
+}
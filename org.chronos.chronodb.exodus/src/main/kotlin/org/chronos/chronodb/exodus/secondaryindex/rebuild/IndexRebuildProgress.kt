@@ -0,0 +1,82 @@
+package org.chronos.chronodb.exodus.secondaryindex.rebuild
+
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Tracks the progress of the current (or most recent) secondary index rebuild.
+ *
+ * The values are exposed via JMX if the MBean integration is enabled in the configuration.
+ */
+class IndexRebuildProgress : IndexRebuildListener, IndexRebuildProgressMBean {
+
+    // =================================================================================================================
+    // FIELDS
+    // =================================================================================================================
+
+    private val running = AtomicBoolean(false)
+    private val total = AtomicInteger(0)
+    private val resumed = AtomicInteger(0)
+    private val rebuilt = AtomicInteger(0)
+    private val entries = AtomicLong(0)
+    private val startTime = AtomicLong(0)
+    private val endTime = AtomicLong(0)
+
+    // =================================================================================================================
+    // PUBLIC API
+    // =================================================================================================================
+
+    override val isRunning: Boolean
+        get() = this.running.get()
+
+    override val totalChunks: Int
+        get() = this.total.get()
+
+    override val resumedChunks: Int
+        get() = this.resumed.get()
+
+    override val rebuiltChunks: Int
+        get() = this.rebuilt.get()
+
+    override val indexedEntries: Long
+        get() = this.entries.get()
+
+    override val elapsedMillis: Long
+        get() {
+            val start = this.startTime.get()
+            if (start <= 0) {
+                return 0
+            }
+            val end = if (this.running.get()) System.currentTimeMillis() else this.endTime.get()
+            return Math.max(0, end - start)
+        }
+
+    // =================================================================================================================
+    // LISTENER METHODS
+    // =================================================================================================================
+
+    override fun rebuildStarted(totalChunks: Int, resumedChunks: Int) {
+        this.total.set(totalChunks)
+        this.resumed.set(resumedChunks)
+        this.rebuilt.set(0)
+        this.entries.set(0)
+        this.startTime.set(System.currentTimeMillis())
+        this.running.set(true)
+    }
+
+    override fun chunkRebuilt(branchName: String, sequenceNumber: Long, indexedEntries: Long) {
+        this.rebuilt.incrementAndGet()
+        this.entries.addAndGet(indexedEntries)
+    }
+
+    override fun rebuildFinished(successful: Boolean) {
+        this.endTime.set(System.currentTimeMillis())
+        this.running.set(false)
+    }
+
+    override fun toString(): String {
+        return "IndexRebuildProgress[running: ${this.isRunning}, chunks: ${this.rebuiltChunks + this.resumedChunks}/${this.totalChunks}, entries: ${this.indexedEntries}, elapsed: ${this.elapsedMillis}ms]"
+    }
+
+}
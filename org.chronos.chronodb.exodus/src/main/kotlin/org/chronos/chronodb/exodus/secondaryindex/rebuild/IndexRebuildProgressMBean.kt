@@ -0,0 +1,17 @@
+package org.chronos.chronodb.exodus.secondaryindex.rebuild
+
+interface IndexRebuildProgressMBean {
+
+    val isRunning: Boolean
+
+    val totalChunks: Int
+
+    val resumedChunks: Int
+
+    val rebuiltChunks: Int
+
+    val indexedEntries: Long
+
+    val elapsedMillis: Long
+
+}
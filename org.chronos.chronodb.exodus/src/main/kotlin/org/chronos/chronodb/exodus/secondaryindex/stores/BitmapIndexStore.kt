@@ -0,0 +1,367 @@
+package org.chronos.chronodb.exodus.secondaryindex.stores
+
+import jetbrains.exodus.ByteIterable
+import org.chronos.chronodb.exodus.kotlin.ext.parseAsLong
+import org.chronos.chronodb.exodus.kotlin.ext.parseAsString
+import org.chronos.chronodb.exodus.kotlin.ext.toByteArray
+import org.chronos.chronodb.exodus.kotlin.ext.toByteIterable
+import org.chronos.chronodb.exodus.layout.ChronoDBStoreLayout
+import org.chronos.chronodb.exodus.transaction.ExodusTransaction
+import org.chronos.chronodb.exodus.util.readInt
+import org.chronos.chronodb.exodus.util.writeInt
+import java.nio.ByteBuffer
+
+/**
+ * Stores the secondary indices with [BITMAP][org.chronos.chronodb.api.indexing.IndexEncoding.BITMAP] encoding in an index environment.
+ *
+ * For every index value, the store holds a [CompressedBitmap] of the keys whose *current* (i.e. latest) index values
+ * contain it. The keys are represented by their ordinals in a dense dictionary, which is maintained per keyspace (and
+ * shared by all bitmap indices of the keyspace). Bitmaps are stored container by container, so adding or removing a key
+ * only rewrites a single, small store entry.
+ *
+ * The bitmaps are maintained alongside the regular index stores, which remain the primary source of truth. They always
+ * reflect the latest state of the chunk, therefore every bitmap store carries a *version*: the timestamp of the latest
+ * modification it has received. A query can only be answered with the bitmaps if its timestamp is not before that
+ * version; older queries fall back to the regular index stores.
+ *
+ * Like the trigram stores, a bitmap store is only created while the index is still empty, because it has to contain
+ * *all* entries of the index in order to be usable. Indices which already contain entries receive their bitmap store
+ * when they are rebuilt.
+ */
+object BitmapIndexStore {
+
+    // =================================================================================================================
+    // CONSTANTS
+    // =================================================================================================================
+
+    /** The key of the entry which holds the version of a bitmap store. Shorter than any container key. */
+    private val VERSION_KEY = ByteArray(1).toByteIterable()
+
+    private const val TYPE_STRING: Byte = 1
+    private const val TYPE_LONG: Byte = 2
+    private const val TYPE_DOUBLE: Byte = 3
+
+    /** The number of bytes at the end of a container key, which hold the key of the container within its bitmap. */
+    private const val CONTAINER_KEY_BYTES = 2
+
+    // =================================================================================================================
+    // PUBLIC API
+    // =================================================================================================================
+
+    /**
+     * Creates the bitmap store for the given index in the given keyspace, if the index does not contain any entries yet.
+     *
+     * @param tx The transaction to operate on. Must not be read-only.
+     * @param indexName The name of the index.
+     * @param keyspace The keyspace of the index.
+     * @param indexStoreName The name of the regular store which holds the entries of the index.
+     */
+    fun createIfIndexIsEmpty(tx: ExodusTransaction, indexName: String, keyspace: String, indexStoreName: String) {
+        val storeName = this.storeName(indexName, keyspace)
+        if (tx.storeExists(storeName) || tx.storeExists(indexStoreName)) {
+            return
+        }
+        tx.put(storeName, VERSION_KEY, 0L.toByteIterable())
+    }
+
+    /**
+     * Checks if the given index has a bitmap store in the given keyspace.
+     *
+     * @param tx The transaction to operate on.
+     * @param indexName The name of the index.
+     * @param keyspace The keyspace of the index.
+     * @return `true` if the bitmap store exists (and is therefore complete), otherwise `false`.
+     */
+    fun exists(tx: ExodusTransaction, indexName: String, keyspace: String): Boolean {
+        return tx.storeExists(this.storeName(indexName, keyspace))
+    }
+
+    /**
+     * Returns the version of the bitmap store of the given index, i.e. the timestamp of its latest modification.
+     *
+     * @param tx The transaction to operate on.
+     * @param indexName The name of the index.
+     * @param keyspace The keyspace of the index.
+     * @return The version, or `null` if there is no bitmap store for the index.
+     */
+    fun getVersion(tx: ExodusTransaction, indexName: String, keyspace: String): Long? {
+        val storeName = this.storeName(indexName, keyspace)
+        if (!tx.storeExists(storeName)) {
+            return null
+        }
+        return tx.get(storeName, VERSION_KEY)?.parseAsLong()
+    }
+
+    /**
+     * Adds the given key to the bitmap of the given index value. Does nothing if the index has no bitmap store.
+     *
+     * @param tx The transaction to operate on. Must not be read-only.
+     * @param indexName The name of the index.
+     * @param keyspace The keyspace of the index.
+     * @param indexValue The index value of the key.
+     * @param userKey The key to add.
+     * @param timestamp The timestamp of the modification.
+     */
+    fun add(tx: ExodusTransaction, indexName: String, keyspace: String, indexValue: Any, userKey: String, timestamp: Long) {
+        val storeName = this.storeName(indexName, keyspace)
+        if (!tx.storeExists(storeName)) {
+            return
+        }
+        val ordinal = this.getOrCreateOrdinal(tx, keyspace, userKey)
+        this.updateContainer(tx, storeName, indexValue, ordinal) { it.add(ordinal) }
+        this.updateVersion(tx, storeName, timestamp)
+    }
+
+    /**
+     * Removes the given key from the bitmap of the given index value. Does nothing if the index has no bitmap store.
+     *
+     * @param tx The transaction to operate on. Must not be read-only.
+     * @param indexName The name of the index.
+     * @param keyspace The keyspace of the index.
+     * @param indexValue The (former) index value of the key.
+     * @param userKey The key to remove.
+     * @param timestamp The timestamp of the modification.
+     */
+    fun remove(tx: ExodusTransaction, indexName: String, keyspace: String, indexValue: Any, userKey: String, timestamp: Long) {
+        val storeName = this.storeName(indexName, keyspace)
+        if (!tx.storeExists(storeName)) {
+            return
+        }
+        val ordinal = this.getOrdinal(tx, keyspace, userKey)
+        if (ordinal != null) {
+            this.updateContainer(tx, storeName, indexValue, ordinal) { it.remove(ordinal) }
+        }
+        this.updateVersion(tx, storeName, timestamp)
+    }
+
+    /**
+     * Replaces the contents of the bitmap store of the given index. Does nothing if the index has no bitmap store.
+     *
+     * @param tx The transaction to operate on. Must not be read-only.
+     * @param indexName The name of the index.
+     * @param keyspace The keyspace of the index.
+     * @param keysByIndexValue The current keys of each index value.
+     * @param version The new version of the bitmap store.
+     */
+    fun replace(tx: ExodusTransaction, indexName: String, keyspace: String, keysByIndexValue: Map<Any, Collection<String>>, version: Long) {
+        val storeName = this.storeName(indexName, keyspace)
+        if (!tx.storeExists(storeName)) {
+            return
+        }
+        tx.withCursorOn(storeName) { cursor ->
+            while (cursor.next) {
+                cursor.deleteCurrent()
+            }
+        }
+        for ((indexValue, keys) in keysByIndexValue) {
+            val bitmap = CompressedBitmap()
+            keys.forEach { bitmap.add(this.getOrCreateOrdinal(tx, keyspace, it)) }
+            val prefix = this.createIndexValuePrefix(indexValue)
+            for (containerKey in bitmap.containerKeys) {
+                tx.put(storeName, this.createContainerKey(prefix, containerKey), bitmap.getContainerBytes(containerKey)!!.toByteIterable())
+            }
+        }
+        tx.put(storeName, VERSION_KEY, version.toByteIterable())
+    }
+
+    /**
+     * Returns the bitmap of the keys which have at least one of the given index values.
+     *
+     * @param tx The transaction to operate on.
+     * @param indexName The name of the index.
+     * @param keyspace The keyspace of the index.
+     * @param indexValues The index values to look up.
+     * @param timestamp The timestamp of the query.
+     * @return The bitmap of key ordinals, or `null` if the query can't be answered by the bitmaps (because there is no bitmap store for the index, or because it has been modified after the given timestamp).
+     */
+    fun lookup(tx: ExodusTransaction, indexName: String, keyspace: String, indexValues: Collection<Any>, timestamp: Long): CompressedBitmap? {
+        val version = this.getVersion(tx, indexName, keyspace) ?: return null
+        if (timestamp < version) {
+            return null
+        }
+        val storeName = this.storeName(indexName, keyspace)
+        var result = CompressedBitmap()
+        for (indexValue in indexValues) {
+            val bitmap = this.loadBitmap(tx, storeName, indexValue)
+            result = if (result.isEmpty) bitmap else result.or(bitmap)
+        }
+        return result
+    }
+
+    /**
+     * Resolves the given key ordinals to the keys they represent.
+     *
+     * @param tx The transaction to operate on.
+     * @param keyspace The keyspace of the keys.
+     * @param ordinals The key ordinals to resolve.
+     * @param maxResults The number of keys after which the resolution stops.
+     * @return The list of keys, in the order of their ordinals.
+     */
+    fun resolveKeys(tx: ExodusTransaction, keyspace: String, ordinals: CompressedBitmap, maxResults: Int = Int.MAX_VALUE): List<String> {
+        val storeName = this.ordinalDictionaryStoreName(keyspace)
+        val keys = ArrayList<String>(Math.min(ordinals.cardinality, maxResults))
+        for (ordinal in ordinals) {
+            if (keys.size >= maxResults) {
+                break
+            }
+            val key = tx.get(storeName, this.intToBytes(ordinal).toByteIterable())
+            checkNotNull(key) { "Invariant violation - bitmap index of keyspace '${keyspace}' refers to unknown key ordinal ${ordinal}!" }
+            keys += key.parseAsString()
+        }
+        return keys
+    }
+
+    /**
+     * Returns the keyspaces in which the given index has a bitmap store.
+     *
+     * @param tx The transaction to operate on.
+     * @param indexName The name of the index.
+     * @return The set of keyspaces. May be empty.
+     */
+    fun getKeyspaces(tx: ExodusTransaction, indexName: String): Set<String> {
+        return tx.getAllStoreNames().asSequence()
+            .filter { it.startsWith(ChronoDBStoreLayout.STORE_NAME_PREFIX__SECONDARY_INDEX_BITMAP) }
+            .map { this.parseStoreName(it) }
+            .filter { (_, currentIndexName) -> currentIndexName == indexName }
+            .map { (keyspace, _) -> keyspace }
+            .toSet()
+    }
+
+    fun storeName(indexName: String, keyspace: String): String {
+        return "${ChronoDBStoreLayout.STORE_NAME_PREFIX__SECONDARY_INDEX_BITMAP}${keyspace.length}/${keyspace}${indexName}"
+    }
+
+    fun getIndexNameForStoreName(storeName: String): String? {
+        if (!storeName.startsWith(ChronoDBStoreLayout.STORE_NAME_PREFIX__SECONDARY_INDEX_BITMAP)) {
+            return null
+        }
+        return this.parseStoreName(storeName).second
+    }
+
+    // =================================================================================================================
+    // HELPER METHODS
+    // =================================================================================================================
+
+    private fun keyDictionaryStoreName(keyspace: String): String {
+        return "${ChronoDBStoreLayout.STORE_NAME_PREFIX__SECONDARY_INDEX_BITMAP_KEYS}${keyspace}"
+    }
+
+    private fun ordinalDictionaryStoreName(keyspace: String): String {
+        return "${ChronoDBStoreLayout.STORE_NAME_PREFIX__SECONDARY_INDEX_BITMAP_ORDINALS}${keyspace}"
+    }
+
+    private fun parseStoreName(storeName: String): Pair<String, String> {
+        val nameWithoutPrefix = storeName.removePrefix(ChronoDBStoreLayout.STORE_NAME_PREFIX__SECONDARY_INDEX_BITMAP)
+        val separatorIndex = nameWithoutPrefix.indexOf('/')
+        val keyspaceLength = nameWithoutPrefix.substring(0, separatorIndex).toInt()
+        val keyspace = nameWithoutPrefix.substring(separatorIndex + 1, separatorIndex + 1 + keyspaceLength)
+        val indexName = nameWithoutPrefix.substring(separatorIndex + 1 + keyspaceLength)
+        return Pair(keyspace, indexName)
+    }
+
+    private fun getOrdinal(tx: ExodusTransaction, keyspace: String, userKey: String): Int? {
+        val bytes = tx.get(this.keyDictionaryStoreName(keyspace), userKey.toByteIterable()) ?: return null
+        return readInt(bytes.toByteArray(), 0)
+    }
+
+    private fun getOrCreateOrdinal(tx: ExodusTransaction, keyspace: String, userKey: String): Int {
+        val existingOrdinal = this.getOrdinal(tx, keyspace, userKey)
+        if (existingOrdinal != null) {
+            return existingOrdinal
+        }
+        // ordinals are never removed from the dictionary, so the next ordinal is the number of known keys
+        val ordinalStoreName = this.ordinalDictionaryStoreName(keyspace)
+        val ordinal = tx.storeSize(ordinalStoreName).toInt()
+        val ordinalBytes = this.intToBytes(ordinal).toByteIterable()
+        tx.put(this.keyDictionaryStoreName(keyspace), userKey.toByteIterable(), ordinalBytes)
+        tx.put(ordinalStoreName, ordinalBytes, userKey.toByteIterable())
+        return ordinal
+    }
+
+    private fun updateContainer(tx: ExodusTransaction, storeName: String, indexValue: Any, ordinal: Int, update: (CompressedBitmap) -> Boolean) {
+        val containerKey = CompressedBitmap.containerKeyOf(ordinal)
+        val key = this.createContainerKey(this.createIndexValuePrefix(indexValue), containerKey)
+        val bitmap = CompressedBitmap()
+        tx.get(storeName, key)?.let { bitmap.putContainer(containerKey, it.toByteArray()) }
+        if (!update(bitmap)) {
+            return
+        }
+        val containerBytes = bitmap.getContainerBytes(containerKey)
+        if (containerBytes == null) {
+            tx.delete(storeName, key)
+        } else {
+            tx.put(storeName, key, containerBytes.toByteIterable())
+        }
+    }
+
+    private fun updateVersion(tx: ExodusTransaction, storeName: String, timestamp: Long) {
+        val version = tx.get(storeName, VERSION_KEY)?.parseAsLong() ?: 0L
+        if (timestamp > version) {
+            tx.put(storeName, VERSION_KEY, timestamp.toByteIterable())
+        }
+    }
+
+    private fun loadBitmap(tx: ExodusTransaction, storeName: String, indexValue: Any): CompressedBitmap {
+        val prefix = this.createIndexValuePrefix(indexValue)
+        val bitmap = CompressedBitmap()
+        tx.withCursorOn(storeName) { cursor ->
+            var key: ByteIterable? = cursor.getSearchKeyRange(prefix.toByteIterable())
+            while (key != null) {
+                val keyBytes = key.toByteArray()
+                if (keyBytes.size != prefix.size + CONTAINER_KEY_BYTES || !this.startsWith(keyBytes, prefix)) {
+                    break
+                }
+                val containerKey = ((keyBytes[keyBytes.size - 2].toInt() and 0xFF) shl 8) or (keyBytes[keyBytes.size - 1].toInt() and 0xFF)
+                bitmap.putContainer(containerKey, cursor.value.toByteArray())
+                key = if (cursor.next) cursor.key else null
+            }
+        }
+        return bitmap
+    }
+
+    private fun createIndexValuePrefix(indexValue: Any): ByteArray {
+        // layout: [type (1 byte)][length of value bytes (4 bytes)][value bytes]
+        val (type, valueBytes) = when (indexValue) {
+            is String -> Pair(TYPE_STRING, indexValue.toByteArray(Charsets.UTF_8))
+            is Short, is Int, is Long -> Pair(TYPE_LONG, ByteBuffer.allocate(java.lang.Long.BYTES).putLong((indexValue as Number).toLong()).array())
+            is Float, is Double -> {
+                // positive and negative zero are equal for the purposes of the index
+                val doubleValue = (indexValue as Number).toDouble().let { if (it == 0.0) 0.0 else it }
+                Pair(TYPE_DOUBLE, ByteBuffer.allocate(java.lang.Long.BYTES).putDouble(doubleValue).array())
+            }
+            else -> throw IllegalArgumentException("Cannot create bitmap index entry - the type of the index value is not supported! " +
+                    "Value Class: ${indexValue.javaClass.name}, Value: '${indexValue}'")
+        }
+        val prefix = ByteArray(1 + Integer.BYTES + valueBytes.size)
+        prefix[0] = type
+        writeInt(prefix, valueBytes.size, 1)
+        System.arraycopy(valueBytes, 0, prefix, 1 + Integer.BYTES, valueBytes.size)
+        return prefix
+    }
+
+    private fun createContainerKey(prefix: ByteArray, containerKey: Int): ByteIterable {
+        val key = prefix.copyOf(prefix.size + CONTAINER_KEY_BYTES)
+        key[prefix.size] = (containerKey ushr 8).toByte()
+        key[prefix.size + 1] = containerKey.toByte()
+        return key.toByteIterable()
+    }
+
+    private fun intToBytes(value: Int): ByteArray {
+        val bytes = ByteArray(Integer.BYTES)
+        writeInt(bytes, value, 0)
+        return bytes
+    }
+
+    private fun startsWith(array: ByteArray, prefix: ByteArray): Boolean {
+        if (array.size < prefix.size) {
+            return false
+        }
+        for (i in prefix.indices) {
+            if (array[i] != prefix[i]) {
+                return false
+            }
+        }
+        return true
+    }
+
+}
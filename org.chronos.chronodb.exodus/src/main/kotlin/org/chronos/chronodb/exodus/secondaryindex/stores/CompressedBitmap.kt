@@ -0,0 +1,455 @@
+package org.chronos.chronodb.exodus.secondaryindex.stores
+
+import java.nio.ByteBuffer
+import java.util.*
+
+/**
+ * A compressed set of non-negative integers, organized like a Roaring bitmap.
+ *
+ * The integers are partitioned by their upper 16 bits. Each partition is stored in a *container* which holds the lower
+ * 16 bits of its members, either as a sorted array (for sparse partitions with up to [ARRAY_CONTAINER_MAX_SIZE]
+ * members) or as a plain bitmap of 2^16 bits (for dense partitions). Set operations are performed container by
+ * container, and on bitmap containers word by word.
+ *
+ * Containers can be serialized individually (see [getContainerBytes] and [putContainer]), which allows to persist a
+ * bitmap as one store entry per container and to update a single member without touching the other containers.
+ *
+ * Instances of this class are not thread-safe.
+ */
+class CompressedBitmap : Iterable<Int> {
+
+    // =================================================================================================================
+    // CONSTANTS
+    // =================================================================================================================
+
+    companion object {
+
+        /** Array containers which grow beyond this size are converted into bitmap containers, and vice versa. */
+        const val ARRAY_CONTAINER_MAX_SIZE = 4096
+
+        private const val CONTAINER_BITS = 1 shl 16
+        private const val BITMAP_CONTAINER_WORDS = CONTAINER_BITS / java.lang.Long.SIZE
+
+        private const val TYPE_ARRAY: Byte = 0
+        private const val TYPE_BITMAP: Byte = 1
+
+        fun of(vararg values: Int): CompressedBitmap {
+            val bitmap = CompressedBitmap()
+            values.forEach { bitmap.add(it) }
+            return bitmap
+        }
+
+        /**
+         * Returns the upper 16 bits of the given value, i.e. the key of the container which holds the value.
+         *
+         * @param value The value to get the container key for. Must not be negative.
+         * @return The container key.
+         */
+        fun containerKeyOf(value: Int): Int {
+            require(value >= 0) { "Precondition violation - argument 'value' must not be negative!" }
+            return value ushr 16
+        }
+
+    }
+
+    // =================================================================================================================
+    // FIELDS
+    // =================================================================================================================
+
+    private val containers = TreeMap<Int, Container>()
+
+    // =================================================================================================================
+    // PUBLIC API
+    // =================================================================================================================
+
+    val cardinality: Int
+        get() = this.containers.values.sumBy { it.cardinality }
+
+    val isEmpty: Boolean
+        get() = this.containers.isEmpty()
+
+    /** The keys of the non-empty containers of this bitmap, in ascending order. */
+    val containerKeys: Set<Int>
+        get() = Collections.unmodifiableSet(this.containers.keys)
+
+    fun add(value: Int): Boolean {
+        val high = containerKeyOf(value)
+        val container = this.containers[high]
+        if (container == null) {
+            this.containers[high] = ArrayContainer().also { it.add(value and 0xFFFF) }
+            return true
+        }
+        if (!container.add(value and 0xFFFF)) {
+            return false
+        }
+        if (container is ArrayContainer && container.cardinality > ARRAY_CONTAINER_MAX_SIZE) {
+            this.containers[high] = container.toBitmapContainer()
+        }
+        return true
+    }
+
+    fun remove(value: Int): Boolean {
+        val high = containerKeyOf(value)
+        val container = this.containers[high] ?: return false
+        if (!container.remove(value and 0xFFFF)) {
+            return false
+        }
+        if (container.cardinality == 0) {
+            this.containers.remove(high)
+        } else if (container is BitmapContainer && container.cardinality <= ARRAY_CONTAINER_MAX_SIZE) {
+            this.containers[high] = container.toArrayContainer()
+        }
+        return true
+    }
+
+    operator fun contains(value: Int): Boolean {
+        if (value < 0) {
+            return false
+        }
+        val container = this.containers[value ushr 16] ?: return false
+        return container.contains(value and 0xFFFF)
+    }
+
+    /**
+     * Creates the intersection of this bitmap and the given one. Neither bitmap is modified.
+     *
+     * @param other The bitmap to intersect with.
+     * @return The intersection, as a new bitmap.
+     */
+    fun and(other: CompressedBitmap): CompressedBitmap {
+        val result = CompressedBitmap()
+        // only containers which exist in both bitmaps can produce common members
+        val (smaller, larger) = if (this.containers.size <= other.containers.size) Pair(this, other) else Pair(other, this)
+        for ((high, container) in smaller.containers) {
+            val otherContainer = larger.containers[high] ?: continue
+            val intersection = container.and(otherContainer)
+            if (intersection.cardinality > 0) {
+                result.containers[high] = intersection
+            }
+        }
+        return result
+    }
+
+    /**
+     * Creates the union of this bitmap and the given one. Neither bitmap is modified.
+     *
+     * @param other The bitmap to unite with.
+     * @return The union, as a new bitmap.
+     */
+    fun or(other: CompressedBitmap): CompressedBitmap {
+        val result = CompressedBitmap()
+        for ((high, container) in this.containers) {
+            val otherContainer = other.containers[high]
+            result.containers[high] = if (otherContainer == null) container.copy() else container.or(otherContainer)
+        }
+        for ((high, container) in other.containers) {
+            if (!this.containers.containsKey(high)) {
+                result.containers[high] = container.copy()
+            }
+        }
+        return result
+    }
+
+    override fun iterator(): Iterator<Int> {
+        return sequence {
+            for ((high, container) in this@CompressedBitmap.containers) {
+                val base = high shl 16
+                for (low in container.lows()) {
+                    yield(base or low)
+                }
+            }
+        }.iterator()
+    }
+
+    /**
+     * Serializes the container with the given key.
+     *
+     * @param containerKey The key of the container to serialize (see [containerKeyOf]).
+     * @return The serial form of the container, or `null` if the container is empty.
+     */
+    fun getContainerBytes(containerKey: Int): ByteArray? {
+        return this.containers[containerKey]?.serialize()
+    }
+
+    /**
+     * Replaces the container with the given key by the given serial form.
+     *
+     * @param containerKey The key of the container to replace (see [containerKeyOf]).
+     * @param bytes The serial form of the container, as produced by [getContainerBytes].
+     */
+    fun putContainer(containerKey: Int, bytes: ByteArray) {
+        require(containerKey >= 0) { "Precondition violation - argument 'containerKey' must not be negative!" }
+        val container = deserializeContainer(bytes)
+        if (container.cardinality == 0) {
+            this.containers.remove(containerKey)
+        } else {
+            this.containers[containerKey] = container
+        }
+    }
+
+    override fun equals(other: Any?): Boolean {
+        if (this === other) return true
+        if (other !is CompressedBitmap) return false
+        return this.cardinality == other.cardinality && this.all { other.contains(it) }
+    }
+
+    override fun hashCode(): Int {
+        return this.fold(1) { hash, value -> 31 * hash + value }
+    }
+
+    override fun toString(): String {
+        return this.joinToString(prefix = "CompressedBitmap[", postfix = "]", limit = 100)
+    }
+
+    // =================================================================================================================
+    // HELPER METHODS
+    // =================================================================================================================
+
+    private fun deserializeContainer(bytes: ByteArray): Container {
+        val buffer = ByteBuffer.wrap(bytes)
+        return when (buffer.get()) {
+            TYPE_ARRAY -> {
+                val size = (bytes.size - 1) / java.lang.Short.BYTES
+                val values = IntArray(Math.max(size, 1))
+                for (i in 0 until size) {
+                    values[i] = buffer.short.toInt() and 0xFFFF
+                }
+                ArrayContainer(values, size)
+            }
+            TYPE_BITMAP -> {
+                val words = LongArray(BITMAP_CONTAINER_WORDS)
+                for (i in words.indices) {
+                    words[i] = buffer.long
+                }
+                BitmapContainer(words, words.sumBy { java.lang.Long.bitCount(it) })
+            }
+            else -> throw IllegalArgumentException("Unknown bitmap container type: ${bytes[0]}")
+        }
+    }
+
+    // =================================================================================================================
+    // INNER CLASSES
+    // =================================================================================================================
+
+    private abstract class Container {
+
+        abstract val cardinality: Int
+
+        abstract fun add(low: Int): Boolean
+
+        abstract fun remove(low: Int): Boolean
+
+        abstract fun contains(low: Int): Boolean
+
+        abstract fun lows(): Sequence<Int>
+
+        abstract fun copy(): Container
+
+        abstract fun serialize(): ByteArray
+
+        fun and(other: Container): Container {
+            return when {
+                this is BitmapContainer && other is BitmapContainer -> this.and(other)
+                this is ArrayContainer -> this.filter(other)
+                else -> (other as ArrayContainer).filter(this)
+            }
+        }
+
+        fun or(other: Container): Container {
+            return when {
+                this is BitmapContainer && other is BitmapContainer -> this.or(other)
+                this is ArrayContainer && other is ArrayContainer -> this.or(other)
+                this is BitmapContainer -> this.copy().also { result -> other.lows().forEach { result.add(it) } }
+                else -> other.copy().also { result -> this.lows().forEach { result.add(it) } }
+            }
+        }
+
+    }
+
+    private class ArrayContainer(private var values: IntArray = IntArray(4), private var size: Int = 0) : Container() {
+
+        override val cardinality: Int
+            get() = this.size
+
+        override fun add(low: Int): Boolean {
+            val index = Arrays.binarySearch(this.values, 0, this.size, low)
+            if (index >= 0) {
+                return false
+            }
+            val insertionPoint = -(index + 1)
+            if (this.size == this.values.size) {
+                this.values = this.values.copyOf(this.size * 2)
+            }
+            System.arraycopy(this.values, insertionPoint, this.values, insertionPoint + 1, this.size - insertionPoint)
+            this.values[insertionPoint] = low
+            this.size++
+            return true
+        }
+
+        override fun remove(low: Int): Boolean {
+            val index = Arrays.binarySearch(this.values, 0, this.size, low)
+            if (index < 0) {
+                return false
+            }
+            System.arraycopy(this.values, index + 1, this.values, index, this.size - index - 1)
+            this.size--
+            return true
+        }
+
+        override fun contains(low: Int): Boolean {
+            return Arrays.binarySearch(this.values, 0, this.size, low) >= 0
+        }
+
+        override fun lows(): Sequence<Int> {
+            return (0 until this.size).asSequence().map { this.values[it] }
+        }
+
+        override fun copy(): Container {
+            return ArrayContainer(this.values.copyOf(), this.size)
+        }
+
+        override fun serialize(): ByteArray {
+            val buffer = ByteBuffer.allocate(1 + this.size * java.lang.Short.BYTES)
+            buffer.put(TYPE_ARRAY)
+            for (i in 0 until this.size) {
+                buffer.putShort(this.values[i].toShort())
+            }
+            return buffer.array()
+        }
+
+        fun filter(other: Container): Container {
+            val result = IntArray(Math.max(this.size, 1))
+            var resultSize = 0
+            for (i in 0 until this.size) {
+                if (other.contains(this.values[i])) {
+                    result[resultSize++] = this.values[i]
+                }
+            }
+            return ArrayContainer(result, resultSize)
+        }
+
+        fun or(other: ArrayContainer): Container {
+            // merge the two sorted arrays
+            val result = IntArray(this.size + other.size)
+            var i = 0
+            var j = 0
+            var resultSize = 0
+            while (i < this.size && j < other.size) {
+                val a = this.values[i]
+                val b = other.values[j]
+                when {
+                    a < b -> { result[resultSize++] = a; i++ }
+                    a > b -> { result[resultSize++] = b; j++ }
+                    else -> { result[resultSize++] = a; i++; j++ }
+                }
+            }
+            while (i < this.size) {
+                result[resultSize++] = this.values[i++]
+            }
+            while (j < other.size) {
+                result[resultSize++] = other.values[j++]
+            }
+            val union = ArrayContainer(result, resultSize)
+            return if (resultSize > ARRAY_CONTAINER_MAX_SIZE) union.toBitmapContainer() else union
+        }
+
+        fun toBitmapContainer(): BitmapContainer {
+            val words = LongArray(BITMAP_CONTAINER_WORDS)
+            for (i in 0 until this.size) {
+                val low = this.values[i]
+                words[low ushr 6] = words[low ushr 6] or (1L shl low)
+            }
+            return BitmapContainer(words, this.size)
+        }
+
+    }
+
+    private class BitmapContainer(private val words: LongArray, private var bitCount: Int) : Container() {
+
+        override val cardinality: Int
+            get() = this.bitCount
+
+        override fun add(low: Int): Boolean {
+            val word = this.words[low ushr 6]
+            val newWord = word or (1L shl low)
+            if (word == newWord) {
+                return false
+            }
+            this.words[low ushr 6] = newWord
+            this.bitCount++
+            return true
+        }
+
+        override fun remove(low: Int): Boolean {
+            val word = this.words[low ushr 6]
+            val newWord = word and (1L shl low).inv()
+            if (word == newWord) {
+                return false
+            }
+            this.words[low ushr 6] = newWord
+            this.bitCount--
+            return true
+        }
+
+        override fun contains(low: Int): Boolean {
+            return this.words[low ushr 6] and (1L shl low) != 0L
+        }
+
+        override fun lows(): Sequence<Int> {
+            return sequence {
+                for (wordIndex in this@BitmapContainer.words.indices) {
+                    var word = this@BitmapContainer.words[wordIndex]
+                    while (word != 0L) {
+                        val bit = java.lang.Long.numberOfTrailingZeros(word)
+                        yield(wordIndex * java.lang.Long.SIZE + bit)
+                        // clear the lowest set bit
+                        word = word and (word - 1)
+                    }
+                }
+            }
+        }
+
+        override fun copy(): Container {
+            return BitmapContainer(this.words.copyOf(), this.bitCount)
+        }
+
+        override fun serialize(): ByteArray {
+            val buffer = ByteBuffer.allocate(1 + this.words.size * java.lang.Long.BYTES)
+            buffer.put(TYPE_BITMAP)
+            this.words.forEach { buffer.putLong(it) }
+            return buffer.array()
+        }
+
+        fun and(other: BitmapContainer): Container {
+            val result = LongArray(BITMAP_CONTAINER_WORDS)
+            var count = 0
+            for (i in result.indices) {
+                result[i] = this.words[i] and other.words[i]
+                count += java.lang.Long.bitCount(result[i])
+            }
+            val intersection = BitmapContainer(result, count)
+            return if (count <= ARRAY_CONTAINER_MAX_SIZE) intersection.toArrayContainer() else intersection
+        }
+
+        fun or(other: BitmapContainer): Container {
+            val result = LongArray(BITMAP_CONTAINER_WORDS)
+            var count = 0
+            for (i in result.indices) {
+                result[i] = this.words[i] or other.words[i]
+                count += java.lang.Long.bitCount(result[i])
+            }
+            return BitmapContainer(result, count)
+        }
+
+        fun toArrayContainer(): ArrayContainer {
+            val values = IntArray(Math.max(this.bitCount, 1))
+            var size = 0
+            for (low in this.lows()) {
+                values[size++] = low
+            }
+            return ArrayContainer(values, size)
+        }
+
+    }
+
+}
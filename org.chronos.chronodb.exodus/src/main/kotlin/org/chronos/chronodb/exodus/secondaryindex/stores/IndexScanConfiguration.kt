@@ -2,6 +2,7 @@ package org.chronos.chronodb.exodus.secondaryindex.stores
 
 import jetbrains.exodus.ByteIterable
 import jetbrains.exodus.env.Cursor
+import org.chronos.chronodb.api.Order
 import org.chronos.chronodb.exodus.kotlin.ext.ceilEntry
 import org.chronos.chronodb.exodus.kotlin.ext.floorEntry
 import org.chronos.chronodb.exodus.kotlin.ext.requireNonNegative
@@ -11,6 +12,7 @@ import org.chronos.chronodb.exodus.transaction.ExodusTransaction
 import org.chronos.chronodb.internal.api.query.searchspec.SearchSpecification
 import org.chronos.common.base.CCC
 import org.chronos.common.logging.ChronoLogger
+import java.util.PriorityQueue
 
 /**
  * @param tx The transaction to operate on.
@@ -22,6 +24,7 @@ import org.chronos.common.logging.ChronoLogger
  * @param scanStrategy Indicates when to stop scanning.
  * @param skip A check function that allows to skip over entries without cancelling the scan (in case of [ScanStrategy.STOP_AT_FIRST_MISMATCH]).
  * @param parseKey A function that parses the secondary index keys in the store.
+ * @param maxResults The number of distinct primary keys after which the scan stops. Use [Int.MAX_VALUE] to scan for all matches.
  */
 data class IndexScanConfiguration<V, S: SearchSpecification<V, *>>(
         val tx: ExodusTransaction,
@@ -33,11 +36,13 @@ data class IndexScanConfiguration<V, S: SearchSpecification<V, *>>(
         val scanStrategy: ScanStrategy,
         val skip: (V) -> Boolean = { false },
         val parseKey: (ByteIterable) -> SecondaryIndexKey<V>,
-        val scanTimeMode: ScanTimeMode
+        val scanTimeMode: ScanTimeMode,
+        val maxResults: Int = Int.MAX_VALUE
 ) {
 
     init {
         requireNonNegative(this.timestamp, "timestamp")
+        require(this.maxResults > 0) { "Precondition violation - argument 'maxResults' must be greater than zero!" }
     }
 
     fun moveCursorToInitialPosition(cursor: Cursor): Boolean {
@@ -62,22 +67,71 @@ data class IndexScanConfiguration<V, S: SearchSpecification<V, *>>(
     }
 
     fun performScan(): List<ScanResultEntry<V>> {
+        val resultList = mutableListOf<ScanResultEntry<V>>()
+        // we only need to keep track of the primary keys if the number of results is limited
+        val matchedPrimaryKeys = if (maxResults < Int.MAX_VALUE) mutableSetOf<String>() else null
+        this.forEachMatch { secondaryIndexKey ->
+            val resultEntry = secondaryIndexKey.toScanResultEntry()
+            resultList.add(resultEntry)
+            if (matchedPrimaryKeys == null) {
+                return@forEachMatch true
+            }
+            matchedPrimaryKeys.add(resultEntry.primaryKey)
+            // stop as soon as we have enough results
+            matchedPrimaryKeys.size < maxResults
+        }
+        return resultList
+    }
+
+    /**
+     * Counts the distinct primary keys which match this scan configuration, without collecting them.
+     *
+     * The entries of a store are sorted by their index value first and by their primary key second. The matches for a
+     * single index value therefore form a "run" of ascending primary keys without duplicates. A primary key which has
+     * several matching index values occurs in several runs though. The first pass over the store counts the matches
+     * and remembers the index values of the runs. If there is more than one run, a second pass merges the runs (with
+     * one cursor per run) and counts every primary key only once.
+     *
+     * The [maxResults] of this configuration are ignored.
+     *
+     * @return The number of distinct matching primary keys, or `null` if there are more than [MAX_MERGED_RUNS] runs. In this case, the caller has to count the results of [performScan] instead.
+     */
+    fun performCount(): Long? {
+        var matches = 0L
+        val runs = mutableListOf<ByteIterable>()
+        this.forEachMatch { secondaryIndexKey ->
+            matches++
+            val indexValue = secondaryIndexKey.indexValueBinary
+            if (runs.lastOrNull() != indexValue && indexValue !in runs) {
+                runs.add(indexValue)
+            }
+            runs.size <= MAX_MERGED_RUNS
+        }
+        return when {
+            // within a single run, every match has a different primary key
+            runs.size <= 1 -> matches
+            runs.size > MAX_MERGED_RUNS -> null
+            else -> this.countDistinctPrimaryKeys(runs)
+        }
+    }
+
+    private fun forEachMatch(consumer: (SecondaryIndexKey<V>) -> Boolean) {
         // unpack the scan configuration
         if (!tx.storeExists(storeName)) {
             // the store doesn't exist, so this secondary index is empty.
             // Note that this is a valid case: the store may not have been
             // created if there were no entries for it; it is NOT an error!
-            return listOf()
+            return
         }
-        return tx.withCursorOn(storeName) { cursor ->
-            val resultList = mutableListOf<ScanResultEntry<V>>()
+        tx.withCursorOn(storeName) { cursor ->
             if (!this.moveCursorToInitialPosition(cursor)) {
                 // failed to initialize cursor -> there is no matching entry in the index
-                return@withCursorOn resultList
+                return@withCursorOn
             }
             var previousBinaryIndexValue: ByteIterable? = null
             var keepGoing: Boolean
             var scannedRows = 0
+            var matches = 0
             val timeBefore = System.currentTimeMillis()
             do {
                 scannedRows++
@@ -108,7 +162,11 @@ data class IndexScanConfiguration<V, S: SearchSpecification<V, *>>(
                 // at this point, we know that the key itself matches,
                 // so we check the timestamps
                 if (StoreUtils.isTimestampInRange(timestamp, cursor.value, scanTimeMode)) {
-                    resultList.add(secondaryIndexKey.toScanResultEntry())
+                    matches++
+                    if (!consumer(secondaryIndexKey)) {
+                        // the consumer has seen enough
+                        break
+                    }
                 }
                 // remember that this binary key matched
                 previousBinaryIndexValue = secondaryIndexKey.indexValueBinary
@@ -118,21 +176,98 @@ data class IndexScanConfiguration<V, S: SearchSpecification<V, *>>(
 
             val timeAfter = System.currentTimeMillis()
             if(CCC.TRACE_ENABLED){
-                ChronoLogger.logTrace("Scanned ${scannedRows} rows in ${timeAfter - timeBefore}ms, produced ${resultList.size} results. Query: ${searchSpec}")
+                ChronoLogger.logTrace("Scanned ${scannedRows} rows in ${timeAfter - timeBefore}ms, produced ${matches} results. Query: ${searchSpec}")
+            }
+        }
+    }
+
+    private fun countDistinctPrimaryKeys(runs: List<ByteIterable>): Long {
+        val cursors = mutableListOf<Cursor>()
+        try {
+            // the current entry of every run, ordered by primary key
+            val heads = PriorityQueue<RunHead<V>>(runs.size, compareBy { it.key.primaryKeyBinary })
+            for (indexValue in runs) {
+                val cursor = tx.openCursorOn(storeName)
+                cursors.add(cursor)
+                val firstKey = cursor.ceilEntry(indexValue)?.first ?: continue
+                val head = RunHead(cursor, indexValue, this.parseKey(firstKey))
+                if (this.moveToMatchInRun(head)) {
+                    heads.add(head)
+                }
+            }
+            var count = 0L
+            var previousPrimaryKey: ByteIterable? = null
+            while (heads.isNotEmpty()) {
+                val head = heads.poll()
+                if (head.key.primaryKeyBinary != previousPrimaryKey) {
+                    count++
+                    previousPrimaryKey = head.key.primaryKeyBinary
+                }
+                if (head.cursor.next) {
+                    head.key = this.parseKey(head.cursor.key)
+                    if (this.moveToMatchInRun(head)) {
+                        heads.add(head)
+                    }
+                }
             }
+            return count
+        } finally {
+            cursors.forEach { it.close() }
+        }
+    }
 
-            return@withCursorOn resultList
+    /**
+     * Moves the cursor of the given run forward until it points to an entry of the run which matches the timestamp.
+     *
+     * @return `true` if the run has such an entry, `false` if the run is exhausted.
+     */
+    private fun moveToMatchInRun(head: RunHead<V>): Boolean {
+        while (true) {
+            val key = head.key
+            if (key.indexValueBinary == head.indexValue) {
+                if (StoreUtils.isTimestampInRange(timestamp, head.cursor.value, scanTimeMode)) {
+                    return true
+                }
+            } else if (!key.indexValueBinary.startsWith(head.indexValue)) {
+                // we have left the range of keys which start with the index value of the run
+                return false
+            }
+            if (!head.cursor.next) {
+                return false
+            }
+            head.key = this.parseKey(head.cursor.key)
         }
     }
 
+    private fun ByteIterable.startsWith(prefix: ByteIterable): Boolean {
+        return this.length >= prefix.length && this.subIterable(0, prefix.length) == prefix
+    }
+
+    private class RunHead<V>(
+        val cursor: Cursor,
+        val indexValue: ByteIterable,
+        var key: SecondaryIndexKey<V>
+    )
+
+    companion object {
+
+        /** The maximum number of runs (distinct matching index values) which [performCount] merges with one cursor each. */
+        const val MAX_MERGED_RUNS = 64
+
+    }
+
     enum class ScanDirection {
 
-        ASCENDING(Cursor::getNext), DESCENDING(Cursor::getPrev);
+        ASCENDING(Cursor::getNext, Order.ASCENDING), DESCENDING(Cursor::getPrev, Order.DESCENDING);
 
         private val moveFunction: (Cursor)->Boolean
 
-        constructor(moveFunction: (Cursor)->Boolean){
+        /** The order in which the index values are visited. */
+        val order: Order
+
+        constructor(moveFunction: (Cursor)->Boolean, order: Order){
             this.moveFunction = moveFunction
+            this.order = order
         }
 
         fun moveCursor(cursor: Cursor): Boolean {
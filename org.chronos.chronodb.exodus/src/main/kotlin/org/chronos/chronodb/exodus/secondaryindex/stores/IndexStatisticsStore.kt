@@ -0,0 +1,152 @@
+package org.chronos.chronodb.exodus.secondaryindex.stores
+
+import org.chronos.chronodb.exodus.kotlin.ext.parseAsString
+import org.chronos.chronodb.exodus.kotlin.ext.toByteArray
+import org.chronos.chronodb.exodus.kotlin.ext.toByteIterable
+import org.chronos.chronodb.exodus.layout.ChronoDBStoreLayout
+import org.chronos.chronodb.exodus.transaction.ExodusTransaction
+import org.chronos.chronodb.exodus.util.readLongsFromBytes
+import org.chronos.chronodb.exodus.util.writeLongsToBytes
+import org.chronos.chronodb.internal.api.index.IndexStatistics
+
+/**
+ * Stores the [IndexStatistics] of the secondary indices in an index environment.
+ *
+ * There is one entry per index and keyspace. An entry is only created while the corresponding index store is still
+ * empty (or on a rebuild); from then on, it is updated with every change of the index. Indices which existed before
+ * statistics were introduced therefore have no statistics until they are rebuilt, which the query planner treats as
+ * "unknown".
+ */
+object IndexStatisticsStore {
+
+    // =================================================================================================================
+    // CONSTANTS
+    // =================================================================================================================
+
+    private const val STORE_NAME = ChronoDBStoreLayout.STORE_NAME__SECONDARY_INDEX_STATISTICS
+
+    // =================================================================================================================
+    // PUBLIC API
+    // =================================================================================================================
+
+    /**
+     * Creates empty statistics for the given index, but only if the given index store does not exist yet.
+     *
+     * @param tx The transaction to operate on. Must not be read-only.
+     * @param indexName The name of the index.
+     * @param keyspace The keyspace of the index.
+     * @param indexStoreName The name of the store which holds the entries of the index.
+     */
+    fun createIfIndexIsEmpty(tx: ExodusTransaction, indexName: String, keyspace: String, indexStoreName: String) {
+        if (tx.storeExists(indexStoreName)) {
+            return
+        }
+        if (this.get(tx, indexName, keyspace) != null) {
+            return
+        }
+        this.put(tx, indexName, keyspace, IndexStatistics(0, 0))
+    }
+
+    /**
+     * Returns the statistics of the given index.
+     *
+     * @param tx The transaction to operate on.
+     * @param indexName The name of the index.
+     * @param keyspace The keyspace of the index.
+     * @return The statistics, or `null` if there are none.
+     */
+    fun get(tx: ExodusTransaction, indexName: String, keyspace: String): IndexStatistics? {
+        val bytes = tx.get(STORE_NAME, this.createKey(indexName, keyspace)) ?: return null
+        val longs = readLongsFromBytes(bytes.toByteArray())
+        return IndexStatistics(Math.max(0L, longs[0]), Math.max(0L, longs[1]))
+    }
+
+    /**
+     * Overwrites the statistics of the given index.
+     *
+     * @param tx The transaction to operate on. Must not be read-only.
+     * @param indexName The name of the index.
+     * @param keyspace The keyspace of the index.
+     * @param statistics The new statistics.
+     */
+    fun put(tx: ExodusTransaction, indexName: String, keyspace: String, statistics: IndexStatistics) {
+        val bytes = writeLongsToBytes(listOf(statistics.entryCount, statistics.distinctValueCount))
+        tx.put(STORE_NAME, this.createKey(indexName, keyspace), bytes.toByteIterable())
+    }
+
+    /**
+     * Adds the given deltas to the statistics of the given index. Does nothing if the index has no statistics.
+     *
+     * @param tx The transaction to operate on. Must not be read-only.
+     * @param indexName The name of the index.
+     * @param keyspace The keyspace of the index.
+     * @param entryCountDelta The change in the number of valid entries.
+     * @param distinctValueCountDelta The change in the number of distinct values.
+     */
+    fun update(tx: ExodusTransaction, indexName: String, keyspace: String, entryCountDelta: Long, distinctValueCountDelta: Long) {
+        if (entryCountDelta == 0L && distinctValueCountDelta == 0L) {
+            return
+        }
+        val key = this.createKey(indexName, keyspace)
+        val bytes = tx.get(STORE_NAME, key) ?: return
+        val longs = readLongsFromBytes(bytes.toByteArray())
+        val newBytes = writeLongsToBytes(listOf(longs[0] + entryCountDelta, longs[1] + distinctValueCountDelta))
+        tx.put(STORE_NAME, key, newBytes.toByteIterable())
+    }
+
+    /**
+     * Returns the keyspaces in which the given index has statistics.
+     *
+     * @param tx The transaction to operate on.
+     * @param indexName The name of the index.
+     * @return The set of keyspaces. May be empty.
+     */
+    fun getKeyspaces(tx: ExodusTransaction, indexName: String): Set<String> {
+        return tx.withCursorOn(STORE_NAME) { cursor ->
+            val keyspaces = mutableSetOf<String>()
+            while (cursor.next) {
+                val (keyspace, currentIndexName) = this.parseKey(cursor.key.parseAsString())
+                if (currentIndexName == indexName) {
+                    keyspaces += keyspace
+                }
+            }
+            keyspaces
+        }
+    }
+
+    /**
+     * Deletes the statistics of all of the given indices (in all keyspaces).
+     *
+     * @param tx The transaction to operate on. Must not be read-only.
+     * @param indexNames The names of the indices to delete the statistics for.
+     */
+    fun delete(tx: ExodusTransaction, indexNames: Set<String>) {
+        if (!tx.storeExists(STORE_NAME)) {
+            return
+        }
+        tx.withCursorOn(STORE_NAME) { cursor ->
+            while (cursor.next) {
+                if (this.parseKey(cursor.key.parseAsString()).second in indexNames) {
+                    cursor.deleteCurrent()
+                }
+            }
+        }
+    }
+
+    // =================================================================================================================
+    // HELPER METHODS
+    // =================================================================================================================
+
+    private fun createKey(indexName: String, keyspace: String): String {
+        return "${keyspace.length}/${keyspace}${indexName}"
+    }
+
+    private fun parseKey(key: String): Pair<String, String> {
+        val separatorIndex = key.indexOf('/')
+        val keyspaceLength = key.substring(0, separatorIndex).toInt()
+        val keyspace = key.substring(separatorIndex + 1, separatorIndex + 1 + keyspaceLength)
+        val indexName = key.substring(separatorIndex + 1 + keyspaceLength)
+        return Pair(keyspace, indexName)
+    }
+
+}
@@ -80,19 +80,50 @@ object SecondaryDoubleIndexStore : SecondaryIndexStore<Double, DoubleSearchSpeci
         return tx.delete(storeName, key)
     }
 
-    override fun scan(tx: ExodusTransaction, searchSpec: DoubleSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode): ScanResult<Double> {
+    override fun scan(tx: ExodusTransaction, searchSpec: DoubleSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode, maxResults: Int): ScanResult<Double> {
+        val scanConfiguration = this.createScanConfiguration(tx, searchSpec, keyspace, timestamp, scanTimeMode, maxResults)
+        val resultList = scanConfiguration.performScan()
+        return ScanResult(resultList, OrderedBy(searchSpec.property, scanConfiguration.direction.order))
+    }
+
+    /**
+     * Counts the distinct primary keys which match the given search specification, without collecting them.
+     *
+     * @return The number of matching primary keys, or `null` if they can't be counted directly (see [IndexScanConfiguration.performCount]).
+     */
+    fun count(tx: ExodusTransaction, searchSpec: DoubleSearchSpecification, keyspace: String, timestamp: Long): Long? {
+        return this.createScanConfiguration(tx, searchSpec, keyspace, timestamp, ScanTimeMode.SCAN_FOR_PERIOD_MATCHES, Int.MAX_VALUE).performCount()
+    }
+
+    /**
+     * Counts the distinct primary keys which match the given search specification, without collecting them.
+     *
+     * @return The number of matching primary keys, or `null` if they can't be counted directly.
+     */
+    fun count(tx: ExodusTransaction, searchSpec: ContainmentDoubleSearchSpecification, keyspace: String, timestamp: Long): Long? {
+        if (searchSpec.condition == DoubleContainmentCondition.WITHIN) {
+            when (searchSpec.searchValue.size) {
+                0 -> return 0
+                // small sets are evaluated as a union of EQUALS scans, see scan(...)
+                in 1..3 -> return null
+            }
+        }
+        return this.configureGeneric(tx, searchSpec, keyspace, timestamp, ScanTimeMode.SCAN_FOR_PERIOD_MATCHES, Int.MAX_VALUE).performCount()
+    }
+
+    private fun createScanConfiguration(tx: ExodusTransaction, searchSpec: DoubleSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode, maxResults: Int): IndexScanConfiguration<Double, DoubleSearchSpecification> {
         return when (searchSpec.condition) {
             !is NumberCondition -> throw IllegalStateException("Condition ${searchSpec.condition} is not applicable to DOUBLE indices!")
-            NumberCondition.EQUALS -> scanEquals(tx, searchSpec, keyspace, timestamp, scanTimeMode)
-            NumberCondition.GREATER_EQUAL -> scanGreaterEqual(tx, searchSpec, keyspace, timestamp, scanTimeMode)
-            NumberCondition.GREATER_THAN -> scanGreaterThan(tx, searchSpec, keyspace, timestamp, scanTimeMode)
-            NumberCondition.LESS_EQUAL -> scanLessEqual(tx, searchSpec, keyspace, timestamp, scanTimeMode)
-            NumberCondition.LESS_THAN -> scanLessThan(tx, searchSpec, keyspace, timestamp, scanTimeMode)
-            else -> scanGeneric(tx, searchSpec, keyspace, timestamp, scanTimeMode)
+            NumberCondition.EQUALS -> configureEquals(tx, searchSpec, keyspace, timestamp, scanTimeMode, maxResults)
+            NumberCondition.GREATER_EQUAL -> configureGreaterEqual(tx, searchSpec, keyspace, timestamp, scanTimeMode, maxResults)
+            NumberCondition.GREATER_THAN -> configureGreaterThan(tx, searchSpec, keyspace, timestamp, scanTimeMode, maxResults)
+            NumberCondition.LESS_EQUAL -> configureLessEqual(tx, searchSpec, keyspace, timestamp, scanTimeMode, maxResults)
+            NumberCondition.LESS_THAN -> configureLessThan(tx, searchSpec, keyspace, timestamp, scanTimeMode, maxResults)
+            else -> configureGeneric(tx, searchSpec, keyspace, timestamp, scanTimeMode, maxResults)
         }
     }
 
-    fun scan(tx: ExodusTransaction, searchSpec: ContainmentDoubleSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode): ScanResult<Double> {
+    fun scan(tx: ExodusTransaction, searchSpec: ContainmentDoubleSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode, maxResults: Int = Int.MAX_VALUE): ScanResult<Double> {
         return when (searchSpec.condition) {
             DoubleContainmentCondition.WITHIN -> {
                 val searchValues = searchSpec.searchValue
@@ -107,17 +138,17 @@ object SecondaryDoubleIndexStore : SecondaryIndexStore<Double, DoubleSearchSpeci
                                 searchValue,
                                 searchSpec.equalityTolerance
                             )
-                            return@flatMap this.scan(tx, innerSearchSpec, keyspace, timestamp, scanTimeMode).entries.asSequence()
+                            return@flatMap this.scan(tx, innerSearchSpec, keyspace, timestamp, scanTimeMode, maxResults).entries.asSequence()
                         }.distinct().toList()
                         // Note: we have no ordering on those results due to the set union; if we require an ordering, we would
                         // have to establish it here.
                         ScanResult(entries)
                     }
-                    else -> this.scanGeneric(tx, searchSpec, keyspace, timestamp, scanTimeMode)
+                    else -> this.scanGeneric(tx, searchSpec, keyspace, timestamp, scanTimeMode, maxResults)
                 }
             }
-            DoubleContainmentCondition.WITHOUT -> this.scanGeneric(tx, searchSpec, keyspace, timestamp, scanTimeMode)
-            else -> scanGeneric(tx, searchSpec, keyspace, timestamp, scanTimeMode)
+            DoubleContainmentCondition.WITHOUT -> this.scanGeneric(tx, searchSpec, keyspace, timestamp, scanTimeMode, maxResults)
+            else -> scanGeneric(tx, searchSpec, keyspace, timestamp, scanTimeMode, maxResults)
         }
     }
 
@@ -140,6 +171,8 @@ object SecondaryDoubleIndexStore : SecondaryIndexStore<Double, DoubleSearchSpeci
                 this.rollbackInternal(tx, storeName, timestamp, this::parseSecondaryIndexKey, keysToRollBack)
             }
         }
+        // the rollback may have removed arbitrary entries; count them again
+        this.recomputeStatistics(tx, indexName, keys?.asSequence()?.map { it.keyspace }?.toSet())
     }
 
     override fun allEntries(tx: ExodusTransaction, keyspace: String, propertyName: String, consumer: RawIndexEntryConsumer<Double>) {
@@ -151,9 +184,9 @@ object SecondaryDoubleIndexStore : SecondaryIndexStore<Double, DoubleSearchSpeci
     // SCAN METHODS
     // =================================================================================================================
 
-    private fun scanEquals(tx: ExodusTransaction, searchSpec: DoubleSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode): ScanResult<Double> {
+    private fun configureEquals(tx: ExodusTransaction, searchSpec: DoubleSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode, maxResults: Int): IndexScanConfiguration<Double, DoubleSearchSpecification> {
         require(searchSpec.searchValue.isFinite()) { "Precondition violation - search spec contains a match value which is Infinity or NaN!" }
-        val scanConfiguration = IndexScanConfiguration<Double, DoubleSearchSpecification>(
+        return IndexScanConfiguration<Double, DoubleSearchSpecification>(
                 tx = tx,
                 searchSpec = searchSpec,
                 storeName = storeName(searchSpec.property, keyspace),
@@ -162,15 +195,14 @@ object SecondaryDoubleIndexStore : SecondaryIndexStore<Double, DoubleSearchSpeci
                 direction = ASCENDING,
                 scanStrategy = STOP_AT_FIRST_MISMATCH,
                 parseKey = this::parseSecondaryIndexKey,
-                scanTimeMode = scanTimeMode
+                scanTimeMode = scanTimeMode,
+                maxResults = maxResults
         )
-        val resultList = scanConfiguration.performScan()
-        return ScanResult(resultList, OrderedBy(searchSpec.property, Order.ASCENDING))
     }
 
-    private fun scanGreaterEqual(tx: ExodusTransaction, searchSpec: DoubleSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode): ScanResult<Double> {
+    private fun configureGreaterEqual(tx: ExodusTransaction, searchSpec: DoubleSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode, maxResults: Int): IndexScanConfiguration<Double, DoubleSearchSpecification> {
         require(searchSpec.searchValue.isFinite()) { "Precondition violation - search spec contains a match value which is Infinity or NaN!" }
-        val scanConfiguration = IndexScanConfiguration<Double, DoubleSearchSpecification>(
+        return IndexScanConfiguration<Double, DoubleSearchSpecification>(
                 tx = tx,
                 searchSpec = searchSpec,
                 storeName = storeName(searchSpec.property, keyspace),
@@ -182,15 +214,14 @@ object SecondaryDoubleIndexStore : SecondaryIndexStore<Double, DoubleSearchSpeci
                 direction = ASCENDING,
                 scanStrategy = STOP_AT_FIRST_MISMATCH,
                 parseKey = this::parseSecondaryIndexKey,
-                scanTimeMode = scanTimeMode
+                scanTimeMode = scanTimeMode,
+                maxResults = maxResults
         )
-        val resultList = scanConfiguration.performScan()
-        return ScanResult(resultList, OrderedBy(searchSpec.property, Order.ASCENDING))
     }
 
-    private fun scanGreaterThan(tx: ExodusTransaction, searchSpec: DoubleSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode): ScanResult<Double> {
+    private fun configureGreaterThan(tx: ExodusTransaction, searchSpec: DoubleSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode, maxResults: Int): IndexScanConfiguration<Double, DoubleSearchSpecification> {
         require(searchSpec.searchValue.isFinite()) { "Precondition violation - search spec contains a match value which is Infinity or NaN!" }
-        val scanConfiguration = IndexScanConfiguration<Double, DoubleSearchSpecification>(
+        return IndexScanConfiguration<Double, DoubleSearchSpecification>(
                 tx = tx,
                 searchSpec = searchSpec,
                 storeName = storeName(searchSpec.property, keyspace),
@@ -201,15 +232,14 @@ object SecondaryDoubleIndexStore : SecondaryIndexStore<Double, DoubleSearchSpeci
                 direction = ASCENDING,
                 scanStrategy = STOP_AT_FIRST_MISMATCH,
                 parseKey = this::parseSecondaryIndexKey,
-                scanTimeMode = scanTimeMode
+                scanTimeMode = scanTimeMode,
+                maxResults = maxResults
         )
-        val resultList = scanConfiguration.performScan()
-        return ScanResult(resultList, OrderedBy(searchSpec.property, Order.ASCENDING))
     }
 
-    private fun scanLessEqual(tx: ExodusTransaction, searchSpec: DoubleSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode): ScanResult<Double> {
+    private fun configureLessEqual(tx: ExodusTransaction, searchSpec: DoubleSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode, maxResults: Int): IndexScanConfiguration<Double, DoubleSearchSpecification> {
         require(searchSpec.searchValue.isFinite()) { "Precondition violation - search spec contains a match value which is Infinity or NaN!" }
-        val scanConfiguration = IndexScanConfiguration<Double, DoubleSearchSpecification>(
+        return IndexScanConfiguration<Double, DoubleSearchSpecification>(
                 tx = tx,
                 searchSpec = searchSpec,
                 storeName = storeName(searchSpec.property, keyspace),
@@ -221,15 +251,14 @@ object SecondaryDoubleIndexStore : SecondaryIndexStore<Double, DoubleSearchSpeci
                 direction = DESCENDING,
                 scanStrategy = STOP_AT_FIRST_MISMATCH,
                 parseKey = this::parseSecondaryIndexKey,
-                scanTimeMode = scanTimeMode
+                scanTimeMode = scanTimeMode,
+                maxResults = maxResults
         )
-        val resultList = scanConfiguration.performScan()
-        return ScanResult(resultList, OrderedBy(searchSpec.property, Order.DESCENDING))
     }
 
-    private fun scanLessThan(tx: ExodusTransaction, searchSpec: DoubleSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode): ScanResult<Double> {
+    private fun configureLessThan(tx: ExodusTransaction, searchSpec: DoubleSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode, maxResults: Int): IndexScanConfiguration<Double, DoubleSearchSpecification> {
         require(searchSpec.searchValue.isFinite()) { "Precondition violation - search spec contains a match value which is Infinity or NaN!" }
-        val scanConfiguration = IndexScanConfiguration<Double, DoubleSearchSpecification>(
+        return IndexScanConfiguration<Double, DoubleSearchSpecification>(
                 tx = tx,
                 searchSpec = searchSpec,
                 storeName = storeName(searchSpec.property, keyspace),
@@ -240,14 +269,13 @@ object SecondaryDoubleIndexStore : SecondaryIndexStore<Double, DoubleSearchSpeci
                 direction = DESCENDING,
                 scanStrategy = STOP_AT_FIRST_MISMATCH,
                 parseKey = this::parseSecondaryIndexKey,
-                scanTimeMode = scanTimeMode
+                scanTimeMode = scanTimeMode,
+                maxResults = maxResults
         )
-        val resultList = scanConfiguration.performScan()
-        return ScanResult(resultList, OrderedBy(searchSpec.property, Order.DESCENDING))
     }
 
-    private fun scanGeneric(tx: ExodusTransaction, searchSpec: DoubleSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode): ScanResult<Double> {
-        val scanConfiguration = IndexScanConfiguration<Double, DoubleSearchSpecification>(
+    private fun configureGeneric(tx: ExodusTransaction, searchSpec: DoubleSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode, maxResults: Int): IndexScanConfiguration<Double, DoubleSearchSpecification> {
+        return IndexScanConfiguration<Double, DoubleSearchSpecification>(
                 tx = tx,
                 searchSpec = searchSpec,
                 storeName = storeName(searchSpec.property, keyspace),
@@ -256,14 +284,18 @@ object SecondaryDoubleIndexStore : SecondaryIndexStore<Double, DoubleSearchSpeci
                 direction = ASCENDING,
                 scanStrategy = SCAN_UNTIL_END,
                 parseKey = this::parseSecondaryIndexKey,
-                scanTimeMode = scanTimeMode
+                scanTimeMode = scanTimeMode,
+                maxResults = maxResults
         )
-        val resultList = scanConfiguration.performScan()
+    }
+
+    private fun scanGeneric(tx: ExodusTransaction, searchSpec: ContainmentDoubleSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode, maxResults: Int): ScanResult<Double> {
+        val resultList = this.configureGeneric(tx, searchSpec, keyspace, timestamp, scanTimeMode, maxResults).performScan()
         return ScanResult(resultList, OrderedBy(searchSpec.property, Order.ASCENDING))
     }
 
-    private fun scanGeneric(tx: ExodusTransaction, searchSpec: ContainmentDoubleSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode): ScanResult<Double> {
-        val scanConfiguration = IndexScanConfiguration<Double, ContainmentDoubleSearchSpecification>(
+    private fun configureGeneric(tx: ExodusTransaction, searchSpec: ContainmentDoubleSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode, maxResults: Int): IndexScanConfiguration<Double, ContainmentDoubleSearchSpecification> {
+        return IndexScanConfiguration<Double, ContainmentDoubleSearchSpecification>(
             tx = tx,
             searchSpec = searchSpec,
             storeName = storeName(searchSpec.property, keyspace),
@@ -272,16 +304,19 @@ object SecondaryDoubleIndexStore : SecondaryIndexStore<Double, DoubleSearchSpeci
             direction = ASCENDING,
             scanStrategy = SCAN_UNTIL_END,
             parseKey = this::parseSecondaryIndexKey,
-            scanTimeMode = scanTimeMode
+            scanTimeMode = scanTimeMode,
+            maxResults = maxResults
         )
-        val resultList = scanConfiguration.performScan()
-        return ScanResult(resultList, OrderedBy(searchSpec.property, Order.ASCENDING))
     }
 
     // =================================================================================================================
     // INTERNAL METHODS
     // =================================================================================================================
 
+    override fun createIndexValuePrefix(indexValue: Double): ByteArray {
+        return DoubleBinding.doubleToEntry(indexValue).toByteArray()
+    }
+
     @VisibleForTesting
     fun createSecondaryIndexKey(indexValue: Double, userKey: String): ByteArray {
         // serialize the index value
@@ -311,12 +346,12 @@ object SecondaryDoubleIndexStore : SecondaryIndexStore<Double, DoubleSearchSpeci
     }
 
     @VisibleForTesting
-    fun parseSecondaryIndexKey(bytes: ByteArray): SecondaryIndexKey<Double> {
+    override fun parseSecondaryIndexKey(bytes: ByteArray): SecondaryIndexKey<Double> {
         return this.parseSecondaryIndexKey(bytes.toByteIterable())
     }
 
     @VisibleForTesting
-    fun storeName(indexName: String, keyspace: String): String {
+    override fun storeName(indexName: String, keyspace: String): String {
         return "${ChronoDBStoreLayout.STORE_NAME_PREFIX__SECONDARY_INDEX_DOUBLE}${keyspace.length}/$keyspace}${indexName}"
     }
 
@@ -10,6 +10,7 @@ import org.chronos.chronodb.exodus.util.readLongsFromBytes
 import org.chronos.chronodb.exodus.util.writeLong
 import org.chronos.chronodb.exodus.util.writeLongsToBytes
 import org.chronos.chronodb.internal.api.Period
+import org.chronos.chronodb.internal.api.index.IndexStatistics
 import org.chronos.chronodb.internal.api.query.searchspec.SearchSpecification
 
 abstract class SecondaryIndexStore<V, S : SearchSpecification<V, *>> {
@@ -20,7 +21,12 @@ abstract class SecondaryIndexStore<V, S : SearchSpecification<V, *>> {
 
     fun insert(tx: ExodusTransaction, indexName: String, keyspace: String, indexValue: V, userKey: String, validFrom: Long, validTo: Long = Long.MAX_VALUE) {
         val presentValue = this.loadValue(tx, indexName, keyspace, indexValue, userKey)
+        val hasStatistics = IndexStatisticsStore.get(tx, indexName, keyspace) != null
+        var distinctValueCountDelta = 0L
         val longs = if (presentValue == null) {
+            if (hasStatistics && !this.containsIndexValue(tx, indexName, keyspace, indexValue)) {
+                distinctValueCountDelta = 1
+            }
             writeLongsToBytes(listOf(validFrom, validTo))
         } else {
             val presentBytes = presentValue.toByteArray()
@@ -39,6 +45,10 @@ abstract class SecondaryIndexStore<V, S : SearchSpecification<V, *>> {
         }
         val timestamps = longs.toByteIterable()
         this.storeEntry(tx, indexName, keyspace, indexValue, userKey, timestamps)
+        if (hasStatistics) {
+            val entryCountDelta = if (validTo == Long.MAX_VALUE) 1L else 0L
+            IndexStatisticsStore.update(tx, indexName, keyspace, entryCountDelta, distinctValueCountDelta)
+        }
     }
 
     fun terminateValidity(tx: ExodusTransaction, indexName: String, keyspace: String, indexValue: V, userKey: String, timestamp: Long, lowerBound: Long): Boolean {
@@ -62,6 +72,11 @@ abstract class SecondaryIndexStore<V, S : SearchSpecification<V, *>> {
                     // to be deleted instead. This situation can appear during incremental
                     // commits.
                     this.deleteValue(tx, indexName, keyspace, indexValue, userKey)
+                    if (IndexStatisticsStore.get(tx, indexName, keyspace) != null) {
+                        val entryCountDelta = if (lastPeriod.isOpenEnded) -1L else 0L
+                        val distinctValueCountDelta = if (this.containsIndexValue(tx, indexName, keyspace, indexValue)) 0L else -1L
+                        IndexStatisticsStore.update(tx, indexName, keyspace, entryCountDelta, distinctValueCountDelta)
+                    }
                     return true
                 }
                 lastPeriod.upperBound < Long.MAX_VALUE -> {
@@ -74,6 +89,7 @@ abstract class SecondaryIndexStore<V, S : SearchSpecification<V, *>> {
                     writeLong(presentBytes, timestamp, presentBytes.size - LONG_BYTES)
                     val newBytes = presentBytes.toByteIterable()
                     this.storeEntry(tx, indexName, keyspace, indexValue, userKey, newBytes)
+                    IndexStatisticsStore.update(tx, indexName, keyspace, -1, 0)
                     return true
                 }
                 else -> return false
@@ -91,6 +107,69 @@ abstract class SecondaryIndexStore<V, S : SearchSpecification<V, *>> {
      */
     abstract fun rollback(tx: ExodusTransaction, indexName: String, timestamp: Long, keys: Set<QualifiedKey>? = null)
 
+    /**
+     * Checks if the given index contains at least one entry (valid or not) for the given index value.
+     *
+     * @param tx The transaction to operate on.
+     * @param indexName The name of the index.
+     * @param keyspace The keyspace of the index.
+     * @param indexValue The index value to look for.
+     * @return `true` if there is an entry with the given index value, otherwise `false`.
+     */
+    fun containsIndexValue(tx: ExodusTransaction, indexName: String, keyspace: String, indexValue: V): Boolean {
+        val prefix = this.createIndexValuePrefix(indexValue)
+        return tx.withCursorOn(this.storeName(indexName, keyspace)) { cursor ->
+            val key = cursor.getSearchKeyRange(prefix.toByteIterable())
+            key != null && startsWith(key.toByteArray(), prefix)
+        }
+    }
+
+    /**
+     * Recomputes the [statistics][IndexStatisticsStore] of the given index from scratch, by scanning all of its entries.
+     *
+     * Indices without statistics are ignored.
+     *
+     * @param tx The transaction to operate on. Must not be read-only.
+     * @param indexName The name of the index.
+     * @param keyspaces The keyspaces to recompute the statistics for. Use `null` to recompute them for all keyspaces.
+     */
+    protected fun recomputeStatistics(tx: ExodusTransaction, indexName: String, keyspaces: Set<String>?) {
+        val keyspacesWithStatistics = IndexStatisticsStore.getKeyspaces(tx, indexName)
+        val keyspacesToRecompute = if (keyspaces == null) keyspacesWithStatistics else keyspacesWithStatistics.intersect(keyspaces)
+        for (keyspace in keyspacesToRecompute) {
+            var entryCount = 0L
+            var distinctValueCount = 0L
+            var previousIndexValue: V? = null
+            tx.withCursorOn(this.storeName(indexName, keyspace)) { cursor ->
+                while (cursor.next) {
+                    // all entries are sorted by their index value first, so equal index values are adjacent
+                    val indexValue = this.parseSecondaryIndexKey(cursor.key.toByteArray()).indexValuePlain
+                    if (distinctValueCount == 0L || indexValue != previousIndexValue) {
+                        distinctValueCount++
+                        previousIndexValue = indexValue
+                    }
+                    val valueBytes = cursor.value.toByteArray()
+                    if (readLong(valueBytes, valueBytes.size - LONG_BYTES) == Long.MAX_VALUE) {
+                        entryCount++
+                    }
+                }
+            }
+            IndexStatisticsStore.put(tx, indexName, keyspace, IndexStatistics(entryCount, distinctValueCount))
+        }
+    }
+
+    protected fun startsWith(array: ByteArray, prefix: ByteArray): Boolean {
+        if (array.size < prefix.size) {
+            return false
+        }
+        for (i in prefix.indices) {
+            if (array[i] != prefix[i]) {
+                return false
+            }
+        }
+        return true
+    }
+
     private fun readLastPeriod(bytes: ByteArray): Period {
         val lowerBound = readLong(bytes, bytes.size - LONG_BYTES * 2)
         val upperBound = readLong(bytes, bytes.size - LONG_BYTES)
@@ -163,7 +242,30 @@ abstract class SecondaryIndexStore<V, S : SearchSpecification<V, *>> {
 
     abstract fun allEntries(tx: ExodusTransaction, keyspace: String, propertyName: String, consumer: RawIndexEntryConsumer<V>)
 
-    abstract fun scan(tx: ExodusTransaction, searchSpec: S, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode = ScanTimeMode.SCAN_FOR_PERIOD_MATCHES): ScanResult<V>
+    /**
+     * Scans the index for entries which match the given search specification.
+     *
+     * @param tx The transaction to operate on.
+     * @param searchSpec The search specification to evaluate.
+     * @param keyspace The keyspace to search in.
+     * @param timestamp The timestamp to evaluate the search results for. Must not be negative.
+     * @param scanTimeMode Specifies which condition to apply to the time periods of each result.
+     * @param maxResults The number of distinct primary keys after which the scan may stop. The result will contain at least this many distinct primary keys, unless there are fewer matches. Use [Int.MAX_VALUE] (default) to get all matches.
+     * @return The scan result.
+     */
+    abstract fun scan(tx: ExodusTransaction, searchSpec: S, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode = ScanTimeMode.SCAN_FOR_PERIOD_MATCHES, maxResults: Int = Int.MAX_VALUE): ScanResult<V>
+
+    abstract fun storeName(indexName: String, keyspace: String): String
+
+    abstract fun parseSecondaryIndexKey(bytes: ByteArray): SecondaryIndexKey<V>
+
+    /**
+     * Creates the prefix which is shared by the keys of all entries with the given index value.
+     *
+     * @param indexValue The index value to create the prefix for.
+     * @return The key prefix.
+     */
+    protected abstract fun createIndexValuePrefix(indexValue: V): ByteArray
 
     protected abstract fun storeEntry(tx: ExodusTransaction, indexName: String, keyspace: String, indexValue: V, userKey: String, timestamps: ByteIterable)
 
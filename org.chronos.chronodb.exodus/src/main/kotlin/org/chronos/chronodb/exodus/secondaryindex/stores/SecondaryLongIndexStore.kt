@@ -37,7 +37,7 @@ object SecondaryLongIndexStore : SecondaryIndexStore<Long, LongSearchSpecificati
     // =================================================================================================================
 
     @VisibleForTesting
-    fun storeName(indexName: String, keyspace: String): String {
+    override fun storeName(indexName: String, keyspace: String): String {
         return "${ChronoDBStoreLayout.STORE_NAME_PREFIX__SECONDARY_INDEX_LONG}${keyspace.length}/$keyspace}${indexName}"
     }
 
@@ -110,6 +110,12 @@ object SecondaryLongIndexStore : SecondaryIndexStore<Long, LongSearchSpecificati
                 this.rollbackInternal(tx, storeName, timestamp, this::parseSecondaryIndexKey, keysToRollBack)
             }
         }
+        // the rollback may have removed arbitrary entries; count them again
+        this.recomputeStatistics(tx, indexName, keys?.asSequence()?.map { it.keyspace }?.toSet())
+    }
+
+    override fun createIndexValuePrefix(indexValue: Long): ByteArray {
+        return indexValue.toByteIterable().toByteArray()
     }
 
     @VisibleForTesting
@@ -132,7 +138,7 @@ object SecondaryLongIndexStore : SecondaryIndexStore<Long, LongSearchSpecificati
     }
 
     @VisibleForTesting
-    fun parseSecondaryIndexKey(bytes: ByteArray): SecondaryIndexKey<Long> {
+    override fun parseSecondaryIndexKey(bytes: ByteArray): SecondaryIndexKey<Long> {
         return this.parseSecondaryIndexKey(bytes.toByteIterable())
     }
 
@@ -146,19 +152,50 @@ object SecondaryLongIndexStore : SecondaryIndexStore<Long, LongSearchSpecificati
         return SecondaryIndexKey(indexValueBytes, userKeyBytes, ByteIterable::parseAsLong)
     }
 
-    override fun scan(tx: ExodusTransaction, searchSpec: LongSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode): ScanResult<Long> {
+    override fun scan(tx: ExodusTransaction, searchSpec: LongSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode, maxResults: Int): ScanResult<Long> {
+        val scanConfiguration = this.createScanConfiguration(tx, searchSpec, keyspace, timestamp, scanTimeMode, maxResults)
+        val resultList = scanConfiguration.performScan()
+        return ScanResult(resultList, OrderedBy(searchSpec.property, scanConfiguration.direction.order))
+    }
+
+    /**
+     * Counts the distinct primary keys which match the given search specification, without collecting them.
+     *
+     * @return The number of matching primary keys, or `null` if they can't be counted directly (see [IndexScanConfiguration.performCount]).
+     */
+    fun count(tx: ExodusTransaction, searchSpec: LongSearchSpecification, keyspace: String, timestamp: Long): Long? {
+        return this.createScanConfiguration(tx, searchSpec, keyspace, timestamp, ScanTimeMode.SCAN_FOR_PERIOD_MATCHES, Int.MAX_VALUE).performCount()
+    }
+
+    /**
+     * Counts the distinct primary keys which match the given search specification, without collecting them.
+     *
+     * @return The number of matching primary keys, or `null` if they can't be counted directly.
+     */
+    fun count(tx: ExodusTransaction, searchSpec: ContainmentLongSearchSpecification, keyspace: String, timestamp: Long): Long? {
+        if (searchSpec.condition == LongContainmentCondition.WITHIN) {
+            when (searchSpec.searchValue.size) {
+                0 -> return 0
+                // small sets are evaluated as a union of EQUALS scans, see scan(...)
+                in 1..3 -> return null
+            }
+        }
+        return this.configureGeneric(tx, searchSpec, keyspace, timestamp, ScanTimeMode.SCAN_FOR_PERIOD_MATCHES, Int.MAX_VALUE).performCount()
+    }
+
+    private fun createScanConfiguration(tx: ExodusTransaction, searchSpec: LongSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode, maxResults: Int): IndexScanConfiguration<Long, LongSearchSpecification> {
         return when (searchSpec.condition) {
             !is NumberCondition -> throw IllegalStateException("Condition ${searchSpec.condition} is not applicable to DOUBLE indices!")
-            NumberCondition.EQUALS -> scanEquals(tx, searchSpec, keyspace, timestamp, scanTimeMode)
-            NumberCondition.GREATER_EQUAL -> scanGreaterEqual(tx, searchSpec, keyspace, timestamp, scanTimeMode)
-            NumberCondition.GREATER_THAN -> scanGreaterThan(tx, searchSpec, keyspace, timestamp, scanTimeMode)
-            NumberCondition.LESS_EQUAL -> scanLessEqual(tx, searchSpec, keyspace, timestamp, scanTimeMode)
-            NumberCondition.LESS_THAN -> scanLessThan(tx, searchSpec, keyspace, timestamp, scanTimeMode)
-            else -> scanGeneric(tx, searchSpec, keyspace, timestamp, scanTimeMode)
+            NumberCondition.EQUALS -> configureEquals(tx, searchSpec, keyspace, timestamp, scanTimeMode, maxResults)
+            NumberCondition.GREATER_EQUAL -> configureGreaterEqual(tx, searchSpec, keyspace, timestamp, scanTimeMode, maxResults)
+            NumberCondition.GREATER_THAN -> configureGreaterThan(tx, searchSpec, keyspace, timestamp, scanTimeMode, maxResults)
+            NumberCondition.LESS_EQUAL -> configureLessEqual(tx, searchSpec, keyspace, timestamp, scanTimeMode, maxResults)
+            NumberCondition.LESS_THAN -> configureLessThan(tx, searchSpec, keyspace, timestamp, scanTimeMode, maxResults)
+            else -> configureGeneric(tx, searchSpec, keyspace, timestamp, scanTimeMode, maxResults)
         }
     }
 
-    fun scan(tx: ExodusTransaction, searchSpec: ContainmentLongSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode): ScanResult<Long> {
+    fun scan(tx: ExodusTransaction, searchSpec: ContainmentLongSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode, maxResults: Int = Int.MAX_VALUE): ScanResult<Long> {
         return when (searchSpec.condition) {
             LongContainmentCondition.WITHIN -> {
                 val searchValues = searchSpec.searchValue
@@ -172,20 +209,52 @@ object SecondaryLongIndexStore : SecondaryIndexStore<Long, LongSearchSpecificati
                                 Condition.EQUALS,
                                 searchValue
                             )
-                            return@flatMap this.scan(tx, innerSearchSpec, keyspace, timestamp, scanTimeMode).entries.asSequence()
+                            return@flatMap this.scan(tx, innerSearchSpec, keyspace, timestamp, scanTimeMode, maxResults).entries.asSequence()
                         }.distinct().toList()
                         // Note: we have no ordering on those results due to the set union; if we require an ordering, we would
                         // have to establish it here.
                         ScanResult(entries)
                     }
-                    else -> this.scanGeneric(tx, searchSpec, keyspace, timestamp, scanTimeMode)
+                    else -> this.scanGeneric(tx, searchSpec, keyspace, timestamp, scanTimeMode, maxResults)
                 }
             }
-            LongContainmentCondition.WITHOUT -> scanGeneric(tx, searchSpec, keyspace, timestamp, scanTimeMode)
-            else -> scanGeneric(tx, searchSpec, keyspace, timestamp, scanTimeMode)
+            LongContainmentCondition.WITHOUT -> scanGeneric(tx, searchSpec, keyspace, timestamp, scanTimeMode, maxResults)
+            else -> scanGeneric(tx, searchSpec, keyspace, timestamp, scanTimeMode, maxResults)
         }
     }
 
+    /**
+     * Scans all entries of the given index in the order of their values.
+     *
+     * @param tx The transaction to operate on.
+     * @param indexName The name of the index to scan.
+     * @param keyspace The keyspace to scan.
+     * @param timestamp The timestamp to scan at. Must not be negative.
+     * @param order The order in which the index values are visited.
+     * @param maxResults The number of distinct primary keys after which the scan stops.
+     * @return The distinct primary keys, each one at the position of its first entry in scan order.
+     */
+    fun scanOrdered(tx: ExodusTransaction, indexName: String, keyspace: String, timestamp: Long, order: Order, maxResults: Int = Int.MAX_VALUE): List<String> {
+        // these conditions accept every value, they only determine the direction of the scan
+        val searchSpec = when (order) {
+            Order.ASCENDING -> LongSearchSpecification.create(indexName, NumberCondition.GREATER_EQUAL, Long.MIN_VALUE)
+            Order.DESCENDING -> LongSearchSpecification.create(indexName, NumberCondition.LESS_EQUAL, Long.MAX_VALUE)
+        }
+        val scanConfiguration = IndexScanConfiguration<Long, LongSearchSpecification>(
+                tx = tx,
+                storeName = this.storeName(indexName, keyspace),
+                searchSpec = searchSpec,
+                timestamp = timestamp,
+                scanStart = null,
+                direction = if (order == Order.ASCENDING) ASCENDING else DESCENDING,
+                scanStrategy = SCAN_UNTIL_END,
+                parseKey = this::parseSecondaryIndexKey,
+                scanTimeMode = ScanTimeMode.SCAN_FOR_PERIOD_MATCHES,
+                maxResults = maxResults
+        )
+        return scanConfiguration.performScan().asSequence().map { it.primaryKey }.distinct().toList()
+    }
+
     override fun allEntries(tx: ExodusTransaction, keyspace: String, propertyName: String, consumer: RawIndexEntryConsumer<Long>) {
         this.allEntries(tx, this.storeName(propertyName, keyspace), this::parseSecondaryIndexKey, consumer)
     }
@@ -194,8 +263,8 @@ object SecondaryLongIndexStore : SecondaryIndexStore<Long, LongSearchSpecificati
     // SCAN METHODS
     // =================================================================================================================
 
-    private fun scanEquals(tx: ExodusTransaction, searchSpec: LongSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode): ScanResult<Long> {
-        val scanConfiguration = IndexScanConfiguration<Long, LongSearchSpecification>(
+    private fun configureEquals(tx: ExodusTransaction, searchSpec: LongSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode, maxResults: Int): IndexScanConfiguration<Long, LongSearchSpecification> {
+        return IndexScanConfiguration<Long, LongSearchSpecification>(
                 tx = tx,
                 storeName = this.storeName(searchSpec.property, keyspace),
                 searchSpec = searchSpec,
@@ -204,14 +273,13 @@ object SecondaryLongIndexStore : SecondaryIndexStore<Long, LongSearchSpecificati
                 direction = ASCENDING,
                 scanStrategy = STOP_AT_FIRST_MISMATCH,
                 parseKey = this::parseSecondaryIndexKey,
-                scanTimeMode = scanTimeMode
+                scanTimeMode = scanTimeMode,
+                maxResults = maxResults
         )
-        val resultList = scanConfiguration.performScan()
-        return ScanResult(resultList, OrderedBy(searchSpec.property, Order.ASCENDING))
     }
 
-    private fun scanGreaterEqual(tx: ExodusTransaction, searchSpec: LongSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode): ScanResult<Long> {
-        val scanConfiguration = IndexScanConfiguration<Long, LongSearchSpecification>(
+    private fun configureGreaterEqual(tx: ExodusTransaction, searchSpec: LongSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode, maxResults: Int): IndexScanConfiguration<Long, LongSearchSpecification> {
+        return IndexScanConfiguration<Long, LongSearchSpecification>(
                 tx = tx,
                 storeName = this.storeName(searchSpec.property, keyspace),
                 searchSpec = searchSpec,
@@ -220,14 +288,13 @@ object SecondaryLongIndexStore : SecondaryIndexStore<Long, LongSearchSpecificati
                 direction = ASCENDING,
                 scanStrategy = STOP_AT_FIRST_MISMATCH,
                 parseKey = this::parseSecondaryIndexKey,
-                scanTimeMode = scanTimeMode
+                scanTimeMode = scanTimeMode,
+                maxResults = maxResults
         )
-        val resultList = scanConfiguration.performScan()
-        return ScanResult(resultList, OrderedBy(searchSpec.property, Order.ASCENDING))
     }
 
-    private fun scanGreaterThan(tx: ExodusTransaction, searchSpec: LongSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode): ScanResult<Long> {
-        val scanConfiguration = IndexScanConfiguration<Long, LongSearchSpecification>(
+    private fun configureGreaterThan(tx: ExodusTransaction, searchSpec: LongSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode, maxResults: Int): IndexScanConfiguration<Long, LongSearchSpecification> {
+        return IndexScanConfiguration<Long, LongSearchSpecification>(
                 tx = tx,
                 storeName = this.storeName(searchSpec.property, keyspace),
                 searchSpec = searchSpec,
@@ -237,14 +304,13 @@ object SecondaryLongIndexStore : SecondaryIndexStore<Long, LongSearchSpecificati
                 direction = ASCENDING,
                 scanStrategy = STOP_AT_FIRST_MISMATCH,
                 parseKey = this::parseSecondaryIndexKey,
-                scanTimeMode = scanTimeMode
+                scanTimeMode = scanTimeMode,
+                maxResults = maxResults
         )
-        val resultList = scanConfiguration.performScan()
-        return ScanResult(resultList, OrderedBy(searchSpec.property, Order.ASCENDING))
     }
 
-    private fun scanLessEqual(tx: ExodusTransaction, searchSpec: LongSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode): ScanResult<Long> {
-        val scanConfiguration = IndexScanConfiguration<Long, LongSearchSpecification>(
+    private fun configureLessEqual(tx: ExodusTransaction, searchSpec: LongSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode, maxResults: Int): IndexScanConfiguration<Long, LongSearchSpecification> {
+        return IndexScanConfiguration<Long, LongSearchSpecification>(
                 tx = tx,
                 storeName = this.storeName(searchSpec.property, keyspace),
                 searchSpec = searchSpec,
@@ -256,14 +322,13 @@ object SecondaryLongIndexStore : SecondaryIndexStore<Long, LongSearchSpecificati
                 direction = DESCENDING,
                 scanStrategy = STOP_AT_FIRST_MISMATCH,
                 parseKey = this::parseSecondaryIndexKey,
-                scanTimeMode = scanTimeMode
+                scanTimeMode = scanTimeMode,
+                maxResults = maxResults
         )
-        val resultList = scanConfiguration.performScan()
-        return ScanResult(resultList, OrderedBy(searchSpec.property, Order.DESCENDING))
     }
 
-    private fun scanLessThan(tx: ExodusTransaction, searchSpec: LongSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode): ScanResult<Long> {
-        val scanConfiguration = IndexScanConfiguration<Long, LongSearchSpecification>(
+    private fun configureLessThan(tx: ExodusTransaction, searchSpec: LongSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode, maxResults: Int): IndexScanConfiguration<Long, LongSearchSpecification> {
+        return IndexScanConfiguration<Long, LongSearchSpecification>(
                 tx = tx,
                 storeName = storeName(searchSpec.property, keyspace),
                 searchSpec = searchSpec,
@@ -275,14 +340,13 @@ object SecondaryLongIndexStore : SecondaryIndexStore<Long, LongSearchSpecificati
                 direction = DESCENDING,
                 scanStrategy = STOP_AT_FIRST_MISMATCH,
                 parseKey = this::parseSecondaryIndexKey,
-                scanTimeMode = scanTimeMode
+                scanTimeMode = scanTimeMode,
+                maxResults = maxResults
         )
-        val resultList = scanConfiguration.performScan()
-        return ScanResult(resultList, OrderedBy(searchSpec.property, Order.DESCENDING))
     }
 
-    private fun scanGeneric(tx: ExodusTransaction, searchSpec: LongSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode): ScanResult<Long> {
-        val scanConfiguration = IndexScanConfiguration<Long, LongSearchSpecification>(
+    private fun configureGeneric(tx: ExodusTransaction, searchSpec: LongSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode, maxResults: Int): IndexScanConfiguration<Long, LongSearchSpecification> {
+        return IndexScanConfiguration<Long, LongSearchSpecification>(
                 tx = tx,
                 storeName = storeName(searchSpec.property, keyspace),
                 searchSpec = searchSpec,
@@ -291,14 +355,18 @@ object SecondaryLongIndexStore : SecondaryIndexStore<Long, LongSearchSpecificati
                 direction = ASCENDING,
                 scanStrategy = SCAN_UNTIL_END,
                 parseKey = this::parseSecondaryIndexKey,
-                scanTimeMode = scanTimeMode
+                scanTimeMode = scanTimeMode,
+                maxResults = maxResults
         )
-        val resultList = scanConfiguration.performScan()
+    }
+
+    private fun scanGeneric(tx: ExodusTransaction, searchSpec: ContainmentLongSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode, maxResults: Int): ScanResult<Long> {
+        val resultList = this.configureGeneric(tx, searchSpec, keyspace, timestamp, scanTimeMode, maxResults).performScan()
         return ScanResult(resultList, OrderedBy(searchSpec.property, Order.ASCENDING))
     }
 
-    private fun scanGeneric(tx: ExodusTransaction, searchSpec: ContainmentLongSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode): ScanResult<Long> {
-        val scanConfiguration = IndexScanConfiguration<Long, ContainmentLongSearchSpecification>(
+    private fun configureGeneric(tx: ExodusTransaction, searchSpec: ContainmentLongSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode, maxResults: Int): IndexScanConfiguration<Long, ContainmentLongSearchSpecification> {
+        return IndexScanConfiguration<Long, ContainmentLongSearchSpecification>(
             tx = tx,
             storeName = storeName(searchSpec.property, keyspace),
             searchSpec = searchSpec,
@@ -307,10 +375,9 @@ object SecondaryLongIndexStore : SecondaryIndexStore<Long, LongSearchSpecificati
             direction = ASCENDING,
             scanStrategy = SCAN_UNTIL_END,
             parseKey = this::parseSecondaryIndexKey,
-            scanTimeMode = scanTimeMode
+            scanTimeMode = scanTimeMode,
+            maxResults = maxResults
         )
-        val resultList = scanConfiguration.performScan()
-        return ScanResult(resultList, OrderedBy(searchSpec.property, Order.ASCENDING))
     }
 
 }
\ No newline at end of file
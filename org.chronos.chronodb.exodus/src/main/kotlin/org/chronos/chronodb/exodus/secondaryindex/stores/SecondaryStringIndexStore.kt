@@ -5,9 +5,11 @@ import jetbrains.exodus.ByteIterable
 import jetbrains.exodus.bindings.StringBinding
 import org.chronos.chronodb.api.Order
 import org.chronos.chronodb.api.key.QualifiedKey
+import org.chronos.chronodb.api.query.CompositeKeyRange
 import org.chronos.chronodb.api.query.Condition
 import org.chronos.chronodb.api.query.StringCondition
 import org.chronos.chronodb.api.query.StringContainmentCondition
+import org.chronos.chronodb.exodus.kotlin.ext.ceilEntry
 import org.chronos.chronodb.exodus.kotlin.ext.parseAsString
 import org.chronos.chronodb.exodus.kotlin.ext.toByteArray
 import org.chronos.chronodb.exodus.kotlin.ext.toByteIterable
@@ -20,6 +22,7 @@ import org.chronos.chronodb.exodus.secondaryindex.stores.IndexScanConfiguration.
 import org.chronos.chronodb.exodus.transaction.ExodusTransaction
 import org.chronos.chronodb.exodus.util.readInt
 import org.chronos.chronodb.exodus.util.writeInt
+import org.chronos.chronodb.internal.api.query.searchspec.CompositeSearchSpecification
 import org.chronos.chronodb.internal.api.query.searchspec.ContainmentStringSearchSpecification
 import org.chronos.chronodb.internal.api.query.searchspec.StringSearchSpecification
 import org.chronos.chronodb.internal.impl.query.TextMatchMode
@@ -37,6 +40,12 @@ object SecondaryStringIndexStore : SecondaryIndexStore<String, StringSearchSpeci
     private val STORE_NAME_PATTERN = Pattern.compile("${ChronoDBStoreLayout.STORE_NAME_PREFIX__SECONDARY_INDEX_STRING}(\\d+)\\/(.*)")
     private val STORE_NAME_PATTERN_CI = Pattern.compile("${ChronoDBStoreLayout.STORE_NAME_PREFIX__SECONDARY_INDEX_STRING_CASE_INSENSITIVE}(\\d+)\\/(.*)")
 
+    /** The key of the entry which is written into every trigram store upon creation. Shorter than any trigram key. */
+    private val TRIGRAM_STORE_MARKER_KEY = ByteArray(1).toByteIterable()
+
+    /** The trigram store is essentially a set; all information is contained in the keys. */
+    private val TRIGRAM_STORE_VALUE = ByteArray(0).toByteIterable()
+
     // =================================================================================================================
     // PUBLIC API
     // =================================================================================================================
@@ -46,8 +55,17 @@ object SecondaryStringIndexStore : SecondaryIndexStore<String, StringSearchSpeci
         val keyCI = createSecondaryIndexKeyCI(indexValue, userKey).toByteIterable()
         val storeName = storeName(indexName, keyspace)
         val storeNameCI = storeNameCI(indexName, keyspace)
+        val storeNameTrigram = storeNameTrigram(indexName, keyspace)
+        // the trigrams only depend on the index value and the user key, so they only need to be written once
+        val writeTrigrams = tx.storeExists(storeNameTrigram) && tx.get(storeName, key) == null
         tx.put(storeName, key, timestamps)
         tx.put(storeNameCI, keyCI, timestamps)
+        if (writeTrigrams) {
+            val keyBytes = key.toByteArray()
+            StringTrigrams.ofIndexValue(indexValue).forEach { trigram ->
+                tx.put(storeNameTrigram, createTrigramKey(trigram, keyBytes).toByteIterable(), TRIGRAM_STORE_VALUE)
+            }
+        }
     }
 
     override fun loadValue(tx: ExodusTransaction, indexName: String, keyspace: String, indexValue: String, userKey: String): ByteIterable? {
@@ -63,19 +81,49 @@ object SecondaryStringIndexStore : SecondaryIndexStore<String, StringSearchSpeci
         val storeNameCI = storeNameCI(indexName, keyspace)
         val deletedFromRegularIndex = tx.delete(storeName, key)
         val deletedFromCIIndex = tx.delete(storeNameCI, keyCI)
+        val storeNameTrigram = storeNameTrigram(indexName, keyspace)
+        if (tx.storeExists(storeNameTrigram)) {
+            val keyBytes = key.toByteArray()
+            StringTrigrams.ofIndexValue(indexValue).forEach { trigram ->
+                tx.delete(storeNameTrigram, createTrigramKey(trigram, keyBytes).toByteIterable())
+            }
+        }
         return deletedFromRegularIndex || deletedFromCIIndex
     }
 
-    override fun scan(tx: ExodusTransaction, searchSpec: StringSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode): ScanResult<String> {
+    /**
+     * Creates the trigram store for the given index in the given keyspace, if the index does not contain any entries yet.
+     *
+     * The trigram store of an index is maintained alongside the regular stores once it exists. It allows to answer
+     * `contains`, `endsWith` and (some) `matchesRegex` queries without scanning the entire index. It is only created
+     * for empty indices, because it has to contain the trigrams of *all* entries of the index in order to be usable.
+     * Indices which already contain entries receive their trigram store when they are rebuilt.
+     *
+     * @param tx The transaction to operate on. Must not be read-only.
+     * @param indexName The name of the index.
+     * @param keyspace The keyspace of the index.
+     */
+    fun createTrigramStoreIfIndexIsEmpty(tx: ExodusTransaction, indexName: String, keyspace: String) {
+        val storeNameTrigram = storeNameTrigram(indexName, keyspace)
+        if (tx.storeExists(storeNameTrigram) || tx.storeExists(storeName(indexName, keyspace))) {
+            return
+        }
+        tx.put(storeNameTrigram, TRIGRAM_STORE_MARKER_KEY, TRIGRAM_STORE_VALUE)
+    }
+
+    override fun scan(tx: ExodusTransaction, searchSpec: StringSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode, maxResults: Int): ScanResult<String> {
         return when (searchSpec.condition) {
             !is StringCondition -> throw IllegalStateException("Condition ${searchSpec.condition} is not applicable to STRING indices!")
-            StringCondition.STARTS_WITH -> scanAscendingFromSearchValue(tx, searchSpec, keyspace, timestamp, scanTimeMode)
-            StringCondition.EQUALS -> scanAscendingFromSearchValue(tx, searchSpec, keyspace, timestamp, scanTimeMode)
-            else -> scanAscendingFullTable(tx, searchSpec, keyspace, timestamp, scanTimeMode)
+            StringCondition.STARTS_WITH -> scanAscendingFromSearchValue(tx, searchSpec, keyspace, timestamp, scanTimeMode, maxResults)
+            StringCondition.EQUALS -> scanAscendingFromSearchValue(tx, searchSpec, keyspace, timestamp, scanTimeMode, maxResults)
+            StringCondition.CONTAINS,
+            StringCondition.ENDS_WITH,
+            StringCondition.MATCHES_REGEX -> scanTrigramCandidates(tx, searchSpec, keyspace, timestamp, scanTimeMode, maxResults)
+            else -> scanAscendingFullTable(tx, searchSpec, keyspace, timestamp, scanTimeMode, maxResults)
         }
     }
 
-    fun scan(tx: ExodusTransaction, searchSpec: ContainmentStringSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode): ScanResult<String> {
+    fun scan(tx: ExodusTransaction, searchSpec: ContainmentStringSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode, maxResults: Int = Int.MAX_VALUE): ScanResult<String> {
         return when (searchSpec.condition) {
             StringContainmentCondition.WITHIN -> {
                 val searchValues = searchSpec.searchValue
@@ -90,20 +138,111 @@ object SecondaryStringIndexStore : SecondaryIndexStore<String, StringSearchSpeci
                                 searchSpec.matchMode,
                                 searchValue
                             )
-                            return@flatMap this.scan(tx, innerSearchSpec, keyspace, timestamp, scanTimeMode).entries.asSequence()
+                            return@flatMap this.scan(tx, innerSearchSpec, keyspace, timestamp, scanTimeMode, maxResults).entries.asSequence()
                         }.distinct().toList()
                         // Note: we have no ordering on those results due to the set union; if we require an ordering, we would
                         // have to establish it here.
                         ScanResult(entries)
                     }
-                    else -> this.scanAscendingFullTable(tx, searchSpec, keyspace, timestamp, scanTimeMode)
+                    else -> this.scanAscendingFullTable(tx, searchSpec, keyspace, timestamp, scanTimeMode, maxResults)
                 }
             }
-            StringContainmentCondition.WITHOUT -> scanAscendingFullTable(tx, searchSpec, keyspace, timestamp, scanTimeMode)
-            else -> scanAscendingFullTable(tx, searchSpec, keyspace, timestamp, scanTimeMode)
+            StringContainmentCondition.WITHOUT -> scanAscendingFullTable(tx, searchSpec, keyspace, timestamp, scanTimeMode, maxResults)
+            else -> scanAscendingFullTable(tx, searchSpec, keyspace, timestamp, scanTimeMode, maxResults)
         }
     }
 
+    /**
+     * Scans a composite index (which is stored as a regular, case-sensitive string index) for the given key range.
+     *
+     * Non-negated searches start at the [scan start][CompositeKeyRange.getScanStart] of the range and stop at the first
+     * key which is neither contained in nor [below][CompositeKeyRange.isBelow] the range. Negated searches scan the entire index.
+     *
+     * @param tx The transaction to operate on.
+     * @param searchSpec The search spec to evaluate.
+     * @param keyspace The keyspace to search in.
+     * @param timestamp The timestamp to evaluate the search results for. Must not be negative.
+     * @param scanTimeMode Specifies which condition to apply to the time periods of each result.
+     * @param maxResults The number of distinct primary keys after which the scan may stop.
+     */
+    fun scan(tx: ExodusTransaction, searchSpec: CompositeSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode, maxResults: Int = Int.MAX_VALUE): ScanResult<String> {
+        val scanConfiguration = this.configureComposite(tx, searchSpec, keyspace, timestamp, scanTimeMode, maxResults)
+        // the encoded keys are ordered, but this order has no meaning outside of the composite index
+        return ScanResult(scanConfiguration.performScan())
+    }
+
+    /**
+     * Counts the distinct primary keys which match the given search specification, without collecting them.
+     *
+     * Only [strict][TextMatchMode.STRICT] searches which are evaluated by a plain index scan can be counted directly.
+     * Case-insensitive entries are sorted by their lower-case value first, so the primary keys which belong to a
+     * single index value are not sorted (see [IndexScanConfiguration.performCount]).
+     *
+     * @return The number of matching primary keys, or `null` if they can't be counted directly.
+     */
+    fun count(tx: ExodusTransaction, searchSpec: StringSearchSpecification, keyspace: String, timestamp: Long): Long? {
+        if (searchSpec.matchMode != STRICT) {
+            return null
+        }
+        val scanConfiguration = when (searchSpec.condition) {
+            !is StringCondition -> throw IllegalStateException("Condition ${searchSpec.condition} is not applicable to STRING indices!")
+            StringCondition.STARTS_WITH,
+            StringCondition.EQUALS -> this.configureAscending(tx, searchSpec, keyspace, timestamp, searchSpec.searchValue.toByteIterable(), STOP_AT_FIRST_MISMATCH, ScanTimeMode.SCAN_FOR_PERIOD_MATCHES, Int.MAX_VALUE)
+            // these are evaluated via the trigram store
+            StringCondition.CONTAINS,
+            StringCondition.ENDS_WITH,
+            StringCondition.MATCHES_REGEX -> return null
+            else -> this.configureAscending(tx, searchSpec, keyspace, timestamp, null, SCAN_UNTIL_END, ScanTimeMode.SCAN_FOR_PERIOD_MATCHES, Int.MAX_VALUE)
+        }
+        return scanConfiguration.performCount()
+    }
+
+    /**
+     * Counts the distinct primary keys which match the given search specification, without collecting them.
+     *
+     * @return The number of matching primary keys, or `null` if they can't be counted directly.
+     */
+    fun count(tx: ExodusTransaction, searchSpec: ContainmentStringSearchSpecification, keyspace: String, timestamp: Long): Long? {
+        if (searchSpec.matchMode != STRICT) {
+            return null
+        }
+        if (searchSpec.condition == StringContainmentCondition.WITHIN) {
+            when (searchSpec.searchValue.size) {
+                0 -> return 0
+                // small sets are evaluated as a union of EQUALS scans, see scan(...)
+                in 1..3 -> return null
+            }
+        }
+        return this.configureAscending(tx, searchSpec, keyspace, timestamp, SCAN_UNTIL_END, ScanTimeMode.SCAN_FOR_PERIOD_MATCHES, Int.MAX_VALUE).performCount()
+    }
+
+    /**
+     * Counts the distinct primary keys which match the given composite search specification, without collecting them.
+     *
+     * @return The number of matching primary keys, or `null` if they can't be counted directly.
+     */
+    fun count(tx: ExodusTransaction, searchSpec: CompositeSearchSpecification, keyspace: String, timestamp: Long): Long? {
+        return this.configureComposite(tx, searchSpec, keyspace, timestamp, ScanTimeMode.SCAN_FOR_PERIOD_MATCHES, Int.MAX_VALUE).performCount()
+    }
+
+    private fun configureComposite(tx: ExodusTransaction, searchSpec: CompositeSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode, maxResults: Int): IndexScanConfiguration<String, CompositeSearchSpecification> {
+        val range = searchSpec.searchValue
+        val negated = searchSpec.condition.isNegated
+        return IndexScanConfiguration(
+            tx = tx,
+            searchSpec = searchSpec,
+            timestamp = timestamp,
+            scanStart = if (negated) null else range.scanStart.toByteIterable(),
+            direction = ASCENDING,
+            scanStrategy = if (negated) SCAN_UNTIL_END else STOP_AT_FIRST_MISMATCH,
+            skip = { range.isBelow(it) },
+            storeName = this.storeName(searchSpec.property, keyspace),
+            parseKey = this::parseSecondaryIndexKey,
+            scanTimeMode = scanTimeMode,
+            maxResults = maxResults
+        )
+    }
+
     override fun rollback(tx: ExodusTransaction, indexName: String, timestamp: Long, keys: Set<QualifiedKey>?) {
         if (keys == null) {
             val allStoreNames = tx.getAllStoreNames()
@@ -133,6 +272,8 @@ object SecondaryStringIndexStore : SecondaryIndexStore<String, StringSearchSpeci
                 this.rollbackInternal(tx, storeNameCI, timestamp, this::parseSecondaryIndexKeyCI, keysToRollBack)
             }
         }
+        // the rollback may have removed arbitrary entries; count them again
+        this.recomputeStatistics(tx, indexName, keys?.asSequence()?.map { it.keyspace }?.toSet())
     }
 
     // =================================================================================================================
@@ -147,14 +288,86 @@ object SecondaryStringIndexStore : SecondaryIndexStore<String, StringSearchSpeci
      * @param keyspace The keyspace to search in.
      * @param timestamp The timestamp to evaluate the search results for. Must not be negative.
      * @param scanTimeMode Specifies which condition to apply to the time periods of each result.
+     * @param maxResults The number of distinct primary keys after which the scan may stop.
      */
-    private fun scanAscendingFromSearchValue(tx: ExodusTransaction, searchSpec: StringSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode): ScanResult<String> {
+    private fun scanAscendingFromSearchValue(tx: ExodusTransaction, searchSpec: StringSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode, maxResults: Int): ScanResult<String> {
         val scanStart = when (searchSpec.matchMode) {
             STRICT -> searchSpec.searchValue.toByteIterable()
             CASE_INSENSITIVE -> searchSpec.searchValue.toLowerCase(Locale.ENGLISH).toByteIterable()
             null -> throw IllegalArgumentException("Text match mode must not be NULL!")
         }
-        return scanAscendingInternal(tx, searchSpec, keyspace, timestamp, scanStart, STOP_AT_FIRST_MISMATCH, scanTimeMode)
+        return scanAscendingInternal(tx, searchSpec, keyspace, timestamp, scanStart, STOP_AT_FIRST_MISMATCH, scanTimeMode, maxResults)
+    }
+
+    /**
+     * Intersects the posting lists of the trigrams required by the search spec, then verifies the candidates.
+     *
+     * Falls back to a full table scan if the index has no trigram store, or if the search value is too short.
+     *
+     * @param tx The transaction to operate on.
+     * @param searchSpec The search spec to evaluate.
+     * @param keyspace The keyspace to search in.
+     * @param timestamp The timestamp to evaluate the search results for. Must not be negative.
+     * @param scanTimeMode Specifies which condition to apply to the time periods of each result.
+     * @param maxResults The number of distinct primary keys after which the scan may stop.
+     */
+    private fun scanTrigramCandidates(tx: ExodusTransaction, searchSpec: StringSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode, maxResults: Int): ScanResult<String> {
+        val storeNameTrigram = this.storeNameTrigram(searchSpec.property, keyspace)
+        val trigrams = StringTrigrams.requiredFor(searchSpec.condition as StringCondition, searchSpec.searchValue)
+        if (trigrams.isEmpty() || !tx.storeExists(storeNameTrigram)) {
+            return scanAscendingFullTable(tx, searchSpec, keyspace, timestamp, scanTimeMode, maxResults)
+        }
+        val storeName = this.storeName(searchSpec.property, keyspace)
+        if (!tx.storeExists(storeName)) {
+            // the index is empty
+            return ScanResult(emptyList())
+        }
+        // the posting list of the first trigram delivers the candidates (in the order of the regular index store)...
+        val firstTrigram = trigrams.first()
+        val candidates = mutableListOf<ByteArray>()
+        val prefix = ByteArray(StringTrigrams.TRIGRAM_BYTES)
+        StringTrigrams.writeTrigram(firstTrigram, prefix, 0)
+        tx.withCursorOn(storeNameTrigram) { cursor ->
+            if (cursor.ceilEntry(prefix.toByteIterable()) == null) {
+                return@withCursorOn
+            }
+            do {
+                val trigramKey = cursor.key.toByteArray()
+                if (!startsWith(trigramKey, prefix)) {
+                    break
+                }
+                candidates += trigramKey.copyOfRange(StringTrigrams.TRIGRAM_BYTES, trigramKey.size)
+            } while (cursor.next)
+        }
+        // ... which need to be contained in the posting lists of all other trigrams ...
+        val otherTrigrams = trigrams.drop(1)
+        val resultList = candidates.asSequence().filter { indexKey ->
+            otherTrigrams.all { trigram -> tx.get(storeNameTrigram, createTrigramKey(trigram, indexKey).toByteIterable()) != null }
+        }.mapNotNull { indexKey ->
+            // ... and have to match the actual search spec. Note that the trigram store is never rolled back, therefore
+            // we need to check that the entry still exists in the regular index store.
+            val timestamps = tx.get(storeName, indexKey.toByteIterable()) ?: return@mapNotNull null
+            val secondaryIndexKey = this.parseSecondaryIndexKey(indexKey)
+            if (!searchSpec.matches(secondaryIndexKey.indexValuePlain)) {
+                return@mapNotNull null
+            }
+            if (!StoreUtils.isTimestampInRange(timestamp, timestamps, scanTimeMode)) {
+                return@mapNotNull null
+            }
+            when (searchSpec.matchMode) {
+                CASE_INSENSITIVE -> ScanResultEntry(secondaryIndexKey.indexValuePlain.toLowerCase(Locale.ENGLISH), secondaryIndexKey.primaryKeyPlain)
+                else -> secondaryIndexKey.toScanResultEntry()
+            }
+        }.let { entries ->
+            if (maxResults == Int.MAX_VALUE) {
+                return@let entries
+            }
+            // stop verifying candidates as soon as we have enough distinct primary keys
+            val primaryKeys = mutableSetOf<String>()
+            entries.takeWhile { primaryKeys.size < maxResults }.onEach { primaryKeys += it.primaryKey }
+        }.toList()
+        val orderedBy: OrderedBy? = inferResultOrdering(ASCENDING, searchSpec.property, searchSpec.matchMode)
+        return ScanResult(this.dedupIfCaseInsensitive(searchSpec.matchMode, resultList), orderedBy)
     }
 
     /**
@@ -165,9 +378,10 @@ object SecondaryStringIndexStore : SecondaryIndexStore<String, StringSearchSpeci
      * @param keyspace The keyspace to search in.
      * @param timestamp The timestamp to evaluate the search results for. Must not be negative.
      * @param scanTimeMode Specifies which condition to apply to the time periods of each result.
+     * @param maxResults The number of distinct primary keys after which the scan may stop.
      */
-    private fun scanAscendingFullTable(tx: ExodusTransaction, searchSpec: StringSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode): ScanResult<String> {
-        return scanAscendingInternal(tx, searchSpec, keyspace, timestamp, null, SCAN_UNTIL_END, scanTimeMode)
+    private fun scanAscendingFullTable(tx: ExodusTransaction, searchSpec: StringSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode, maxResults: Int): ScanResult<String> {
+        return scanAscendingInternal(tx, searchSpec, keyspace, timestamp, null, SCAN_UNTIL_END, scanTimeMode, maxResults)
     }
 
     /**
@@ -178,12 +392,20 @@ object SecondaryStringIndexStore : SecondaryIndexStore<String, StringSearchSpeci
      * @param keyspace The keyspace to search in.
      * @param timestamp The timestamp to evaluate the search results for. Must not be negative.
      * @param scanTimeMode Specifies which condition to apply to the time periods of each result.
+     * @param maxResults The number of distinct primary keys after which the scan may stop.
      */
-    private fun scanAscendingFullTable(tx: ExodusTransaction, searchSpec: ContainmentStringSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode): ScanResult<String> {
-        return scanAscendingInternal(tx, searchSpec, keyspace, timestamp, SCAN_UNTIL_END, scanTimeMode)
+    private fun scanAscendingFullTable(tx: ExodusTransaction, searchSpec: ContainmentStringSearchSpecification, keyspace: String, timestamp: Long, scanTimeMode: ScanTimeMode, maxResults: Int): ScanResult<String> {
+        return scanAscendingInternal(tx, searchSpec, keyspace, timestamp, SCAN_UNTIL_END, scanTimeMode, maxResults)
+    }
+
+    private fun scanAscendingInternal(tx: ExodusTransaction, searchSpec: ContainmentStringSearchSpecification, keyspace: String, timestamp: Long, scanStrategy: ScanStrategy, scanTimeMode: ScanTimeMode, maxResults: Int): ScanResult<String> {
+        val scanConfiguration = this.configureAscending(tx, searchSpec, keyspace, timestamp, scanStrategy, scanTimeMode, maxResults)
+        val resultList = this.dedupIfCaseInsensitive(searchSpec.matchMode, scanConfiguration.performScan())
+        val orderedBy: OrderedBy? = inferResultOrdering(scanConfiguration.direction, searchSpec.property, searchSpec.matchMode)
+        return ScanResult(resultList, orderedBy)
     }
 
-    private fun scanAscendingInternal(tx: ExodusTransaction, searchSpec: ContainmentStringSearchSpecification, keyspace: String, timestamp: Long, scanStrategy: ScanStrategy, scanTimeMode: ScanTimeMode): ScanResult<String> {
+    private fun configureAscending(tx: ExodusTransaction, searchSpec: ContainmentStringSearchSpecification, keyspace: String, timestamp: Long, scanStrategy: ScanStrategy, scanTimeMode: ScanTimeMode, maxResults: Int): IndexScanConfiguration<String, ContainmentStringSearchSpecification> {
         val storeName: String
         val parseKey: (ByteIterable) -> SecondaryIndexKey<String>
         when (searchSpec.matchMode) {
@@ -197,7 +419,7 @@ object SecondaryStringIndexStore : SecondaryIndexStore<String, StringSearchSpeci
             }
             null -> throw IllegalArgumentException("Text match mode must not be NULL!")
         }
-        val scanConfiguration = IndexScanConfiguration(
+        return IndexScanConfiguration(
             tx = tx,
             searchSpec = searchSpec,
             timestamp = timestamp,
@@ -206,14 +428,19 @@ object SecondaryStringIndexStore : SecondaryIndexStore<String, StringSearchSpeci
             scanStrategy = scanStrategy,
             storeName = storeName,
             parseKey = parseKey,
-            scanTimeMode = scanTimeMode
+            scanTimeMode = scanTimeMode,
+            maxResults = maxResults
         )
+    }
+
+    private fun scanAscendingInternal(tx: ExodusTransaction, searchSpec: StringSearchSpecification, keyspace: String, timestamp: Long, scanStart: ByteIterable?, scanStrategy: ScanStrategy, scanTimeMode: ScanTimeMode, maxResults: Int): ScanResult<String> {
+        val scanConfiguration = this.configureAscending(tx, searchSpec, keyspace, timestamp, scanStart, scanStrategy, scanTimeMode, maxResults)
         val resultList = this.dedupIfCaseInsensitive(searchSpec.matchMode, scanConfiguration.performScan())
         val orderedBy: OrderedBy? = inferResultOrdering(scanConfiguration.direction, searchSpec.property, searchSpec.matchMode)
         return ScanResult(resultList, orderedBy)
     }
 
-    private fun scanAscendingInternal(tx: ExodusTransaction, searchSpec: StringSearchSpecification, keyspace: String, timestamp: Long, scanStart: ByteIterable?, scanStrategy: ScanStrategy, scanTimeMode: ScanTimeMode): ScanResult<String> {
+    private fun configureAscending(tx: ExodusTransaction, searchSpec: StringSearchSpecification, keyspace: String, timestamp: Long, scanStart: ByteIterable?, scanStrategy: ScanStrategy, scanTimeMode: ScanTimeMode, maxResults: Int): IndexScanConfiguration<String, StringSearchSpecification> {
         val storeName: String
         val parseKey: (ByteIterable) -> SecondaryIndexKey<String>
         when (searchSpec.matchMode) {
@@ -227,7 +454,7 @@ object SecondaryStringIndexStore : SecondaryIndexStore<String, StringSearchSpeci
             }
             null -> throw IllegalArgumentException("Text match mode must not be NULL!")
         }
-        val scanConfiguration = IndexScanConfiguration(
+        return IndexScanConfiguration(
                 tx = tx,
                 searchSpec = searchSpec,
                 timestamp = timestamp,
@@ -236,11 +463,9 @@ object SecondaryStringIndexStore : SecondaryIndexStore<String, StringSearchSpeci
                 scanStrategy = scanStrategy,
                 storeName = storeName,
                 parseKey = parseKey,
-                scanTimeMode = scanTimeMode
+                scanTimeMode = scanTimeMode,
+                maxResults = maxResults
         )
-        val resultList = this.dedupIfCaseInsensitive(searchSpec.matchMode, scanConfiguration.performScan())
-        val orderedBy: OrderedBy? = inferResultOrdering(scanConfiguration.direction, searchSpec.property, searchSpec.matchMode)
-        return ScanResult(resultList, orderedBy)
     }
 
     override fun allEntries(tx: ExodusTransaction, keyspace: String, propertyName: String, consumer: RawIndexEntryConsumer<String>) {
@@ -256,7 +481,7 @@ object SecondaryStringIndexStore : SecondaryIndexStore<String, StringSearchSpeci
     // =================================================================================================================
 
     @VisibleForTesting
-    fun storeName(indexName: String, keyspace: String): String {
+    override fun storeName(indexName: String, keyspace: String): String {
         return "${ChronoDBStoreLayout.STORE_NAME_PREFIX__SECONDARY_INDEX_STRING}${keyspace.length}/${keyspace}${indexName}"
     }
 
@@ -265,11 +490,18 @@ object SecondaryStringIndexStore : SecondaryIndexStore<String, StringSearchSpeci
         return "${ChronoDBStoreLayout.STORE_NAME_PREFIX__SECONDARY_INDEX_STRING_CASE_INSENSITIVE}${keyspace.length}/${keyspace}${indexName}"
     }
 
+    @VisibleForTesting
+    fun storeNameTrigram(indexName: String, keyspace: String): String {
+        return "${ChronoDBStoreLayout.STORE_NAME_PREFIX__SECONDARY_INDEX_STRING_TRIGRAM}${keyspace.length}/${keyspace}${indexName}"
+    }
+
     fun getIndexNameForStoreName(storeName: String): String? {
         val nameWithoutPrefix = if(storeName.startsWith(ChronoDBStoreLayout.STORE_NAME_PREFIX__SECONDARY_INDEX_STRING)){
             storeName.removePrefix(ChronoDBStoreLayout.STORE_NAME_PREFIX__SECONDARY_INDEX_STRING)
         }else if(storeName.startsWith(ChronoDBStoreLayout.STORE_NAME_PREFIX__SECONDARY_INDEX_STRING_CASE_INSENSITIVE)){
             storeName.removePrefix(ChronoDBStoreLayout.STORE_NAME_PREFIX__SECONDARY_INDEX_STRING_CASE_INSENSITIVE)
+        }else if(storeName.startsWith(ChronoDBStoreLayout.STORE_NAME_PREFIX__SECONDARY_INDEX_STRING_TRIGRAM)){
+            storeName.removePrefix(ChronoDBStoreLayout.STORE_NAME_PREFIX__SECONDARY_INDEX_STRING_TRIGRAM)
         }else {
             return null
         }
@@ -306,6 +538,10 @@ object SecondaryStringIndexStore : SecondaryIndexStore<String, StringSearchSpeci
 
     }
 
+    override fun createIndexValuePrefix(indexValue: String): ByteArray {
+        return StringBinding.stringToEntry(indexValue).toByteArray()
+    }
+
     @VisibleForTesting
     fun createSecondaryIndexKey(indexValue: String, userKey: String): ByteArray {
         // serialize the index value
@@ -332,7 +568,7 @@ object SecondaryStringIndexStore : SecondaryIndexStore<String, StringSearchSpeci
     }
 
     @VisibleForTesting
-    fun parseSecondaryIndexKey(bytes: ByteArray): SecondaryIndexKey<String> {
+    override fun parseSecondaryIndexKey(bytes: ByteArray): SecondaryIndexKey<String> {
         return this.parseSecondaryIndexKey(bytes.toByteIterable())
     }
 
@@ -397,6 +633,19 @@ object SecondaryStringIndexStore : SecondaryIndexStore<String, StringSearchSpeci
         return SecondaryIndexKey(indexValue, userKey, ByteIterable::parseAsString)
     }
 
+    @VisibleForTesting
+    fun createTrigramKey(trigram: String, secondaryIndexKey: ByteArray): ByteArray {
+        // the final array has the following format:
+        //
+        // [trigram (3 chars, 2 bytes each)][secondary index key (see createSecondaryIndexKey)]
+        //
+        // ... so all entries of one trigram form a contiguous range, sorted in the same way as the regular index store.
+        val array = ByteArray(StringTrigrams.TRIGRAM_BYTES + secondaryIndexKey.size)
+        StringTrigrams.writeTrigram(trigram, array, 0)
+        System.arraycopy(secondaryIndexKey, 0, array, StringTrigrams.TRIGRAM_BYTES, secondaryIndexKey.size)
+        return array
+    }
+
     private fun inferResultOrdering(scanDirection: ScanDirection, property: String, textMatchMode: TextMatchMode): OrderedBy? {
         return when (textMatchMode) {
             // when matching against the STRICT (case sensitive) index, we always know the ordering
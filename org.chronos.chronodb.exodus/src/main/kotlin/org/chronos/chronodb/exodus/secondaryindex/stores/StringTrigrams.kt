@@ -0,0 +1,195 @@
+package org.chronos.chronodb.exodus.secondaryindex.stores
+
+import org.chronos.chronodb.api.query.StringCondition
+import java.util.*
+
+/**
+ * Computes the trigrams which are stored in (and queried from) the trigram stores of secondary string indices.
+ *
+ * All trigrams are case-insensitive, which allows to use them for both [STRICT][org.chronos.chronodb.internal.impl.query.TextMatchMode.STRICT]
+ * and [CASE_INSENSITIVE][org.chronos.chronodb.internal.impl.query.TextMatchMode.CASE_INSENSITIVE] queries: the trigrams only
+ * serve to find the *candidates* for a query, every candidate is verified against the actual search specification afterwards.
+ */
+object StringTrigrams {
+
+    // =================================================================================================================
+    // CONSTANTS
+    // =================================================================================================================
+
+    /** The number of bytes required to store a single trigram. */
+    const val TRIGRAM_BYTES = 3 * Character.BYTES
+
+    /** Marks the end of an indexed value, which allows to answer `endsWith` queries with only two characters. */
+    private const val END_OF_VALUE = '\u0003'
+
+    private const val REGEX_META_CHARACTERS = ".^$?*+{}()[]\\|"
+
+    // =================================================================================================================
+    // PUBLIC API
+    // =================================================================================================================
+
+    /**
+     * Returns the trigrams of the given index value, i.e. the trigrams which need to be stored for the value.
+     *
+     * @param indexValue The index value to get the trigrams for.
+     * @return The set of trigrams. May be empty if the value is too short.
+     */
+    fun ofIndexValue(indexValue: String): Set<String> {
+        return trigramsOf(normalize(indexValue) + END_OF_VALUE)
+    }
+
+    /**
+     * Returns the trigrams which a value must contain in order to match the given condition and search value.
+     *
+     * @param condition The condition to evaluate.
+     * @param searchValue The search value of the condition.
+     * @return The set of required trigrams. If it is empty, the trigram store cannot be used to answer the query.
+     */
+    fun requiredFor(condition: StringCondition, searchValue: String): Set<String> {
+        return when (condition) {
+            StringCondition.CONTAINS -> trigramsOf(normalize(searchValue))
+            StringCondition.ENDS_WITH -> trigramsOf(normalize(searchValue) + END_OF_VALUE)
+            StringCondition.MATCHES_REGEX -> requiredLiteralsOfRegex(searchValue).flatMap { trigramsOf(normalize(it)) }.toSet()
+            else -> emptySet()
+        }
+    }
+
+    /**
+     * Extracts the literal character sequences which every string matching the given regular expression must contain.
+     *
+     * This is a conservative approximation: if the expression contains any construct which is not understood here
+     * (alternations, flags, look-arounds, quoting...), no literals are returned at all.
+     *
+     * @param regex The regular expression to analyze.
+     * @return The list of required literals. May be empty.
+     */
+    fun requiredLiteralsOfRegex(regex: String): List<String> {
+        if (regex.contains('|') || regex.contains("(?") || regex.contains("\\Q")) {
+            return emptyList()
+        }
+        val literals = mutableListOf<String>()
+        val current = StringBuilder()
+        val flush = {
+            if (current.isNotEmpty()) {
+                literals += current.toString()
+                current.setLength(0)
+            }
+        }
+        var groupDepth = 0
+        var i = 0
+        while (i < regex.length) {
+            val char = regex[i]
+            when (char) {
+                '\\' -> {
+                    // escape sequences (character classes, back references...) are not literals
+                    flush()
+                    i++
+                }
+                '[' -> {
+                    // skip the character class
+                    flush()
+                    i = indexOfCharacterClassEnd(regex, i)
+                    if (i < 0) {
+                        return emptyList()
+                    }
+                }
+                '(' -> {
+                    flush()
+                    groupDepth++
+                }
+                ')' -> {
+                    flush()
+                    groupDepth--
+                }
+                '?', '*', '{' -> {
+                    // the preceding character is optional
+                    if (current.isNotEmpty()) {
+                        current.setLength(current.length - 1)
+                    }
+                    flush()
+                    if (char == '{') {
+                        i = regex.indexOf('}', i)
+                        if (i < 0) {
+                            return emptyList()
+                        }
+                    }
+                }
+                else -> {
+                    if (groupDepth == 0 && char !in REGEX_META_CHARACTERS) {
+                        current.append(char)
+                    } else {
+                        // groups may be optional as a whole, and meta characters are no literals
+                        flush()
+                    }
+                }
+            }
+            i++
+        }
+        flush()
+        return literals
+    }
+
+    /**
+     * Writes the given trigram into the given array, at the given offset.
+     *
+     * @param trigram The trigram to write. Must consist of exactly three characters.
+     * @param buffer The buffer to write to. Must have at least [TRIGRAM_BYTES] bytes after the offset.
+     * @param offset The offset to start writing at.
+     */
+    fun writeTrigram(trigram: String, buffer: ByteArray, offset: Int) {
+        require(trigram.length == 3) { "Precondition violation - argument 'trigram' must have exactly three characters!" }
+        var position = offset
+        for (char in trigram) {
+            buffer[position++] = (char.toInt() ushr 8).toByte()
+            buffer[position++] = char.toInt().toByte()
+        }
+    }
+
+    // =================================================================================================================
+    // HELPER METHODS
+    // =================================================================================================================
+
+    private fun normalize(value: String): String {
+        // final sigma depends on its position in the word; map it to the regular sigma, such that
+        // a search value is normalized in the same way as the text which contains it.
+        return value.toLowerCase(Locale.ENGLISH).replace('ς', 'σ')
+    }
+
+    private fun trigramsOf(value: String): Set<String> {
+        if (value.length < 3) {
+            return emptySet()
+        }
+        val trigrams = LinkedHashSet<String>()
+        for (i in 0..value.length - 3) {
+            trigrams += value.substring(i, i + 3)
+        }
+        return trigrams
+    }
+
+    private fun indexOfCharacterClassEnd(regex: String, start: Int): Int {
+        var i = start + 1
+        // a closing bracket directly after the opening one (or after the negation) is a literal
+        if (i < regex.length && regex[i] == '^') {
+            i++
+        }
+        if (i < regex.length && regex[i] == ']') {
+            i++
+        }
+        var depth = 1
+        while (i < regex.length) {
+            when (regex[i]) {
+                '\\' -> i++
+                '[' -> depth++
+                ']' -> {
+                    depth--
+                    if (depth == 0) {
+                        return i
+                    }
+                }
+            }
+            i++
+        }
+        return -1
+    }
+
+}
@@ -0,0 +1,117 @@
+package org.chronos.chronodb.exodus.test.cases
+
+import org.chronos.chronodb.exodus.ExodusKeySetIndex
+import org.chronos.chronodb.exodus.kotlin.ext.toByteIterable
+import org.chronos.chronodb.exodus.test.base.EnvironmentTest
+import org.chronos.chronodb.exodus.transaction.ExodusTransaction
+import org.chronos.chronodb.exodus.transaction.ExodusTransactionImpl
+import org.chronos.chronodb.internal.impl.temporal.UnqualifiedTemporalKey
+import org.chronos.common.testing.kotlin.ext.shouldBe
+import org.junit.jupiter.api.Test
+
+class ExodusKeySetIndexTest : EnvironmentTest() {
+
+    @Test
+    fun canRecordModifications() {
+        write { tx ->
+            put(tx, 1000, mapOf("a" to "1", "b" to "1"))
+            put(tx, 2000, mapOf("a" to "2", "c" to "1"))
+            put(tx, 3000, mapOf("b" to null, "d" to null))
+            put(tx, 4000, mapOf("b" to "2"))
+        }
+        read { tx ->
+            ExodusKeySetIndex.isPresent(tx, STORE) shouldBe true
+
+            val at500 = ExodusKeySetIndex.keySetModifications(tx, STORE, 500)
+            at500.additions shouldBe emptySet()
+            at500.removals shouldBe emptySet()
+
+            val at2500 = ExodusKeySetIndex.keySetModifications(tx, STORE, 2500)
+            at2500.additions shouldBe setOf("a", "b", "c")
+            at2500.removals shouldBe emptySet()
+
+            val at3000 = ExodusKeySetIndex.keySetModifications(tx, STORE, 3000)
+            at3000.additions shouldBe setOf("a", "c")
+            at3000.removals shouldBe setOf("b", "d")
+
+            val at4000 = ExodusKeySetIndex.keySetModifications(tx, STORE, 4000)
+            at4000.additions shouldBe setOf("a", "b", "c")
+            at4000.removals shouldBe setOf("d")
+        }
+    }
+
+    @Test
+    fun rebuildProducesSameResultAsIncrementalUpdates() {
+        write { tx ->
+            put(tx, 1000, mapOf("a" to "1", "b" to "1"))
+            put(tx, 2000, mapOf("a" to null, "c" to "1"))
+            put(tx, 3000, mapOf("a" to "3", "b" to null))
+        }
+        val before = read { tx -> (0L..4000L step 500).map { ExodusKeySetIndex.keySetModifications(tx, STORE, it) } }
+        write { tx ->
+            ExodusKeySetIndex.rebuild(tx, STORE)
+        }
+        val after = read { tx -> (0L..4000L step 500).map { ExodusKeySetIndex.keySetModifications(tx, STORE, it) } }
+        after.map { it.additions } shouldBe before.map { it.additions }
+        after.map { it.removals } shouldBe before.map { it.removals }
+    }
+
+    @Test
+    fun canRollBack() {
+        write { tx ->
+            put(tx, 1000, mapOf("a" to "1"))
+            put(tx, 2000, mapOf("a" to null, "b" to "1"))
+            ExodusKeySetIndex.rollback(tx, STORE, 1500)
+        }
+        read { tx ->
+            val modifications = ExodusKeySetIndex.keySetModifications(tx, STORE, 5000)
+            modifications.additions shouldBe setOf("a")
+            modifications.removals shouldBe emptySet()
+        }
+    }
+
+    @Test
+    fun canRefreshKeysAfterOutOfOrderInsertion() {
+        write { tx ->
+            put(tx, 1000, mapOf("a" to "1"))
+            put(tx, 3000, mapOf("a" to null))
+            // insert a version "in the past" without going through the regular put
+            tx.put(STORE, UnqualifiedTemporalKey.create("a", 4000).toByteIterable(), "4".toByteArray().toByteIterable())
+            ExodusKeySetIndex.refresh(tx, STORE, listOf("a"))
+        }
+        read { tx ->
+            ExodusKeySetIndex.keySetModifications(tx, STORE, 3500).removals shouldBe setOf("a")
+            ExodusKeySetIndex.keySetModifications(tx, STORE, 4000).additions shouldBe setOf("a")
+        }
+    }
+
+    // =================================================================================================================
+    // HELPER METHODS
+    // =================================================================================================================
+
+    private fun put(tx: ExodusTransaction, timestamp: Long, contents: Map<String, String?>) {
+        for ((key, value) in contents) {
+            val bytes = value?.toByteArray() ?: ByteArray(0)
+            tx.put(STORE, UnqualifiedTemporalKey.create(key, timestamp).toByteIterable(), bytes.toByteIterable())
+        }
+        ExodusKeySetIndex.recordModifications(tx, STORE, timestamp, contents.mapValues { it.value == null })
+    }
+
+    private fun write(action: (ExodusTransaction) -> Unit) {
+        val tx = ExodusTransactionImpl(this.environment, this.environment.beginTransaction())
+        tx.use {
+            action(it)
+            it.commit()
+        }
+    }
+
+    private fun <T> read(action: (ExodusTransaction) -> T): T {
+        val tx = ExodusTransactionImpl(this.environment, this.environment.beginReadonlyTransaction())
+        return tx.use(action)
+    }
+
+    companion object {
+        private const val STORE = "matrix"
+    }
+
+}
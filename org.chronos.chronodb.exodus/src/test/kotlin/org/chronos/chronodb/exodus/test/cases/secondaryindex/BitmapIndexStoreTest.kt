@@ -0,0 +1,106 @@
+package org.chronos.chronodb.exodus.test.cases.secondaryindex
+
+import org.chronos.chronodb.exodus.secondaryindex.stores.BitmapIndexStore
+import org.chronos.chronodb.exodus.secondaryindex.stores.SecondaryStringIndexStore
+import org.chronos.chronodb.exodus.test.base.EnvironmentTest
+import org.chronos.chronodb.exodus.transaction.ExodusTransaction
+import org.chronos.chronodb.exodus.transaction.ExodusTransactionImpl
+import org.chronos.common.testing.kotlin.ext.shouldBe
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Test
+
+class BitmapIndexStoreTest : EnvironmentTest() {
+
+    @Test
+    fun canLookUpKeysByIndexValue() {
+        this.readWriteTx { tx ->
+            BitmapIndexStore.createIfIndexIsEmpty(tx, "state", "default", SecondaryStringIndexStore.storeName("state", "default"))
+            BitmapIndexStore.add(tx, "state", "default", "open", "a", 1000)
+            BitmapIndexStore.add(tx, "state", "default", "open", "b", 1000)
+            BitmapIndexStore.add(tx, "state", "default", "closed", "c", 1000)
+            BitmapIndexStore.add(tx, "state", "default", "closed", "a", 2000)
+            BitmapIndexStore.remove(tx, "state", "default", "open", "a", 2000)
+            tx.commit()
+        }
+        this.readOnlyTx { tx ->
+            BitmapIndexStore.getVersion(tx, "state", "default") shouldBe 2000L
+            this.lookupKeys(tx, "state", listOf("open"), 2000) shouldBe setOf("b")
+            this.lookupKeys(tx, "state", listOf("closed"), 3000) shouldBe setOf("a", "c")
+            this.lookupKeys(tx, "state", listOf("open", "closed"), 2000) shouldBe setOf("a", "b", "c")
+            this.lookupKeys(tx, "state", listOf("unknown"), 2000) shouldBe emptySet<String>()
+            // the bitmaps only reflect the latest state of the index
+            assertNull(BitmapIndexStore.lookup(tx, "state", "default", listOf("open"), 1500))
+        }
+    }
+
+    @Test
+    fun distinguishesValueTypes() {
+        this.readWriteTx { tx ->
+            BitmapIndexStore.createIfIndexIsEmpty(tx, "n", "default", SecondaryStringIndexStore.storeName("n", "default"))
+            BitmapIndexStore.add(tx, "n", "default", 1L, "long", 1000)
+            BitmapIndexStore.add(tx, "n", "default", 1.0, "double", 1000)
+            BitmapIndexStore.add(tx, "n", "default", "1", "string", 1000)
+            BitmapIndexStore.add(tx, "n", "default", -0.0, "zero", 1000)
+            tx.commit()
+        }
+        this.readOnlyTx { tx ->
+            this.lookupKeys(tx, "n", listOf(1L), 1000) shouldBe setOf("long")
+            this.lookupKeys(tx, "n", listOf(1.0), 1000) shouldBe setOf("double")
+            this.lookupKeys(tx, "n", listOf("1"), 1000) shouldBe setOf("string")
+            this.lookupKeys(tx, "n", listOf(0.0), 1000) shouldBe setOf("zero")
+        }
+    }
+
+    @Test
+    fun canReplaceContents() {
+        this.readWriteTx { tx ->
+            BitmapIndexStore.createIfIndexIsEmpty(tx, "state", "default", SecondaryStringIndexStore.storeName("state", "default"))
+            BitmapIndexStore.add(tx, "state", "default", "open", "a", 1000)
+            BitmapIndexStore.add(tx, "state", "default", "open", "b", 2000)
+            tx.commit()
+        }
+        this.readWriteTx { tx ->
+            BitmapIndexStore.replace(tx, "state", "default", mapOf("open" to listOf("b"), "closed" to listOf("x")), 1500)
+            tx.commit()
+        }
+        this.readOnlyTx { tx ->
+            BitmapIndexStore.getVersion(tx, "state", "default") shouldBe 1500L
+            this.lookupKeys(tx, "state", listOf("open"), 1500) shouldBe setOf("b")
+            this.lookupKeys(tx, "state", listOf("closed"), 1500) shouldBe setOf("x")
+            BitmapIndexStore.getKeyspaces(tx, "state") shouldBe setOf("default")
+            BitmapIndexStore.getIndexNameForStoreName(BitmapIndexStore.storeName("state", "default")) shouldBe "state"
+        }
+    }
+
+    @Test
+    fun isNotCreatedForNonEmptyIndices() {
+        this.readWriteTx { tx ->
+            SecondaryStringIndexStore.insert(tx, "state", "default", "open", "a", 1000)
+            BitmapIndexStore.createIfIndexIsEmpty(tx, "state", "default", SecondaryStringIndexStore.storeName("state", "default"))
+            BitmapIndexStore.add(tx, "state", "default", "open", "b", 2000)
+            tx.commit()
+        }
+        this.readOnlyTx { tx ->
+            BitmapIndexStore.exists(tx, "state", "default") shouldBe false
+            assertNull(BitmapIndexStore.lookup(tx, "state", "default", listOf("open"), 2000))
+        }
+    }
+
+    // =================================================================================================================
+    // HELPER METHODS
+    // =================================================================================================================
+
+    private fun lookupKeys(tx: ExodusTransaction, indexName: String, values: Collection<Any>, timestamp: Long): Set<String> {
+        val bitmap = BitmapIndexStore.lookup(tx, indexName, "default", values, timestamp)!!
+        return BitmapIndexStore.resolveKeys(tx, "default", bitmap).toSet()
+    }
+
+    private fun <T> readWriteTx(action: (ExodusTransaction) -> T): T {
+        return ExodusTransactionImpl(this.environment, this.environment.beginExclusiveTransaction()).use(action)
+    }
+
+    private fun <T> readOnlyTx(action: (ExodusTransaction) -> T): T {
+        return ExodusTransactionImpl(this.environment, this.environment.beginReadonlyTransaction()).use(action)
+    }
+
+}
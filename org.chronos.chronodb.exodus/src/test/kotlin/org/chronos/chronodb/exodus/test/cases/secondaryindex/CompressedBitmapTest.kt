@@ -0,0 +1,69 @@
+package org.chronos.chronodb.exodus.test.cases.secondaryindex
+
+import org.chronos.chronodb.exodus.secondaryindex.stores.CompressedBitmap
+import org.chronos.common.testing.kotlin.ext.shouldBe
+import org.junit.jupiter.api.Test
+
+class CompressedBitmapTest {
+
+    @Test
+    fun canAddAndRemoveValues() {
+        val bitmap = CompressedBitmap()
+        bitmap.add(3) shouldBe true
+        bitmap.add(3) shouldBe false
+        bitmap.add(70000) shouldBe true
+        bitmap.add(1) shouldBe true
+        bitmap.toList() shouldBe listOf(1, 3, 70000)
+        bitmap.cardinality shouldBe 3
+        bitmap.containerKeys shouldBe setOf(0, 1)
+        bitmap.remove(70000) shouldBe true
+        bitmap.remove(70000) shouldBe false
+        bitmap.containerKeys shouldBe setOf(0)
+        (3 in bitmap) shouldBe true
+        (70000 in bitmap) shouldBe false
+    }
+
+    @Test
+    fun convertsBetweenArrayAndBitmapContainers() {
+        val bitmap = CompressedBitmap()
+        val count = CompressedBitmap.ARRAY_CONTAINER_MAX_SIZE * 2
+        for (i in 0 until count) {
+            bitmap.add(i * 2)
+        }
+        bitmap.cardinality shouldBe count
+        bitmap.toList() shouldBe (0 until count).map { it * 2 }
+        for (i in 0 until count - 10) {
+            bitmap.remove(i * 2)
+        }
+        bitmap.toList() shouldBe (count - 10 until count).map { it * 2 }
+    }
+
+    @Test
+    fun canCombineBitmaps() {
+        val dense = CompressedBitmap()
+        for (i in 0 until 10000) {
+            dense.add(i)
+        }
+        val sparse = CompressedBitmap.of(5, 9999, 10000, 200000)
+        dense.and(sparse).toList() shouldBe listOf(5, 9999)
+        sparse.and(dense).toList() shouldBe listOf(5, 9999)
+        dense.or(sparse).cardinality shouldBe 10002
+        CompressedBitmap.of(1, 2).or(CompressedBitmap.of(2, 3)) shouldBe CompressedBitmap.of(1, 2, 3)
+        CompressedBitmap.of(1, 2).and(CompressedBitmap.of(3)).isEmpty shouldBe true
+    }
+
+    @Test
+    fun canSerializeContainers() {
+        val bitmap = CompressedBitmap()
+        for (i in 0 until 5000) {
+            bitmap.add(i * 3)
+        }
+        bitmap.add(65536 * 4 + 7)
+        val copy = CompressedBitmap()
+        for (containerKey in bitmap.containerKeys) {
+            copy.putContainer(containerKey, bitmap.getContainerBytes(containerKey)!!)
+        }
+        copy shouldBe bitmap
+    }
+
+}
@@ -0,0 +1,71 @@
+package org.chronos.chronodb.exodus.test.cases.secondaryindex
+
+import org.chronos.chronodb.exodus.secondaryindex.rebuild.IndexRebuildJournal
+import org.chronos.chronodb.exodus.test.base.EnvironmentTest
+import org.chronos.chronodb.exodus.transaction.ExodusTransaction
+import org.chronos.chronodb.exodus.transaction.ExodusTransactionImpl
+import org.chronos.common.testing.kotlin.ext.shouldBe
+import org.junit.jupiter.api.Test
+
+class IndexRebuildJournalTest : EnvironmentTest() {
+
+    @Test
+    fun canResumeInterruptedRebuild() {
+        val indexers = byteArrayOf(1, 2, 3)
+        this.readWriteTx { tx ->
+            IndexRebuildJournal.begin(tx, indexers) shouldBe emptySet<String>()
+            IndexRebuildJournal.markChunkCompleted(tx, IndexRebuildJournal.chunkId("master", 0))
+            IndexRebuildJournal.markChunkCompleted(tx, IndexRebuildJournal.chunkId("test", 1))
+            tx.commit()
+        }
+        // the rebuild has not been completed, so the next one resumes where we left off
+        this.readWriteTx { tx ->
+            IndexRebuildJournal.begin(tx, indexers) shouldBe setOf(
+                IndexRebuildJournal.chunkId("master", 0),
+                IndexRebuildJournal.chunkId("test", 1)
+            )
+        }
+    }
+
+    @Test
+    fun changedIndexersDiscardTheJournal() {
+        this.readWriteTx { tx ->
+            IndexRebuildJournal.begin(tx, byteArrayOf(1, 2, 3))
+            IndexRebuildJournal.markChunkCompleted(tx, IndexRebuildJournal.chunkId("master", 0))
+            tx.commit()
+        }
+        this.readWriteTx { tx ->
+            IndexRebuildJournal.begin(tx, byteArrayOf(4, 5, 6)) shouldBe emptySet<String>()
+            tx.commit()
+        }
+        this.readWriteTx { tx ->
+            IndexRebuildJournal.begin(tx, byteArrayOf(1, 2, 3)) shouldBe emptySet<String>()
+        }
+    }
+
+    @Test
+    fun completedRebuildClearsTheJournal() {
+        val indexers = byteArrayOf(1, 2, 3)
+        this.readWriteTx { tx ->
+            IndexRebuildJournal.begin(tx, indexers)
+            IndexRebuildJournal.markChunkCompleted(tx, IndexRebuildJournal.chunkId("master", 0))
+            tx.commit()
+        }
+        this.readWriteTx { tx ->
+            IndexRebuildJournal.clear(tx)
+            tx.commit()
+        }
+        this.readWriteTx { tx ->
+            IndexRebuildJournal.begin(tx, indexers) shouldBe emptySet<String>()
+        }
+    }
+
+    // =================================================================================================================
+    // HELPER METHODS
+    // =================================================================================================================
+
+    private fun <T> readWriteTx(action: (ExodusTransaction) -> T): T {
+        return ExodusTransactionImpl(this.environment, this.environment.beginExclusiveTransaction()).use(action)
+    }
+
+}
@@ -1,6 +1,7 @@
 package org.chronos.chronodb.exodus.test.cases.secondaryindex
 
 import org.chronos.chronodb.api.Order
+import org.chronos.chronodb.api.key.QualifiedKey
 import org.chronos.chronodb.api.query.Condition
 import org.chronos.chronodb.api.query.NumberCondition
 import org.chronos.chronodb.exodus.kotlin.ext.toByteArray
@@ -10,8 +11,10 @@ import org.chronos.common.testing.kotlin.ext.shouldBe
 import org.chronos.chronodb.exodus.transaction.ExodusTransaction
 import org.chronos.chronodb.exodus.transaction.ExodusTransactionImpl
 import org.chronos.chronodb.exodus.util.readLongsFromBytes
+import org.chronos.chronodb.internal.api.index.IndexStatistics
 import org.chronos.chronodb.internal.api.query.searchspec.LongSearchSpecification
 import org.chronos.chronodb.internal.impl.query.LongSearchSpecificationImpl
+import org.junit.jupiter.api.Assertions.assertNull
 import org.junit.jupiter.api.Test
 
 class SecondaryLongIndexStoreTest : EnvironmentTest() {
@@ -188,6 +191,70 @@ class SecondaryLongIndexStoreTest : EnvironmentTest() {
         }
     }
 
+    @Test
+    fun limitedScanStopsAfterEnoughResults() {
+        this.readWriteTx { tx ->
+            SecondaryLongIndexStore.insert(tx, "value", "default", 10, "1111", 1000)
+            SecondaryLongIndexStore.insert(tx, "value", "default", 11, "2222", 1000)
+            SecondaryLongIndexStore.insert(tx, "value", "default", 12, "3333", 1000)
+            SecondaryLongIndexStore.insert(tx, "value", "default", 13, "4444", 1000)
+            tx.commit()
+        }
+        val searchSpec = LongSearchSpecificationImpl("value", NumberCondition.GREATER_THAN, 10)
+        this.readOnlyTx { tx ->
+            SecondaryLongIndexStore.scan(tx, searchSpec, "default", 3000, maxResults = 2) shouldBe ScanResult(
+                listOf(
+                    ScanResultEntry(11L, "2222"),
+                    ScanResultEntry(12L, "3333")
+                ),
+                OrderedBy("value", Order.ASCENDING)
+            )
+        }
+    }
+
+    @Test
+    fun orderedScanProducesDistinctKeysInValueOrder() {
+        this.readWriteTx { tx ->
+            SecondaryLongIndexStore.insert(tx, "value", "default", 20, "1111", 1000)
+            SecondaryLongIndexStore.insert(tx, "value", "default", -5, "2222", 1000)
+            SecondaryLongIndexStore.insert(tx, "value", "default", 7, "3333", 1000)
+            // multi-valued entry: visited at its smallest value in ascending order, at its largest in descending order
+            SecondaryLongIndexStore.insert(tx, "value", "default", 3, "4444", 1000)
+            SecondaryLongIndexStore.insert(tx, "value", "default", 30, "4444", 1000)
+            // this entry is not visible at the scan timestamp
+            SecondaryLongIndexStore.insert(tx, "value", "default", 1, "5555", 5000)
+            tx.commit()
+        }
+        this.readOnlyTx { tx ->
+            SecondaryLongIndexStore.scanOrdered(tx, "value", "default", 3000, Order.ASCENDING) shouldBe listOf("2222", "4444", "3333", "1111")
+            SecondaryLongIndexStore.scanOrdered(tx, "value", "default", 3000, Order.DESCENDING) shouldBe listOf("4444", "1111", "3333", "2222")
+            SecondaryLongIndexStore.scanOrdered(tx, "value", "default", 3000, Order.DESCENDING, maxResults = 2) shouldBe listOf("4444", "1111")
+        }
+    }
+
+    @Test
+    fun countProducesDistinctKeys() {
+        this.readWriteTx { tx ->
+            SecondaryLongIndexStore.insert(tx, "value", "default", 10, "1111", 1000)
+            SecondaryLongIndexStore.insert(tx, "value", "default", 11, "2222", 1000)
+            SecondaryLongIndexStore.insert(tx, "value", "default", 11, "3333", 1000)
+            // multi-valued entries match in several runs, but are counted only once
+            SecondaryLongIndexStore.insert(tx, "value", "default", 12, "1111", 1000)
+            SecondaryLongIndexStore.insert(tx, "value", "default", 13, "1111", 1000)
+            SecondaryLongIndexStore.insert(tx, "value", "default", 13, "2222", 1000)
+            // this entry is not visible at the count timestamp
+            SecondaryLongIndexStore.insert(tx, "value", "default", 12, "4444", 5000)
+            tx.commit()
+        }
+        this.readOnlyTx { tx ->
+            SecondaryLongIndexStore.count(tx, LongSearchSpecificationImpl("value", NumberCondition.GREATER_EQUAL, 10), "default", 3000) shouldBe 3L
+            SecondaryLongIndexStore.count(tx, LongSearchSpecificationImpl("value", NumberCondition.GREATER_THAN, 11), "default", 3000) shouldBe 2L
+            SecondaryLongIndexStore.count(tx, LongSearchSpecificationImpl("value", NumberCondition.EQUALS, 11), "default", 3000) shouldBe 2L
+            SecondaryLongIndexStore.count(tx, LongSearchSpecificationImpl("value", NumberCondition.EQUALS, 12), "default", 6000) shouldBe 2L
+            SecondaryLongIndexStore.count(tx, LongSearchSpecificationImpl("value", NumberCondition.LESS_THAN, 10), "default", 3000) shouldBe 0L
+        }
+    }
+
     @Test
     fun canEvaluateGreaterThan() {
         this.readWriteTx { tx ->
@@ -300,6 +367,39 @@ class SecondaryLongIndexStoreTest : EnvironmentTest() {
         SecondaryLongIndexStore.parseSecondaryIndexKey(poop4567).toScanResultEntry() shouldBe ScanResultEntry(675L, "p-4567")
     }
 
+    @Test
+    fun statisticsAreMaintainedForNewIndices() {
+        this.readWriteTx { tx ->
+            IndexStatisticsStore.createIfIndexIsEmpty(tx, "value", "default", SecondaryLongIndexStore.storeName("value", "default"))
+            SecondaryLongIndexStore.insert(tx, "value", "default", 314, "1111", 1000)
+            SecondaryLongIndexStore.insert(tx, "value", "default", 314, "1112", 1000)
+            SecondaryLongIndexStore.insert(tx, "value", "default", 575, "2222", 1000)
+            // closes an open entry
+            SecondaryLongIndexStore.terminateValidity(tx, "value", "default", 575, "2222", 2000, 0L)
+            // deletes an open entry, but the value 314 is still present
+            SecondaryLongIndexStore.terminateValidity(tx, "value", "default", 314, "1111", 1000, 0L)
+            tx.commit()
+        }
+        this.readOnlyTx { tx -> IndexStatisticsStore.get(tx, "value", "default") } shouldBe IndexStatistics(1, 2)
+        // a rollback re-opens the entry of "2222"
+        this.readWriteTx { tx ->
+            SecondaryLongIndexStore.rollback(tx, "value", 1500, setOf(QualifiedKey.create("default", "2222")))
+            tx.commit()
+        }
+        this.readOnlyTx { tx -> IndexStatisticsStore.get(tx, "value", "default") } shouldBe IndexStatistics(2, 2)
+    }
+
+    @Test
+    fun statisticsAreNotCreatedForExistingIndices() {
+        this.readWriteTx { tx ->
+            SecondaryLongIndexStore.insert(tx, "value", "default", 314, "1111", 1000)
+            IndexStatisticsStore.createIfIndexIsEmpty(tx, "value", "default", SecondaryLongIndexStore.storeName("value", "default"))
+            SecondaryLongIndexStore.insert(tx, "value", "default", 575, "2222", 1000)
+            tx.commit()
+        }
+        assertNull(this.readOnlyTx { tx -> IndexStatisticsStore.get(tx, "value", "default") })
+    }
+
     // =================================================================================================================
     // HELPER METHODS
     // =================================================================================================================
@@ -341,6 +341,98 @@ class SecondaryStringIndexStoreTest : EnvironmentTest() {
         }
     }
 
+    @Test
+    fun canEvaluateContainsEndsWithAndRegexQueriesViaTrigramStore() {
+        this.readWriteTx { tx ->
+            SecondaryStringIndexStore.createTrigramStoreIfIndexIsEmpty(tx, "name", "default")
+            SecondaryStringIndexStore.insert(tx, "name", "default", "john", "7487", 1000)
+            SecondaryStringIndexStore.insert(tx, "name", "default", "John", "1111", 1000)
+            SecondaryStringIndexStore.insert(tx, "name", "default", "John", "1112", 1000)
+            SecondaryStringIndexStore.terminateValidity(tx, "name", "default", "John", "1112", 2000, 0L)
+            SecondaryStringIndexStore.insert(tx, "name", "default", "Jane", "2222", 1000)
+            SecondaryStringIndexStore.insert(tx, "name", "default", "Jane", "2223", 1000)
+            SecondaryStringIndexStore.insert(tx, "name", "default", "Billy", "5555", 1000)
+            SecondaryStringIndexStore.insert(tx, "name", "default", "Adam", "6666", 1000)
+            tx.commit()
+        }
+        this.readOnlyTx { tx ->
+            tx.storeExists(SecondaryStringIndexStore.storeNameTrigram("name", "default")) shouldBe true
+            val contains = StringSearchSpecificationImpl("name", StringCondition.CONTAINS, "ohn", TextMatchMode.STRICT)
+            SecondaryStringIndexStore.scan(tx, contains, "default", 3000) shouldBe ScanResult(
+                    listOf(
+                            ScanResultEntry("John", "1111"),
+                            ScanResultEntry("john", "7487")
+                    ),
+                    OrderedBy("name", Order.ASCENDING)
+            )
+            val containsCI = StringSearchSpecificationImpl("name", StringCondition.CONTAINS, "JOH", TextMatchMode.CASE_INSENSITIVE)
+            SecondaryStringIndexStore.scan(tx, containsCI, "default", 1500) shouldBe ScanResult(
+                    listOf(
+                            ScanResultEntry("john", "1111"),
+                            ScanResultEntry("john", "1112"),
+                            ScanResultEntry("john", "7487")
+                    )
+            )
+            val endsWith = StringSearchSpecificationImpl("name", StringCondition.ENDS_WITH, "ne", TextMatchMode.STRICT)
+            SecondaryStringIndexStore.scan(tx, endsWith, "default", 3000) shouldBe ScanResult(
+                    listOf(
+                            ScanResultEntry("Jane", "2222"),
+                            ScanResultEntry("Jane", "2223")
+                    ),
+                    OrderedBy("name", Order.ASCENDING)
+            )
+            val regex = StringSearchSpecificationImpl("name", StringCondition.MATCHES_REGEX, "J.*hn", TextMatchMode.STRICT)
+            SecondaryStringIndexStore.scan(tx, regex, "default", 3000) shouldBe ScanResult(
+                    listOf(
+                            ScanResultEntry("John", "1111")
+                    ),
+                    OrderedBy("name", Order.ASCENDING)
+            )
+        }
+    }
+
+    @Test
+    fun trigramStoreIsOnlyCreatedForEmptyIndices() {
+        this.readWriteTx { tx ->
+            SecondaryStringIndexStore.insert(tx, "name", "default", "John", "1111", 1000)
+            SecondaryStringIndexStore.createTrigramStoreIfIndexIsEmpty(tx, "name", "default")
+            tx.commit()
+        }
+        this.readOnlyTx { tx ->
+            tx.storeExists(SecondaryStringIndexStore.storeNameTrigram("name", "default")) shouldBe false
+            // queries are still answered correctly, via a full table scan
+            val contains = StringSearchSpecificationImpl("name", StringCondition.CONTAINS, "ohn", TextMatchMode.STRICT)
+            SecondaryStringIndexStore.scan(tx, contains, "default", 3000) shouldBe ScanResult(
+                    listOf(
+                            ScanResultEntry("John", "1111")
+                    ),
+                    OrderedBy("name", Order.ASCENDING)
+            )
+        }
+    }
+
+    @Test
+    fun trigramStoreIgnoresRolledBackEntries() {
+        this.readWriteTx { tx ->
+            SecondaryStringIndexStore.createTrigramStoreIfIndexIsEmpty(tx, "name", "default")
+            SecondaryStringIndexStore.insert(tx, "name", "default", "Doe", "1111", 1000)
+            SecondaryStringIndexStore.insert(tx, "name", "default", "Doering", "2222", 3000)
+            tx.commit()
+        }
+        this.readWriteTx { tx ->
+            SecondaryStringIndexStore.rollback(tx, "name", 2000)
+            tx.commit()
+        }
+        this.readOnlyTx { tx ->
+            val contains = StringSearchSpecificationImpl("name", StringCondition.CONTAINS, "doe", TextMatchMode.CASE_INSENSITIVE)
+            SecondaryStringIndexStore.scan(tx, contains, "default", 5000) shouldBe ScanResult(
+                    listOf(
+                            ScanResultEntry("doe", "1111")
+                    )
+            )
+        }
+    }
+
     @Test
     fun canCreateAndParseSecondaryIndexKeys() {
         val john1234 = SecondaryStringIndexStore.createSecondaryIndexKey("John", "p-1234")
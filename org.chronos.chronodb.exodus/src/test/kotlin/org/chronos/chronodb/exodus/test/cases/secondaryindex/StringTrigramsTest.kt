@@ -0,0 +1,37 @@
+package org.chronos.chronodb.exodus.test.cases.secondaryindex
+
+import org.chronos.chronodb.api.query.StringCondition
+import org.chronos.chronodb.exodus.secondaryindex.stores.StringTrigrams
+import org.chronos.common.testing.kotlin.ext.shouldBe
+import org.junit.jupiter.api.Test
+
+class StringTrigramsTest {
+
+    @Test
+    fun canComputeTrigramsOfIndexValue() {
+        StringTrigrams.ofIndexValue("John") shouldBe setOf("joh", "ohn", "hn\u0003")
+        StringTrigrams.ofIndexValue("ab") shouldBe setOf("ab\u0003")
+        StringTrigrams.ofIndexValue("a") shouldBe emptySet<String>()
+    }
+
+    @Test
+    fun canComputeRequiredTrigrams() {
+        StringTrigrams.requiredFor(StringCondition.CONTAINS, "OHN") shouldBe setOf("ohn")
+        StringTrigrams.requiredFor(StringCondition.CONTAINS, "oh") shouldBe emptySet<String>()
+        StringTrigrams.requiredFor(StringCondition.ENDS_WITH, "hn") shouldBe setOf("hn\u0003")
+        StringTrigrams.requiredFor(StringCondition.STARTS_WITH, "John") shouldBe emptySet<String>()
+        StringTrigrams.requiredFor(StringCondition.EQUALS, "John") shouldBe emptySet<String>()
+    }
+
+    @Test
+    fun canExtractRequiredLiteralsOfRegex() {
+        StringTrigrams.requiredLiteralsOfRegex("abc.*def") shouldBe listOf("abc", "def")
+        StringTrigrams.requiredLiteralsOfRegex("ab?c") shouldBe listOf("a", "c")
+        StringTrigrams.requiredLiteralsOfRegex("abc[0-9]+xyz") shouldBe listOf("abc", "xyz")
+        StringTrigrams.requiredLiteralsOfRegex("abc(def)?") shouldBe listOf("abc")
+        StringTrigrams.requiredLiteralsOfRegex("\\d+foo") shouldBe listOf("foo")
+        StringTrigrams.requiredLiteralsOfRegex("abc|def") shouldBe emptyList<String>()
+        StringTrigrams.requiredLiteralsOfRegex("(?i)abc") shouldBe emptyList<String>()
+    }
+
+}
@@ -0,0 +1,60 @@
+package org.chronos.chronograph.api.builder.index;
+
+/**
+ * A step in the fluent graph index builder API which specifies the components of a composite index.
+ *
+ * <p>
+ * The order in which the components are added is significant: queries can make use of the index only if they specify
+ * the values of a prefix of the components. A range query is possible on the first component which follows the prefix,
+ * provided that it is a {@linkplain #withLongComponent(String) long} or a {@linkplain #withDoubleComponent(String)
+ * double} component.
+ *
+ * @author martin.haeusler@uibk.ac.at -- Initial Contribution and API
+ */
+public interface CompositeIndexBuilder {
+
+	/**
+	 * Adds a component to the composite index whose values are strings.
+	 *
+	 * @param propertyName
+	 *            The name (key) of the property to index. Must not be <code>null</code>.
+	 *
+	 * @return <code>this</code>, for method chaining.
+	 */
+	public CompositeIndexBuilder withStringComponent(String propertyName);
+
+	/**
+	 * Adds a component to the composite index whose values are longs.
+	 *
+	 * @param propertyName
+	 *            The name (key) of the property to index. Must not be <code>null</code>.
+	 *
+	 * @return <code>this</code>, for method chaining.
+	 */
+	public CompositeIndexBuilder withLongComponent(String propertyName);
+
+	/**
+	 * Adds a component to the composite index whose values are doubles.
+	 *
+	 * @param propertyName
+	 *            The name (key) of the property to index. Must not be <code>null</code>.
+	 *
+	 * @return <code>this</code>, for method chaining.
+	 */
+	public CompositeIndexBuilder withDoubleComponent(String propertyName);
+
+	/**
+	 * Creates the composite index on vertices.
+	 *
+	 * @return The next step in the fluent builder, for method chaining. Never <code>null</code>.
+	 */
+	public VertexIndexBuilder onVertices();
+
+	/**
+	 * Creates the composite index on edges.
+	 *
+	 * @return The next step in the fluent builder, for method chaining. Never <code>null</code>.
+	 */
+	public EdgeIndexBuilder onEdges();
+
+}
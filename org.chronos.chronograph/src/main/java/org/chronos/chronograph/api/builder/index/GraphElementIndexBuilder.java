@@ -1,5 +1,6 @@
 package org.chronos.chronograph.api.builder.index;
 
+import org.chronos.chronodb.api.indexing.IndexEncoding;
 import org.chronos.chronograph.api.index.ChronoGraphIndex;
 
 /**
@@ -12,6 +13,19 @@ import org.chronos.chronograph.api.index.ChronoGraphIndex;
  */
 public interface GraphElementIndexBuilder<SELF extends GraphElementIndexBuilder<SELF>> {
 
+	/**
+	 * Specifies how the entries of the new index are stored.
+	 *
+	 * <p>
+	 * If this method is not called, the index uses {@link IndexEncoding#STANDARD}. Use {@link IndexEncoding#BITMAP}
+	 * for properties with few distinct values which are shared by many elements.
+	 *
+	 * @param encoding
+	 *            The encoding to use. Must not be <code>null</code>.
+	 * @return <code>this</code>, for method chaining.
+	 */
+	public SELF withEncoding(IndexEncoding encoding);
+
 	public ChronoGraphIndex build();
 
 	public ChronoGraphIndex build(Object commitMetadata);
@@ -44,4 +44,18 @@ public interface IndexBuilderStarter {
 	 */
 	public ElementTypeChoiceIndexBuilder doubleIndex();
 
+	/**
+	 * Creates a composite index over an ordered list of properties.
+	 *
+	 * <p>
+	 * A composite index over <code>(type, status, createdAt)</code> allows to efficiently find all elements with a given
+	 * <code>type</code>, all elements with a given <code>type</code> and <code>status</code>, and all elements with a
+	 * given <code>type</code> and <code>status</code> whose <code>createdAt</code> value lies within a certain range.
+	 * Graph traversals make use of composite indices automatically if their <code>has(...)</code> steps cover a prefix of
+	 * the indexed properties.
+	 *
+	 * @return The builder, for method chaining. Never <code>null</code>.
+	 */
+	public CompositeIndexBuilder compositeIndex();
+
 }
@@ -0,0 +1,70 @@
+package org.chronos.chronograph.api.changefeed;
+
+import org.chronos.chronodb.api.ChronoDBConstants;
+import org.chronos.chronodb.api.changefeed.ChangeFeedManager;
+import org.chronos.chronodb.api.changefeed.ChangeFeedSubscription;
+import org.chronos.chronograph.api.structure.ChronoGraph;
+
+import java.util.Iterator;
+
+/**
+ * The change feed delivers the vertices and edges which have been changed by each commit on a branch, together with
+ * their records before and after the commit.
+ *
+ * <p>
+ * This is the graph-level view on the {@link ChangeFeedManager} of the backing database. Subscriptions can be resumed
+ * from any commit timestamp; commits which have already occurred are loaded from the change log of the database.
+ * Commits which have not changed any vertex or edge (e.g. commits which only changed graph variables or indices) are
+ * skipped.
+ *
+ * <p>
+ * An instance can be obtained via {@link ChronoGraph#getChangeFeed()}.
+ */
+public interface ChronoGraphChangeFeed {
+
+    /**
+     * Subscribes to all commits on the {@linkplain ChronoDBConstants#MASTER_BRANCH_IDENTIFIER master} branch which
+     * occur after this method has been called.
+     *
+     * @param listener The listener to deliver the changes to. Must not be <code>null</code>.
+     * @return The subscription. Never <code>null</code>. Must be closed by the caller when it is no longer needed.
+     */
+    public default ChangeFeedSubscription subscribe(final GraphChangeFeedListener listener) {
+        return this.subscribe(ChronoDBConstants.MASTER_BRANCH_IDENTIFIER, listener);
+    }
+
+    /**
+     * Subscribes to all commits on the given branch which occur after this method has been called.
+     *
+     * @param branchName The name of the branch to subscribe to. Must not be <code>null</code>, must refer to an existing branch.
+     * @param listener   The listener to deliver the changes to. Must not be <code>null</code>.
+     * @return The subscription. Never <code>null</code>. Must be closed by the caller when it is no longer needed.
+     */
+    public ChangeFeedSubscription subscribe(String branchName, GraphChangeFeedListener listener);
+
+    /**
+     * Subscribes to all commits on the given branch with a timestamp strictly greater than the given one.
+     *
+     * <p>
+     * Commits which have already occurred are delivered first, followed by all future commits.
+     *
+     * @param branchName     The name of the branch to subscribe to. Must not be <code>null</code>, must refer to an existing branch.
+     * @param afterTimestamp The (exclusive) timestamp to start the feed after. Typically the
+     *                       {@linkplain ChangeFeedSubscription#getLastDeliveredTimestamp() last delivered timestamp} of a
+     *                       previous subscription. Must not be negative.
+     * @param listener       The listener to deliver the changes to. Must not be <code>null</code>.
+     * @return The subscription. Never <code>null</code>. Must be closed by the caller when it is no longer needed.
+     */
+    public ChangeFeedSubscription subscribe(String branchName, long afterTimestamp, GraphChangeFeedListener listener);
+
+    /**
+     * Returns the graph changes of all commits on the given branch within the given time range.
+     *
+     * @param branchName     The name of the branch. Must not be <code>null</code>, must refer to an existing branch.
+     * @param afterTimestamp The lower bound of the time range (exclusive). Must not be negative.
+     * @param upToTimestamp  The upper bound of the time range (inclusive). Must not be negative.
+     * @return An iterator over the changes per commit, in ascending commit timestamp order. May be empty, never <code>null</code>.
+     */
+    public Iterator<GraphChangeFeedEvent> getChangesBetween(String branchName, long afterTimestamp, long upToTimestamp);
+
+}
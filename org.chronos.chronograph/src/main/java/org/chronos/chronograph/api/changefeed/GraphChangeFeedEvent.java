@@ -0,0 +1,44 @@
+package org.chronos.chronograph.api.changefeed;
+
+import org.chronos.chronograph.api.structure.record.IEdgeRecord;
+import org.chronos.chronograph.api.structure.record.IVertexRecord;
+
+import java.util.List;
+
+/**
+ * Describes the vertices and edges which have been created, updated or deleted by a single commit on a branch.
+ *
+ * <p>
+ * A vertex counts as updated if its properties, its label or its adjacent edges have changed.
+ */
+public interface GraphChangeFeedEvent {
+
+    /**
+     * Returns the name of the branch on which the commit has been performed.
+     *
+     * @return The branch name. Never <code>null</code>.
+     */
+    public String getBranchName();
+
+    /**
+     * Returns the timestamp of the commit.
+     *
+     * @return The commit timestamp. Never negative.
+     */
+    public long getCommitTimestamp();
+
+    /**
+     * Returns the vertices which have been changed by the commit, in no particular order.
+     *
+     * @return An unmodifiable list of vertex changes. May be empty, never <code>null</code>.
+     */
+    public List<GraphElementChange<IVertexRecord>> getVertexChanges();
+
+    /**
+     * Returns the edges which have been changed by the commit, in no particular order.
+     *
+     * @return An unmodifiable list of edge changes. May be empty, never <code>null</code>.
+     */
+    public List<GraphElementChange<IEdgeRecord>> getEdgeChanges();
+
+}
@@ -0,0 +1,21 @@
+package org.chronos.chronograph.api.changefeed;
+
+/**
+ * A listener which receives the graph changes of every commit on a branch.
+ *
+ * <p>
+ * The listener is invoked on a thread which belongs to the change feed, never on the committing thread. The events are
+ * delivered one at a time, in ascending commit timestamp order. Exceptions thrown by the listener are logged and do not
+ * stop the delivery of subsequent events.
+ */
+@FunctionalInterface
+public interface GraphChangeFeedListener {
+
+    /**
+     * Called for every commit on the subscribed branch which has changed at least one vertex or edge.
+     *
+     * @param event The changes of the commit. Never <code>null</code>.
+     */
+    public void onCommit(GraphChangeFeedEvent event);
+
+}
@@ -0,0 +1,44 @@
+package org.chronos.chronograph.api.changefeed;
+
+import org.chronos.chronodb.api.changefeed.ChangeType;
+import org.chronos.chronograph.api.structure.record.IElementRecord;
+
+/**
+ * Describes how a single vertex or edge has been changed by a commit.
+ *
+ * <p>
+ * The records are shared between all subscribers of the change feed and must be treated as read-only.
+ *
+ * @param <R> The type of the element records.
+ */
+public interface GraphElementChange<R extends IElementRecord> {
+
+    /**
+     * Returns the ID of the changed element.
+     *
+     * @return The element ID. Never <code>null</code>.
+     */
+    public String getElementId();
+
+    /**
+     * Returns the kind of change.
+     *
+     * @return The change type. Never <code>null</code>.
+     */
+    public ChangeType getChangeType();
+
+    /**
+     * Returns the record of the element before the commit.
+     *
+     * @return The old record. <code>null</code> if the change type is {@link ChangeType#CREATED}.
+     */
+    public R getOldRecord();
+
+    /**
+     * Returns the record of the element after the commit.
+     *
+     * @return The new record. <code>null</code> if the change type is {@link ChangeType#DELETED}.
+     */
+    public R getNewRecord();
+
+}
@@ -0,0 +1,42 @@
+package org.chronos.chronograph.api.index;
+
+import java.util.List;
+
+import org.chronos.chronograph.api.builder.index.IndexBuilderStarter;
+import org.chronos.chronograph.internal.impl.index.IndexType;
+
+/**
+ * Specifies metadata about an existing composite graph index, i.e. an index over an ordered list of properties.
+ *
+ * <p>
+ * A composite index over <code>(type, status, createdAt)</code> answers queries which specify the value of
+ * <code>type</code>, optionally the value of <code>status</code>, and optionally a range of <code>createdAt</code>
+ * values, by scanning only the matching section of the index. Composite indices are created via
+ * {@link IndexBuilderStarter#compositeIndex()}.
+ *
+ * <p>
+ * The {@linkplain #getIndexedProperty() indexed property} of a composite index is a synthetic name which lists all
+ * indexed properties, e.g. <code>"(type,status,createdAt)"</code>. The {@linkplain #getIndexType() index type} is always
+ * {@link IndexType#STRING}, because the component values are stored as encoded strings.
+ *
+ * @author martin.haeusler@uibk.ac.at -- Initial Contribution and API
+ *
+ */
+public interface ChronoGraphCompositeIndex extends ChronoGraphIndex {
+
+	/**
+	 * Returns the names (keys) of the graph element properties that are being indexed, in the order of the index
+	 * components.
+	 *
+	 * @return The names of the indexed properties. Never <code>null</code>, never empty.
+	 */
+	public List<String> getIndexedProperties();
+
+	/**
+	 * Returns the types of the individual index components, in the same order as {@link #getIndexedProperties()}.
+	 *
+	 * @return The component types. Never <code>null</code>, never empty.
+	 */
+	public List<IndexType> getComponentTypes();
+
+}
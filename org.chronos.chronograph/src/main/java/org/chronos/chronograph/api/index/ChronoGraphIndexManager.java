@@ -6,11 +6,13 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.chronos.chronodb.api.indexing.IndexEncoding;
 import org.chronos.chronograph.api.builder.index.ElementTypeChoiceIndexBuilder;
 import org.chronos.chronograph.api.builder.index.GraphElementIndexBuilder;
 import org.chronos.chronograph.api.builder.index.IndexBuilderStarter;
@@ -268,6 +270,17 @@ public interface ChronoGraphIndexManager {
 	 */
 	public void reindexAll(boolean force);
 
+	/**
+	 * Rebuilds the {@linkplain #getDirtyIndices() dirty} secondary graph indices in the background.
+	 *
+	 * <p>
+	 * In contrast to {@link #reindexAll()}, this operation does not block concurrent graph transactions. The dirty indices are built from a snapshot of the graph and catch up with the commits which happened in the meantime. Until they are complete, they remain dirty, i.e. queries on them fall back to scanning the graph.
+	 * </p>
+	 *
+	 * @return A future which completes when the indices which were dirty at the time of calling this method are clean. Never <code>null</code>.
+	 */
+	public CompletableFuture<Void> reindexAllOnline();
+
 
 	/**
 	 * Recreates the index with the given name.
@@ -339,6 +352,16 @@ public interface ChronoGraphIndexManager {
 	 */
 	public Set<ChronoGraphIndex> getDirtyIndices();
 
+	/**
+	 * Returns the encoding of the given index.
+	 *
+	 * @param index The index to get the encoding for. Must not be <code>null</code>.
+	 * @return The encoding of the index. Never <code>null</code>.
+	 *
+	 * @see GraphElementIndexBuilder#withEncoding(IndexEncoding)
+	 */
+	public IndexEncoding getIndexEncoding(ChronoGraphIndex index);
+
 	/**
 	 * Returns the indices which are known and currently {@linkplain #getDirtyIndices() clean}.
 	 *
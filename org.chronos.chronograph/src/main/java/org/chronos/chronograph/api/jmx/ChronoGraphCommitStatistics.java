@@ -0,0 +1,105 @@
+package org.chronos.chronograph.api.jmx;
+
+import org.chronos.chronodb.api.metrics.CommitMetrics;
+import org.chronos.chronodb.api.metrics.CommitPhase;
+
+import java.util.concurrent.TimeUnit;
+
+public class ChronoGraphCommitStatistics implements ChronoGraphCommitStatisticsMBean {
+
+    private static final ChronoGraphCommitStatistics INSTANCE = new ChronoGraphCommitStatistics();
+
+    public static ChronoGraphCommitStatistics getInstance(){
+        return INSTANCE;
+    }
+
+    private CommitMetrics commitMetrics;
+
+    public void setCommitMetrics(CommitMetrics commitMetrics){
+        this.commitMetrics = commitMetrics;
+    }
+
+    @Override
+    public String[] getBranchNames(){
+        CommitMetrics metrics = this.commitMetrics;
+        if(metrics == null){
+            return new String[0];
+        }
+        return metrics.getBranchNames().stream().sorted().toArray(String[]::new);
+    }
+
+    @Override
+    public long getCommitCount(String branchName){
+        CommitMetrics metrics = this.commitMetrics;
+        if(metrics == null){
+            return 0;
+        }
+        return metrics.getCommitCount(branchName);
+    }
+
+    @Override
+    public long getFailedCommitCount(String branchName){
+        CommitMetrics metrics = this.commitMetrics;
+        if(metrics == null){
+            return 0;
+        }
+        return metrics.getFailedCommitCount(branchName);
+    }
+
+    @Override
+    public double getPhaseLatencyMillis(String branchName, String phase, double percentile){
+        CommitMetrics metrics = this.commitMetrics;
+        if(metrics == null){
+            return 0;
+        }
+        CommitPhase commitPhase = CommitPhase.valueOf(phase);
+        return metrics.getPhaseLatency(branchName, commitPhase).getValueAtPercentile(percentile, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public double getMeanPhaseLatencyMillis(String branchName, String phase){
+        CommitMetrics metrics = this.commitMetrics;
+        if(metrics == null){
+            return 0;
+        }
+        CommitPhase commitPhase = CommitPhase.valueOf(phase);
+        return metrics.getPhaseLatency(branchName, commitPhase).getMean() / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public long getCommitLockWaitTimeMillis(String branchName){
+        CommitMetrics metrics = this.commitMetrics;
+        if(metrics == null){
+            return 0;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(metrics.getCommitLockWaitTime(branchName));
+    }
+
+    @Override
+    public int getCommitQueueDepth(String branchName){
+        CommitMetrics metrics = this.commitMetrics;
+        if(metrics == null){
+            return 0;
+        }
+        return metrics.getCommitQueueDepth(branchName);
+    }
+
+    @Override
+    public int getMaxCommitQueueDepth(String branchName){
+        CommitMetrics metrics = this.commitMetrics;
+        if(metrics == null){
+            return 0;
+        }
+        return metrics.getMaxCommitQueueDepth(branchName);
+    }
+
+    @Override
+    public void resetStatistics(){
+        CommitMetrics metrics = this.commitMetrics;
+        if(metrics == null){
+            return;
+        }
+        metrics.reset();
+    }
+
+}
@@ -0,0 +1,23 @@
+package org.chronos.chronograph.api.jmx;
+
+public interface ChronoGraphCommitStatisticsMBean {
+
+    public String[] getBranchNames();
+
+    public long getCommitCount(String branchName);
+
+    public long getFailedCommitCount(String branchName);
+
+    public double getPhaseLatencyMillis(String branchName, String phase, double percentile);
+
+    public double getMeanPhaseLatencyMillis(String branchName, String phase);
+
+    public long getCommitLockWaitTimeMillis(String branchName);
+
+    public int getCommitQueueDepth(String branchName);
+
+    public int getMaxCommitQueueDepth(String branchName);
+
+    public void resetStatistics();
+
+}
@@ -13,6 +13,8 @@ public class ChronoGraphMBeanSupport {
         try{
             // wire up the cache MBean
             ChronoGraphCacheStatistics.getInstance().setCache(standardChronoGraph.getBackingDB().getCache());
+            // wire up the commit MBean
+            ChronoGraphCommitStatistics.getInstance().setCommitMetrics(standardChronoGraph.getBackingDB().getCommitMetrics());
             // wire up the MBeans with the server
             MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
             // register the transaction statistics MBean
@@ -21,6 +23,9 @@ public class ChronoGraphMBeanSupport {
             // register the cache statistics MBean
             ObjectName objectNameCacheStatistics = new ObjectName("org.chronos.chronograph:type=ChronoGraph.CacheStatistics");
             mbs.registerMBean(ChronoGraphCacheStatistics.getInstance(), objectNameCacheStatistics);
+            // register the commit statistics MBean
+            ObjectName objectNameCommitStatistics = new ObjectName("org.chronos.chronograph:type=ChronoGraph.CommitStatistics");
+            mbs.registerMBean(ChronoGraphCommitStatistics.getInstance(), objectNameCommitStatistics);
         }catch(Exception e){
             ChronoLogger.logWarning("Failed to register ChronoGraph MBeans. JMX functionality will not be available for this instance. Exception is: " + e);
         }
@@ -11,6 +11,7 @@ import org.chronos.chronodb.api.DumpOption;
 import org.chronos.chronodb.api.Order;
 import org.chronos.chronograph.api.ChronoGraphFactory;
 import org.chronos.chronograph.api.branch.ChronoGraphBranchManager;
+import org.chronos.chronograph.api.changefeed.ChronoGraphChangeFeed;
 import org.chronos.chronograph.api.history.ChronoGraphHistoryManager;
 import org.chronos.chronograph.api.index.ChronoGraphIndexManager;
 import org.chronos.chronograph.api.iterators.ChronoGraphIterators;
@@ -2147,6 +2148,17 @@ public interface ChronoGraph extends Graph {
      */
     public ChronoGraphStatisticsManager getStatisticsManager();
 
+    // =================================================================================================================
+    // CHANGE FEED
+    // =================================================================================================================
+
+    /**
+     * Returns the change feed of this {@link ChronoGraph}, which delivers the vertices and edges changed by each commit.
+     *
+     * @return The change feed. Never <code>null</code>.
+     */
+    public ChronoGraphChangeFeed getChangeFeed();
+
     // =====================================================================================================================
     // DUMP API
     // =====================================================================================================================
@@ -20,6 +20,19 @@ public interface IVertexRecord extends IElementRecord {
 
     public SetMultimap<String, IEdgeTargetRecord> getOutgoingEdgesByLabel();
 
+    /**
+     * Checks if the adjacent edges of the vertex are embedded in this record.
+     *
+     * <p>
+     * If this method returns <code>false</code>, the adjacent edges are stored separately and the edge-related
+     * methods of this record will return empty results, regardless of the actual edges of the vertex.
+     *
+     * @return <code>true</code> if this record contains the adjacent edges of the vertex, otherwise <code>false</code>.
+     */
+    public default boolean isAdjacencyEmbedded() {
+        return true;
+    }
+
     @Override
     public Set<IVertexPropertyRecord> getProperties();
 
@@ -0,0 +1,85 @@
+package org.chronos.chronograph.api.transaction.trigger;
+
+import com.google.common.collect.Sets;
+
+import java.util.Collections;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.*;
+
+/**
+ * Determines what happens when a commit attempts to dispatch {@linkplain TriggerExecutionMode#ASYNCHRONOUS asynchronous}
+ * post-commit triggers while the queue of pending trigger executions is full.
+ */
+public enum AsyncTriggerBackpressurePolicy {
+
+    /**
+     * The committing thread waits until there is room in the queue.
+     *
+     * <p>
+     * No trigger executions are lost, but commits slow down to the pace of the trigger execution if the triggers can not keep up.
+     * </p>
+     */
+    BLOCK("block", "wait"),
+
+    /**
+     * The trigger execution for the commit is skipped, and the commit returns immediately.
+     *
+     * <p>
+     * Commits never wait for triggers, but the asynchronous triggers may miss commits. Skipped executions are logged and counted
+     * in the {@linkplain AsyncTriggerStatistics#getDiscardedCount() statistics}.
+     * </p>
+     */
+    DISCARD("discard", "drop");
+
+    // =================================================================================================================
+    // FIELDS
+    // =================================================================================================================
+
+    private final String primaryName;
+    private final Set<String> allNames;
+
+    // =================================================================================================================
+    // CONSTRUCTOR
+    // =================================================================================================================
+
+    private AsyncTriggerBackpressurePolicy(final String primaryName, final String... aliases) {
+        checkNotNull(primaryName, "Precondition violation - argument 'primaryName' must not be NULL!");
+        this.primaryName = primaryName;
+        Set<String> names = Sets.newHashSet(aliases);
+        names.add(primaryName);
+        this.allNames = Collections.unmodifiableSet(names);
+    }
+
+    // =================================================================================================================
+    // PUBLIC API
+    // =================================================================================================================
+
+    @Override
+    public String toString() {
+        return this.primaryName;
+    }
+
+    /**
+     * Parses a string value into an {@link AsyncTriggerBackpressurePolicy}.
+     *
+     * <p>
+     * This method is case insensitive and takes all aliases into account.
+     * </p>
+     *
+     * @param stringValue The string value to parse. Must not be <code>null</code>.
+     * @return The policy described by the string. Never <code>null</code>.
+     * @throws IllegalArgumentException Thrown if the string does not describe a known policy.
+     */
+    public static AsyncTriggerBackpressurePolicy fromString(final String stringValue) {
+        checkNotNull(stringValue, "Precondition violation - argument 'stringValue' must not be NULL!");
+        String token = stringValue.toLowerCase().trim();
+        for (AsyncTriggerBackpressurePolicy policy : AsyncTriggerBackpressurePolicy.values()) {
+            if (policy.allNames.contains(token)) {
+                return policy;
+            }
+        }
+        throw new IllegalArgumentException("Unknown AsyncTriggerBackpressurePolicy: '" + stringValue + "'!");
+    }
+
+}
@@ -0,0 +1,64 @@
+package org.chronos.chronograph.api.transaction.trigger;
+
+/**
+ * A snapshot of the state of the queue which executes the {@linkplain TriggerExecutionMode#ASYNCHRONOUS asynchronous}
+ * post-commit triggers of a graph.
+ *
+ * <p>
+ * Instances of this interface can be retrieved via {@link ChronoGraphTriggerManager#getAsyncTriggerStatistics()}. Every
+ * dispatched commit counts as one entry in the queue, regardless of how many asynchronous triggers it executes.
+ * </p>
+ */
+public interface AsyncTriggerStatistics {
+
+    /**
+     * Returns the maximum number of commits which may be pending in the queue.
+     *
+     * @return The queue capacity. Always greater than zero.
+     */
+    public int getQueueCapacity();
+
+    /**
+     * Returns the number of commits whose triggers have been dispatched, but have not finished execution yet.
+     *
+     * @return The current queue depth. Never negative.
+     */
+    public int getQueueDepth();
+
+    /**
+     * Returns the age of the oldest commit in the queue whose triggers have not started execution yet.
+     *
+     * @return The current lag in milliseconds, or zero if no commit is waiting.
+     */
+    public long getCurrentLagMillis();
+
+    /**
+     * Returns the time which the most recently started commit has spent waiting in the queue.
+     *
+     * @return The lag of the last execution in milliseconds, or zero if no execution has started yet.
+     */
+    public long getLastLagMillis();
+
+    /**
+     * Returns the number of commits whose triggers have been executed.
+     *
+     * @return The number of executed commits. Never negative.
+     */
+    public long getExecutedCount();
+
+    /**
+     * Returns the number of commits whose triggers have been skipped, either because the queue was full (see
+     * {@link AsyncTriggerBackpressurePolicy#DISCARD}) or because the graph was closed.
+     *
+     * @return The number of discarded commits. Never negative.
+     */
+    public long getDiscardedCount();
+
+    /**
+     * Returns the number of trigger executions which have failed with an exception.
+     *
+     * @return The number of failed trigger executions. Never negative.
+     */
+    public long getFailedCount();
+
+}
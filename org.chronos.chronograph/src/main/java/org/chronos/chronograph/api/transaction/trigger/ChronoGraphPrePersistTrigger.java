@@ -1,5 +1,15 @@
 package org.chronos.chronograph.api.transaction.trigger;
 
+/**
+ * A trigger which is fired in the {@link TriggerTiming#PRE_PERSIST} timing.
+ *
+ * <p>
+ * By default, {@link #onPrePersist(PrePersistTriggerContext)} is invoked exactly once per commit, while the commit lock
+ * of the branch is held. If {@linkplain org.chronos.chronograph.internal.api.configuration.ChronoGraphConfiguration#isOptimisticCommitPreparationEnabled()
+ * optimistic commit preparation} is enabled, it is invoked without holding the lock, and it is invoked <b>again</b>
+ * (on the newly merged state) for every attempt in which the branch head has advanced concurrently. Implementations
+ * should therefore not produce side effects outside of the transaction state.
+ */
 public interface ChronoGraphPrePersistTrigger extends ChronoGraphTrigger {
 
     public void onPrePersist(PrePersistTriggerContext context) throws CancelCommitException;
@@ -142,5 +142,49 @@ public interface ChronoGraphTriggerManager {
 
     public GraphTriggerMetadata getTrigger(final String triggerName);
 
+    /**
+     * Sets the {@link TriggerExecutionMode} of the trigger with the given unique name.
+     *
+     * <p>
+     * Only {@link ChronoGraphPostCommitTrigger}s can be executed {@linkplain TriggerExecutionMode#ASYNCHRONOUS asynchronously}.
+     * The mode is persisted and survives a restart of the graph.
+     * </p>
+     *
+     * @param triggerName The unique name of the trigger. Must not be <code>null</code> or empty. The trigger must exist.
+     * @param mode        The new execution mode. Must not be <code>null</code>.
+     * @return <code>true</code> if the execution mode has been changed, or <code>false</code> if the trigger already had the given mode.
+     */
+    public boolean setExecutionMode(String triggerName, TriggerExecutionMode mode);
+
+    /**
+     * Sets the {@link TriggerExecutionMode} of the trigger with the given unique name.
+     *
+     * <p>
+     * Only {@link ChronoGraphPostCommitTrigger}s can be executed {@linkplain TriggerExecutionMode#ASYNCHRONOUS asynchronously}.
+     * The mode is persisted and survives a restart of the graph.
+     * </p>
+     *
+     * @param triggerName    The unique name of the trigger. Must not be <code>null</code> or empty. The trigger must exist.
+     * @param mode           The new execution mode. Must not be <code>null</code>.
+     * @param commitMetadata The metadata for the commit of changing the execution mode. May be <code>null</code>.
+     * @return <code>true</code> if the execution mode has been changed, or <code>false</code> if the trigger already had the given mode.
+     */
+    public boolean setExecutionMode(String triggerName, TriggerExecutionMode mode, Object commitMetadata);
+
+    /**
+     * Returns the {@link TriggerExecutionMode} of the trigger with the given unique name.
+     *
+     * @param triggerName The unique name of the trigger. Must not be <code>null</code> or empty.
+     * @return The execution mode of the trigger, or <code>null</code> if there is no trigger with the given name.
+     */
+    public TriggerExecutionMode getExecutionMode(String triggerName);
+
+    /**
+     * Returns the current statistics of the queue which executes the {@linkplain TriggerExecutionMode#ASYNCHRONOUS asynchronous} triggers.
+     *
+     * @return A snapshot of the statistics. Never <code>null</code>.
+     */
+    public AsyncTriggerStatistics getAsyncTriggerStatistics();
+
 
 }
@@ -18,6 +18,8 @@ public interface GraphTriggerMetadata {
 
     public boolean isPostCommitTrigger();
 
+    public TriggerExecutionMode getExecutionMode();
+
     public String getUserScriptContent();
 
     public GraphTriggerException getInstantiationException();
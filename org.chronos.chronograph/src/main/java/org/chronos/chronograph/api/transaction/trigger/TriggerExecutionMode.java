@@ -0,0 +1,42 @@
+package org.chronos.chronograph.api.transaction.trigger;
+
+/**
+ * Determines on which thread a {@link ChronoGraphPostCommitTrigger} is executed.
+ *
+ * <p>
+ * The execution mode is declared per trigger via {@link ChronoGraphTriggerManager#setExecutionMode(String, TriggerExecutionMode)}.
+ * It only applies to the {@link TriggerTiming#POST_COMMIT} timing; triggers in all other timings are always executed synchronously,
+ * because they may cancel or modify the commit.
+ * </p>
+ */
+public enum TriggerExecutionMode {
+
+    /**
+     * The trigger is executed on the committing thread, after the commit lock has been released.
+     *
+     * <p>
+     * The commit only returns after the trigger has been executed. This is the default mode of every trigger.
+     * </p>
+     */
+    SYNCHRONOUS,
+
+    /**
+     * The trigger is executed in the background, after the commit has returned.
+     *
+     * <p>
+     * The trigger contexts are handed to a bounded queue of the graph, which is processed by a pool of worker threads. The triggers
+     * for the commits on a branch are executed in the order of the commits, but there is no ordering guarantee between different
+     * branches. If the queue is full, the configured backpressure policy determines whether the committing thread waits or the
+     * execution is skipped. The state of the queue can be monitored via {@link ChronoGraphTriggerManager#getAsyncTriggerStatistics()}.
+     * </p>
+     *
+     * <p>
+     * Asynchronous triggers receive the same context as synchronous ones. In particular, the
+     * {@linkplain PostCommitTriggerContext#getCurrentState() current state} reflects the branch at the commit timestamp, and the
+     * {@linkplain PostCommitTriggerContext#getStoreState() store state} reflects the branch at the time of the execution (which may
+     * include later commits).
+     * </p>
+     */
+    ASYNCHRONOUS
+
+}
@@ -22,13 +22,17 @@ public enum TriggerTiming {
     PRE_COMMIT,
 
     /**
-     * Triggers with this timing will be fired <b>before</b> an actual commit occurs, <b>after</b> the state merge with the store and <b>after</b> the commit lock has been acquired.
+     * Triggers with this timing will be fired <b>before</b> an actual commit occurs, <b>after</b> the state merge with the store and <b>after</b> the commit lock of the branch has been acquired.
      *
      * <p>
      * This trigger timing occurs after {@link #PRE_COMMIT} and before {@link #POST_PERSIST}. This is the latest timing where the {@linkplain TriggerContext#getCurrentState() current transaction state} can be modified. The current transaction state will be the result of the merge / conflict resolution between the transaction and the {@link TriggerContext#getStoreState() current store state}.
      * </p>
      *
      * <p>
+     * If {@linkplain org.chronos.chronograph.internal.api.configuration.ChronoGraphConfiguration#isOptimisticCommitPreparationEnabled() optimistic commit preparation} is enabled, these triggers are fired <b>before</b> the commit lock of the branch has been acquired. If another transaction commits on the same branch while they are running, the merge is repeated against the new store state and the triggers <b>will be fired again</b>. Triggers in this timing should therefore not produce side effects outside of the transaction state.
+     * </p>
+     *
+     * <p>
      * Triggers in this timing <b>can</b> cancel the commit by throwing a {@link CancelCommitException}.
      * </p>
      *
@@ -40,7 +44,7 @@ public enum TriggerTiming {
 
 
     /**
-     * Triggers with this timing will be fired <b>after</b> an actual commit occurs and <b>before</b> the commit lock has been released.
+     * Triggers with this timing will be fired <b>after</b> an actual commit occurs and <b>before</b> the commit lock of the branch has been released.
      *
      * <p>
      * This trigger timing occurs after {@link #PRE_PERSIST} and before {@link #POST_COMMIT}. This is the first timing after the {@linkplain TriggerContext#getCurrentState() current transaction state} has been committed. The current transaction state will be the result of the merge / conflict resolution between the transaction and the {@link TriggerContext#getStoreState() current store state}.
@@ -64,6 +68,10 @@ public enum TriggerTiming {
      * </p>
      *
      * <p>
+     * By default, triggers in this timing are executed on the committing thread. Triggers which have been switched to {@link TriggerExecutionMode#ASYNCHRONOUS} are executed in the background instead, and the commit returns without waiting for them.
+     * </p>
+     *
+     * <p>
      * Triggers in this timing <b>can not</b> cancel the commit by throwing a {@link CancelCommitException}.
      * </p>
      *
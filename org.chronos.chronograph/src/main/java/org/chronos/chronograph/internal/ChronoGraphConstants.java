@@ -8,12 +8,17 @@ public final class ChronoGraphConstants {
 
     public static final String KEYSPACE_VERTEX = "vertex";
     public static final String KEYSPACE_EDGE = "edge";
+    public static final String KEYSPACE_ADJACENCY = "adjacency";
     public static final String KEYSPACE_VARIABLES = "variables";
     public static final String KEYSPACE_MANAGEMENT_INDICES = "indices";
     public static final String KEYSPACE_TRIGGERS = "triggers";
+    public static final String KEYSPACE_TRIGGER_EXECUTION_MODES = "triggerexecutionmodes";
     public static final String KEYSPACE_SCHEMA_VALIDATORS = "schemavalidators";
     public static final String KEYSPACE_MANAGEMENT = "org.chronos.chronograph.management";
     public static final String KEYSPACE_MANAGEMENT_KEY__CHRONOGRAPH_VERSION = "chronograph.version";
+    public static final String KEYSPACE_MANAGEMENT_KEY__ADJACENCY_LAYOUT = "chronograph.adjacencyLayout";
+    public static final String ADJACENCY_LAYOUT_EMBEDDED = "embedded";
+    public static final String ADJACENCY_LAYOUT_SEPARATE = "separate";
 
     public static final String INDEX_PREFIX_VERTEX = "v_";
     public static final String INDEX_PREFIX_EDGE = "e_";
@@ -4,6 +4,8 @@ import org.apache.tinkerpop.gremlin.structure.Element;
 import org.chronos.chronograph.api.structure.ChronoGraph;
 import org.chronos.chronograph.api.transaction.AllEdgesIterationHandler;
 import org.chronos.chronograph.api.transaction.AllVerticesIterationHandler;
+import org.chronos.chronograph.api.transaction.trigger.AsyncTriggerBackpressurePolicy;
+import org.chronos.chronograph.api.transaction.trigger.TriggerExecutionMode;
 import org.chronos.common.configuration.ChronosConfiguration;
 import org.chronos.common.logging.LogLevel;
 
@@ -25,8 +27,15 @@ public interface ChronoGraphConfiguration extends ChronosConfiguration {
     public static final String TRANSACTION_AUTO_OPEN = NS_DOT + "transaction.autoOpen";
     public static final String TRANSACTION_CHECK_GRAPH_INVARIANT = NS_DOT + "transaction.checkGraphInvariant";
     public static final String GRAPH_MODIFICATION_LOG_LEVEL = NS_DOT + "transaction.graphModificationLogLevel";
+    public static final String TRANSACTION_BULK_MERGE_ENABLED = NS_DOT + "transaction.bulkMergeEnabled";
+    public static final String TRANSACTION_OPTIMISTIC_COMMIT_PREPARATION_ENABLED = NS_DOT + "transaction.optimisticCommitPreparationEnabled";
     public static final String ALL_VERTICES_ITERATION_HANDLER_CLASS_NAME = NS_DOT + "transaction.allVerticesQueryHandlerClassName";
     public static final String ALL_EDGES_ITERATION_HANDLER_CLASS_NAME = NS_DOT + "transaction.allEdgesQueryHandlerClassName";
+    public static final String STORAGE_COMPACT_RECORD_CODEC_ENABLED = NS_DOT + "storage.compactRecordCodecEnabled";
+    public static final String STORAGE_SEPARATE_ADJACENCY_ENABLED = NS_DOT + "storage.separateAdjacencyEnabled";
+    public static final String TRIGGER_ASYNC_QUEUE_CAPACITY = NS_DOT + "trigger.asyncQueueCapacity";
+    public static final String TRIGGER_ASYNC_THREAD_COUNT = NS_DOT + "trigger.asyncThreadCount";
+    public static final String TRIGGER_ASYNC_BACKPRESSURE_POLICY = NS_DOT + "trigger.asyncBackpressurePolicy";
 
 
     // =================================================================================================================
@@ -94,6 +103,111 @@ public interface ChronoGraphConfiguration extends ChronosConfiguration {
      */
     public AllEdgesIterationHandler getAllEdgesIterationHandler();
 
+    /**
+     * Checks if the graph-level merge with the store state at commit time should be performed in bulk.
+     *
+     * <p>
+     * When a transaction commits, its changes are merged with the latest state of the branch. When this setting is
+     * enabled, the merge determines which of the modified elements have been changed by concurrent commits in a single
+     * scan over the commits that happened in the meantime. Only those elements (and the modified elements adjacent to
+     * them) are merged element by element; all other modifications are carried over as-is. When this setting is
+     * disabled, every modified element is replayed individually on top of the store state, which is considerably
+     * slower for large transactions.
+     *
+     * @return <code>true</code> if the bulk merge is enabled, otherwise <code>false</code>.
+     */
+    public boolean isBulkMergeEnabled();
+
+    /**
+     * Checks if commits should be prepared without holding the commit lock of the branch.
+     *
+     * <p>
+     * When enabled, the merge with the store, the {@linkplain org.chronos.chronograph.api.transaction.trigger.TriggerTiming#PRE_PERSIST pre-persist} triggers,
+     * the validation and the mapping to key-value pairs are performed before the commit lock of the branch is acquired.
+     * If another commit on the same branch happens in the meantime, the preparation is repeated on top of the new
+     * branch head. Consequently, pre-persist triggers may be fired <b>more than once</b> per commit, and concurrently to
+     * commits on the same branch. When disabled, the preparation happens while the commit lock is held, and pre-persist
+     * triggers are fired exactly once per commit. This setting is disabled by default.
+     *
+     * <p>
+     * Incremental commits are always prepared while holding the commit lock, regardless of this setting.
+     *
+     * @return <code>true</code> if commits are prepared optimistically, otherwise <code>false</code>.
+     */
+    public boolean isOptimisticCommitPreparationEnabled();
+
+    /**
+     * Checks if vertex and edge records should be written in the compact graph record format.
+     *
+     * <p>
+     * When enabled, new vertex and edge records are written with a hand-written binary format, which is considerably
+     * smaller than the generic default format. Existing records remain readable regardless of this setting, and are
+     * rewritten in the compact format whenever they are modified. This setting is disabled by default.
+     *
+     * <p>
+     * Please note that enabling this setting is a one-way change of the storage format: once the graph has been written
+     * with this setting enabled, it can no longer be opened by ChronoGraph versions which do not know the compact
+     * format. Disabling the setting again only affects records which are written afterwards; compact records which are
+     * already stored are neither converted back nor become unreadable.
+     *
+     * @return <code>true</code> if the compact record format should be used for new records, otherwise
+     * <code>false</code>.
+     */
+    public boolean isCompactRecordCodecEnabled();
+
+    /**
+     * Checks if the adjacency of vertices (i.e. their incoming and outgoing edges) should be stored separately from the
+     * vertex records.
+     *
+     * <p>
+     * By default, every vertex record contains the complete list of its adjacent edges. Adding an edge to a vertex
+     * therefore rewrites the full record, which becomes expensive for vertices with a very large number of edges
+     * ("supernodes"). When this setting is enabled, every adjacent edge is stored as an individual entry in a separate
+     * keyspace instead. Adding or removing an edge then only writes a constant amount of data, and reading the
+     * properties of a vertex does not require loading its edges.
+     *
+     * <p>
+     * When the graph is opened with this setting enabled, existing vertex records are migrated to the separate layout
+     * (including their history). Vertex records stored in either layout remain readable regardless of this setting.
+     * Please note that in the separate layout, adding or removing an edge no longer creates a new version of the
+     * adjacent vertex records. The history of a vertex therefore only reflects changes to its label and properties.
+     *
+     * @return <code>true</code> if the adjacency of vertices should be stored separately, otherwise <code>false</code>.
+     */
+    public boolean isSeparateAdjacencyEnabled();
+
+    /**
+     * Returns the maximum number of commits whose {@linkplain TriggerExecutionMode#ASYNCHRONOUS asynchronous} post-commit
+     * triggers may be pending at the same time.
+     *
+     * <p>
+     * When the limit is reached, the {@linkplain #getAsyncTriggerBackpressurePolicy() backpressure policy} determines
+     * what happens to further commits.
+     *
+     * @return The capacity of the asynchronous trigger queue. Always greater than zero.
+     */
+    public int getAsyncTriggerQueueCapacity();
+
+    /**
+     * Returns the number of worker threads which execute {@linkplain TriggerExecutionMode#ASYNCHRONOUS asynchronous}
+     * post-commit triggers.
+     *
+     * <p>
+     * Regardless of this setting, the triggers of the commits on a single branch are always executed one after another,
+     * in commit order. Additional threads only allow the triggers of different branches to run in parallel.
+     *
+     * @return The number of worker threads. Always greater than zero.
+     */
+    public int getAsyncTriggerThreadCount();
+
+    /**
+     * Returns the policy which is applied when a commit dispatches {@linkplain TriggerExecutionMode#ASYNCHRONOUS
+     * asynchronous} post-commit triggers while the queue is full.
+     *
+     * @return The backpressure policy. Never <code>null</code>.
+     */
+    public AsyncTriggerBackpressurePolicy getAsyncTriggerBackpressurePolicy();
+
     /**
      * Checks whether or not graph modification logging is active at all.
      *
@@ -1,5 +1,6 @@
 package org.chronos.chronograph.internal.api.index;
 
+import org.chronos.chronodb.api.indexing.IndexEncoding;
 import org.chronos.chronodb.internal.api.query.searchspec.SearchSpecification;
 import org.chronos.chronograph.api.index.ChronoGraphIndex;
 import org.chronos.chronograph.api.index.ChronoGraphIndexManager;
@@ -34,6 +35,15 @@ public interface ChronoGraphIndexManagerInternal extends ChronoGraphIndexManager
      */
     public void addIndex(ChronoGraphIndex index, Object commitMetadata);
 
+    /**
+     * Adds the given graph index to this manager.
+     *
+     * @param index The index to add. Must not be <code>null</code>.
+     * @param encoding The encoding of the index entries. Must not be <code>null</code>.
+     * @param commitMetadata The metadata for the commit of adding an index. May be <code>null</code>.
+     */
+    public void addIndex(ChronoGraphIndex index, IndexEncoding encoding, Object commitMetadata);
+
 
     // =====================================================================================================================
     // INDEX QUERYING
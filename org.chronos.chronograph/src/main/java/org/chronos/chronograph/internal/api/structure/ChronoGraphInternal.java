@@ -40,13 +40,28 @@ public interface ChronoGraphInternal extends ChronoGraph {
     public void setStoredChronoGraphVersion(ChronosVersion version);
 
     /**
-     * Acquires the commit lock.
+     * Acquires the commit lock of the given branch.
      *
      * <p>
-     * Use this in conjunction with <code>try-with-resources</code> statements for easy locking.
+     * The commit lock only protects commits on the same branch against each other, commits on different branches
+     * may be prepared in parallel. Please note that the commit in the backing ChronoDB still acquires the exclusive
+     * database lock, therefore the persistence of the commits is serialized across all branches. Use this in
+     * conjunction with <code>try-with-resources</code> statements for easy locking.
      *
+     * @param branchName The name of the branch to lock. Must not be <code>null</code>.
      * @return The auto-closable commit lock. Never <code>null</code>.
      */
-    public AutoLock commitLock();
+    public AutoLock commitLock(String branchName);
+
+    /**
+     * Discards the commit lock of the given branch.
+     *
+     * <p>
+     * This method is called when the branch has been deleted. If a branch with the same name is created later on, it
+     * receives a new commit lock.
+     *
+     * @param branchName The name of the deleted branch. Must not be <code>null</code>.
+     */
+    public void discardCommitLock(String branchName);
 
 }
@@ -2,16 +2,21 @@ package org.chronos.chronograph.internal.api.transaction;
 
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.chronos.chronodb.internal.api.query.searchspec.SearchSpecification;
 import org.chronos.chronograph.api.structure.ChronoEdge;
+import org.chronos.chronograph.api.structure.ChronoVertex;
 import org.chronos.chronograph.api.structure.record.IEdgeRecord;
 import org.chronos.chronograph.api.structure.record.IVertexRecord;
 import org.chronos.chronograph.api.transaction.ChronoGraphTransaction;
 import org.chronos.chronograph.internal.impl.structure.graph.ChronoVertexImpl;
 import org.chronos.chronograph.api.structure.record.IEdgeTargetRecord;
+import org.chronos.chronograph.internal.impl.structure.record.EdgeTargetRecordWithLabel;
+import org.chronos.chronograph.internal.impl.transaction.ElementLoadMode;
 
 public interface ChronoGraphTransactionInternal extends ChronoGraphTransaction {
 
@@ -27,6 +32,37 @@ public interface ChronoGraphTransactionInternal extends ChronoGraphTransaction {
 
     public IVertexRecord loadVertexRecord(String recordId);
 
+	/**
+	 * Loads the vertices with the given IDs, fetching the vertex records in bulk.
+	 *
+	 * @param ids
+	 *            The IDs of the vertices to load. Must not be <code>null</code>.
+	 * @param loadMode
+	 *            The load mode to use. In {@link ElementLoadMode#LAZY lazy} mode, the records are fetched together
+	 *            when the first of the returned vertices is accessed. Must not be <code>null</code>.
+	 * @return The loaded vertices, in the order of the given IDs. In eager mode, IDs which do not refer to an existing
+	 *         vertex are skipped. Never <code>null</code>.
+	 */
+	public List<ChronoVertex> loadVertices(Collection<String> ids, ElementLoadMode loadMode);
+
 	public IEdgeRecord loadEdgeRecord(final String recordId);
 
+	/**
+	 * Loads the adjacent edges of the given vertex from the adjacency keyspace.
+	 *
+	 * <p>
+	 * This method only considers the persisted state (i.e. it ignores all changes which have been performed in this
+	 * transaction), and it only returns results for vertices whose adjacency is stored separately from the vertex
+	 * record (see {@link IVertexRecord#isAdjacencyEmbedded()}).
+	 *
+	 * @param vertexId
+	 *            The ID of the vertex to load the adjacent edges for. Must not be <code>null</code>.
+	 * @param direction
+	 *            The direction of the edges to load. Must not be <code>null</code>.
+	 * @param labels
+	 *            The labels of the edges to load. If <code>null</code> or empty, all labels are considered.
+	 * @return The adjacent edges, outgoing edges first. Never <code>null</code>.
+	 */
+	public List<EdgeTargetRecordWithLabel> loadAdjacentEdgeTargetRecords(String vertexId, Direction direction, String... labels);
+
 }
@@ -41,6 +41,8 @@ public interface GraphTransactionContextInternal extends GraphTransactionContext
 
     public void markPropertyAsDeleted(ChronoProperty<?> property);
 
+    public void adoptModificationsFrom(GraphTransactionContextInternal other, Set<String> vertexIds, Set<String> edgeIds);
+
     public void removeVariable(String keyspace, String variableName);
 
     public void setVariableValue(String keyspace, String variableName, Object value);
@@ -94,6 +94,7 @@ public class ChronoGraphBranchManagerImpl implements ChronoGraphBranchManager {
 	public List<String> deleteBranchRecursively(final String branchName) {
 		List<String> deletedBranches = this.getChronoDBBranchManager().deleteBranchRecursively(branchName);
 		deletedBranches.forEach(deletedBranch -> this.backingBranchToGraphBranch.keySet().removeIf(branch -> Objects.equal(branch.getName(), deletedBranch)));
+		deletedBranches.forEach(this.graph::discardCommitLock);
 		return deletedBranches;
 	}
 
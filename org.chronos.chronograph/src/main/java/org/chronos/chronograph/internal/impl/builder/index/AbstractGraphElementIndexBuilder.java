@@ -2,6 +2,7 @@ package org.chronos.chronograph.internal.impl.builder.index;
 
 import static com.google.common.base.Preconditions.*;
 
+import org.chronos.chronodb.api.indexing.IndexEncoding;
 import org.chronos.chronograph.api.builder.index.GraphElementIndexBuilder;
 import org.chronos.chronograph.internal.api.index.ChronoGraphIndexManagerInternal;
 import org.chronos.chronograph.internal.impl.index.IndexType;
@@ -12,6 +13,7 @@ public abstract class AbstractGraphElementIndexBuilder<SELF extends GraphElement
 	protected final ChronoGraphIndexManagerInternal manager;
 	protected final String propertyName;
 	protected final IndexType indexType;
+	protected IndexEncoding encoding = IndexEncoding.STANDARD;
 
 	protected AbstractGraphElementIndexBuilder(final ChronoGraphIndexManagerInternal manager,
 			final String propertyName, final IndexType indexType) {
@@ -23,4 +25,12 @@ public abstract class AbstractGraphElementIndexBuilder<SELF extends GraphElement
 		this.indexType = indexType;
 	}
 
+	@Override
+	@SuppressWarnings("unchecked")
+	public SELF withEncoding(final IndexEncoding encoding) {
+		checkNotNull(encoding, "Precondition violation - argument 'encoding' must not be NULL!");
+		this.encoding = encoding;
+		return (SELF) this;
+	}
+
 }
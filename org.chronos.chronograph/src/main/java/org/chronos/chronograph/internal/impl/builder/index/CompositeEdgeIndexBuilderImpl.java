@@ -0,0 +1,29 @@
+package org.chronos.chronograph.internal.impl.builder.index;
+
+import org.chronos.chronograph.api.builder.index.EdgeIndexBuilder;
+import org.chronos.chronograph.api.index.ChronoGraphIndex;
+import org.chronos.chronograph.internal.api.index.ChronoGraphIndexManagerInternal;
+import org.chronos.chronograph.internal.impl.index.ChronoGraphEdgeCompositeIndex;
+
+public class CompositeEdgeIndexBuilderImpl extends AbstractGraphElementIndexBuilder<EdgeIndexBuilder>
+		implements EdgeIndexBuilder {
+
+	private final ChronoGraphEdgeCompositeIndex index;
+
+	protected CompositeEdgeIndexBuilderImpl(final ChronoGraphIndexManagerInternal manager, final ChronoGraphEdgeCompositeIndex index) {
+		super(manager, index.getIndexedProperty(), index.getIndexType());
+		this.index = index;
+	}
+
+	@Override
+	public ChronoGraphIndex build() {
+		return this.build(null);
+	}
+
+	@Override
+	public ChronoGraphIndex build(Object commitMetadata) {
+		this.manager.addIndex(this.index, this.encoding, commitMetadata);
+		return this.index;
+	}
+
+}
@@ -0,0 +1,72 @@
+package org.chronos.chronograph.internal.impl.builder.index;
+
+import static com.google.common.base.Preconditions.*;
+
+import java.util.List;
+
+import org.chronos.chronograph.api.builder.index.CompositeIndexBuilder;
+import org.chronos.chronograph.api.builder.index.EdgeIndexBuilder;
+import org.chronos.chronograph.api.builder.index.VertexIndexBuilder;
+import org.chronos.chronograph.internal.api.index.ChronoGraphIndexManagerInternal;
+import org.chronos.chronograph.internal.impl.index.ChronoGraphEdgeCompositeIndex;
+import org.chronos.chronograph.internal.impl.index.ChronoGraphVertexCompositeIndex;
+import org.chronos.chronograph.internal.impl.index.IndexType;
+
+import com.google.common.collect.Lists;
+
+public class CompositeIndexBuilderImpl implements CompositeIndexBuilder {
+
+	private final ChronoGraphIndexManagerInternal manager;
+	private final List<String> propertyNames = Lists.newArrayList();
+	private final List<IndexType> componentTypes = Lists.newArrayList();
+
+	public CompositeIndexBuilderImpl(final ChronoGraphIndexManagerInternal manager) {
+		checkNotNull(manager, "Precondition violation - argument 'manager' must not be NULL!");
+		this.manager = manager;
+	}
+
+	@Override
+	public CompositeIndexBuilder withStringComponent(final String propertyName) {
+		return this.withComponent(propertyName, IndexType.STRING);
+	}
+
+	@Override
+	public CompositeIndexBuilder withLongComponent(final String propertyName) {
+		return this.withComponent(propertyName, IndexType.LONG);
+	}
+
+	@Override
+	public CompositeIndexBuilder withDoubleComponent(final String propertyName) {
+		return this.withComponent(propertyName, IndexType.DOUBLE);
+	}
+
+	@Override
+	public VertexIndexBuilder onVertices() {
+		this.assertHasComponents();
+		return new CompositeVertexIndexBuilderImpl(this.manager,
+				new ChronoGraphVertexCompositeIndex(this.propertyNames, this.componentTypes));
+	}
+
+	@Override
+	public EdgeIndexBuilder onEdges() {
+		this.assertHasComponents();
+		return new CompositeEdgeIndexBuilderImpl(this.manager,
+				new ChronoGraphEdgeCompositeIndex(this.propertyNames, this.componentTypes));
+	}
+
+	private CompositeIndexBuilder withComponent(final String propertyName, final IndexType indexType) {
+		checkNotNull(propertyName, "Precondition violation - argument 'propertyName' must not be NULL!");
+		checkArgument(this.propertyNames.contains(propertyName) == false,
+				"Precondition violation - property '" + propertyName + "' is already a component of this index!");
+		this.propertyNames.add(propertyName);
+		this.componentTypes.add(indexType);
+		return this;
+	}
+
+	private void assertHasComponents() {
+		if (this.propertyNames.isEmpty()) {
+			throw new IllegalStateException("A composite index requires at least one component!");
+		}
+	}
+
+}
@@ -0,0 +1,29 @@
+package org.chronos.chronograph.internal.impl.builder.index;
+
+import org.chronos.chronograph.api.builder.index.VertexIndexBuilder;
+import org.chronos.chronograph.api.index.ChronoGraphIndex;
+import org.chronos.chronograph.internal.api.index.ChronoGraphIndexManagerInternal;
+import org.chronos.chronograph.internal.impl.index.ChronoGraphVertexCompositeIndex;
+
+public class CompositeVertexIndexBuilderImpl extends AbstractGraphElementIndexBuilder<VertexIndexBuilder>
+		implements VertexIndexBuilder {
+
+	private final ChronoGraphVertexCompositeIndex index;
+
+	protected CompositeVertexIndexBuilderImpl(final ChronoGraphIndexManagerInternal manager, final ChronoGraphVertexCompositeIndex index) {
+		super(manager, index.getIndexedProperty(), index.getIndexType());
+		this.index = index;
+	}
+
+	@Override
+	public ChronoGraphIndex build() {
+		return this.build(null);
+	}
+
+	@Override
+	public ChronoGraphIndex build(Object commitMetadata) {
+		this.manager.addIndex(this.index, this.encoding, commitMetadata);
+		return this.index;
+	}
+
+}
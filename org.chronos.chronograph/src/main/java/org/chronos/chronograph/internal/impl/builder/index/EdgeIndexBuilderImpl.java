@@ -21,7 +21,7 @@ public class EdgeIndexBuilderImpl extends AbstractGraphElementIndexBuilder<EdgeI
 	@Override
 	public ChronoGraphIndex build(Object commitMetadata) {
 		ChronoGraphEdgeIndex2 index = new ChronoGraphEdgeIndex2(this.propertyName, this.indexType);
-		this.manager.addIndex(index, commitMetadata);
+		this.manager.addIndex(index, this.encoding, commitMetadata);
 		return index;
 	}
 
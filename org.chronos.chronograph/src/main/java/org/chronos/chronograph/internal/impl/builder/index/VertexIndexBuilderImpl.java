@@ -21,7 +21,7 @@ public class VertexIndexBuilderImpl extends AbstractGraphElementIndexBuilder<Ver
 	@Override
 	public ChronoGraphIndex build(Object commitMetadata) {
 		ChronoGraphVertexIndex2 index = new ChronoGraphVertexIndex2(this.propertyName, this.indexType);
-		this.manager.addIndex(index, commitMetadata);
+		this.manager.addIndex(index, this.encoding, commitMetadata);
 		return index;
 	}
 
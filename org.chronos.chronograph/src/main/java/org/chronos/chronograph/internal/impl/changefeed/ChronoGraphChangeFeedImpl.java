@@ -0,0 +1,149 @@
+package org.chronos.chronograph.internal.impl.changefeed;
+
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.chronos.chronodb.api.ChronoDBTransaction;
+import org.chronos.chronodb.api.changefeed.ChangeFeedEvent;
+import org.chronos.chronodb.api.changefeed.ChangeFeedManager;
+import org.chronos.chronodb.api.changefeed.ChangeFeedSubscription;
+import org.chronos.chronodb.api.changefeed.ChangeType;
+import org.chronos.chronodb.api.changefeed.KeyChange;
+import org.chronos.chronograph.api.changefeed.ChronoGraphChangeFeed;
+import org.chronos.chronograph.api.changefeed.GraphChangeFeedEvent;
+import org.chronos.chronograph.api.changefeed.GraphChangeFeedListener;
+import org.chronos.chronograph.api.changefeed.GraphElementChange;
+import org.chronos.chronograph.api.structure.record.IEdgeRecord;
+import org.chronos.chronograph.api.structure.record.IVertexRecord;
+import org.chronos.chronograph.internal.ChronoGraphConstants;
+import org.chronos.chronograph.internal.api.structure.ChronoGraphInternal;
+import org.chronos.chronograph.internal.impl.structure.adjacency.AdjacencyKeys;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.*;
+
+public class ChronoGraphChangeFeedImpl implements ChronoGraphChangeFeed {
+
+    // =================================================================================================================
+    // FIELDS
+    // =================================================================================================================
+
+    private final ChronoGraphInternal graph;
+
+    // =================================================================================================================
+    // CONSTRUCTOR
+    // =================================================================================================================
+
+    public ChronoGraphChangeFeedImpl(final ChronoGraphInternal graph) {
+        checkNotNull(graph, "Precondition violation - argument 'graph' must not be NULL!");
+        this.graph = graph;
+    }
+
+    // =================================================================================================================
+    // PUBLIC API
+    // =================================================================================================================
+
+    @Override
+    public ChangeFeedSubscription subscribe(final String branchName, final GraphChangeFeedListener listener) {
+        checkNotNull(branchName, "Precondition violation - argument 'branchName' must not be NULL!");
+        checkNotNull(listener, "Precondition violation - argument 'listener' must not be NULL!");
+        return this.getChangeFeedManager().subscribe(branchName, event -> this.dispatch(event, listener));
+    }
+
+    @Override
+    public ChangeFeedSubscription subscribe(final String branchName, final long afterTimestamp, final GraphChangeFeedListener listener) {
+        checkNotNull(branchName, "Precondition violation - argument 'branchName' must not be NULL!");
+        checkArgument(afterTimestamp >= 0, "Precondition violation - argument 'afterTimestamp' must not be negative!");
+        checkNotNull(listener, "Precondition violation - argument 'listener' must not be NULL!");
+        return this.getChangeFeedManager().subscribe(branchName, afterTimestamp, event -> this.dispatch(event, listener));
+    }
+
+    @Override
+    public Iterator<GraphChangeFeedEvent> getChangesBetween(final String branchName, final long afterTimestamp, final long upToTimestamp) {
+        checkNotNull(branchName, "Precondition violation - argument 'branchName' must not be NULL!");
+        checkArgument(afterTimestamp >= 0, "Precondition violation - argument 'afterTimestamp' must not be negative!");
+        checkArgument(upToTimestamp >= 0, "Precondition violation - argument 'upToTimestamp' must not be negative!");
+        Iterator<ChangeFeedEvent> events = this.getChangeFeedManager().getChangesBetween(branchName, afterTimestamp, upToTimestamp);
+        Iterator<GraphChangeFeedEventImpl> graphEvents = Iterators.transform(events, this::convert);
+        return Iterators.unmodifiableIterator(Iterators.filter(graphEvents, event -> !event.isEmpty()));
+    }
+
+    // =================================================================================================================
+    // HELPER METHODS
+    // =================================================================================================================
+
+    private ChangeFeedManager getChangeFeedManager() {
+        return this.graph.getBackingDB().getChangeFeedManager();
+    }
+
+    private void dispatch(final ChangeFeedEvent event, final GraphChangeFeedListener listener) {
+        GraphChangeFeedEventImpl graphEvent = this.convert(event);
+        if (graphEvent.isEmpty()) {
+            // the commit did not touch the graph structure (e.g. only graph variables)
+            return;
+        }
+        listener.onCommit(graphEvent);
+    }
+
+    private GraphChangeFeedEventImpl convert(final ChangeFeedEvent event) {
+        String branchName = event.getBranchName();
+        long timestamp = event.getCommitTimestamp();
+        Map<String, GraphElementChange<IVertexRecord>> vertexChanges = Maps.newHashMap();
+        List<GraphElementChange<IEdgeRecord>> edgeChanges = Lists.newArrayList();
+        Set<String> adjacencyChangedVertexIds = null;
+        for (KeyChange change : event.getChanges()) {
+            switch (change.getKeyspace()) {
+                case ChronoGraphConstants.KEYSPACE_VERTEX:
+                    vertexChanges.put(change.getKey(), new GraphElementChangeImpl<>(
+                        change.getKey(), change.getChangeType(),
+                        (IVertexRecord) change.getOldValue(), (IVertexRecord) change.getNewValue()
+                    ));
+                    break;
+                case ChronoGraphConstants.KEYSPACE_EDGE:
+                    edgeChanges.add(new GraphElementChangeImpl<>(
+                        change.getKey(), change.getChangeType(),
+                        (IEdgeRecord) change.getOldValue(), (IEdgeRecord) change.getNewValue()
+                    ));
+                    break;
+                case ChronoGraphConstants.KEYSPACE_ADJACENCY:
+                    if (adjacencyChangedVertexIds == null) {
+                        adjacencyChangedVertexIds = Sets.newHashSet();
+                    }
+                    adjacencyChangedVertexIds.add(AdjacencyKeys.parseVertexId(change.getKey()));
+                    break;
+                default:
+                    // not part of the graph structure
+                    break;
+            }
+        }
+        if (adjacencyChangedVertexIds != null) {
+            // vertices whose adjacent edges are stored in the adjacency keyspace do not receive a
+            // new vertex record when an edge is attached or detached; report them as updated.
+            ChronoDBTransaction oldTx = null;
+            ChronoDBTransaction newTx = null;
+            for (String vertexId : adjacencyChangedVertexIds) {
+                if (vertexChanges.containsKey(vertexId)) {
+                    continue;
+                }
+                if (newTx == null) {
+                    newTx = this.graph.getBackingDB().tx(branchName, timestamp);
+                    oldTx = this.graph.getBackingDB().tx(branchName, Math.max(timestamp - 1, 0));
+                }
+                IVertexRecord newRecord = newTx.get(ChronoGraphConstants.KEYSPACE_VERTEX, vertexId);
+                if (newRecord == null) {
+                    // the vertex has been deleted by this commit, which is reported via the vertex keyspace
+                    continue;
+                }
+                IVertexRecord oldRecord = oldTx.get(ChronoGraphConstants.KEYSPACE_VERTEX, vertexId);
+                vertexChanges.put(vertexId, new GraphElementChangeImpl<>(vertexId, ChangeType.UPDATED, oldRecord, newRecord));
+            }
+        }
+        return new GraphChangeFeedEventImpl(branchName, timestamp, Lists.newArrayList(vertexChanges.values()), edgeChanges);
+    }
+
+}
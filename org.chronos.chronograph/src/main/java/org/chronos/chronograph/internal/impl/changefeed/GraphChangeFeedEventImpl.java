@@ -0,0 +1,61 @@
+package org.chronos.chronograph.internal.impl.changefeed;
+
+import org.chronos.chronograph.api.changefeed.GraphChangeFeedEvent;
+import org.chronos.chronograph.api.changefeed.GraphElementChange;
+import org.chronos.chronograph.api.structure.record.IEdgeRecord;
+import org.chronos.chronograph.api.structure.record.IVertexRecord;
+
+import java.util.Collections;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.*;
+
+public class GraphChangeFeedEventImpl implements GraphChangeFeedEvent {
+
+    private final String branchName;
+    private final long commitTimestamp;
+    private final List<GraphElementChange<IVertexRecord>> vertexChanges;
+    private final List<GraphElementChange<IEdgeRecord>> edgeChanges;
+
+    public GraphChangeFeedEventImpl(final String branchName, final long commitTimestamp, final List<GraphElementChange<IVertexRecord>> vertexChanges, final List<GraphElementChange<IEdgeRecord>> edgeChanges) {
+        checkNotNull(branchName, "Precondition violation - argument 'branchName' must not be NULL!");
+        checkArgument(commitTimestamp >= 0, "Precondition violation - argument 'commitTimestamp' must not be negative!");
+        checkNotNull(vertexChanges, "Precondition violation - argument 'vertexChanges' must not be NULL!");
+        checkNotNull(edgeChanges, "Precondition violation - argument 'edgeChanges' must not be NULL!");
+        this.branchName = branchName;
+        this.commitTimestamp = commitTimestamp;
+        this.vertexChanges = Collections.unmodifiableList(vertexChanges);
+        this.edgeChanges = Collections.unmodifiableList(edgeChanges);
+    }
+
+    @Override
+    public String getBranchName() {
+        return this.branchName;
+    }
+
+    @Override
+    public long getCommitTimestamp() {
+        return this.commitTimestamp;
+    }
+
+    @Override
+    public List<GraphElementChange<IVertexRecord>> getVertexChanges() {
+        return this.vertexChanges;
+    }
+
+    @Override
+    public List<GraphElementChange<IEdgeRecord>> getEdgeChanges() {
+        return this.edgeChanges;
+    }
+
+    public boolean isEmpty() {
+        return this.vertexChanges.isEmpty() && this.edgeChanges.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "GraphChangeFeedEvent[branch=" + this.branchName + ", timestamp=" + this.commitTimestamp
+            + ", vertexChanges=" + this.vertexChanges.size() + ", edgeChanges=" + this.edgeChanges.size() + "]";
+    }
+
+}
@@ -0,0 +1,50 @@
+package org.chronos.chronograph.internal.impl.changefeed;
+
+import org.chronos.chronodb.api.changefeed.ChangeType;
+import org.chronos.chronograph.api.changefeed.GraphElementChange;
+import org.chronos.chronograph.api.structure.record.IElementRecord;
+
+import static com.google.common.base.Preconditions.*;
+
+public class GraphElementChangeImpl<R extends IElementRecord> implements GraphElementChange<R> {
+
+    private final String elementId;
+    private final ChangeType changeType;
+    private final R oldRecord;
+    private final R newRecord;
+
+    public GraphElementChangeImpl(final String elementId, final ChangeType changeType, final R oldRecord, final R newRecord) {
+        checkNotNull(elementId, "Precondition violation - argument 'elementId' must not be NULL!");
+        checkNotNull(changeType, "Precondition violation - argument 'changeType' must not be NULL!");
+        this.elementId = elementId;
+        this.changeType = changeType;
+        this.oldRecord = oldRecord;
+        this.newRecord = newRecord;
+    }
+
+    @Override
+    public String getElementId() {
+        return this.elementId;
+    }
+
+    @Override
+    public ChangeType getChangeType() {
+        return this.changeType;
+    }
+
+    @Override
+    public R getOldRecord() {
+        return this.oldRecord;
+    }
+
+    @Override
+    public R getNewRecord() {
+        return this.newRecord;
+    }
+
+    @Override
+    public String toString() {
+        return "GraphElementChange[" + this.changeType + " " + this.elementId + "]";
+    }
+
+}
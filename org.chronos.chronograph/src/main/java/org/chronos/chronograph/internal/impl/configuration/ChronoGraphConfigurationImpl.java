@@ -2,11 +2,13 @@ package org.chronos.chronograph.internal.impl.configuration;
 
 import org.chronos.chronograph.api.transaction.AllEdgesIterationHandler;
 import org.chronos.chronograph.api.transaction.AllVerticesIterationHandler;
+import org.chronos.chronograph.api.transaction.trigger.AsyncTriggerBackpressurePolicy;
 import org.chronos.chronograph.internal.api.configuration.ChronoGraphConfiguration;
 import org.chronos.common.configuration.AbstractConfiguration;
 import org.chronos.common.configuration.annotation.EnumFactoryMethod;
 import org.chronos.common.configuration.annotation.Namespace;
 import org.chronos.common.configuration.annotation.Parameter;
+import org.chronos.common.exceptions.ChronosConfigurationException;
 import org.chronos.common.logging.LogLevel;
 
 import javax.annotation.PostConstruct;
@@ -33,12 +35,34 @@ public class ChronoGraphConfigurationImpl extends AbstractConfiguration implemen
     @EnumFactoryMethod("fromString")
     private LogLevel graphModificationLogLevel = LogLevel.OFF;
 
+    @Parameter(key = ChronoGraphConfiguration.TRANSACTION_BULK_MERGE_ENABLED)
+    private boolean bulkMergeEnabled = true;
+
+    @Parameter(key = ChronoGraphConfiguration.TRANSACTION_OPTIMISTIC_COMMIT_PREPARATION_ENABLED)
+    private boolean optimisticCommitPreparationEnabled = false;
+
     @Parameter(key = ChronoGraphConfiguration.ALL_VERTICES_ITERATION_HANDLER_CLASS_NAME, optional = true)
     private String allVerticesIterationHandlerClassName = null;
 
     @Parameter(key = ChronoGraphConfiguration.ALL_EDGES_ITERATION_HANDLER_CLASS_NAME, optional = true)
     private String allEdgesIterationHandlerClassName = null;
 
+    @Parameter(key = ChronoGraphConfiguration.STORAGE_COMPACT_RECORD_CODEC_ENABLED)
+    private boolean compactRecordCodecEnabled = false;
+
+    @Parameter(key = ChronoGraphConfiguration.STORAGE_SEPARATE_ADJACENCY_ENABLED)
+    private boolean separateAdjacencyEnabled = false;
+
+    @Parameter(key = ChronoGraphConfiguration.TRIGGER_ASYNC_QUEUE_CAPACITY, optional = true)
+    private int asyncTriggerQueueCapacity = 1000;
+
+    @Parameter(key = ChronoGraphConfiguration.TRIGGER_ASYNC_THREAD_COUNT, optional = true)
+    private int asyncTriggerThreadCount = 1;
+
+    @Parameter(key = ChronoGraphConfiguration.TRIGGER_ASYNC_BACKPRESSURE_POLICY, optional = true)
+    @EnumFactoryMethod("fromString")
+    private AsyncTriggerBackpressurePolicy asyncTriggerBackpressurePolicy = AsyncTriggerBackpressurePolicy.BLOCK;
+
     // =================================================================================================================
     // CACHE
     // =================================================================================================================
@@ -126,4 +150,50 @@ public class ChronoGraphConfigurationImpl extends AbstractConfiguration implemen
     public AllEdgesIterationHandler getAllEdgesIterationHandler() {
         return this.allEdgesIterationHandler;
     }
+
+    @Override
+    public boolean isBulkMergeEnabled() {
+        return this.bulkMergeEnabled;
+    }
+
+    @Override
+    public boolean isOptimisticCommitPreparationEnabled() {
+        return this.optimisticCommitPreparationEnabled;
+    }
+
+    @Override
+    public boolean isCompactRecordCodecEnabled() {
+        return this.compactRecordCodecEnabled;
+    }
+
+    @Override
+    public boolean isSeparateAdjacencyEnabled() {
+        return this.separateAdjacencyEnabled;
+    }
+
+    @Override
+    public int getAsyncTriggerQueueCapacity() {
+        if (this.asyncTriggerQueueCapacity <= 0) {
+            throw new ChronosConfigurationException("Invalid value for setting '" + TRIGGER_ASYNC_QUEUE_CAPACITY
+                + "': the queue capacity must be greater than zero!");
+        }
+        return this.asyncTriggerQueueCapacity;
+    }
+
+    @Override
+    public int getAsyncTriggerThreadCount() {
+        if (this.asyncTriggerThreadCount <= 0) {
+            throw new ChronosConfigurationException("Invalid value for setting '" + TRIGGER_ASYNC_THREAD_COUNT
+                + "': the thread count must be greater than zero!");
+        }
+        return this.asyncTriggerThreadCount;
+    }
+
+    @Override
+    public AsyncTriggerBackpressurePolicy getAsyncTriggerBackpressurePolicy() {
+        if (this.asyncTriggerBackpressurePolicy == null) {
+            return AsyncTriggerBackpressurePolicy.BLOCK;
+        }
+        return this.asyncTriggerBackpressurePolicy;
+    }
 }
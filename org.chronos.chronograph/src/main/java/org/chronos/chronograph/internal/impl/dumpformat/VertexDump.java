@@ -24,6 +24,7 @@ import org.chronos.chronograph.internal.impl.structure.record2.EdgeTargetRecord2
 import org.chronos.chronograph.internal.impl.structure.record2.PropertyRecord2;
 import org.chronos.chronograph.internal.impl.structure.record2.VertexPropertyRecord2;
 import org.chronos.chronograph.internal.impl.structure.record2.VertexRecord2;
+import org.chronos.chronograph.internal.impl.structure.record3.SeparateAdjacencyVertexRecord;
 import org.chronos.chronograph.internal.impl.structure.record3.SimpleVertexPropertyRecord;
 import org.chronos.chronograph.internal.impl.structure.record3.VertexPropertyRecord3;
 import org.chronos.chronograph.internal.impl.structure.record3.VertexRecord3;
@@ -44,6 +45,11 @@ public class VertexDump {
 	private Map<String, Set<EdgeTargetDump>> outgoingEdges;
 	/** The set of vertex properties known on this vertex. */
 	private Set<VertexPropertyDump> properties;
+	/**
+	 * Whether or not the edges of this vertex are stored separately from the vertex record. Absent (i.e.
+	 * <code>null</code>) in dumps which have been written by older versions, which is equivalent to <code>false</code>.
+	 */
+	private Boolean adjacencyStoredSeparately;
 
 	// =====================================================================================================================
 	// CONSTRUCTORS
@@ -81,6 +87,10 @@ public class VertexDump {
 				.map(vpr -> GraphDumpFormat.convertVertexPropertyRecordToDumpFormat(vpr)).collect(Collectors.toSet());
 		this.properties = Sets.newHashSet();
 		this.properties.addAll(props);
+		if (record.isAdjacencyEmbedded() == false) {
+			// the edges are contained in the adjacency keyspace of the dump
+			this.adjacencyStoredSeparately = true;
+		}
 	}
 
 	// =====================================================================================================================
@@ -107,7 +117,11 @@ public class VertexDump {
 		return Collections.unmodifiableSet(this.properties);
 	}
 
-	public VertexRecord3 toRecord() {
+	public boolean isAdjacencyStoredSeparately() {
+		return Boolean.TRUE.equals(this.adjacencyStoredSeparately);
+	}
+
+	public IVertexRecord toRecord() {
 		// convert incoming edges
 		SetMultimap<String, EdgeTargetRecord2> inE = HashMultimap.create();
 		for (Entry<String, Set<EdgeTargetDump>> entry : this.incomingEdges.entrySet()) {
@@ -145,6 +159,9 @@ public class VertexDump {
 				props.add(new VertexPropertyRecord3(property.getKey(), property.getValue(), metaProps));
 			}
 		}
+		if (this.isAdjacencyStoredSeparately()) {
+			return new SeparateAdjacencyVertexRecord(this.recordId, this.label, props);
+		}
 		return new VertexRecord3(this.recordId, this.label, inE, outE, props);
 	}
 }
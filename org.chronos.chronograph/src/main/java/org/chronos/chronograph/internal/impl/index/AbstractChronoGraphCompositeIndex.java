@@ -0,0 +1,101 @@
+package org.chronos.chronograph.internal.impl.index;
+
+import static com.google.common.base.Preconditions.*;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.chronos.chronograph.api.index.ChronoGraphCompositeIndex;
+import org.chronos.chronograph.internal.api.index.ChronoGraphIndexInternal;
+
+import com.google.common.collect.Lists;
+
+public abstract class AbstractChronoGraphCompositeIndex implements ChronoGraphCompositeIndex, ChronoGraphIndexInternal {
+
+	// =====================================================================================================================
+	// FIELDS
+	// =====================================================================================================================
+
+	protected List<String> indexedProperties;
+	protected List<IndexType> componentTypes;
+
+	// =====================================================================================================================
+	// CONSTRUCTOR
+	// =====================================================================================================================
+
+	protected AbstractChronoGraphCompositeIndex() {
+		// default constructor for serialization
+	}
+
+	public AbstractChronoGraphCompositeIndex(final List<String> indexedProperties, final List<IndexType> componentTypes) {
+		checkNotNull(indexedProperties, "Precondition violation - argument 'indexedProperties' must not be NULL!");
+		checkNotNull(componentTypes, "Precondition violation - argument 'componentTypes' must not be NULL!");
+		checkArgument(indexedProperties.isEmpty() == false, "Precondition violation - argument 'indexedProperties' must not be empty!");
+		checkArgument(indexedProperties.size() == componentTypes.size(), "Precondition violation - argument 'componentTypes' must have the same size as argument 'indexedProperties'!");
+		this.indexedProperties = Lists.newArrayList(indexedProperties);
+		this.componentTypes = Lists.newArrayList(componentTypes);
+	}
+
+	// =====================================================================================================================
+	// PUBLIC API
+	// =====================================================================================================================
+
+	@Override
+	public String getIndexedProperty() {
+		return "(" + String.join(",", this.indexedProperties) + ")";
+	}
+
+	@Override
+	public IndexType getIndexType() {
+		return IndexType.STRING;
+	}
+
+	@Override
+	public List<String> getIndexedProperties() {
+		return Collections.unmodifiableList(this.indexedProperties);
+	}
+
+	@Override
+	public List<IndexType> getComponentTypes() {
+		return Collections.unmodifiableList(this.componentTypes);
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + (this.componentTypes == null ? 0 : this.componentTypes.hashCode());
+		result = prime * result + (this.indexedProperties == null ? 0 : this.indexedProperties.hashCode());
+		return result;
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null) {
+			return false;
+		}
+		if (this.getClass() != obj.getClass()) {
+			return false;
+		}
+		AbstractChronoGraphCompositeIndex other = (AbstractChronoGraphCompositeIndex) obj;
+		if (this.componentTypes == null) {
+			if (other.componentTypes != null) {
+				return false;
+			}
+		} else if (!this.componentTypes.equals(other.componentTypes)) {
+			return false;
+		}
+		if (this.indexedProperties == null) {
+			if (other.indexedProperties != null) {
+				return false;
+			}
+		} else if (!this.indexedProperties.equals(other.indexedProperties)) {
+			return false;
+		}
+		return true;
+	}
+
+}
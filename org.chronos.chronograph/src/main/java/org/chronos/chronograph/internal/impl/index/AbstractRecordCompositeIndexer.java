@@ -0,0 +1,92 @@
+package org.chronos.chronograph.internal.impl.index;
+
+import static com.google.common.base.Preconditions.*;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.chronos.chronodb.api.indexing.CompositeIndexer;
+import org.chronos.chronograph.api.structure.record.IPropertyRecord;
+import org.chronos.chronograph.api.structure.record.Record;
+import org.chronos.common.annotation.PersistentClass;
+import org.chronos.common.exceptions.UnknownEnumLiteralException;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+/**
+ * A base class for all composite indexers working on {@link Record}s.
+ *
+ * @author martin.haeusler@uibk.ac.at -- Initial Contribution and API
+ */
+@PersistentClass("kryo")
+public abstract class AbstractRecordCompositeIndexer implements CompositeIndexer {
+
+	protected List<String> propertyNames;
+	protected List<IndexType> componentTypes;
+
+	protected AbstractRecordCompositeIndexer() {
+		// default constructor for serialization
+	}
+
+	protected AbstractRecordCompositeIndexer(final List<String> propertyNames, final List<IndexType> componentTypes) {
+		checkNotNull(propertyNames, "Precondition violation - argument 'propertyNames' must not be NULL!");
+		checkNotNull(componentTypes, "Precondition violation - argument 'componentTypes' must not be NULL!");
+		checkArgument(propertyNames.size() == componentTypes.size(), "Precondition violation - argument 'componentTypes' must have the same size as argument 'propertyNames'!");
+		this.propertyNames = Lists.newArrayList(propertyNames);
+		this.componentTypes = Lists.newArrayList(componentTypes);
+	}
+
+	@Override
+	public List<Set<?>> getComponentValues(final Object object) {
+		Map<String, IPropertyRecord> propertyRecords = Maps.newHashMap();
+		for (IPropertyRecord record : this.getPropertyRecords(object)) {
+			propertyRecords.put(record.getKey(), record);
+		}
+		List<Set<?>> componentValues = Lists.newArrayListWithCapacity(this.propertyNames.size());
+		for (int i = 0; i < this.propertyNames.size(); i++) {
+			IPropertyRecord record = propertyRecords.get(this.propertyNames.get(i));
+			if (record == null) {
+				// the keys are truncated before the first missing component anyways
+				break;
+			}
+			componentValues.add(getIndexValues(record, this.componentTypes.get(i)));
+		}
+		return componentValues;
+	}
+
+	protected abstract Collection<? extends IPropertyRecord> getPropertyRecords(Object object);
+
+	private static Set<?> getIndexValues(final IPropertyRecord record, final IndexType type) {
+		switch (type) {
+		case STRING:
+			return GraphIndexingUtils.getStringIndexValues(record);
+		case LONG:
+			return GraphIndexingUtils.getLongIndexValues(record);
+		case DOUBLE:
+			return GraphIndexingUtils.getDoubleIndexValues(record);
+		default:
+			throw new UnknownEnumLiteralException(type);
+		}
+	}
+
+	@Override
+	public boolean equals(final Object o) {
+		if (this == o)
+			return true;
+		if (o == null || getClass() != o.getClass())
+			return false;
+
+		AbstractRecordCompositeIndexer that = (AbstractRecordCompositeIndexer) o;
+
+		return Objects.equals(propertyNames, that.propertyNames) && Objects.equals(componentTypes, that.componentTypes);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(propertyNames, componentTypes);
+	}
+}
@@ -0,0 +1,45 @@
+package org.chronos.chronograph.internal.impl.index;
+
+import java.util.List;
+
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.chronos.chronodb.api.indexing.Indexer;
+import org.chronos.chronograph.internal.ChronoGraphConstants;
+import org.chronos.chronograph.internal.api.index.IChronoGraphEdgeIndex;
+
+public class ChronoGraphEdgeCompositeIndex extends AbstractChronoGraphCompositeIndex implements IChronoGraphEdgeIndex {
+
+	protected ChronoGraphEdgeCompositeIndex() {
+		// default constructor for serialization
+	}
+
+	public ChronoGraphEdgeCompositeIndex(final List<String> indexedProperties, final List<IndexType> componentTypes) {
+		super(indexedProperties, componentTypes);
+	}
+
+	// =================================================================================================================
+	// PUBLIC API
+	// =================================================================================================================
+
+	@Override
+	public String getBackendIndexKey() {
+		return ChronoGraphConstants.INDEX_PREFIX_EDGE + this.getIndexedProperty();
+	}
+
+	@Override
+	public Class<? extends Element> getIndexedElementClass() {
+		return Edge.class;
+	}
+
+	@Override
+	public String toString() {
+		return "CompositeIndex[Edge, " + this.getIndexedProperty() + ", " + this.componentTypes + "]";
+	}
+
+	@Override
+	public Indexer<?> createIndexer() {
+		return new EdgeRecordCompositeIndexer(this.indexedProperties, this.componentTypes);
+	}
+
+}
@@ -11,6 +11,7 @@ import org.chronos.chronodb.api.builder.query.FinalizableQueryBuilder;
 import org.chronos.chronodb.api.builder.query.QueryBuilder;
 import org.chronos.chronodb.api.builder.query.WhereBuilder;
 import org.chronos.chronodb.api.exceptions.UnknownKeyspaceException;
+import org.chronos.chronodb.api.indexing.IndexEncoding;
 import org.chronos.chronodb.api.indexing.Indexer;
 import org.chronos.chronodb.api.key.QualifiedKey;
 import org.chronos.chronodb.api.query.*;
@@ -30,6 +31,7 @@ import org.chronos.common.exceptions.UnknownEnumLiteralException;
 
 import java.util.*;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
@@ -106,6 +108,15 @@ public class ChronoGraphIndexManagerImpl implements ChronoGraphIndexManager, Chr
         });
     }
 
+    @Override
+    public IndexEncoding getIndexEncoding(final ChronoGraphIndex index) {
+        checkNotNull(index, "Precondition violation - argument 'index' must not be NULL!");
+        return this.performNonExclusive(() -> {
+            ChronoGraphIndexInternal indexInternal = (ChronoGraphIndexInternal) index;
+            return this.getChronoDBIndexManager().getIndexEncoding(indexInternal.getBackendIndexKey());
+        });
+    }
+
     // =====================================================================================================================
     // INDEX MANIPULATION
     // =====================================================================================================================
@@ -115,6 +126,12 @@ public class ChronoGraphIndexManagerImpl implements ChronoGraphIndexManager, Chr
         this.performExclusive(() -> this.getChronoDBIndexManager().reindexAll(force));
     }
 
+    @Override
+    public CompletableFuture<Void> reindexAllOnline() {
+        // note: no exclusive graph lock here; the online build must not block concurrent graph transactions
+        return this.getChronoDBIndexManager().reindexAllOnline();
+    }
+
     @Override
     public void reindex(final ChronoGraphIndex index) {
         checkNotNull(index, "Precondition violation - argument 'index' must not be NULL!");
@@ -181,7 +198,13 @@ public class ChronoGraphIndexManagerImpl implements ChronoGraphIndexManager, Chr
 
     @Override
     public void addIndex(final ChronoGraphIndex index, final Object commitMetadata) {
+        this.addIndex(index, IndexEncoding.STANDARD, commitMetadata);
+    }
+
+    @Override
+    public void addIndex(final ChronoGraphIndex index, final IndexEncoding encoding, final Object commitMetadata) {
         checkNotNull(index, "Precondition violation - argument 'index' must not be NULL!");
+        checkNotNull(encoding, "Precondition violation - argument 'encoding' must not be NULL!");
         this.performExclusive(() -> {
             if (this.getAllIndices().contains(index)) {
                 throw new IllegalArgumentException("The given index already exists: " + index.toString());
@@ -189,7 +212,7 @@ public class ChronoGraphIndexManagerImpl implements ChronoGraphIndexManager, Chr
             ChronoGraphIndexInternal indexInternal = (ChronoGraphIndexInternal) index;
             Indexer<?> indexer = indexInternal.createIndexer();
             IndexManager indexManager = this.getChronoDBIndexManager();
-            indexManager.addIndexer(indexInternal.getBackendIndexKey(), indexer);
+            indexManager.addIndexer(indexInternal.getBackendIndexKey(), indexer, encoding);
             // FIXME CONSISTENCY: What happens if an exception occurs at this line (or JVM shutdown, or...)?
             ChronoDB db = this.chronoDB;
             ChronoDBTransaction tx = db.tx(this.branchName);
@@ -407,6 +430,8 @@ public class ChronoGraphIndexManagerImpl implements ChronoGraphIndexManager, Chr
             return this.applyCondition(whereBuilder, (ContainmentLongSearchSpecification) searchSpec);
         } else if (searchSpec instanceof ContainmentDoubleSearchSpecification) {
             return this.applyCondition(whereBuilder, (ContainmentDoubleSearchSpecification) searchSpec);
+        } else if (searchSpec instanceof CompositeSearchSpecification) {
+            return this.applyCondition(whereBuilder, (CompositeSearchSpecification) searchSpec);
         } else {
             throw new IllegalStateException(
                 "Unknown SearchSpecification class: '" + searchSpec.getClass().getName() + "'!");
@@ -626,6 +651,19 @@ public class ChronoGraphIndexManagerImpl implements ChronoGraphIndexManager, Chr
         }
     }
 
+    private FinalizableQueryBuilder applyCondition(final WhereBuilder whereBuilder,
+                                                   final CompositeSearchSpecification searchSpec) {
+        CompositeCondition condition = searchSpec.getCondition();
+        CompositeKeyRange range = searchSpec.getSearchValue();
+        if (condition.equals(CompositeCondition.MATCHES)) {
+            return whereBuilder.matchesComposite(range);
+        } else if (condition.equals(CompositeCondition.NOT_MATCHES)) {
+            return whereBuilder.notMatchesComposite(range);
+        } else {
+            throw new IllegalStateException("Unknown CompositeCondition: '" + condition.getClass().getName() + "'!");
+        }
+    }
+
     private FinalizableQueryBuilder applyCondition(final WhereBuilder whereBuilder,
                                                    final ContainmentLongSearchSpecification searchSpec) {
         LongContainmentCondition condition = searchSpec.getCondition();
@@ -0,0 +1,45 @@
+package org.chronos.chronograph.internal.impl.index;
+
+import java.util.List;
+
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.chronos.chronodb.api.indexing.Indexer;
+import org.chronos.chronograph.internal.ChronoGraphConstants;
+import org.chronos.chronograph.internal.api.index.IChronoGraphVertexIndex;
+
+public class ChronoGraphVertexCompositeIndex extends AbstractChronoGraphCompositeIndex implements IChronoGraphVertexIndex {
+
+	protected ChronoGraphVertexCompositeIndex() {
+		// default constructor for serialization
+	}
+
+	public ChronoGraphVertexCompositeIndex(final List<String> indexedProperties, final List<IndexType> componentTypes) {
+		super(indexedProperties, componentTypes);
+	}
+
+	// =================================================================================================================
+	// PUBLIC API
+	// =================================================================================================================
+
+	@Override
+	public String getBackendIndexKey() {
+		return ChronoGraphConstants.INDEX_PREFIX_VERTEX + this.getIndexedProperty();
+	}
+
+	@Override
+	public Class<? extends Element> getIndexedElementClass() {
+		return Vertex.class;
+	}
+
+	@Override
+	public String toString() {
+		return "CompositeIndex[Vertex, " + this.getIndexedProperty() + ", " + this.componentTypes + "]";
+	}
+
+	@Override
+	public Indexer<?> createIndexer() {
+		return new VertexRecordCompositeIndexer(this.indexedProperties, this.componentTypes);
+	}
+
+}
@@ -0,0 +1,31 @@
+package org.chronos.chronograph.internal.impl.index;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.chronos.chronograph.api.structure.record.IPropertyRecord;
+import org.chronos.chronograph.api.structure.record.IVertexRecord;
+import org.chronos.common.annotation.PersistentClass;
+
+@PersistentClass("kryo")
+public class VertexRecordCompositeIndexer extends AbstractRecordCompositeIndexer {
+
+	protected VertexRecordCompositeIndexer() {
+		// default constructor for serialization
+	}
+
+	public VertexRecordCompositeIndexer(final List<String> propertyNames, final List<IndexType> componentTypes) {
+		super(propertyNames, componentTypes);
+	}
+
+	@Override
+	public boolean canIndex(final Object object) {
+		return object instanceof IVertexRecord;
+	}
+
+	@Override
+	protected Collection<? extends IPropertyRecord> getPropertyRecords(final Object object) {
+		return ((IVertexRecord) object).getProperties();
+	}
+
+}
@@ -0,0 +1,179 @@
+package org.chronos.chronograph.internal.impl.migration;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.chronos.chronodb.api.Dateback;
+import org.chronos.chronodb.api.Order;
+import org.chronos.chronodb.api.key.ChronoIdentifier;
+import org.chronos.chronodb.api.key.QualifiedKey;
+import org.chronos.chronodb.internal.impl.dump.meta.ChronoDBDumpMetadata;
+import org.chronos.chronograph.api.branch.GraphBranch;
+import org.chronos.chronograph.api.structure.record.IVertexRecord;
+import org.chronos.chronograph.internal.ChronoGraphConstants;
+import org.chronos.chronograph.internal.api.migration.ChronoGraphMigration;
+import org.chronos.chronograph.internal.api.structure.ChronoGraphInternal;
+import org.chronos.chronograph.internal.impl.structure.adjacency.AdjacencyKeys;
+import org.chronos.chronograph.internal.impl.structure.record.EdgeTargetRecordWithLabel;
+import org.chronos.chronograph.internal.impl.structure.record2.EdgeTargetRecord2;
+import org.chronos.chronograph.internal.impl.structure.record3.SeparateAdjacencyVertexRecord;
+import org.chronos.common.logging.ChronoLogger;
+import org.chronos.common.version.ChronosVersion;
+
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.stream.Collectors;
+
+/**
+ * Moves the adjacent edges of all vertices out of the vertex records and into the
+ * {@linkplain ChronoGraphConstants#KEYSPACE_ADJACENCY adjacency keyspace}.
+ *
+ * <p>
+ * In contrast to the other migrations, this migration is not part of the {@link ChronoGraphMigrationChain}, because it
+ * does not depend on the stored ChronoGraph version, but on the configured storage layout. It is executed when a graph
+ * is opened with {@link org.chronos.chronograph.internal.api.configuration.ChronoGraphConfiguration#isSeparateAdjacencyEnabled()}
+ * for the first time. Therefore, {@link #getFromVersion()} and {@link #getToVersion()} both return the current version.
+ *
+ * <p>
+ * The migration rewrites the entire history. Every vertex record is replaced by a {@link SeparateAdjacencyVertexRecord},
+ * and the differences between the edges of the record and the edges of its predecessor are injected into the same
+ * commit as adjacency entries. This way, the adjacency keyspace reflects the edges of each vertex at every point in
+ * time. Dump files are not affected; the layout of the imported data is determined by the graph configuration.
+ */
+public class ChronoGraphAdjacencyLayoutMigration implements ChronoGraphMigration {
+
+    @Override
+    public ChronosVersion getFromVersion() {
+        return ChronosVersion.getCurrentVersion();
+    }
+
+    @Override
+    public ChronosVersion getToVersion() {
+        return ChronosVersion.getCurrentVersion();
+    }
+
+    @Override
+    public void execute(final ChronoDBDumpMetadata dumpMetadata) {
+        // nothing to do here
+    }
+
+    @Override
+    public Object execute(final ChronoIdentifier chronoIdentifier, final Object value) {
+        return ENTRY_UNCHANGED;
+    }
+
+    @Override
+    public void execute(final ChronoGraphInternal graph) {
+        String logPrefix = "ChronoGraph Adjacency Migration";
+        ChronoLogger.logInfo(logPrefix + ": Moving adjacent edges into a separate keyspace. This may take a while.");
+        // get the branches, children first (the lookups of the predecessor records must not see migrated data)
+        List<GraphBranch> branches = graph.getBranchManager().getBranches().stream()
+            .sorted(Comparator.comparing(GraphBranch::getBranchingTimestamp).reversed())
+            .collect(Collectors.toList());
+
+        int branchIndex = 0;
+        for (GraphBranch branch : branches) {
+            String branchName = branch.getName();
+            ChronoLogger.logInfo(logPrefix + ": Starting migration of Branch '" + branchName + "' (" + branchIndex + " of " + branches.size() + ").");
+            long branchingTimestamp = branch.getBranchingTimestamp();
+            long branchNow = branch.getNow();
+            List<Long> commitTimestamps = Lists.newArrayList(graph.getCommitTimestampsBetween(branchName, branchingTimestamp, branchNow, Order.DESCENDING, true));
+            graph.getBackingDB().getDatebackManager().dateback(branchName, dateback -> {
+                int commitIndex = 0;
+                for (long commitTimestamp : commitTimestamps) {
+                    ChronoLogger.logInfo(logPrefix + " on Branch '" + branchName + "': migrating commit " + commitIndex + " of " + commitTimestamps.size() + " (" + new Date(commitTimestamp) + ")");
+                    dateback.transformCommit(commitTimestamp, contents -> this.transformCommit(dateback, commitTimestamp, contents));
+                    commitIndex++;
+                }
+                ChronoLogger.logInfo(logPrefix + ": Successfully migrated all " + commitTimestamps.size() + " commits on Branch '" + branchName + "', performing branch cleanup...");
+            });
+            branchIndex++;
+        }
+        ChronoLogger.logInfo(logPrefix + " completed successfully on all " + branches.size() + " Branches");
+    }
+
+    private Map<QualifiedKey, Object> transformCommit(final Dateback dateback, final long commitTimestamp, final Map<QualifiedKey, Object> commitContents) {
+        Map<QualifiedKey, Object> resultMap = Maps.newHashMap();
+        // the adjacency entries are collected separately, because they must not
+        // overwrite entries which have been written in the new layout
+        Map<QualifiedKey, Object> adjacencyEntries = Maps.newHashMap();
+        for (Entry<QualifiedKey, Object> entry : commitContents.entrySet()) {
+            QualifiedKey qKey = entry.getKey();
+            Object value = entry.getValue();
+            if (!ChronoGraphConstants.KEYSPACE_VERTEX.equals(qKey.getKeyspace())) {
+                // not in the vertex keyspace -> don't touch this.
+                resultMap.put(qKey, Dateback.UNCHANGED);
+                continue;
+            }
+            if (value != null && value instanceof IVertexRecord == false) {
+                // not a vertex record -> don't touch it
+                resultMap.put(qKey, Dateback.UNCHANGED);
+                continue;
+            }
+            IVertexRecord record = (IVertexRecord) value;
+            if (record != null && !record.isAdjacencyEmbedded()) {
+                // this vertex has already been written in the new layout, including its adjacency entries
+                resultMap.put(qKey, Dateback.UNCHANGED);
+                continue;
+            }
+            // calculate which edges have been added and removed in this commit
+            Map<String, EdgeTargetRecord2> currentEntries = this.createAdjacencyEntries(record);
+            Object previousValue = dateback.get(commitTimestamp - 1, ChronoGraphConstants.KEYSPACE_VERTEX, qKey.getKey());
+            Map<String, EdgeTargetRecord2> previousEntries = Maps.newHashMap();
+            if (previousValue instanceof IVertexRecord && ((IVertexRecord) previousValue).isAdjacencyEmbedded()) {
+                // note: if the previous record has been written in the new layout, the
+                // transaction has removed its adjacency entries in this commit already
+                previousEntries = this.createAdjacencyEntries((IVertexRecord) previousValue);
+            }
+            for (Entry<String, EdgeTargetRecord2> adjacencyEntry : currentEntries.entrySet()) {
+                if (!previousEntries.containsKey(adjacencyEntry.getKey())) {
+                    adjacencyEntries.put(QualifiedKey.create(ChronoGraphConstants.KEYSPACE_ADJACENCY, adjacencyEntry.getKey()), adjacencyEntry.getValue());
+                }
+            }
+            for (String removedKey : Sets.difference(previousEntries.keySet(), currentEntries.keySet())) {
+                // a null value represents a deletion
+                adjacencyEntries.put(QualifiedKey.create(ChronoGraphConstants.KEYSPACE_ADJACENCY, removedKey), null);
+            }
+            if (record == null) {
+                // don't touch deletion markers
+                resultMap.put(qKey, Dateback.UNCHANGED);
+            } else {
+                resultMap.put(qKey, new SeparateAdjacencyVertexRecord(record.getId(), record.getLabel(), record.getProperties()));
+            }
+        }
+        for (Entry<QualifiedKey, Object> adjacencyEntry : adjacencyEntries.entrySet()) {
+            if (commitContents.get(adjacencyEntry.getKey()) != null) {
+                // the entry has been written in the new layout already, keep it
+                continue;
+            }
+            resultMap.put(adjacencyEntry.getKey(), adjacencyEntry.getValue());
+        }
+        return resultMap;
+    }
+
+    private Map<String, EdgeTargetRecord2> createAdjacencyEntries(final IVertexRecord record) {
+        Map<String, EdgeTargetRecord2> entries = Maps.newHashMap();
+        if (record == null) {
+            return entries;
+        }
+        String vertexId = record.getId();
+        for (EdgeTargetRecordWithLabel edge : record.getOutgoingEdges()) {
+            String edgeId = edge.getRecord().getEdgeId();
+            String otherEndVertexId = edge.getRecord().getOtherEndVertexId();
+            String key = AdjacencyKeys.createKey(vertexId, Direction.OUT, edge.getLabel(), edgeId, otherEndVertexId);
+            entries.put(key, new EdgeTargetRecord2(edgeId, otherEndVertexId));
+        }
+        for (EdgeTargetRecordWithLabel edge : record.getIncomingEdges()) {
+            String edgeId = edge.getRecord().getEdgeId();
+            String otherEndVertexId = edge.getRecord().getOtherEndVertexId();
+            String key = AdjacencyKeys.createKey(vertexId, Direction.IN, edge.getLabel(), edgeId, otherEndVertexId);
+            entries.put(key, new EdgeTargetRecord2(edgeId, otherEndVertexId));
+        }
+        return entries;
+    }
+
+}
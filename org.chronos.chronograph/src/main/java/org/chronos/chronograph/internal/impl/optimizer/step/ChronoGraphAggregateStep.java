@@ -0,0 +1,227 @@
+package org.chronos.chronograph.internal.impl.optimizer.step;
+
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.chronos.chronodb.api.Order;
+import org.chronos.chronodb.api.builder.query.FinalizableQueryBuilder;
+import org.chronos.chronodb.api.key.QualifiedKey;
+import org.chronos.chronograph.api.index.ChronoGraphCompositeIndex;
+import org.chronos.chronograph.api.structure.ChronoGraph;
+import org.chronos.chronograph.api.transaction.ChronoGraphTransaction;
+import org.chronos.chronograph.internal.impl.util.ChronoGraphTraversalUtil;
+import org.chronos.common.exceptions.UnknownEnumLiteralException;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.*;
+
+/**
+ * Computes an aggregate over the results of a {@link ChronoGraphStep}, using the secondary indices if possible.
+ *
+ * <p>
+ * This step replaces traversals like <code>g.V().has("type", "Event").count()</code> or <code>g.V().has("type",
+ * "Event").values("time").max()</code>, where all conditions are answered by the index. If the index query result is
+ * final (see {@link ChronoGraphStep#getFinalIndexQuery()}), the aggregate is computed without loading the matching
+ * elements:
+ * <ul>
+ * <li>The count is taken from the index query directly.
+ * <li>For the minimum and maximum, the index of the property is scanned in order. Only the element which holds the
+ * smallest (largest) value is loaded, because the index contains normalized values (e.g. {@link Long}s for all integral
+ * numbers), while the aggregate has to be computed on the actual property values.
+ * </ul>
+ * Otherwise, the aggregate is computed on the results of the {@link ChronoGraphStep}, exactly like the original steps
+ * would have done it.
+ *
+ * @param <S> The type of the incoming traversers.
+ * @param <E> The type of the aggregate.
+ */
+public class ChronoGraphAggregateStep<S, E> extends AbstractStep<S, E> {
+
+    /** The aggregates which can be computed by this step. */
+    public enum Aggregation {
+
+        /** Corresponds to <code>count()</code>. */
+        COUNT,
+        /** Corresponds to <code>values(propertyKey).min()</code>. */
+        MIN,
+        /** Corresponds to <code>values(propertyKey).max()</code>. */
+        MAX
+
+    }
+
+    // =====================================================================================================================
+    // FIELDS
+    // =====================================================================================================================
+
+    private ChronoGraphStep<S, ? extends Element> graphStep;
+    private final Aggregation aggregation;
+    private final String propertyKey;
+
+    private Iterator<E> results;
+
+    // =====================================================================================================================
+    // CONSTRUCTOR
+    // =====================================================================================================================
+
+    /**
+     * Creates a new aggregate step.
+     *
+     * @param traversal   The traversal which will contain the new step. Must not be <code>null</code>.
+     * @param graphStep   The step which produces the elements to aggregate. Must not be <code>null</code>. Must not be
+     *                    part of the traversal anymore.
+     * @param aggregation The aggregate to compute. Must not be <code>null</code>.
+     * @param propertyKey The property to aggregate. Must not be <code>null</code>, unless the aggregation is
+     *                    {@link Aggregation#COUNT}.
+     */
+    public ChronoGraphAggregateStep(final Traversal.Admin<?, ?> traversal, final ChronoGraphStep<S, ? extends Element> graphStep, final Aggregation aggregation, final String propertyKey) {
+        super(traversal);
+        checkNotNull(graphStep, "Precondition violation - argument 'graphStep' must not be NULL!");
+        checkNotNull(aggregation, "Precondition violation - argument 'aggregation' must not be NULL!");
+        checkArgument(aggregation == Aggregation.COUNT || propertyKey != null, "Precondition violation - argument 'propertyKey' must not be NULL!");
+        this.graphStep = graphStep;
+        this.aggregation = aggregation;
+        this.propertyKey = propertyKey;
+        this.graphStep.setTraversal(traversal);
+    }
+
+    // =====================================================================================================================
+    // PUBLIC API
+    // =====================================================================================================================
+
+    public ChronoGraphStep<S, ? extends Element> getGraphStep() {
+        return this.graphStep;
+    }
+
+    public Aggregation getAggregation() {
+        return this.aggregation;
+    }
+
+    public String getPropertyKey() {
+        return this.propertyKey;
+    }
+
+    @Override
+    public void setTraversal(final Traversal.Admin<?, ?> traversal) {
+        super.setTraversal(traversal);
+        this.graphStep.setTraversal(traversal);
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.graphStep.reset();
+        this.results = null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public ChronoGraphAggregateStep<S, E> clone() {
+        ChronoGraphAggregateStep<S, E> clone = (ChronoGraphAggregateStep<S, E>) super.clone();
+        clone.graphStep = (ChronoGraphStep<S, ? extends Element>) this.graphStep.clone();
+        clone.results = null;
+        return clone;
+    }
+
+    @Override
+    public String toString() {
+        if (this.propertyKey == null) {
+            return StringFactory.stepString(this, this.aggregation, this.graphStep);
+        }
+        return StringFactory.stepString(this, this.aggregation, this.propertyKey, this.graphStep);
+    }
+
+    // =====================================================================================================================
+    // ITERATION & STEP RESULT CALCULATION
+    // =====================================================================================================================
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected Traverser.Admin<E> processNextStart() {
+        if (this.results == null) {
+            this.results = this.calculateResults();
+        }
+        if (!this.results.hasNext()) {
+            throw FastNoSuchElementException.instance();
+        }
+        return this.getTraversal().getTraverserGenerator().generate(this.results.next(), (Step) this, 1L);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Iterator<E> calculateResults() {
+        FinalizableQueryBuilder indexQuery = this.graphStep.getFinalIndexQuery();
+        if (indexQuery == null) {
+            // the index query result has to be post-processed in-memory
+            return this.aggregate(this.graphStep.getResults());
+        }
+        switch (this.aggregation) {
+            case COUNT:
+                return (Iterator<E>) Iterators.singletonIterator(indexQuery.count());
+            case MIN:
+                return this.aggregateExtremeElement(indexQuery, Order.ASCENDING);
+            case MAX:
+                return this.aggregateExtremeElement(indexQuery, Order.DESCENDING);
+            default:
+                throw new UnknownEnumLiteralException(this.aggregation);
+        }
+    }
+
+    private Iterator<E> aggregateExtremeElement(final FinalizableQueryBuilder indexQuery, final Order order) {
+        ChronoGraph graph = ChronoGraphTraversalUtil.getChronoGraph(this.getTraversal());
+        boolean isIndexed = graph.getIndexManager().getCleanIndices().stream()
+            .filter(index -> index instanceof ChronoGraphCompositeIndex == false)
+            .filter(index -> index.getIndexedElementClass().isAssignableFrom(this.graphStep.getReturnClass()))
+            .anyMatch(index -> index.getIndexedProperty().equals(this.propertyKey));
+        if (!isIndexed) {
+            // the index of the property has become dirty since the traversal was optimized
+            return this.aggregate(this.graphStep.getResults());
+        }
+        String indexName = this.graphStep.createIndexPropertyKey(this.propertyKey);
+        Iterator<QualifiedKey> keys = indexQuery.orderBy(indexName, order).limit(1).getKeys();
+        if (!keys.hasNext()) {
+            // none of the matching elements has a value for the property
+            return Collections.emptyIterator();
+        }
+        String id = keys.next().getKey();
+        ChronoGraphTransaction tx = ChronoGraphTraversalUtil.getTransaction(this.getTraversal());
+        Element element;
+        if (Vertex.class.isAssignableFrom(this.graphStep.getReturnClass())) {
+            element = tx.getVertexOrNull(id);
+        } else {
+            element = tx.getEdgeOrNull(id);
+        }
+        if (element == null) {
+            return Collections.emptyIterator();
+        }
+        // the element holds the smallest (largest) value, compute the aggregate on its actual values
+        return this.aggregate(Iterators.singletonIterator(element));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Iterator<E> aggregate(final Iterator<? extends Element> elements) {
+        List<Element> elementList = Lists.newArrayList(elements);
+        GraphTraversal<Element, Element> traversal = __.inject(elementList.toArray(new Element[0]));
+        switch (this.aggregation) {
+            case COUNT:
+                return (Iterator<E>) traversal.count();
+            case MIN:
+                return (Iterator<E>) traversal.values(this.propertyKey).min();
+            case MAX:
+                return (Iterator<E>) traversal.values(this.propertyKey).max();
+            default:
+                throw new UnknownEnumLiteralException(this.aggregation);
+        }
+    }
+
+}
@@ -16,6 +16,7 @@ import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.chronos.chronodb.api.ChronoDBTransaction;
+import org.chronos.chronodb.api.Order;
 import org.chronos.chronodb.api.builder.query.FinalizableQueryBuilder;
 import org.chronos.chronodb.api.builder.query.QueryBuilder;
 import org.chronos.chronodb.api.key.QualifiedKey;
@@ -37,9 +38,12 @@ import org.chronos.chronograph.internal.impl.util.ChronoGraphTraversalUtil;
 
 import java.util.*;
 import java.util.function.BiPredicate;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import static com.google.common.base.Preconditions.*;
+
 public class ChronoGraphStep<S, E extends Element> extends GraphStep<S, E> {
 
     private static final Set<BiPredicate> NEGATED_PREDICATES = Collections.unmodifiableSet(Sets.newHashSet(
@@ -64,19 +68,42 @@ public class ChronoGraphStep<S, E extends Element> extends GraphStep<S, E> {
 
     private final List<FilterStep<E>> indexableSubsteps = Lists.newArrayList();
 
+    private final CompositeIndexQuery compositeIndexQuery;
+
+    private int resultLimitHint = Integer.MAX_VALUE;
+
+    private String resultOrderProperty;
+
+    private Order resultOrder;
+
     // =====================================================================================================================
     // CONSTRUCTOR
     // =====================================================================================================================
 
     public ChronoGraphStep(final GraphStep<S, E> originalStep, final List<FilterStep<E>> indexableSteps) {
+        this(originalStep, null, indexableSteps);
+    }
+
+    /**
+     * Creates a new step which answers the given composite index query, and the given other steps via regular indices.
+     *
+     * @param originalStep        The graph step to replace. Must not be <code>null</code>.
+     * @param compositeIndexQuery The composite index query to evaluate. May be <code>null</code> if no composite index is used.
+     * @param indexableSteps      The steps to answer via regular indices. Must not be <code>null</code>.
+     */
+    public ChronoGraphStep(final GraphStep<S, E> originalStep, final CompositeIndexQuery compositeIndexQuery, final List<FilterStep<E>> indexableSteps) {
         super(originalStep.getTraversal(), originalStep.getReturnClass(), originalStep.isStartStep(),
             originalStep.getIds());
+        this.compositeIndexQuery = compositeIndexQuery;
         // copy the labels of the original step
         originalStep.getLabels().forEach(this::addLabel);
         // add the sub-steps...
         this.indexableSubsteps.addAll(indexableSteps);
         // ... and copy their labels
         indexableSteps.forEach(subStep -> subStep.getLabels().forEach(this::addLabel));
+        if (compositeIndexQuery != null) {
+            compositeIndexQuery.getCoveredSteps().forEach(subStep -> subStep.getLabels().forEach(this::addLabel));
+        }
         // set the result iterator supplier function (i.e. the function that calculates the result of this step)
         this.setIteratorSupplier(this::getResultIterator);
     }
@@ -88,13 +115,122 @@ public class ChronoGraphStep<S, E extends Element> extends GraphStep<S, E> {
     @Override
     public String toString() {
         // according to TinkerGraph reference implementation
-        if (this.indexableSubsteps.isEmpty()) {
+        List<FilterStep<E>> allSubsteps = this.getAllSubsteps();
+        if (allSubsteps.isEmpty() && this.compositeIndexQuery == null) {
             return super.toString();
+        }
+        List<Object> arguments = Lists.newArrayList();
+        arguments.add(this.returnClass.getSimpleName().toLowerCase());
+        if (0 != this.ids.length) {
+            arguments.add(Arrays.toString(this.ids));
+        }
+        if (this.compositeIndexQuery != null) {
+            arguments.add(this.compositeIndexQuery);
+        }
+        arguments.add(allSubsteps);
+        return StringFactory.stepString(this, arguments.toArray());
+    }
+
+    /**
+     * Informs this step that the traversal will consume at most the given number of its results.
+     *
+     * <p>
+     * This allows the index query to stop as soon as enough matches have been found. The hint is only applied if the
+     * index query result is final, i.e. if it does not need to be post-processed in-memory.
+     *
+     * @param resultLimitHint The maximum number of results the traversal will consume. Must be greater than zero.
+     */
+    public void setResultLimitHint(final int resultLimitHint) {
+        checkArgument(resultLimitHint > 0, "Precondition violation - argument 'resultLimitHint' must be greater than zero!");
+        this.resultLimitHint = resultLimitHint;
+    }
+
+    public int getResultLimitHint() {
+        return this.resultLimitHint;
+    }
+
+    /**
+     * Informs this step that the traversal orders its results by the given property before applying the
+     * {@linkplain #setResultLimitHint(int) result limit}.
+     *
+     * <p>
+     * This allows the index query to scan the index of the given property in order, and to stop as soon as it has found
+     * the first matches in this order. Just like the limit hint, this is only applied if the index query result is final.
+     *
+     * @param propertyKey The property which determines the order. Must not be <code>null</code>. Must be indexed.
+     * @param order       The order of the results. Must not be <code>null</code>.
+     */
+    public void setResultOrderHint(final String propertyKey, final Order order) {
+        checkNotNull(propertyKey, "Precondition violation - argument 'propertyKey' must not be NULL!");
+        checkNotNull(order, "Precondition violation - argument 'order' must not be NULL!");
+        this.resultOrderProperty = propertyKey;
+        this.resultOrder = order;
+    }
+
+    public String getResultOrderProperty() {
+        return this.resultOrderProperty;
+    }
+
+    public Order getResultOrder() {
+        return this.resultOrder;
+    }
+
+    /**
+     * Returns the composite index query which is evaluated by this step.
+     *
+     * @return The composite index query, or <code>null</code> if this step does not use a composite index.
+     */
+    public CompositeIndexQuery getCompositeIndexQuery() {
+        return this.compositeIndexQuery;
+    }
+
+    /**
+     * Evaluates this step, producing the graph elements which match its conditions.
+     *
+     * @return An iterator over the matching elements. Never <code>null</code>.
+     */
+    public Iterator<E> getResults() {
+        return this.getResultIterator();
+    }
+
+    /**
+     * Creates the index query of this step, provided that its result is final.
+     *
+     * <p>
+     * The result of the index query is final if it does not need to be post-processed in-memory, i.e. if the current
+     * transaction has no modifications and none of the conditions is negated. A final index query can be used to
+     * compute aggregates of the matching elements directly on the index.
+     *
+     * @return The index query, or <code>null</code> if its result is not final.
+     */
+    public FinalizableQueryBuilder getFinalIndexQuery() {
+        ChronoGraph graph = ChronoGraphTraversalUtil.getChronoGraph(this.getTraversal());
+        Set<ChronoGraphIndex> cleanIndices = graph.getIndexManager().getCleanIndices();
+        // ensure that we have an open transaction...
+        graph.tx().readWrite();
+        // ... and retrieve it
+        ChronoGraphTransaction tx = ChronoGraphTraversalUtil.getTransaction(this.getTraversal());
+        GraphTransactionContextInternal context = (GraphTransactionContextInternal) tx.getContext();
+        if (context.isDirty() || this.isAnyPredicateNegated(this.getAllSubsteps())) {
+            return null;
+        }
+        String keyspace = Vertex.class.isAssignableFrom(this.returnClass) ? ChronoGraphConstants.KEYSPACE_VERTEX : ChronoGraphConstants.KEYSPACE_EDGE;
+        QueryBuilder queryBuilder = tx.getBackingDBTransaction().find().inKeyspace(keyspace);
+        return this.toChronoDBQuery(cleanIndices, queryBuilder, this::createIndexPropertyKey);
+    }
+
+    /**
+     * Creates the name of the ChronoDB index for the given property of the elements produced by this step.
+     *
+     * @param propertyKey The property key. Must not be <code>null</code>.
+     * @return The name of the index.
+     */
+    public String createIndexPropertyKey(final String propertyKey) {
+        checkNotNull(propertyKey, "Precondition violation - argument 'propertyKey' must not be NULL!");
+        if (Vertex.class.isAssignableFrom(this.returnClass)) {
+            return ChronoGraphTraversalUtil.createIndexKeyForVertexProperty(propertyKey);
         } else {
-            return 0 == this.ids.length
-                ? StringFactory.stepString(this, this.returnClass.getSimpleName().toLowerCase(), this.indexableSubsteps)
-                : StringFactory.stepString(this, this.returnClass.getSimpleName().toLowerCase(),
-                Arrays.toString(this.ids), this.indexableSubsteps);
+            return ChronoGraphTraversalUtil.createIndexKeyForEdgeProperty(propertyKey);
         }
     }
 
@@ -124,8 +260,9 @@ public class ChronoGraphStep<S, E extends Element> extends GraphStep<S, E> {
         ChronoDBTransaction dbTx = tx.getBackingDBTransaction();
         QueryBuilder queryBuilder = dbTx.find().inKeyspace(ChronoGraphConstants.KEYSPACE_VERTEX);
         // ... and translate our filter steps into a ChronoDB query
-        FinalizableQueryBuilder finalizableQueryBuilder = ChronoGraphTraversalUtil.toChronoDBQuery(cleanIndices, this.indexableSubsteps, queryBuilder, ChronoGraphTraversalUtil::createIndexKeyForVertexProperty);
-        Iterator<QualifiedKey> keys = finalizableQueryBuilder.getKeys();
+        FinalizableQueryBuilder finalizableQueryBuilder = this.toChronoDBQuery(cleanIndices, queryBuilder, ChronoGraphTraversalUtil::createIndexKeyForVertexProperty);
+        GraphTransactionContextInternal context = (GraphTransactionContextInternal) tx.getContext();
+        Iterator<QualifiedKey> keys = this.evaluateIndexQuery(finalizableQueryBuilder, context, ChronoGraphTraversalUtil::createIndexKeyForVertexProperty);
         Set<Vertex> verticesFromIndexQuery = Streams.stream(keys)
             .map(QualifiedKey::getKey)
             .map(id -> tx.getVertexOrNull(id, ElementLoadMode.LAZY))
@@ -139,21 +276,21 @@ public class ChronoGraphStep<S, E extends Element> extends GraphStep<S, E> {
         // - In Gremlin, a graph element is returned if it HAS a value AND that value matches the negated predicate.
         // We therefore need to apply a post-processing here, checking that the vertices indeed have the requested property keys.
 
-        if(this.isAnyPredicateNegated(this.indexableSubsteps)){
-            Predicate<Vertex> predicate = (Predicate<Vertex>) ChronoGraphTraversalUtil.filterStepsToPredicate(this.indexableSubsteps);
+        List<FilterStep<E>> allSubsteps = this.getAllSubsteps();
+        if(this.isAnyPredicateNegated(allSubsteps)){
+            Predicate<Vertex> predicate = (Predicate<Vertex>) ChronoGraphTraversalUtil.filterStepsToPredicate(allSubsteps);
             verticesFromIndexQuery = verticesFromIndexQuery.stream().filter(predicate).collect(Collectors.toSet());
         }
 
         // consider the transaction context
-        GraphTransactionContextInternal context = (GraphTransactionContextInternal) tx.getContext();
         if (!context.isDirty()) {
             // return the index query result directly
             return verticesFromIndexQuery.iterator();
         }
 
         // the context is dirty; we have to run the predicate over all modified vertices as well
-        Predicate<Vertex> predicate = (Predicate<Vertex>) ChronoGraphTraversalUtil.filterStepsToPredicate(this.indexableSubsteps);
-        Set<String> queryProperties = ChronoGraphTraversalUtil.getHasPropertyKeys(this.indexableSubsteps);
+        Predicate<Vertex> predicate = (Predicate<Vertex>) ChronoGraphTraversalUtil.filterStepsToPredicate(allSubsteps);
+        Set<String> queryProperties = this.getQueryProperties(allSubsteps);
 
         Set<Vertex> combinedVertices = Sets.newHashSet(verticesFromIndexQuery);
         combinedVertices.addAll(context.getVerticesWithModificationsOnProperties(queryProperties));
@@ -178,8 +315,9 @@ public class ChronoGraphStep<S, E extends Element> extends GraphStep<S, E> {
         ChronoDBTransaction dbTx = tx.getBackingDBTransaction();
         QueryBuilder queryBuilder = dbTx.find().inKeyspace(ChronoGraphConstants.KEYSPACE_EDGE);
         // ... and translate our filter steps into a ChronoDB query
-        FinalizableQueryBuilder finalizableQueryBuilder = ChronoGraphTraversalUtil.toChronoDBQuery(cleanIndices, this.indexableSubsteps, queryBuilder,ChronoGraphTraversalUtil::createIndexKeyForEdgeProperty);
-        Set<Edge> edgesFromIndexQuery = Streams.stream(finalizableQueryBuilder.getKeys())
+        FinalizableQueryBuilder finalizableQueryBuilder = this.toChronoDBQuery(cleanIndices, queryBuilder, ChronoGraphTraversalUtil::createIndexKeyForEdgeProperty);
+        GraphTransactionContextInternal context = (GraphTransactionContextInternal) tx.getContext();
+        Set<Edge> edgesFromIndexQuery = Streams.stream(this.evaluateIndexQuery(finalizableQueryBuilder, context, ChronoGraphTraversalUtil::createIndexKeyForEdgeProperty))
             .map(QualifiedKey::getKey)
             .map(id -> tx.getEdgeOrNull(id, ElementLoadMode.LAZY))
             .filter(Objects::nonNull)
@@ -192,21 +330,21 @@ public class ChronoGraphStep<S, E extends Element> extends GraphStep<S, E> {
         // - In Gremlin, a graph element is returned if it HAS a value AND that value matches the negated predicate.
         // We therefore need to apply a post-processing here, checking that the vertices indeed have the requested property keys.
 
-        if(this.isAnyPredicateNegated(this.indexableSubsteps)){
-            Predicate<Edge> predicate = (Predicate<Edge>) ChronoGraphTraversalUtil.filterStepsToPredicate(this.indexableSubsteps);
+        List<FilterStep<E>> allSubsteps = this.getAllSubsteps();
+        if(this.isAnyPredicateNegated(allSubsteps)){
+            Predicate<Edge> predicate = (Predicate<Edge>) ChronoGraphTraversalUtil.filterStepsToPredicate(allSubsteps);
             edgesFromIndexQuery = edgesFromIndexQuery.stream().filter(predicate).collect(Collectors.toSet());
         }
 
         // consider the transaction context
-        GraphTransactionContextInternal context = (GraphTransactionContextInternal) tx.getContext();
         if (!context.isDirty()) {
             // return the index query result directly
             return edgesFromIndexQuery.iterator();
         }
 
         // the context is dirty; we have to run the predicate over all modified vertices as well
-        Predicate<Edge> predicate = (Predicate<Edge>) ChronoGraphTraversalUtil.filterStepsToPredicate(this.indexableSubsteps);
-        Set<String> queryProperties = ChronoGraphTraversalUtil.getHasPropertyKeys(this.indexableSubsteps);
+        Predicate<Edge> predicate = (Predicate<Edge>) ChronoGraphTraversalUtil.filterStepsToPredicate(allSubsteps);
+        Set<String> queryProperties = this.getQueryProperties(allSubsteps);
 
         Set<Edge> combinedEdges = Sets.newHashSet(edgesFromIndexQuery);
         combinedEdges.addAll(context.getEdgesWithModificationsOnProperties(queryProperties));
@@ -218,6 +356,54 @@ public class ChronoGraphStep<S, E extends Element> extends GraphStep<S, E> {
             .iterator();
     }
 
+    private Iterator<QualifiedKey> evaluateIndexQuery(final FinalizableQueryBuilder queryBuilder, final GraphTransactionContextInternal context, final Function<String, String> createIndexPropertyKey) {
+        if (this.resultLimitHint == Integer.MAX_VALUE || context.isDirty() || this.isAnyPredicateNegated(this.getAllSubsteps())) {
+            // the index query result is post-processed in-memory, we need all of it
+            return queryBuilder.getKeys();
+        }
+        // the index query result is final, fetch only as many keys as the traversal will consume
+        if (this.resultOrderProperty != null) {
+            // the traversal only consumes the first results in the order of the property
+            String orderByIndex = createIndexPropertyKey.apply(this.resultOrderProperty);
+            return queryBuilder.orderBy(orderByIndex, this.resultOrder).limit(this.resultLimitHint).getKeys();
+        }
+        return queryBuilder.limit(this.resultLimitHint).getKeys();
+    }
+
+    private FinalizableQueryBuilder toChronoDBQuery(final Set<ChronoGraphIndex> cleanIndices, final QueryBuilder queryBuilder, final Function<String, String> createIndexPropertyKey) {
+        if (this.compositeIndexQuery == null) {
+            return ChronoGraphTraversalUtil.toChronoDBQuery(cleanIndices, this.indexableSubsteps, queryBuilder, createIndexPropertyKey);
+        }
+        FinalizableQueryBuilder compositeQueryBuilder = queryBuilder
+            .where(this.compositeIndexQuery.getBackendIndexKey())
+            .matchesComposite(this.compositeIndexQuery.getRange());
+        if (this.indexableSubsteps.isEmpty()) {
+            return compositeQueryBuilder;
+        }
+        // the remaining steps are answered by regular indices
+        return ChronoGraphTraversalUtil.toChronoDBQuery(cleanIndices, this.indexableSubsteps, compositeQueryBuilder.and(), createIndexPropertyKey);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private List<FilterStep<E>> getAllSubsteps() {
+        if (this.compositeIndexQuery == null) {
+            return this.indexableSubsteps;
+        }
+        List<FilterStep<E>> allSubsteps = Lists.newArrayList((List<FilterStep<E>>) (List) this.compositeIndexQuery.getCoveredSteps());
+        allSubsteps.addAll(this.indexableSubsteps);
+        return allSubsteps;
+    }
+
+    private Set<String> getQueryProperties(final List<FilterStep<E>> allSubsteps) {
+        Set<String> queryProperties = ChronoGraphTraversalUtil.getHasPropertyKeys(allSubsteps);
+        if (this.compositeIndexQuery != null) {
+            // steps which are only partially answered by the composite index are not among our substeps
+            queryProperties = Sets.newHashSet(queryProperties);
+            queryProperties.addAll(this.compositeIndexQuery.getConstrainedProperties());
+        }
+        return queryProperties;
+    }
+
     private boolean isAnyPredicateNegated(final List<FilterStep<E>> indexableSubsteps) {
         for(FilterStep<E> filterStep : indexableSubsteps){
             if(this.isNegated(filterStep)){
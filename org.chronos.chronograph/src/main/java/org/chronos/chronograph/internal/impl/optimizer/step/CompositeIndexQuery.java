@@ -0,0 +1,257 @@
+package org.chronos.chronograph.internal.impl.optimizer.step;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.chronos.chronodb.api.query.CompositeKeyRange;
+import org.chronos.chronograph.api.index.ChronoGraphCompositeIndex;
+import org.chronos.chronograph.api.index.ChronoGraphIndex;
+import org.chronos.chronograph.internal.api.index.ChronoGraphIndexInternal;
+import org.chronos.chronograph.internal.impl.index.GraphIndexingUtils;
+import org.chronos.chronograph.internal.impl.index.IndexType;
+import org.chronos.chronograph.internal.impl.query.ChronoCompare;
+import org.chronos.chronograph.internal.impl.util.ChronoGraphTraversalUtil;
+import org.chronos.common.exceptions.UnknownEnumLiteralException;
+import org.chronos.common.util.ReflectionUtils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.stream.Collectors;
+
+import static com.google.common.base.Preconditions.*;
+
+/**
+ * A query on a {@link ChronoGraphCompositeIndex}, derived from the <code>has(...)</code> steps of a traversal.
+ *
+ * <p>
+ * The query consists of equality conditions on a prefix of the indexed properties, optionally followed by a bound on the
+ * next (numeric) property. Only one bound is used, because for multi-valued properties, <code>has("x", gt(1)).has("x",
+ * lt(5))</code> may be satisfied by two different values, whereas a range on the index requires a single value to satisfy
+ * both bounds. The steps which are fully answered by the query are {@linkplain #getCoveredSteps() covered}; all other
+ * steps (including the ones which are only partially answered by the query) have to be evaluated separately.
+ *
+ * @author martin.haeusler@uibk.ac.at -- Initial Contribution and API
+ */
+public class CompositeIndexQuery {
+
+    // =====================================================================================================================
+    // FACTORY METHODS
+    // =====================================================================================================================
+
+    /**
+     * Finds the best composite index query for the given steps.
+     *
+     * <p>
+     * A composite index is only chosen if it constrains at least two properties, or if it constrains a step which can't
+     * be answered by the other indices at all.
+     *
+     * @param elementClass  The class of graph elements which is queried. Must not be <code>null</code>.
+     * @param steps         The indexable steps of the traversal, in order. Must not be <code>null</code>.
+     * @param cleanIndices  The clean indices which may be used. Must not be <code>null</code>.
+     * @return The best composite index query, or <code>null</code> if no composite index is applicable.
+     */
+    public static CompositeIndexQuery find(final Class<?> elementClass, final List<Step<?, ?>> steps, final Set<ChronoGraphIndex> cleanIndices) {
+        checkNotNull(elementClass, "Precondition violation - argument 'elementClass' must not be NULL!");
+        checkNotNull(steps, "Precondition violation - argument 'steps' must not be NULL!");
+        checkNotNull(cleanIndices, "Precondition violation - argument 'cleanIndices' must not be NULL!");
+        List<HasStep<?>> hasSteps = steps.stream()
+            .filter(HasStep.class::isInstance)
+            .map(step -> (HasStep<?>) step)
+            .collect(Collectors.toList());
+        if (hasSteps.isEmpty()) {
+            return null;
+        }
+        CompositeIndexQuery bestQuery = null;
+        for (ChronoGraphIndex index : cleanIndices) {
+            if (index instanceof ChronoGraphCompositeIndex == false || !index.getIndexedElementClass().isAssignableFrom(elementClass)) {
+                continue;
+            }
+            CompositeIndexQuery query = createQuery((ChronoGraphCompositeIndex) index, hasSteps);
+            if (query == null) {
+                continue;
+            }
+            boolean constrainsUnindexedStep = query.constrainingSteps.stream()
+                .anyMatch(step -> !ChronoGraphTraversalUtil.isCoveredByIndices(step, cleanIndices));
+            if (query.getConstrainedComponentCount() < 2 && !constrainsUnindexedStep) {
+                // a regular index does the same job
+                continue;
+            }
+            if (bestQuery == null || query.getConstrainedComponentCount() > bestQuery.getConstrainedComponentCount()) {
+                bestQuery = query;
+            }
+        }
+        return bestQuery;
+    }
+
+    private static CompositeIndexQuery createQuery(final ChronoGraphCompositeIndex index, final List<HasStep<?>> hasSteps) {
+        List<HasContainer> containers = hasSteps.stream()
+            .flatMap(step -> step.getHasContainers().stream())
+            .collect(Collectors.toList());
+        List<String> properties = index.getIndexedProperties();
+        List<IndexType> types = index.getComponentTypes();
+        Set<HasContainer> usedContainers = Sets.newHashSet();
+        // match the equality conditions on the leading components
+        List<Object> prefix = Lists.newArrayList();
+        while (prefix.size() < properties.size()) {
+            String property = properties.get(prefix.size());
+            IndexType type = types.get(prefix.size());
+            HasContainer equality = findContainer(containers, property, type, Compare.eq, ChronoCompare.EQ);
+            if (equality == null) {
+                break;
+            }
+            prefix.add(toComponentValue(equality.getValue(), type));
+            usedContainers.add(equality);
+        }
+        CompositeKeyRange range = CompositeKeyRange.withPrefix(prefix);
+        int constrainedComponents = prefix.size();
+        // match a bound on the next component, if it is numeric
+        if (prefix.size() < properties.size() && types.get(prefix.size()) != IndexType.STRING) {
+            String property = properties.get(prefix.size());
+            IndexType type = types.get(prefix.size());
+            HasContainer bound = findContainer(containers, property, type, Compare.gt, ChronoCompare.GT, Compare.gte, ChronoCompare.GTE, Compare.lt, ChronoCompare.LT, Compare.lte, ChronoCompare.LTE);
+            if (bound != null) {
+                Number value = (Number) toComponentValue(bound.getValue(), type);
+                BiPredicate<?, ?> predicate = bound.getBiPredicate();
+                if (predicate.equals(Compare.gt) || predicate.equals(ChronoCompare.GT)) {
+                    range = range.greaterThan(value);
+                } else if (predicate.equals(Compare.gte) || predicate.equals(ChronoCompare.GTE)) {
+                    range = range.greaterThanOrEqualTo(value);
+                } else if (predicate.equals(Compare.lt) || predicate.equals(ChronoCompare.LT)) {
+                    range = range.lessThan(value);
+                } else {
+                    range = range.lessThanOrEqualTo(value);
+                }
+                usedContainers.add(bound);
+                constrainedComponents++;
+            }
+        }
+        if (constrainedComponents == 0) {
+            return null;
+        }
+        // consecutive "has" conditions are merged into a single step by gremlin; such a step is
+        // covered only if the index answers all of its conditions
+        List<Step<?, ?>> coveredSteps = hasSteps.stream()
+            .filter(step -> usedContainers.containsAll(step.getHasContainers()))
+            .map(step -> (Step<?, ?>) step)
+            .collect(Collectors.toList());
+        List<Step<?, ?>> constrainingSteps = hasSteps.stream()
+            .filter(step -> step.getHasContainers().stream().anyMatch(usedContainers::contains))
+            .map(step -> (Step<?, ?>) step)
+            .collect(Collectors.toList());
+        List<String> constrainedProperties = properties.subList(0, constrainedComponents);
+        return new CompositeIndexQuery(index, range, constrainedProperties, coveredSteps, constrainingSteps);
+    }
+
+    private static HasContainer findContainer(final List<HasContainer> containers, final String property, final IndexType type, final BiPredicate<?, ?>... predicates) {
+        for (BiPredicate<?, ?> predicate : predicates) {
+            for (HasContainer container : containers) {
+                if (container.getKey().equals(property) && predicate.equals(container.getBiPredicate()) && isCompatible(container.getValue(), type)) {
+                    return container;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean isCompatible(final Object value, final IndexType type) {
+        switch (type) {
+            case STRING:
+                return value instanceof String;
+            case LONG:
+                return ReflectionUtils.isLongCompatible(value);
+            case DOUBLE:
+                return ReflectionUtils.isDoubleCompatible(value);
+            default:
+                throw new UnknownEnumLiteralException(type);
+        }
+    }
+
+    private static Object toComponentValue(final Object value, final IndexType type) {
+        switch (type) {
+            case STRING:
+                return value;
+            case LONG:
+                return GraphIndexingUtils.asLongIndexValue(value);
+            case DOUBLE:
+                return GraphIndexingUtils.asDoubleIndexValue(value);
+            default:
+                throw new UnknownEnumLiteralException(type);
+        }
+    }
+
+    // =====================================================================================================================
+    // FIELDS
+    // =====================================================================================================================
+
+    private final ChronoGraphCompositeIndex index;
+    private final CompositeKeyRange range;
+    private final List<String> constrainedProperties;
+    private final List<Step<?, ?>> coveredSteps;
+    private final List<Step<?, ?>> constrainingSteps;
+
+    // =====================================================================================================================
+    // CONSTRUCTOR
+    // =====================================================================================================================
+
+    private CompositeIndexQuery(final ChronoGraphCompositeIndex index, final CompositeKeyRange range, final List<String> constrainedProperties, final List<Step<?, ?>> coveredSteps, final List<Step<?, ?>> constrainingSteps) {
+        this.index = index;
+        this.range = range;
+        this.constrainedProperties = Collections.unmodifiableList(Lists.newArrayList(constrainedProperties));
+        this.coveredSteps = Collections.unmodifiableList(coveredSteps);
+        this.constrainingSteps = Collections.unmodifiableList(constrainingSteps);
+    }
+
+    // =====================================================================================================================
+    // PUBLIC API
+    // =====================================================================================================================
+
+    public ChronoGraphCompositeIndex getIndex() {
+        return this.index;
+    }
+
+    public String getBackendIndexKey() {
+        return ((ChronoGraphIndexInternal) this.index).getBackendIndexKey();
+    }
+
+    public CompositeKeyRange getRange() {
+        return this.range;
+    }
+
+    /**
+     * Returns the number of index components which are constrained by this query.
+     *
+     * @return The number of constrained components, including the bounded one (if any).
+     */
+    public int getConstrainedComponentCount() {
+        return this.constrainedProperties.size();
+    }
+
+    /**
+     * Returns the properties which are constrained by this query.
+     *
+     * @return The constrained properties, in index order. Never <code>null</code>, never empty.
+     */
+    public List<String> getConstrainedProperties() {
+        return this.constrainedProperties;
+    }
+
+    /**
+     * Returns the steps which are fully answered by this query.
+     *
+     * @return The covered steps, in traversal order. Never <code>null</code>, may be empty.
+     */
+    public List<Step<?, ?>> getCoveredSteps() {
+        return this.coveredSteps;
+    }
+
+    @Override
+    public String toString() {
+        return this.index.getIndexedProperty() + " matches " + this.range;
+    }
+
+}
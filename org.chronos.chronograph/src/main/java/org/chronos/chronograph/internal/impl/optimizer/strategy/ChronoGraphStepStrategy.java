@@ -5,14 +5,32 @@ import com.google.common.collect.Sets;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.lambda.ElementValueTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.CountGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MaxGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MinGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.PropertiesStep;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.PropertyType;
+import org.chronos.chronodb.api.Order;
+import org.chronos.chronograph.api.index.ChronoGraphCompositeIndex;
 import org.chronos.chronograph.api.index.ChronoGraphIndex;
 import org.chronos.chronograph.api.structure.ChronoGraph;
+import org.chronos.chronograph.internal.impl.index.IndexType;
+import org.chronos.chronograph.internal.impl.optimizer.step.ChronoGraphAggregateStep;
+import org.chronos.chronograph.internal.impl.optimizer.step.ChronoGraphAggregateStep.Aggregation;
 import org.chronos.chronograph.internal.impl.optimizer.step.ChronoGraphStep;
+import org.chronos.chronograph.internal.impl.optimizer.step.CompositeIndexQuery;
 import org.chronos.chronograph.internal.impl.util.ChronoGraphTraversalUtil;
 
+import org.javatuples.Pair;
+
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -106,11 +124,16 @@ public class ChronoGraphStepStrategy extends AbstractTraversalStrategy<Traversal
                 return;
             }
 
-            // from the list of indexable steps, determine which ones are actually indexed, and remove those from the traversal
+            // if the "has" steps constrain a prefix of a composite index, the composite index answers them in a single scan
+            CompositeIndexQuery compositeIndexQuery = CompositeIndexQuery.find(originalGraphStep.getReturnClass(), indexableSteps, cleanIndices);
+            List<Step<?, ?>> compositeSteps = compositeIndexQuery != null ? compositeIndexQuery.getCoveredSteps() : Collections.emptyList();
+
+            // from the remaining indexable steps, determine which ones are actually indexed, and remove those from the traversal
             List<Step<?, ?>> indexedSteps = indexableSteps.stream()
+                .filter(step -> !compositeSteps.contains(step))
                 .filter(step -> ChronoGraphTraversalUtil.isCoveredByIndices(step, cleanIndices))
                 .collect(Collectors.toList());
-            if (indexedSteps.isEmpty()) {
+            if (compositeIndexQuery == null && indexedSteps.isEmpty()) {
                 // we have steps which would theoretically indexable, but we lack
                 // the necessary (clean) indices, so there's nothing we can do about this.
                 // This happens for example if we have "g.traversal().V().has("type", "A")", but
@@ -119,11 +142,139 @@ public class ChronoGraphStepStrategy extends AbstractTraversalStrategy<Traversal
             }
 
             // remove the steps which are covered by the index from the traversal and collect them in our root step
+            compositeSteps.forEach(traversal::removeStep);
             indexedSteps.forEach(traversal::removeStep);
-            final ChronoGraphStep<?, ?> chronoGraphStep = new ChronoGraphStep(originalGraphStep, indexedSteps);
+            final ChronoGraphStep<?, ?> chronoGraphStep = new ChronoGraphStep(originalGraphStep, compositeIndexQuery, indexedSteps);
 			TraversalHelper.replaceStep(originalGraphStep, chronoGraphStep, traversal);
+
+            if (compositeSteps.size() + indexedSteps.size() < indexableSteps.size()) {
+                // some of the steps are evaluated in-memory, we can't make any assumptions about the result size
+                return;
+            }
+            // if the traversal only computes an aggregate of the results (e.g. "g.V().has("name", "John").count()"),
+            // the aggregate can be computed on the index without loading the elements
+            if (replaceWithAggregateStep(traversal, chronoGraphStep, currentStep, cleanIndices)) {
+                return;
+            }
+            // if the traversal only takes the first few results (e.g. "g.V().has("name", "John").limit(10)"),
+            // the index query can stop as soon as it has enough matches.
+            // Note that the range step itself remains in the traversal.
+            int limit = getResultLimit(currentStep);
+            if (limit > 0) {
+                chronoGraphStep.setResultLimitHint(limit);
+                return;
+            }
+            // if the traversal takes the first few results in the order of an indexed property (e.g.
+            // "g.V().has("type", "Event").order().by("time", desc).limit(50)"), the index query scans the
+            // index of the property in order, until it has enough matches. The order step remains in the
+            // traversal, but it only needs to sort the few results of the index query.
+            limit = getResultLimit(currentStep.getNextStep());
+            if (limit > 0 && currentStep instanceof OrderGlobalStep) {
+                OrderGlobalStep<?, ?> orderStep = (OrderGlobalStep<?, ?>) currentStep;
+                if (applyResultOrderHint(chronoGraphStep, orderStep, originalGraphStep.getReturnClass(), cleanIndices)) {
+                    chronoGraphStep.setResultLimitHint(limit);
+                }
+            }
         });
     }
 
+    // =====================================================================================================================
+    // HELPER METHODS
+    // =====================================================================================================================
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static boolean replaceWithAggregateStep(final Traversal.Admin<?, ?> traversal, final ChronoGraphStep<?, ?> chronoGraphStep,
+                                                    final Step<?, ?> currentStep, final Set<ChronoGraphIndex> cleanIndices) {
+        if (!chronoGraphStep.isStartStep() || !chronoGraphStep.getLabels().isEmpty()) {
+            // the elements themselves are required
+            return false;
+        }
+        if (currentStep instanceof CountGlobalStep) {
+            ChronoGraphAggregateStep<?, ?> aggregateStep = new ChronoGraphAggregateStep(traversal, chronoGraphStep, Aggregation.COUNT, null);
+            replaceSteps(traversal, Lists.newArrayList(chronoGraphStep, currentStep), aggregateStep);
+            return true;
+        }
+        // note that "values(p).dedup()" is not rewritten: string indices contain the string representations of the
+        // individual values of multi-valued properties, which differ from the values produced by "values(p)".
+        if (currentStep instanceof PropertiesStep == false || !currentStep.getLabels().isEmpty()) {
+            return false;
+        }
+        PropertiesStep<?> propertiesStep = (PropertiesStep<?>) currentStep;
+        if (propertiesStep.getReturnType() != PropertyType.VALUE || propertiesStep.getPropertyKeys().length != 1) {
+            return false;
+        }
+        Step<?, ?> nextStep = currentStep.getNextStep();
+        Aggregation aggregation;
+        if (nextStep instanceof MinGlobalStep) {
+            aggregation = Aggregation.MIN;
+        } else if (nextStep instanceof MaxGlobalStep) {
+            aggregation = Aggregation.MAX;
+        } else {
+            return false;
+        }
+        String propertyKey = propertiesStep.getPropertyKeys()[0];
+        boolean hasNumericIndex = cleanIndices.stream()
+            .filter(index -> index instanceof ChronoGraphCompositeIndex == false)
+            .filter(index -> index.getIndexedElementClass().isAssignableFrom(chronoGraphStep.getReturnClass()))
+            .filter(index -> index.getIndexType() == IndexType.LONG || index.getIndexType() == IndexType.DOUBLE)
+            .anyMatch(index -> index.getIndexedProperty().equals(propertyKey));
+        if (!hasNumericIndex) {
+            return false;
+        }
+        ChronoGraphAggregateStep<?, ?> aggregateStep = new ChronoGraphAggregateStep(traversal, chronoGraphStep, aggregation, propertyKey);
+        replaceSteps(traversal, Lists.newArrayList(chronoGraphStep, currentStep, nextStep), aggregateStep);
+        return true;
+    }
+
+    private static void replaceSteps(final Traversal.Admin<?, ?> traversal, final List<Step<?, ?>> steps, final Step<?, ?> replacement) {
+        // the aggregate is the result of the last step, so it carries its labels
+        Step<?, ?> lastStep = steps.get(steps.size() - 1);
+        lastStep.getLabels().forEach(replacement::addLabel);
+        TraversalHelper.replaceStep((Step) steps.get(0), (Step) replacement, traversal);
+        steps.subList(1, steps.size()).forEach(traversal::removeStep);
+    }
+
+    private static int getResultLimit(final Step<?, ?> step) {
+        if (step instanceof RangeGlobalStep == false) {
+            return -1;
+        }
+        RangeGlobalStep<?> rangeStep = (RangeGlobalStep<?>) step;
+        long high = rangeStep.getHighRange();
+        if (rangeStep.getLowRange() == 0 && high > 0 && high < Integer.MAX_VALUE) {
+            return (int) high;
+        }
+        return -1;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static boolean applyResultOrderHint(final ChronoGraphStep<?, ?> chronoGraphStep, final OrderGlobalStep<?, ?> orderStep,
+                                                final Class<?> elementClass, final Set<ChronoGraphIndex> cleanIndices) {
+        List<Pair<Traversal.Admin, Comparator>> comparators = (List) orderStep.getComparators();
+        if (comparators.size() != 1 || comparators.get(0).getValue0() instanceof ElementValueTraversal == false) {
+            // we can only deal with "order().by(property)" and "order().by(property, order)"
+            return false;
+        }
+        String propertyKey = ((ElementValueTraversal<?>) comparators.get(0).getValue0()).getPropertyKey();
+        Comparator<?> comparator = comparators.get(0).getValue1();
+        Order order;
+        if (comparator == org.apache.tinkerpop.gremlin.process.traversal.Order.asc || comparator == org.apache.tinkerpop.gremlin.process.traversal.Order.incr) {
+            order = Order.ASCENDING;
+        } else if (comparator == org.apache.tinkerpop.gremlin.process.traversal.Order.desc || comparator == org.apache.tinkerpop.gremlin.process.traversal.Order.decr) {
+            order = Order.DESCENDING;
+        } else {
+            // custom comparators and shuffle() can't be mapped to the index order
+            return false;
+        }
+        boolean isIndexed = cleanIndices.stream()
+            .filter(index -> index instanceof ChronoGraphCompositeIndex == false)
+            .filter(index -> index.getIndexedElementClass().isAssignableFrom(elementClass))
+            .anyMatch(index -> index.getIndexedProperty().equals(propertyKey));
+        if (!isIndexed) {
+            return false;
+        }
+        chronoGraphStep.setResultOrderHint(propertyKey, order);
+        return true;
+    }
+
 
 }
@@ -0,0 +1,430 @@
+package org.chronos.chronograph.internal.impl.serialization;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.SetMultimap;
+import com.google.common.collect.Sets;
+import org.chronos.chronodb.api.exceptions.ChronoDBSerializationException;
+import org.chronos.chronodb.api.serialization.StringDictionary;
+import org.chronos.chronodb.api.serialization.ValueCodec;
+import org.chronos.chronograph.api.structure.record.IEdgeTargetRecord;
+import org.chronos.chronograph.api.structure.record.IPropertyRecord;
+import org.chronos.chronograph.api.structure.record.IVertexPropertyRecord;
+import org.chronos.chronograph.internal.impl.structure.record2.EdgeRecord2;
+import org.chronos.chronograph.internal.impl.structure.record2.EdgeTargetRecord2;
+import org.chronos.chronograph.internal.impl.structure.record2.PropertyRecord2;
+import org.chronos.chronograph.internal.impl.structure.record3.SeparateAdjacencyVertexRecord;
+import org.chronos.chronograph.internal.impl.structure.record3.SimpleVertexPropertyRecord;
+import org.chronos.chronograph.internal.impl.structure.record3.VertexPropertyRecord3;
+import org.chronos.chronograph.internal.impl.structure.record3.VertexRecord3;
+import org.chronos.common.serialization.KryoManager;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A compact {@link ValueCodec} for the {@link VertexRecord3}, {@link SeparateAdjacencyVertexRecord} and
+ * {@link EdgeRecord2} classes.
+ *
+ * <p>
+ * The format is hand-written and versioned. Labels and property keys are replaced by their IDs in the
+ * {@link StringDictionary}, element IDs in canonical UUID format are written as 16 raw bytes, numbers are written as
+ * variable-length integers, and collections are written without any class information. Property values of types
+ * other than strings, primitives and dates are embedded in Kryo format.
+ *
+ * <p>
+ * Records which contain record classes this codec does not know (e.g. from older versions) are rejected by
+ * {@link #canEncode(Object)} and therefore remain in the default format.
+ *
+ * @author martin.haeusler@uibk.ac.at -- Initial Contribution and API
+ */
+public class GraphRecordCodec implements ValueCodec {
+
+    // =================================================================================================================
+    // CONSTANTS
+    // =================================================================================================================
+
+    public static final String NAME = "chronograph.records";
+    public static final int ID = 1;
+
+    /** The version of the format written by this codec. Increase it whenever the format changes. */
+    private static final byte FORMAT_VERSION = 1;
+
+    private static final byte RECORD_TYPE_VERTEX = 1;
+    private static final byte RECORD_TYPE_EDGE = 2;
+    private static final byte RECORD_TYPE_VERTEX_WITHOUT_ADJACENCY = 3;
+
+    private static final byte PROPERTY_TYPE_SIMPLE = 1;
+    private static final byte PROPERTY_TYPE_WITH_META_PROPERTIES = 2;
+
+    private static final byte ID_TYPE_STRING = 1;
+    private static final byte ID_TYPE_UUID = 2;
+
+    private static final byte VALUE_TYPE_KRYO = 0;
+    private static final byte VALUE_TYPE_STRING = 1;
+    private static final byte VALUE_TYPE_INT = 2;
+    private static final byte VALUE_TYPE_LONG = 3;
+    private static final byte VALUE_TYPE_DOUBLE = 4;
+    private static final byte VALUE_TYPE_FLOAT = 5;
+    private static final byte VALUE_TYPE_BOOLEAN = 6;
+    private static final byte VALUE_TYPE_BYTE = 7;
+    private static final byte VALUE_TYPE_SHORT = 8;
+    private static final byte VALUE_TYPE_CHAR = 9;
+    private static final byte VALUE_TYPE_DATE = 10;
+
+    private static final int UUID_STRING_LENGTH = 36;
+
+    // =================================================================================================================
+    // PUBLIC API
+    // =================================================================================================================
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int getId() {
+        return ID;
+    }
+
+    @Override
+    public boolean canEncode(final Object value) {
+        if (value instanceof VertexRecord3) {
+            return this.canEncodeVertexProperties(((VertexRecord3) value).getProperties());
+        }
+        if (value instanceof SeparateAdjacencyVertexRecord) {
+            return this.canEncodeVertexProperties(((SeparateAdjacencyVertexRecord) value).getProperties());
+        }
+        if (value instanceof EdgeRecord2) {
+            for (IPropertyRecord property : ((EdgeRecord2) value).getProperties()) {
+                if (property.getClass() != PropertyRecord2.class) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void encode(final Object value, final Output output, final StringDictionary dictionary) {
+        output.writeByte(FORMAT_VERSION);
+        if (value instanceof VertexRecord3) {
+            output.writeByte(RECORD_TYPE_VERTEX);
+            this.writeVertexRecord((VertexRecord3) value, output, dictionary);
+        } else if (value instanceof SeparateAdjacencyVertexRecord) {
+            output.writeByte(RECORD_TYPE_VERTEX_WITHOUT_ADJACENCY);
+            this.writeVertexRecordWithoutAdjacency((SeparateAdjacencyVertexRecord) value, output, dictionary);
+        } else if (value instanceof EdgeRecord2) {
+            output.writeByte(RECORD_TYPE_EDGE);
+            this.writeEdgeRecord((EdgeRecord2) value, output, dictionary);
+        } else {
+            throw new IllegalArgumentException("Cannot encode value of type '" + value.getClass().getName() + "'!");
+        }
+    }
+
+    @Override
+    public Object decode(final Input input, final StringDictionary dictionary) {
+        byte formatVersion = input.readByte();
+        if (formatVersion != FORMAT_VERSION) {
+            throw new ChronoDBSerializationException("Cannot decode graph record: unknown format version " + formatVersion
+                + " (this version of ChronoGraph supports format version " + FORMAT_VERSION + " only)!");
+        }
+        byte recordType = input.readByte();
+        switch (recordType) {
+            case RECORD_TYPE_VERTEX:
+                return this.readVertexRecord(input, dictionary);
+            case RECORD_TYPE_EDGE:
+                return this.readEdgeRecord(input, dictionary);
+            case RECORD_TYPE_VERTEX_WITHOUT_ADJACENCY:
+                return this.readVertexRecordWithoutAdjacency(input, dictionary);
+            default:
+                throw new ChronoDBSerializationException("Cannot decode graph record: unknown record type " + recordType + "!");
+        }
+    }
+
+    // =================================================================================================================
+    // VERTICES
+    // =================================================================================================================
+
+    private boolean canEncodeVertexProperties(final Set<IVertexPropertyRecord> properties) {
+        for (IVertexPropertyRecord property : properties) {
+            Class<?> propertyClass = property.getClass();
+            if (propertyClass != SimpleVertexPropertyRecord.class && propertyClass != VertexPropertyRecord3.class) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void writeVertexRecord(final VertexRecord3 record, final Output output, final StringDictionary dictionary) {
+        this.writeElementId(record.getId(), output);
+        output.writeVarInt(dictionary.getOrCreateId(record.getLabel()), true);
+        this.writeVertexProperties(record.getProperties(), output, dictionary);
+        this.writeAdjacency(record.getIncomingEdgesByLabel(), output, dictionary);
+        this.writeAdjacency(record.getOutgoingEdgesByLabel(), output, dictionary);
+    }
+
+    private VertexRecord3 readVertexRecord(final Input input, final StringDictionary dictionary) {
+        String id = this.readElementId(input);
+        String label = dictionary.getString(input.readVarInt(true));
+        Set<IVertexPropertyRecord> properties = this.readVertexProperties(input, dictionary);
+        SetMultimap<String, EdgeTargetRecord2> inE = this.readAdjacency(input, dictionary);
+        SetMultimap<String, EdgeTargetRecord2> outE = this.readAdjacency(input, dictionary);
+        return new VertexRecord3(id, label, inE, outE, properties);
+    }
+
+    private void writeVertexRecordWithoutAdjacency(final SeparateAdjacencyVertexRecord record, final Output output, final StringDictionary dictionary) {
+        this.writeElementId(record.getId(), output);
+        output.writeVarInt(dictionary.getOrCreateId(record.getLabel()), true);
+        this.writeVertexProperties(record.getProperties(), output, dictionary);
+    }
+
+    private SeparateAdjacencyVertexRecord readVertexRecordWithoutAdjacency(final Input input, final StringDictionary dictionary) {
+        String id = this.readElementId(input);
+        String label = dictionary.getString(input.readVarInt(true));
+        Set<IVertexPropertyRecord> properties = this.readVertexProperties(input, dictionary);
+        return new SeparateAdjacencyVertexRecord(id, label, properties);
+    }
+
+    private void writeVertexProperties(final Set<IVertexPropertyRecord> properties, final Output output, final StringDictionary dictionary) {
+        output.writeVarInt(properties.size(), true);
+        for (IVertexPropertyRecord property : properties) {
+            Map<String, IPropertyRecord> metaProperties = property.getProperties();
+            if (metaProperties.isEmpty()) {
+                output.writeByte(PROPERTY_TYPE_SIMPLE);
+                this.writeProperty(property, output, dictionary);
+            } else {
+                output.writeByte(PROPERTY_TYPE_WITH_META_PROPERTIES);
+                this.writeProperty(property, output, dictionary);
+                output.writeVarInt(metaProperties.size(), true);
+                for (IPropertyRecord metaProperty : metaProperties.values()) {
+                    this.writeProperty(metaProperty, output, dictionary);
+                }
+            }
+        }
+    }
+
+    private Set<IVertexPropertyRecord> readVertexProperties(final Input input, final StringDictionary dictionary) {
+        int propertyCount = input.readVarInt(true);
+        Set<IVertexPropertyRecord> properties = Sets.newHashSetWithExpectedSize(propertyCount);
+        for (int i = 0; i < propertyCount; i++) {
+            byte propertyType = input.readByte();
+            String key = dictionary.getString(input.readVarInt(true));
+            Object value = this.readPropertyValue(input);
+            if (propertyType == PROPERTY_TYPE_SIMPLE) {
+                properties.add(new SimpleVertexPropertyRecord(key, value));
+            } else if (propertyType == PROPERTY_TYPE_WITH_META_PROPERTIES) {
+                int metaPropertyCount = input.readVarInt(true);
+                Map<String, PropertyRecord2> metaProperties = Maps.newHashMapWithExpectedSize(metaPropertyCount);
+                for (int j = 0; j < metaPropertyCount; j++) {
+                    PropertyRecord2 metaProperty = this.readProperty(input, dictionary);
+                    metaProperties.put(metaProperty.getKey(), metaProperty);
+                }
+                properties.add(new VertexPropertyRecord3(key, value, metaProperties));
+            } else {
+                throw new ChronoDBSerializationException("Cannot decode graph record: unknown property type " + propertyType + "!");
+            }
+        }
+        return properties;
+    }
+
+    private void writeAdjacency(final SetMultimap<String, IEdgeTargetRecord> edgesByLabel, final Output output,
+                                final StringDictionary dictionary) {
+        Map<String, Collection<IEdgeTargetRecord>> map = edgesByLabel.asMap();
+        output.writeVarInt(map.size(), true);
+        for (Entry<String, Collection<IEdgeTargetRecord>> entry : map.entrySet()) {
+            output.writeVarInt(dictionary.getOrCreateId(entry.getKey()), true);
+            output.writeVarInt(entry.getValue().size(), true);
+            for (IEdgeTargetRecord edgeTarget : entry.getValue()) {
+                this.writeElementId(edgeTarget.getEdgeId(), output);
+                this.writeElementId(edgeTarget.getOtherEndVertexId(), output);
+            }
+        }
+    }
+
+    private SetMultimap<String, EdgeTargetRecord2> readAdjacency(final Input input, final StringDictionary dictionary) {
+        int labelCount = input.readVarInt(true);
+        SetMultimap<String, EdgeTargetRecord2> edgesByLabel = HashMultimap.create();
+        for (int i = 0; i < labelCount; i++) {
+            String label = dictionary.getString(input.readVarInt(true));
+            int edgeCount = input.readVarInt(true);
+            for (int j = 0; j < edgeCount; j++) {
+                String edgeId = this.readElementId(input);
+                String otherEndVertexId = this.readElementId(input);
+                edgesByLabel.put(label, new EdgeTargetRecord2(edgeId, otherEndVertexId));
+            }
+        }
+        return edgesByLabel;
+    }
+
+    // =================================================================================================================
+    // EDGES
+    // =================================================================================================================
+
+    private void writeEdgeRecord(final EdgeRecord2 record, final Output output, final StringDictionary dictionary) {
+        this.writeElementId(record.getId(), output);
+        output.writeVarInt(dictionary.getOrCreateId(record.getLabel()), true);
+        this.writeElementId(record.getOutVertexId(), output);
+        this.writeElementId(record.getInVertexId(), output);
+        Set<IPropertyRecord> properties = record.getProperties();
+        output.writeVarInt(properties.size(), true);
+        for (IPropertyRecord property : properties) {
+            this.writeProperty(property, output, dictionary);
+        }
+    }
+
+    private EdgeRecord2 readEdgeRecord(final Input input, final StringDictionary dictionary) {
+        String id = this.readElementId(input);
+        String label = dictionary.getString(input.readVarInt(true));
+        String outVertexId = this.readElementId(input);
+        String inVertexId = this.readElementId(input);
+        int propertyCount = input.readVarInt(true);
+        Set<PropertyRecord2> properties = Sets.newHashSetWithExpectedSize(propertyCount);
+        for (int i = 0; i < propertyCount; i++) {
+            properties.add(this.readProperty(input, dictionary));
+        }
+        return new EdgeRecord2(id, outVertexId, label, inVertexId, properties);
+    }
+
+    // =================================================================================================================
+    // PROPERTIES
+    // =================================================================================================================
+
+    private void writeProperty(final IPropertyRecord property, final Output output, final StringDictionary dictionary) {
+        output.writeVarInt(dictionary.getOrCreateId(property.getKey()), true);
+        this.writePropertyValue(property.getSerializationSafeValue(), output);
+    }
+
+    private PropertyRecord2 readProperty(final Input input, final StringDictionary dictionary) {
+        String key = dictionary.getString(input.readVarInt(true));
+        Object value = this.readPropertyValue(input);
+        return new PropertyRecord2(key, value);
+    }
+
+    private void writePropertyValue(final Object value, final Output output) {
+        if (value instanceof String) {
+            output.writeByte(VALUE_TYPE_STRING);
+            output.writeString((String) value);
+        } else if (value instanceof Integer) {
+            output.writeByte(VALUE_TYPE_INT);
+            output.writeVarInt((Integer) value, false);
+        } else if (value instanceof Long) {
+            output.writeByte(VALUE_TYPE_LONG);
+            output.writeVarLong((Long) value, false);
+        } else if (value instanceof Double) {
+            output.writeByte(VALUE_TYPE_DOUBLE);
+            output.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            output.writeByte(VALUE_TYPE_FLOAT);
+            output.writeFloat((Float) value);
+        } else if (value instanceof Boolean) {
+            output.writeByte(VALUE_TYPE_BOOLEAN);
+            output.writeBoolean((Boolean) value);
+        } else if (value instanceof Byte) {
+            output.writeByte(VALUE_TYPE_BYTE);
+            output.writeByte((Byte) value);
+        } else if (value instanceof Short) {
+            output.writeByte(VALUE_TYPE_SHORT);
+            output.writeShort((Short) value);
+        } else if (value instanceof Character) {
+            output.writeByte(VALUE_TYPE_CHAR);
+            output.writeChar((Character) value);
+        } else if (value != null && value.getClass() == Date.class) {
+            output.writeByte(VALUE_TYPE_DATE);
+            output.writeLong(((Date) value).getTime());
+        } else {
+            // collections, arrays and custom objects
+            byte[] serialForm = KryoManager.serialize(value);
+            output.writeByte(VALUE_TYPE_KRYO);
+            output.writeVarInt(serialForm.length, true);
+            output.writeBytes(serialForm);
+        }
+    }
+
+    private Object readPropertyValue(final Input input) {
+        byte valueType = input.readByte();
+        switch (valueType) {
+            case VALUE_TYPE_STRING:
+                return input.readString();
+            case VALUE_TYPE_INT:
+                return input.readVarInt(false);
+            case VALUE_TYPE_LONG:
+                return input.readVarLong(false);
+            case VALUE_TYPE_DOUBLE:
+                return input.readDouble();
+            case VALUE_TYPE_FLOAT:
+                return input.readFloat();
+            case VALUE_TYPE_BOOLEAN:
+                return input.readBoolean();
+            case VALUE_TYPE_BYTE:
+                return input.readByte();
+            case VALUE_TYPE_SHORT:
+                return input.readShort();
+            case VALUE_TYPE_CHAR:
+                return input.readChar();
+            case VALUE_TYPE_DATE:
+                return new Date(input.readLong());
+            case VALUE_TYPE_KRYO:
+                int length = input.readVarInt(true);
+                return KryoManager.deserialize(input.readBytes(length));
+            default:
+                throw new ChronoDBSerializationException("Cannot decode graph record: unknown property value type " + valueType + "!");
+        }
+    }
+
+    // =================================================================================================================
+    // ELEMENT IDS
+    // =================================================================================================================
+
+    private void writeElementId(final String id, final Output output) {
+        UUID uuid = parseCanonicalUUID(id);
+        if (uuid != null) {
+            output.writeByte(ID_TYPE_UUID);
+            output.writeLong(uuid.getMostSignificantBits());
+            output.writeLong(uuid.getLeastSignificantBits());
+        } else {
+            output.writeByte(ID_TYPE_STRING);
+            output.writeString(id);
+        }
+    }
+
+    private String readElementId(final Input input) {
+        byte idType = input.readByte();
+        switch (idType) {
+            case ID_TYPE_UUID:
+                long mostSignificantBits = input.readLong();
+                long leastSignificantBits = input.readLong();
+                return new UUID(mostSignificantBits, leastSignificantBits).toString();
+            case ID_TYPE_STRING:
+                return input.readString();
+            default:
+                throw new ChronoDBSerializationException("Cannot decode graph record: unknown element ID type " + idType + "!");
+        }
+    }
+
+    private static UUID parseCanonicalUUID(final String id) {
+        if (id.length() != UUID_STRING_LENGTH || id.charAt(8) != '-' || id.charAt(13) != '-' || id.charAt(18) != '-' || id.charAt(23) != '-') {
+            return null;
+        }
+        UUID uuid;
+        try {
+            uuid = UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        // only use the binary format if it reproduces the ID exactly (e.g. no upper case letters)
+        if (uuid.toString().equals(id) == false) {
+            return null;
+        }
+        return uuid;
+    }
+
+}
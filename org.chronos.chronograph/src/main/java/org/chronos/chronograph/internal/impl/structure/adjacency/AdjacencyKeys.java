@@ -0,0 +1,231 @@
+package org.chronos.chronograph.internal.impl.structure.adjacency;
+
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.chronos.chronograph.internal.ChronoGraphConstants;
+import org.chronos.chronograph.internal.impl.structure.record.EdgeTargetRecordWithLabel;
+import org.chronos.chronograph.internal.impl.structure.record2.EdgeTargetRecord2;
+import org.chronos.common.exceptions.UnknownEnumLiteralException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.*;
+
+/**
+ * Creates and parses the keys of the {@linkplain ChronoGraphConstants#KEYSPACE_ADJACENCY adjacency keyspace}.
+ *
+ * <p>
+ * Every adjacent edge of a vertex is stored as an individual entry. The key has the following format:
+ *
+ * <pre>
+ *     [vertex id]|[o or i]|[edge label]|[edge id]|[other end vertex id]
+ * </pre>
+ *
+ * Within each segment, all backslashes and pipes are escaped with a backslash, which guarantees that the segments
+ * cannot be confused with each other. As the keys are sorted lexicographically, all edges of a vertex (in a given
+ * direction, with a given label) are located in a contiguous key range, which can be scanned with a prefix (see
+ * {@link #createPrefix(String, Direction, String)}).
+ *
+ * <p>
+ * The key contains all information about the edge which is required to navigate it, so a scan over the keys is
+ * sufficient and the values (which are {@link EdgeTargetRecord2}s) never need to be loaded.
+ */
+public final class AdjacencyKeys {
+
+    // =================================================================================================================
+    // CONSTANTS
+    // =================================================================================================================
+
+    private static final char SEPARATOR = '|';
+    private static final char ESCAPE = '\\';
+
+    private static final String DIRECTION_OUT = "o";
+    private static final String DIRECTION_IN = "i";
+
+    // =================================================================================================================
+    // CONSTRUCTOR
+    // =================================================================================================================
+
+    private AdjacencyKeys() {
+        throw new UnsupportedOperationException("Do not instantiate this class!");
+    }
+
+    // =================================================================================================================
+    // PUBLIC API
+    // =================================================================================================================
+
+    /**
+     * Creates the key for the given adjacent edge of the given vertex.
+     *
+     * @param vertexId         The ID of the vertex which owns the entry. Must not be <code>null</code>.
+     * @param direction        The direction of the edge, as seen from the vertex. Must be either {@link Direction#OUT}
+     *                         or {@link Direction#IN}.
+     * @param label            The label of the edge. Must not be <code>null</code>.
+     * @param edgeId           The ID of the edge. Must not be <code>null</code>.
+     * @param otherEndVertexId The ID of the vertex at the other end of the edge. Must not be <code>null</code>.
+     * @return The key. Never <code>null</code>.
+     */
+    public static String createKey(final String vertexId, final Direction direction, final String label, final String edgeId, final String otherEndVertexId) {
+        checkNotNull(vertexId, "Precondition violation - argument 'vertexId' must not be NULL!");
+        checkNotNull(direction, "Precondition violation - argument 'direction' must not be NULL!");
+        checkArgument(direction != Direction.BOTH, "Precondition violation - argument 'direction' must not be BOTH!");
+        checkNotNull(label, "Precondition violation - argument 'label' must not be NULL!");
+        checkNotNull(edgeId, "Precondition violation - argument 'edgeId' must not be NULL!");
+        checkNotNull(otherEndVertexId, "Precondition violation - argument 'otherEndVertexId' must not be NULL!");
+        StringBuilder builder = new StringBuilder();
+        appendEscaped(builder, vertexId);
+        builder.append(SEPARATOR).append(directionToString(direction)).append(SEPARATOR);
+        appendEscaped(builder, label);
+        builder.append(SEPARATOR);
+        appendEscaped(builder, edgeId);
+        builder.append(SEPARATOR);
+        appendEscaped(builder, otherEndVertexId);
+        return builder.toString();
+    }
+
+    /**
+     * Creates the key prefix which is shared by all adjacent edges of the given vertex.
+     *
+     * @param vertexId The ID of the vertex. Must not be <code>null</code>.
+     * @return The key prefix. Never <code>null</code>.
+     */
+    public static String createPrefix(final String vertexId) {
+        return createPrefix(vertexId, Direction.BOTH, null);
+    }
+
+    /**
+     * Creates the key prefix which is shared by all adjacent edges of the given vertex in the given direction.
+     *
+     * @param vertexId  The ID of the vertex. Must not be <code>null</code>.
+     * @param direction The direction of the edges. Must not be <code>null</code>. Use {@link Direction#BOTH} to match
+     *                  the edges in both directions.
+     * @return The key prefix. Never <code>null</code>.
+     */
+    public static String createPrefix(final String vertexId, final Direction direction) {
+        return createPrefix(vertexId, direction, null);
+    }
+
+    /**
+     * Creates the key prefix which is shared by all adjacent edges of the given vertex in the given direction with the
+     * given label.
+     *
+     * @param vertexId  The ID of the vertex. Must not be <code>null</code>.
+     * @param direction The direction of the edges. Must not be <code>null</code>. Use {@link Direction#BOTH} to match
+     *                  the edges in both directions (in this case, the label is ignored).
+     * @param label     The label of the edges. May be <code>null</code> to match all labels.
+     * @return The key prefix. Never <code>null</code>.
+     */
+    public static String createPrefix(final String vertexId, final Direction direction, final String label) {
+        checkNotNull(vertexId, "Precondition violation - argument 'vertexId' must not be NULL!");
+        checkNotNull(direction, "Precondition violation - argument 'direction' must not be NULL!");
+        StringBuilder builder = new StringBuilder();
+        appendEscaped(builder, vertexId);
+        builder.append(SEPARATOR);
+        if (direction == Direction.BOTH) {
+            return builder.toString();
+        }
+        builder.append(directionToString(direction)).append(SEPARATOR);
+        if (label == null) {
+            return builder.toString();
+        }
+        appendEscaped(builder, label);
+        builder.append(SEPARATOR);
+        return builder.toString();
+    }
+
+    /**
+     * Parses the given key of the adjacency keyspace.
+     *
+     * @param key The key to parse. Must not be <code>null</code>. Must have been created via
+     *            {@link #createKey(String, Direction, String, String, String)}.
+     * @return The adjacent edge described by the key. Never <code>null</code>.
+     */
+    public static EdgeTargetRecordWithLabel parseEdgeTarget(final String key) {
+        List<String> segments = split(key);
+        String label = segments.get(2);
+        String edgeId = segments.get(3);
+        String otherEndVertexId = segments.get(4);
+        return new EdgeTargetRecordWithLabel(new EdgeTargetRecord2(edgeId, otherEndVertexId), label);
+    }
+
+    /**
+     * Parses the ID of the vertex which owns the given key of the adjacency keyspace.
+     *
+     * @param key The key to parse. Must not be <code>null</code>. Must have been created via
+     *            {@link #createKey(String, Direction, String, String, String)}.
+     * @return The ID of the vertex which owns the entry. Never <code>null</code>.
+     */
+    public static String parseVertexId(final String key) {
+        return split(key).get(0);
+    }
+
+    /**
+     * Parses the direction of the given key of the adjacency keyspace.
+     *
+     * @param key The key to parse. Must not be <code>null</code>. Must have been created via
+     *            {@link #createKey(String, Direction, String, String, String)}.
+     * @return The direction of the adjacent edge described by the key, as seen from the vertex which owns the entry.
+     * Either {@link Direction#OUT} or {@link Direction#IN}.
+     */
+    public static Direction parseDirection(final String key) {
+        String direction = split(key).get(1);
+        switch (direction) {
+            case DIRECTION_OUT:
+                return Direction.OUT;
+            case DIRECTION_IN:
+                return Direction.IN;
+            default:
+                throw new IllegalArgumentException("The string '" + key + "' is not a valid adjacency key!");
+        }
+    }
+
+    // =================================================================================================================
+    // HELPER METHODS
+    // =================================================================================================================
+
+    private static String directionToString(final Direction direction) {
+        switch (direction) {
+            case OUT:
+                return DIRECTION_OUT;
+            case IN:
+                return DIRECTION_IN;
+            default:
+                throw new UnknownEnumLiteralException(direction);
+        }
+    }
+
+    private static void appendEscaped(final StringBuilder builder, final String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (c == SEPARATOR || c == ESCAPE) {
+                builder.append(ESCAPE);
+            }
+            builder.append(c);
+        }
+    }
+
+    private static List<String> split(final String key) {
+        checkNotNull(key, "Precondition violation - argument 'key' must not be NULL!");
+        List<String> segments = new ArrayList<>(5);
+        StringBuilder segment = new StringBuilder();
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c == ESCAPE && i + 1 < key.length()) {
+                // take the next character literally
+                i++;
+                segment.append(key.charAt(i));
+            } else if (c == SEPARATOR) {
+                segments.add(segment.toString());
+                segment.setLength(0);
+            } else {
+                segment.append(c);
+            }
+        }
+        segments.add(segment.toString());
+        if (segments.size() != 5) {
+            throw new IllegalArgumentException("The string '" + key + "' is not a valid adjacency key!");
+        }
+        return segments;
+    }
+
+}
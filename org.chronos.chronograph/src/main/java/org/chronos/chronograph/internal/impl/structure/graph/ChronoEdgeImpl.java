@@ -337,6 +337,24 @@ public class ChronoEdgeImpl extends AbstractChronoElement implements Edge, Chron
         // nothing to do for edges so far
     }
 
+    /**
+     * Returns the ID of the out-vertex of this edge, without resolving the vertex itself.
+     *
+     * @return The ID of the out-vertex. Never <code>null</code>.
+     */
+    public String getOutVertexId() {
+        return this.outVid;
+    }
+
+    /**
+     * Returns the ID of the in-vertex of this edge, without resolving the vertex itself.
+     *
+     * @return The ID of the in-vertex. Never <code>null</code>.
+     */
+    public String getInVertexId() {
+        return this.inVid;
+    }
+
     public IEdgeRecord toRecord() {
         String id = this.id();
         String label = this.label();
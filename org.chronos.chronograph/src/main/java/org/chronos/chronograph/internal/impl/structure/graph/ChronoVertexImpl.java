@@ -26,7 +26,9 @@ import org.chronos.chronograph.internal.api.structure.ChronoGraphInternal;
 import org.chronos.chronograph.internal.api.transaction.ChronoGraphTransactionInternal;
 import org.chronos.chronograph.internal.impl.structure.record.*;
 import org.chronos.chronograph.internal.impl.structure.record2.EdgeTargetRecord2;
+import org.chronos.chronograph.internal.impl.structure.record3.SeparateAdjacencyVertexRecord;
 import org.chronos.chronograph.internal.impl.structure.record3.VertexRecord3;
+import org.chronos.chronograph.internal.impl.transaction.ElementLoadMode;
 import org.chronos.chronograph.internal.impl.util.ChronoGraphElementUtil;
 import org.chronos.chronograph.internal.impl.util.ChronoGraphLoggingUtil;
 import org.chronos.chronograph.internal.impl.util.ChronoId;
@@ -56,6 +58,15 @@ public class ChronoVertexImpl extends AbstractChronoElement implements Vertex, C
 
     protected Reference<IVertexRecord> recordReference;
 
+    /** Whether the persisted record of this vertex stores the adjacent edges separately (see {@link IVertexRecord#isAdjacencyEmbedded()}). */
+    private boolean adjacencyStoredSeparately = false;
+    /**
+     * Whether the edge maps of this vertex contain all adjacent edges. Only relevant if the record has been loaded. If
+     * this is <code>false</code>, the edge maps only contain the edges added in this transaction, and the persisted
+     * edges need to be fetched from the adjacency keyspace.
+     */
+    private boolean adjacencyLoaded = true;
+
     // =================================================================================================================
     // CONSTRUCTOR
     // =================================================================================================================
@@ -69,6 +80,7 @@ public class ChronoVertexImpl extends AbstractChronoElement implements Vertex, C
                             final IVertexRecord record) {
         super(g, tx, record.getId(), record.getLabel());
         this.recordReference = new WeakReference<>(record);
+        this.adjacencyStoredSeparately = record.isAdjacencyEmbedded() == false;
         this.updateLifecycleStatus(ElementLifecycleEvent.RELOADED_FROM_DB_AND_IN_SYNC);
     }
 
@@ -205,6 +217,9 @@ public class ChronoVertexImpl extends AbstractChronoElement implements Vertex, C
         if (this.recordReference != null) {
             // we're in read-only mode
             return this.edgesFromLazyVertex(direction, edgeLabels);
+        } else if (this.adjacencyLoaded == false) {
+            // we're in read-write mode, but the persisted edges are stored separately and have not been loaded
+            return this.edgesFromPartiallyLoadedVertex(direction, edgeLabels);
         } else {
             // we're in read-write mode
             return this.edgesFromLoadedVertex(direction, edgeLabels);
@@ -213,6 +228,10 @@ public class ChronoVertexImpl extends AbstractChronoElement implements Vertex, C
 
     private Iterator<Edge> edgesFromLazyVertex(final Direction direction, String... edgeLabels) {
         IVertexRecord vertexRecord = this.getRecord();
+        if (vertexRecord.isAdjacencyEmbedded() == false) {
+            // the edges are not part of the record, scan the adjacency keyspace instead
+            return this.loadPersistedAdjacentEdges(direction, edgeLabels).iterator();
+        }
         switch (direction) {
             case BOTH:
                 // note that we do NOT want self-edges (e.g. v1->v1) to appear twice. Therefore, we use
@@ -241,6 +260,39 @@ public class ChronoVertexImpl extends AbstractChronoElement implements Vertex, C
 
     }
 
+    private Iterator<Edge> edgesFromPartiallyLoadedVertex(final Direction direction, String... edgeLabels) {
+        // the persisted edges do not reflect the changes of this transaction: skip the ones we have removed...
+        Set<Edge> edges = Sets.newLinkedHashSet();
+        for (Edge edge : this.loadPersistedAdjacentEdges(direction, edgeLabels)) {
+            if (((ChronoEdge) edge).isRemoved() == false) {
+                edges.add(edge);
+            }
+        }
+        // ... and add the ones we have added (they are the only ones in our edge maps)
+        @SuppressWarnings("unchecked")
+        Iterator<Edge> addedEdges = this.edgesFromLoadedVertex(direction, edgeLabels);
+        while (addedEdges.hasNext()) {
+            edges.add(addedEdges.next());
+        }
+        return edges.iterator();
+    }
+
+    private Set<Edge> loadPersistedAdjacentEdges(final Direction direction, final String... edgeLabels) {
+        // we use a linked hash set to preserve the order (outgoing edges first) and to avoid reporting self-edges twice
+        Set<Edge> edges = Sets.newLinkedHashSet();
+        if (direction == Direction.OUT || direction == Direction.BOTH) {
+            for (EdgeTargetRecordWithLabel edgeTarget : this.owningTransaction.loadAdjacentEdgeTargetRecords(this.id(), Direction.OUT, edgeLabels)) {
+                edges.add(this.loadOutgoingEdgeTargetRecord(edgeTarget));
+            }
+        }
+        if (direction == Direction.IN || direction == Direction.BOTH) {
+            for (EdgeTargetRecordWithLabel edgeTarget : this.owningTransaction.loadAdjacentEdgeTargetRecords(this.id(), Direction.IN, edgeLabels)) {
+                edges.add(this.loadIncomingEdgeTargetRecord(edgeTarget));
+            }
+        }
+        return edges;
+    }
+
     private Iterator edgesFromLoadedVertex(final Direction direction, String... edgeLabels) {
         switch (direction) {
             case BOTH:
@@ -456,9 +508,53 @@ public class ChronoVertexImpl extends AbstractChronoElement implements Vertex, C
             ChronoEdge edge = this.owningTransaction.loadOutgoingEdgeFromEdgeTargetRecord(this, label, eRecord);
             this.labelToOutgoingEdges.put(edge.label(), edge);
         }
+        // if the edges are stored separately, we only loaded the properties; the edges are loaded on demand
+        this.adjacencyLoaded = vertexRecord.isAdjacencyEmbedded();
         this.recordReference = null;
     }
 
+    /**
+     * Makes sure that the edge maps of this vertex contain all adjacent edges.
+     *
+     * <p>
+     * If the edges of this vertex are stored separately, {@link #loadRecordContents()} only loads the properties. This
+     * method additionally fetches the persisted edges from the adjacency keyspace and merges them with the edges which
+     * have been added and removed in the current transaction.
+     */
+    protected void ensureAdjacencyIsLoaded() {
+        this.ensureVertexRecordIsLoaded();
+        if (this.adjacencyLoaded) {
+            return;
+        }
+        for (Edge edge : this.loadPersistedAdjacentEdges(Direction.OUT)) {
+            ChronoEdge chronoEdge = (ChronoEdge) edge;
+            if (chronoEdge.isRemoved() == false) {
+                this.labelToOutgoingEdges.put(chronoEdge.label(), chronoEdge);
+            }
+        }
+        for (Edge edge : this.loadPersistedAdjacentEdges(Direction.IN)) {
+            ChronoEdge chronoEdge = (ChronoEdge) edge;
+            if (chronoEdge.isRemoved() == false) {
+                this.labelToIncomingEdges.put(chronoEdge.label(), chronoEdge);
+            }
+        }
+        this.adjacencyLoaded = true;
+    }
+
+    /**
+     * Checks if the adjacent edges of this vertex are stored in the adjacency keyspace, rather than in the vertex
+     * record itself.
+     *
+     * <p>
+     * This reflects the persisted state of the vertex, which may differ from the layout configured via
+     * {@link ChronoGraphConfiguration#isSeparateAdjacencyEnabled()}. New vertices return <code>false</code>.
+     *
+     * @return <code>true</code> if the adjacent edges are stored separately, otherwise <code>false</code>.
+     */
+    public boolean isAdjacencyStoredSeparately() {
+        return this.adjacencyStoredSeparately;
+    }
+
     private ChronoVertexProperty<?> loadPropertyRecord(final IVertexPropertyRecord pRecord) {
         ChronoVertexProperty<?> property = new ChronoVertexProperty<>(this, pRecord.getKey(), pRecord.getValue());
         for (Entry<String, IPropertyRecord> pEntry : pRecord.getProperties().entrySet()) {
@@ -501,6 +597,12 @@ public class ChronoVertexImpl extends AbstractChronoElement implements Vertex, C
         this.checkAccess();
         String id = this.id();
         String label = this.label();
+        if (this.graph.getChronoGraphConfiguration().isSeparateAdjacencyEnabled()) {
+            // the edges are written individually by the transaction
+            this.ensureVertexRecordIsLoaded();
+            return new SeparateAdjacencyVertexRecord(id, label, this.properties);
+        }
+        this.ensureAdjacencyIsLoaded();
         return new VertexRecord3(
             id, label,
             this.labelToIncomingEdges, this.labelToOutgoingEdges,
@@ -582,7 +684,8 @@ public class ChronoVertexImpl extends AbstractChronoElement implements Vertex, C
             // incoming edge
             // remove whatever edge representation has been there with this edge-id
             boolean removed = this.labelToIncomingEdges.remove(chronoEdge.label(), chronoEdge);
-            if (removed == false) {
+            // note: if only the properties have been loaded, persisted edges are not part of the map
+            if (removed == false && this.adjacencyLoaded) {
                 throw new IllegalStateException("Graph is inconsistent - failed to remove edge from adjacent vertex!");
             }
             changed = true;
@@ -592,10 +695,10 @@ public class ChronoVertexImpl extends AbstractChronoElement implements Vertex, C
             // outgoing edge
             // remove whatever edge representation has been there with this edge-id
             boolean removed = this.labelToOutgoingEdges.remove(chronoEdge.label(), chronoEdge);
-            if (removed == false) {
+            if (removed == false && this.adjacencyLoaded) {
                 throw new IllegalStateException("Graph is inconsistent - failed to remove edge from adjacent vertex!");
             }
-            changed = removed || changed;
+            changed = true;
         }
         if (changed) {
             this.updateLifecycleStatus(ElementLifecycleEvent.ADJACENT_EDGE_ADDED_OR_REMOVED);
@@ -612,6 +715,8 @@ public class ChronoVertexImpl extends AbstractChronoElement implements Vertex, C
             this.labelToIncomingEdges = null;
             this.labelToOutgoingEdges = null;
             this.properties = null;
+            this.adjacencyLoaded = true;
+            this.adjacencyStoredSeparately = vRecord != null && vRecord.isAdjacencyEmbedded() == false;
             if(vRecord != null){
                 this.recordReference = new WeakReference<>(vRecord);
                 this.updateLifecycleStatus(ElementLifecycleEvent.RELOADED_FROM_DB_AND_IN_SYNC);
@@ -798,20 +903,69 @@ public class ChronoVertexImpl extends AbstractChronoElement implements Vertex, C
 
     private class OtherEndVertexResolvingEdgeIterator implements Iterator<Vertex> {
 
+        /** The number of neighbours which are resolved together, see {@link ChronoGraphTransactionInternal#loadVertices}. */
+        private static final int BATCH_SIZE = 256;
+
         private final Iterator<Edge> edgeIterator;
 
+        private Iterator<Vertex> currentBatch;
+
         private OtherEndVertexResolvingEdgeIterator(final Iterator<Edge> edgeIterator) {
             this.edgeIterator = edgeIterator;
+            this.currentBatch = Collections.emptyIterator();
         }
 
         @Override
         public boolean hasNext() {
-            return this.edgeIterator.hasNext();
+            return this.currentBatch.hasNext() || this.edgeIterator.hasNext();
         }
 
         @Override
         public Vertex next() {
-            Edge edge = this.edgeIterator.next();
+            if (this.currentBatch.hasNext() == false) {
+                this.resolveNextBatch();
+            }
+            return this.currentBatch.next();
+        }
+
+        private void resolveNextBatch() {
+            // collect the next batch of neighbours. Slots which are NULL are resolved in bulk below.
+            List<Vertex> vertices = Lists.newArrayList();
+            List<String> idsToResolve = Lists.newArrayList();
+            while (this.edgeIterator.hasNext() && vertices.size() < BATCH_SIZE) {
+                Edge edge = this.edgeIterator.next();
+                if (edge instanceof ChronoEdgeImpl == false) {
+                    vertices.add(this.getOtherEnd(edge));
+                    continue;
+                }
+                ChronoEdgeImpl edgeImpl = (ChronoEdgeImpl) edge;
+                String otherEndVertexId = edgeImpl.getInVertexId();
+                if (otherEndVertexId.equals(ChronoVertexImpl.this.id())) {
+                    otherEndVertexId = edgeImpl.getOutVertexId();
+                }
+                if (otherEndVertexId.equals(ChronoVertexImpl.this.id())) {
+                    // self-edge
+                    vertices.add(ChronoVertexImpl.this);
+                } else {
+                    vertices.add(null);
+                    idsToResolve.add(otherEndVertexId);
+                }
+            }
+            if (idsToResolve.isEmpty() == false) {
+                // lazy loading yields exactly one vertex per ID, in order
+                ChronoGraphTransactionInternal tx = ChronoVertexImpl.this.getOwningTransaction();
+                List<ChronoVertex> neighbours = tx.loadVertices(idsToResolve, ElementLoadMode.LAZY);
+                Iterator<Vertex> resolved = ChronoProxyUtil.replaceVerticesByProxies(Iterators.<Vertex>unmodifiableIterator(neighbours.iterator()), tx);
+                for (int i = 0; i < vertices.size(); i++) {
+                    if (vertices.get(i) == null) {
+                        vertices.set(i, resolved.next());
+                    }
+                }
+            }
+            this.currentBatch = vertices.iterator();
+        }
+
+        private Vertex getOtherEnd(final Edge edge) {
             Vertex inV = edge.inVertex();
             if (inV.equals(ChronoVertexImpl.this)) {
                 return edge.outVertex();
@@ -15,10 +15,12 @@ import org.chronos.chronodb.api.ChronoDBConstants;
 import org.chronos.chronodb.api.ChronoDBTransaction;
 import org.chronos.chronodb.api.DumpOption;
 import org.chronos.chronodb.api.Order;
+import org.chronos.chronodb.api.SerializationManager;
 import org.chronos.chronodb.internal.impl.dump.DumpOptions;
 import org.chronos.chronodb.internal.impl.engines.base.ChronosInternalCommitMetadata;
 import org.chronos.chronodb.internal.util.IteratorUtils;
 import org.chronos.chronograph.api.branch.ChronoGraphBranchManager;
+import org.chronos.chronograph.api.changefeed.ChronoGraphChangeFeed;
 import org.chronos.chronograph.api.history.ChronoGraphHistoryManager;
 import org.chronos.chronograph.api.index.ChronoGraphIndexManager;
 import org.chronos.chronograph.api.jmx.ChronoGraphMBeanSupport;
@@ -31,16 +33,19 @@ import org.chronos.chronograph.internal.ChronoGraphConstants;
 import org.chronos.chronograph.internal.api.configuration.ChronoGraphConfiguration;
 import org.chronos.chronograph.internal.api.structure.ChronoGraphInternal;
 import org.chronos.chronograph.internal.impl.branch.ChronoGraphBranchManagerImpl;
+import org.chronos.chronograph.internal.impl.changefeed.ChronoGraphChangeFeedImpl;
 import org.chronos.chronograph.internal.impl.configuration.ChronoGraphConfigurationImpl;
 import org.chronos.chronograph.internal.impl.dumpformat.GraphDumpFormat;
 import org.chronos.chronograph.internal.impl.history.ChronoGraphHistoryManagerImpl;
 import org.chronos.chronograph.internal.impl.index.ChronoGraphIndexManagerImpl;
 import org.chronos.chronograph.internal.impl.maintenance.ChronoGraphMaintenanceManagerImpl;
+import org.chronos.chronograph.internal.impl.migration.ChronoGraphAdjacencyLayoutMigration;
 import org.chronos.chronograph.internal.impl.migration.ChronoGraphMigrationChain;
 import org.chronos.chronograph.internal.impl.optimizer.strategy.ChronoGraphStepStrategy;
 import org.chronos.chronograph.internal.impl.optimizer.strategy.PredicateNormalizationStrategy;
 import org.chronos.chronograph.internal.impl.optimizer.strategy.ReplaceGremlinPredicateWithChronosPredicateStrategy;
 import org.chronos.chronograph.internal.impl.schema.ChronoGraphSchemaManagerImpl;
+import org.chronos.chronograph.internal.impl.serialization.GraphRecordCodec;
 import org.chronos.chronograph.internal.impl.statistics.ChronoGraphStatisticsManagerImpl;
 import org.chronos.chronograph.internal.impl.structure.graph.features.ChronoGraphFeatures;
 import org.chronos.chronograph.internal.impl.transaction.ChronoGraphTransactionManagerImpl;
@@ -60,6 +65,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
@@ -100,6 +106,7 @@ public class StandardChronoGraph implements ChronoGraphInternal {
     private final ChronoGraphMaintenanceManager maintenanceManager;
 
     private final ChronoGraphStatisticsManager statisticsManager;
+    private final ChronoGraphChangeFeed changeFeed;
 
     private final ChronoGraphHistoryManager historyManager;
 
@@ -110,8 +117,7 @@ public class StandardChronoGraph implements ChronoGraphInternal {
     private final ChronoGraphFeatures features;
     private final ChronoGraphVariablesImpl variables;
 
-    private final Lock commitLock = new ReentrantLock(true);
-    private final ThreadLocal<AutoLock> commitLockHolder = new ThreadLocal<>();
+    private final Map<String, Lock> branchNameToCommitLock = new ConcurrentHashMap<>();
 
     public StandardChronoGraph(final ChronoDB database, final Configuration configuration) {
         checkNotNull(database, "Precondition violation - argument 'database' must not be NULL!");
@@ -119,12 +125,14 @@ public class StandardChronoGraph implements ChronoGraphInternal {
         this.rawConfiguration = configuration;
         this.graphConfiguration = ChronosConfigurationUtil.build(configuration, ChronoGraphConfigurationImpl.class);
         this.database = database;
+        this.registerRecordCodec();
         this.txManager = new ChronoGraphTransactionManagerImpl(this);
         this.branchManager = new ChronoGraphBranchManagerImpl(this);
         this.schemaManager = new ChronoGraphSchemaManagerImpl(this);
         this.triggerManager = new ChronoGraphTriggerManagerImpl(this);
         this.maintenanceManager = new ChronoGraphMaintenanceManagerImpl(this);
         this.statisticsManager = new ChronoGraphStatisticsManagerImpl(this);
+        this.changeFeed = new ChronoGraphChangeFeedImpl(this);
         this.historyManager = new ChronoGraphHistoryManagerImpl(this);
         this.branchLock = new ReentrantLock(true);
         this.branchNameToIndexManager = Maps.newHashMap();
@@ -132,11 +140,22 @@ public class StandardChronoGraph implements ChronoGraphInternal {
         this.variables = new ChronoGraphVariablesImpl(this);
         this.writeCurrentChronoGraphVersionIfNecessary();
         ChronoGraphMigrationChain.executeMigrationChainOnGraph(this);
+        this.migrateAdjacencyLayoutIfNecessary();
         if (this.database.getConfiguration().isMBeanIntegrationEnabled()) {
             ChronoGraphMBeanSupport.registerMBeans(this);
         }
     }
 
+    private void registerRecordCodec() {
+        SerializationManager serializationManager = this.database.getSerializationManager();
+        // the codec is always registered, because the database may contain compact records
+        serializationManager.registerCodec(new GraphRecordCodec());
+        if (this.graphConfiguration.isCompactRecordCodecEnabled()) {
+            serializationManager.setKeyspaceCodec(ChronoGraphConstants.KEYSPACE_VERTEX, GraphRecordCodec.NAME);
+            serializationManager.setKeyspaceCodec(ChronoGraphConstants.KEYSPACE_EDGE, GraphRecordCodec.NAME);
+        }
+    }
+
     // =================================================================================================================
     // GRAPH CLOSING
     // =================================================================================================================
@@ -147,6 +166,8 @@ public class StandardChronoGraph implements ChronoGraphInternal {
             // already closed
             return;
         }
+        // let the pending asynchronous triggers finish while the database is still open
+        this.triggerManager.shutdownAsyncTriggerExecutor();
         this.database.close();
     }
 
@@ -381,6 +402,36 @@ public class StandardChronoGraph implements ChronoGraphInternal {
         tx.commit(new ChronosInternalCommitMetadata(commitMessage));
     }
 
+    // =====================================================================================================================
+    // ADJACENCY LAYOUT
+    // =====================================================================================================================
+
+    private void migrateAdjacencyLayoutIfNecessary() {
+        String keyspace = ChronoGraphConstants.KEYSPACE_MANAGEMENT;
+        String key = ChronoGraphConstants.KEYSPACE_MANAGEMENT_KEY__ADJACENCY_LAYOUT;
+        String storedLayout = this.getBackingDB().tx().get(keyspace, key);
+        boolean separateAdjacency = this.getChronoGraphConfiguration().isSeparateAdjacencyEnabled();
+        String configuredLayout = separateAdjacency ? ChronoGraphConstants.ADJACENCY_LAYOUT_SEPARATE : ChronoGraphConstants.ADJACENCY_LAYOUT_EMBEDDED;
+        if (configuredLayout.equals(storedLayout) || storedLayout == null && !separateAdjacency) {
+            // nothing to do
+            return;
+        }
+        if (this.getBackingDB().getConfiguration().isReadOnly()) {
+            // both layouts can be read at any time, the migration only affects the performance
+            ChronoLogger.logWarning("This ChronoGraph instance is read-only, the adjacency layout of the stored data can not be changed to '" + configuredLayout + "'.");
+            return;
+        }
+        if (separateAdjacency && !this.isGraphEmpty()) {
+            // move the edges of the existing vertex records into the adjacency keyspace. Note that we
+            // do not need to migrate in the other direction, because vertex records in the separate
+            // layout are converted whenever they are written in the embedded layout.
+            new ChronoGraphAdjacencyLayoutMigration().execute(this);
+        }
+        ChronoDBTransaction tx = this.getBackingDB().tx();
+        tx.put(keyspace, key, configuredLayout);
+        tx.commit(new ChronosInternalCommitMetadata("Updated stored adjacency layout to '" + configuredLayout + "'."));
+    }
+
     // =====================================================================================================================
     // TEMPORAL ACTIONS
     // =====================================================================================================================
@@ -690,6 +741,11 @@ public class StandardChronoGraph implements ChronoGraphInternal {
         return this.statisticsManager;
     }
 
+    @Override
+    public ChronoGraphChangeFeed getChangeFeed() {
+        return this.changeFeed;
+    }
+
     // =================================================================================================================
     // HISTORY
     // =================================================================================================================
@@ -754,17 +810,23 @@ public class StandardChronoGraph implements ChronoGraphInternal {
         return this.database;
     }
 
-    public AutoLock commitLock() {
-        AutoLock autoLock = this.commitLockHolder.get();
-        if (autoLock == null) {
-            autoLock = AutoLock.createBasicLockHolderFor(this.commitLock);
-            this.commitLockHolder.set(autoLock);
-        }
+    @Override
+    public AutoLock commitLock(final String branchName) {
+        checkNotNull(branchName, "Precondition violation - argument 'branchName' must not be NULL!");
+        Lock lock = this.branchNameToCommitLock.computeIfAbsent(branchName, name -> new ReentrantLock(true));
+        // the lock itself is reentrant, so every acquisition can use a lock holder of its own.
         // autoLock.releaseLock() is called on lockHolder.close()
+        AutoLock autoLock = AutoLock.createBasicLockHolderFor(lock);
         autoLock.acquireLock();
         return autoLock;
     }
 
+    @Override
+    public void discardCommitLock(final String branchName) {
+        checkNotNull(branchName, "Precondition violation - argument 'branchName' must not be NULL!");
+        this.branchNameToCommitLock.remove(branchName);
+    }
+
     // =====================================================================================================================
     // FEATURES DECLARATION
     // =====================================================================================================================
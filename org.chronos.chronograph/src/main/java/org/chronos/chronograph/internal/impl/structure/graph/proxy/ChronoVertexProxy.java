@@ -19,6 +19,9 @@ import java.util.NoSuchElementException;
 
 public class ChronoVertexProxy extends AbstractElementProxy<ChronoVertexImpl> implements ChronoVertex {
 
+    /** The batch which loads this proxy together with others (if any), see {@link ChronoVertexProxyBatch}. */
+    private ChronoVertexProxyBatch batch;
+
     public ChronoVertexProxy(final ChronoGraph graph, final String id) {
         super(graph, id);
     }
@@ -93,10 +96,23 @@ public class ChronoVertexProxy extends AbstractElementProxy<ChronoVertexImpl> im
 
     @Override
     protected ChronoVertexImpl loadElement(final ChronoGraphTransaction tx, final String id) {
+        ChronoVertexProxyBatch batch = this.batch;
+        if (batch != null) {
+            // load the vertices of the whole batch at once; this binds our element as well
+            this.batch = null;
+            batch.load(tx);
+            if (this.element != null) {
+                return this.element;
+            }
+        }
         ChronoVertex vertex = (ChronoVertex) tx.getVertex(id);
         return ChronoProxyUtil.resolveVertexProxy(vertex);
     }
 
+    void setBatch(final ChronoVertexProxyBatch batch) {
+        this.batch = batch;
+    }
+
     @Override
     protected void registerProxyAtTransaction(final ChronoGraphTransaction transaction) {
         ((GraphTransactionContextInternal) transaction.getContext()).registerVertexProxyInCache(this);
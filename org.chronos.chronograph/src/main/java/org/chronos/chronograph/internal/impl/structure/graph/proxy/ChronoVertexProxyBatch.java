@@ -0,0 +1,108 @@
+package org.chronos.chronograph.internal.impl.structure.graph.proxy;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.chronos.chronograph.api.structure.ChronoVertex;
+import org.chronos.chronograph.api.transaction.ChronoGraphTransaction;
+import org.chronos.chronograph.internal.impl.structure.graph.ChronoVertexImpl;
+import org.chronos.chronograph.internal.impl.util.ChronoProxyUtil;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.*;
+
+/**
+ * A group of {@link ChronoVertexProxy vertex proxies} which have been handed out together, e.g. as one batch of query
+ * results.
+ *
+ * <p>
+ * The proxies remain lazy: nothing is loaded until one of them is accessed. At that point, the vertices of all proxies
+ * in the batch are loaded at once with a single bulk get, instead of one lookup per proxy.
+ */
+public class ChronoVertexProxyBatch {
+
+    // =================================================================================================================
+    // FIELDS
+    // =================================================================================================================
+
+    private final ChronoGraphTransaction owningTransaction;
+    private final Function<Collection<String>, List<ChronoVertex>> loader;
+
+    /** The proxies of this batch. Set to <code>null</code> once the batch has been loaded. */
+    private List<ChronoVertexProxy> proxies;
+
+    // =================================================================================================================
+    // CONSTRUCTOR
+    // =================================================================================================================
+
+    /**
+     * Creates a new, empty batch.
+     *
+     * @param owningTransaction The transaction which creates the proxies. The batch is only loaded within this transaction. Must not be <code>null</code>.
+     * @param loader            Eagerly loads the vertices for the given IDs in bulk. Must not be <code>null</code>.
+     */
+    public ChronoVertexProxyBatch(final ChronoGraphTransaction owningTransaction, final Function<Collection<String>, List<ChronoVertex>> loader) {
+        checkNotNull(owningTransaction, "Precondition violation - argument 'owningTransaction' must not be NULL!");
+        checkNotNull(loader, "Precondition violation - argument 'loader' must not be NULL!");
+        this.owningTransaction = owningTransaction;
+        this.loader = loader;
+        this.proxies = Lists.newArrayList();
+    }
+
+    // =================================================================================================================
+    // PUBLIC API
+    // =================================================================================================================
+
+    public void add(final ChronoVertexProxy proxy) {
+        checkNotNull(proxy, "Precondition violation - argument 'proxy' must not be NULL!");
+        checkState(this.proxies != null, "This batch has already been loaded!");
+        this.proxies.add(proxy);
+        proxy.setBatch(this);
+    }
+
+    // =================================================================================================================
+    // INTERNAL API
+    // =================================================================================================================
+
+    /**
+     * Loads the vertices of all proxies in this batch which are not loaded yet, and binds the proxies to them.
+     *
+     * <p>
+     * Does nothing if the batch has been loaded before, or if the given transaction is not the one which created the
+     * proxies (the proxies then load their vertices individually).
+     *
+     * @param tx The transaction in which the first proxy is accessed. Must not be <code>null</code>.
+     */
+    void load(final ChronoGraphTransaction tx) {
+        List<ChronoVertexProxy> proxies = this.proxies;
+        if (proxies == null || tx.equals(this.owningTransaction) == false) {
+            return;
+        }
+        this.proxies = null;
+        Set<String> ids = Sets.newHashSet();
+        for (ChronoVertexProxy proxy : proxies) {
+            if (proxy.isLoaded() == false) {
+                ids.add(proxy.id());
+            }
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        Map<String, ChronoVertexImpl> idToVertex = Maps.newHashMap();
+        for (ChronoVertex vertex : this.loader.apply(ids)) {
+            idToVertex.put(vertex.id(), ChronoProxyUtil.resolveVertexProxy(vertex));
+        }
+        for (ChronoVertexProxy proxy : proxies) {
+            ChronoVertexImpl vertex = idToVertex.get(proxy.id());
+            if (vertex != null && proxy.isLoaded() == false) {
+                proxy.rebindTo(vertex);
+            }
+        }
+    }
+
+}
@@ -8,6 +8,7 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.chronos.chronodb.api.DumpOption;
 import org.chronos.chronodb.api.Order;
 import org.chronos.chronograph.api.branch.ChronoGraphBranchManager;
+import org.chronos.chronograph.api.changefeed.ChronoGraphChangeFeed;
 import org.chronos.chronograph.api.history.ChronoGraphHistoryManager;
 import org.chronos.chronograph.api.index.ChronoGraphIndexManager;
 import org.chronos.chronograph.api.maintenance.ChronoGraphMaintenanceManager;
@@ -284,6 +285,11 @@ public class NoTransactionControlChronoGraph implements ChronoGraph {
         return this.graph.getStatisticsManager();
     }
 
+    @Override
+    public ChronoGraphChangeFeed getChangeFeed() {
+        return this.graph.getChangeFeed();
+    }
+
     @Override
     public ChronoGraphMaintenanceManager getMaintenanceManager(){
         return this.graph.getMaintenanceManager();
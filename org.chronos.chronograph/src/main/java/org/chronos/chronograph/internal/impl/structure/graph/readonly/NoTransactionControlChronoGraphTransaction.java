@@ -1,6 +1,7 @@
 package org.chronos.chronograph.internal.impl.structure.graph.readonly;
 
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.chronos.chronodb.api.ChronoDBTransaction;
@@ -16,10 +17,12 @@ import org.chronos.chronograph.api.transaction.GraphTransactionContext;
 import org.chronos.chronograph.internal.api.transaction.ChronoGraphTransactionInternal;
 import org.chronos.chronograph.internal.impl.structure.graph.ChronoVertexImpl;
 import org.chronos.chronograph.api.structure.record.IEdgeTargetRecord;
+import org.chronos.chronograph.internal.impl.structure.record.EdgeTargetRecordWithLabel;
 import org.chronos.chronograph.internal.impl.transaction.ElementLoadMode;
 
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -59,11 +62,21 @@ public class NoTransactionControlChronoGraphTransaction implements ChronoGraphTr
         return this.tx.loadVertexRecord(recordId);
     }
 
+    @Override
+    public List<ChronoVertex> loadVertices(final Collection<String> ids, final ElementLoadMode loadMode) {
+        return this.tx.loadVertices(ids, loadMode);
+    }
+
     @Override
     public IEdgeRecord loadEdgeRecord(final String recordId) {
         return this.tx.loadEdgeRecord(recordId);
     }
 
+    @Override
+    public List<EdgeTargetRecordWithLabel> loadAdjacentEdgeTargetRecords(final String vertexId, final Direction direction, final String... labels) {
+        return this.tx.loadAdjacentEdgeTargetRecords(vertexId, direction, labels);
+    }
+
     @Override
     public ChronoGraph getGraph() {
         return new NoTransactionControlChronoGraph(this.tx.getGraph());
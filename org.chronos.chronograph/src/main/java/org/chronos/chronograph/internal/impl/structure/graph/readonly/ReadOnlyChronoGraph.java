@@ -9,6 +9,7 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.chronos.chronodb.api.DumpOption;
 import org.chronos.chronodb.api.Order;
 import org.chronos.chronograph.api.branch.ChronoGraphBranchManager;
+import org.chronos.chronograph.api.changefeed.ChronoGraphChangeFeed;
 import org.chronos.chronograph.api.history.ChronoGraphHistoryManager;
 import org.chronos.chronograph.api.index.ChronoGraphIndexManager;
 import org.chronos.chronograph.api.maintenance.ChronoGraphMaintenanceManager;
@@ -316,6 +317,12 @@ public class ReadOnlyChronoGraph implements ChronoGraph {
         return new ReadOnlyChronoGraphStatisticsManager(this.graph.getStatisticsManager());
     }
 
+    @Override
+    public ChronoGraphChangeFeed getChangeFeed() {
+        // subscribing to the feed does not modify the graph
+        return this.graph.getChangeFeed();
+    }
+
     @Override
     public ChronoGraphHistoryManager getHistoryManager() {
         return new ReadOnlyHistoryManager(this.graph.getHistoryManager());
@@ -1,12 +1,14 @@
 package org.chronos.chronograph.internal.impl.structure.graph.readonly;
 
 import org.apache.tinkerpop.gremlin.structure.Element;
+import org.chronos.chronodb.api.indexing.IndexEncoding;
 import org.chronos.chronograph.api.builder.index.IndexBuilderStarter;
 import org.chronos.chronograph.api.index.ChronoGraphIndex;
 import org.chronos.chronograph.api.index.ChronoGraphIndexManager;
 
 import java.util.Collections;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import static com.google.common.base.Preconditions.*;
 
@@ -35,6 +37,11 @@ public class ReadOnlyChronoGraphIndexManager implements ChronoGraphIndexManager
         this.unsupportedOperation();
     }
 
+    @Override
+    public CompletableFuture<Void> reindexAllOnline() {
+        return this.unsupportedOperation();
+    }
+
     @Override
     public void reindex(final ChronoGraphIndex index) {
         this.unsupportedOperation();
@@ -70,6 +77,11 @@ public class ReadOnlyChronoGraphIndexManager implements ChronoGraphIndexManager
         return this.manager.getDirtyIndices();
     }
 
+    @Override
+    public IndexEncoding getIndexEncoding(final ChronoGraphIndex index) {
+        return this.manager.getIndexEncoding(index);
+    }
+
     private <T> T unsupportedOperation(){
         throw new UnsupportedOperationException("This operation is not supported in a read-only graph!");
     }
@@ -1,9 +1,11 @@
 package org.chronos.chronograph.internal.impl.structure.graph.readonly;
 
 import org.chronos.chronograph.api.exceptions.TriggerAlreadyExistsException;
+import org.chronos.chronograph.api.transaction.trigger.AsyncTriggerStatistics;
 import org.chronos.chronograph.api.transaction.trigger.ChronoGraphTrigger;
 import org.chronos.chronograph.api.transaction.trigger.ChronoGraphTriggerManager;
 import org.chronos.chronograph.api.transaction.trigger.GraphTriggerMetadata;
+import org.chronos.chronograph.api.transaction.trigger.TriggerExecutionMode;
 
 import java.util.Collections;
 import java.util.List;
@@ -94,6 +96,26 @@ public class ReadOnlyChronoGraphTriggerManager implements ChronoGraphTriggerMana
         return this.manager.getTrigger(triggerName);
     }
 
+    @Override
+    public boolean setExecutionMode(final String triggerName, final TriggerExecutionMode mode) {
+        return this.unsupportedOperation();
+    }
+
+    @Override
+    public boolean setExecutionMode(final String triggerName, final TriggerExecutionMode mode, final Object commitMetadata) {
+        return this.unsupportedOperation();
+    }
+
+    @Override
+    public TriggerExecutionMode getExecutionMode(final String triggerName) {
+        return this.manager.getExecutionMode(triggerName);
+    }
+
+    @Override
+    public AsyncTriggerStatistics getAsyncTriggerStatistics() {
+        return this.manager.getAsyncTriggerStatistics();
+    }
+
     // =================================================================================================================
     // HELPER METHODS
     // =================================================================================================================
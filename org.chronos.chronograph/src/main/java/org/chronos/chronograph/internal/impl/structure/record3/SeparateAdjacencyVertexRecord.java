@@ -0,0 +1,156 @@
+package org.chronos.chronograph.internal.impl.structure.record3;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Multimaps;
+import com.google.common.collect.SetMultimap;
+import com.google.common.collect.Sets;
+import org.chronos.chronodb.api.dump.annotations.ChronosExternalizable;
+import org.chronos.chronograph.api.structure.record.IEdgeTargetRecord;
+import org.chronos.chronograph.api.structure.record.IVertexPropertyRecord;
+import org.chronos.chronograph.api.structure.record.IVertexRecord;
+import org.chronos.chronograph.internal.ChronoGraphConstants;
+import org.chronos.chronograph.internal.impl.dumpformat.converter.VertexRecordConverter;
+import org.chronos.chronograph.internal.impl.structure.graph.ChronoVertexProperty;
+import org.chronos.chronograph.internal.impl.structure.adjacency.AdjacencyKeys;
+import org.chronos.chronograph.internal.impl.structure.record.EdgeTargetRecordWithLabel;
+import org.chronos.common.annotation.PersistentClass;
+
+import java.util.*;
+
+import static com.google.common.base.Preconditions.*;
+
+/**
+ * A {@link SeparateAdjacencyVertexRecord} is the immutable data core of a vertex whose adjacent edges are <b>not</b>
+ * stored in the vertex record itself.
+ *
+ * <p>
+ * In contrast to {@link VertexRecord3}, this record only contains the id, the label and the properties of the vertex.
+ * Every adjacent edge is stored as an individual entry in the {@linkplain ChronoGraphConstants#KEYSPACE_ADJACENCY
+ * adjacency keyspace} instead (see {@link AdjacencyKeys} for the key format). The edge-related methods of this class
+ * therefore always return empty collections; use {@link #isAdjacencyEmbedded()} to tell both kinds of records apart.
+ *
+ * <p>
+ * It is crucial that all instances of this class are to be treated as immutable after their creation, as these
+ * instances are potentially shared among threads due to caching mechanisms.
+ */
+@PersistentClass("kryo")
+@ChronosExternalizable(converterClass = VertexRecordConverter.class)
+public final class SeparateAdjacencyVertexRecord implements IVertexRecord {
+
+	// =====================================================================================================================
+	// FIELDS
+	// =====================================================================================================================
+
+	// note: the only reason why the fields in this class are not declared as "final" is because
+	// serialization mechanisms struggle with final fields. All fields are effectively final, and
+	// all of their contents are effectively immutable.
+
+	/** The id of this record. */
+	private String recordId;
+	/** The label of the vertex stored in this record. */
+	private String label;
+	/** The set of vertex properties known on this vertex. */
+	private Set<IVertexPropertyRecord> properties;
+
+	// =====================================================================================================================
+	// CONSTRUCTORS
+	// =====================================================================================================================
+
+	protected SeparateAdjacencyVertexRecord() {
+		// default constructor for serialization mechanism
+	}
+
+	public SeparateAdjacencyVertexRecord(final String recordId, final String label, final Map<String, ChronoVertexProperty<?>> properties) {
+		checkNotNull(recordId, "Precondition violation - argument 'recordId' must not be NULL!");
+		checkNotNull(label, "Precondition violation - argument 'label' must not be NULL!");
+		checkNotNull(properties, "Precondition violation - argument 'properties' must not be NULL!");
+		this.recordId = recordId;
+		this.label = label;
+		// create an immutable copy of the vertex properties
+		if (properties.isEmpty() == false) {
+			this.properties = Sets.newHashSet();
+			for (ChronoVertexProperty<?> property : properties.values()) {
+				this.properties.add(property.toRecord());
+			}
+		}
+	}
+
+	public SeparateAdjacencyVertexRecord(final String recordId, final String label, final Set<IVertexPropertyRecord> properties) {
+		checkNotNull(recordId, "Precondition violation - argument 'recordId' must not be NULL!");
+		checkNotNull(label, "Precondition violation - argument 'label' must not be NULL!");
+		checkNotNull(properties, "Precondition violation - argument 'properties' must not be NULL!");
+		this.recordId = recordId;
+		this.label = label;
+		if (properties.isEmpty() == false) {
+			this.properties = Sets.newHashSet();
+			this.properties.addAll(properties);
+		}
+	}
+
+	@Override
+	public String getId() {
+		return this.recordId;
+	}
+
+	@Override
+	public String getLabel() {
+		return this.label;
+	}
+
+	@Override
+	public boolean isAdjacencyEmbedded() {
+		return false;
+	}
+
+	@Override
+	public List<EdgeTargetRecordWithLabel> getIncomingEdges() {
+		return Collections.emptyList();
+	}
+
+	@Override
+	public List<EdgeTargetRecordWithLabel> getIncomingEdges(final String... labels) {
+		return Collections.emptyList();
+	}
+
+	@Override
+	public SetMultimap<String, IEdgeTargetRecord> getIncomingEdgesByLabel() {
+		return Multimaps.unmodifiableSetMultimap(HashMultimap.create());
+	}
+
+	@Override
+	public List<EdgeTargetRecordWithLabel> getOutgoingEdges() {
+		return Collections.emptyList();
+	}
+
+	@Override
+	public List<EdgeTargetRecordWithLabel> getOutgoingEdges(final String... labels) {
+		return Collections.emptyList();
+	}
+
+	@Override
+	public SetMultimap<String, IEdgeTargetRecord> getOutgoingEdgesByLabel() {
+		return Multimaps.unmodifiableSetMultimap(HashMultimap.create());
+	}
+
+	@Override
+	public Set<IVertexPropertyRecord> getProperties() {
+		if (this.properties == null || this.properties.isEmpty()) {
+			return Collections.emptySet();
+		}
+		return Collections.unmodifiableSet(this.properties);
+	}
+
+	@Override
+	public IVertexPropertyRecord getProperty(final String propertyKey) {
+		if (propertyKey == null || this.properties == null || this.properties.isEmpty()) {
+			return null;
+		}
+		for (IVertexPropertyRecord record : this.properties) {
+			if (Objects.equals(record.getKey(), propertyKey)) {
+				return record;
+			}
+		}
+		return null;
+	}
+
+}
@@ -12,6 +12,7 @@ import org.chronos.chronodb.internal.api.query.searchspec.DoubleSearchSpecificat
 import org.chronos.chronodb.internal.api.query.searchspec.LongSearchSpecification;
 import org.chronos.chronodb.internal.api.query.searchspec.SearchSpecification;
 import org.chronos.chronodb.internal.api.query.searchspec.StringSearchSpecification;
+import org.chronos.chronodb.internal.api.stream.CloseableIterator;
 import org.chronos.chronodb.internal.impl.query.TextMatchMode;
 import org.chronos.chronodb.internal.impl.query.parser.ast.BinaryOperatorElement;
 import org.chronos.chronodb.internal.impl.query.parser.ast.BinaryQueryOperator;
@@ -48,15 +49,17 @@ public class ChronoGraphQueryProcessor {
 
     public Iterator<Vertex> getAllVerticesIterator() {
         ChronoDBTransaction tx = this.tx.getBackingDBTransaction();
-        Set<String> keySet = Sets.newHashSet();
+        // stream the keys instead of materializing the (potentially huge) key set. The stream
+        // does not hold any resources between pages, so it is safe to hand it out as a plain iterator.
+        CloseableIterator<String> keyStream = CloseableIterator.wrap(Collections.<String>emptyIterator());
         try {
-            keySet = tx.keySet(ChronoGraphConstants.KEYSPACE_VERTEX);
+            keyStream = tx.keyStream(ChronoGraphConstants.KEYSPACE_VERTEX);
         } catch (UnknownKeyspaceException ignored) {
         }
         GraphTransactionContext context = this.tx.getContext();
         if (context.isDirty() == false) {
             // no transient modifications; return the persistent state directly
-            return new VertexResolvingIterator(keySet.iterator(), ElementLoadMode.LAZY);
+            return new VertexResolvingIterator(keyStream.asIterator(), ElementLoadMode.LAZY);
         }
         // our context is dirty, therefore we have to add all new vertices and remove all deleted vertices
         Set<String> modifiedKeySet = Sets.newHashSet();
@@ -71,12 +74,15 @@ public class ChronoGraphQueryProcessor {
                 modifiedKeySet.add(id);
             }
         }
-        for (String id : keySet) {
-            if (removedVertexIds.contains(id) == false) {
-                modifiedKeySet.add(id);
-            }
-        }
-        Iterator<Vertex> resultIterator = new VertexResolvingIterator(modifiedKeySet.iterator(), ElementLoadMode.LAZY);
+        // the persistent keys which are neither removed nor already contained in the modified key set
+        CloseableIterator<String> persistentKeys = CloseableIterator.filter(keyStream,
+            id -> removedVertexIds.contains(id) == false && modifiedKeySet.contains(id) == false
+        );
+        CloseableIterator<String> keys = CloseableIterator.concat(Iterators.forArray(
+            CloseableIterator.wrap(modifiedKeySet.iterator()),
+            persistentKeys
+        ));
+        Iterator<Vertex> resultIterator = new VertexResolvingIterator(keys.asIterator(), ElementLoadMode.LAZY);
         return ChronoProxyUtil.replaceVerticesByProxies(resultIterator, this.tx);
     }
 
@@ -133,7 +139,7 @@ public class ChronoGraphQueryProcessor {
 
         if (indexedProperties.containsAll(propertyToSearchSpecifications.keySet())) {
             // pure index query
-            resultIterator = this.performVertexQueryOnIndex(searchSpecifications);
+            resultIterator = this.performVertexQueryOnIndex(searchSpecifications, ElementLoadMode.LAZY);
         } else {
             // some properties are not indexed -> may require iteration
             Set<String> indexedPropertiesToUse = Sets.intersection(indexedProperties,
@@ -154,7 +160,8 @@ public class ChronoGraphQueryProcessor {
                     Set<SearchSpecification<?,?>> set = propertyToSearchSpecifications.get(indexedProperty);
                     indexedSearches.addAll(set);
                 }
-                Iterator<Vertex> indexIterator = this.performVertexQueryOnIndex(indexedSearches);
+                // the filter accesses the vertex properties anyways, so we load the candidates eagerly (in bulk)
+                Iterator<Vertex> indexIterator = this.performVertexQueryOnIndex(indexedSearches, ElementLoadMode.EAGER);
                 // prepare the map of properties we need to filter manually
                 Set<SearchSpecification<?,?>> nonIndexedSearches = Sets.newHashSet(searchSpecifications);
                 nonIndexedSearches.removeAll(indexedSearches);
@@ -183,15 +190,17 @@ public class ChronoGraphQueryProcessor {
 
     public Iterator<Edge> getAllEdgesIterator() {
         ChronoDBTransaction tx = this.tx.getBackingDBTransaction();
-        Set<String> keySet = Sets.newHashSet();
+        // stream the keys instead of materializing the (potentially huge) key set. The stream
+        // does not hold any resources between pages, so it is safe to hand it out as a plain iterator.
+        CloseableIterator<String> keyStream = CloseableIterator.wrap(Collections.<String>emptyIterator());
         try {
-            keySet = tx.keySet(ChronoGraphConstants.KEYSPACE_EDGE);
+            keyStream = tx.keyStream(ChronoGraphConstants.KEYSPACE_EDGE);
         } catch (UnknownKeyspaceException ignored) {
         }
         GraphTransactionContext context = this.tx.getContext();
         if (context.isDirty() == false) {
             // no transient modifications; return the persistent state directly
-            return new EdgeResolvingIterator(keySet.iterator(), ElementLoadMode.LAZY);
+            return new EdgeResolvingIterator(keyStream.asIterator(), ElementLoadMode.LAZY);
         }
         // our context is dirty, therefore we have to add all new edges and remove all deleted edges
         Set<String> modifiedKeySet = Sets.newHashSet();
@@ -206,12 +215,15 @@ public class ChronoGraphQueryProcessor {
                 modifiedKeySet.add(id);
             }
         }
-        for (String id : keySet) {
-            if (removedEdgeIds.contains(id) == false) {
-                modifiedKeySet.add(id);
-            }
-        }
-        Iterator<Edge> edges = new EdgeResolvingIterator(modifiedKeySet.iterator(), ElementLoadMode.LAZY);
+        // the persistent keys which are neither removed nor already contained in the modified key set
+        CloseableIterator<String> persistentKeys = CloseableIterator.filter(keyStream,
+            id -> removedEdgeIds.contains(id) == false && modifiedKeySet.contains(id) == false
+        );
+        CloseableIterator<String> keys = CloseableIterator.concat(Iterators.forArray(
+            CloseableIterator.wrap(modifiedKeySet.iterator()),
+            persistentKeys
+        ));
+        Iterator<Edge> edges = new EdgeResolvingIterator(keys.asIterator(), ElementLoadMode.LAZY);
         return ChronoProxyUtil.replaceEdgesByProxies(edges, this.tx);
     }
 
@@ -322,8 +334,10 @@ public class ChronoGraphQueryProcessor {
         return (ChronoGraphIndexManagerInternal) this.tx.getGraph().getIndexManager(branchName);
     }
 
-    private Iterator<Vertex> performVertexQueryOnIndex(final Set<SearchSpecification<?,?>> searchSpecs) {
+    private Iterator<Vertex> performVertexQueryOnIndex(final Set<SearchSpecification<?,?>> searchSpecs,
+                                                       final ElementLoadMode loadMode) {
         checkNotNull(searchSpecs, "Precondition violation - argument 'searchSpecs' must not be NULL!");
+        checkNotNull(loadMode, "Precondition violation - argument 'loadMode' must not be NULL!");
         ChronoGraphIndexManagerInternal indexManager = this.getIndexManager();
         Iterator<String> indexQueryResultIdIterator = indexManager.findVertexIdsByIndexedProperties(this.tx, searchSpecs);
         // we now enhance this iterator by looking at the modifications performed by the user in the transaction context
@@ -386,10 +400,10 @@ public class ChronoGraphQueryProcessor {
             Set<String> resultVertexIds = verticesToKeep.stream().map(v -> (String) v.id()).collect(Collectors.toSet());
             // everything that was modified transiently and matches the query has to be added to the result set
             resultSet.addAll(resultVertexIds);
-            return new VertexResolvingIterator(resultSet.iterator(), ElementLoadMode.LAZY);
+            return new VertexResolvingIterator(resultSet.iterator(), loadMode);
         } else {
             // query context is clean, no modifications, so index query delivers the result immediately
-            return new VertexResolvingIterator(indexQueryResultIdIterator, ElementLoadMode.LAZY);
+            return new VertexResolvingIterator(indexQueryResultIdIterator, loadMode);
         }
     }
 
@@ -545,53 +559,61 @@ public class ChronoGraphQueryProcessor {
 
     private class VertexResolvingIterator implements Iterator<Vertex> {
 
+        /** The number of vertex IDs which are resolved together in a single bulk get. */
+        private static final int BATCH_SIZE = 256;
+
         private final ElementLoadMode loadMode;
         private final Iterator<?> idIterator;
 
-        private Vertex nextVertex;
+        private Iterator<ChronoVertex> currentBatch;
 
         private VertexResolvingIterator(final Iterator<?> idIterator, final ElementLoadMode loadMode) {
             checkNotNull(idIterator, "Precondition violation - argument 'idIterator' must not be NULL!");
             checkNotNull(loadMode, "Precondition violation - argument 'loadMode' must not be NULL!");
             this.idIterator = idIterator;
             this.loadMode = loadMode;
-            this.tryResolveNextVertex();
+            this.currentBatch = Collections.emptyIterator();
+            this.tryResolveNextBatch();
         }
 
         @Override
         public boolean hasNext() {
-            return this.nextVertex != null;
+            return this.currentBatch.hasNext();
         }
 
         @Override
         public Vertex next() {
-            if (this.nextVertex == null) {
+            if (this.currentBatch.hasNext() == false) {
                 throw new NoSuchElementException();
             }
-            Vertex vertex = this.nextVertex;
-            this.tryResolveNextVertex();
+            Vertex vertex = this.currentBatch.next();
+            if (this.currentBatch.hasNext() == false) {
+                this.tryResolveNextBatch();
+            }
             return vertex;
         }
 
-        private void tryResolveNextVertex() {
+        private void tryResolveNextBatch() {
             while (this.idIterator.hasNext()) {
-                // check if we have a vertex for this ID
-                Object next = this.idIterator.next();
-                String vertexId = null;
-                if (next instanceof String) {
-                    vertexId = (String) next;
-                } else {
-                    vertexId = String.valueOf(next);
+                // collect the next batch of IDs...
+                List<String> vertexIds = Lists.newArrayListWithCapacity(BATCH_SIZE);
+                while (this.idIterator.hasNext() && vertexIds.size() < BATCH_SIZE) {
+                    Object next = this.idIterator.next();
+                    if (next instanceof String) {
+                        vertexIds.add((String) next);
+                    } else {
+                        vertexIds.add(String.valueOf(next));
+                    }
                 }
-                Vertex vertex = ChronoGraphQueryProcessor.this.tx.loadVertex(vertexId, this.loadMode);
-                if (vertex != null) {
-                    this.nextVertex = vertex;
+                // ... and resolve them in one go
+                List<ChronoVertex> vertices = ChronoGraphQueryProcessor.this.tx.loadVertices(vertexIds, this.loadMode);
+                if (vertices.isEmpty() == false) {
+                    this.currentBatch = vertices.iterator();
                     return;
                 }
             }
             // we ran out of IDs -> there cannot be a next vertex
-            this.nextVertex = null;
-            return;
+            this.currentBatch = Collections.emptyIterator();
         }
 
     }
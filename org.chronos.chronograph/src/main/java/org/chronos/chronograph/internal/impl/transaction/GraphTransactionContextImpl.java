@@ -313,6 +313,72 @@ public class GraphTransactionContextImpl implements GraphTransactionContextInter
         }
     }
 
+    /**
+     * Takes over the modifications of the given vertices and edges from the given context.
+     *
+     * <p>
+     * The element instances are shared between both contexts afterwards, i.e. they are <b>not</b> copied. This is
+     * used by the graph-level merge at commit time to carry over the elements which do not require a merge.
+     *
+     * @param other     The context to take the modifications from. Must not be <code>null</code>.
+     * @param vertexIds The IDs of the modified vertices to take over. Must not be <code>null</code>.
+     * @param edgeIds   The IDs of the modified edges to take over. Must not be <code>null</code>.
+     */
+    @Override
+    public void adoptModificationsFrom(final GraphTransactionContextInternal other, final Set<String> vertexIds, final Set<String> edgeIds) {
+        checkNotNull(other, "Precondition violation - argument 'other' must not be NULL!");
+        checkArgument(other instanceof GraphTransactionContextImpl, "Precondition violation - argument 'other' must be a GraphTransactionContextImpl!");
+        checkNotNull(vertexIds, "Precondition violation - argument 'vertexIds' must not be NULL!");
+        checkNotNull(edgeIds, "Precondition violation - argument 'edgeIds' must not be NULL!");
+        GraphTransactionContextImpl source = (GraphTransactionContextImpl) other;
+        for (String vertexId : vertexIds) {
+            ChronoVertexImpl vertex = source.modifiedVertices.get(vertexId);
+            if (vertex == null) {
+                continue;
+            }
+            this.modifiedVertices.put(vertexId, vertex);
+            this.loadedVertices.put(vertexId, vertex);
+            ChronoVertexProxy proxy = source.getWeaklyCachedVertexProxy(vertexId);
+            if (proxy != null) {
+                this.idToVertexProxy.put(vertexId, proxy);
+            }
+        }
+        for (String edgeId : edgeIds) {
+            ChronoEdgeImpl edge = source.modifiedEdges.get(edgeId);
+            if (edge == null) {
+                continue;
+            }
+            this.modifiedEdges.put(edgeId, edge);
+            this.loadedEdges.put(edgeId, edge);
+            ChronoEdgeProxy proxy = source.getWeaklyCachedEdgeProxy(edgeId);
+            if (proxy != null) {
+                this.idToEdgeProxy.put(edgeId, proxy);
+            }
+        }
+        // note: modified meta-properties are registered with the vertex property as value, so the
+        // owner of the value is always the vertex (and not necessarily the column key of the table)
+        for (Table.Cell<String, String, ChronoProperty<?>> cell : source.vertexPropertyNameToOwnerIdToModifiedProperty.cellSet()) {
+            if (vertexIds.contains(cell.getValue().element().id())) {
+                this.vertexPropertyNameToOwnerIdToModifiedProperty.put(cell.getRowKey(), cell.getColumnKey(), cell.getValue());
+            }
+        }
+        for (Table.Cell<String, String, ChronoProperty<?>> cell : source.edgePropertyNameToOwnerIdToModifiedProperty.cellSet()) {
+            if (edgeIds.contains(cell.getColumnKey())) {
+                this.edgePropertyNameToOwnerIdToModifiedProperty.put(cell.getRowKey(), cell.getColumnKey(), cell.getValue());
+            }
+        }
+        for (Entry<String, String> entry : source.removedVertexPropertyKeyToOwnerId.entries()) {
+            if (vertexIds.contains(entry.getValue())) {
+                this.removedVertexPropertyKeyToOwnerId.put(entry.getKey(), entry.getValue());
+            }
+        }
+        for (Entry<String, String> entry : source.removedEdgePropertyKeyToOwnerId.entries()) {
+            if (edgeIds.contains(entry.getValue())) {
+                this.removedEdgePropertyKeyToOwnerId.put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
     public Set<Vertex> getVerticesWithModificationsOnProperty(String property) {
         Set<String> vertexIds = this.vertexPropertyNameToOwnerIdToModifiedProperty.row(property).keySet();
         return vertexIds.stream().map(this::getModifiedVertex).collect(Collectors.toSet());
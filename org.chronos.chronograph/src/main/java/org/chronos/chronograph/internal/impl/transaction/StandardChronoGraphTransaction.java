@@ -1,10 +1,14 @@
 package org.chronos.chronograph.internal.impl.transaction;
 
 import com.google.common.base.Objects;
+import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.SetMultimap;
 import com.google.common.collect.Sets;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
@@ -20,6 +24,7 @@ import org.chronos.chronodb.api.exceptions.ChronoDBCommitException;
 import org.chronos.chronodb.api.key.TemporalKey;
 import org.chronos.chronodb.internal.api.query.ChronoDBQuery;
 import org.chronos.chronodb.internal.api.query.searchspec.SearchSpecification;
+import org.chronos.chronodb.internal.api.stream.CloseableIterator;
 import org.chronos.chronodb.internal.impl.engines.base.StandardChronoDBTransaction;
 import org.chronos.chronograph.api.branch.GraphBranch;
 import org.chronos.chronograph.api.exceptions.ChronoGraphCommitConflictException;
@@ -61,9 +66,15 @@ import org.chronos.chronograph.internal.impl.structure.graph.ChronoVertexImpl;
 import org.chronos.chronograph.internal.impl.structure.graph.ElementLifecycleEvent;
 import org.chronos.chronograph.internal.impl.structure.graph.proxy.ChronoEdgeProxy;
 import org.chronos.chronograph.internal.impl.structure.graph.proxy.ChronoVertexProxy;
+import org.chronos.chronograph.internal.impl.structure.graph.proxy.ChronoVertexProxyBatch;
 import org.chronos.chronograph.internal.impl.structure.graph.readonly.ReadOnlyChronoEdge;
 import org.chronos.chronograph.internal.impl.structure.graph.readonly.ReadOnlyChronoVertex;
+import org.chronos.chronograph.internal.impl.structure.adjacency.AdjacencyKeys;
+import org.chronos.chronograph.internal.impl.structure.record.EdgeTargetRecordWithLabel;
+import org.chronos.chronograph.internal.impl.structure.record2.EdgeTargetRecord2;
+import org.chronos.chronograph.internal.impl.transaction.merge.GraphMergeConflictDetector;
 import org.chronos.chronograph.internal.impl.transaction.threaded.ChronoThreadedTransactionGraph;
+import org.chronos.chronograph.internal.impl.transaction.trigger.ChronoGraphTriggerManagerInternal;
 import org.chronos.chronograph.internal.impl.transaction.trigger.PostTriggerContextImpl;
 import org.chronos.chronograph.internal.impl.transaction.trigger.PreTriggerContextImpl;
 import org.chronos.chronograph.internal.impl.util.ChronoGraphLoggingUtil;
@@ -75,7 +86,11 @@ import org.chronos.common.exceptions.UnknownEnumLiteralException;
 import org.chronos.common.logging.ChronoLogger;
 import org.chronos.common.logging.LogLevel;
 
+import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -88,6 +103,12 @@ import static com.google.common.base.Preconditions.*;
 
 public class StandardChronoGraphTransaction implements ChronoGraphTransaction, ChronoGraphTransactionInternal {
 
+    /**
+     * The number of times a commit is prepared without holding the commit lock of the branch, before it falls back to
+     * holding the lock throughout the commit.
+     */
+    private static final int MAX_OPTIMISTIC_COMMIT_ATTEMPTS = 3;
+
     private final String transactionId;
     private final ChronoGraphInternal graph;
     private ChronoDBTransaction backendTransaction;
@@ -175,83 +196,74 @@ public class StandardChronoGraphTransaction implements ChronoGraphTransaction, C
         long commitTimestamp = -1;
         long beforePreCommitTriggers = System.currentTimeMillis();
         this.firePreCommitTriggers(metadata);
-        String perfLogPrefix = "[PERF ChronoGraph] Graph Commit (" + this.getBranchName() + "@" + this.getTimestamp() + ")";
+        String branchName = this.getBranchName();
+        String perfLogPrefix = "[PERF ChronoGraph] Graph Commit (" + branchName + "@" + this.getTimestamp() + ")";
         if (performanceLoggingActive) {
             ChronoLogger.logInfo(perfLogPrefix + " -> Pre-Commit Triggers: " + (System.currentTimeMillis() - beforePreCommitTriggers) + "ms.");
         }
-        long timeBeforeLockAcquisition = System.currentTimeMillis();
-        try (AutoLock lock = this.graph.commitLock()) {
-            if (performanceLoggingActive) {
-                ChronoLogger.logInfo(perfLogPrefix + " -> Graph Commit Lock Acquisition: " + (System.currentTimeMillis() - timeBeforeLockAcquisition) + "ms.");
-            }
-            // only try to merge if not in incremental commit mode
-            if (this.getBackingDBTransaction().isInIncrementalCommitMode() == false) {
-                long timeBeforeMerge = System.currentTimeMillis();
-                this.performGraphLevelMergeWithStoreState();
-                if (performanceLoggingActive) {
-                    ChronoLogger.logInfo(perfLogPrefix + " -> Graph-Level Merge With Store: " + (System.currentTimeMillis() - timeBeforeMerge) + "ms.");
+        // asynchronous post-commit triggers are queued while we still hold the commit lock, such that they are executed
+        // in commit order. Reserve the queue slot beforehand, because waiting for it must not block the branch.
+        ChronoGraphTriggerManagerInternal triggerManager = this.getGraphInternal().getTriggerManager();
+        List<Pair<String, ChronoGraphPostCommitTrigger>> asyncTriggers = triggerManager.getAsynchronousPostCommitTriggers();
+        if (!asyncTriggers.isEmpty() && !triggerManager.getAsyncTriggerExecutor().reserveSlot(branchName)) {
+            // the queue is full and the executions are discarded
+            asyncTriggers = Collections.emptyList();
+        }
+        try {
+            boolean incrementalCommit = this.getBackingDBTransaction().isInIncrementalCommitMode();
+            if (incrementalCommit || !this.getGraph().getChronoGraphConfiguration().isOptimisticCommitPreparationEnabled()) {
+                // prepare the commit while holding the lock, such that the pre-persist triggers are fired exactly once.
+                // Incremental commits can't be merged with the store, they always take this path.
+                long timeBeforeLockAcquisition = System.currentTimeMillis();
+                try (AutoLock lock = this.graph.commitLock(branchName)) {
+                    if (performanceLoggingActive) {
+                        ChronoLogger.logInfo(perfLogPrefix + " -> Graph Commit Lock Acquisition: " + (System.currentTimeMillis() - timeBeforeLockAcquisition) + "ms.");
+                    }
+                    this.prepareCommit(metadata, !incrementalCommit, perfLogPrefix);
+                    commitTimestamp = this.persistCommit(metadata, perfLogPrefix, asyncTriggers);
                 }
-            }
-            long timeBeforePrePersistTriggers = System.currentTimeMillis();
-            this.firePrePersistTriggers(metadata);
-            if (performanceLoggingActive) {
-                ChronoLogger.logInfo(perfLogPrefix + " -> Pre-Persist Triggers: " + (System.currentTimeMillis() - timeBeforePrePersistTriggers) + "ms.");
-            }
-            ChronoGraphConfiguration config = this.getGraph().getChronoGraphConfiguration();
-            if (config.isGraphInvariantCheckActive()) {
-                // validate the graph invariant (each edge points to two existing verticies)
-                long timeBeforeGraphInvariantCheck = System.currentTimeMillis();
-                this.validateGraphInvariant();
-                if (performanceLoggingActive) {
-                    ChronoLogger.logInfo(perfLogPrefix + " -> Graph Invariant Check: " + (System.currentTimeMillis() - timeBeforeGraphInvariantCheck) + "ms.");
+            } else {
+                // we prepare the commit (merge, triggers, validation and mapping to key-value pairs) optimistically,
+                // without holding the lock. If another commit on the branch got in between, the preparation is
+                // repeated on top of the new branch head (which fires the pre-persist triggers again). After too many
+                // attempts, we fall back to holding the lock throughout the commit to guarantee progress.
+                boolean committed = false;
+                for (int attempt = 1; attempt <= MAX_OPTIMISTIC_COMMIT_ATTEMPTS && !committed; attempt++) {
+                    this.prepareCommit(metadata, true, perfLogPrefix);
+                    // the merge has reset our timestamp to the branch head
+                    long mergedTimestamp = this.getBackingDBTransaction().getTimestamp();
+                    long timeBeforeLockAcquisition = System.currentTimeMillis();
+                    try (AutoLock lock = this.graph.commitLock(branchName)) {
+                        if (performanceLoggingActive) {
+                            ChronoLogger.logInfo(perfLogPrefix + " -> Graph Commit Lock Acquisition: " + (System.currentTimeMillis() - timeBeforeLockAcquisition) + "ms.");
+                        }
+                        if (this.graph.getNow(branchName) != mergedTimestamp) {
+                            // a concurrent commit on the branch occurred since our merge, try again
+                            if (performanceLoggingActive) {
+                                ChronoLogger.logInfo(perfLogPrefix + " -> Branch head has advanced during commit preparation (attempt " + attempt + " of " + MAX_OPTIMISTIC_COMMIT_ATTEMPTS + ").");
+                            }
+                            continue;
+                        }
+                        commitTimestamp = this.persistCommit(metadata, perfLogPrefix, asyncTriggers);
+                        committed = true;
+                    }
                 }
-            }
-            // perform the schema validation (if any)
-            long timeBeforeSchemaValidation = System.currentTimeMillis();
-            SchemaValidationResult schemaValidationResult = this.performGraphSchemaValidation();
-            if (performanceLoggingActive) {
-                ChronoLogger.logInfo(perfLogPrefix + " -> Schema Validation Check: " + (System.currentTimeMillis() - timeBeforeSchemaValidation) + "ms.");
-            }
-            if (schemaValidationResult.isFailure()) {
-                this.rollback();
-                throw new ChronoGraphSchemaViolationException(schemaValidationResult.generateErrorMessage());
-            }
-            // merge not required, commit this transaction
-            long timeBeforeVertexMap = System.currentTimeMillis();
-            this.mapModifiedVerticesToChronoDB();
-            if (performanceLoggingActive) {
-                ChronoLogger.logInfo(perfLogPrefix + " -> Mapping Vertices to Key-Value pairs: " + (System.currentTimeMillis() - timeBeforeVertexMap) + "ms.");
-            }
-            long timeBeforeEdgesMap = System.currentTimeMillis();
-            this.mapModifiedEdgesToChronoDB();
-            if (performanceLoggingActive) {
-                ChronoLogger.logInfo(perfLogPrefix + " -> Mapping Edges to Key-Value pairs: " + (System.currentTimeMillis() - timeBeforeEdgesMap) + "ms.");
-            }
-            long timeBeforeVariablesMap = System.currentTimeMillis();
-            this.mapModifiedGraphVariablesToChronoDB();
-            if (performanceLoggingActive) {
-                ChronoLogger.logInfo(perfLogPrefix + " -> Mapping Graph Variables to Key-Value pairs: " + (System.currentTimeMillis() - timeBeforeVariablesMap) + "ms.");
-            }
-            if (config.isGraphModificationLoggingActive()) {
-                LogLevel logLevel = config.getGraphModificationLogLevel();
-                String header = ChronoGraphLoggingUtil.createLogHeader(this);
-                ChronoLogger.log(logLevel, header + "Committing Transaction.");
-            }
-            // commit the transaction
-            long timeBeforeChronoDBCommit = System.currentTimeMillis();
-            commitTimestamp = this.getBackingDBTransaction().commit(metadata);
-            if (performanceLoggingActive) {
-                ChronoLogger.logInfo(perfLogPrefix + " -> ChronoDB commit: " + (System.currentTimeMillis() - timeBeforeChronoDBCommit) + "ms. Commit Timestamp: " + commitTimestamp);
-            }
-            // preserve some information for the post-persist triggers (if necessary)
-            if (commitTimestamp >= 0) {
-                // only fire post-persist triggers if the transaction actually changed something
-                long timeBeforePostPersistTriggers = System.currentTimeMillis();
-                this.firePostPersistTriggers(commitTimestamp, metadata);
-                if (performanceLoggingActive) {
-                    ChronoLogger.logInfo(perfLogPrefix + " -> Post Persist Triggers: " + (System.currentTimeMillis() - timeBeforePostPersistTriggers) + "ms.");
+                if (!committed) {
+                    long timeBeforeLockAcquisition = System.currentTimeMillis();
+                    try (AutoLock lock = this.graph.commitLock(branchName)) {
+                        if (performanceLoggingActive) {
+                            ChronoLogger.logInfo(perfLogPrefix + " -> Graph Commit Lock Acquisition: " + (System.currentTimeMillis() - timeBeforeLockAcquisition) + "ms.");
+                        }
+                        this.prepareCommit(metadata, true, perfLogPrefix);
+                        commitTimestamp = this.persistCommit(metadata, perfLogPrefix, asyncTriggers);
+                    }
                 }
             }
+        } finally {
+            if (!asyncTriggers.isEmpty() && commitTimestamp < 0) {
+                // nothing has been committed (or the commit failed), the reserved slot is not needed
+                triggerManager.getAsyncTriggerExecutor().releaseSlot();
+            }
         }
         if (commitTimestamp >= 0) {
             // only fire post-commit triggers if the transaction actually changed something
@@ -269,10 +281,116 @@ public class StandardChronoGraphTransaction implements ChronoGraphTransaction, C
         return commitTimestamp;
     }
 
+    /**
+     * Prepares the commit of this transaction, up to (but excluding) the actual commit in the backing ChronoDB
+     * transaction.
+     *
+     * <p>
+     * This method performs the merge with the current store state (if requested), fires the pre-persist triggers,
+     * validates the graph invariant as well as the graph schema and maps the modified elements to key-value pairs. It
+     * may be called multiple times for the same commit; every call discards the key-value pairs of the previous call.
+     *
+     * @param metadata       The commit metadata. May be <code>null</code>.
+     * @param mergeWithStore Whether or not to merge the transaction with the current store state.
+     * @param perfLogPrefix  The prefix for the performance log messages. Must not be <code>null</code>.
+     */
+    private void prepareCommit(final Object metadata, final boolean mergeWithStore, final String perfLogPrefix) {
+        boolean performanceLoggingActive = this.graph.getBackingDB().getConfiguration().isCommitPerformanceLoggingActive();
+        if (mergeWithStore) {
+            long timeBeforeMerge = System.currentTimeMillis();
+            this.performGraphLevelMergeWithStoreState();
+            if (performanceLoggingActive) {
+                ChronoLogger.logInfo(perfLogPrefix + " -> Graph-Level Merge With Store: " + (System.currentTimeMillis() - timeBeforeMerge) + "ms.");
+            }
+        }
+        long timeBeforePrePersistTriggers = System.currentTimeMillis();
+        this.firePrePersistTriggers(metadata);
+        if (performanceLoggingActive) {
+            ChronoLogger.logInfo(perfLogPrefix + " -> Pre-Persist Triggers: " + (System.currentTimeMillis() - timeBeforePrePersistTriggers) + "ms.");
+        }
+        ChronoGraphConfiguration config = this.getGraph().getChronoGraphConfiguration();
+        if (config.isGraphInvariantCheckActive()) {
+            // validate the graph invariant (each edge points to two existing verticies)
+            long timeBeforeGraphInvariantCheck = System.currentTimeMillis();
+            this.validateGraphInvariant();
+            if (performanceLoggingActive) {
+                ChronoLogger.logInfo(perfLogPrefix + " -> Graph Invariant Check: " + (System.currentTimeMillis() - timeBeforeGraphInvariantCheck) + "ms.");
+            }
+        }
+        // perform the schema validation (if any)
+        long timeBeforeSchemaValidation = System.currentTimeMillis();
+        SchemaValidationResult schemaValidationResult = this.performGraphSchemaValidation();
+        if (performanceLoggingActive) {
+            ChronoLogger.logInfo(perfLogPrefix + " -> Schema Validation Check: " + (System.currentTimeMillis() - timeBeforeSchemaValidation) + "ms.");
+        }
+        if (schemaValidationResult.isFailure()) {
+            this.rollback();
+            throw new ChronoGraphSchemaViolationException(schemaValidationResult.generateErrorMessage());
+        }
+        // merge not required, commit this transaction
+        long timeBeforeVertexMap = System.currentTimeMillis();
+        this.mapModifiedVerticesToChronoDB();
+        if (performanceLoggingActive) {
+            ChronoLogger.logInfo(perfLogPrefix + " -> Mapping Vertices to Key-Value pairs: " + (System.currentTimeMillis() - timeBeforeVertexMap) + "ms.");
+        }
+        long timeBeforeEdgesMap = System.currentTimeMillis();
+        this.mapModifiedEdgesToChronoDB();
+        if (performanceLoggingActive) {
+            ChronoLogger.logInfo(perfLogPrefix + " -> Mapping Edges to Key-Value pairs: " + (System.currentTimeMillis() - timeBeforeEdgesMap) + "ms.");
+        }
+        long timeBeforeVariablesMap = System.currentTimeMillis();
+        this.mapModifiedGraphVariablesToChronoDB();
+        if (performanceLoggingActive) {
+            ChronoLogger.logInfo(perfLogPrefix + " -> Mapping Graph Variables to Key-Value pairs: " + (System.currentTimeMillis() - timeBeforeVariablesMap) + "ms.");
+        }
+    }
+
+    /**
+     * Commits the key-value pairs created by {@link #prepareCommit(Object, boolean, String)} to the backing ChronoDB
+     * transaction, fires the post-persist triggers and queues the asynchronous post-commit triggers. The commit lock of
+     * the branch must be held by the caller.
+     *
+     * @param metadata      The commit metadata. May be <code>null</code>.
+     * @param perfLogPrefix The prefix for the performance log messages. Must not be <code>null</code>.
+     * @param asyncTriggers The asynchronous post-commit triggers to queue. The caller must have reserved a slot in the
+     *                      executor queue if this list is not empty. Must not be <code>null</code>.
+     * @return The commit timestamp, or a negative value if the transaction did not change anything.
+     */
+    private long persistCommit(final Object metadata, final String perfLogPrefix, final List<Pair<String, ChronoGraphPostCommitTrigger>> asyncTriggers) {
+        boolean performanceLoggingActive = this.graph.getBackingDB().getConfiguration().isCommitPerformanceLoggingActive();
+        ChronoGraphConfiguration config = this.getGraph().getChronoGraphConfiguration();
+        if (config.isGraphModificationLoggingActive()) {
+            LogLevel logLevel = config.getGraphModificationLogLevel();
+            String header = ChronoGraphLoggingUtil.createLogHeader(this);
+            ChronoLogger.log(logLevel, header + "Committing Transaction.");
+        }
+        // commit the transaction
+        long timeBeforeChronoDBCommit = System.currentTimeMillis();
+        long commitTimestamp = this.getBackingDBTransaction().commit(metadata);
+        if (performanceLoggingActive) {
+            ChronoLogger.logInfo(perfLogPrefix + " -> ChronoDB commit: " + (System.currentTimeMillis() - timeBeforeChronoDBCommit) + "ms. Commit Timestamp: " + commitTimestamp);
+        }
+        // preserve some information for the post-persist triggers (if necessary)
+        if (commitTimestamp >= 0) {
+            // only fire post-persist triggers if the transaction actually changed something
+            long timeBeforePostPersistTriggers = System.currentTimeMillis();
+            this.firePostPersistTriggers(commitTimestamp, metadata);
+            if (performanceLoggingActive) {
+                ChronoLogger.logInfo(perfLogPrefix + " -> Post Persist Triggers: " + (System.currentTimeMillis() - timeBeforePostPersistTriggers) + "ms.");
+            }
+            if (!asyncTriggers.isEmpty()) {
+                // this has to be the last step: it consumes the reserved slot and must not be followed by a failure
+                GraphBranch branch = this.getGraph().getBranchManager().getBranch(this.getBranchName());
+                this.getGraphInternal().getTriggerManager().getAsyncTriggerExecutor().submitReserved(branch, commitTimestamp, metadata, this.getTimestamp(), asyncTriggers);
+            }
+        }
+        return commitTimestamp;
+    }
+
 
     @Override
     public void commitIncremental() {
-        try (AutoLock lock = this.graph.commitLock()) {
+        try (AutoLock lock = this.graph.commitLock(this.getBranchName())) {
             if (this.getBackingDBTransaction().isInIncrementalCommitMode() == false) {
                 // we're not yet in incremental commit mode, assert that the timestamp is the latest
                 long now;
@@ -772,6 +890,66 @@ public class StandardChronoGraphTransaction implements ChronoGraphTransaction, C
         }
     }
 
+    /**
+     * Loads the vertices with the given IDs.
+     *
+     * <p>
+     * This is the bulk version of {@link #loadVertex(String, ElementLoadMode)}. In {@link ElementLoadMode#EAGER eager}
+     * mode, all vertex records which are neither modified nor loaded in this transaction are fetched from the
+     * database with a single bulk get operation. In {@link ElementLoadMode#LAZY lazy} mode, the returned proxies
+     * share a {@link ChronoVertexProxyBatch}, which performs this bulk get when the first of them is accessed.
+     *
+     * @param ids      The IDs of the vertices to load. Must not be <code>null</code>.
+     * @param loadMode The load mode to use. Must not be <code>null</code>.
+     * @return The loaded vertices, in the order of the given IDs. In eager mode, IDs which do not refer to an existing
+     * vertex are skipped. Never <code>null</code>.
+     */
+    @Override
+    public List<ChronoVertex> loadVertices(final Collection<String> ids, final ElementLoadMode loadMode) {
+        checkNotNull(ids, "Precondition violation - argument 'ids' must not be NULL!");
+        checkNotNull(loadMode, "Precondition violation - argument 'loadMode' must not be NULL!");
+        List<ChronoVertex> resultList = Lists.newArrayListWithCapacity(ids.size());
+        if (loadMode == ElementLoadMode.LAZY) {
+            // lazy loading doesn't touch the database here, but the proxies are loaded together later on
+            ChronoVertexProxyBatch batch = new ChronoVertexProxyBatch(this, idsToLoad -> this.loadVertices(idsToLoad, ElementLoadMode.EAGER));
+            for (String id : ids) {
+                ChronoVertex vertex = this.loadVertex(id, loadMode);
+                if (vertex instanceof ChronoVertexProxy) {
+                    batch.add((ChronoVertexProxy) vertex);
+                }
+                resultList.add(vertex);
+            }
+            return resultList;
+        }
+        // find out which vertices we actually need to fetch from the database
+        Set<String> idsToFetch = Sets.newHashSet();
+        for (String id : ids) {
+            if (this.context.getModifiedVertex(id) == null && this.context.getLoadedVertexForId(id) == null) {
+                idsToFetch.add(id);
+            }
+        }
+        Map<String, IVertexRecord> records = Collections.emptyMap();
+        if (idsToFetch.isEmpty() == false) {
+            records = this.getBackingDBTransaction().getAll(ChronoGraphConstants.KEYSPACE_VERTEX, idsToFetch);
+        }
+        for (String id : ids) {
+            IVertexRecord record = records.get(id);
+            if (record != null && this.context.getLoadedVertexForId(id) == null) {
+                ChronoVertexImpl vertex = new ChronoVertexImpl(this.graph, this, record);
+                // register the loaded instance
+                this.context.registerLoadedVertex(vertex);
+                resultList.add(vertex);
+            } else if (record == null && idsToFetch.contains(id)) {
+                // there is no vertex with this ID
+                continue;
+            } else {
+                // the vertex is modified or has already been loaded in this transaction
+                resultList.add(this.loadVertex(id, loadMode));
+            }
+        }
+        return resultList;
+    }
+
     public ChronoEdge loadEdge(final String id, ElementLoadMode loadMode) {
         checkNotNull(id, "Precondition violation - argument 'id' must not be NULL!");
         checkNotNull(loadMode, "Precondition violation - argument 'loadMode' must not be NULL!");
@@ -858,6 +1036,35 @@ public class StandardChronoGraphTransaction implements ChronoGraphTransaction, C
         }
     }
 
+    @Override
+    public List<EdgeTargetRecordWithLabel> loadAdjacentEdgeTargetRecords(final String vertexId, final Direction direction, final String... labels) {
+        checkNotNull(vertexId, "Precondition violation - argument 'vertexId' must not be NULL!");
+        checkNotNull(direction, "Precondition violation - argument 'direction' must not be NULL!");
+        List<String> prefixes = Lists.newArrayList();
+        for (Direction prefixDirection : Lists.newArrayList(Direction.OUT, Direction.IN)) {
+            if (direction != Direction.BOTH && direction != prefixDirection) {
+                continue;
+            }
+            if (labels == null || labels.length <= 0) {
+                prefixes.add(AdjacencyKeys.createPrefix(vertexId, prefixDirection));
+            } else {
+                // labels may be specified more than once, but we only want to scan each range once
+                for (String label : Sets.newLinkedHashSet(Arrays.asList(labels))) {
+                    prefixes.add(AdjacencyKeys.createPrefix(vertexId, prefixDirection, label));
+                }
+            }
+        }
+        List<EdgeTargetRecordWithLabel> resultList = Lists.newArrayList();
+        for (String prefix : prefixes) {
+            try (CloseableIterator<String> keys = this.backendTransaction.keyStream(ChronoGraphConstants.KEYSPACE_ADJACENCY, prefix)) {
+                while (keys.hasNext()) {
+                    resultList.add(AdjacencyKeys.parseEdgeTarget(keys.next()));
+                }
+            }
+        }
+        return resultList;
+    }
+
     @Override
     public IEdgeRecord loadEdgeRecord(final String recordId) {
         checkNotNull(recordId, "Precondition violation - argument 'recordId' must not be NULL!");
@@ -924,18 +1131,96 @@ public class StandardChronoGraphTransaction implements ChronoGraphTransaction, C
     }
 
     private void performGraphLevelMergeWithStoreState() {
-        GraphTransactionContext oldContext = this.context;
+        GraphTransactionContextInternal oldContext = this.context;
+        long transactionTimestamp = this.backendTransaction.getTimestamp();
         // reset the transaction
         this.context = new GraphTransactionContextImpl();
         ((StandardChronoDBTransaction) this.backendTransaction).cancelAndResetToHead();
-        this.mergeVertexChangesFrom(oldContext);
-        this.mergeEdgeChangesFrom(oldContext);
+        if (this.getGraph().getChronoGraphConfiguration().isBulkMergeEnabled()) {
+            this.performBulkMergeWithStoreState(oldContext, transactionTimestamp);
+        } else {
+            this.mergeVertexChangesFrom(oldContext.getModifiedVertices());
+            this.mergeEdgeChangesFrom(oldContext.getModifiedEdges());
+        }
         this.mergeGraphVariableChangesFrom(oldContext);
     }
 
+    /**
+     * Merges the modified vertices and edges of the given (old) context into the current context, which reflects the
+     * head revision of the branch.
+     *
+     * <p>
+     * Only the elements which have actually been changed by the commits since the given transaction timestamp (as well
+     * as the modified elements which are connected to them via modified edges) are merged element by element. All
+     * other modified elements are adopted by the current context as-is, without reloading them from the store.
+     *
+     * @param oldContext           The context which contains the modifications of this transaction. Must not be
+     *                             <code>null</code>.
+     * @param transactionTimestamp The timestamp on which the modifications have been performed.
+     */
+    private void performBulkMergeWithStoreState(final GraphTransactionContextInternal oldContext, final long transactionTimestamp) {
+        Map<String, ChronoVertex> modifiedVertices = Maps.newHashMap();
+        for (ChronoVertex vertex : oldContext.getModifiedVertices()) {
+            if (vertex.getStatus() != ElementLifecycleStatus.OBSOLETE) {
+                // obsolete vertices have been created and removed in this transaction, they don't need to be merged
+                modifiedVertices.put(vertex.id(), vertex);
+            }
+        }
+        Map<String, ChronoEdge> modifiedEdges = Maps.newHashMap();
+        for (ChronoEdge edge : oldContext.getModifiedEdges()) {
+            if (edge.getStatus() != ElementLifecycleStatus.OBSOLETE) {
+                modifiedEdges.put(edge.id(), edge);
+            }
+        }
+        // find out which of our elements have been changed in the store in the meantime
+        Set<String> conflictingVertexIds = Sets.newHashSet();
+        Set<String> conflictingEdgeIds = Sets.newHashSet();
+        long headTimestamp = this.backendTransaction.getTimestamp();
+        if (headTimestamp > transactionTimestamp) {
+            ChronoDBTransaction ancestorTx = this.graph.getBackingDB().tx(this.getBranchName(), transactionTimestamp);
+            GraphMergeConflictDetector conflictDetector = new GraphMergeConflictDetector(ancestorTx, this.backendTransaction);
+            conflictingVertexIds.addAll(conflictDetector.findChangedVertexIds(modifiedVertices.keySet()));
+            conflictingEdgeIds.addAll(conflictDetector.findChangedEdgeIds(modifiedEdges.keySet()));
+        }
+        if (!conflictingVertexIds.isEmpty() || !conflictingEdgeIds.isEmpty()) {
+            // a modified edge and its modified adjacent vertices have to be merged together,
+            // otherwise the merged elements would refer to stale instances of each other
+            SetMultimap<String, String> vertexIdToModifiedEdgeIds = HashMultimap.create();
+            for (ChronoEdge edge : modifiedEdges.values()) {
+                ChronoEdgeImpl edgeImpl = (ChronoEdgeImpl) edge;
+                vertexIdToModifiedEdgeIds.put(edgeImpl.getOutVertexId(), edge.id());
+                vertexIdToModifiedEdgeIds.put(edgeImpl.getInVertexId(), edge.id());
+            }
+            Deque<String> verticesToVisit = new ArrayDeque<>(conflictingVertexIds);
+            Deque<String> edgesToVisit = new ArrayDeque<>(conflictingEdgeIds);
+            while (!verticesToVisit.isEmpty() || !edgesToVisit.isEmpty()) {
+                while (!verticesToVisit.isEmpty()) {
+                    for (String edgeId : vertexIdToModifiedEdgeIds.get(verticesToVisit.pop())) {
+                        if (conflictingEdgeIds.add(edgeId)) {
+                            edgesToVisit.push(edgeId);
+                        }
+                    }
+                }
+                while (!edgesToVisit.isEmpty()) {
+                    ChronoEdgeImpl edge = (ChronoEdgeImpl) modifiedEdges.get(edgesToVisit.pop());
+                    for (String vertexId : Arrays.asList(edge.getOutVertexId(), edge.getInVertexId())) {
+                        if (modifiedVertices.containsKey(vertexId) && conflictingVertexIds.add(vertexId)) {
+                            verticesToVisit.push(vertexId);
+                        }
+                    }
+                }
+            }
+        }
+        // adopt the elements which don't need to be merged
+        Set<String> adoptedVertexIds = Sets.difference(modifiedVertices.keySet(), conflictingVertexIds);
+        Set<String> adoptedEdgeIds = Sets.difference(modifiedEdges.keySet(), conflictingEdgeIds);
+        this.context.adoptModificationsFrom(oldContext, adoptedVertexIds, adoptedEdgeIds);
+        // merge the remaining elements one by one
+        this.mergeVertexChangesFrom(conflictingVertexIds.stream().map(modifiedVertices::get).collect(Collectors.toList()));
+        this.mergeEdgeChangesFrom(conflictingEdgeIds.stream().map(modifiedEdges::get).collect(Collectors.toList()));
+    }
 
-    private void mergeVertexChangesFrom(final GraphTransactionContext oldContext) {
-        Set<ChronoVertex> verticesToSynchronize = Sets.newHashSet(oldContext.getModifiedVertices());
+    private void mergeVertexChangesFrom(final Collection<ChronoVertex> verticesToSynchronize) {
         for (ChronoVertex vertex : verticesToSynchronize) {
             ElementLifecycleStatus status = vertex.getStatus();
             switch (status) {
@@ -1072,8 +1357,7 @@ public class StandardChronoGraphTransaction implements ChronoGraphTransaction, C
         return true;
     }
 
-    private void mergeEdgeChangesFrom(final GraphTransactionContext oldContext) {
-        Set<ChronoEdge> edgesToSynchronize = Sets.newHashSet(oldContext.getModifiedEdges());
+    private void mergeEdgeChangesFrom(final Collection<ChronoEdge> edgesToSynchronize) {
         for (ChronoEdge edge : edgesToSynchronize) {
             ElementLifecycleStatus status = edge.getStatus();
             switch (status) {
@@ -1266,31 +1550,44 @@ public class StandardChronoGraphTransaction implements ChronoGraphTransaction, C
     private void mapModifiedVerticesToChronoDB() {
         // get the backing transaction
         ChronoDBTransaction tx = this.getBackingDBTransaction();
+        // check where the adjacent edges are supposed to be stored
+        boolean separateAdjacency = this.getGraph().getChronoGraphConfiguration().isSeparateAdjacencyEnabled();
         // read the set of modified vertices
         Set<ChronoVertex> modifiedVertices = this.context.getModifiedVertices();
         // write each vertex into a key-value pair in the transaction
         for (ChronoVertex vertex : modifiedVertices) {
             String vertexId = vertex.id();
+            ChronoVertexImpl vertexImpl = (ChronoVertexImpl) vertex;
             ElementLifecycleStatus vertexStatus = vertex.getStatus();
             switch (vertexStatus) {
                 case NEW:
-                    tx.put(ChronoGraphConstants.KEYSPACE_VERTEX, vertexId, ((ChronoVertexImpl) vertex).toRecord());
+                    tx.put(ChronoGraphConstants.KEYSPACE_VERTEX, vertexId, vertexImpl.toRecord());
                     break;
                 case OBSOLETE:
                     // obsolete graph elements are not committed to the store,
                     // they have been created AND removed in the same transaction
                     break;
                 case EDGE_CHANGED:
-                    tx.put(ChronoGraphConstants.KEYSPACE_VERTEX, vertexId, ((ChronoVertexImpl) vertex).toRecord(), PutOption.NO_INDEX);
+                    if (separateAdjacency && vertexImpl.isAdjacencyStoredSeparately()) {
+                        // the record does not contain the edges, they are written individually
+                        // by mapModifiedEdgesToChronoDB(), so there is nothing to do here
+                        break;
+                    }
+                    this.convertAdjacencyLayoutIfNecessary(vertexImpl, separateAdjacency);
                     break;
                 case PERSISTED:
                     // this case should actually be unreachable because persisted elements are clean and not dirty
                     throw new IllegalStateException(
                         "Unreachable code reached: PERSISTED vertex '" + vertexId + "' is listed as dirty!");
                 case PROPERTY_CHANGED:
-                    tx.put(ChronoGraphConstants.KEYSPACE_VERTEX, vertexId, ((ChronoVertexImpl) vertex).toRecord());
+                    IVertexRecord record = this.convertAdjacencyLayoutIfNecessary(vertexImpl, separateAdjacency);
+                    tx.put(ChronoGraphConstants.KEYSPACE_VERTEX, vertexId, record);
                     break;
                 case REMOVED:
+                    if (separateAdjacency == false && vertexImpl.isAdjacencyStoredSeparately()) {
+                        // the entries of the removed edges are not cleaned up by mapModifiedEdgesToChronoDB()
+                        this.removeAdjacencyEntries(vertexId);
+                    }
                     tx.remove(ChronoGraphConstants.KEYSPACE_VERTEX, vertexId);
                     break;
                 default:
@@ -1299,9 +1596,66 @@ public class StandardChronoGraphTransaction implements ChronoGraphTransaction, C
         }
     }
 
+    /**
+     * Creates the record of the given vertex and makes sure that its adjacent edges are stored in the configured layout.
+     *
+     * <p>
+     * If the vertex is persisted in the other layout, this method moves its adjacent edges into (or out of) the
+     * adjacency keyspace. In the case of an {@linkplain ElementLifecycleStatus#EDGE_CHANGED edge change}, the record
+     * is also written; for property changes, the caller has to write the returned record.
+     *
+     * @param vertex            The vertex to convert. Must not be <code>null</code>.
+     * @param separateAdjacency Whether or not the edges should be stored in the adjacency keyspace.
+     * @return The record of the vertex. Never <code>null</code>.
+     */
+    private IVertexRecord convertAdjacencyLayoutIfNecessary(final ChronoVertexImpl vertex, final boolean separateAdjacency) {
+        ChronoDBTransaction tx = this.getBackingDBTransaction();
+        // note: the record has to be created first, because it may need to read the persisted adjacency entries
+        IVertexRecord record = vertex.toRecord();
+        if (separateAdjacency && vertex.isAdjacencyStoredSeparately() == false) {
+            // move the edges from the record into the adjacency keyspace
+            vertex.edges(Direction.OUT).forEachRemaining(edge -> this.putAdjacencyEntries(ChronoProxyUtil.resolveEdgeProxy(edge)));
+            vertex.edges(Direction.IN).forEachRemaining(edge -> this.putAdjacencyEntries(ChronoProxyUtil.resolveEdgeProxy(edge)));
+        } else if (separateAdjacency == false && vertex.isAdjacencyStoredSeparately()) {
+            // the edges are part of the record now, clean up the adjacency keyspace
+            this.removeAdjacencyEntries(vertex.id());
+        }
+        if (vertex.getStatus() == ElementLifecycleStatus.EDGE_CHANGED) {
+            tx.put(ChronoGraphConstants.KEYSPACE_VERTEX, vertex.id(), record, PutOption.NO_INDEX);
+        }
+        return record;
+    }
+
+    private void putAdjacencyEntries(final ChronoEdgeImpl edge) {
+        ChronoDBTransaction tx = this.getBackingDBTransaction();
+        String outKey = AdjacencyKeys.createKey(edge.getOutVertexId(), Direction.OUT, edge.label(), edge.id(), edge.getInVertexId());
+        tx.put(ChronoGraphConstants.KEYSPACE_ADJACENCY, outKey, new EdgeTargetRecord2(edge.id(), edge.getInVertexId()), PutOption.NO_INDEX);
+        String inKey = AdjacencyKeys.createKey(edge.getInVertexId(), Direction.IN, edge.label(), edge.id(), edge.getOutVertexId());
+        tx.put(ChronoGraphConstants.KEYSPACE_ADJACENCY, inKey, new EdgeTargetRecord2(edge.id(), edge.getOutVertexId()), PutOption.NO_INDEX);
+    }
+
+    private void removeAdjacencyEntries(final ChronoEdgeImpl edge) {
+        ChronoDBTransaction tx = this.getBackingDBTransaction();
+        tx.remove(ChronoGraphConstants.KEYSPACE_ADJACENCY, AdjacencyKeys.createKey(edge.getOutVertexId(), Direction.OUT, edge.label(), edge.id(), edge.getInVertexId()));
+        tx.remove(ChronoGraphConstants.KEYSPACE_ADJACENCY, AdjacencyKeys.createKey(edge.getInVertexId(), Direction.IN, edge.label(), edge.id(), edge.getOutVertexId()));
+    }
+
+    private void removeAdjacencyEntries(final String vertexId) {
+        ChronoDBTransaction tx = this.getBackingDBTransaction();
+        List<String> keys = Lists.newArrayList();
+        try (CloseableIterator<String> keyStream = tx.keyStream(ChronoGraphConstants.KEYSPACE_ADJACENCY, AdjacencyKeys.createPrefix(vertexId))) {
+            keyStream.forEachRemaining(keys::add);
+        }
+        for (String key : keys) {
+            tx.remove(ChronoGraphConstants.KEYSPACE_ADJACENCY, key);
+        }
+    }
+
     private void mapModifiedEdgesToChronoDB() {
         // get the backing transaction
         ChronoDBTransaction tx = this.getBackingDBTransaction();
+        // check if the edges have to be stored in the adjacency keyspace as well
+        boolean separateAdjacency = this.getGraph().getChronoGraphConfiguration().isSeparateAdjacencyEnabled();
         // read the set of modified edges
         Set<ChronoEdge> modifiedEdges = this.context.getModifiedEdges();
         // write each edge into a key-value pair in the transaction
@@ -1314,6 +1668,9 @@ public class StandardChronoGraphTransaction implements ChronoGraphTransaction, C
                         ChronoLogger.logTrace("[COMMIT]: Committing Edge '" + edgeId + "' in status NEW");
                     }
                     tx.put(ChronoGraphConstants.KEYSPACE_EDGE, edgeId, ((ChronoEdgeImpl) edge).toRecord());
+                    if (separateAdjacency) {
+                        this.putAdjacencyEntries((ChronoEdgeImpl) edge);
+                    }
                     break;
                 case EDGE_CHANGED:
                     throw new IllegalStateException(
@@ -1339,6 +1696,9 @@ public class StandardChronoGraphTransaction implements ChronoGraphTransaction, C
                         ChronoLogger.logTrace("[COMMIT]: Removing Edge '" + edgeId + "' in status REMOVED");
                     }
                     tx.remove(ChronoGraphConstants.KEYSPACE_EDGE, edgeId);
+                    if (separateAdjacency) {
+                        this.removeAdjacencyEntries((ChronoEdgeImpl) edge);
+                    }
                     break;
                 default:
                     break;
@@ -1431,7 +1791,8 @@ public class StandardChronoGraphTransaction implements ChronoGraphTransaction, C
     }
 
     private void firePostCommitTriggers(long commitTimestamp, Object commitMetadata) {
-        List<Pair<String, ChronoGraphPostCommitTrigger>> triggers = this.getGraphInternal().getTriggerManager().getPostCommitTriggers();
+        // note: the asynchronous post-commit triggers have already been queued by persistCommit(...)
+        List<Pair<String, ChronoGraphPostCommitTrigger>> triggers = this.getGraphInternal().getTriggerManager().getSynchronousPostCommitTriggers();
         if (triggers.isEmpty()) {
             return;
         }
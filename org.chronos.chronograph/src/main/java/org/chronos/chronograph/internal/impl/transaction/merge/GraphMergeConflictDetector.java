@@ -0,0 +1,233 @@
+package org.chronos.chronograph.internal.impl.transaction.merge;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.chronos.chronodb.api.ChronoDBTransaction;
+import org.chronos.chronodb.api.key.TemporalKey;
+import org.chronos.chronograph.api.structure.record.IEdgeRecord;
+import org.chronos.chronograph.api.structure.record.IPropertyRecord;
+import org.chronos.chronograph.api.structure.record.IVertexPropertyRecord;
+import org.chronos.chronograph.api.structure.record.IVertexRecord;
+import org.chronos.chronograph.internal.ChronoGraphConstants;
+import org.chronos.chronograph.internal.impl.structure.adjacency.AdjacencyKeys;
+import org.chronos.chronograph.internal.impl.structure.record.EdgeTargetRecordWithLabel;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.*;
+
+/**
+ * Determines which graph elements have been changed by the commits which occurred on a branch between two timestamps.
+ *
+ * <p>
+ * The detector is used by the graph-level merge at commit time. Instead of looking up every modified element of the
+ * committing transaction individually, it performs a single scan over the modifications of each graph keyspace in the
+ * time range between the timestamp of the transaction and the current head revision of the branch. The cost of the
+ * detection therefore depends on the amount of concurrent changes, not on the size of the transaction.
+ *
+ * <p>
+ * For every key of interest which was touched in the time range, the record at the start of the range is compared
+ * with the record at the end of the range. Keys which have been rewritten without actually changing the record (e.g.
+ * a property which was set to the value it already had) are not reported.
+ */
+public class GraphMergeConflictDetector {
+
+    // =================================================================================================================
+    // FIELDS
+    // =================================================================================================================
+
+    private final ChronoDBTransaction ancestorTx;
+    private final ChronoDBTransaction headTx;
+
+    // =================================================================================================================
+    // CONSTRUCTOR
+    // =================================================================================================================
+
+    /**
+     * Creates a new conflict detector.
+     *
+     * @param ancestorTx The transaction which reads the state at the start of the time range. Must not be
+     *                   <code>null</code>.
+     * @param headTx     The transaction which reads the state at the end of the time range. Must not be
+     *                   <code>null</code>. Must be on the same branch as the ancestor transaction, and must not have a
+     *                   smaller timestamp.
+     */
+    public GraphMergeConflictDetector(final ChronoDBTransaction ancestorTx, final ChronoDBTransaction headTx) {
+        checkNotNull(ancestorTx, "Precondition violation - argument 'ancestorTx' must not be NULL!");
+        checkNotNull(headTx, "Precondition violation - argument 'headTx' must not be NULL!");
+        checkArgument(ancestorTx.getBranchName().equals(headTx.getBranchName()), "Precondition violation - arguments 'ancestorTx' and 'headTx' must be on the same branch!");
+        checkArgument(ancestorTx.getTimestamp() <= headTx.getTimestamp(), "Precondition violation - argument 'ancestorTx' must not have a larger timestamp than 'headTx'!");
+        this.ancestorTx = ancestorTx;
+        this.headTx = headTx;
+    }
+
+    // =================================================================================================================
+    // PUBLIC API
+    // =================================================================================================================
+
+    /**
+     * Returns the IDs of the given vertices which have been changed in the time range.
+     *
+     * <p>
+     * A vertex is considered to be changed if its record differs between the start and the end of the time range, or if
+     * any of its entries in the {@linkplain ChronoGraphConstants#KEYSPACE_ADJACENCY adjacency keyspace} differs.
+     *
+     * @param vertexIds The IDs of the vertices to check. Must not be <code>null</code>.
+     * @return The subset of the given vertex IDs which have been changed. May be empty, but never <code>null</code>.
+     */
+    public Set<String> findChangedVertexIds(final Set<String> vertexIds) {
+        checkNotNull(vertexIds, "Precondition violation - argument 'vertexIds' must not be NULL!");
+        Set<String> resultSet = Sets.newHashSet();
+        if (vertexIds.isEmpty()) {
+            return resultSet;
+        }
+        for (String key : this.getKeysModifiedInRange(ChronoGraphConstants.KEYSPACE_VERTEX)) {
+            if (!vertexIds.contains(key)) {
+                continue;
+            }
+            Object ancestorValue = this.ancestorTx.get(ChronoGraphConstants.KEYSPACE_VERTEX, key);
+            Object headValue = this.headTx.get(ChronoGraphConstants.KEYSPACE_VERTEX, key);
+            if (!isSameVertexRecord(ancestorValue, headValue)) {
+                resultSet.add(key);
+            }
+        }
+        for (String key : this.getKeysModifiedInRange(ChronoGraphConstants.KEYSPACE_ADJACENCY)) {
+            String vertexId = AdjacencyKeys.parseVertexId(key);
+            if (!vertexIds.contains(vertexId) || resultSet.contains(vertexId)) {
+                continue;
+            }
+            Object ancestorValue = this.ancestorTx.get(ChronoGraphConstants.KEYSPACE_ADJACENCY, key);
+            Object headValue = this.headTx.get(ChronoGraphConstants.KEYSPACE_ADJACENCY, key);
+            if (!Objects.equals(ancestorValue, headValue)) {
+                resultSet.add(vertexId);
+            }
+        }
+        return resultSet;
+    }
+
+    /**
+     * Returns the IDs of the given edges which have been changed in the time range.
+     *
+     * @param edgeIds The IDs of the edges to check. Must not be <code>null</code>.
+     * @return The subset of the given edge IDs which have been changed. May be empty, but never <code>null</code>.
+     */
+    public Set<String> findChangedEdgeIds(final Set<String> edgeIds) {
+        checkNotNull(edgeIds, "Precondition violation - argument 'edgeIds' must not be NULL!");
+        Set<String> resultSet = Sets.newHashSet();
+        if (edgeIds.isEmpty()) {
+            return resultSet;
+        }
+        for (String key : this.getKeysModifiedInRange(ChronoGraphConstants.KEYSPACE_EDGE)) {
+            if (!edgeIds.contains(key)) {
+                continue;
+            }
+            Object ancestorValue = this.ancestorTx.get(ChronoGraphConstants.KEYSPACE_EDGE, key);
+            Object headValue = this.headTx.get(ChronoGraphConstants.KEYSPACE_EDGE, key);
+            if (!isSameEdgeRecord(ancestorValue, headValue)) {
+                resultSet.add(key);
+            }
+        }
+        return resultSet;
+    }
+
+    // =================================================================================================================
+    // HELPER METHODS
+    // =================================================================================================================
+
+    private Set<String> getKeysModifiedInRange(final String keyspace) {
+        Set<String> keys = Sets.newHashSet();
+        long lowerBound = this.ancestorTx.getTimestamp() + 1;
+        long upperBound = this.headTx.getTimestamp();
+        if (lowerBound > upperBound) {
+            // empty range, nothing can have changed
+            return keys;
+        }
+        Iterator<TemporalKey> modifications = this.headTx.getModificationsInKeyspaceBetween(keyspace, lowerBound, upperBound);
+        while (modifications.hasNext()) {
+            keys.add(modifications.next().getKey());
+        }
+        return keys;
+    }
+
+    private static boolean isSameVertexRecord(final Object left, final Object right) {
+        if (left instanceof IVertexRecord == false || right instanceof IVertexRecord == false) {
+            // deletions (or unknown values)
+            return left == null && right == null;
+        }
+        IVertexRecord leftRecord = (IVertexRecord) left;
+        IVertexRecord rightRecord = (IVertexRecord) right;
+        if (!Objects.equals(leftRecord.getLabel(), rightRecord.getLabel())) {
+            return false;
+        }
+        if (leftRecord.isAdjacencyEmbedded() != rightRecord.isAdjacencyEmbedded()) {
+            return false;
+        }
+        if (!isSameProperties(leftRecord.getProperties(), rightRecord.getProperties())) {
+            return false;
+        }
+        if (!leftRecord.isAdjacencyEmbedded()) {
+            // the edges are stored in the adjacency keyspace, we compare them separately
+            return true;
+        }
+        return getAdjacencyKeys(leftRecord).equals(getAdjacencyKeys(rightRecord));
+    }
+
+    private static boolean isSameEdgeRecord(final Object left, final Object right) {
+        if (left instanceof IEdgeRecord == false || right instanceof IEdgeRecord == false) {
+            // deletions (or unknown values)
+            return left == null && right == null;
+        }
+        IEdgeRecord leftRecord = (IEdgeRecord) left;
+        IEdgeRecord rightRecord = (IEdgeRecord) right;
+        return Objects.equals(leftRecord.getLabel(), rightRecord.getLabel())
+            && Objects.equals(leftRecord.getOutVertexId(), rightRecord.getOutVertexId())
+            && Objects.equals(leftRecord.getInVertexId(), rightRecord.getInVertexId())
+            && isSameProperties(leftRecord.getProperties(), rightRecord.getProperties());
+    }
+
+    private static boolean isSameProperties(final Collection<? extends IPropertyRecord> left, final Collection<? extends IPropertyRecord> right) {
+        if (left.size() != right.size()) {
+            return false;
+        }
+        Map<String, IPropertyRecord> rightByKey = Maps.newHashMap();
+        for (IPropertyRecord property : right) {
+            rightByKey.put(property.getKey(), property);
+        }
+        for (IPropertyRecord leftProperty : left) {
+            IPropertyRecord rightProperty = rightByKey.get(leftProperty.getKey());
+            if (rightProperty == null) {
+                return false;
+            }
+            // property values may be arrays
+            if (!Objects.deepEquals(leftProperty.getValue(), rightProperty.getValue())) {
+                return false;
+            }
+            if (leftProperty instanceof IVertexPropertyRecord && rightProperty instanceof IVertexPropertyRecord) {
+                Collection<IPropertyRecord> leftMetaProperties = ((IVertexPropertyRecord) leftProperty).getProperties().values();
+                Collection<IPropertyRecord> rightMetaProperties = ((IVertexPropertyRecord) rightProperty).getProperties().values();
+                if (!isSameProperties(leftMetaProperties, rightMetaProperties)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static Set<String> getAdjacencyKeys(final IVertexRecord record) {
+        // the adjacency keys describe the edges unambiguously, so we can use them for comparison
+        Set<String> keys = Sets.newHashSet();
+        for (EdgeTargetRecordWithLabel edge : record.getOutgoingEdges()) {
+            keys.add(AdjacencyKeys.createKey(record.getId(), Direction.OUT, edge.getLabel(), edge.getRecord().getEdgeId(), edge.getRecord().getOtherEndVertexId()));
+        }
+        for (EdgeTargetRecordWithLabel edge : record.getIncomingEdges()) {
+            keys.add(AdjacencyKeys.createKey(record.getId(), Direction.IN, edge.getLabel(), edge.getRecord().getEdgeId(), edge.getRecord().getOtherEndVertexId()));
+        }
+        return keys;
+    }
+
+}
@@ -15,6 +15,7 @@ import org.chronos.chronodb.api.ChronoDBTransaction;
 import org.chronos.chronodb.api.DumpOption;
 import org.chronos.chronodb.api.Order;
 import org.chronos.chronograph.api.branch.ChronoGraphBranchManager;
+import org.chronos.chronograph.api.changefeed.ChronoGraphChangeFeed;
 import org.chronos.chronograph.api.history.ChronoGraphHistoryManager;
 import org.chronos.chronograph.api.index.ChronoGraphIndexManager;
 import org.chronos.chronograph.api.maintenance.ChronoGraphMaintenanceManager;
@@ -259,6 +260,11 @@ public class ChronoThreadedTransactionGraph implements ChronoGraphInternal {
         return this.originalGraph.getStatisticsManager();
     }
 
+    @Override
+    public ChronoGraphChangeFeed getChangeFeed() {
+        return this.originalGraph.getChangeFeed();
+    }
+
     // =================================================================================================================
     // HISTORY
     // =================================================================================================================
@@ -592,8 +598,13 @@ public class ChronoThreadedTransactionGraph implements ChronoGraphInternal {
     }
 
     @Override
-    public AutoLock commitLock() {
-        return this.originalGraph.commitLock();
+    public AutoLock commitLock(final String branchName) {
+        return this.originalGraph.commitLock(branchName);
+    }
+
+    @Override
+    public void discardCommitLock(final String branchName) {
+        this.originalGraph.discardCommitLock(branchName);
     }
 
     public ChronoGraph getOriginalGraph() {
@@ -1,6 +1,7 @@
 package org.chronos.chronograph.internal.impl.transaction.threaded;
 
 import org.apache.tinkerpop.gremlin.structure.Element;
+import org.chronos.chronodb.api.indexing.IndexEncoding;
 import org.chronos.chronodb.internal.api.query.searchspec.SearchSpecification;
 import org.chronos.chronograph.api.builder.index.IndexBuilderStarter;
 import org.chronos.chronograph.api.index.ChronoGraphIndex;
@@ -10,6 +11,7 @@ import org.chronos.chronograph.internal.api.index.ChronoGraphIndexManagerInterna
 
 import java.util.Iterator;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import static com.google.common.base.Preconditions.*;
 
@@ -36,6 +38,11 @@ public class ThreadedChronoGraphIndexManager implements ChronoGraphIndexManager,
         this.wrappedManager.addIndex(index, commitMetadata);
     }
 
+    @Override
+    public void addIndex(final ChronoGraphIndex index, final IndexEncoding encoding, final Object commitMetadata) {
+        this.wrappedManager.addIndex(index, encoding, commitMetadata);
+    }
+
     @Override
     public Iterator<String> findVertexIdsByIndexedProperties(final ChronoGraphTransaction tx, final Set<SearchSpecification<?,?>> searchSpecifications) {
         return this.wrappedManager.findVertexIdsByIndexedProperties(tx, searchSpecifications);
@@ -61,6 +68,11 @@ public class ThreadedChronoGraphIndexManager implements ChronoGraphIndexManager,
         this.wrappedManager.reindexAll(force);
     }
 
+    @Override
+    public CompletableFuture<Void> reindexAllOnline() {
+        return this.wrappedManager.reindexAllOnline();
+    }
+
     @Override
     public void reindex(final ChronoGraphIndex index) {
         this.wrappedManager.reindexAll();
@@ -96,4 +108,9 @@ public class ThreadedChronoGraphIndexManager implements ChronoGraphIndexManager,
         return this.wrappedManager.getDirtyIndices();
     }
 
+    @Override
+    public IndexEncoding getIndexEncoding(final ChronoGraphIndex index) {
+        return this.wrappedManager.getIndexEncoding(index);
+    }
+
 }
@@ -0,0 +1,414 @@
+package org.chronos.chronograph.internal.impl.transaction.trigger;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.commons.lang3.tuple.Pair;
+import org.chronos.chronograph.api.branch.GraphBranch;
+import org.chronos.chronograph.api.structure.ChronoGraph;
+import org.chronos.chronograph.api.transaction.trigger.AsyncTriggerBackpressurePolicy;
+import org.chronos.chronograph.api.transaction.trigger.AsyncTriggerStatistics;
+import org.chronos.chronograph.api.transaction.trigger.ChronoGraphPostCommitTrigger;
+import org.chronos.chronograph.api.transaction.trigger.PostCommitTriggerContext;
+import org.chronos.common.exceptions.UnknownEnumLiteralException;
+import org.chronos.common.logging.ChronoLogger;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.base.Preconditions.*;
+
+/**
+ * Executes the {@linkplain org.chronos.chronograph.api.transaction.trigger.TriggerExecutionMode#ASYNCHRONOUS asynchronous}
+ * post-commit triggers of a graph in the background.
+ *
+ * <p>
+ * Every commit which has asynchronous triggers submits one execution. The executions are kept in one FIFO queue per
+ * branch, and at most one execution per branch is running at any point in time. This guarantees that the triggers see
+ * the commits of a branch in commit order, while the commits of different branches are processed in parallel by the
+ * worker threads. After each execution, the branch is re-scheduled at the end of the worker queue, so a busy branch
+ * can not starve the others.
+ *
+ * <p>
+ * The total number of pending executions (across all branches) is bounded by the queue capacity. When the capacity is
+ * reached, the {@link AsyncTriggerBackpressurePolicy} determines whether the committing thread waits for a free slot
+ * or the execution is discarded.
+ */
+public class AsyncPostCommitTriggerExecutor {
+
+    // =================================================================================================================
+    // FIELDS
+    // =================================================================================================================
+
+    private final ChronoGraph graph;
+    private final int queueCapacity;
+    private final AsyncTriggerBackpressurePolicy backpressurePolicy;
+
+    private final ExecutorService workers;
+    private final Semaphore queueSlots;
+
+    // the following fields are guarded by "this"
+    private final Map<String, Deque<PendingExecution>> branchNameToPendingExecutions = Maps.newHashMap();
+    private int queueDepth = 0;
+    private boolean shutdown = false;
+
+    private final AtomicLong executedCount = new AtomicLong(0);
+    private final AtomicLong discardedCount = new AtomicLong(0);
+    private final AtomicLong failedCount = new AtomicLong(0);
+    private volatile long lastLagMillis = 0;
+
+    // =================================================================================================================
+    // CONSTRUCTOR
+    // =================================================================================================================
+
+    /**
+     * Creates a new executor.
+     *
+     * @param graph              The graph on which the trigger contexts are opened. Must not be <code>null</code>. Must
+     *                           not be a thread-bound transaction graph.
+     * @param threadCount        The number of worker threads. Must be greater than zero.
+     * @param queueCapacity      The maximum number of pending executions. Must be greater than zero.
+     * @param backpressurePolicy The policy to apply when the queue is full. Must not be <code>null</code>.
+     */
+    public AsyncPostCommitTriggerExecutor(final ChronoGraph graph, final int threadCount, final int queueCapacity, final AsyncTriggerBackpressurePolicy backpressurePolicy) {
+        checkNotNull(graph, "Precondition violation - argument 'graph' must not be NULL!");
+        checkArgument(threadCount > 0, "Precondition violation - argument 'threadCount' must be greater than zero!");
+        checkArgument(queueCapacity > 0, "Precondition violation - argument 'queueCapacity' must be greater than zero!");
+        checkNotNull(backpressurePolicy, "Precondition violation - argument 'backpressurePolicy' must not be NULL!");
+        this.graph = graph;
+        this.queueCapacity = queueCapacity;
+        this.backpressurePolicy = backpressurePolicy;
+        this.queueSlots = new Semaphore(queueCapacity);
+        this.workers = Executors.newFixedThreadPool(threadCount, new ThreadFactoryBuilder()
+            .setNameFormat("ChronoGraph-AsyncTrigger-%d")
+            .setDaemon(true)
+            .build()
+        );
+    }
+
+    // =================================================================================================================
+    // PUBLIC API
+    // =================================================================================================================
+
+    /**
+     * Submits the execution of the given triggers for the given commit.
+     *
+     * <p>
+     * Depending on the backpressure policy, this method may block until there is room in the queue. Callers which need
+     * to submit while holding a lock should use {@link #reserveSlot(String)} and {@link #submitReserved} instead.
+     *
+     * @param branch            The branch on which the commit occurred. Must not be <code>null</code>.
+     * @param commitTimestamp   The timestamp of the commit. Must not be negative.
+     * @param commitMetadata    The metadata of the commit. May be <code>null</code>.
+     * @param ancestorTimestamp The timestamp of the state on which the committed transaction was based. Must not be
+     *                          negative.
+     * @param triggers          The triggers to execute, in execution order. Must not be <code>null</code>.
+     * @return <code>true</code> if the execution has been queued, or <code>false</code> if it has been discarded.
+     */
+    public boolean submit(final GraphBranch branch, final long commitTimestamp, final Object commitMetadata, final long ancestorTimestamp, final List<Pair<String, ChronoGraphPostCommitTrigger>> triggers) {
+        checkNotNull(branch, "Precondition violation - argument 'branch' must not be NULL!");
+        if (!this.reserveSlot(branch.getName())) {
+            return false;
+        }
+        return this.submitReserved(branch, commitTimestamp, commitMetadata, ancestorTimestamp, triggers);
+    }
+
+    /**
+     * Reserves a slot in the queue for an upcoming commit on the given branch.
+     *
+     * <p>
+     * Depending on the backpressure policy, this method may block until there is room in the queue. A successful
+     * reservation must either be consumed by {@link #submitReserved} or returned via {@link #releaseSlot()}.
+     *
+     * @param branchName The name of the branch on which the commit will occur. Must not be <code>null</code>.
+     * @return <code>true</code> if a slot has been reserved, or <code>false</code> if the execution has been discarded.
+     */
+    public boolean reserveSlot(final String branchName) {
+        checkNotNull(branchName, "Precondition violation - argument 'branchName' must not be NULL!");
+        if (!this.acquireQueueSlot()) {
+            this.discardedCount.incrementAndGet();
+            ChronoLogger.logWarning("The queue of asynchronous triggers is full (capacity: " + this.queueCapacity + ")."
+                + " The POST COMMIT triggers for the next commit on branch '" + branchName + "' will not be executed!");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns a slot which has been reserved via {@link #reserveSlot(String)}, but is not needed anymore (e.g. because
+     * the commit did not change anything).
+     */
+    public void releaseSlot() {
+        this.queueSlots.release();
+    }
+
+    /**
+     * Submits the execution of the given triggers for the given commit, using a slot which has been reserved via
+     * {@link #reserveSlot(String)}.
+     *
+     * <p>
+     * This method never blocks. It is intended to be called while the commit lock of the branch is still held, such
+     * that the executions of a branch are queued in commit order.
+     *
+     * @param branch            The branch on which the commit occurred. Must not be <code>null</code>.
+     * @param commitTimestamp   The timestamp of the commit. Must not be negative.
+     * @param commitMetadata    The metadata of the commit. May be <code>null</code>.
+     * @param ancestorTimestamp The timestamp of the state on which the committed transaction was based. Must not be
+     *                          negative.
+     * @param triggers          The triggers to execute, in execution order. Must not be <code>null</code>.
+     * @return <code>true</code> if the execution has been queued, or <code>false</code> if it has been discarded.
+     */
+    public boolean submitReserved(final GraphBranch branch, final long commitTimestamp, final Object commitMetadata, final long ancestorTimestamp, final List<Pair<String, ChronoGraphPostCommitTrigger>> triggers) {
+        checkNotNull(branch, "Precondition violation - argument 'branch' must not be NULL!");
+        checkArgument(commitTimestamp >= 0, "Precondition violation - argument 'commitTimestamp' must not be negative!");
+        checkArgument(ancestorTimestamp >= 0, "Precondition violation - argument 'ancestorTimestamp' must not be negative!");
+        checkNotNull(triggers, "Precondition violation - argument 'triggers' must not be NULL!");
+        String branchName = branch.getName();
+        PendingExecution execution = new PendingExecution(branch, commitTimestamp, commitMetadata, ancestorTimestamp, triggers);
+        synchronized (this) {
+            if (this.shutdown) {
+                this.queueSlots.release();
+                this.discardedCount.incrementAndGet();
+                ChronoLogger.logWarning("The graph is being closed. The asynchronous POST COMMIT triggers for the commit at timestamp "
+                    + commitTimestamp + " on branch '" + branchName + "' will not be executed!");
+                return false;
+            }
+            Deque<PendingExecution> pendingExecutions = this.branchNameToPendingExecutions.get(branchName);
+            boolean branchIsIdle = pendingExecutions == null;
+            if (branchIsIdle) {
+                pendingExecutions = new ArrayDeque<>();
+                this.branchNameToPendingExecutions.put(branchName, pendingExecutions);
+            }
+            pendingExecutions.addLast(execution);
+            this.queueDepth++;
+            if (branchIsIdle) {
+                this.scheduleBranch(branchName);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a snapshot of the current statistics of this executor.
+     *
+     * @return The statistics. Never <code>null</code>.
+     */
+    public synchronized AsyncTriggerStatistics getStatistics() {
+        long now = System.currentTimeMillis();
+        long currentLag = 0;
+        for (Deque<PendingExecution> pendingExecutions : this.branchNameToPendingExecutions.values()) {
+            // per branch, the executions are started in FIFO order, so the first one which has not
+            // been started yet is the oldest waiting execution of the branch
+            for (PendingExecution execution : pendingExecutions) {
+                if (!execution.started) {
+                    currentLag = Math.max(currentLag, now - execution.submitTime);
+                    break;
+                }
+            }
+        }
+        return new AsyncTriggerStatisticsImpl(
+            this.queueCapacity,
+            this.queueDepth,
+            currentLag,
+            this.lastLagMillis,
+            this.executedCount.get(),
+            this.discardedCount.get(),
+            this.failedCount.get()
+        );
+    }
+
+    /**
+     * Shuts down this executor.
+     *
+     * <p>
+     * No further executions are accepted. This method waits until the pending executions have been completed, or until
+     * the given timeout has elapsed. In the latter case, the remaining executions are discarded.
+     *
+     * @param timeout The maximum time to wait. Must not be negative.
+     * @param unit    The unit of the timeout. Must not be <code>null</code>.
+     */
+    public void shutdown(final long timeout, final TimeUnit unit) {
+        checkArgument(timeout >= 0, "Precondition violation - argument 'timeout' must not be negative!");
+        checkNotNull(unit, "Precondition violation - argument 'unit' must not be NULL!");
+        long deadline = System.currentTimeMillis() + unit.toMillis(timeout);
+        synchronized (this) {
+            this.shutdown = true;
+            while (this.queueDepth > 0) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    break;
+                }
+                try {
+                    this.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            if (this.queueDepth > 0) {
+                ChronoLogger.logWarning("Shutting down with " + this.queueDepth + " pending asynchronous POST COMMIT trigger executions. These executions will be discarded!");
+                for (String branchName : Lists.newArrayList(this.branchNameToPendingExecutions.keySet())) {
+                    this.discardPendingExecutions(branchName);
+                }
+            }
+        }
+        this.workers.shutdownNow();
+    }
+
+    // =================================================================================================================
+    // HELPER METHODS
+    // =================================================================================================================
+
+    private boolean acquireQueueSlot() {
+        switch (this.backpressurePolicy) {
+            case DISCARD:
+                return this.queueSlots.tryAcquire();
+            case BLOCK:
+                try {
+                    this.queueSlots.acquire();
+                    return true;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            default:
+                throw new UnknownEnumLiteralException(this.backpressurePolicy);
+        }
+    }
+
+    private void scheduleBranch(final String branchName) {
+        // note: must be called while holding the monitor of "this"
+        try {
+            this.workers.execute(() -> this.executeNext(branchName));
+        } catch (RejectedExecutionException e) {
+            // the workers have been shut down in the meantime
+            this.discardPendingExecutions(branchName);
+        }
+    }
+
+    private void discardPendingExecutions(final String branchName) {
+        // note: must be called while holding the monitor of "this"
+        Deque<PendingExecution> pendingExecutions = this.branchNameToPendingExecutions.get(branchName);
+        if (pendingExecutions == null) {
+            return;
+        }
+        for (PendingExecution execution : pendingExecutions) {
+            if (execution.started) {
+                // the running execution releases its own slot when it completes
+                continue;
+            }
+            this.queueDepth--;
+            this.queueSlots.release();
+            this.discardedCount.incrementAndGet();
+        }
+        pendingExecutions.removeIf(execution -> !execution.started);
+        if (pendingExecutions.isEmpty()) {
+            this.branchNameToPendingExecutions.remove(branchName);
+        }
+        this.notifyAll();
+    }
+
+    private void executeNext(final String branchName) {
+        PendingExecution execution;
+        synchronized (this) {
+            Deque<PendingExecution> pendingExecutions = this.branchNameToPendingExecutions.get(branchName);
+            if (pendingExecutions == null || pendingExecutions.isEmpty()) {
+                // discarded in the meantime
+                return;
+            }
+            // the execution remains in the queue while it is running; this keeps
+            // the branch marked as busy, so no other worker picks up its successor
+            execution = pendingExecutions.peekFirst();
+            execution.started = true;
+        }
+        this.lastLagMillis = System.currentTimeMillis() - execution.submitTime;
+        try {
+            this.execute(execution);
+            this.executedCount.incrementAndGet();
+        } finally {
+            synchronized (this) {
+                Deque<PendingExecution> pendingExecutions = this.branchNameToPendingExecutions.get(branchName);
+                pendingExecutions.removeFirst();
+                this.queueDepth--;
+                this.queueSlots.release();
+                if (pendingExecutions.isEmpty()) {
+                    this.branchNameToPendingExecutions.remove(branchName);
+                } else {
+                    this.scheduleBranch(branchName);
+                }
+                this.notifyAll();
+            }
+        }
+    }
+
+    private void execute(final PendingExecution execution) {
+        String branchName = execution.branch.getName();
+        long commitTimestamp = execution.commitTimestamp;
+        ChronoGraph currentStateGraph;
+        try {
+            currentStateGraph = this.graph.tx().createThreadedTx(branchName, commitTimestamp);
+        } catch (Exception e) {
+            this.failedCount.addAndGet(execution.triggers.size());
+            ChronoLogger.logError("Failed to open the state of branch '" + branchName + "' at timestamp " + commitTimestamp + " for asynchronous POST COMMIT triggers. The triggers will not be executed!", e);
+            return;
+        }
+        try (PostCommitTriggerContext ctx = new PostTriggerContextImpl(
+            execution.branch,
+            commitTimestamp,
+            execution.commitMetadata,
+            currentStateGraph,
+            () -> this.graph.tx().createThreadedTx(branchName, execution.ancestorTimestamp),
+            () -> this.graph.tx().createThreadedTx(branchName),
+            () -> this.graph.tx().createThreadedTx(branchName, commitTimestamp - 1))
+        ) {
+            for (Pair<String, ChronoGraphPostCommitTrigger> nameAndTrigger : execution.triggers) {
+                String triggerName = nameAndTrigger.getLeft();
+                ChronoGraphPostCommitTrigger trigger = nameAndTrigger.getRight();
+                try {
+                    trigger.onPostCommit(ctx);
+                } catch (Exception e) {
+                    this.failedCount.incrementAndGet();
+                    ChronoLogger.logError("Exception when evaluating Trigger '" + triggerName + "' in asynchronous POST COMMIT timing.", e);
+                }
+            }
+        } finally {
+            currentStateGraph.tx().rollback();
+        }
+    }
+
+    // =================================================================================================================
+    // INNER CLASSES
+    // =================================================================================================================
+
+    private static class PendingExecution {
+
+        private final GraphBranch branch;
+        private final long commitTimestamp;
+        private final Object commitMetadata;
+        private final long ancestorTimestamp;
+        private final List<Pair<String, ChronoGraphPostCommitTrigger>> triggers;
+        private final long submitTime;
+
+        // guarded by the monitor of the executor
+        private boolean started = false;
+
+        private PendingExecution(final GraphBranch branch, final long commitTimestamp, final Object commitMetadata, final long ancestorTimestamp, final List<Pair<String, ChronoGraphPostCommitTrigger>> triggers) {
+            this.branch = branch;
+            this.commitTimestamp = commitTimestamp;
+            this.commitMetadata = commitMetadata;
+            this.ancestorTimestamp = ancestorTimestamp;
+            this.triggers = triggers;
+            this.submitTime = System.currentTimeMillis();
+        }
+
+    }
+
+}
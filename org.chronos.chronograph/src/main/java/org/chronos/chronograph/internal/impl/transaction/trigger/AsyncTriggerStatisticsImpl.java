@@ -0,0 +1,80 @@
+package org.chronos.chronograph.internal.impl.transaction.trigger;
+
+import org.chronos.chronograph.api.transaction.trigger.AsyncTriggerStatistics;
+
+public class AsyncTriggerStatisticsImpl implements AsyncTriggerStatistics {
+
+    private final int queueCapacity;
+    private final int queueDepth;
+    private final long currentLagMillis;
+    private final long lastLagMillis;
+    private final long executedCount;
+    private final long discardedCount;
+    private final long failedCount;
+
+    public AsyncTriggerStatisticsImpl(
+        final int queueCapacity,
+        final int queueDepth,
+        final long currentLagMillis,
+        final long lastLagMillis,
+        final long executedCount,
+        final long discardedCount,
+        final long failedCount
+    ) {
+        this.queueCapacity = queueCapacity;
+        this.queueDepth = queueDepth;
+        this.currentLagMillis = currentLagMillis;
+        this.lastLagMillis = lastLagMillis;
+        this.executedCount = executedCount;
+        this.discardedCount = discardedCount;
+        this.failedCount = failedCount;
+    }
+
+    @Override
+    public int getQueueCapacity() {
+        return this.queueCapacity;
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return this.queueDepth;
+    }
+
+    @Override
+    public long getCurrentLagMillis() {
+        return this.currentLagMillis;
+    }
+
+    @Override
+    public long getLastLagMillis() {
+        return this.lastLagMillis;
+    }
+
+    @Override
+    public long getExecutedCount() {
+        return this.executedCount;
+    }
+
+    @Override
+    public long getDiscardedCount() {
+        return this.discardedCount;
+    }
+
+    @Override
+    public long getFailedCount() {
+        return this.failedCount;
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncTriggerStatistics[" +
+            "queueDepth=" + queueDepth +
+            ", queueCapacity=" + queueCapacity +
+            ", currentLagMillis=" + currentLagMillis +
+            ", lastLagMillis=" + lastLagMillis +
+            ", executedCount=" + executedCount +
+            ", discardedCount=" + discardedCount +
+            ", failedCount=" + failedCount +
+            "]";
+    }
+}
@@ -1,6 +1,7 @@
 package org.chronos.chronograph.internal.impl.transaction.trigger;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import org.apache.commons.lang3.tuple.Pair;
 import org.chronos.chronodb.api.ChronoDBConstants;
 import org.chronos.chronodb.api.ChronoDBTransaction;
@@ -8,6 +9,7 @@ import org.chronos.chronodb.api.SerializationManager;
 import org.chronos.chronograph.api.exceptions.GraphTriggerClassNotFoundException;
 import org.chronos.chronograph.api.exceptions.GraphTriggerException;
 import org.chronos.chronograph.api.exceptions.TriggerAlreadyExistsException;
+import org.chronos.chronograph.api.transaction.trigger.AsyncTriggerStatistics;
 import org.chronos.chronograph.api.transaction.trigger.ChronoGraphPostCommitTrigger;
 import org.chronos.chronograph.api.transaction.trigger.ChronoGraphPostPersistTrigger;
 import org.chronos.chronograph.api.transaction.trigger.ChronoGraphPreCommitTrigger;
@@ -15,6 +17,8 @@ import org.chronos.chronograph.api.transaction.trigger.ChronoGraphPrePersistTrig
 import org.chronos.chronograph.api.transaction.trigger.ChronoGraphTrigger;
 import org.chronos.chronograph.api.transaction.trigger.ChronoGraphTriggerManager;
 import org.chronos.chronograph.api.transaction.trigger.GraphTriggerMetadata;
+import org.chronos.chronograph.api.transaction.trigger.TriggerExecutionMode;
+import org.chronos.chronograph.internal.api.configuration.ChronoGraphConfiguration;
 import org.chronos.chronograph.internal.ChronoGraphConstants;
 import org.chronos.chronograph.internal.api.structure.ChronoGraphInternal;
 import org.chronos.chronograph.internal.impl.transaction.trigger.script.AbstractScriptedGraphTrigger;
@@ -22,9 +26,11 @@ import org.chronos.common.logging.ChronoLogger;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -36,9 +42,14 @@ public class ChronoGraphTriggerManagerImpl implements ChronoGraphTriggerManager,
     // FIELDS
     // =================================================================================================================
 
+    private static final long ASYNC_TRIGGER_SHUTDOWN_TIMEOUT_SECONDS = 30;
+
     private final ChronoGraphInternal graph;
 
     private List<Pair<String, ChronoGraphTrigger>> triggerCache;
+    private Map<String, TriggerExecutionMode> executionModeCache;
+
+    private AsyncPostCommitTriggerExecutor asyncTriggerExecutor;
 
     // =================================================================================================================
     // CONSTRUCTOR
@@ -100,6 +111,10 @@ public class ChronoGraphTriggerManagerImpl implements ChronoGraphTriggerManager,
         ChronoDBTransaction tx = this.backingTx();
         boolean result = tx.exists(ChronoGraphConstants.KEYSPACE_TRIGGERS, triggerName);
         tx.put(ChronoGraphConstants.KEYSPACE_TRIGGERS, triggerName, wrapper);
+        if (trigger instanceof ChronoGraphPostCommitTrigger == false && tx.exists(ChronoGraphConstants.KEYSPACE_TRIGGER_EXECUTION_MODES, triggerName)) {
+            // only post-commit triggers can be executed asynchronously
+            tx.remove(ChronoGraphConstants.KEYSPACE_TRIGGER_EXECUTION_MODES, triggerName);
+        }
         tx.commit(commitMetadata);
         if (result) {
             this.clearTriggerCache();
@@ -135,6 +150,9 @@ public class ChronoGraphTriggerManagerImpl implements ChronoGraphTriggerManager,
             return false;
         }
         tx.remove(ChronoGraphConstants.KEYSPACE_TRIGGERS, triggerName);
+        if (tx.exists(ChronoGraphConstants.KEYSPACE_TRIGGER_EXECUTION_MODES, triggerName)) {
+            tx.remove(ChronoGraphConstants.KEYSPACE_TRIGGER_EXECUTION_MODES, triggerName);
+        }
         tx.commit(commitMetadata);
         this.clearTriggerCache();
         return true;
@@ -155,7 +173,7 @@ public class ChronoGraphTriggerManagerImpl implements ChronoGraphTriggerManager,
             .map(triggerName -> Pair.of(triggerName, (ChronoGraphTrigger)tx.get(ChronoGraphConstants.KEYSPACE_TRIGGERS, triggerName)))
             .filter(pair -> pair.getRight() != null)
             .sorted(NamedTriggerCategoryComparator.getInstance().thenComparing(NamedTriggerComparator.getInstance().reversed()))
-            .map(pair -> this.getTriggerMetadata(pair.getLeft(), pair.getRight()))
+            .map(pair -> this.getTriggerMetadata(pair.getLeft(), pair.getRight(), this.loadExecutionMode(tx, pair.getLeft())))
             .filter(Objects::nonNull)
             .collect(Collectors.toList());
     }
@@ -165,10 +183,66 @@ public class ChronoGraphTriggerManagerImpl implements ChronoGraphTriggerManager,
         checkNotNull(triggerName, "Precondition violation - argument 'triggerName' must not be NULL!");
         ChronoDBTransaction tx = this.backingTx();
         ChronoGraphTrigger trigger = tx.get(ChronoGraphConstants.KEYSPACE_TRIGGERS, triggerName);
-        return getTriggerMetadata(triggerName, trigger);
+        return getTriggerMetadata(triggerName, trigger, this.loadExecutionMode(tx, triggerName));
+    }
+
+    @Override
+    public synchronized boolean setExecutionMode(final String triggerName, final TriggerExecutionMode mode) {
+        return this.setExecutionMode(triggerName, mode, null);
+    }
+
+    @Override
+    public synchronized boolean setExecutionMode(final String triggerName, final TriggerExecutionMode mode, final Object commitMetadata) {
+        this.validateTriggerName(triggerName);
+        checkNotNull(mode, "Precondition violation - argument 'mode' must not be NULL!");
+        ChronoDBTransaction tx = this.backingTx();
+        ChronoGraphTrigger persistedTrigger = tx.get(ChronoGraphConstants.KEYSPACE_TRIGGERS, triggerName);
+        if (persistedTrigger == null) {
+            throw new IllegalArgumentException("There is no trigger with name '" + triggerName + "'!");
+        }
+        if (mode == TriggerExecutionMode.ASYNCHRONOUS) {
+            ChronoGraphTrigger trigger = this.loadPersistedTrigger(triggerName, persistedTrigger);
+            if (trigger instanceof ChronoGraphPostCommitTrigger == false) {
+                throw new IllegalArgumentException("The trigger '" + triggerName + "' of type '" + trigger.getClass().getName()
+                    + "' can not be executed asynchronously, because it does not implement " + ChronoGraphPostCommitTrigger.class.getSimpleName() + "!");
+            }
+        }
+        if (this.loadExecutionMode(tx, triggerName) == mode) {
+            // nothing to do
+            return false;
+        }
+        if (mode == TriggerExecutionMode.SYNCHRONOUS) {
+            // synchronous is the default, we do not store it explicitly
+            tx.remove(ChronoGraphConstants.KEYSPACE_TRIGGER_EXECUTION_MODES, triggerName);
+        } else {
+            tx.put(ChronoGraphConstants.KEYSPACE_TRIGGER_EXECUTION_MODES, triggerName, mode.name());
+        }
+        tx.commit(commitMetadata);
+        this.clearTriggerCache();
+        return true;
+    }
+
+    @Override
+    public synchronized TriggerExecutionMode getExecutionMode(final String triggerName) {
+        this.validateTriggerName(triggerName);
+        ChronoDBTransaction tx = this.backingTx();
+        if (!tx.exists(ChronoGraphConstants.KEYSPACE_TRIGGERS, triggerName)) {
+            return null;
+        }
+        return this.loadExecutionMode(tx, triggerName);
     }
 
-    private GraphTriggerMetadata getTriggerMetadata(final String triggerName, final ChronoGraphTrigger persistedTrigger) {
+    @Override
+    public synchronized AsyncTriggerStatistics getAsyncTriggerStatistics() {
+        if (this.asyncTriggerExecutor == null) {
+            // no commit has dispatched asynchronous triggers yet
+            int queueCapacity = this.graph.getChronoGraphConfiguration().getAsyncTriggerQueueCapacity();
+            return new AsyncTriggerStatisticsImpl(queueCapacity, 0, 0, 0, 0, 0, 0);
+        }
+        return this.asyncTriggerExecutor.getStatistics();
+    }
+
+    private GraphTriggerMetadata getTriggerMetadata(final String triggerName, final ChronoGraphTrigger persistedTrigger, final TriggerExecutionMode executionMode) {
         if (persistedTrigger == null) {
             return null;
         }
@@ -197,6 +271,7 @@ public class ChronoGraphTriggerManagerImpl implements ChronoGraphTriggerManager,
             isPrePersist,
             isPostPersist,
             isPostCommmit,
+            executionMode,
             userScriptContent,
             loadException
         );
@@ -210,6 +285,7 @@ public class ChronoGraphTriggerManagerImpl implements ChronoGraphTriggerManager,
         if (this.triggerCache == null) {
             // load from DB
             List<Pair<String, ChronoGraphTrigger>> list = Lists.newArrayList();
+            Map<String, TriggerExecutionMode> executionModes = Maps.newHashMap();
             ChronoDBTransaction tx = this.backingTx();
             Set<String> triggerNames = tx.keySet(ChronoGraphConstants.KEYSPACE_TRIGGERS);
             for (String name : triggerNames) {
@@ -218,6 +294,7 @@ public class ChronoGraphTriggerManagerImpl implements ChronoGraphTriggerManager,
                     ChronoGraphTrigger trigger = tx.get(ChronoGraphConstants.KEYSPACE_TRIGGERS, name);
                     trigger = this.loadPersistedTrigger(name, trigger);
                     list.add(Pair.of(name, trigger));
+                    executionModes.put(name, this.loadExecutionMode(tx, name));
                 } catch (Exception e) {
                     ChronoLogger.logError("Failed to load Graph Trigger '" + name + "' from persistent store. This trigger will not be executed!", e);
                 }
@@ -227,6 +304,7 @@ public class ChronoGraphTriggerManagerImpl implements ChronoGraphTriggerManager,
             // order here, so we reverse the comparator.
             list.sort(NamedTriggerComparator.getInstance().reversed());
             this.triggerCache = Collections.unmodifiableList(list);
+            this.executionModeCache = Collections.unmodifiableMap(executionModes);
         }
         return this.triggerCache;
     }
@@ -267,6 +345,50 @@ public class ChronoGraphTriggerManagerImpl implements ChronoGraphTriggerManager,
             .collect(Collectors.toList());
     }
 
+    @Override
+    public synchronized List<Pair<String, ChronoGraphPostCommitTrigger>> getSynchronousPostCommitTriggers() {
+        return this.getPostCommitTriggers().stream()
+            .filter(pair -> this.executionModeCache.get(pair.getLeft()) != TriggerExecutionMode.ASYNCHRONOUS)
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public synchronized List<Pair<String, ChronoGraphPostCommitTrigger>> getAsynchronousPostCommitTriggers() {
+        return this.getPostCommitTriggers().stream()
+            .filter(pair -> this.executionModeCache.get(pair.getLeft()) == TriggerExecutionMode.ASYNCHRONOUS)
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public synchronized AsyncPostCommitTriggerExecutor getAsyncTriggerExecutor() {
+        if (this.asyncTriggerExecutor == null) {
+            // the worker threads are only started when they are needed for the first time
+            ChronoGraphConfiguration config = this.graph.getChronoGraphConfiguration();
+            this.asyncTriggerExecutor = new AsyncPostCommitTriggerExecutor(
+                this.graph,
+                config.getAsyncTriggerThreadCount(),
+                config.getAsyncTriggerQueueCapacity(),
+                config.getAsyncTriggerBackpressurePolicy()
+            );
+        }
+        return this.asyncTriggerExecutor;
+    }
+
+    @Override
+    public void shutdownAsyncTriggerExecutor() {
+        AsyncPostCommitTriggerExecutor executor;
+        synchronized (this) {
+            executor = this.asyncTriggerExecutor;
+        }
+        if (executor == null) {
+            // never started, nothing to do
+            return;
+        }
+        // note: we must not hold the monitor of the trigger manager while waiting for the executor,
+        // because the pending trigger executions may need it
+        executor.shutdown(ASYNC_TRIGGER_SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
     // =================================================================================================================
     // INTERNAL HELPER METHODS
     // =================================================================================================================
@@ -330,7 +452,21 @@ public class ChronoGraphTriggerManagerImpl implements ChronoGraphTriggerManager,
         return trigger;
     }
 
+    private TriggerExecutionMode loadExecutionMode(final ChronoDBTransaction tx, final String triggerName) {
+        String modeName = tx.get(ChronoGraphConstants.KEYSPACE_TRIGGER_EXECUTION_MODES, triggerName);
+        if (modeName == null) {
+            return TriggerExecutionMode.SYNCHRONOUS;
+        }
+        try {
+            return TriggerExecutionMode.valueOf(modeName);
+        } catch (IllegalArgumentException e) {
+            ChronoLogger.logWarning("Unknown execution mode '" + modeName + "' for Graph Trigger '" + triggerName + "'. The trigger will be executed synchronously.");
+            return TriggerExecutionMode.SYNCHRONOUS;
+        }
+    }
+
     private void clearTriggerCache() {
         this.triggerCache = null;
+        this.executionModeCache = null;
     }
 }
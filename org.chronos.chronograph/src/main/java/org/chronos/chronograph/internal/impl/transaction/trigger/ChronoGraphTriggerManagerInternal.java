@@ -17,4 +17,12 @@ public interface ChronoGraphTriggerManagerInternal extends ChronoGraphTriggerMan
 
     public List<Pair<String, ChronoGraphPostCommitTrigger>> getPostCommitTriggers();
 
+    public List<Pair<String, ChronoGraphPostCommitTrigger>> getSynchronousPostCommitTriggers();
+
+    public List<Pair<String, ChronoGraphPostCommitTrigger>> getAsynchronousPostCommitTriggers();
+
+    public AsyncPostCommitTriggerExecutor getAsyncTriggerExecutor();
+
+    public void shutdownAsyncTriggerExecutor();
+
 }
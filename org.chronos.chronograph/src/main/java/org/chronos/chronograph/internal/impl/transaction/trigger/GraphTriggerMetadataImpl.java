@@ -2,6 +2,7 @@ package org.chronos.chronograph.internal.impl.transaction.trigger;
 
 import org.chronos.chronograph.api.exceptions.GraphTriggerException;
 import org.chronos.chronograph.api.transaction.trigger.GraphTriggerMetadata;
+import org.chronos.chronograph.api.transaction.trigger.TriggerExecutionMode;
 
 public class GraphTriggerMetadataImpl implements GraphTriggerMetadata {
 
@@ -12,6 +13,7 @@ public class GraphTriggerMetadataImpl implements GraphTriggerMetadata {
     private final boolean isPrePersistTrigger;
     private final boolean isPostPersistTrigger;
     private final boolean isPostCommitTrigger;
+    private final TriggerExecutionMode executionMode;
     private final String userScriptContent;
     private final GraphTriggerException instantiationException;
 
@@ -23,6 +25,7 @@ public class GraphTriggerMetadataImpl implements GraphTriggerMetadata {
         final boolean isPrePersistTrigger,
         final boolean isPostPersistTrigger,
         final boolean isPostCommitTrigger,
+        final TriggerExecutionMode executionMode,
         final String userScriptContent,
         final GraphTriggerException instantiationException
     ) {
@@ -33,6 +36,7 @@ public class GraphTriggerMetadataImpl implements GraphTriggerMetadata {
         this.isPrePersistTrigger = isPrePersistTrigger;
         this.isPostPersistTrigger = isPostPersistTrigger;
         this.isPostCommitTrigger = isPostCommitTrigger;
+        this.executionMode = executionMode;
         this.userScriptContent = userScriptContent;
         this.instantiationException = instantiationException;
     }
@@ -72,6 +76,11 @@ public class GraphTriggerMetadataImpl implements GraphTriggerMetadata {
         return this.isPostCommitTrigger;
     }
 
+    @Override
+    public TriggerExecutionMode getExecutionMode() {
+        return this.executionMode;
+    }
+
     @Override
     public String getUserScriptContent() {
         return this.userScriptContent;
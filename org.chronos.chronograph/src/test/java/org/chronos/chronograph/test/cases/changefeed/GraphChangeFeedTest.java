@@ -0,0 +1,186 @@
+package org.chronos.chronograph.test.cases.changefeed;
+
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.chronos.chronodb.api.ChronoDBConstants;
+import org.chronos.chronodb.api.changefeed.ChangeFeedSubscription;
+import org.chronos.chronodb.api.changefeed.ChangeType;
+import org.chronos.chronodb.test.base.InstantiateChronosWith;
+import org.chronos.chronograph.api.changefeed.GraphChangeFeedEvent;
+import org.chronos.chronograph.api.changefeed.GraphElementChange;
+import org.chronos.chronograph.api.structure.ChronoGraph;
+import org.chronos.chronograph.api.structure.record.IElementRecord;
+import org.chronos.chronograph.internal.api.configuration.ChronoGraphConfiguration;
+import org.chronos.chronograph.test.base.AllChronoGraphBackendsTest;
+import org.chronos.common.test.junit.categories.IntegrationTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@Category(IntegrationTest.class)
+public class GraphChangeFeedTest extends AllChronoGraphBackendsTest {
+
+    @Test
+    public void liveSubscriptionReceivesVertexAndEdgeChanges() {
+        ChronoGraph graph = this.getGraph();
+        List<GraphChangeFeedEvent> events = Collections.synchronizedList(Lists.newArrayList());
+        try (ChangeFeedSubscription subscription = graph.getChangeFeed().subscribe(events::add)) {
+            Vertex john = graph.addVertex(T.id, "john", "name", "John");
+            Vertex jane = graph.addVertex(T.id, "jane", "name", "Jane");
+            john.addEdge("knows", jane, T.id, "e1");
+            graph.tx().commit();
+            long createTimestamp = graph.getNow();
+
+            john = Iterators.getOnlyElement(graph.vertices("john"));
+            john.property("name", "Johnny");
+            Iterators.getOnlyElement(graph.edges("e1")).remove();
+            graph.tx().commit();
+            long updateTimestamp = graph.getNow();
+
+            this.awaitEvents(events, 2);
+
+            GraphChangeFeedEvent create = events.get(0);
+            assertEquals(createTimestamp, create.getCommitTimestamp());
+            assertEquals(ChronoDBConstants.MASTER_BRANCH_IDENTIFIER, create.getBranchName());
+            assertEquals(2, create.getVertexChanges().size());
+            GraphElementChange<?> johnCreated = this.getChange(create.getVertexChanges(), "john");
+            assertEquals(ChangeType.CREATED, johnCreated.getChangeType());
+            assertNull(johnCreated.getOldRecord());
+            assertEquals("John", johnCreated.getNewRecord().getProperty("name").getValue());
+            GraphElementChange<?> edgeCreated = this.getChange(create.getEdgeChanges(), "e1");
+            assertEquals(ChangeType.CREATED, edgeCreated.getChangeType());
+            assertEquals("knows", edgeCreated.getNewRecord().getLabel());
+
+            GraphChangeFeedEvent update = events.get(1);
+            assertEquals(updateTimestamp, update.getCommitTimestamp());
+            GraphElementChange<?> johnUpdated = this.getChange(update.getVertexChanges(), "john");
+            assertEquals(ChangeType.UPDATED, johnUpdated.getChangeType());
+            assertEquals("John", johnUpdated.getOldRecord().getProperty("name").getValue());
+            assertEquals("Johnny", johnUpdated.getNewRecord().getProperty("name").getValue());
+            // removing the edge changes the adjacency of jane as well
+            assertEquals(ChangeType.UPDATED, this.getChange(update.getVertexChanges(), "jane").getChangeType());
+            GraphElementChange<?> edgeDeleted = this.getChange(update.getEdgeChanges(), "e1");
+            assertEquals(ChangeType.DELETED, edgeDeleted.getChangeType());
+            assertNotNull(edgeDeleted.getOldRecord());
+            assertNull(edgeDeleted.getNewRecord());
+        }
+    }
+
+    @Test
+    @InstantiateChronosWith(property = ChronoGraphConfiguration.STORAGE_SEPARATE_ADJACENCY_ENABLED, value = "true")
+    public void adjacencyChangesAreReportedAsVertexUpdates() {
+        ChronoGraph graph = this.getGraph();
+        graph.addVertex(T.id, "john");
+        graph.addVertex(T.id, "jane");
+        graph.tx().commit();
+        long afterCreation = graph.getNow();
+
+        Vertex john = Iterators.getOnlyElement(graph.vertices("john"));
+        Vertex jane = Iterators.getOnlyElement(graph.vertices("jane"));
+        john.addEdge("knows", jane, T.id, "e1");
+        graph.tx().commit();
+
+        List<GraphChangeFeedEvent> events = Lists.newArrayList(
+            graph.getChangeFeed().getChangesBetween(ChronoDBConstants.MASTER_BRANCH_IDENTIFIER, afterCreation, graph.getNow())
+        );
+        assertEquals(1, events.size());
+        GraphChangeFeedEvent event = events.get(0);
+        assertEquals(ChangeType.CREATED, this.getChange(event.getEdgeChanges(), "e1").getChangeType());
+        for (String vertexId : Lists.newArrayList("john", "jane")) {
+            GraphElementChange<?> change = this.getChange(event.getVertexChanges(), vertexId);
+            assertEquals(ChangeType.UPDATED, change.getChangeType());
+            assertNotNull(change.getOldRecord());
+            assertNotNull(change.getNewRecord());
+        }
+    }
+
+    @Test
+    public void subscriptionCatchesUpAndCanBeResumed() {
+        ChronoGraph graph = this.getGraph();
+        graph.addVertex(T.id, "v1");
+        graph.tx().commit();
+        long first = graph.getNow();
+        graph.addVertex(T.id, "v2");
+        graph.tx().commit();
+        long second = graph.getNow();
+        // commits which do not touch vertices or edges are skipped
+        graph.variables().set("foo", "bar");
+        graph.tx().commit();
+
+        List<GraphChangeFeedEvent> events = Collections.synchronizedList(Lists.newArrayList());
+        long lastDelivered;
+        try (ChangeFeedSubscription subscription = graph.getChangeFeed().subscribe(ChronoDBConstants.MASTER_BRANCH_IDENTIFIER, 0L, events::add)) {
+            this.awaitEvents(events, 2);
+            assertEquals(first, events.get(0).getCommitTimestamp());
+            assertEquals(second, events.get(1).getCommitTimestamp());
+            this.awaitLastDelivered(subscription, graph.getNow());
+            lastDelivered = subscription.getLastDeliveredTimestamp();
+        }
+        assertEquals(2, events.size());
+
+        graph.addVertex(T.id, "v3");
+        graph.tx().commit();
+        long third = graph.getNow();
+
+        events.clear();
+        try (ChangeFeedSubscription subscription = graph.getChangeFeed().subscribe(ChronoDBConstants.MASTER_BRANCH_IDENTIFIER, lastDelivered, events::add)) {
+            this.awaitEvents(events, 1);
+            assertEquals(third, events.get(0).getCommitTimestamp());
+            assertEquals(ChangeType.CREATED, this.getChange(events.get(0).getVertexChanges(), "v3").getChangeType());
+            this.awaitLastDelivered(subscription, third);
+        }
+    }
+
+    @Test
+    public void closedSubscriptionReceivesNoFurtherEvents() {
+        ChronoGraph graph = this.getGraph();
+        List<GraphChangeFeedEvent> events = Collections.synchronizedList(Lists.newArrayList());
+        ChangeFeedSubscription subscription = graph.getChangeFeed().subscribe(events::add);
+        subscription.close();
+        graph.addVertex(T.id, "v1");
+        graph.tx().commit();
+        sleep(200);
+        assertTrue(events.isEmpty());
+    }
+
+    // =================================================================================================================
+    // HELPER METHODS
+    // =================================================================================================================
+
+    private <R extends IElementRecord> GraphElementChange<R> getChange(final List<GraphElementChange<R>> changes, final String elementId) {
+        for (GraphElementChange<R> change : changes) {
+            if (change.getElementId().equals(elementId)) {
+                return change;
+            }
+        }
+        fail("No change for element '" + elementId + "' in " + changes);
+        return null;
+    }
+
+    private void awaitEvents(final List<GraphChangeFeedEvent> events, final int count) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (events.size() < count) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Expected " + count + " change feed events, but received only " + events.size() + " in time: " + events);
+            }
+            sleep(10);
+        }
+    }
+
+    private void awaitLastDelivered(final ChangeFeedSubscription subscription, final long timestamp) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (subscription.getLastDeliveredTimestamp() < timestamp) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Change feed subscription did not reach timestamp " + timestamp + " in time, last delivered: " + subscription.getLastDeliveredTimestamp());
+            }
+            sleep(10);
+        }
+    }
+
+}
@@ -0,0 +1,107 @@
+package org.chronos.chronograph.test.cases.index;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.chronos.chronograph.api.index.ChronoGraphCompositeIndex;
+import org.chronos.chronograph.api.index.ChronoGraphIndex;
+import org.chronos.chronograph.api.structure.ChronoGraph;
+import org.chronos.chronograph.internal.impl.index.IndexType;
+import org.chronos.chronograph.internal.impl.optimizer.step.ChronoGraphStep;
+import org.chronos.chronograph.test.base.AllChronoGraphBackendsTest;
+import org.chronos.common.test.junit.categories.IntegrationTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+@Category(IntegrationTest.class)
+public class CompositeIndexingTest extends AllChronoGraphBackendsTest {
+
+    @Test
+    public void canAddCompositeIndex() {
+        ChronoGraph g = this.getGraph();
+        ChronoGraphIndex index = g.getIndexManager().create().compositeIndex()
+            .withStringComponent("type")
+            .withStringComponent("status")
+            .withLongComponent("createdAt")
+            .onVertices()
+            .build();
+        assertNotNull(index);
+        g.getIndexManager().reindexAll();
+        assertTrue(index instanceof ChronoGraphCompositeIndex);
+        ChronoGraphCompositeIndex compositeIndex = (ChronoGraphCompositeIndex) index;
+        assertEquals(Lists.newArrayList("type", "status", "createdAt"), compositeIndex.getIndexedProperties());
+        assertEquals(Lists.newArrayList(IndexType.STRING, IndexType.STRING, IndexType.LONG), compositeIndex.getComponentTypes());
+        assertEquals(IndexType.STRING, index.getIndexType());
+        assertTrue(g.getIndexManager().getIndexedVertexProperties().contains(index));
+    }
+
+    @Test
+    public void compositeIndexAnswersPrefixAndRangeQueries() {
+        ChronoGraph g = this.getGraph();
+        g.getIndexManager().create().compositeIndex()
+            .withStringComponent("type")
+            .withStringComponent("status")
+            .withLongComponent("createdAt")
+            .onVertices()
+            .build();
+        g.getIndexManager().reindexAll();
+
+        { // insert some data
+            g.addVertex("name", "a", "type", "Order", "status", "open", "createdAt", 100L);
+            g.addVertex("name", "b", "type", "Order", "status", "open", "createdAt", 200L);
+            g.addVertex("name", "c", "type", "Order", "status", "closed", "createdAt", 150L);
+            g.addVertex("name", "d", "type", "Invoice", "status", "open", "createdAt", 300L);
+            g.addVertex("name", "e", "type", "Order", "status", "open");
+        }
+        this.assertCommitAssert(() -> {
+            this.assertNamesEqual("a", "b", "c", "e", g.traversal().V().has("type", "Order"));
+            this.assertNamesEqual("a", "b", "e", g.traversal().V().has("type", "Order").has("status", "open"));
+            this.assertNamesEqual("b", g.traversal().V().has("type", "Order").has("status", "open").has("createdAt", P.gt(100L)));
+            this.assertNamesEqual("a", "b", g.traversal().V().has("type", "Order").has("status", "open").has("createdAt", P.lte(200L)));
+            this.assertNamesEqual("a", g.traversal().V().has("type", "Order").has("status", "open").has("createdAt", P.gte(100L)).has("createdAt", P.lt(200L)));
+            // the order of the "has" steps does not matter
+            this.assertNamesEqual("a", "b", "e", g.traversal().V().has("status", "open").has("type", "Order"));
+            // conditions on other properties are evaluated separately
+            this.assertNamesEqual("a", g.traversal().V().has("type", "Order").has("status", "open").has("name", "a"));
+        });
+    }
+
+    @Test
+    public void traversalUsesCompositeIndexForCoveredPrefix() {
+        ChronoGraph g = this.getGraph();
+        g.getIndexManager().create().compositeIndex()
+            .withStringComponent("type")
+            .withStringComponent("status")
+            .onVertices()
+            .build();
+        g.getIndexManager().reindexAll();
+
+        GraphTraversal<Vertex, Vertex> traversal = g.traversal().V().has("type", "Order").has("status", "open");
+        traversal.asAdmin().applyStrategies();
+        ChronoGraphStep<?, ?> graphStep = (ChronoGraphStep<?, ?>) traversal.asAdmin().getStartStep();
+        assertNotNull(graphStep.getCompositeIndexQuery());
+        assertEquals(2, graphStep.getCompositeIndexQuery().getConstrainedComponentCount());
+        // both "has" steps are answered by the index
+        assertEquals(1, traversal.asAdmin().getSteps().size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void assertNamesEqual(final Object... objects) {
+        List<Object> list = Lists.newArrayList(objects);
+        Object last = list.get(list.size() - 1);
+        Set<Element> elements = Sets.newHashSet((Iterable<Element>) ((GraphTraversal<?, Element>) last).toList());
+        Set<String> elementNames = elements.stream().map(e -> (String) e.value("name")).collect(Collectors.toSet());
+        Set<String> names = list.subList(0, list.size() - 1).stream().map(k -> (String) k).collect(Collectors.toSet());
+        assertEquals(names, elementNames);
+    }
+
+}
@@ -0,0 +1,105 @@
+package org.chronos.chronograph.test.cases.index;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.chronos.chronograph.api.structure.ChronoGraph;
+import org.chronos.chronograph.internal.impl.optimizer.step.ChronoGraphAggregateStep;
+import org.chronos.chronograph.internal.impl.optimizer.step.ChronoGraphAggregateStep.Aggregation;
+import org.chronos.chronograph.test.base.AllChronoGraphBackendsTest;
+import org.chronos.common.test.junit.categories.IntegrationTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@Category(IntegrationTest.class)
+public class IndexAggregateTest extends AllChronoGraphBackendsTest {
+
+    @Test
+    public void countIsComputedOnIndex() {
+        ChronoGraph g = this.getGraph();
+        g.getIndexManager().create().stringIndex().onVertexProperty("status").build();
+        g.getIndexManager().reindexAll();
+
+        { // insert some data
+            g.addVertex("name", "a", "status", "open");
+            g.addVertex("name", "b", "status", "open");
+            g.addVertex("name", "c", "status", "closed");
+            g.addVertex("name", "d");
+        }
+        // before the commit, the transaction context is taken into account; afterwards, the index is used directly
+        this.assertCommitAssert(() -> {
+            assertEquals(2L, (long) g.traversal().V().has("status", "open").count().next());
+            assertEquals(1L, (long) g.traversal().V().has("status", "closed").count().next());
+            assertEquals(0L, (long) g.traversal().V().has("status", "unknown").count().next());
+            // negated predicates only match vertices which have the property
+            assertEquals(1L, (long) g.traversal().V().has("status", P.neq("open")).count().next());
+        });
+        { // modify the data
+            g.vertices().forEachRemaining(v -> {
+                if ("a".equals(v.value("name"))) {
+                    v.property("status", "closed");
+                }
+            });
+        }
+        this.assertCommitAssert(() -> {
+            assertEquals(1L, (long) g.traversal().V().has("status", "open").count().next());
+            assertEquals(2L, (long) g.traversal().V().has("status", "closed").count().next());
+        });
+    }
+
+    @Test
+    public void minAndMaxAreComputedOnIndex() {
+        ChronoGraph g = this.getGraph();
+        g.getIndexManager().create().stringIndex().onVertexProperty("type").build();
+        g.getIndexManager().create().longIndex().onVertexProperty("size").build();
+        g.getIndexManager().create().doubleIndex().onVertexProperty("weight").build();
+        g.getIndexManager().reindexAll();
+
+        { // insert some data
+            g.addVertex("name", "a", "type", "box", "size", 12, "weight", 1.5);
+            g.addVertex("name", "b", "type", "box", "size", 7, "weight", -3.25);
+            g.addVertex("name", "c", "type", "box", "size", 42);
+            g.addVertex("name", "d", "type", "bag", "size", 1, "weight", 100.0);
+        }
+        this.assertCommitAssert(() -> {
+            // the results have the type of the actual property values, not the type of the index
+            assertEquals(7, g.traversal().V().has("type", "box").values("size").min().next());
+            assertEquals(42, g.traversal().V().has("type", "box").values("size").max().next());
+            assertEquals(-3.25, g.traversal().V().has("type", "box").values("weight").min().next());
+            assertEquals(1.5, g.traversal().V().has("type", "box").values("weight").max().next());
+            // there is no minimum if none of the vertices has a value
+            assertFalse(g.traversal().V().has("type", "crate").values("size").min().hasNext());
+        });
+    }
+
+    @Test
+    public void aggregateStepsAreReplacedByIndexAggregate() {
+        ChronoGraph g = this.getGraph();
+        g.getIndexManager().create().stringIndex().onVertexProperty("type").build();
+        g.getIndexManager().create().longIndex().onVertexProperty("size").build();
+        g.getIndexManager().reindexAll();
+
+        GraphTraversal<Vertex, Long> countTraversal = g.traversal().V().has("type", "box").count();
+        countTraversal.asAdmin().applyStrategies();
+        List<?> countSteps = countTraversal.asAdmin().getSteps();
+        assertEquals(1, countSteps.size());
+        assertEquals(Aggregation.COUNT, ((ChronoGraphAggregateStep<?, ?>) countSteps.get(0)).getAggregation());
+
+        GraphTraversal<Vertex, Comparable> maxTraversal = g.traversal().V().has("type", "box").values("size").max();
+        maxTraversal.asAdmin().applyStrategies();
+        List<?> maxSteps = maxTraversal.asAdmin().getSteps();
+        assertEquals(1, maxSteps.size());
+        assertEquals(Aggregation.MAX, ((ChronoGraphAggregateStep<?, ?>) maxSteps.get(0)).getAggregation());
+        assertEquals("size", ((ChronoGraphAggregateStep<?, ?>) maxSteps.get(0)).getPropertyKey());
+
+        // "name" is not indexed, so the elements have to be loaded
+        GraphTraversal<Vertex, Comparable> minTraversal = g.traversal().V().has("type", "box").values("name").min();
+        minTraversal.asAdmin().applyStrategies();
+        assertFalse(minTraversal.asAdmin().getStartStep() instanceof ChronoGraphAggregateStep);
+    }
+
+}
@@ -0,0 +1,96 @@
+package org.chronos.chronograph.test.cases.index;
+
+import com.google.common.collect.Lists;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.chronos.chronograph.api.structure.ChronoGraph;
+import org.chronos.chronograph.internal.impl.optimizer.step.ChronoGraphStep;
+import org.chronos.chronograph.test.base.AllChronoGraphBackendsTest;
+import org.chronos.common.test.junit.categories.IntegrationTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+@Category(IntegrationTest.class)
+public class OrderedIndexScanTest extends AllChronoGraphBackendsTest {
+
+    @Test
+    public void orderedLimitedTraversalReturnsTopElements() {
+        ChronoGraph g = this.getGraph();
+        g.getIndexManager().create().stringIndex().onVertexProperty("type").build();
+        g.getIndexManager().create().longIndex().onVertexProperty("createdAt").build();
+        g.getIndexManager().reindexAll();
+
+        { // insert some data
+            for (int i = 0; i < 200; i++) {
+                String type = i % 2 == 0 ? "Event" : "Task";
+                g.addVertex("name", "v" + i, "type", type, "createdAt", (long) ((i * 37) % 200));
+            }
+        }
+        this.assertCommitAssert(() -> {
+            List<Long> newest = g.traversal().V().has("type", "Event").order().by("createdAt", Order.desc).limit(5)
+                .<Long>values("createdAt").toList();
+            assertEquals(Lists.newArrayList(198L, 196L, 194L, 192L, 190L), newest);
+            List<Long> oldest = g.traversal().V().has("type", "Event").order().by("createdAt", Order.asc).limit(3)
+                .<Long>values("createdAt").toList();
+            assertEquals(Lists.newArrayList(0L, 2L, 4L), oldest);
+        });
+    }
+
+    @Test
+    public void orderedLimitedTraversalWorksWithFewMatches() {
+        ChronoGraph g = this.getGraph();
+        g.getIndexManager().create().stringIndex().onVertexProperty("type").build();
+        g.getIndexManager().create().longIndex().onVertexProperty("createdAt").build();
+        g.getIndexManager().reindexAll();
+
+        { // insert some data
+            g.addVertex("name", "a", "type", "Event", "createdAt", 100L);
+            g.addVertex("name", "b", "type", "Event", "createdAt", 300L);
+            g.addVertex("name", "c", "type", "Task", "createdAt", 400L);
+            g.addVertex("name", "d", "type", "Event", "createdAt", 200L);
+        }
+        this.assertCommitAssert(() -> {
+            List<String> names = g.traversal().V().has("type", "Event").order().by("createdAt", Order.desc).limit(10)
+                .<String>values("name").toList();
+            assertEquals(Lists.newArrayList("b", "d", "a"), names);
+        });
+    }
+
+    @Test
+    public void traversalPassesOrderAndLimitToIndexQuery() {
+        ChronoGraph g = this.getGraph();
+        g.getIndexManager().create().stringIndex().onVertexProperty("type").build();
+        g.getIndexManager().create().longIndex().onVertexProperty("createdAt").build();
+        g.getIndexManager().reindexAll();
+
+        GraphTraversal<Vertex, Vertex> traversal = g.traversal().V().has("type", "Event").order().by("createdAt", Order.desc).limit(5);
+        traversal.asAdmin().applyStrategies();
+        ChronoGraphStep<?, ?> graphStep = (ChronoGraphStep<?, ?>) traversal.asAdmin().getStartStep();
+        assertEquals("createdAt", graphStep.getResultOrderProperty());
+        assertEquals(org.chronos.chronodb.api.Order.DESCENDING, graphStep.getResultOrder());
+        assertEquals(5, graphStep.getResultLimitHint());
+        // the order and range steps remain in the traversal
+        List<String> stepNames = traversal.asAdmin().getSteps().stream().map(step -> step.getClass().getSimpleName()).collect(Collectors.toList());
+        assertEquals(Lists.newArrayList("ChronoGraphStep", "OrderGlobalStep", "RangeGlobalStep"), stepNames);
+    }
+
+    @Test
+    public void unindexedOrderPropertyIsNotPassedToIndexQuery() {
+        ChronoGraph g = this.getGraph();
+        g.getIndexManager().create().stringIndex().onVertexProperty("type").build();
+        g.getIndexManager().reindexAll();
+
+        GraphTraversal<Vertex, Vertex> traversal = g.traversal().V().has("type", "Event").order().by("createdAt", Order.desc).limit(5);
+        traversal.asAdmin().applyStrategies();
+        ChronoGraphStep<?, ?> graphStep = (ChronoGraphStep<?, ?>) traversal.asAdmin().getStartStep();
+        assertNull(graphStep.getResultOrderProperty());
+        assertEquals(Integer.MAX_VALUE, graphStep.getResultLimitHint());
+    }
+
+}
@@ -0,0 +1,128 @@
+package org.chronos.chronograph.test.cases.record;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.SetMultimap;
+import com.google.common.collect.Sets;
+import org.chronos.chronodb.api.serialization.StringDictionary;
+import org.chronos.chronodb.inmemory.InMemoryStringDictionary;
+import org.chronos.chronograph.api.structure.record.IVertexPropertyRecord;
+import org.chronos.chronograph.internal.impl.serialization.GraphRecordCodec;
+import org.chronos.chronograph.internal.impl.structure.record2.EdgeRecord2;
+import org.chronos.chronograph.internal.impl.structure.record2.EdgeTargetRecord2;
+import org.chronos.chronograph.internal.impl.structure.record2.PropertyRecord2;
+import org.chronos.chronograph.internal.impl.structure.record3.SimpleVertexPropertyRecord;
+import org.chronos.chronograph.internal.impl.structure.record3.VertexPropertyRecord3;
+import org.chronos.chronograph.internal.impl.structure.record3.VertexRecord3;
+import org.chronos.common.serialization.KryoManager;
+import org.chronos.common.test.ChronosUnitTest;
+import org.chronos.common.test.junit.categories.UnitTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class GraphRecordCodecTest extends ChronosUnitTest {
+
+    @Test
+    public void canRoundTripVertexRecords() {
+        GraphRecordCodec codec = new GraphRecordCodec();
+        StringDictionary dictionary = new InMemoryStringDictionary();
+        VertexRecord3 record = createVertexRecord();
+        assertTrue(codec.canEncode(record));
+
+        VertexRecord3 decoded = (VertexRecord3) roundTrip(codec, dictionary, record);
+
+        assertEquals(record.getId(), decoded.getId());
+        assertEquals(record.getLabel(), decoded.getLabel());
+        assertEquals(record.getIncomingEdgesByLabel(), decoded.getIncomingEdgesByLabel());
+        assertEquals(record.getOutgoingEdgesByLabel(), decoded.getOutgoingEdgesByLabel());
+        assertEquals(record.getProperties().size(), decoded.getProperties().size());
+        for (IVertexPropertyRecord property : record.getProperties()) {
+            IVertexPropertyRecord decodedProperty = decoded.getProperty(property.getKey());
+            assertNotNull(decodedProperty);
+            assertEquals(property.getValue(), decodedProperty.getValue());
+            assertEquals(property.getProperties().keySet(), decodedProperty.getProperties().keySet());
+        }
+        assertEquals("Bar", decoded.getProperty("withMeta").getProperties().get("foo").getValue());
+        // the outgoing edge uses a non-UUID identifier
+        assertEquals("myEdge", decoded.getOutgoingEdges("knows").get(0).getRecord().getEdgeId());
+    }
+
+    @Test
+    public void canRoundTripEdgeRecords() {
+        GraphRecordCodec codec = new GraphRecordCodec();
+        StringDictionary dictionary = new InMemoryStringDictionary();
+        Set<PropertyRecord2> properties = Sets.newHashSet();
+        properties.add(new PropertyRecord2("since", 2019));
+        properties.add(new PropertyRecord2("weights", Lists.newArrayList(1.0, 2.5)));
+        EdgeRecord2 record = new EdgeRecord2(UUID.randomUUID().toString(), UUID.randomUUID().toString(), "knows",
+            UUID.randomUUID().toString(), properties);
+        assertTrue(codec.canEncode(record));
+
+        EdgeRecord2 decoded = (EdgeRecord2) roundTrip(codec, dictionary, record);
+
+        assertEquals(record.getId(), decoded.getId());
+        assertEquals(record.getLabel(), decoded.getLabel());
+        assertEquals(record.getInVertexId(), decoded.getInVertexId());
+        assertEquals(record.getOutVertexId(), decoded.getOutVertexId());
+        assertEquals(2019, decoded.getProperty("since").getValue());
+        assertEquals(Lists.newArrayList(1.0, 2.5), decoded.getProperty("weights").getValue());
+    }
+
+    @Test
+    public void rejectsOtherValues() {
+        GraphRecordCodec codec = new GraphRecordCodec();
+        assertFalse(codec.canEncode("Hello"));
+        assertFalse(codec.canEncode(Maps.newHashMap()));
+    }
+
+    @Test
+    public void compactFormatIsSmallerThanTheDefaultFormat() {
+        GraphRecordCodec codec = new GraphRecordCodec();
+        StringDictionary dictionary = new InMemoryStringDictionary();
+        VertexRecord3 record = createVertexRecord();
+        Output output = new Output(256, -1);
+        codec.encode(record, output, dictionary);
+        int compactSize = output.toBytes().length;
+        int defaultSize = KryoManager.serialize(record).length;
+        assertTrue("compact: " + compactSize + " bytes, default: " + defaultSize + " bytes", compactSize * 2 < defaultSize);
+    }
+
+    private static Object roundTrip(final GraphRecordCodec codec, final StringDictionary dictionary, final Object value) {
+        Output output = new Output(256, -1);
+        codec.encode(value, output, dictionary);
+        return codec.decode(new Input(output.toBytes()), dictionary);
+    }
+
+    private static VertexRecord3 createVertexRecord() {
+        SetMultimap<String, EdgeTargetRecord2> inE = HashMultimap.create();
+        for (int i = 0; i < 10; i++) {
+            inE.put("knows", new EdgeTargetRecord2(UUID.randomUUID().toString(), UUID.randomUUID().toString()));
+            inE.put("worksWith", new EdgeTargetRecord2(UUID.randomUUID().toString(), UUID.randomUUID().toString()));
+        }
+        SetMultimap<String, EdgeTargetRecord2> outE = HashMultimap.create();
+        outE.put("knows", new EdgeTargetRecord2("myEdge", UUID.randomUUID().toString()));
+        Set<IVertexPropertyRecord> properties = Sets.newHashSet();
+        properties.add(new SimpleVertexPropertyRecord("name", "John Doe"));
+        properties.add(new SimpleVertexPropertyRecord("age", 42));
+        properties.add(new SimpleVertexPropertyRecord("height", 1.85));
+        properties.add(new SimpleVertexPropertyRecord("employed", true));
+        properties.add(new SimpleVertexPropertyRecord("birthday", new Date(0)));
+        properties.add(new SimpleVertexPropertyRecord("nicknames", Sets.newHashSet("JD", "Johnny")));
+        Map<String, PropertyRecord2> metaProperties = Maps.newHashMap();
+        metaProperties.put("foo", new PropertyRecord2("foo", "Bar"));
+        properties.add(new VertexPropertyRecord3("withMeta", 123L, metaProperties));
+        return new VertexRecord3(UUID.randomUUID().toString(), "Person", inE, outE, properties);
+    }
+
+}
@@ -0,0 +1,76 @@
+package org.chronos.chronograph.test.cases.structure;
+
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.chronos.chronograph.api.structure.ChronoGraph;
+import org.chronos.chronograph.internal.impl.structure.graph.proxy.ChronoVertexProxy;
+import org.chronos.chronograph.test.base.AllChronoGraphBackendsTest;
+import org.chronos.common.test.junit.categories.IntegrationTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+@Category(IntegrationTest.class)
+public class LazyVertexBatchLoadingTest extends AllChronoGraphBackendsTest {
+
+    @Test
+    public void allVerticesAreLoadedTogetherOnFirstAccess() {
+        ChronoGraph graph = this.getGraph();
+        for (int i = 0; i < 10; i++) {
+            graph.addVertex(T.id, "v" + i, "name", "Vertex " + i);
+        }
+        graph.tx().commit();
+
+        List<Vertex> vertices = Lists.newArrayList(graph.vertices());
+        assertEquals(10, vertices.size());
+        for (Vertex vertex : vertices) {
+            assertFalse(((ChronoVertexProxy) vertex).isLoaded());
+        }
+        // accessing one vertex loads the whole batch
+        Vertex first = vertices.get(0);
+        assertEquals("Vertex " + ((String) first.id()).substring(1), first.value("name"));
+        for (Vertex vertex : vertices) {
+            assertTrue(((ChronoVertexProxy) vertex).isLoaded());
+            assertEquals("Vertex " + ((String) vertex.id()).substring(1), vertex.value("name"));
+        }
+    }
+
+    @Test
+    public void neighboursAreLoadedTogetherOnFirstAccess() {
+        ChronoGraph graph = this.getGraph();
+        Vertex hub = graph.addVertex(T.id, "hub");
+        for (int i = 0; i < 10; i++) {
+            Vertex v = graph.addVertex(T.id, "v" + i, "name", "Vertex " + i);
+            hub.addEdge("connected", v);
+        }
+        hub.addEdge("self", hub);
+        graph.tx().commit();
+
+        hub = Iterators.getOnlyElement(graph.vertices("hub"));
+        List<Vertex> neighbours = Lists.newArrayList(hub.vertices(Direction.OUT, "connected"));
+        assertEquals(10, neighbours.size());
+        for (Vertex neighbour : neighbours) {
+            assertFalse(((ChronoVertexProxy) neighbour).isLoaded());
+        }
+        Set<String> names = Sets.newHashSet();
+        names.add(neighbours.get(0).value("name"));
+        for (Vertex neighbour : neighbours) {
+            assertTrue(((ChronoVertexProxy) neighbour).isLoaded());
+            names.add(neighbour.value("name"));
+        }
+        assertEquals(10, names.size());
+
+        // self-edges lead back to the vertex itself
+        assertEquals(hub, Iterators.getOnlyElement(hub.vertices(Direction.OUT, "self")));
+        assertEquals(11, Iterators.size(hub.vertices(Direction.BOTH, "self", "connected")));
+    }
+
+}
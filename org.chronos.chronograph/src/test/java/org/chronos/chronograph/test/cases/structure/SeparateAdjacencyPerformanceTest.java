@@ -0,0 +1,133 @@
+package org.chronos.chronograph.test.cases.structure;
+
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.chronos.chronodb.inmemory.InMemoryChronoDB;
+import org.chronos.chronodb.test.base.AllBackendsTest.DontRunWithBackend;
+import org.chronos.chronodb.test.base.InstantiateChronosWith;
+import org.chronos.chronograph.api.structure.ChronoGraph;
+import org.chronos.chronograph.internal.api.configuration.ChronoGraphConfiguration;
+import org.chronos.chronograph.test.base.AllChronoGraphBackendsTest;
+import org.chronos.common.test.junit.categories.PerformanceTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+@Category(PerformanceTest.class)
+@DontRunWithBackend({InMemoryChronoDB.BACKEND_NAME})
+public class SeparateAdjacencyPerformanceTest extends AllChronoGraphBackendsTest {
+
+    private static final int VERTEX_COUNT = 20_000;
+    private static final int EDGES_PER_VERTEX = 3;
+    private static final int HUB_EDGE_COMMITS = 200;
+    private static final int READ_ITERATIONS = 2_000;
+
+    @Test
+    public void powerLawGraphWithEmbeddedAdjacency() {
+        this.runPowerLawBenchmark("embedded");
+    }
+
+    @Test
+    @InstantiateChronosWith(property = ChronoGraphConfiguration.STORAGE_SEPARATE_ADJACENCY_ENABLED, value = "true")
+    public void powerLawGraphWithSeparateAdjacency() {
+        this.runPowerLawBenchmark("separate");
+    }
+
+    private void runPowerLawBenchmark(final String layout) {
+        ChronoGraph graph = this.getGraph();
+        Random random = new Random(42);
+
+        // build the graph via preferential attachment: every new vertex connects to existing vertices with a
+        // probability proportional to their degree. This produces a few hubs with a very large number of edges.
+        List<String> edgeEndpoints = Lists.newArrayList();
+        long timeBeforeInsert = System.currentTimeMillis();
+        graph.tx().open();
+        for (int i = 0; i < VERTEX_COUNT; i++) {
+            String id = "v" + i;
+            Vertex vertex = graph.addVertex(T.id, id, "name", id);
+            if (i > 0) {
+                for (int e = 0; e < EDGES_PER_VERTEX; e++) {
+                    String targetId = edgeEndpoints.isEmpty() ? "v0" : edgeEndpoints.get(random.nextInt(edgeEndpoints.size()));
+                    Vertex target = Iterators.getOnlyElement(graph.vertices(targetId));
+                    vertex.addEdge("link", target);
+                    edgeEndpoints.add(id);
+                    edgeEndpoints.add(targetId);
+                }
+            }
+            if (i % 5_000 == 0) {
+                graph.tx().commitIncremental();
+            }
+        }
+        graph.tx().commit();
+        long insertTime = System.currentTimeMillis() - timeBeforeInsert;
+
+        // find the hub (the vertex with the highest degree)
+        String hubId = "v0";
+        long hubDegree = 0;
+        graph.tx().open();
+        for (int i = 0; i < 100; i++) {
+            Vertex vertex = Iterators.getOnlyElement(graph.vertices("v" + i));
+            long degree = Iterators.size(vertex.edges(Direction.BOTH));
+            if (degree > hubDegree) {
+                hubId = (String) vertex.id();
+                hubDegree = degree;
+            }
+        }
+        graph.tx().rollback();
+
+        // add edges to the hub, one commit at a time
+        long timeBeforeHubCommits = System.currentTimeMillis();
+        for (int i = 0; i < HUB_EDGE_COMMITS; i++) {
+            graph.tx().open();
+            Vertex hub = Iterators.getOnlyElement(graph.vertices(hubId));
+            String otherId = "v" + random.nextInt(VERTEX_COUNT);
+            if (otherId.equals(hubId)) {
+                // self-edges would only be counted once in the final degree check
+                otherId = hubId.equals("v1") ? "v2" : "v1";
+            }
+            Vertex other = Iterators.getOnlyElement(graph.vertices(otherId));
+            other.addEdge("link", hub);
+            graph.tx().commit();
+        }
+        long hubCommitTime = System.currentTimeMillis() - timeBeforeHubCommits;
+
+        // read a property of the hub, without touching its edges
+        long timeBeforePropertyReads = System.currentTimeMillis();
+        for (int i = 0; i < READ_ITERATIONS; i++) {
+            graph.tx().open();
+            Vertex hub = Iterators.getOnlyElement(graph.vertices(hubId));
+            assertEquals(hubId, hub.value("name"));
+            graph.tx().rollback();
+        }
+        long propertyReadTime = System.currentTimeMillis() - timeBeforePropertyReads;
+
+        // navigate the outgoing edges of the hub (of which there are only few)
+        long timeBeforeEdgeReads = System.currentTimeMillis();
+        for (int i = 0; i < READ_ITERATIONS; i++) {
+            graph.tx().open();
+            Vertex hub = Iterators.getOnlyElement(graph.vertices(hubId));
+            assertTrue(Iterators.size(hub.edges(Direction.OUT, "link")) <= EDGES_PER_VERTEX);
+            graph.tx().rollback();
+        }
+        long edgeReadTime = System.currentTimeMillis() - timeBeforeEdgeReads;
+
+        graph.tx().open();
+        Vertex hub = Iterators.getOnlyElement(graph.vertices(hubId));
+        assertEquals(hubDegree + HUB_EDGE_COMMITS, Iterators.size(hub.edges(Direction.BOTH)));
+        graph.tx().rollback();
+
+        System.out.println("Adjacency layout '" + layout + "' on power-law graph (" + VERTEX_COUNT + " vertices, hub degree: " + hubDegree + "):");
+        System.out.println("\tInsert: " + insertTime + "ms");
+        System.out.println("\t" + HUB_EDGE_COMMITS + " commits adding an edge to the hub: " + hubCommitTime + "ms");
+        System.out.println("\t" + READ_ITERATIONS + " property reads on the hub: " + propertyReadTime + "ms");
+        System.out.println("\t" + READ_ITERATIONS + " outgoing edge reads on the hub: " + edgeReadTime + "ms");
+    }
+
+}
@@ -0,0 +1,243 @@
+package org.chronos.chronograph.test.cases.structure;
+
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.apache.commons.configuration.BaseConfiguration;
+import org.apache.commons.configuration.Configuration;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.chronos.chronodb.api.ChronoDBTransaction;
+import org.chronos.chronodb.inmemory.InMemoryChronoDB;
+import org.chronos.chronodb.internal.api.stream.CloseableIterator;
+import org.chronos.chronodb.test.base.AllBackendsTest.DontRunWithBackend;
+import org.chronos.chronodb.test.base.InstantiateChronosWith;
+import org.chronos.chronograph.api.structure.ChronoGraph;
+import org.chronos.chronograph.api.structure.record.IVertexRecord;
+import org.chronos.chronograph.internal.ChronoGraphConstants;
+import org.chronos.chronograph.internal.api.configuration.ChronoGraphConfiguration;
+import org.chronos.chronograph.internal.api.structure.ChronoGraphInternal;
+import org.chronos.chronograph.internal.impl.structure.adjacency.AdjacencyKeys;
+import org.chronos.chronograph.test.base.AllChronoGraphBackendsTest;
+import org.chronos.common.test.junit.categories.IntegrationTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+@Category(IntegrationTest.class)
+public class SeparateAdjacencyTest extends AllChronoGraphBackendsTest {
+
+    @Test
+    @InstantiateChronosWith(property = ChronoGraphConfiguration.STORAGE_SEPARATE_ADJACENCY_ENABLED, value = "true")
+    public void canNavigateEdgesInSeparateLayout() {
+        ChronoGraph g = this.getGraph();
+        { // insert some data
+            Vertex john = g.addVertex(T.id, "john");
+            Vertex jane = g.addVertex(T.id, "jane");
+            Vertex jack = g.addVertex(T.id, "jack");
+            john.addEdge("knows", jane, T.id, "e1");
+            john.addEdge("knows", jack, T.id, "e2");
+            john.addEdge("likes", jane, T.id, "e3");
+            jane.addEdge("knows", john, T.id, "e4");
+            john.addEdge("self", john, T.id, "e5");
+        }
+        this.assertCommitAssert(() -> {
+            Vertex john = Iterators.getOnlyElement(g.vertices("john"));
+            assertEquals(Sets.newHashSet("e1", "e2", "e3", "e5"), this.edgeIds(john, Direction.OUT));
+            assertEquals(Sets.newHashSet("e1", "e2"), this.edgeIds(john, Direction.OUT, "knows"));
+            assertEquals(Sets.newHashSet("e1", "e2", "e3"), this.edgeIds(john, Direction.OUT, "knows", "likes"));
+            assertEquals(Sets.newHashSet("e4", "e5"), this.edgeIds(john, Direction.IN));
+            assertEquals(Sets.newHashSet(), this.edgeIds(john, Direction.IN, "likes"));
+            // the self-edge must only be reported once
+            assertEquals(5, Iterators.size(john.edges(Direction.BOTH)));
+            assertEquals(Sets.newHashSet("jane", "jack"), this.vertexIds(john.vertices(Direction.OUT, "knows")));
+        });
+        // the vertex record does not contain the edges anymore
+        IVertexRecord record = this.getBackingTx(g).get(ChronoGraphConstants.KEYSPACE_VERTEX, "john");
+        assertFalse(record.isAdjacencyEmbedded());
+        assertEquals(5, this.getAdjacencyKeys(g, "john").size());
+    }
+
+    @Test
+    @InstantiateChronosWith(property = ChronoGraphConfiguration.STORAGE_SEPARATE_ADJACENCY_ENABLED, value = "true")
+    public void canModifyEdgesInSeparateLayout() {
+        ChronoGraph g = this.getGraph();
+        { // insert some data
+            Vertex v1 = g.addVertex(T.id, "v1");
+            Vertex v2 = g.addVertex(T.id, "v2");
+            Vertex v3 = g.addVertex(T.id, "v3");
+            v1.addEdge("test", v2, T.id, "e1");
+            v1.addEdge("test", v3, T.id, "e2");
+            v2.addEdge("test", v3, T.id, "e3");
+        }
+        g.tx().commit();
+        long afterFirstCommit = g.getNow();
+
+        { // add and remove edges, changing vertex properties along the way
+            Vertex v1 = Iterators.getOnlyElement(g.vertices("v1"));
+            Vertex v3 = Iterators.getOnlyElement(g.vertices("v3"));
+            v1.property("name", "foo");
+            Iterators.getOnlyElement(g.edges("e1")).remove();
+            v3.addEdge("test", v1, T.id, "e4");
+            // the changes are visible within the transaction
+            assertEquals(Sets.newHashSet("e2", "e4"), this.edgeIds(v1, Direction.BOTH));
+        }
+        this.assertCommitAssert(() -> {
+            Vertex v1 = Iterators.getOnlyElement(g.vertices("v1"));
+            assertEquals("foo", v1.value("name"));
+            assertEquals(Sets.newHashSet("e2"), this.edgeIds(v1, Direction.OUT));
+            assertEquals(Sets.newHashSet("e4"), this.edgeIds(v1, Direction.IN));
+            Vertex v2 = Iterators.getOnlyElement(g.vertices("v2"));
+            assertEquals(Sets.newHashSet("e3"), this.edgeIds(v2, Direction.BOTH));
+        });
+
+        { // remove a vertex
+            Iterators.getOnlyElement(g.vertices("v3")).remove();
+        }
+        this.assertCommitAssert(() -> {
+            Vertex v1 = Iterators.getOnlyElement(g.vertices("v1"));
+            assertEquals(Sets.newHashSet(), this.edgeIds(v1, Direction.BOTH));
+            assertEquals(0, Iterators.size(g.edges()));
+        });
+        assertEquals(0, this.getAdjacencyKeys(g, "v3").size());
+
+        // the history is still accessible
+        g.tx().open(afterFirstCommit);
+        try {
+            Vertex v1 = Iterators.getOnlyElement(g.vertices("v1"));
+            assertEquals(Sets.newHashSet("e1", "e2"), this.edgeIds(v1, Direction.OUT));
+            assertEquals(Sets.newHashSet(), this.edgeIds(v1, Direction.IN));
+        } finally {
+            g.tx().rollback();
+        }
+    }
+
+    @Test
+    @DontRunWithBackend({InMemoryChronoDB.BACKEND_NAME})
+    public void canMigrateExistingGraphToSeparateLayout() {
+        ChronoGraph g = this.getGraph();
+        { // insert data in the embedded layout
+            Vertex v1 = g.addVertex(T.id, "v1");
+            Vertex v2 = g.addVertex(T.id, "v2");
+            Vertex v3 = g.addVertex(T.id, "v3");
+            v1.addEdge("test", v2, T.id, "e1");
+            v1.addEdge("test", v3, T.id, "e2");
+        }
+        g.tx().commit();
+        long afterFirstCommit = g.getNow();
+        g.getBranchManager().createBranch("test");
+        { // modify the data on master
+            Iterators.getOnlyElement(g.edges("e1")).remove();
+            Vertex v3 = Iterators.getOnlyElement(g.vertices("v3"));
+            v3.addEdge("test", Iterators.getOnlyElement(g.vertices("v2")), T.id, "e3");
+        }
+        g.tx().commit();
+        { // modify the data on the branch
+            g.tx().open("test");
+            Vertex v2 = Iterators.getOnlyElement(g.vertices("v2"));
+            v2.addEdge("test", Iterators.getOnlyElement(g.vertices("v1")), T.id, "e4");
+            g.tx().commit();
+        }
+
+        // reopen the graph in the separate layout, this triggers the migration
+        Configuration configuration = new BaseConfiguration();
+        configuration.setProperty(ChronoGraphConfiguration.STORAGE_SEPARATE_ADJACENCY_ENABLED, true);
+        g = this.closeAndReopenGraph(configuration);
+
+        g.tx().open();
+        try {
+            Vertex v1 = Iterators.getOnlyElement(g.vertices("v1"));
+            assertEquals(Sets.newHashSet("e2"), this.edgeIds(v1, Direction.BOTH));
+            Vertex v2 = Iterators.getOnlyElement(g.vertices("v2"));
+            assertEquals(Sets.newHashSet("e3"), this.edgeIds(v2, Direction.IN));
+        } finally {
+            g.tx().rollback();
+        }
+        g.tx().open(afterFirstCommit);
+        try {
+            Vertex v1 = Iterators.getOnlyElement(g.vertices("v1"));
+            assertEquals(Sets.newHashSet("e1", "e2"), this.edgeIds(v1, Direction.OUT));
+        } finally {
+            g.tx().rollback();
+        }
+        g.tx().open("test");
+        try {
+            Vertex v1 = Iterators.getOnlyElement(g.vertices("v1"));
+            assertEquals(Sets.newHashSet("e1", "e2"), this.edgeIds(v1, Direction.OUT));
+            assertEquals(Sets.newHashSet("e4"), this.edgeIds(v1, Direction.IN));
+        } finally {
+            g.tx().rollback();
+        }
+        IVertexRecord record = this.getBackingTx(g).get(ChronoGraphConstants.KEYSPACE_VERTEX, "v1");
+        assertFalse(record.isAdjacencyEmbedded());
+        assertEquals(1, this.getAdjacencyKeys(g, "v1").size());
+    }
+
+    @Test
+    @DontRunWithBackend({InMemoryChronoDB.BACKEND_NAME})
+    @InstantiateChronosWith(property = ChronoGraphConfiguration.STORAGE_SEPARATE_ADJACENCY_ENABLED, value = "true")
+    public void canSwitchBackToEmbeddedLayout() {
+        ChronoGraph g = this.getGraph();
+        { // insert data in the separate layout
+            Vertex v1 = g.addVertex(T.id, "v1");
+            Vertex v2 = g.addVertex(T.id, "v2");
+            Vertex v3 = g.addVertex(T.id, "v3");
+            v1.addEdge("test", v2, T.id, "e1");
+            v1.addEdge("test", v3, T.id, "e2");
+        }
+        g.tx().commit();
+
+        Configuration configuration = new BaseConfiguration();
+        configuration.setProperty(ChronoGraphConfiguration.STORAGE_SEPARATE_ADJACENCY_ENABLED, false);
+        ChronoGraph reopenedGraph = this.closeAndReopenGraph(configuration);
+        { // vertices in the separate layout can still be read, and are converted when they are modified
+            Vertex v1 = Iterators.getOnlyElement(reopenedGraph.vertices("v1"));
+            assertEquals(Sets.newHashSet("e1", "e2"), this.edgeIds(v1, Direction.OUT));
+            v1.property("name", "foo");
+        }
+        this.assertCommitAssert(() -> {
+            Vertex v1 = Iterators.getOnlyElement(reopenedGraph.vertices("v1"));
+            assertEquals(Sets.newHashSet("e1", "e2"), this.edgeIds(v1, Direction.OUT));
+            Vertex v2 = Iterators.getOnlyElement(reopenedGraph.vertices("v2"));
+            assertEquals(Sets.newHashSet("e1"), this.edgeIds(v2, Direction.IN));
+        });
+        IVertexRecord record = this.getBackingTx(reopenedGraph).get(ChronoGraphConstants.KEYSPACE_VERTEX, "v1");
+        assertTrue(record.isAdjacencyEmbedded());
+        assertEquals(0, this.getAdjacencyKeys(reopenedGraph, "v1").size());
+    }
+
+    // =================================================================================================================
+    // HELPER METHODS
+    // =================================================================================================================
+
+    private Set<String> edgeIds(final Vertex vertex, final Direction direction, final String... labels) {
+        Set<String> ids = Sets.newHashSet();
+        vertex.edges(direction, labels).forEachRemaining(e -> ids.add((String) e.id()));
+        return ids;
+    }
+
+    private Set<String> vertexIds(final Iterator<Vertex> vertices) {
+        Set<String> ids = Sets.newHashSet();
+        vertices.forEachRemaining(v -> ids.add((String) v.id()));
+        return ids;
+    }
+
+    private ChronoDBTransaction getBackingTx(final ChronoGraph graph) {
+        return ((ChronoGraphInternal) graph).getBackingDB().tx();
+    }
+
+    private List<String> getAdjacencyKeys(final ChronoGraph graph, final String vertexId) {
+        List<String> keys = Lists.newArrayList();
+        try (CloseableIterator<String> keyStream = this.getBackingTx(graph).keyStream(ChronoGraphConstants.KEYSPACE_ADJACENCY, AdjacencyKeys.createPrefix(vertexId))) {
+            keyStream.forEachRemaining(keys::add);
+        }
+        return keys;
+    }
+
+}
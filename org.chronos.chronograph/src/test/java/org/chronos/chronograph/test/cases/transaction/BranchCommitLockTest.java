@@ -0,0 +1,206 @@
+package org.chronos.chronograph.test.cases.transaction;
+
+import com.google.common.collect.Iterators;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.chronos.chronodb.test.base.InstantiateChronosWith;
+import org.chronos.chronograph.api.structure.ChronoGraph;
+import org.chronos.chronograph.api.transaction.trigger.CancelCommitException;
+import org.chronos.chronograph.api.transaction.trigger.ChronoGraphPostPersistTrigger;
+import org.chronos.chronograph.api.transaction.trigger.ChronoGraphPrePersistTrigger;
+import org.chronos.chronograph.api.transaction.trigger.PostPersistTriggerContext;
+import org.chronos.chronograph.api.transaction.trigger.PrePersistTriggerContext;
+import org.chronos.chronograph.internal.api.configuration.ChronoGraphConfiguration;
+import org.chronos.chronograph.test.base.AllChronoGraphBackendsTest;
+import org.chronos.common.test.junit.categories.IntegrationTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+@Category(IntegrationTest.class)
+public class BranchCommitLockTest extends AllChronoGraphBackendsTest {
+
+    @Test
+    public void slowCommitDoesNotBlockCommitsOnOtherBranches() throws Exception {
+        ChronoGraph g = this.getGraph();
+        g.getBranchManager().createBranch("slow");
+        g.getBranchManager().createBranch("fast");
+        BlockingPostPersistTrigger.reset("slow");
+        g.getTriggerManager().createTrigger("blocking", new BlockingPostPersistTrigger());
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Future<?> slowCommit = executor.submit(() -> {
+                ChronoGraph txGraph = g.tx().createThreadedTx("slow");
+                txGraph.addVertex(T.id, "slowVertex");
+                txGraph.tx().commit();
+            });
+            assertTrue(BlockingPostPersistTrigger.ENTERED.await(10, TimeUnit.SECONDS));
+            // the slow commit is now stuck in its post-persist trigger, i.e. it holds the commit lock of its branch
+            Future<?> sameBranchCommit = executor.submit(() -> {
+                ChronoGraph txGraph = g.tx().createThreadedTx("slow");
+                txGraph.addVertex(T.id, "waitingVertex");
+                txGraph.tx().commit();
+            });
+            Future<?> fastCommit = executor.submit(() -> {
+                ChronoGraph txGraph = g.tx().createThreadedTx("fast");
+                txGraph.addVertex(T.id, "fastVertex");
+                txGraph.tx().commit();
+            });
+            fastCommit.get(10, TimeUnit.SECONDS);
+            assertFalse(slowCommit.isDone());
+            assertFalse(sameBranchCommit.isDone());
+            BlockingPostPersistTrigger.RELEASE.countDown();
+            slowCommit.get(10, TimeUnit.SECONDS);
+            sameBranchCommit.get(10, TimeUnit.SECONDS);
+        } finally {
+            BlockingPostPersistTrigger.RELEASE.countDown();
+            executor.shutdownNow();
+        }
+
+        try (ChronoGraph txGraph = g.tx().createThreadedTx("slow")) {
+            assertEquals(1, Iterators.size(txGraph.vertices("slowVertex")));
+            assertEquals(1, Iterators.size(txGraph.vertices("waitingVertex")));
+        }
+        try (ChronoGraph txGraph = g.tx().createThreadedTx("fast")) {
+            assertEquals(1, Iterators.size(txGraph.vertices("fastVertex")));
+        }
+    }
+
+    @Test
+    @InstantiateChronosWith(property = ChronoGraphConfiguration.TRANSACTION_OPTIMISTIC_COMMIT_PREPARATION_ENABLED, value = "true")
+    public void commitIsRepeatedIfBranchHeadAdvancedDuringPreparation() throws Exception {
+        ChronoGraph g = this.getGraph();
+        String branchName = g.tx().getCurrentTransaction().getBranchName();
+        g.tx().rollback();
+        BlockingTrigger.reset(branchName);
+        g.getTriggerManager().createTrigger("blocking", new BlockingTrigger());
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> slowCommit = executor.submit(() -> {
+                ChronoGraph txGraph = g.tx().createThreadedTx();
+                txGraph.addVertex(T.id, "v1");
+                txGraph.tx().commit();
+            });
+            assertTrue(BlockingTrigger.ENTERED.await(10, TimeUnit.SECONDS));
+            // the slow commit has been prepared, but not persisted. Commits on the same branch are not blocked.
+            Future<?> fastCommit = executor.submit(() -> {
+                ChronoGraph txGraph = g.tx().createThreadedTx();
+                txGraph.addVertex(T.id, "v2");
+                txGraph.tx().commit();
+            });
+            fastCommit.get(10, TimeUnit.SECONDS);
+            BlockingTrigger.RELEASE.countDown();
+            slowCommit.get(10, TimeUnit.SECONDS);
+        } finally {
+            BlockingTrigger.RELEASE.countDown();
+            executor.shutdownNow();
+        }
+
+        // the slow commit had to be merged with the fast one: its pre-persist triggers ran twice
+        // (the fast commit only fires them once, so we expect three invocations in total)
+        assertEquals(3, BlockingTrigger.INVOCATIONS.get());
+        try (ChronoGraph txGraph = g.tx().createThreadedTx()) {
+            assertEquals(1, Iterators.size(txGraph.vertices("v1")));
+            assertEquals(1, Iterators.size(txGraph.vertices("v2")));
+        }
+    }
+
+    // =================================================================================================================
+    // INNER CLASSES
+    // =================================================================================================================
+
+    /**
+     * A trigger which blocks the first pre-persist invocation on a given branch until it is released.
+     *
+     * <p>
+     * Triggers are serialized by the trigger manager, so the state is kept in static fields.
+     */
+    public static class BlockingTrigger implements ChronoGraphPrePersistTrigger {
+
+        private static volatile String BLOCKED_BRANCH;
+        private static volatile CountDownLatch ENTERED;
+        private static volatile CountDownLatch RELEASE;
+        private static final AtomicInteger INVOCATIONS = new AtomicInteger(0);
+
+        public BlockingTrigger() {
+            // default constructor for kryo
+        }
+
+        public static void reset(final String blockedBranch) {
+            BLOCKED_BRANCH = blockedBranch;
+            ENTERED = new CountDownLatch(1);
+            RELEASE = new CountDownLatch(1);
+            INVOCATIONS.set(0);
+        }
+
+        @Override
+        public void onPrePersist(final PrePersistTriggerContext context) throws CancelCommitException {
+            INVOCATIONS.incrementAndGet();
+            if (!context.getBranch().getName().equals(BLOCKED_BRANCH) || ENTERED.getCount() <= 0) {
+                return;
+            }
+            ENTERED.countDown();
+            try {
+                RELEASE.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public int getPriority() {
+            return 0;
+        }
+
+    }
+
+    /**
+     * A trigger which blocks the first post-persist invocation on a given branch until it is released. Post-persist
+     * triggers are fired while the commit lock of the branch is held.
+     */
+    public static class BlockingPostPersistTrigger implements ChronoGraphPostPersistTrigger {
+
+        private static volatile String BLOCKED_BRANCH;
+        private static volatile CountDownLatch ENTERED;
+        private static volatile CountDownLatch RELEASE;
+
+        public BlockingPostPersistTrigger() {
+            // default constructor for kryo
+        }
+
+        public static void reset(final String blockedBranch) {
+            BLOCKED_BRANCH = blockedBranch;
+            ENTERED = new CountDownLatch(1);
+            RELEASE = new CountDownLatch(1);
+        }
+
+        @Override
+        public void onPostPersist(final PostPersistTriggerContext context) {
+            if (!context.getBranch().getName().equals(BLOCKED_BRANCH) || ENTERED.getCount() <= 0) {
+                return;
+            }
+            ENTERED.countDown();
+            try {
+                RELEASE.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public int getPriority() {
+            return 0;
+        }
+
+    }
+
+}
@@ -0,0 +1,81 @@
+package org.chronos.chronograph.test.cases.transaction;
+
+import com.google.common.collect.Iterators;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.chronos.chronodb.inmemory.InMemoryChronoDB;
+import org.chronos.chronodb.test.base.AllBackendsTest.DontRunWithBackend;
+import org.chronos.chronodb.test.base.InstantiateChronosWith;
+import org.chronos.chronograph.api.structure.ChronoGraph;
+import org.chronos.chronograph.internal.api.configuration.ChronoGraphConfiguration;
+import org.chronos.chronograph.test.base.AllChronoGraphBackendsTest;
+import org.chronos.common.test.junit.categories.PerformanceTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static org.junit.Assert.*;
+
+@Category(PerformanceTest.class)
+@DontRunWithBackend({InMemoryChronoDB.BACKEND_NAME})
+public class BulkGraphMergePerformanceTest extends AllChronoGraphBackendsTest {
+
+    @Test
+    public void commit10kElementsWithBulkMerge() {
+        this.runStaleCommitBenchmark("bulk", 10_000);
+    }
+
+    @Test
+    @InstantiateChronosWith(property = ChronoGraphConfiguration.TRANSACTION_BULK_MERGE_ENABLED, value = "false")
+    public void commit10kElementsWithElementWiseMerge() {
+        this.runStaleCommitBenchmark("element-wise", 10_000);
+    }
+
+    @Test
+    public void commit100kElementsWithBulkMerge() {
+        this.runStaleCommitBenchmark("bulk", 100_000);
+    }
+
+    @Test
+    @InstantiateChronosWith(property = ChronoGraphConfiguration.TRANSACTION_BULK_MERGE_ENABLED, value = "false")
+    public void commit100kElementsWithElementWiseMerge() {
+        this.runStaleCommitBenchmark("element-wise", 100_000);
+    }
+
+    private void runStaleCommitBenchmark(final String mergeMode, final int elementCount) {
+        ChronoGraph graph = this.getGraph();
+        graph.addVertex(T.id, "root", "name", "root");
+        graph.tx().commit();
+
+        // create half of the elements as vertices and the other half as edges between them
+        ChronoGraph ingestTx = graph.tx().createThreadedTx();
+        int vertexCount = elementCount / 2;
+        Vertex previous = null;
+        for (int i = 0; i < vertexCount; i++) {
+            Vertex vertex = ingestTx.addVertex(T.id, "v" + i, "index", i, "name", "Vertex " + i);
+            if (previous != null) {
+                previous.addEdge("next", vertex, "weight", i);
+            }
+            previous = vertex;
+        }
+        // the root is linked to the last vertex, so the ingest also touches a vertex which exists in the store
+        Vertex root = Iterators.getOnlyElement(ingestTx.vertices("root"));
+        root.addEdge("next", previous);
+
+        // a concurrent commit advances the branch head, the ingest transaction now has to be merged
+        ChronoGraph concurrentTx = graph.tx().createThreadedTx();
+        concurrentTx.addVertex(T.id, "other", "name", "other");
+        concurrentTx.tx().commit();
+
+        long timeBeforeCommit = System.currentTimeMillis();
+        ingestTx.tx().commit();
+        long commitTime = System.currentTimeMillis() - timeBeforeCommit;
+
+        graph.tx().open();
+        assertEquals(vertexCount + 2, Iterators.size(graph.vertices()));
+        assertEquals(vertexCount, Iterators.size(graph.edges()));
+        graph.tx().rollback();
+
+        System.out.println("Commit of " + elementCount + " elements on a stale timestamp with " + mergeMode + " merge: " + commitTime + "ms");
+    }
+
+}
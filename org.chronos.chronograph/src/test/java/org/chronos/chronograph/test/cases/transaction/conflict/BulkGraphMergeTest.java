@@ -0,0 +1,138 @@
+package org.chronos.chronograph.test.cases.transaction.conflict;
+
+import com.google.common.collect.Iterators;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.chronos.chronodb.test.base.InstantiateChronosWith;
+import org.chronos.chronograph.api.structure.ChronoGraph;
+import org.chronos.chronograph.internal.api.configuration.ChronoGraphConfiguration;
+import org.chronos.chronograph.test.base.AllChronoGraphBackendsTest;
+import org.chronos.common.test.junit.categories.IntegrationTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+@Category(IntegrationTest.class)
+public class BulkGraphMergeTest extends AllChronoGraphBackendsTest {
+
+    @Test
+    public void canMergeDisjointChanges() {
+        this.runDisjointChangesScenario();
+    }
+
+    @Test
+    @InstantiateChronosWith(property = ChronoGraphConfiguration.TRANSACTION_BULK_MERGE_ENABLED, value = "false")
+    public void canMergeDisjointChangesWithoutBulkMerge() {
+        this.runDisjointChangesScenario();
+    }
+
+    @Test
+    public void edgeToConcurrentlyRemovedVertexIsNotCreated() {
+        this.runRemovedVertexScenario();
+    }
+
+    @Test
+    @InstantiateChronosWith(property = ChronoGraphConfiguration.TRANSACTION_BULK_MERGE_ENABLED, value = "false")
+    public void edgeToConcurrentlyRemovedVertexIsNotCreatedWithoutBulkMerge() {
+        this.runRemovedVertexScenario();
+    }
+
+    @Test
+    public void elementsRemainUsableAfterMergedCommit() {
+        ChronoGraph g = this.getGraph();
+        g.addVertex(T.id, "a", "name", "a");
+        g.tx().commit();
+
+        g.tx().open();
+        Vertex vB = g.addVertex(T.id, "b", "name", "b");
+        Vertex vA = Iterators.getOnlyElement(g.vertices("a"));
+        vA.property("name", "a1");
+
+        ChronoGraph g2 = g.tx().createThreadedTx();
+        g2.addVertex(T.id, "c", "name", "c");
+        g2.tx().commit();
+
+        // "a" and "b" were not touched by the concurrent commit, so they are carried over by the merge
+        g.tx().commit();
+
+        g.tx().open();
+        assertThat(vB.value("name"), is("b"));
+        assertThat(vA.value("name"), is("a1"));
+        assertThat(Iterators.getOnlyElement(g.vertices("a")).value("name"), is("a1"));
+        assertThat(Iterators.getOnlyElement(g.vertices("b")).value("name"), is("b"));
+        assertThat(Iterators.getOnlyElement(g.vertices("c")).value("name"), is("c"));
+        g.tx().rollback();
+    }
+
+    private void runDisjointChangesScenario() {
+        ChronoGraph g = this.getGraph();
+        g.addVertex(T.id, "root", "name", "root");
+        g.tx().commit();
+
+        ChronoGraph g1 = g.tx().createThreadedTx();
+        ChronoGraph g2 = g.tx().createThreadedTx();
+
+        // transaction 1 creates a chain of vertices
+        Vertex previous = null;
+        for (int i = 0; i < 100; i++) {
+            Vertex vertex = g1.addVertex(T.id, "v" + i, "index", i);
+            if (previous != null) {
+                previous.addEdge("next", vertex, "weight", i);
+            }
+            previous = vertex;
+        }
+
+        // transaction 2 modifies an unrelated vertex and commits first
+        Vertex root = Iterators.getOnlyElement(g2.vertices("root"));
+        root.property("name", "new root");
+        g2.addVertex(T.id, "other");
+        g2.tx().commit();
+
+        g1.tx().commit();
+
+        g.tx().open();
+        assertThat(Iterators.getOnlyElement(g.vertices("root")).value("name"), is("new root"));
+        assertThat(Iterators.size(g.vertices("other")), is(1));
+        for (int i = 0; i < 100; i++) {
+            Vertex vertex = Iterators.getOnlyElement(g.vertices("v" + i));
+            assertThat(vertex.value("index"), is(i));
+            assertThat(Iterators.size(vertex.edges(Direction.OUT, "next")), is(i < 99 ? 1 : 0));
+            assertThat(Iterators.size(vertex.edges(Direction.IN, "next")), is(i > 0 ? 1 : 0));
+        }
+        g.tx().rollback();
+    }
+
+    private void runRemovedVertexScenario() {
+        ChronoGraph g = this.getGraph();
+        g.addVertex(T.id, "a");
+        g.addVertex(T.id, "b");
+        g.tx().commit();
+
+        ChronoGraph g1 = g.tx().createThreadedTx();
+        ChronoGraph g2 = g.tx().createThreadedTx();
+
+        // transaction 1 connects "a" and "b", and adds an unrelated vertex
+        Vertex vA = Iterators.getOnlyElement(g1.vertices("a"));
+        Vertex vB = Iterators.getOnlyElement(g1.vertices("b"));
+        vA.addEdge("knows", vB);
+        g1.addVertex(T.id, "c", "name", "c");
+
+        // transaction 2 removes "b" and commits first
+        Iterators.getOnlyElement(g2.vertices("b")).remove();
+        g2.tx().commit();
+
+        g1.tx().commit();
+
+        g.tx().open();
+        assertThat(Iterators.size(g.vertices("b")), is(0));
+        Vertex storeA = Iterators.getOnlyElement(g.vertices("a"));
+        assertThat(Iterators.size(storeA.edges(Direction.BOTH)), is(0));
+        assertThat(Iterators.size(g.edges()), is(0));
+        assertThat(Iterators.getOnlyElement(g.vertices("c")).value("name"), is("c"));
+        g.tx().rollback();
+    }
+
+}
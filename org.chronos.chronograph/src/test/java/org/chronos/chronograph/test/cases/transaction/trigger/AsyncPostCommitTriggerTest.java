@@ -0,0 +1,329 @@
+package org.chronos.chronograph.test.cases.transaction.trigger;
+
+import com.google.common.collect.Lists;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.chronos.chronodb.api.ChronoDBConstants;
+import org.chronos.chronodb.test.base.InstantiateChronosWith;
+import org.chronos.chronograph.api.structure.ChronoGraph;
+import org.chronos.chronograph.api.transaction.trigger.AsyncTriggerStatistics;
+import org.chronos.chronograph.api.transaction.trigger.CancelCommitException;
+import org.chronos.chronograph.api.transaction.trigger.ChronoGraphPostCommitTrigger;
+import org.chronos.chronograph.api.transaction.trigger.ChronoGraphPrePersistTrigger;
+import org.chronos.chronograph.api.transaction.trigger.PostCommitTriggerContext;
+import org.chronos.chronograph.api.transaction.trigger.PrePersistTriggerContext;
+import org.chronos.chronograph.api.transaction.trigger.TriggerExecutionMode;
+import org.chronos.chronograph.internal.api.configuration.ChronoGraphConfiguration;
+import org.chronos.chronograph.test.base.AllChronoGraphBackendsTest;
+import org.chronos.common.test.junit.categories.IntegrationTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+@Category(IntegrationTest.class)
+public class AsyncPostCommitTriggerTest extends AllChronoGraphBackendsTest {
+
+    @Test
+    public void canSetAndGetExecutionMode() {
+        ChronoGraph graph = this.getGraph();
+        graph.getTriggerManager().createTrigger("async", new RecordingTrigger());
+        assertThat(graph.getTriggerManager().getExecutionMode("async"), is(TriggerExecutionMode.SYNCHRONOUS));
+        assertTrue(graph.getTriggerManager().setExecutionMode("async", TriggerExecutionMode.ASYNCHRONOUS));
+        assertFalse(graph.getTriggerManager().setExecutionMode("async", TriggerExecutionMode.ASYNCHRONOUS));
+        assertThat(graph.getTriggerManager().getExecutionMode("async"), is(TriggerExecutionMode.ASYNCHRONOUS));
+        assertThat(graph.getTriggerManager().getTrigger("async").getExecutionMode(), is(TriggerExecutionMode.ASYNCHRONOUS));
+
+        // dropping the trigger also drops the mode
+        graph.getTriggerManager().dropTrigger("async");
+        assertThat(graph.getTriggerManager().getExecutionMode("async"), is(nullValue()));
+        graph.getTriggerManager().createTrigger("async", new RecordingTrigger());
+        assertThat(graph.getTriggerManager().getExecutionMode("async"), is(TriggerExecutionMode.SYNCHRONOUS));
+    }
+
+    @Test
+    public void cannotExecuteNonPostCommitTriggerAsynchronously() {
+        ChronoGraph graph = this.getGraph();
+        graph.getTriggerManager().createTrigger("prePersist", new NoOpPrePersistTrigger());
+        try {
+            graph.getTriggerManager().setExecutionMode("prePersist", TriggerExecutionMode.ASYNCHRONOUS);
+            fail("Managed to execute a pre-persist trigger asynchronously!");
+        } catch (IllegalArgumentException expected) {
+            // pass
+        }
+        try {
+            graph.getTriggerManager().setExecutionMode("doesNotExist", TriggerExecutionMode.ASYNCHRONOUS);
+            fail("Managed to set the execution mode of a non-existing trigger!");
+        } catch (IllegalArgumentException expected) {
+            // pass
+        }
+    }
+
+    @Test
+    public void commitDoesNotWaitForAsynchronousTriggers() throws Exception {
+        ChronoGraph graph = this.getGraph();
+        RecordingTrigger.reset(true);
+        graph.getTriggerManager().createTrigger("async", new RecordingTrigger());
+        graph.getTriggerManager().setExecutionMode("async", TriggerExecutionMode.ASYNCHRONOUS);
+
+        graph.addVertex(T.id, "v1");
+        // the trigger blocks until it is released, so this would never return if the trigger was synchronous
+        graph.tx().commit();
+        assertTrue(RecordingTrigger.ENTERED.await(10, TimeUnit.SECONDS));
+        AsyncTriggerStatistics statistics = graph.getTriggerManager().getAsyncTriggerStatistics();
+        assertThat(statistics.getQueueDepth(), is(1));
+        assertThat(statistics.getExecutedCount(), is(0L));
+
+        RecordingTrigger.RELEASE.countDown();
+        statistics = this.awaitStatistics(graph, s -> s.getExecutedCount() == 1);
+        assertThat(statistics.getQueueDepth(), is(0));
+        assertThat(statistics.getDiscardedCount(), is(0L));
+        assertThat(statistics.getFailedCount(), is(0L));
+        // the trigger saw the state of the commit
+        assertThat(RecordingTrigger.RECORDS, contains("master:v1"));
+    }
+
+    @Test
+    public void asynchronousTriggersAreExecutedInCommitOrderPerBranch() {
+        ChronoGraph graph = this.getGraph();
+        graph.getBranchManager().createBranch("other");
+        RecordingTrigger.reset(false);
+        graph.getTriggerManager().createTrigger("async", new RecordingTrigger());
+        graph.getTriggerManager().setExecutionMode("async", TriggerExecutionMode.ASYNCHRONOUS);
+
+        int commitsPerBranch = 20;
+        for (int i = 0; i < commitsPerBranch; i++) {
+            for (String branchName : Lists.newArrayList(ChronoDBConstants.MASTER_BRANCH_IDENTIFIER, "other")) {
+                ChronoGraph txGraph = graph.tx().createThreadedTx(branchName);
+                txGraph.addVertex(T.id, "v" + i);
+                txGraph.tx().commit();
+            }
+        }
+        this.awaitStatistics(graph, s -> s.getExecutedCount() == 2 * commitsPerBranch);
+
+        for (String branchName : Lists.newArrayList(ChronoDBConstants.MASTER_BRANCH_IDENTIFIER, "other")) {
+            List<String> expected = Lists.newArrayList();
+            for (int i = 0; i < commitsPerBranch; i++) {
+                expected.add(branchName + ":v" + i);
+            }
+            List<String> actual = Lists.newArrayList();
+            synchronized (RecordingTrigger.RECORDS) {
+                for (String record : RecordingTrigger.RECORDS) {
+                    if (record.startsWith(branchName + ":")) {
+                        actual.add(record);
+                    }
+                }
+            }
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void asynchronousTriggersAreExecutedInCommitOrderForConcurrentCommits() throws Exception {
+        ChronoGraph graph = this.getGraph();
+        TimestampRecordingTrigger.reset();
+        graph.getTriggerManager().createTrigger("async", new TimestampRecordingTrigger());
+        graph.getTriggerManager().setExecutionMode("async", TriggerExecutionMode.ASYNCHRONOUS);
+
+        int threadCount = 4;
+        int commitsPerThread = 25;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            CountDownLatch startSignal = new CountDownLatch(1);
+            List<Future<?>> futures = Lists.newArrayList();
+            for (int thread = 0; thread < threadCount; thread++) {
+                int threadNumber = thread;
+                futures.add(executor.submit(() -> {
+                    startSignal.await();
+                    for (int i = 0; i < commitsPerThread; i++) {
+                        ChronoGraph txGraph = graph.tx().createThreadedTx();
+                        txGraph.addVertex(T.id, "t" + threadNumber + "v" + i);
+                        txGraph.tx().commit();
+                    }
+                    return null;
+                }));
+            }
+            startSignal.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        this.awaitStatistics(graph, s -> s.getExecutedCount() == threadCount * commitsPerThread);
+
+        List<Long> timestamps;
+        synchronized (TimestampRecordingTrigger.COMMIT_TIMESTAMPS) {
+            timestamps = Lists.newArrayList(TimestampRecordingTrigger.COMMIT_TIMESTAMPS);
+        }
+        assertThat(timestamps.size(), is(threadCount * commitsPerThread));
+        List<Long> sortedTimestamps = Lists.newArrayList(timestamps);
+        Collections.sort(sortedTimestamps);
+        assertEquals(sortedTimestamps, timestamps);
+    }
+
+    @Test
+    @InstantiateChronosWith(property = ChronoGraphConfiguration.TRIGGER_ASYNC_QUEUE_CAPACITY, value = "1")
+    @InstantiateChronosWith(property = ChronoGraphConfiguration.TRIGGER_ASYNC_BACKPRESSURE_POLICY, value = "discard")
+    public void discardPolicySkipsExecutionsWhenQueueIsFull() throws Exception {
+        ChronoGraph graph = this.getGraph();
+        RecordingTrigger.reset(true);
+        graph.getTriggerManager().createTrigger("async", new RecordingTrigger());
+        graph.getTriggerManager().setExecutionMode("async", TriggerExecutionMode.ASYNCHRONOUS);
+
+        graph.addVertex(T.id, "v1");
+        graph.tx().commit();
+        assertTrue(RecordingTrigger.ENTERED.await(10, TimeUnit.SECONDS));
+        // the queue is full, the trigger execution for this commit is skipped
+        graph.addVertex(T.id, "v2");
+        graph.tx().commit();
+        assertThat(graph.getTriggerManager().getAsyncTriggerStatistics().getDiscardedCount(), is(1L));
+
+        RecordingTrigger.RELEASE.countDown();
+        this.awaitStatistics(graph, s -> s.getExecutedCount() == 1);
+        assertThat(RecordingTrigger.RECORDS, contains("master:v1"));
+    }
+
+    @Test
+    public void synchronousTriggersAreStillExecutedOnTheCommittingThread() {
+        ChronoGraph graph = this.getGraph();
+        RecordingTrigger.reset(false);
+        graph.getTriggerManager().createTrigger("sync", new RecordingTrigger());
+        graph.addVertex(T.id, "v1");
+        graph.tx().commit();
+        assertThat(RecordingTrigger.RECORDS, contains("master:v1"));
+        assertThat(graph.getTriggerManager().getAsyncTriggerStatistics().getExecutedCount(), is(0L));
+    }
+
+    // =================================================================================================================
+    // HELPER METHODS
+    // =================================================================================================================
+
+    private AsyncTriggerStatistics awaitStatistics(final ChronoGraph graph, final Predicate<AsyncTriggerStatistics> condition) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        AsyncTriggerStatistics statistics = graph.getTriggerManager().getAsyncTriggerStatistics();
+        while (!condition.test(statistics)) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Asynchronous triggers did not reach the expected state in time: " + statistics);
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            statistics = graph.getTriggerManager().getAsyncTriggerStatistics();
+        }
+        return statistics;
+    }
+
+    // =================================================================================================================
+    // INNER CLASSES
+    // =================================================================================================================
+
+    /**
+     * A post-commit trigger which records the vertices that were added by each commit (in the format
+     * <code>branch:vertexId</code>).
+     *
+     * <p>
+     * Triggers are serialized by the trigger manager, so the state is kept in static fields.
+     */
+    public static class RecordingTrigger implements ChronoGraphPostCommitTrigger {
+
+        private static final List<String> RECORDS = Collections.synchronizedList(Lists.newArrayList());
+        private static volatile boolean BLOCK_FIRST_INVOCATION;
+        private static volatile CountDownLatch ENTERED = new CountDownLatch(1);
+        private static volatile CountDownLatch RELEASE = new CountDownLatch(1);
+
+        public RecordingTrigger() {
+            // default constructor for kryo
+        }
+
+        public static void reset(final boolean blockFirstInvocation) {
+            RECORDS.clear();
+            BLOCK_FIRST_INVOCATION = blockFirstInvocation;
+            ENTERED = new CountDownLatch(1);
+            RELEASE = new CountDownLatch(1);
+        }
+
+        @Override
+        public void onPostCommit(final PostCommitTriggerContext context) {
+            String branchName = context.getBranch().getName();
+            ChronoGraph currentGraph = context.getCurrentState().getGraph();
+            ChronoGraph previousGraph = context.getPreCommitStoreState().getGraph();
+            currentGraph.vertices().forEachRemaining(vertex -> {
+                if (!previousGraph.vertices(vertex.id()).hasNext()) {
+                    RECORDS.add(branchName + ":" + vertex.id());
+                }
+            });
+            if (BLOCK_FIRST_INVOCATION && ENTERED.getCount() > 0) {
+                ENTERED.countDown();
+                try {
+                    RELEASE.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @Override
+        public int getPriority() {
+            return 0;
+        }
+
+    }
+
+    /**
+     * A post-commit trigger which records the timestamps of the commits it has been executed for.
+     */
+    public static class TimestampRecordingTrigger implements ChronoGraphPostCommitTrigger {
+
+        private static final List<Long> COMMIT_TIMESTAMPS = Collections.synchronizedList(Lists.newArrayList());
+
+        public TimestampRecordingTrigger() {
+            // default constructor for kryo
+        }
+
+        public static void reset() {
+            COMMIT_TIMESTAMPS.clear();
+        }
+
+        @Override
+        public void onPostCommit(final PostCommitTriggerContext context) {
+            COMMIT_TIMESTAMPS.add(context.getCommitTimestamp());
+        }
+
+        @Override
+        public int getPriority() {
+            return 0;
+        }
+
+    }
+
+    public static class NoOpPrePersistTrigger implements ChronoGraphPrePersistTrigger {
+
+        public NoOpPrePersistTrigger() {
+            // default constructor for kryo
+        }
+
+        @Override
+        public void onPrePersist(final PrePersistTriggerContext context) throws CancelCommitException {
+            // no-op
+        }
+
+        @Override
+        public int getPriority() {
+            return 0;
+        }
+
+    }
+
+}
@@ -0,0 +1,159 @@
+package org.chronos.common.benchmark.serialization;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.chronos.common.serialization.KryoManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the pooled {@link KryoManager} against the previous serialization approach, which kept one {@link Kryo}
+ * instance per thread and allocated a fresh {@link ByteArrayOutputStream}, {@link Output} and {@link Input} for every
+ * call (and a fresh {@link Kryo} instance for every deep copy).
+ *
+ * <p>
+ * The serialized object mimics a vertex record: a couple of strings, a map of properties and a set of edge IDs. Run
+ * with <code>-PjmhArgs="-prof gc"</code> to obtain the allocation rates per operation in addition to the throughput.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KryoSerializationBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class RecordState {
+
+        @Param({"10", "100"})
+        public int propertyCount;
+
+        public Record record;
+        public byte[] serialForm;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            this.record = new Record("v-" + this.propertyCount, "Person");
+            for (int i = 0; i < this.propertyCount; i++) {
+                this.record.properties.put("property" + i, "value" + i);
+                this.record.edgeIds.add("e-" + i);
+            }
+            this.serialForm = KryoManager.serialize(this.record);
+        }
+
+    }
+
+    @State(Scope.Thread)
+    public static class LegacyState {
+
+        public Kryo kryo;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            this.kryo = new Kryo();
+        }
+
+    }
+
+    // =================================================================================================================
+    // POOLED
+    // =================================================================================================================
+
+    @Benchmark
+    @Threads(1)
+    public byte[] pooledSerialize(final RecordState state) {
+        return KryoManager.serialize(state.record);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public byte[] pooledSerializeConcurrent(final RecordState state) {
+        return KryoManager.serialize(state.record);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object pooledDeserialize(final RecordState state) {
+        return KryoManager.deserialize(state.serialForm);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object pooledDeepCopy(final RecordState state) {
+        return KryoManager.deepCopy(state.record);
+    }
+
+    // =================================================================================================================
+    // LEGACY
+    // =================================================================================================================
+
+    @Benchmark
+    @Threads(1)
+    public byte[] legacySerialize(final RecordState state, final LegacyState legacy) {
+        return legacySerialize(legacy.kryo, state.record);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public byte[] legacySerializeConcurrent(final RecordState state, final LegacyState legacy) {
+        return legacySerialize(legacy.kryo, state.record);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object legacyDeserialize(final RecordState state, final LegacyState legacy) {
+        Input input = new Input(new ByteArrayInputStream(state.serialForm));
+        Object object = legacy.kryo.readClassAndObject(input);
+        input.close();
+        return object;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object legacyDeepCopy(final RecordState state) {
+        // the previous implementation discarded the kryo instance after every deep copy
+        return new Kryo().copy(state.record);
+    }
+
+    private static byte[] legacySerialize(final Kryo kryo, final Object object) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        Output output = new Output(baos);
+        kryo.writeClassAndObject(output, object);
+        output.flush();
+        byte[] result = baos.toByteArray();
+        output.close();
+        return result;
+    }
+
+    // =================================================================================================================
+    // INNER CLASSES
+    // =================================================================================================================
+
+    @SuppressWarnings("unused")
+    public static class Record {
+
+        private String id;
+        private String label;
+        private Map<String, String> properties = Maps.newHashMap();
+        private Set<String> edgeIds = Sets.newHashSet();
+
+        protected Record() {
+            // default constructor for serialization
+        }
+
+        public Record(final String id, final String label) {
+            this.id = id;
+            this.label = label;
+        }
+
+    }
+
+}
@@ -0,0 +1,175 @@
+package org.chronos.common.serialization;
+
+import static com.google.common.base.Preconditions.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.chronos.common.logging.ChronoLogger;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+/**
+ * The table of classes which are explicitly registered in every {@link Kryo} instance produced by the
+ * {@link KryoManager}.
+ *
+ * <p>
+ * Kryo writes the fully qualified class name for every object of an unregistered class. For registered classes, it
+ * writes a small integer ID instead, which reduces both the size of the serial form and the time required to resolve
+ * the class during deserialization. This table contains the classes which are persisted most frequently.
+ *
+ * <p>
+ * <b>The IDs in this table are part of the persistent format and must never be changed or reused!</b> New classes may
+ * only be appended with new IDs. Data written before a class was registered remains readable, because Kryo resolves
+ * class names of unregistered objects regardless of the registration.
+ *
+ * <p>
+ * The table refers to classes by name, because most of them reside in modules which depend on this one. Classes which
+ * are not present on the classpath are skipped; their IDs remain reserved.
+ *
+ * @author martin.haeusler@uibk.ac.at -- Initial Contribution and API
+ */
+class KryoClassRegistry {
+
+	// =====================================================================================================================
+	// CONSTANTS
+	// =====================================================================================================================
+
+	/**
+	 * The first ID to use. Kryo uses the IDs below this value for its default registrations (currently 0 to 9).
+	 *
+	 * <p>
+	 * The IDs between the Kryo defaults and this value must remain unused: ChronoDB relies on the fact that the first
+	 * byte of a Kryo serial form never falls into this range when tagging values written by other codecs.
+	 */
+	private static final int FIRST_ID = 100;
+
+	private static final String GRAPH_RECORDS = "org.chronos.chronograph.internal.impl.structure.";
+	private static final String VALUE_RECORDS = GRAPH_RECORDS + "record2.valuerecords.PropertyRecord";
+
+	/** The registered class names, in ID order (starting at {@link #FIRST_ID}). Append only! */
+	private static final String[] CLASS_NAMES = {
+			// JDK collections
+			"java.util.ArrayList",
+			"java.util.HashMap",
+			"java.util.HashSet",
+			"java.util.LinkedHashMap",
+			"java.util.LinkedHashSet",
+			"java.util.Date",
+			// ChronoDB
+			"org.chronos.chronodb.internal.impl.engines.base.KeyspaceMetadata",
+			"org.chronos.chronodb.internal.impl.index.ChronoIndexDocumentImpl",
+			// ChronoGraph records
+			GRAPH_RECORDS + "record3.VertexRecord3",
+			GRAPH_RECORDS + "record3.VertexPropertyRecord3",
+			GRAPH_RECORDS + "record3.SimpleVertexPropertyRecord",
+			GRAPH_RECORDS + "record2.EdgeRecord2",
+			GRAPH_RECORDS + "record2.EdgeTargetRecord2",
+			GRAPH_RECORDS + "record2.PropertyRecord2",
+			// ChronoGraph property values
+			VALUE_RECORDS + "StringValue",
+			VALUE_RECORDS + "IntValue",
+			VALUE_RECORDS + "LongValue",
+			VALUE_RECORDS + "DoubleValue",
+			VALUE_RECORDS + "FloatValue",
+			VALUE_RECORDS + "BooleanValue",
+			VALUE_RECORDS + "ByteValue",
+			VALUE_RECORDS + "ShortValue",
+			VALUE_RECORDS + "CharValue",
+			VALUE_RECORDS + "DateValue",
+			VALUE_RECORDS + "CustomObjectValue",
+			VALUE_RECORDS + "EmptyListValue",
+			VALUE_RECORDS + "EmptySetValue",
+			VALUE_RECORDS + "StringListValue",
+			VALUE_RECORDS + "StringSetValue",
+			VALUE_RECORDS + "StringArrayValue",
+			VALUE_RECORDS + "IntListValue",
+			VALUE_RECORDS + "IntSetValue",
+			VALUE_RECORDS + "IntArrayValue",
+			VALUE_RECORDS + "LongListValue",
+			VALUE_RECORDS + "LongSetValue",
+			VALUE_RECORDS + "LongArrayValue",
+			VALUE_RECORDS + "DoubleListValue",
+			VALUE_RECORDS + "DoubleSetValue",
+			VALUE_RECORDS + "DoubleArrayValue",
+			VALUE_RECORDS + "BooleanListValue",
+			VALUE_RECORDS + "BooleanSetValue",
+			VALUE_RECORDS + "BooleanArrayValue",
+			// ChronoGraph records (separate adjacency layout)
+			GRAPH_RECORDS + "record3.SeparateAdjacencyVertexRecord", };
+
+	// =====================================================================================================================
+	// STATIC FIELDS
+	// =====================================================================================================================
+
+	/** The resolved registrations. Lazily initialized, see {@link #getRegistrations()}. */
+	private static volatile Map<Class<?>, Integer> registrations;
+
+	// =====================================================================================================================
+	// CONSTRUCTOR
+	// =====================================================================================================================
+
+	private KryoClassRegistry() {
+		throw new UnsupportedOperationException("Do not instantiate this class!");
+	}
+
+	// =====================================================================================================================
+	// PUBLIC API
+	// =====================================================================================================================
+
+	/**
+	 * Registers all classes of this table in the given {@link Kryo} instance.
+	 *
+	 * @param kryo
+	 *            The kryo instance to register the classes in. Must not be <code>null</code>.
+	 */
+	public static void registerClasses(final Kryo kryo) {
+		checkNotNull(kryo, "Precondition violation - argument 'kryo' must not be NULL!");
+		for (Entry<Class<?>, Integer> entry : getRegistrations().entrySet()) {
+			kryo.register(entry.getKey(), entry.getValue());
+		}
+	}
+
+	/**
+	 * Returns the classes of this table which are present on the classpath.
+	 *
+	 * @return The registered classes. Never <code>null</code>.
+	 */
+	public static List<Class<?>> getRegisteredClasses() {
+		return Collections.unmodifiableList(Lists.newArrayList(getRegistrations().keySet()));
+	}
+
+	// =====================================================================================================================
+	// INTERNAL HELPER METHODS
+	// =====================================================================================================================
+
+	private static Map<Class<?>, Integer> getRegistrations() {
+		Map<Class<?>, Integer> result = registrations;
+		if (result == null) {
+			// note: resolving the classes twice in a race is harmless, the result is always the same
+			result = resolveRegistrations();
+			registrations = result;
+		}
+		return result;
+	}
+
+	private static Map<Class<?>, Integer> resolveRegistrations() {
+		Map<Class<?>, Integer> result = Maps.newLinkedHashMap();
+		ClassLoader classLoader = KryoClassRegistry.class.getClassLoader();
+		for (int i = 0; i < CLASS_NAMES.length; i++) {
+			String className = CLASS_NAMES[i];
+			try {
+				result.put(Class.forName(className, false, classLoader), FIRST_ID + i);
+			} catch (ClassNotFoundException | LinkageError e) {
+				// the module containing this class is not on the classpath; keep the ID reserved
+				ChronoLogger.logTrace("Kryo class registration skipped, class not found: " + className);
+			}
+		}
+		return Collections.unmodifiableMap(result);
+	}
+
+}
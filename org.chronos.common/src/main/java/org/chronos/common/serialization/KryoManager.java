@@ -2,55 +2,98 @@ package org.chronos.common.serialization;
 
 import static com.google.common.base.Preconditions.*;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.lang.ref.WeakReference;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 import org.chronos.common.exceptions.ChronosIOException;
 
 import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Lists;
 
+/**
+ * Central access point for (de-)serialization and deep copies via {@link Kryo}.
+ *
+ * <p>
+ * {@link Kryo} instances are expensive to create and not thread-safe. This class therefore maintains a bounded pool of
+ * {@link Kryo} instances, each of which comes with a reusable output and input buffer. Operations borrow an instance
+ * from the pool and return it afterwards; if the pool is empty, a new instance is created, and if the pool is full, the
+ * returned instance is discarded. As the pool does not rely on thread-local state, it works equally well for long-lived
+ * threads, thread pools and short-lived (virtual) threads.
+ *
+ * <p>
+ * Every {@link Kryo} instance registers the classes of the {@link KryoClassRegistry}, which avoids writing the class
+ * names of frequently persisted objects.
+ *
+ * @author martin.haeusler@uibk.ac.at -- Initial Contribution and API
+ */
 public class KryoManager {
 
 	// =====================================================================================================================
 	// CONSTANTS
 	// =====================================================================================================================
 
-	private static final int KRYO_REUSE_WRITTEN_BYTES_THRESHOLD_BYTES = 1024 * 1024 * 2; // 2MB
-	private static final int KRYO_REUSE_USAGE_COUNT_THRESHOLD = 2000;
+	/** The maximum number of idle {@link Kryo} instances retained by the pool. */
+	private static final int POOL_CAPACITY = Math.max(16, Runtime.getRuntime().availableProcessors() * 4);
+
+	/** The initial size of the output buffer of every pooled instance. */
+	private static final int INITIAL_BUFFER_SIZE = 4 * 1024; // 4KB
+
+	/**
+	 * Output buffers which have grown beyond this size are replaced when the instance is returned to the pool, in order
+	 * to not retain large amounts of memory after serializing a single large object.
+	 */
+	private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024; // 1MB
+
+	private static final byte[] EMPTY_BUFFER = new byte[0];
 
 	// =====================================================================================================================
 	// STATIC FIELDS
 	// =====================================================================================================================
 
-	private static final ThreadLocal<KryoWrapper> THREAD_LOCAL_KRYO = new ThreadLocal<KryoWrapper>();
+	private static final BlockingQueue<PooledKryo> POOL = new ArrayBlockingQueue<>(POOL_CAPACITY);
 
 	// =====================================================================================================================
 	// PUBLIC API
 	// =====================================================================================================================
 
+	/**
+	 * Discards all idle {@link Kryo} instances (and their buffers) which are currently held by the pool.
+	 *
+	 * <p>
+	 * This is usually not necessary, because the pool is bounded and does not retain large buffers. It may be used to
+	 * release memory after a phase of heavy serialization work.
+	 */
 	public static void destroyKryo() {
-		THREAD_LOCAL_KRYO.remove();
+		POOL.clear();
 	}
 
 	public static byte[] serialize(final Object object) {
-		return getKryo().serialize(object);
+		PooledKryo pooledKryo = borrow();
+		byte[] serialForm = pooledKryo.serialize(object);
+		release(pooledKryo);
+		return serialForm;
 	}
 
 	public static <T> T deserialize(final byte[] serialForm) {
-		return getKryo().deserialize(serialForm);
+		PooledKryo pooledKryo = borrow();
+		T object = pooledKryo.deserialize(serialForm);
+		release(pooledKryo);
+		return object;
 	}
 
 	public static <T> T deepCopy(final T element) {
-		return getKryo().deepCopy(element);
+		PooledKryo pooledKryo = borrow();
+		T copy = pooledKryo.kryo.copy(element);
+		release(pooledKryo);
+		return copy;
 	}
 
 	public static void serializeObjectsToFile(final File file, final Object... objects) {
@@ -60,24 +103,34 @@ public class KryoManager {
 		checkArgument(file.isFile(),
 				"Precondition violation - argument 'file' must refer to a file (not a directory)!");
 		checkArgument(file.canWrite(), "Precondition violation - argument 'file' must be writable!");
-		try {
-			getKryo().serializeToFile(file, objects);
+		PooledKryo pooledKryo = borrow();
+		try (Output out = new Output(new FileOutputStream(file))) {
+			for (Object object : objects) {
+				pooledKryo.kryo.writeClassAndObject(out, object);
+			}
+			out.flush();
 		} catch (IOException e) {
 			throw new ChronosIOException("Failed to serialize object to file!", e);
 		}
+		release(pooledKryo);
 	}
 
+	@SuppressWarnings("unchecked")
 	public static <T> T deserializeObjectFromFile(final File file) {
 		checkNotNull(file, "Precondition violation - argument 'file' must not be NULL!");
 		checkArgument(file.exists(), "Precondition violation - argument 'file' must refer to an existing file!");
 		checkArgument(file.isFile(),
 				"Precondition violation - argument 'file' must refer to a file (not a directory)!");
 		checkArgument(file.canRead(), "Precondition violation - argument 'file' must be readable!");
-		try {
-			return getKryo().deserializeObjectFromFile(file);
+		PooledKryo pooledKryo = borrow();
+		Object object;
+		try (Input input = new Input(new FileInputStream(file))) {
+			object = pooledKryo.kryo.readClassAndObject(input);
 		} catch (IOException e) {
 			throw new ChronosIOException("Failed to deserialize object from file!", e);
 		}
+		release(pooledKryo);
+		return (T) object;
 	}
 
 	public static List<Object> deserializeObjectsFromFile(final File file) {
@@ -85,149 +138,96 @@ public class KryoManager {
 		checkArgument(file.isFile(),
 				"Precondition violation - argument 'file' must refer to a file (not a directory)!");
 		checkArgument(file.canRead(), "Precondition violation - argument 'file' must be readable!");
-		try {
-			return getKryo().deserializeObjectsFromFile(file);
+		PooledKryo pooledKryo = borrow();
+		List<Object> resultList = Lists.newArrayList();
+		try (Input input = new Input(new FileInputStream(file))) {
+			while (input.canReadInt()) {
+				Object element = pooledKryo.kryo.readClassAndObject(input);
+				resultList.add(element);
+			}
 		} catch (IOException e) {
 			throw new ChronosIOException("Failed to deserialize object(s) from file!", e);
 		}
+		release(pooledKryo);
+		return resultList;
+	}
+
+	@VisibleForTesting
+	public static int getIdlePoolSize() {
+		return POOL.size();
+	}
+
+	@VisibleForTesting
+	public static boolean isRegisteredClass(final Class<?> clazz) {
+		checkNotNull(clazz, "Precondition violation - argument 'clazz' must not be NULL!");
+		return KryoClassRegistry.getRegisteredClasses().contains(clazz);
 	}
 
 	// =====================================================================================================================
 	// INTERNAL HELPER METHODS
 	// =====================================================================================================================
 
-	private static KryoWrapper getKryo() {
-		KryoWrapper kryoWrapper = THREAD_LOCAL_KRYO.get();
-		if (kryoWrapper == null) {
-			return produceKryoWrapper();
+	// note: if an operation fails, the instance it used is not released to the pool, because its internal state
+	// (e.g. the reference graph) may be inconsistent. It is simply left to the garbage collector.
+
+	private static PooledKryo borrow() {
+		PooledKryo pooledKryo = POOL.poll();
+		if (pooledKryo == null) {
+			return new PooledKryo();
 		}
-		return kryoWrapper;
+		return pooledKryo;
 	}
 
-	private static KryoWrapper produceKryoWrapper() {
-		KryoWrapper wrapper = new KryoWrapper();
-		THREAD_LOCAL_KRYO.set(wrapper);
-		return wrapper;
+	private static void release(final PooledKryo pooledKryo) {
+		pooledKryo.reset();
+		// if the pool is already full, we simply drop the instance
+		POOL.offer(pooledKryo);
 	}
 
 	// =====================================================================================================================
 	// INNER CLASSES
 	// =====================================================================================================================
 
-	private static class KryoWrapper {
+	private static class PooledKryo {
+
+		private final Kryo kryo;
+		private final Output output;
+		private final Input input;
 
-		private WeakReference<Kryo> kryoReference = null;
-		private int usageCount = 0;
-		private long serializedBytes = 0;
+		private PooledKryo() {
+			this.kryo = new Kryo();
+			KryoClassRegistry.registerClasses(this.kryo);
+			// the output buffer grows on demand, without an upper limit
+			this.output = new Output(INITIAL_BUFFER_SIZE, -1);
+			this.input = new Input(EMPTY_BUFFER);
+		}
 
 		// =================================================================================================================
 		// PUBLIC API
 		// =================================================================================================================
 
 		public byte[] serialize(final Object object) {
-			ByteArrayOutputStream baos = new ByteArrayOutputStream();
-			Output output = new Output(baos);
-			this.getKryo().writeClassAndObject(output, object);
-			output.flush();
-			byte[] result = baos.toByteArray();
-			output.close();
-			this.serializedBytes += result.length;
-			this.usageCount++;
-			this.destroyKryoIfNecessary();
-			return result;
-		}
-
-		public void serializeToFile(final File file, final Object... objects) throws IOException {
-			try (Output out = new Output(new FileOutputStream(file))) {
-				for (Object object : objects) {
-					this.getKryo().writeClassAndObject(out, object);
-				}
-				out.flush();
-				this.serializedBytes += file.length();
-				this.usageCount++;
-				this.destroyKryoIfNecessary();
-			}
+			this.output.clear();
+			this.kryo.writeClassAndObject(this.output, object);
+			return this.output.toBytes();
 		}
 
 		@SuppressWarnings("unchecked")
 		public <T> T deserialize(final byte[] serialForm) {
-			ByteArrayInputStream bais = new ByteArrayInputStream(serialForm);
-			Input input = new Input(bais);
-			Object object = this.getKryo().readClassAndObject(input);
-			input.close();
-			this.usageCount++;
-			this.destroyKryoIfNecessary();
-			return (T) object;
+			this.input.setBuffer(serialForm);
+			return (T) this.kryo.readClassAndObject(this.input);
 		}
 
-		@SuppressWarnings("unchecked")
-		public <T> T deserializeObjectFromFile(final File file) throws IOException {
-			try (Input input = new Input(new FileInputStream(file))) {
-				Object object = this.getKryo().readClassAndObject(input);
-				this.usageCount++;
-				this.destroyKryoIfNecessary();
-				return (T) object;
+		public void reset() {
+			this.output.clear();
+			if (this.output.getBuffer().length > MAX_RETAINED_BUFFER_SIZE) {
+				// don't hold on to large buffers while we are idle
+				this.output.setBuffer(new byte[INITIAL_BUFFER_SIZE], -1);
 			}
+			// release the reference to the last deserialized buffer
+			this.input.setBuffer(EMPTY_BUFFER);
 		}
 
-		public List<Object> deserializeObjectsFromFile(final File file) throws IOException {
-			try (Input input = new Input(new FileInputStream(file))) {
-				List<Object> resultList = Lists.newArrayList();
-				Kryo kryo = this.getKryo();
-				while (input.canReadInt()) {
-					Object element = kryo.readClassAndObject(input);
-					resultList.add(element);
-				}
-				this.usageCount++;
-				this.destroyKryoIfNecessary();
-				return resultList;
-			}
-		}
-
-		public <T> T deepCopy(final T element) {
-			Kryo kryo = this.getKryo();
-			T copy = kryo.copy(element);
-			// we have no idea how big the copied object is;
-			// destroy our kryo instance as a precautionary measure
-			this.destroyKryo();
-			return copy;
-		}
-
-		// =================================================================================================================
-		// INTERNAL API
-		// =================================================================================================================
-
-		private Kryo produceKryo() {
-			Kryo kryo = new Kryo();
-			this.kryoReference = new WeakReference<Kryo>(kryo);
-			return kryo;
-		}
-
-		private Kryo getKryo() {
-			if (this.kryoReference == null) {
-				return this.produceKryo();
-			}
-			Kryo kryo = this.kryoReference.get();
-			if (kryo == null) {
-				return this.produceKryo();
-			}
-			return kryo;
-		}
-
-		private void destroyKryo() {
-			this.kryoReference = null;
-			this.usageCount = 0;
-			this.serializedBytes = 0;
-		}
-
-		private void destroyKryoIfNecessary() {
-			if (this.serializedBytes >= KRYO_REUSE_WRITTEN_BYTES_THRESHOLD_BYTES) {
-				this.destroyKryo();
-			}
-			if (this.usageCount >= KRYO_REUSE_USAGE_COUNT_THRESHOLD) {
-				this.destroyKryo();
-			}
-		}
 	}
 
 }
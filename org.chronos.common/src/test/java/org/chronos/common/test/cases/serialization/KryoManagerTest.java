@@ -1,11 +1,18 @@
 package org.chronos.common.test.cases.serialization;
 
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import org.chronos.common.serialization.KryoManager;
 import org.junit.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.Assert.*;
 
@@ -60,6 +67,64 @@ public class KryoManagerTest {
         }
     }
 
+    @Test
+    public void canSerializeObjectsLargerThanTheInitialBuffer() {
+        Map<String, String> largeMap = Maps.newHashMap();
+        for (int i = 0; i < 100_000; i++) {
+            largeMap.put("key" + i, "value" + i);
+        }
+        byte[] bytes = KryoManager.serialize(largeMap);
+        assertEquals(largeMap, KryoManager.deserialize(bytes));
+        // the (shrunk) buffer of the pooled instance must still produce correct results
+        Person johnDoe = new Person("John", "Doe");
+        assertEquals(johnDoe, KryoManager.deserialize(KryoManager.serialize(johnDoe)));
+    }
+
+    @Test
+    public void serialFormDoesNotDependOnPreviousOperations() {
+        Person johnDoe = new Person("John", "Doe");
+        byte[] first = KryoManager.serialize(johnDoe);
+        KryoManager.serialize(new Person("Jane", "Doe-With-A-Much-Longer-Last-Name"));
+        assertArrayEquals(first, KryoManager.serialize(johnDoe));
+    }
+
+    @Test
+    public void canSerializeConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> futures = Lists.newArrayList();
+            for (int t = 0; t < 32; t++) {
+                final int threadIndex = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        Person person = new Person("John" + threadIndex, "Doe" + i);
+                        Person deserialized = KryoManager.deserialize(KryoManager.serialize(person));
+                        if (!person.equals(deserialized) || !person.equals(KryoManager.deepCopy(person))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> future : futures) {
+                assertTrue(future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        // instances are returned to the pool after use
+        assertTrue(KryoManager.getIdlePoolSize() > 0);
+    }
+
+    @Test
+    public void frequentlyUsedClassesAreRegistered() {
+        assertTrue(KryoManager.isRegisteredClass(HashMap.class));
+        assertFalse(KryoManager.isRegisteredClass(Person.class));
+        // registered classes are written with an ID instead of the class name
+        byte[] bytes = KryoManager.serialize(new HashMap<>());
+        assertFalse(new String(bytes).contains("java.util.HashMap"));
+    }
+
     // =====================================================================================================================
     // INNER CLASSES
     // =====================================================================================================================